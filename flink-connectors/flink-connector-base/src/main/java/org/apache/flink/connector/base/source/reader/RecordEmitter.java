@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.source.SourceOutput;
+
+/**
+ * Emits the records fetched by the split readers to the {@link SourceOutput} of their split, and updates the
+ * state of the split the record belongs to, for example its offset.
+ *
+ * <p>The emitter runs in the thread of the task, while the records are fetched by the fetcher
+ * threads.
+ *
+ * @param <E> The type of the fetched records.
+ * @param <T> The type of the emitted records.
+ * @param <SplitStateT> The type of the mutable state of a split.
+ */
+@PublicEvolving
+public interface RecordEmitter<E, T, SplitStateT> {
+
+	/**
+	 * Processes the given fetched record and emits the results to the given output.
+	 *
+	 * @param element The fetched record.
+	 * @param output The output of the split to emit the records to.
+	 * @param splitState The state of the split the record belongs to.
+	 */
+	void emitRecord(E element, SourceOutput<T> output, SplitStateT splitState) throws Exception;
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An implementation of {@link RecordsWithSplitIds} to which the records and the finished splits
+ * are added one by one.
+ *
+ * @param <E> The type of the records.
+ */
+@PublicEvolving
+public class RecordsBySplits<E> implements RecordsWithSplitIds<E> {
+
+	private final Map<String, Collection<E>> recordsBySplits = new LinkedHashMap<>();
+
+	private final Set<String> finishedSplits = new HashSet<>();
+
+	/**
+	 * Adds the given record of the given split.
+	 */
+	public void add(String splitId, E record) {
+		recordsBySplits.computeIfAbsent(splitId, (ignored) -> new ArrayList<>()).add(record);
+	}
+
+	/**
+	 * Adds all given records of the given split.
+	 */
+	public void addAll(String splitId, Collection<E> records) {
+		recordsBySplits.computeIfAbsent(splitId, (ignored) -> new ArrayList<>()).addAll(records);
+	}
+
+	/**
+	 * Marks the given split as completely read.
+	 */
+	public void addFinishedSplit(String splitId) {
+		finishedSplits.add(splitId);
+	}
+
+	@Override
+	public Collection<String> splitIds() {
+		return recordsBySplits.keySet();
+	}
+
+	@Override
+	public Map<String, Collection<E>> recordsBySplits() {
+		return recordsBySplits;
+	}
+
+	@Override
+	public Set<String> finishedSplits() {
+		return finishedSplits;
+	}
+}
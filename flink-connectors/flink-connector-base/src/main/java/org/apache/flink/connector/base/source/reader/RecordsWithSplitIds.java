@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A batch of records fetched by a {@link org.apache.flink.connector.base.source.reader.splitreader.SplitReader
+ * SplitReader}, grouped by the splits they belong to.
+ *
+ * @param <E> The type of the records.
+ */
+@PublicEvolving
+public interface RecordsWithSplitIds<E> {
+
+	/**
+	 * Gets the ids of all splits which have records in this batch.
+	 */
+	Collection<String> splitIds();
+
+	/**
+	 * Gets the records of this batch per split.
+	 */
+	Map<String, Collection<E>> recordsBySplits();
+
+	/**
+	 * Gets the ids of the splits which have been completely read with this batch.
+	 */
+	Set<String> finishedSplits();
+}
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.source.ReaderOutput;
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.fetcher.SplitFetcherManager;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureNotifier;
+import org.apache.flink.core.io.InputStatus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An abstract implementation of {@link SourceReader} which decouples the fetching of records,
+ * done by the threads of a {@link SplitFetcherManager}, from their emission in the task thread.
+ * The fetchers hand over the fetched batches through a bounded queue, so that the task thread
+ * never blocks on I/O and the fetchers block once the task falls behind.
+ *
+ * @param <E> The type of the records fetched by the split readers.
+ * @param <T> The type of the records emitted by the source reader.
+ * @param <SplitT> The type of the splits.
+ * @param <SplitStateT> The type of the mutable state of a split, which tracks its reading position.
+ */
+@PublicEvolving
+public abstract class SourceReaderBase<E, T, SplitT extends SourceSplit, SplitStateT>
+		implements SourceReader<T, SplitT> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SourceReaderBase.class);
+
+	/** The notifier which wakes up the task thread when records are available. */
+	protected final FutureNotifier futureNotifier;
+
+	/** The queue through which the fetchers hand over the fetched records. */
+	protected final FutureCompletingBlockingQueue<RecordsWithSplitIds<E>> elementsQueue;
+
+	/** The state of the splits which are not yet finished, by their id. */
+	private final Map<String, SplitStateT> splitStates;
+
+	protected final RecordEmitter<E, T, SplitStateT> recordEmitter;
+
+	protected final SplitFetcherManager<E, SplitT> splitFetcherManager;
+
+	protected final SourceReaderOptions options;
+
+	protected final Configuration config;
+
+	protected final SourceReaderContext context;
+
+	/** The batch of records which is currently emitted, null if there is none. */
+	private RecordsWithSplitIds<E> splitsRecordsInProgress;
+
+	/** The iterator over the records of the splits of the current batch. */
+	private Iterator<Map.Entry<String, Collection<E>>> splitIterator;
+
+	/** The id of the split whose records are currently emitted. */
+	private String currentSplitId;
+
+	/** The iterator over the records of the current split. */
+	private Iterator<E> recordIterator;
+
+	/** The output of the current split. */
+	private SourceOutput<T> currentSplitOutput;
+
+	public SourceReaderBase(
+			FutureNotifier futureNotifier,
+			FutureCompletingBlockingQueue<RecordsWithSplitIds<E>> elementsQueue,
+			SplitFetcherManager<E, SplitT> splitFetcherManager,
+			RecordEmitter<E, T, SplitStateT> recordEmitter,
+			Configuration config,
+			SourceReaderContext context) {
+		this.futureNotifier = futureNotifier;
+		this.elementsQueue = elementsQueue;
+		this.splitFetcherManager = splitFetcherManager;
+		this.recordEmitter = recordEmitter;
+		this.splitStates = new HashMap<>();
+		this.options = new SourceReaderOptions(config);
+		this.config = config;
+		this.context = context;
+	}
+
+	@Override
+	public void start() {}
+
+	@Override
+	public InputStatus pollNext(ReaderOutput<T> output) throws Exception {
+		splitFetcherManager.checkErrors();
+
+		if (splitsRecordsInProgress == null) {
+			splitsRecordsInProgress = elementsQueue.poll();
+			if (splitsRecordsInProgress == null) {
+				return InputStatus.NOTHING_AVAILABLE;
+			}
+			splitIterator = splitsRecordsInProgress.recordsBySplits().entrySet().iterator();
+		}
+
+		// emits one record per call, so that the task can process mails in between
+		while (true) {
+			if (recordIterator != null && recordIterator.hasNext()) {
+				final E record = recordIterator.next();
+				recordEmitter.emitRecord(record, currentSplitOutput, splitStates.get(currentSplitId));
+				return InputStatus.MORE_AVAILABLE;
+			} else if (splitIterator.hasNext()) {
+				final Map.Entry<String, Collection<E>> entry = splitIterator.next();
+				currentSplitId = entry.getKey();
+				currentSplitOutput = output.createOutputForSplit(currentSplitId);
+				recordIterator = entry.getValue().iterator();
+			} else {
+				finishBatch(output);
+				return elementsQueue.isEmpty() ? InputStatus.NOTHING_AVAILABLE : InputStatus.MORE_AVAILABLE;
+			}
+		}
+	}
+
+	@Override
+	public CompletableFuture<Void> isAvailable() {
+		// the future is obtained first, so that a batch which arrives in between completes it
+		final CompletableFuture<Void> future = futureNotifier.future();
+		if (!elementsQueue.isEmpty() || splitsRecordsInProgress != null) {
+			futureNotifier.notifyComplete();
+		}
+		return future;
+	}
+
+	@Override
+	public List<SplitT> snapshotState() {
+		final List<SplitT> splits = new ArrayList<>(splitStates.size());
+		splitStates.forEach((id, state) -> splits.add(toSplitType(id, state)));
+		return splits;
+	}
+
+	@Override
+	public void addSplits(List<SplitT> splits) {
+		LOG.debug("Adding splits {}", splits);
+		for (SplitT split : splits) {
+			splitStates.put(split.splitId(), initializedState(split));
+		}
+		splitFetcherManager.addSplits(splits);
+	}
+
+	@Override
+	public void pauseOrResumeSplits(Collection<String> splitsToPause, Collection<String> splitsToResume) {
+		splitFetcherManager.pauseOrResumeSplits(splitsToPause, splitsToResume);
+	}
+
+	@Override
+	public void close() throws Exception {
+		LOG.info("Closing Source Reader.");
+		splitFetcherManager.close(options.getSourceReaderCloseTimeout());
+	}
+
+	// ------------------------------------------------------------------------
+	//  Abstract methods
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Handles the finished splits, for example to ask the enumerator for more splits.
+	 *
+	 * @param finishedSplitIds The ids of the splits which have been read completely.
+	 */
+	protected abstract void onSplitFinished(Collection<String> finishedSplitIds);
+
+	/**
+	 * Creates the mutable state of the given split.
+	 *
+	 * @param split The split to create the state of.
+	 * @return The mutable state of the split.
+	 */
+	protected abstract SplitStateT initializedState(SplitT split);
+
+	/**
+	 * Creates a split from the state of a split, to be stored in a checkpoint.
+	 *
+	 * @param splitId The id of the split.
+	 * @param splitState The mutable state of the split.
+	 * @return The split with the current reading position.
+	 */
+	protected abstract SplitT toSplitType(String splitId, SplitStateT splitState);
+
+	// ------------------------------------------------------------------------
+
+	private void finishBatch(ReaderOutput<T> output) {
+		final Collection<String> finishedSplits = splitsRecordsInProgress.finishedSplits();
+		if (!finishedSplits.isEmpty()) {
+			for (String splitId : finishedSplits) {
+				splitStates.remove(splitId);
+				output.releaseOutputForSplit(splitId);
+			}
+			onSplitFinished(finishedSplits);
+		}
+
+		splitsRecordsInProgress = null;
+		splitIterator = null;
+		currentSplitId = null;
+		currentSplitOutput = null;
+		recordIterator = null;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * The task which fetches records with the {@link SplitReader} and hands them to the source reader
+ * through the element queue. When the task is woken up, the fetched records are kept and handed
+ * over the next time the task runs.
+ */
+class FetchTask<E, SplitT> implements SplitFetcherTask {
+
+	private final SplitReader<E, SplitT> splitReader;
+
+	private final BlockingQueue<RecordsWithSplitIds<E>> elementsQueue;
+
+	private final Consumer<Collection<String>> splitFinishedCallback;
+
+	private final Thread runningThread;
+
+	private final Object lock = new Object();
+
+	/** The records which have been fetched but not yet handed over, only accessed by the fetcher thread. */
+	private RecordsWithSplitIds<E> lastRecords;
+
+	/** Whether the task has been woken up, guarded by the lock. */
+	private boolean wakeUp;
+
+	/** Whether the task blocks while handing over the records, guarded by the lock. */
+	private boolean enqueuing;
+
+	FetchTask(
+			SplitReader<E, SplitT> splitReader,
+			BlockingQueue<RecordsWithSplitIds<E>> elementsQueue,
+			Consumer<Collection<String>> splitFinishedCallback,
+			Thread runningThread) {
+		this.splitReader = splitReader;
+		this.elementsQueue = elementsQueue;
+		this.splitFinishedCallback = splitFinishedCallback;
+		this.runningThread = runningThread;
+	}
+
+	@Override
+	public boolean run() throws InterruptedException, IOException {
+		try {
+			if (!isWakenUp() && lastRecords == null) {
+				lastRecords = splitReader.fetch();
+			}
+
+			synchronized (lock) {
+				if (wakeUp) {
+					return true;
+				}
+				enqueuing = true;
+			}
+
+			try {
+				elementsQueue.put(lastRecords);
+			} finally {
+				synchronized (lock) {
+					enqueuing = false;
+					// clears an interrupt of wakeUp() which arrived after the records were handed over
+					Thread.interrupted();
+				}
+			}
+
+			splitFinishedCallback.accept(lastRecords.finishedSplits());
+			lastRecords = null;
+		} catch (InterruptedException e) {
+			if (!isWakenUp()) {
+				throw e;
+			}
+			// the task was woken up while handing over the records, which are kept for the next run
+		} finally {
+			synchronized (lock) {
+				wakeUp = false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void wakeUp() {
+		synchronized (lock) {
+			wakeUp = true;
+			if (enqueuing) {
+				runningThread.interrupt();
+			} else {
+				splitReader.wakeUp();
+			}
+		}
+	}
+
+	private boolean isWakenUp() {
+		synchronized (lock) {
+			return wakeUp;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "FetchTask";
+	}
+}
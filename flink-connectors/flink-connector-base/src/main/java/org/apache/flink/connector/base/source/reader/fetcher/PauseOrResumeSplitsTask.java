@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * The task which pauses or resumes splits of the {@link SplitReader} of a fetcher. If the split
+ * reader does not support pausing splits, the task has no effect, and the source pauses the whole
+ * reader once all of its splits are too far ahead instead.
+ */
+class PauseOrResumeSplitsTask<SplitT> implements SplitFetcherTask {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PauseOrResumeSplitsTask.class);
+
+	private final SplitReader<?, SplitT> splitReader;
+
+	private final Collection<SplitT> splitsToPause;
+
+	private final Collection<SplitT> splitsToResume;
+
+	PauseOrResumeSplitsTask(
+			SplitReader<?, SplitT> splitReader,
+			Collection<SplitT> splitsToPause,
+			Collection<SplitT> splitsToResume) {
+		this.splitReader = splitReader;
+		this.splitsToPause = splitsToPause;
+		this.splitsToResume = splitsToResume;
+	}
+
+	@Override
+	public boolean run() {
+		try {
+			splitReader.pauseOrResumeSplits(splitsToPause, splitsToResume);
+		} catch (UnsupportedOperationException e) {
+			LOG.debug("The split reader does not support pausing splits, ignoring the request to pause {} and resume {}.",
+				splitsToPause, splitsToResume);
+		}
+		return true;
+	}
+
+	@Override
+	public void wakeUp() {
+		// pausing or resuming splits does not block
+	}
+
+	@Override
+	public String toString() {
+		return "PauseOrResumeSplitsTask: [pause=" + splitsToPause + ", resume=" + splitsToResume + ']';
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * The runnable of a fetcher thread, which runs the tasks of its {@link SplitReader}: it fetches
+ * records of the assigned splits whenever there is no other task, and adds splits when they are
+ * assigned.
+ *
+ * @param <E> The type of the fetched records.
+ * @param <SplitT> The type of the splits.
+ */
+@Internal
+public class SplitFetcher<E, SplitT extends SourceSplit> implements Runnable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SplitFetcher.class);
+
+	/** The task which wakes up the fetcher thread when it waits for tasks. */
+	private static final SplitFetcherTask WAKEUP_TASK = new SplitFetcherTask() {
+		@Override
+		public boolean run() {
+			return true;
+		}
+
+		@Override
+		public void wakeUp() {}
+	};
+
+	private final int id;
+
+	private final BlockingDeque<SplitFetcherTask> taskQueue = new LinkedBlockingDeque<>();
+
+	/** The splits which are assigned and not yet finished, modified by the fetcher thread only. */
+	private final Map<String, SplitT> assignedSplits = new ConcurrentHashMap<>();
+
+	/** The changes of the splits which the split reader has not yet applied. */
+	private final Queue<SplitsChange<SplitT>> splitChanges = new LinkedBlockingQueue<>();
+
+	private final BlockingQueue<RecordsWithSplitIds<E>> elementsQueue;
+
+	private final SplitReader<E, SplitT> splitReader;
+
+	private final Consumer<Throwable> errorHandler;
+
+	private final Runnable shutdownHook;
+
+	private final Object lock = new Object();
+
+	/** The task which currently runs, guarded by the lock. */
+	private SplitFetcherTask runningTask;
+
+	/** Whether the fetcher has been shut down, guarded by the lock. */
+	private boolean closed;
+
+	private FetchTask<E, SplitT> fetchTask;
+
+	SplitFetcher(
+			int id,
+			BlockingQueue<RecordsWithSplitIds<E>> elementsQueue,
+			SplitReader<E, SplitT> splitReader,
+			Consumer<Throwable> errorHandler,
+			Runnable shutdownHook) {
+
+		this.id = id;
+		this.elementsQueue = elementsQueue;
+		this.splitReader = splitReader;
+		this.errorHandler = errorHandler;
+		this.shutdownHook = shutdownHook;
+	}
+
+	@Override
+	public void run() {
+		LOG.info("Starting split fetcher {}", id);
+		try {
+			fetchTask = new FetchTask<>(
+				splitReader,
+				elementsQueue,
+				(finishedSplitIds) -> finishedSplitIds.forEach(assignedSplits::remove),
+				Thread.currentThread());
+
+			while (!isClosed()) {
+				runOnce();
+			}
+		} catch (InterruptedException e) {
+			// the fetcher is interrupted when the source reader closes
+			if (!isClosed()) {
+				errorHandler.accept(e);
+			}
+		} catch (Throwable t) {
+			errorHandler.accept(t);
+		} finally {
+			LOG.info("Split fetcher {} exited.", id);
+			shutdownHook.run();
+		}
+	}
+
+	private void runOnce() throws Exception {
+		final SplitFetcherTask task = assignedSplits.isEmpty() || !taskQueue.isEmpty() ?
+			taskQueue.take() :
+			fetchTask;
+
+		synchronized (lock) {
+			if (closed) {
+				return;
+			}
+			runningTask = task;
+		}
+
+		try {
+			if (!task.run()) {
+				taskQueue.addFirst(task);
+			}
+		} finally {
+			synchronized (lock) {
+				runningTask = null;
+			}
+		}
+	}
+
+	/**
+	 * Adds the given splits to the fetcher. The splits are handed to the split reader by the
+	 * fetcher thread.
+	 */
+	public void addSplits(List<SplitT> splitsToAdd) {
+		taskQueue.add(new AddSplitsTask<>(splitReader, splitsToAdd, splitChanges, assignedSplits));
+		wakeUp();
+	}
+
+	/**
+	 * Pauses or resumes those of the given splits which are assigned to this fetcher. The
+	 * splits are paused or resumed by the fetcher thread.
+	 *
+	 * @param splitIdsToPause The ids of the splits to pause.
+	 * @param splitIdsToResume The ids of the splits to resume.
+	 */
+	public void pauseOrResumeSplits(Collection<String> splitIdsToPause, Collection<String> splitIdsToResume) {
+		final List<SplitT> splitsToPause = getAssignedSplits(splitIdsToPause);
+		final List<SplitT> splitsToResume = getAssignedSplits(splitIdsToResume);
+
+		if (!splitsToPause.isEmpty() || !splitsToResume.isEmpty()) {
+			taskQueue.add(new PauseOrResumeSplitsTask<>(splitReader, splitsToPause, splitsToResume));
+			wakeUp();
+		}
+	}
+
+	/**
+	 * Shuts the fetcher down. The fetcher thread exits once its current task returns.
+	 */
+	public void shutdown() {
+		synchronized (lock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+
+		LOG.info("Shutting down split fetcher {}", id);
+		wakeUp();
+		taskQueue.add(WAKEUP_TASK);
+	}
+
+	/**
+	 * Checks whether the fetcher has neither splits nor tasks, so that it could be shut down.
+	 */
+	public boolean isIdle() {
+		return assignedSplits.isEmpty() && taskQueue.isEmpty();
+	}
+
+	@VisibleForTesting
+	Map<String, SplitT> assignedSplits() {
+		return assignedSplits;
+	}
+
+	@VisibleForTesting
+	boolean isClosed() {
+		synchronized (lock) {
+			return closed;
+		}
+	}
+
+	private List<SplitT> getAssignedSplits(Collection<String> splitIds) {
+		final List<SplitT> splits = new ArrayList<>(splitIds.size());
+		for (String splitId : splitIds) {
+			final SplitT split = assignedSplits.get(splitId);
+			if (split != null) {
+				splits.add(split);
+			}
+		}
+		return splits;
+	}
+
+	private void wakeUp() {
+		synchronized (lock) {
+			if (runningTask != null) {
+				runningTask.wakeUp();
+			}
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureNotifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Manages the fetcher threads of a source reader. Subclasses decide how the splits are
+ * distributed among the fetchers, for example all splits in one fetcher, or one fetcher per
+ * split.
+ *
+ * @param <E> The type of the fetched records.
+ * @param <SplitT> The type of the splits.
+ */
+@PublicEvolving
+public abstract class SplitFetcherManager<E, SplitT extends SourceSplit> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SplitFetcherManager.class);
+
+	/** The running fetchers by their id. */
+	protected final Map<Integer, SplitFetcher<E, SplitT>> fetchers = new ConcurrentHashMap<>();
+
+	private final AtomicInteger fetcherIdGenerator = new AtomicInteger(0);
+
+	/** The first error of any fetcher, rethrown in the thread of the source reader. */
+	private final AtomicReference<Throwable> uncaughtFetcherException = new AtomicReference<>(null);
+
+	private final FutureCompletingBlockingQueue<RecordsWithSplitIds<E>> elementsQueue;
+
+	private final Supplier<SplitReader<E, SplitT>> splitReaderFactory;
+
+	private final Consumer<Throwable> errorHandler;
+
+	private final ExecutorService executors;
+
+	/**
+	 * Creates a new fetcher manager.
+	 *
+	 * @param futureNotifier The notifier which wakes up the source reader on errors.
+	 * @param elementsQueue The queue through which the fetchers hand over the records.
+	 * @param splitReaderFactory The factory of the split reader of each fetcher.
+	 */
+	public SplitFetcherManager(
+			FutureNotifier futureNotifier,
+			FutureCompletingBlockingQueue<RecordsWithSplitIds<E>> elementsQueue,
+			Supplier<SplitReader<E, SplitT>> splitReaderFactory) {
+
+		this.elementsQueue = elementsQueue;
+		this.splitReaderFactory = splitReaderFactory;
+		this.errorHandler = (t) -> {
+			LOG.error("Received uncaught exception.", t);
+			if (!uncaughtFetcherException.compareAndSet(null, t)) {
+				uncaughtFetcherException.get().addSuppressed(t);
+			}
+			// wake up the source reader, so that it notices the error
+			futureNotifier.notifyComplete();
+		};
+		this.executors = Executors.newCachedThreadPool((runnable) -> {
+			final Thread thread = new Thread(runnable, "SourceFetcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Adds the given splits to the fetchers.
+	 */
+	public abstract void addSplits(List<SplitT> splitsToAdd);
+
+	/**
+	 * Pauses or resumes the given splits in the fetchers which read them.
+	 *
+	 * @param splitIdsToPause The ids of the splits to pause.
+	 * @param splitIdsToResume The ids of the splits to resume.
+	 */
+	public void pauseOrResumeSplits(Collection<String> splitIdsToPause, Collection<String> splitIdsToResume) {
+		for (SplitFetcher<E, SplitT> fetcher : fetchers.values()) {
+			fetcher.pauseOrResumeSplits(splitIdsToPause, splitIdsToResume);
+		}
+	}
+
+	/**
+	 * Creates a new fetcher, which is not started yet.
+	 */
+	protected synchronized SplitFetcher<E, SplitT> createSplitFetcher() {
+		final int fetcherId = fetcherIdGenerator.getAndIncrement();
+		final SplitFetcher<E, SplitT> splitFetcher = new SplitFetcher<>(
+			fetcherId,
+			elementsQueue,
+			splitReaderFactory.get(),
+			errorHandler,
+			() -> fetchers.remove(fetcherId));
+		fetchers.put(fetcherId, splitFetcher);
+		return splitFetcher;
+	}
+
+	/**
+	 * Starts the given fetcher in a thread of this manager.
+	 */
+	protected void startFetcher(SplitFetcher<E, SplitT> fetcher) {
+		executors.submit(fetcher);
+	}
+
+	/**
+	 * Checks whether any fetcher has failed, and rethrows the error in that case.
+	 */
+	public void checkErrors() {
+		final Throwable error = uncaughtFetcherException.get();
+		if (error != null) {
+			throw new RuntimeException("One or more fetchers have encountered exception", error);
+		}
+	}
+
+	/**
+	 * Shuts down all fetchers and waits for their threads to exit.
+	 *
+	 * @param timeoutMs The maximum time to wait for the fetcher threads.
+	 */
+	public synchronized void close(long timeoutMs) throws Exception {
+		for (SplitFetcher<E, SplitT> fetcher : fetchers.values()) {
+			fetcher.shutdown();
+		}
+		executors.shutdown();
+		if (!executors.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+			LOG.warn("Failed to close the source reader in {} ms. There are still {} split fetchers running",
+				timeoutMs, fetchers.size());
+		}
+	}
+}
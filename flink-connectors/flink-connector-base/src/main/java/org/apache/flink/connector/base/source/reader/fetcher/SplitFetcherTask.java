@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.annotation.Internal;
+
+import java.io.IOException;
+
+/**
+ * A task which runs in the thread of a {@link SplitFetcher}.
+ */
+@Internal
+interface SplitFetcherTask {
+
+	/**
+	 * Runs the task.
+	 *
+	 * @return True if the task has finished, false if it must be run again.
+	 */
+	boolean run() throws InterruptedException, IOException;
+
+	/**
+	 * Wakes up the task if it is blocked. This method is called from a different thread than the
+	 * fetcher thread.
+	 */
+	void wakeUp();
+}
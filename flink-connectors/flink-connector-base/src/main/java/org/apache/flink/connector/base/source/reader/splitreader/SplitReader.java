@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.splitreader;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Queue;
+
+/**
+ * Reads the records of its splits from the external system. A split reader is used by a single
+ * fetcher thread only, except for {@link #wakeUp()}.
+ *
+ * @param <E> The type of the fetched records.
+ * @param <SplitT> The type of the splits.
+ */
+@PublicEvolving
+public interface SplitReader<E, SplitT> {
+
+	/**
+	 * Fetches the next batch of records. This method may block, but must return promptly when
+	 * {@link #wakeUp()} is called, possibly with an empty batch.
+	 *
+	 * @return The fetched records, never null.
+	 * @throws IOException Thrown, if the records could not be fetched.
+	 */
+	RecordsWithSplitIds<E> fetch() throws InterruptedException, IOException;
+
+	/**
+	 * Applies the given changes of the assigned splits. The reader removes the changes which it
+	 * has applied from the queue.
+	 *
+	 * @param splitsChanges The changes of the assigned splits.
+	 */
+	void handleSplitsChanges(Queue<SplitsChange<SplitT>> splitsChanges);
+
+	/**
+	 * Wakes up the reader if it is blocked in {@link #fetch()}. This method is called from a
+	 * different thread than the fetcher thread.
+	 */
+	void wakeUp();
+
+	/**
+	 * Pauses or resumes the reading of the given splits, when the source aligns the watermarks
+	 * of its readers. The reader does not fetch records of the paused splits until they are
+	 * resumed. Readers which do not support pausing splits throw an
+	 * {@link UnsupportedOperationException}, which is also the default.
+	 *
+	 * @param splitsToPause The splits to pause.
+	 * @param splitsToResume The splits to resume.
+	 */
+	default void pauseOrResumeSplits(Collection<SplitT> splitsToPause, Collection<SplitT> splitsToResume) {
+		throw new UnsupportedOperationException("The split reader does not support pausing splits.");
+	}
+}
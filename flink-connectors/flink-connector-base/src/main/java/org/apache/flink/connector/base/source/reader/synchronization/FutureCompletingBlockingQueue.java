@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.synchronization;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A bounded blocking queue which completes the future of the {@link FutureNotifier} whenever an
+ * element is added, so that the source reader is woken up.
+ *
+ * @param <T> The type of the elements.
+ */
+@Internal
+public class FutureCompletingBlockingQueue<T> extends LinkedBlockingQueue<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient FutureNotifier futureNotifier;
+
+	public FutureCompletingBlockingQueue(FutureNotifier futureNotifier, int capacity) {
+		super(capacity);
+		this.futureNotifier = checkNotNull(futureNotifier);
+	}
+
+	@Override
+	public void put(T t) throws InterruptedException {
+		super.put(t);
+		futureNotifier.notifyComplete();
+	}
+
+	@Override
+	public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
+		if (super.offer(t, timeout, unit)) {
+			futureNotifier.notifyComplete();
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean offer(T t) {
+		if (super.offer(t)) {
+			futureNotifier.notifyComplete();
+			return true;
+		}
+		return false;
+	}
+}
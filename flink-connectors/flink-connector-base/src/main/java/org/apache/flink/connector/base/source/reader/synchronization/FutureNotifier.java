@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.synchronization;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out the future through which the source reader waits for data, and completes it when the
+ * fetchers have added data.
+ *
+ * <p>A caller must check for data after obtaining the future, because data added between the
+ * last check and obtaining the future does not complete it.
+ */
+@Internal
+public class FutureNotifier {
+
+	private final AtomicReference<CompletableFuture<Void>> futureRef = new AtomicReference<>(null);
+
+	/**
+	 * Gets the future which is completed by the next call of {@link #notifyComplete()}.
+	 */
+	public CompletableFuture<Void> future() {
+		final CompletableFuture<Void> currentFuture = futureRef.get();
+		if (currentFuture != null) {
+			return currentFuture;
+		}
+
+		final CompletableFuture<Void> newFuture = new CompletableFuture<>();
+		return futureRef.compareAndSet(null, newFuture) ? newFuture : futureRef.get();
+	}
+
+	/**
+	 * Completes the future which has been handed out, if any.
+	 */
+	public void notifyComplete() {
+		final CompletableFuture<Void> future = futureRef.getAndSet(null);
+		if (future != null) {
+			future.complete(null);
+		}
+	}
+}
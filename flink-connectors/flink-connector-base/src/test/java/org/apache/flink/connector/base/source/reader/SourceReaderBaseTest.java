@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader;
+
+import org.apache.flink.api.connector.source.ReaderOutput;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.mocks.MockSourceReader;
+import org.apache.flink.connector.base.source.reader.mocks.MockSplit;
+import org.apache.flink.connector.base.source.reader.mocks.MockSplitReader;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureNotifier;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link SourceReaderBase}.
+ */
+public class SourceReaderBaseTest extends TestLogger {
+
+	@Test
+	public void testReadAllRecordsOfAllSplits() throws Exception {
+		try (MockSourceReader reader = createReader(false)) {
+			reader.addSplits(Arrays.asList(
+				new MockSplit("split-0", 0, 100),
+				new MockSplit("split-1", 100, 250)));
+
+			final List<Integer> records = new ArrayList<>();
+			final ReaderOutput<Integer> output = new ListReaderOutput(records);
+
+			while (records.size() < 250) {
+				if (reader.pollNext(output) == InputStatus.NOTHING_AVAILABLE) {
+					reader.isAvailable().get();
+				}
+			}
+
+			Collections.sort(records);
+			for (int i = 0; i < records.size(); i++) {
+				assertEquals(i, (int) records.get(i));
+			}
+
+			// finishes the last batch, which reports the finished splits
+			assertEquals(InputStatus.NOTHING_AVAILABLE, reader.pollNext(output));
+			assertEquals(Arrays.asList("split-0", "split-1"), reader.getFinishedSplitIds());
+			assertEquals(250, records.size());
+			assertTrue(reader.snapshotState().isEmpty());
+		}
+	}
+
+	@Test
+	public void testSnapshotContainsReadingPosition() throws Exception {
+		try (MockSourceReader reader = createReader(false)) {
+			reader.addSplits(Collections.singletonList(new MockSplit("split-0", 0, 100)));
+
+			final List<Integer> records = new ArrayList<>();
+			final ReaderOutput<Integer> output = new ListReaderOutput(records);
+
+			while (records.size() < 15) {
+				if (reader.pollNext(output) == InputStatus.NOTHING_AVAILABLE) {
+					reader.isAvailable().get();
+				}
+			}
+
+			final List<MockSplit> state = reader.snapshotState();
+			assertEquals(1, state.size());
+			assertEquals("split-0", state.get(0).splitId());
+			assertEquals(15, state.get(0).getNext());
+			assertEquals(100, state.get(0).getEnd());
+		}
+	}
+
+	@Test
+	public void testFetcherErrorIsRethrownByReader() throws Exception {
+		try (MockSourceReader reader = createReader(true)) {
+			reader.addSplits(Collections.singletonList(new MockSplit("split-0", 0, 100)));
+
+			final ReaderOutput<Integer> output = new ListReaderOutput(new ArrayList<>());
+			try {
+				while (true) {
+					if (reader.pollNext(output) == InputStatus.NOTHING_AVAILABLE) {
+						reader.isAvailable().get();
+					}
+				}
+			} catch (RuntimeException e) {
+				assertTrue(ExceptionUtils.findThrowable(e, IOException.class).isPresent());
+			}
+		} catch (Exception e) {
+			fail("Closing the reader of a failed fetcher should not fail: " + e);
+		}
+	}
+
+	private static MockSourceReader createReader(boolean failOnFetch) {
+		final FutureNotifier futureNotifier = new FutureNotifier();
+		final FutureCompletingBlockingQueue<RecordsWithSplitIds<int[]>> elementsQueue =
+			new FutureCompletingBlockingQueue<>(futureNotifier, 2);
+
+		return new MockSourceReader(
+			futureNotifier,
+			elementsQueue,
+			() -> new MockSplitReader(10, failOnFetch),
+			new Configuration());
+	}
+
+	private static final class ListReaderOutput implements ReaderOutput<Integer> {
+
+		private final List<Integer> records;
+
+		ListReaderOutput(List<Integer> records) {
+			this.records = records;
+		}
+
+		@Override
+		public void collect(Integer record) {
+			records.add(record);
+		}
+
+		@Override
+		public void collect(Integer record, long timestamp) {
+			records.add(record);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.fetcher;
+
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.mocks.MockSplit;
+import org.apache.flink.connector.base.source.reader.mocks.MockSplitReader;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureNotifier;
+import org.apache.flink.core.testutils.CheckedThread;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link SplitFetcher}.
+ */
+public class SplitFetcherTest extends TestLogger {
+
+	@Test
+	public void testAddSplitsWhileBlockedOnFullQueue() throws Exception {
+		final BlockingQueue<RecordsWithSplitIds<int[]>> elementsQueue =
+			new FutureCompletingBlockingQueue<>(new FutureNotifier(), 1);
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		final CompletableFuture<Void> exited = new CompletableFuture<>();
+
+		final SplitFetcher<int[], MockSplit> fetcher = new SplitFetcher<>(
+			0,
+			elementsQueue,
+			new MockSplitReader(1, false),
+			error::set,
+			() -> exited.complete(null));
+
+		fetcher.addSplits(Collections.singletonList(new MockSplit("split-0", 0, Integer.MAX_VALUE)));
+
+		final CheckedThread fetcherThread = new CheckedThread() {
+			@Override
+			public void go() {
+				fetcher.run();
+			}
+		};
+		fetcherThread.start();
+
+		// the fetcher blocks on the full queue, and must still pick up the new split
+		while (elementsQueue.remainingCapacity() > 0) {
+			Thread.sleep(1L);
+		}
+		fetcher.addSplits(Collections.singletonList(new MockSplit("split-1", 0, Integer.MAX_VALUE)));
+
+		while (fetcher.assignedSplits().size() < 2) {
+			Thread.sleep(1L);
+		}
+
+		// records which were fetched before the wake up must not be lost
+		int expectedNext = 0;
+		for (int i = 0; i < 10; i++) {
+			final RecordsWithSplitIds<int[]> records = elementsQueue.take();
+			for (int[] record : records.recordsBySplits().getOrDefault("split-0", Collections.emptyList())) {
+				assertEquals(expectedNext++, record[0]);
+			}
+		}
+
+		fetcher.shutdown();
+		elementsQueue.clear();
+		fetcherThread.sync();
+
+		assertTrue(exited.isDone());
+		assertTrue(fetcher.isClosed());
+		assertNull(error.get());
+	}
+
+	@Test
+	public void testShutdownOfIdleFetcher() throws Exception {
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		final SplitFetcher<int[], MockSplit> fetcher = new SplitFetcher<>(
+			0,
+			new FutureCompletingBlockingQueue<>(new FutureNotifier(), 1),
+			new MockSplitReader(1, false),
+			error::set,
+			() -> {});
+
+		final CheckedThread fetcherThread = new CheckedThread() {
+			@Override
+			public void go() {
+				fetcher.run();
+			}
+		};
+		fetcherThread.start();
+
+		assertTrue(fetcher.isIdle());
+		fetcher.shutdown();
+		fetcherThread.sync();
+
+		assertNull(error.get());
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.mocks;
+
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.SourceReaderBase;
+import org.apache.flink.connector.base.source.reader.fetcher.SingleThreadFetcherManager;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureCompletingBlockingQueue;
+import org.apache.flink.connector.base.source.reader.synchronization.FutureNotifier;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link SourceReaderBase} which reads the integers of {@link MockSplit MockSplits} in a single
+ * fetcher thread.
+ */
+public class MockSourceReader extends SourceReaderBase<int[], Integer, MockSplit, MockSplit> {
+
+	private final List<String> finishedSplitIds = new ArrayList<>();
+
+	public MockSourceReader(
+			FutureNotifier futureNotifier,
+			FutureCompletingBlockingQueue<RecordsWithSplitIds<int[]>> elementsQueue,
+			Supplier<SplitReader<int[], MockSplit>> splitReaderSupplier,
+			Configuration config) {
+		super(
+			futureNotifier,
+			elementsQueue,
+			new SingleThreadFetcherManager<>(futureNotifier, elementsQueue, splitReaderSupplier),
+			(record, output, splitState) -> {
+				output.collect(record[0]);
+				splitState.setNext(record[1]);
+			},
+			config,
+			new TestingReaderContext());
+	}
+
+	public List<String> getFinishedSplitIds() {
+		return finishedSplitIds;
+	}
+
+	@Override
+	protected void onSplitFinished(Collection<String> finishedSplitIds) {
+		this.finishedSplitIds.addAll(finishedSplitIds);
+	}
+
+	@Override
+	protected MockSplit initializedState(MockSplit split) {
+		return new MockSplit(split.splitId(), split.getNext(), split.getEnd());
+	}
+
+	@Override
+	protected MockSplit toSplitType(String splitId, MockSplit splitState) {
+		return new MockSplit(splitId, splitState.getNext(), splitState.getEnd());
+	}
+
+	private static final class TestingReaderContext implements SourceReaderContext {
+
+		@Override
+		public MetricGroup metricGroup() {
+			return new UnregisteredMetricsGroup();
+		}
+
+		@Override
+		public int getIndexOfSubtask() {
+			return 0;
+		}
+
+		@Override
+		public void sendSplitRequest() {}
+
+		@Override
+		public void sendSourceEventToEnumerator(SourceEvent sourceEvent) {}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.mocks;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+
+/**
+ * A split of consecutive integers, which also serves as its own mutable split state.
+ */
+public class MockSplit implements SourceSplit {
+
+	private final String id;
+
+	private final int end;
+
+	private int next;
+
+	public MockSplit(String id, int start, int end) {
+		this.id = id;
+		this.next = start;
+		this.end = end;
+	}
+
+	@Override
+	public String splitId() {
+		return id;
+	}
+
+	public int getNext() {
+		return next;
+	}
+
+	public int getEnd() {
+		return end;
+	}
+
+	public void setNext(int next) {
+		this.next = next;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.base.source.reader.mocks;
+
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * A {@link SplitReader} which reads a limited number of records of each {@link MockSplit} per
+ * fetch, as pairs of the split index and the record.
+ */
+public class MockSplitReader implements SplitReader<int[], MockSplit> {
+
+	private final List<MockSplit> splits = new ArrayList<>();
+
+	private final int recordsPerSplitPerFetch;
+
+	private final boolean failOnFetch;
+
+	public MockSplitReader(int recordsPerSplitPerFetch, boolean failOnFetch) {
+		this.recordsPerSplitPerFetch = recordsPerSplitPerFetch;
+		this.failOnFetch = failOnFetch;
+	}
+
+	@Override
+	public RecordsWithSplitIds<int[]> fetch() throws IOException {
+		if (failOnFetch) {
+			throw new IOException("Expected test exception.");
+		}
+
+		final RecordsBySplits<int[]> records = new RecordsBySplits<>();
+		final Iterator<MockSplit> iterator = splits.iterator();
+
+		while (iterator.hasNext()) {
+			final MockSplit split = iterator.next();
+			int next = split.getNext();
+			for (int i = 0; i < recordsPerSplitPerFetch && next < split.getEnd(); i++, next++) {
+				records.add(split.splitId(), new int[] {next, next + 1});
+			}
+			split.setNext(next);
+
+			if (next >= split.getEnd()) {
+				records.addFinishedSplit(split.splitId());
+				iterator.remove();
+			}
+		}
+		return records;
+	}
+
+	@Override
+	public void handleSplitsChanges(Queue<SplitsChange<MockSplit>> splitsChanges) {
+		SplitsChange<MockSplit> change;
+		while ((change = splitsChanges.poll()) != null) {
+			if (change instanceof SplitsAddition) {
+				for (MockSplit split : change.splits()) {
+					// the reader keeps its own position, separate from the state of the source reader
+					splits.add(new MockSplit(split.splitId(), split.getNext(), split.getEnd()));
+				}
+			}
+		}
+	}
+
+	@Override
+	public void wakeUp() {}
+}
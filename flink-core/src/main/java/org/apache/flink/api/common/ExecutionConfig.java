@@ -116,6 +116,10 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 
 	private boolean objectReuse = false;
 
+	private boolean compactStreamRecordEncoding = false;
+
+	private boolean immutablePojoSerialization = false;
+
 	private boolean autoTypeRegistrationEnabled = true;
 
 	private boolean forceAvro = false;
@@ -716,6 +720,69 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 	public boolean isObjectReuseEnabled() {
 		return objectReuse;
 	}
+
+	/**
+	 * Enables a compact encoding of the records that the tasks of streaming programs send to each
+	 * other. The tag and the timestamp of a record are then written as one variable-length number,
+	 * which takes six bytes instead of nine for the timestamps of the current years. This reduces
+	 * the network volume of streams of small records, at a small cost of CPU.
+	 */
+	@PublicEvolving
+	public ExecutionConfig enableCompactStreamRecordEncoding() {
+		compactStreamRecordEncoding = true;
+		return this;
+	}
+
+	/**
+	 * Disables the compact encoding of the records that the tasks of streaming programs send to
+	 * each other. @see #enableCompactStreamRecordEncoding()
+	 */
+	@PublicEvolving
+	public ExecutionConfig disableCompactStreamRecordEncoding() {
+		compactStreamRecordEncoding = false;
+		return this;
+	}
+
+	/**
+	 * Returns whether the compact encoding of stream records is enabled. @see #enableCompactStreamRecordEncoding()
+	 */
+	@PublicEvolving
+	public boolean isCompactStreamRecordEncodingEnabled() {
+		return compactStreamRecordEncoding;
+	}
+
+	/**
+	 * Enables the serialization of immutable POJOs by Flink's own serializer instead of Kryo.
+	 * Immutable POJOs are public final classes whose fields are all set by a public constructor with
+	 * one parameter per field. The constructor must assign its arguments to the fields verbatim,
+	 * because the serializer restores the objects by passing the values of their fields back to it.
+	 *
+	 * <p>The serializer of an immutable POJO is not compatible with the Kryo serializer it replaces,
+	 * so savepoints which contain state of such types cannot be restored after this is enabled.
+	 */
+	@PublicEvolving
+	public ExecutionConfig enableImmutablePojoSerialization() {
+		immutablePojoSerialization = true;
+		return this;
+	}
+
+	/**
+	 * Disables the serialization of immutable POJOs by Flink's own serializer, so that they are
+	 * serialized with Kryo like other generic types. @see #enableImmutablePojoSerialization()
+	 */
+	@PublicEvolving
+	public ExecutionConfig disableImmutablePojoSerialization() {
+		immutablePojoSerialization = false;
+		return this;
+	}
+
+	/**
+	 * Returns whether immutable POJOs are serialized by Flink's own serializer. @see #enableImmutablePojoSerialization()
+	 */
+	@PublicEvolving
+	public boolean isImmutablePojoSerializationEnabled() {
+		return immutablePojoSerialization;
+	}
 	
 	/**
 	 * @deprecated The code analysis code has been removed and this method has no effect.
@@ -985,6 +1052,8 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 				forceKryo == other.forceKryo &&
 				disableGenericTypes == other.disableGenericTypes &&
 				objectReuse == other.objectReuse &&
+				compactStreamRecordEncoding == other.compactStreamRecordEncoding &&
+				immutablePojoSerialization == other.immutablePojoSerialization &&
 				autoTypeRegistrationEnabled == other.autoTypeRegistrationEnabled &&
 				forceAvro == other.forceAvro &&
 				Objects.equals(codeAnalysisMode, other.codeAnalysisMode) &&
@@ -1013,6 +1082,8 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 			forceKryo,
 			disableGenericTypes,
 			objectReuse,
+			compactStreamRecordEncoding,
+			immutablePojoSerialization,
 			autoTypeRegistrationEnabled,
 			forceAvro,
 			codeAnalysisMode,
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.eventtime;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.time.Duration;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link WatermarkGenerator} for situations where the events arrive out of order by at most a
+ * bounded delay. The generator periodically emits the highest timestamp seen so far, minus the
+ * maximum out-of-orderness and one millisecond.
+ *
+ * @param <T> The type of the events.
+ */
+@PublicEvolving
+public class BoundedOutOfOrdernessWatermarks<T> implements WatermarkGenerator<T> {
+
+	/** The maximum out-of-orderness that this watermark generator assumes. */
+	private final long outOfOrdernessMillis;
+
+	/** The maximum timestamp encountered so far. */
+	private long maxTimestamp;
+
+	/**
+	 * Creates a new watermark generator with the given out-of-orderness bound.
+	 *
+	 * @param maxOutOfOrderness The bound for the out-of-orderness of the event timestamps.
+	 */
+	public BoundedOutOfOrdernessWatermarks(Duration maxOutOfOrderness) {
+		checkNotNull(maxOutOfOrderness, "maxOutOfOrderness");
+		checkArgument(!maxOutOfOrderness.isNegative(), "maxOutOfOrderness cannot be negative");
+
+		this.outOfOrdernessMillis = maxOutOfOrderness.toMillis();
+
+		// start so that our lowest watermark would be Long.MIN_VALUE
+		this.maxTimestamp = Long.MIN_VALUE + outOfOrdernessMillis + 1;
+	}
+
+	@Override
+	public void onEvent(T event, long eventTimestamp, WatermarkOutput output) {
+		maxTimestamp = Math.max(maxTimestamp, eventTimestamp);
+	}
+
+	@Override
+	public void onPeriodicEmit(WatermarkOutput output) {
+		output.emitWatermark(new Watermark(maxTimestamp - outOfOrdernessMillis - 1));
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.eventtime;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.Serializable;
+
+/**
+ * A watermark tells the operators that no elements with a timestamp older or equal to the
+ * watermark timestamp should arrive any more.
+ *
+ * <p>This class is the watermark which a {@link WatermarkGenerator} emits. It is independent of
+ * the watermark elements which flow through the streams of the runtime.
+ */
+@PublicEvolving
+public final class Watermark implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The watermark that signifies end-of-event-time. */
+	public static final Watermark MAX_WATERMARK = new Watermark(Long.MAX_VALUE);
+
+	/** The timestamp of the watermark in milliseconds. */
+	private final long timestamp;
+
+	/**
+	 * Creates a new watermark with the given timestamp in milliseconds.
+	 */
+	public Watermark(long timestamp) {
+		this.timestamp = timestamp;
+	}
+
+	/**
+	 * Returns the timestamp associated with this watermark in milliseconds.
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o ||
+			o != null && o.getClass() == Watermark.class && ((Watermark) o).timestamp == timestamp;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(timestamp);
+	}
+
+	@Override
+	public String toString() {
+		return "Watermark @ " + timestamp;
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.eventtime;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * The {@code WatermarkGenerator} generates watermarks either based on the events which it sees,
+ * or periodically.
+ *
+ * <p>A source creates one generator per split, so that each generator only sees the events of
+ * one split, whose timestamps are usually ascending or only slightly out of order. Generating the
+ * watermarks after the source instead sees the interleaved events of all splits of a reader.
+ *
+ * @param <T> The type of the events.
+ */
+@PublicEvolving
+public interface WatermarkGenerator<T> {
+
+	/**
+	 * Called for every event, allows the watermark generator to examine and remember the event
+	 * timestamps, or to emit a watermark based on the event itself.
+	 *
+	 * @param event The event.
+	 * @param eventTimestamp The timestamp of the event.
+	 * @param output The output to emit watermarks to.
+	 */
+	void onEvent(T event, long eventTimestamp, WatermarkOutput output);
+
+	/**
+	 * Called periodically, and might emit a new watermark, or not.
+	 *
+	 * <p>The interval in which this method is called is defined by
+	 * {@link org.apache.flink.api.common.ExecutionConfig#getAutoWatermarkInterval()}.
+	 *
+	 * @param output The output to emit watermarks to.
+	 */
+	void onPeriodicEmit(WatermarkOutput output);
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.eventtime;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.Serializable;
+
+/**
+ * A supplier for {@link WatermarkGenerator WatermarkGenerators}. The supplier is serialized with
+ * the program and creates the generators in the tasks.
+ *
+ * @param <T> The type of the events.
+ */
+@PublicEvolving
+@FunctionalInterface
+public interface WatermarkGeneratorSupplier<T> extends Serializable {
+
+	/**
+	 * Creates a new watermark generator.
+	 */
+	WatermarkGenerator<T> createWatermarkGenerator();
+}
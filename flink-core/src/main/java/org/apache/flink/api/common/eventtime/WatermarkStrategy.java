@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.eventtime;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The strategy with which a source generates watermarks. A source creates one
+ * {@link WatermarkGenerator} for each of its splits and emits the minimum of the watermarks of
+ * its splits.
+ *
+ * <p>A strategy can additionally align the watermarks of the parallel readers of a source: a
+ * reader stops reading those splits whose watermark is further ahead of the lowest watermark of
+ * all readers than the maximum allowed drift, and continues once the other readers have caught
+ * up. This bounds the state which the downstream operators buffer while the readers progress at
+ * different speeds, for example while catching up after a downtime.
+ *
+ * <p>A strategy can also detect idleness: a split which has not produced records for the idle
+ * timeout no longer holds back the watermark of the reader, and a reader whose splits are all
+ * idle marks itself as idle, so that the downstream operators advance their event time without
+ * waiting for it.
+ *
+ * @param <T> The type of the events.
+ */
+@PublicEvolving
+public final class WatermarkStrategy<T> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The value of the maximum drift if the watermarks are not aligned. */
+	private static final long NO_ALIGNMENT = -1L;
+
+	/** The value of the idle timeout if idleness is not detected. */
+	private static final long NO_IDLENESS = -1L;
+
+	/** The supplier of the watermark generators, null if no watermarks are generated. */
+	@Nullable
+	private final WatermarkGeneratorSupplier<T> generatorSupplier;
+
+	/** The maximum drift of the watermarks of the readers in milliseconds, if aligned. */
+	private final long maxAllowedWatermarkDrift;
+
+	/** The time in milliseconds after which a split without records is idle, if detected. */
+	private final long idleTimeout;
+
+	private WatermarkStrategy(
+			@Nullable WatermarkGeneratorSupplier<T> generatorSupplier,
+			long maxAllowedWatermarkDrift,
+			long idleTimeout) {
+		this.generatorSupplier = generatorSupplier;
+		this.maxAllowedWatermarkDrift = maxAllowedWatermarkDrift;
+		this.idleTimeout = idleTimeout;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Factories
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Creates a strategy which generates no watermarks at all, for example for processing time
+	 * programs.
+	 */
+	public static <T> WatermarkStrategy<T> noWatermarks() {
+		return new WatermarkStrategy<>(null, NO_ALIGNMENT, NO_IDLENESS);
+	}
+
+	/**
+	 * Creates a strategy for the case that the timestamps of each split are ascending, so that
+	 * the highest timestamp seen so far can act as watermark.
+	 */
+	public static <T> WatermarkStrategy<T> forMonotonousTimestamps() {
+		return forBoundedOutOfOrderness(Duration.ZERO);
+	}
+
+	/**
+	 * Creates a strategy for the case that the timestamps of each split are out of order by at
+	 * most the given bound.
+	 *
+	 * @param maxOutOfOrderness The maximum out-of-orderness of the timestamps of a split.
+	 * @see BoundedOutOfOrdernessWatermarks
+	 */
+	public static <T> WatermarkStrategy<T> forBoundedOutOfOrderness(Duration maxOutOfOrderness) {
+		checkNotNull(maxOutOfOrderness);
+		return forGenerator(() -> new BoundedOutOfOrdernessWatermarks<>(maxOutOfOrderness));
+	}
+
+	/**
+	 * Creates a strategy which uses the generators of the given supplier.
+	 *
+	 * @param generatorSupplier The supplier of the watermark generators.
+	 */
+	public static <T> WatermarkStrategy<T> forGenerator(WatermarkGeneratorSupplier<T> generatorSupplier) {
+		return new WatermarkStrategy<>(checkNotNull(generatorSupplier), NO_ALIGNMENT, NO_IDLENESS);
+	}
+
+	/**
+	 * Creates a copy of this strategy which aligns the watermarks of the parallel readers of the
+	 * source, such that no split is read while its watermark is ahead of the lowest watermark of
+	 * all readers by more than the given drift.
+	 *
+	 * @param maxAllowedWatermarkDrift The maximum drift of the watermarks of the readers.
+	 */
+	public WatermarkStrategy<T> withWatermarkAlignment(Duration maxAllowedWatermarkDrift) {
+		checkNotNull(maxAllowedWatermarkDrift);
+		checkArgument(!maxAllowedWatermarkDrift.isNegative(), "The maximum allowed watermark drift cannot be negative.");
+		checkArgument(generatorSupplier != null, "Watermarks can only be aligned if they are generated.");
+
+		return new WatermarkStrategy<>(generatorSupplier, maxAllowedWatermarkDrift.toMillis(), idleTimeout);
+	}
+
+	/**
+	 * Creates a copy of this strategy which detects idleness: a split which has not produced
+	 * records for the given timeout is idle and does not hold back the watermark until it produces
+	 * records again. A reader whose splits are all idle marks its output as idle.
+	 *
+	 * <p>Note that records of a split which becomes active again may be late, if the watermark
+	 * advanced past their timestamps while the split was idle.
+	 *
+	 * @param idleTimeout The time without records after which a split is idle.
+	 */
+	public WatermarkStrategy<T> withIdleness(Duration idleTimeout) {
+		checkNotNull(idleTimeout);
+		checkArgument(!idleTimeout.isZero() && !idleTimeout.isNegative(), "The idle timeout must be positive.");
+		checkArgument(generatorSupplier != null, "Idleness can only be detected if watermarks are generated.");
+
+		return new WatermarkStrategy<>(generatorSupplier, maxAllowedWatermarkDrift, idleTimeout.toMillis());
+	}
+
+	// ------------------------------------------------------------------------
+	//  Properties
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Checks whether this strategy generates watermarks.
+	 */
+	public boolean generatesWatermarks() {
+		return generatorSupplier != null;
+	}
+
+	/**
+	 * Creates a new watermark generator, for example for a newly assigned split.
+	 *
+	 * @throws IllegalStateException Thrown, if this strategy does not generate watermarks.
+	 */
+	public WatermarkGenerator<T> createWatermarkGenerator() {
+		if (generatorSupplier == null) {
+			throw new IllegalStateException("The strategy does not generate watermarks.");
+		}
+		return generatorSupplier.createWatermarkGenerator();
+	}
+
+	/**
+	 * Checks whether this strategy aligns the watermarks of the parallel readers.
+	 */
+	public boolean isWatermarkAligned() {
+		return maxAllowedWatermarkDrift != NO_ALIGNMENT;
+	}
+
+	/**
+	 * Gets the maximum drift of the watermarks of the parallel readers in milliseconds.
+	 *
+	 * @throws IllegalStateException Thrown, if this strategy does not align the watermarks.
+	 */
+	public long getMaxAllowedWatermarkDrift() {
+		if (!isWatermarkAligned()) {
+			throw new IllegalStateException("The strategy does not align the watermarks.");
+		}
+		return maxAllowedWatermarkDrift;
+	}
+
+	/**
+	 * Checks whether this strategy detects idle splits.
+	 */
+	public boolean isIdlenessDetected() {
+		return idleTimeout != NO_IDLENESS;
+	}
+
+	/**
+	 * Gets the time in milliseconds without records after which a split is idle.
+	 *
+	 * @throws IllegalStateException Thrown, if this strategy does not detect idleness.
+	 */
+	public long getIdleTimeout() {
+		if (!isIdlenessDetected()) {
+			throw new IllegalStateException("The strategy does not detect idleness.");
+		}
+		return idleTimeout;
+	}
+
+	@Override
+	public String toString() {
+		return "WatermarkStrategy{" +
+			"generatesWatermarks=" + generatesWatermarks() +
+			(isWatermarkAligned() ? ", maxAllowedWatermarkDrift=" + maxAllowedWatermarkDrift : "") +
+			(isIdlenessDetected() ? ", idleTimeout=" + idleTimeout : "") +
+			'}';
+	}
+}
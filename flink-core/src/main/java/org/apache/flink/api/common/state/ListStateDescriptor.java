@@ -76,6 +76,24 @@ public class ListStateDescriptor<T> extends StateDescriptor<ListState<T>, List<T
 		super(name, new ListSerializer<>(typeSerializer), null);
 	}
 
+	private ListStateDescriptor(String name, ListSerializer<T> listSerializer) {
+		super(name, listSerializer, null);
+	}
+
+	/**
+	 * Creates a new {@code ListStateDescriptor} with the given name for a list of longs.
+	 *
+	 * <p>State backends that keep the state on the heap hold the lists in a primitive array,
+	 * instead of boxing each of the longs. The serialized format of the state is the same as the
+	 * one of a {@code ListStateDescriptor} with {@code Long} elements, so existing state can be
+	 * restored with this descriptor and vice versa.
+	 *
+	 * @param name The (unique) name for the state.
+	 */
+	public static ListStateDescriptor<Long> forPrimitiveLongs(String name) {
+		return new ListStateDescriptor<Long>(name, ListSerializer.forPrimitiveLongs());
+	}
+
 	/**
 	 * Gets the serializer for the elements contained in the list.
 	 *
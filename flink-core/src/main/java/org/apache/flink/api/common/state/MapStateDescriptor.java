@@ -86,6 +86,25 @@ public class MapStateDescriptor<UK, UV> extends StateDescriptor<MapState<UK, UV>
 		super(name, new MapTypeInfo<>(keyClass, valueClass), null);
 	}
 
+	private MapStateDescriptor(String name, MapSerializer<UK, UV> mapSerializer) {
+		super(name, mapSerializer, null);
+	}
+
+	/**
+	 * Create a new {@code MapStateDescriptor} with the given name for a map from ints to longs.
+	 *
+	 * <p>State backends that keep the state on the heap hold the maps in primitive arrays,
+	 * instead of boxing each of the keys and values, which also means that the map state does not
+	 * support {@code null} values. The serialized format of the state is the same as the one of a
+	 * {@code MapStateDescriptor} with {@code Integer} keys and {@code Long} values, so existing state
+	 * without {@code null} values can be restored with this descriptor and vice versa.
+	 *
+	 * @param name The name of the {@code MapStateDescriptor}.
+	 */
+	public static MapStateDescriptor<Integer, Long> forPrimitiveIntLongs(String name) {
+		return new MapStateDescriptor<>(name, MapSerializer.forPrimitiveIntLongs());
+	}
+
 	@Override
 	public Type getType() {
 		return Type.MAP;
@@ -23,6 +23,7 @@ import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
 import org.apache.flink.core.memory.DataInputView;
 import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.PrimitiveLongList;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -47,13 +48,31 @@ public final class ListSerializer<T> extends TypeSerializer<List<T>> {
 	/** The serializer for the elements of the list. */
 	private final TypeSerializer<T> elementSerializer;
 
+	/** Whether the lists are created as {@link PrimitiveLongList PrimitiveLongLists}. */
+	private final boolean primitiveLongs;
+
 	/**
 	 * Creates a list serializer that uses the given serializer to serialize the list's elements.
 	 *
 	 * @param elementSerializer The serializer for the elements of the list
 	 */
 	public ListSerializer(TypeSerializer<T> elementSerializer) {
+		this(elementSerializer, false);
+	}
+
+	private ListSerializer(TypeSerializer<T> elementSerializer, boolean primitiveLongs) {
 		this.elementSerializer = checkNotNull(elementSerializer);
+		this.primitiveLongs = primitiveLongs;
+	}
+
+	/**
+	 * Creates a serializer for lists of longs, which creates its lists as {@link PrimitiveLongList
+	 * PrimitiveLongLists} that hold the elements in a primitive array instead of boxing each of
+	 * them. The serialized format is the same as the one of a list serializer for the {@link
+	 * LongSerializer}, so the two are compatible with each other.
+	 */
+	public static ListSerializer<Long> forPrimitiveLongs() {
+		return new ListSerializer<>(LongSerializer.INSTANCE, true);
 	}
 
 	// ------------------------------------------------------------------------
@@ -80,17 +99,29 @@ public final class ListSerializer<T> extends TypeSerializer<List<T>> {
 	@Override
 	public TypeSerializer<List<T>> duplicate() {
 		TypeSerializer<T> duplicateElement = elementSerializer.duplicate();
-		return duplicateElement == elementSerializer ? this : new ListSerializer<>(duplicateElement);
+		return duplicateElement == elementSerializer ? this : new ListSerializer<>(duplicateElement, primitiveLongs);
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public List<T> createInstance() {
-		return new ArrayList<>(0);
+		return primitiveLongs ? (List<T>) new PrimitiveLongList() : new ArrayList<>();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> createList(int capacity) {
+		return primitiveLongs ? (List<T>) new PrimitiveLongList(capacity) : new ArrayList<>(capacity);
 	}
 
 	@Override
 	public List<T> copy(List<T> from) {
-		List<T> newList = new ArrayList<>(from.size());
+		if (from instanceof PrimitiveLongList) {
+			@SuppressWarnings("unchecked")
+			List<T> newList = (List<T>) ((PrimitiveLongList) from).copy();
+			return newList;
+		}
+
+		List<T> newList = createList(from.size());
 
 		// We iterate here rather than accessing by index, because we cannot be sure that
 		// the given list supports RandomAccess.
@@ -116,6 +147,15 @@ public final class ListSerializer<T> extends TypeSerializer<List<T>> {
 		final int size = list.size();
 		target.writeInt(size);
 
+		if (list instanceof PrimitiveLongList) {
+			// write the elements in the format of the LongSerializer, without boxing them
+			final PrimitiveLongList longs = (PrimitiveLongList) list;
+			for (int i = 0; i < size; i++) {
+				target.writeLong(longs.getLong(i));
+			}
+			return;
+		}
+
 		// We iterate here rather than accessing by index, because we cannot be sure that
 		// the given list supports RandomAccess.
 		// The Iterator should be stack allocated on new JVMs (due to escape analysis)
@@ -128,7 +168,15 @@ public final class ListSerializer<T> extends TypeSerializer<List<T>> {
 	public List<T> deserialize(DataInputView source) throws IOException {
 		final int size = source.readInt();
 		// create new list with (size + 1) capacity to prevent expensive growth when a single element is added
-		final List<T> list = new ArrayList<>(size + 1);
+		final List<T> list = createList(size + 1);
+		if (primitiveLongs) {
+			final PrimitiveLongList longs = (PrimitiveLongList) list;
+			for (int i = 0; i < size; i++) {
+				longs.addLong(source.readLong());
+			}
+			return list;
+		}
+
 		for (int i = 0; i < size; i++) {
 			list.add(elementSerializer.deserialize(source));
 		}
@@ -156,7 +204,8 @@ public final class ListSerializer<T> extends TypeSerializer<List<T>> {
 	public boolean equals(Object obj) {
 		return obj == this ||
 				(obj != null && obj.getClass() == getClass() &&
-						elementSerializer.equals(((ListSerializer<?>) obj).elementSerializer));
+						elementSerializer.equals(((ListSerializer<?>) obj).elementSerializer) &&
+						primitiveLongs == ((ListSerializer<?>) obj).primitiveLongs);
 	}
 
 	@Override
@@ -24,6 +24,7 @@ import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
 import org.apache.flink.core.memory.DataInputView;
 import org.apache.flink.core.memory.DataOutputView;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.PrimitiveIntLongMap;
 
 import java.io.IOException;
 import java.util.Map;
@@ -51,6 +52,9 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 	/** The serializer for the values in the map */
 	private final TypeSerializer<V> valueSerializer;
 
+	/** Whether the maps are created as {@link PrimitiveIntLongMap PrimitiveIntLongMaps}. */
+	private final boolean primitiveIntLongs;
+
 	/**
 	 * Creates a map serializer that uses the given serializers to serialize the key-value pairs in the map.
 	 *
@@ -58,8 +62,24 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 	 * @param valueSerializer The serializer for the values in the map
 	 */
 	public MapSerializer(TypeSerializer<K> keySerializer, TypeSerializer<V> valueSerializer) {
+		this(keySerializer, valueSerializer, false);
+	}
+
+	private MapSerializer(TypeSerializer<K> keySerializer, TypeSerializer<V> valueSerializer, boolean primitiveIntLongs) {
 		this.keySerializer = Preconditions.checkNotNull(keySerializer, "The key serializer cannot be null");
 		this.valueSerializer = Preconditions.checkNotNull(valueSerializer, "The value serializer cannot be null.");
+		this.primitiveIntLongs = primitiveIntLongs;
+	}
+
+	/**
+	 * Creates a serializer for maps from ints to longs, which creates its maps as {@link
+	 * PrimitiveIntLongMap PrimitiveIntLongMaps} that hold the entries in primitive arrays instead
+	 * of boxing them. The serialized format is the same as the one of a map serializer for the
+	 * {@link IntSerializer} and the {@link LongSerializer}, so the two are compatible with each
+	 * other, except that the maps cannot contain null values.
+	 */
+	public static MapSerializer<Integer, Long> forPrimitiveIntLongs() {
+		return new MapSerializer<>(IntSerializer.INSTANCE, LongSerializer.INSTANCE, true);
 	}
 
 	// ------------------------------------------------------------------------
@@ -90,17 +110,22 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 
 		return (duplicateKeySerializer == keySerializer) && (duplicateValueSerializer == valueSerializer)
 				? this
-				: new MapSerializer<>(duplicateKeySerializer, duplicateValueSerializer);
+				: new MapSerializer<>(duplicateKeySerializer, duplicateValueSerializer, primitiveIntLongs);
 	}
 
 	@Override
 	public Map<K, V> createInstance() {
-		return new HashMap<>();
+		return primitiveIntLongs ? createMap(0) : new HashMap<>();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<K, V> createMap(int size) {
+		return primitiveIntLongs ? (Map<K, V>) new PrimitiveIntLongMap(size) : new HashMap<>(size);
 	}
 
 	@Override
 	public Map<K, V> copy(Map<K, V> from) {
-		Map<K, V> newMap = new HashMap<>(from.size());
+		Map<K, V> newMap = createMap(from.size());
 
 		for (Map.Entry<K, V> entry : from.entrySet()) {
 			K newKey = keySerializer.copy(entry.getKey());
@@ -143,7 +168,7 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 	public Map<K, V> deserialize(DataInputView source) throws IOException {
 		final int size = source.readInt();
 
-		final Map<K, V> map = new HashMap<>(size);
+		final Map<K, V> map = createMap(size);
 		for (int i = 0; i < size; ++i) {
 			K key = keySerializer.deserialize(source);
 
@@ -183,7 +208,8 @@ public final class MapSerializer<K, V> extends TypeSerializer<Map<K, V>> {
 		return obj == this ||
 				(obj != null && obj.getClass() == getClass() &&
 						keySerializer.equals(((MapSerializer<?, ?>) obj).getKeySerializer()) &&
-						valueSerializer.equals(((MapSerializer<?, ?>) obj).getValueSerializer()));
+						valueSerializer.equals(((MapSerializer<?, ?>) obj).getValueSerializer()) &&
+						primitiveIntLongs == ((MapSerializer<?, ?>) obj).primitiveIntLongs);
 	}
 
 	@Override
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * The boundedness of a {@link Source}, which tells whether the source produces a finite or an
+ * infinite stream of records.
+ */
+@PublicEvolving
+public enum Boundedness {
+
+	/**
+	 * A bounded source processes the data that is currently available and ends after that.
+	 */
+	BOUNDED,
+
+	/**
+	 * A continuous unbounded source continuously processes all data as it comes and does not
+	 * end by itself.
+	 */
+	CONTINUOUS_UNBOUNDED
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * The interface through which a {@link SourceReader} emits its records.
+ *
+ * <p>The output must only be used in the call of {@link SourceReader#pollNext(ReaderOutput)} to
+ * which it was passed. Readers which read several splits at the same time emit the records of
+ * each split through its own {@link SourceOutput}, so that the watermarks are generated per split
+ * rather than from the interleaved records of all splits.
+ *
+ * @param <T> The type of the records.
+ */
+@PublicEvolving
+public interface ReaderOutput<T> extends SourceOutput<T> {
+
+	/**
+	 * Creates the output of the split with the given id, or returns the existing output of the
+	 * split. The source generates the watermarks of the records of each split output separately,
+	 * and emits the minimum of the watermarks of all split outputs.
+	 *
+	 * <p>Like the reader output itself, a split output must only be used in the call of
+	 * {@link SourceReader#pollNext(ReaderOutput)} to which the reader output was passed, but the
+	 * returned instance can be kept and reused across calls. The output of a split should be
+	 * released once the split is finished, so that it no longer holds back the watermark.
+	 *
+	 * <p>The default implementation returns this output, which generates no separate watermarks.
+	 *
+	 * @param splitId The id of the split.
+	 * @return The output of the split.
+	 */
+	default SourceOutput<T> createOutputForSplit(String splitId) {
+		return this;
+	}
+
+	/**
+	 * Releases the output of the split with the given id, such that the watermark of the split
+	 * no longer holds back the watermark of the source.
+	 *
+	 * @param splitId The id of the split.
+	 */
+	default void releaseOutputForSplit(String splitId) {}
+}
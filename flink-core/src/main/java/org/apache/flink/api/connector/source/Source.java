@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.Serializable;
+
+/**
+ * The interface of sources which are split into a {@link SplitEnumerator} and
+ * {@link SourceReader SourceReaders}.
+ *
+ * <p>The enumerator runs on the JobManager, discovers the splits of the source and assigns them
+ * to the readers, which run in the parallel tasks of the source and read the records of the
+ * assigned splits. Unlike a {@code SourceFunction}, the readers do not run their own loop and do
+ * not need the checkpoint lock: the task polls them for records, so that a single source
+ * interface works for bounded and unbounded data.
+ *
+ * @param <T> The type of the records produced by the source.
+ * @param <SplitT> The type of the splits of the source.
+ * @param <EnumChkT> The type of the checkpointed state of the enumerator.
+ */
+@PublicEvolving
+public interface Source<T, SplitT extends SourceSplit, EnumChkT> extends Serializable {
+
+	/**
+	 * Gets the boundedness of the source.
+	 *
+	 * @return The boundedness of the source.
+	 */
+	Boundedness getBoundedness();
+
+	/**
+	 * Creates a new reader of the source.
+	 *
+	 * @param readerContext The context of the reader.
+	 * @return A new reader.
+	 */
+	SourceReader<T, SplitT> createReader(SourceReaderContext readerContext) throws Exception;
+
+	/**
+	 * Creates a new enumerator of the source, which starts without state.
+	 *
+	 * @param enumContext The context of the enumerator.
+	 * @return A new enumerator.
+	 */
+	SplitEnumerator<SplitT, EnumChkT> createEnumerator(SplitEnumeratorContext<SplitT> enumContext) throws Exception;
+
+	/**
+	 * Creates an enumerator of the source, which restores the given checkpointed state.
+	 *
+	 * @param enumContext The context of the enumerator.
+	 * @param checkpoint The checkpointed state of the enumerator.
+	 * @return A restored enumerator.
+	 */
+	SplitEnumerator<SplitT, EnumChkT> restoreEnumerator(
+			SplitEnumeratorContext<SplitT> enumContext,
+			EnumChkT checkpoint) throws Exception;
+
+	/**
+	 * Creates the serializer of the splits, which are stored in the checkpoints of the readers
+	 * and sent from the enumerator to the readers.
+	 *
+	 * @return The serializer of the splits.
+	 */
+	SimpleVersionedSerializer<SplitT> getSplitSerializer();
+
+	/**
+	 * Creates the serializer of the checkpointed state of the enumerator.
+	 *
+	 * @return The serializer of the checkpointed state of the enumerator.
+	 */
+	SimpleVersionedSerializer<EnumChkT> getEnumeratorCheckpointSerializer();
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * The output of one split of a {@link SourceReader}, see
+ * {@link ReaderOutput#createOutputForSplit(String)}. The source generates the watermarks of each
+ * split output separately from the records emitted through it.
+ *
+ * @param <T> The type of the records.
+ */
+@PublicEvolving
+public interface SourceOutput<T> {
+
+	/**
+	 * Emits a record without a timestamp.
+	 *
+	 * @param record The record to emit.
+	 */
+	void collect(T record) throws Exception;
+
+	/**
+	 * Emits a record with the given event time timestamp.
+	 *
+	 * @param record The record to emit.
+	 * @param timestamp The timestamp of the record, in milliseconds since the epoch.
+	 */
+	void collect(T record, long timestamp) throws Exception;
+}
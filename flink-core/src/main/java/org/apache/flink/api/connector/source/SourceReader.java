@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.core.io.InputStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The reader of a {@link Source}, which reads the records of the splits that the
+ * {@link SplitEnumerator} assigned to it.
+ *
+ * <p>All methods of the reader are called by the task thread. The reader must not block in any of
+ * them, in particular not in {@link #pollNext(ReaderOutput)}: if no data is available, the
+ * reader returns {@link InputStatus#NOTHING_AVAILABLE} and completes the future of
+ * {@link #isAvailable()} once more data can be polled. Readers that need to do blocking I/O do
+ * so in their own threads, and hand the fetched data over to the task thread.
+ *
+ * @param <T> The type of the records.
+ * @param <SplitT> The type of the splits.
+ */
+@PublicEvolving
+public interface SourceReader<T, SplitT extends SourceSplit> extends AutoCloseable {
+
+	/**
+	 * Starts the reader, after the splits of the restored state have been added.
+	 */
+	void start();
+
+	/**
+	 * Polls the next available record and emits it to the output.
+	 *
+	 * @param output The output to emit the records to.
+	 * @return The status of the reader after this call.
+	 */
+	InputStatus pollNext(ReaderOutput<T> output) throws Exception;
+
+	/**
+	 * Returns a future that is completed once more data is available, which is when the next
+	 * call of {@link #pollNext(ReaderOutput)} will not return {@link InputStatus#NOTHING_AVAILABLE}.
+	 *
+	 * @return A future that is completed once more data is available.
+	 */
+	CompletableFuture<Void> isAvailable();
+
+	/**
+	 * Adds splits that the {@link SplitEnumerator} assigned to the reader, or that the reader
+	 * restores from a checkpoint.
+	 *
+	 * @param splits The splits to read.
+	 */
+	void addSplits(List<SplitT> splits);
+
+	/**
+	 * Handles a custom event sent by the {@link SplitEnumerator}.
+	 *
+	 * @param sourceEvent The event sent by the enumerator.
+	 */
+	default void handleSourceEvents(SourceEvent sourceEvent) {}
+
+	/**
+	 * Takes a snapshot of the state of the reader, which are the splits that it has not finished
+	 * reading, with their current reading positions.
+	 *
+	 * @return The splits that the reader has not finished reading.
+	 */
+	List<SplitT> snapshotState();
+
+	/**
+	 * Notifies the reader that the checkpoint with the given id has completed, for example to
+	 * commit reading positions to an external system.
+	 *
+	 * @param checkpointId The id of the completed checkpoint.
+	 */
+	default void notifyCheckpointComplete(long checkpointId) throws Exception {}
+
+	/**
+	 * Pauses or resumes the reading of the given splits. The source pauses the splits whose
+	 * watermark is too far ahead of the watermarks of the other readers, when it aligns the
+	 * watermarks of its readers. A paused split stays assigned to the reader, and is part of its
+	 * state.
+	 *
+	 * <p>Readers which do not support pausing single splits throw an
+	 * {@link UnsupportedOperationException}, which is also the default. The source then pauses
+	 * the whole reader once all of its splits are too far ahead.
+	 *
+	 * @param splitsToPause The ids of the splits to pause.
+	 * @param splitsToResume The ids of the splits to resume.
+	 */
+	default void pauseOrResumeSplits(Collection<String> splitsToPause, Collection<String> splitsToResume) {
+		throw new UnsupportedOperationException("The reader does not support pausing splits.");
+	}
+}
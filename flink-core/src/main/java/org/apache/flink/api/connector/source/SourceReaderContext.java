@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.metrics.MetricGroup;
+
+/**
+ * The context of a {@link SourceReader}, which gives access to the task that runs the reader.
+ */
+@PublicEvolving
+public interface SourceReaderContext {
+
+	/**
+	 * Gets the metric group of the reader.
+	 *
+	 * @return The metric group of the reader.
+	 */
+	MetricGroup metricGroup();
+
+	/**
+	 * Gets the index of the parallel subtask that runs the reader.
+	 *
+	 * @return The index of the parallel subtask that runs the reader.
+	 */
+	int getIndexOfSubtask();
+
+	/**
+	 * Asks the {@link SplitEnumerator} for more splits, see
+	 * {@link SplitEnumerator#handleSplitRequest(int, String)}. Readers which run out of work call
+	 * this to pull splits dynamically, which lets idle readers take over the remaining work.
+	 */
+	void sendSplitRequest();
+
+	/**
+	 * Sends a custom event to the {@link SplitEnumerator}.
+	 *
+	 * @param sourceEvent The event to send.
+	 */
+	void sendSourceEventToEnumerator(SourceEvent sourceEvent);
+}
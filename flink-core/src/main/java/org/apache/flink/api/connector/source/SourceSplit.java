@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/**
+ * An interface for all the splits of a {@link Source}, such as a file region or a partition of
+ * a message queue. A split is the unit of work which the {@link SplitEnumerator} assigns to the
+ * {@link SourceReader SourceReaders}.
+ */
+@PublicEvolving
+public interface SourceSplit {
+
+	/**
+	 * Gets the id of the split, which is unique across all the splits of a source.
+	 *
+	 * @return The id of the split.
+	 */
+	String splitId();
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The enumerator of a {@link Source}, which discovers the splits and assigns them to the
+ * {@link SourceReader SourceReaders}.
+ *
+ * <p>The enumerator runs once per source on the JobManager, in the coordinator of the source.
+ * All its methods are called by the same thread.
+ *
+ * @param <SplitT> The type of the splits.
+ * @param <CheckpointT> The type of the checkpointed state of the enumerator.
+ */
+@PublicEvolving
+public interface SplitEnumerator<SplitT extends SourceSplit, CheckpointT> extends AutoCloseable {
+
+	/**
+	 * Starts the enumerator, for example to start the periodic discovery of splits.
+	 */
+	void start();
+
+	/**
+	 * Handles a request for splits of the reader of the given subtask, see
+	 * {@link SourceReaderContext#sendSplitRequest()}.
+	 *
+	 * @param subtaskId The index of the subtask that runs the reader.
+	 * @param requesterHostname The host name of the reader, to assign local splits.
+	 */
+	default void handleSplitRequest(int subtaskId, String requesterHostname) {}
+
+	/**
+	 * Handles a custom event sent by the reader of the given subtask.
+	 *
+	 * @param subtaskId The index of the subtask that runs the reader.
+	 * @param sourceEvent The event sent by the reader.
+	 */
+	default void handleSourceEvent(int subtaskId, SourceEvent sourceEvent) {}
+
+	/**
+	 * Adds splits back to the enumerator. This happens when the reader of the given subtask
+	 * failed, for the splits which were assigned to it after the last completed checkpoint.
+	 *
+	 * @param splits The splits to add back.
+	 * @param subtaskId The index of the subtask whose reader failed.
+	 */
+	void addSplitsBack(List<SplitT> splits, int subtaskId);
+
+	/**
+	 * Adds a new reader, which registered from the given subtask.
+	 *
+	 * @param subtaskId The index of the subtask that runs the reader.
+	 */
+	void addReader(int subtaskId);
+
+	/**
+	 * Takes a snapshot of the state of the enumerator.
+	 *
+	 * @return The state of the enumerator.
+	 */
+	CheckpointT snapshotState() throws Exception;
+
+	/**
+	 * Notifies the enumerator that the checkpoint with the given id has completed.
+	 *
+	 * @param checkpointId The id of the completed checkpoint.
+	 */
+	default void notifyCheckpointComplete(long checkpointId) {}
+
+	/**
+	 * Closes the enumerator.
+	 */
+	@Override
+	void close() throws IOException;
+}
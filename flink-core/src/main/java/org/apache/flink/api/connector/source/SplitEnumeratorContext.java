@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.connector.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.metrics.MetricGroup;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * The context of a {@link SplitEnumerator}, through which it assigns splits and exchanges
+ * events with the {@link SourceReader SourceReaders}.
+ *
+ * <p>All methods of the enumerator are called by a single thread of the coordinator, and the
+ * context must only be used by that thread. Blocking work, such as discovering splits in an
+ * external system, is done with {@link #callAsync(Callable, BiConsumer)}.
+ *
+ * @param <SplitT> The type of the splits.
+ */
+@PublicEvolving
+public interface SplitEnumeratorContext<SplitT extends SourceSplit> {
+
+	/**
+	 * Gets the metric group of the enumerator.
+	 *
+	 * @return The metric group of the enumerator.
+	 */
+	MetricGroup metricGroup();
+
+	/**
+	 * Sends a custom event to the reader of the given subtask.
+	 *
+	 * @param subtaskId The index of the subtask that runs the reader.
+	 * @param event The event to send.
+	 */
+	void sendEventToSourceReader(int subtaskId, SourceEvent event);
+
+	/**
+	 * Gets the parallelism of the source.
+	 *
+	 * @return The parallelism of the source.
+	 */
+	int currentParallelism();
+
+	/**
+	 * Gets the readers which are currently registered, keyed by the index of their subtask.
+	 *
+	 * @return The currently registered readers.
+	 */
+	Map<Integer, ReaderInfo> registeredReaders();
+
+	/**
+	 * Assigns the given splits to the readers. The splits must only be assigned to registered
+	 * readers.
+	 *
+	 * @param newSplitAssignments The new splits per subtask.
+	 */
+	void assignSplits(SplitsAssignment<SplitT> newSplitAssignments);
+
+	/**
+	 * Invokes the given callable in another thread, and passes its result or failure to the
+	 * given handler, which is invoked in the thread of the enumerator.
+	 *
+	 * @param callable The callable to invoke.
+	 * @param handler The handler of the result or failure of the callable.
+	 * @param <T> The type of the result.
+	 */
+	<T> void callAsync(Callable<T> callable, BiConsumer<T, Throwable> handler);
+
+	/**
+	 * Invokes the given callable periodically in another thread, and passes each result or
+	 * failure to the given handler, which is invoked in the thread of the enumerator.
+	 *
+	 * @param callable The callable to invoke.
+	 * @param handler The handler of the results or failures of the callable.
+	 * @param initialDelay The delay of the first invocation, in milliseconds.
+	 * @param period The period between the invocations, in milliseconds.
+	 * @param <T> The type of the results.
+	 */
+	<T> void callAsync(Callable<T> callable, BiConsumer<T, Throwable> handler, long initialDelay, long period);
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.AtomicType;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeComparator;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.ListSerializer;
+import org.apache.flink.api.common.typeutils.base.MapSerializer;
+import org.apache.flink.api.java.typeutils.runtime.GenericTypeComparator;
+import org.apache.flink.api.java.typeutils.runtime.ImmutablePojoSerializer;
+import org.apache.flink.api.java.typeutils.runtime.NullableSerializer;
+import org.apache.flink.api.java.typeutils.runtime.OptionalSerializer;
+
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Type information for immutable POJOs: public final classes without a default constructor,
+ * whose fields are all set by a public constructor with one parameter per field. The
+ * {@link TypeExtractor} matches the parameters to the fields by name, which requires the
+ * constructor to be annotated with {@link java.beans.ConstructorProperties} or the class to be
+ * compiled with {@code -parameters}.
+ *
+ * <p>If {@link ExecutionConfig#enableImmutablePojoSerialization()} is set, immutable POJOs are
+ * serialized by the {@link ImmutablePojoSerializer} instead of Kryo. Otherwise they are serialized
+ * with Kryo like a {@link GenericTypeInfo}, which keeps the state of programs that were written
+ * before immutable POJOs were recognized restorable. Unlike regular POJOs, their fields cannot be
+ * addressed in field expressions.
+ *
+ * @param <T> The type of the immutable POJO.
+ */
+@PublicEvolving
+public final class ImmutablePojoTypeInfo<T> extends TypeInformation<T> implements AtomicType<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Class<T> typeClass;
+
+	/** The names of the fields, in the order of the parameters of the constructor. */
+	private final String[] fieldNames;
+
+	private final TypeInformation<?>[] fieldTypes;
+
+	public ImmutablePojoTypeInfo(Class<T> typeClass, String[] fieldNames, TypeInformation<?>[] fieldTypes) {
+		this.typeClass = checkNotNull(typeClass);
+		this.fieldNames = checkNotNull(fieldNames);
+		this.fieldTypes = checkNotNull(fieldTypes);
+		checkArgument(fieldNames.length == fieldTypes.length,
+			"The number of field names and field types must be the same.");
+	}
+
+	// ------------------------------------------------------------------------
+	//  ImmutablePojoTypeInfo specific properties
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Gets the names of the fields, in the order of the parameters of the constructor.
+	 */
+	public String[] getFieldNames() {
+		return fieldNames;
+	}
+
+	/**
+	 * Gets the type information of the fields, in the order of the parameters of the constructor.
+	 */
+	public TypeInformation<?>[] getFieldTypes() {
+		return fieldTypes;
+	}
+
+	// ------------------------------------------------------------------------
+	//  TypeInformation implementation
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean isBasicType() {
+		return false;
+	}
+
+	@Override
+	public boolean isTupleType() {
+		return false;
+	}
+
+	@Override
+	public int getArity() {
+		return 1;
+	}
+
+	@Override
+	public int getTotalFields() {
+		return 1;
+	}
+
+	@Override
+	public Class<T> getTypeClass() {
+		return typeClass;
+	}
+
+	@Override
+	public boolean isKeyType() {
+		return Comparable.class.isAssignableFrom(typeClass);
+	}
+
+	@Override
+	public TypeSerializer<T> createSerializer(ExecutionConfig config) {
+		if (config.isForceKryoEnabled() || !config.isImmutablePojoSerializationEnabled()) {
+			return new GenericTypeInfo<>(typeClass).createSerializer(config);
+		}
+
+		TypeSerializer<?>[] fieldSerializers = new TypeSerializer<?>[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			fieldSerializers[i] = createFieldSerializer(fieldTypes[i], config);
+		}
+		return new ImmutablePojoSerializer<>(typeClass, fieldNames, fieldSerializers);
+	}
+
+	/**
+	 * Creates the serializer of a field. Lists may contain null elements, which the serializers
+	 * of most element types do not support, so these are wrapped in a {@link NullableSerializer}.
+	 */
+	private static TypeSerializer<?> createFieldSerializer(TypeInformation<?> fieldType, ExecutionConfig config) {
+		if (fieldType instanceof ListTypeInfo) {
+			TypeSerializer<?> elementSerializer = createFieldSerializer(((ListTypeInfo<?>) fieldType).getElementTypeInfo(), config);
+			return new ListSerializer<>(NullableSerializer.wrapIfNullIsNotSupported(elementSerializer, false));
+		} else if (fieldType instanceof MapTypeInfo) {
+			MapTypeInfo<?, ?> mapType = (MapTypeInfo<?, ?>) fieldType;
+			return new MapSerializer<>(
+				createFieldSerializer(mapType.getKeyTypeInfo(), config),
+				createFieldSerializer(mapType.getValueTypeInfo(), config));
+		} else if (fieldType instanceof OptionalTypeInfo) {
+			return new OptionalSerializer<>(createFieldSerializer(((OptionalTypeInfo<?>) fieldType).getValueTypeInfo(), config));
+		} else {
+			return fieldType.createSerializer(config);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public TypeComparator<T> createComparator(boolean sortOrderAscending, ExecutionConfig executionConfig) {
+		if (isKeyType()) {
+			@SuppressWarnings("rawtypes")
+			GenericTypeComparator comparator = new GenericTypeComparator(sortOrderAscending, createSerializer(executionConfig), typeClass);
+			return (TypeComparator<T>) comparator;
+		}
+
+		throw new UnsupportedOperationException("Types that do not implement java.lang.Comparable cannot be used as keys.");
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("ImmutablePojoType<").append(typeClass.getName()).append(", fields = [");
+		for (int i = 0; i < fieldNames.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(fieldNames[i]).append(": ").append(fieldTypes[i]);
+		}
+		return builder.append("]>").toString();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} else if (obj instanceof ImmutablePojoTypeInfo) {
+			final ImmutablePojoTypeInfo<?> other = (ImmutablePojoTypeInfo<?>) obj;
+			return other.canEqual(this) &&
+				typeClass == other.typeClass &&
+				Arrays.equals(fieldNames, other.fieldNames) &&
+				Arrays.equals(fieldTypes, other.fieldTypes);
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * typeClass.hashCode() + Arrays.hashCode(fieldTypes);
+	}
+
+	@Override
+	public boolean canEqual(Object obj) {
+		return obj != null && obj.getClass() == getClass();
+	}
+}
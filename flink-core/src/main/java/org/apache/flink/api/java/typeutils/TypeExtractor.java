@@ -56,21 +56,25 @@ import org.apache.flink.util.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.beans.ConstructorProperties;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.apache.flink.api.java.typeutils.TypeExtractionUtils.getTypeHierarchy;
 import static org.apache.flink.api.java.typeutils.TypeExtractionUtils.hasSuperclass;
@@ -1747,6 +1751,11 @@ public class TypeExtractor {
 			if (pojoType != null) {
 				return pojoType;
 			}
+
+			TypeInformation<OUT> immutablePojoType = analyzeImmutablePojo(clazz, new ArrayList<Type>(typeHierarchy), parameterizedType, in1Type, in2Type);
+			if (immutablePojoType != null) {
+				return immutablePojoType;
+			}
 		} catch (InvalidTypesException e) {
 			if(LOG.isDebugEnabled()) {
 				LOG.debug("Unable to handle type "+clazz+" as POJO. Message: "+e.getMessage(), e);
@@ -1916,6 +1925,135 @@ public class TypeExtractor {
 		return pojoType;
 	}
 
+	/**
+	 * Analyzes a class which cannot be used as a POJO type as an immutable POJO: a public final class
+	 * whose fields are all set by a public constructor with one parameter per field. The parameters
+	 * are matched to the fields by their names, which are taken from the {@link ConstructorProperties}
+	 * annotation of the constructor, or from the class file if it was compiled with {@code -parameters}.
+	 *
+	 * @return the type information of the immutable POJO, or null if the class is no immutable POJO.
+	 */
+	private <OUT, IN1, IN2> TypeInformation<OUT> analyzeImmutablePojo(Class<OUT> clazz, ArrayList<Type> typeHierarchy,
+			ParameterizedType parameterizedType, TypeInformation<IN1> in1Type, TypeInformation<IN2> in2Type) {
+
+		if (!Modifier.isPublic(clazz.getModifiers()) || !Modifier.isFinal(clazz.getModifiers())) {
+			return null;
+		}
+		for (Method method : getAllDeclaredMethods(clazz)) {
+			if (method.getName().equals("readObject") || method.getName().equals("writeObject")) {
+				return null;
+			}
+		}
+
+		final Map<String, Field> fieldsByName = new HashMap<>();
+		for (Field field : getAllDeclaredFields(clazz, false)) {
+			fieldsByName.put(field.getName(), field);
+		}
+
+		String[] fieldNames = null;
+		for (Constructor<?> constructor : clazz.getConstructors()) {
+			fieldNames = getConstructorFieldNames(constructor, fieldsByName);
+			if (fieldNames != null) {
+				break;
+			}
+		}
+		if (fieldNames == null) {
+			LOG.info("Class " + clazz + " has no public constructor whose parameters are named after all of its fields, " +
+				"so it cannot be used as an immutable POJO type and must be processed as GenericType. Please read the " +
+				"Flink documentation on \"Data Types & Serialization\" for details of the effect on performance.");
+			return null;
+		}
+
+		// add the hierarchy of the POJO itself if it is generic
+		if (parameterizedType != null) {
+			getTypeHierarchy(typeHierarchy, parameterizedType, Object.class);
+		}
+		// create a type hierarchy, if the incoming only contains the most bottom one or none.
+		else if (typeHierarchy.size() <= 1) {
+			getTypeHierarchy(typeHierarchy, clazz, Object.class);
+		}
+
+		final TypeInformation<?>[] fieldTypes = new TypeInformation<?>[fieldNames.length];
+		for (int i = 0; i < fieldNames.length; i++) {
+			Type fieldType = fieldsByName.get(fieldNames[i]).getGenericType();
+			try {
+				ArrayList<Type> fieldTypeHierarchy = new ArrayList<>(typeHierarchy);
+				fieldTypeHierarchy.add(fieldType);
+				fieldTypes[i] = createImmutablePojoFieldTypeInfo(fieldTypeHierarchy, fieldType, in1Type, in2Type);
+			} catch (InvalidTypesException e) {
+				Class<?> genericClass = Object.class;
+				if (isClassType(fieldType)) {
+					genericClass = typeToClass(fieldType);
+				}
+				fieldTypes[i] = new GenericTypeInfo<>(genericClass);
+			}
+		}
+		return new ImmutablePojoTypeInfo<>(clazz, fieldNames, fieldTypes);
+	}
+
+	/**
+	 * Returns the names of the fields which the parameters of the given constructor are assigned
+	 * to, or null if the parameters do not correspond exactly to the given fields.
+	 */
+	private static String[] getConstructorFieldNames(Constructor<?> constructor, Map<String, Field> fieldsByName) {
+		final Class<?>[] parameterTypes = constructor.getParameterTypes();
+		if (parameterTypes.length != fieldsByName.size()) {
+			return null;
+		}
+
+		final String[] parameterNames;
+		final ConstructorProperties constructorProperties = constructor.getAnnotation(ConstructorProperties.class);
+		if (constructorProperties != null) {
+			parameterNames = constructorProperties.value();
+		} else {
+			final Parameter[] parameters = constructor.getParameters();
+			parameterNames = new String[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				if (!parameters[i].isNamePresent()) {
+					return null;
+				}
+				parameterNames[i] = parameters[i].getName();
+			}
+		}
+
+		if (parameterNames.length != parameterTypes.length ||
+				new HashSet<>(Arrays.asList(parameterNames)).size() != parameterNames.length) {
+			return null;
+		}
+		for (int i = 0; i < parameterNames.length; i++) {
+			Field field = fieldsByName.get(parameterNames[i]);
+			if (field == null || field.getType() != parameterTypes[i]) {
+				return null;
+			}
+		}
+		return parameterNames;
+	}
+
+	/**
+	 * Creates the type information of a field of an immutable POJO. Lists, maps and optionals are
+	 * analyzed by their type arguments, instead of being treated as generic types.
+	 */
+	private <IN1, IN2> TypeInformation<?> createImmutablePojoFieldTypeInfo(ArrayList<Type> typeHierarchy, Type fieldType,
+			TypeInformation<IN1> in1Type, TypeInformation<IN2> in2Type) {
+
+		if (fieldType instanceof ParameterizedType) {
+			final Type rawType = ((ParameterizedType) fieldType).getRawType();
+			final Type[] typeArguments = ((ParameterizedType) fieldType).getActualTypeArguments();
+			if (rawType == List.class) {
+				return new ListTypeInfo<>(
+					createImmutablePojoFieldTypeInfo(new ArrayList<>(typeHierarchy), typeArguments[0], in1Type, in2Type));
+			} else if (rawType == Map.class) {
+				return new MapTypeInfo<>(
+					createImmutablePojoFieldTypeInfo(new ArrayList<>(typeHierarchy), typeArguments[0], in1Type, in2Type),
+					createImmutablePojoFieldTypeInfo(new ArrayList<>(typeHierarchy), typeArguments[1], in1Type, in2Type));
+			} else if (rawType == Optional.class) {
+				return new OptionalTypeInfo<>(
+					createImmutablePojoFieldTypeInfo(new ArrayList<>(typeHierarchy), typeArguments[0], in1Type, in2Type));
+			}
+		}
+		return createTypeInfoWithTypeHierarchy(typeHierarchy, fieldType, in1Type, in2Type);
+	}
+
 	/**
 	 * Recursively determine all declared fields
 	 * This is required because class.getFields() is not returning fields defined
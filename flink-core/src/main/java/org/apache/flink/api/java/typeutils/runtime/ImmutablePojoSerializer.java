@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.TypeExtractor;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link TypeSerializer} for immutable POJOs: final classes which are created through a
+ * constructor taking the values of all their fields, instead of through a default constructor
+ * and setters.
+ *
+ * <p>The fields are written positionally, in the order of the parameters of the constructor,
+ * without any field names or class names. They are preceded by a mask with one bit for the
+ * record and one for each field, which is set if the record or the field is null. The bits are
+ * packed into {@code (numFields + 1 + 7) / 8} bytes.
+ *
+ * <p>The serializer reads the values of the fields and restores a record by passing them to the
+ * constructor, so it requires the constructor to assign its arguments to the fields verbatim. A
+ * constructor which normalizes, copies into other representations or validates its arguments
+ * differently than the fields were set would not restore an equal record.
+ *
+ * @param <T> the type of the immutable POJO
+ */
+@Internal
+public final class ImmutablePojoSerializer<T> extends TypeSerializer<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The bit of the first byte of the null mask which is set if the record is null. */
+	private static final int RECORD_IS_NULL = 0x01;
+
+	private final Class<T> clazz;
+
+	/** The names of the fields, in the order of the parameters of the constructor. */
+	private final String[] fieldNames;
+
+	private final TypeSerializer<Object>[] fieldSerializers;
+
+	private final int numNullMaskBytes;
+
+	private final boolean immutableType;
+
+	private transient Constructor<T> constructor;
+
+	private transient PojoFieldAccessor[] fieldAccessors;
+
+	@SuppressWarnings("unchecked")
+	public ImmutablePojoSerializer(Class<T> clazz, String[] fieldNames, TypeSerializer<?>[] fieldSerializers) {
+		this.clazz = checkNotNull(clazz);
+		this.fieldNames = checkNotNull(fieldNames);
+		this.fieldSerializers = (TypeSerializer<Object>[]) checkNotNull(fieldSerializers);
+		checkArgument(fieldNames.length == fieldSerializers.length,
+			"The number of field names and field serializers must be the same.");
+
+		this.numNullMaskBytes = (fieldNames.length + 8) / 8;
+
+		boolean immutableType = true;
+		for (int i = 0; i < fieldNames.length; i++) {
+			immutableType &= fieldSerializers[i].isImmutableType();
+		}
+		for (Field field : initializeFields()) {
+			immutableType &= Modifier.isFinal(field.getModifiers());
+		}
+		this.immutableType = immutableType;
+	}
+
+	public Class<T> getTypeClass() {
+		return clazz;
+	}
+
+	public String[] getFieldNames() {
+		return fieldNames;
+	}
+
+	public TypeSerializer<Object>[] getFieldSerializers() {
+		return fieldSerializers;
+	}
+
+	// ------------------------------------------------------------------------
+	//  TypeSerializer methods
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean isImmutableType() {
+		return immutableType;
+	}
+
+	@Override
+	public TypeSerializer<T> duplicate() {
+		TypeSerializer<?>[] duplicateFieldSerializers = new TypeSerializer<?>[fieldSerializers.length];
+		boolean stateful = false;
+		for (int i = 0; i < fieldSerializers.length; i++) {
+			duplicateFieldSerializers[i] = fieldSerializers[i].duplicate();
+			stateful |= duplicateFieldSerializers[i] != fieldSerializers[i];
+		}
+		return stateful ? new ImmutablePojoSerializer<>(clazz, fieldNames, duplicateFieldSerializers) : this;
+	}
+
+	@Override
+	public T createInstance() {
+		// there are no values which an immutable POJO could be created from
+		return null;
+	}
+
+	@Override
+	public T copy(T from) {
+		if (from == null || immutableType) {
+			return from;
+		}
+
+		final Object[] values = new Object[fieldAccessors.length];
+		for (int i = 0; i < fieldAccessors.length; i++) {
+			final Object value = fieldAccessors[i].get(from);
+			values[i] = value == null ? null : fieldSerializers[i].copy(value);
+		}
+		return instantiate(values);
+	}
+
+	@Override
+	public T copy(T from, T reuse) {
+		return copy(from);
+	}
+
+	@Override
+	public int getLength() {
+		return -1;
+	}
+
+	@Override
+	public void serialize(T record, DataOutputView target) throws IOException {
+		if (record == null) {
+			target.writeByte(RECORD_IS_NULL);
+			for (int i = 1; i < numNullMaskBytes; i++) {
+				target.writeByte(0);
+			}
+			return;
+		}
+
+		// the first bit belongs to the record, the following ones to the fields
+		int maskByte = 0;
+		int bit = 0x02;
+		for (PojoFieldAccessor fieldAccessor : fieldAccessors) {
+			if (fieldAccessor.get(record) == null) {
+				maskByte |= bit;
+			}
+			bit <<= 1;
+			if (bit == 0x100) {
+				target.writeByte(maskByte);
+				maskByte = 0;
+				bit = 0x01;
+			}
+		}
+		if (bit != 0x01) {
+			target.writeByte(maskByte);
+		}
+
+		for (int i = 0; i < fieldAccessors.length; i++) {
+			final Object value = fieldAccessors[i].get(record);
+			if (value != null) {
+				fieldSerializers[i].serialize(value, target);
+			}
+		}
+	}
+
+	@Override
+	public T deserialize(DataInputView source) throws IOException {
+		final byte[] nullMask = new byte[numNullMaskBytes];
+		source.readFully(nullMask);
+		if ((nullMask[0] & RECORD_IS_NULL) != 0) {
+			return null;
+		}
+
+		final Object[] values = new Object[fieldSerializers.length];
+		for (int i = 0; i < fieldSerializers.length; i++) {
+			if (!isFieldNull(nullMask, i)) {
+				values[i] = fieldSerializers[i].deserialize(source);
+			}
+		}
+		return instantiate(values);
+	}
+
+	@Override
+	public T deserialize(T reuse, DataInputView source) throws IOException {
+		return deserialize(source);
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		final byte[] nullMask = new byte[numNullMaskBytes];
+		source.readFully(nullMask);
+		target.write(nullMask);
+		if ((nullMask[0] & RECORD_IS_NULL) != 0) {
+			return;
+		}
+
+		for (int i = 0; i < fieldSerializers.length; i++) {
+			if (!isFieldNull(nullMask, i)) {
+				fieldSerializers[i].copy(source, target);
+			}
+		}
+	}
+
+	private static boolean isFieldNull(byte[] nullMask, int fieldIndex) {
+		final int bit = fieldIndex + 1;
+		return (nullMask[bit >>> 3] & (1 << (bit & 7))) != 0;
+	}
+
+	private T instantiate(Object[] values) {
+		try {
+			return constructor.newInstance(values);
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException("The constructor of " + clazz.getName() + " failed.", e.getTargetException());
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException("Cannot instantiate class.", e);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} else if (obj != null && obj.getClass() == getClass()) {
+			ImmutablePojoSerializer<?> other = (ImmutablePojoSerializer<?>) obj;
+			return clazz == other.clazz &&
+				Arrays.equals(fieldNames, other.fieldNames) &&
+				Arrays.equals(fieldSerializers, other.fieldSerializers);
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * clazz.hashCode() + Arrays.hashCode(fieldSerializers);
+	}
+
+	// ------------------------------------------------------------------------
+	// Serializer configuration snapshotting & compatibility
+	// ------------------------------------------------------------------------
+
+	@Override
+	public ImmutablePojoSerializerSnapshot<T> snapshotConfiguration() {
+		return new ImmutablePojoSerializerSnapshot<>(this);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		initializeFields();
+	}
+
+	/**
+	 * Looks up the fields and the constructor of the class, and creates the accessors of the
+	 * fields.
+	 */
+	private Field[] initializeFields() {
+		final Map<String, Field> fieldsByName = new HashMap<>();
+		for (Field field : TypeExtractor.getAllDeclaredFields(clazz, false)) {
+			fieldsByName.put(field.getName(), field);
+		}
+
+		final Field[] fields = new Field[fieldNames.length];
+		final Class<?>[] fieldTypes = new Class<?>[fieldNames.length];
+		final PojoFieldAccessor[] fieldAccessors = new PojoFieldAccessor[fieldNames.length];
+		for (int i = 0; i < fieldNames.length; i++) {
+			fields[i] = fieldsByName.get(fieldNames[i]);
+			if (fields[i] == null) {
+				throw new IllegalArgumentException("Class " + clazz.getName() + " has no field " + fieldNames[i] + '.');
+			}
+			fieldTypes[i] = fields[i].getType();
+			fieldAccessors[i] = PojoFieldAccessor.create(fields[i], fieldSerializers[i]);
+		}
+
+		try {
+			this.constructor = clazz.getConstructor(fieldTypes);
+			this.constructor.setAccessible(true);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("Class " + clazz.getName() + " has no public constructor taking " +
+				"the fields " + Arrays.toString(fieldNames) + '.', e);
+		}
+		this.fieldAccessors = fieldAccessors;
+		return fields;
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.CompositeTypeSerializerSnapshot;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Snapshot class for the {@link ImmutablePojoSerializer}.
+ *
+ * <p>The snapshot holds the class and the names of the fields in their serialized order. A new
+ * serializer is only compatible if it writes the same fields in the same order; the compatibility
+ * of the field serializers is resolved through their own snapshots.
+ */
+@Internal
+public final class ImmutablePojoSerializerSnapshot<T> extends CompositeTypeSerializerSnapshot<T, ImmutablePojoSerializer<T>> {
+
+	private static final int CURRENT_VERSION = 1;
+
+	private Class<T> clazz;
+
+	private String[] fieldNames;
+
+	/**
+	 * Constructor for read instantiation.
+	 */
+	@SuppressWarnings("unused")
+	public ImmutablePojoSerializerSnapshot() {
+		super(ImmutablePojoSerializer.class);
+	}
+
+	/**
+	 * Constructor to create the snapshot for writing.
+	 */
+	public ImmutablePojoSerializerSnapshot(ImmutablePojoSerializer<T> serializer) {
+		super(serializer);
+		this.clazz = serializer.getTypeClass();
+		this.fieldNames = serializer.getFieldNames();
+	}
+
+	@Override
+	protected int getCurrentOuterSnapshotVersion() {
+		return CURRENT_VERSION;
+	}
+
+	@Override
+	protected void writeOuterSnapshot(DataOutputView out) throws IOException {
+		out.writeUTF(clazz.getName());
+		out.writeInt(fieldNames.length);
+		for (String fieldName : fieldNames) {
+			out.writeUTF(fieldName);
+		}
+	}
+
+	@Override
+	protected void readOuterSnapshot(int readOuterSnapshotVersion, DataInputView in, ClassLoader userCodeClassLoader) throws IOException {
+		this.clazz = InstantiationUtil.resolveClassByName(in, userCodeClassLoader);
+		this.fieldNames = new String[in.readInt()];
+		for (int i = 0; i < fieldNames.length; i++) {
+			fieldNames[i] = in.readUTF();
+		}
+	}
+
+	@Override
+	protected boolean isOuterSnapshotCompatible(ImmutablePojoSerializer<T> newSerializer) {
+		return clazz == newSerializer.getTypeClass() && Arrays.equals(fieldNames, newSerializer.getFieldNames());
+	}
+
+	@Override
+	protected ImmutablePojoSerializer<T> createOuterSerializerWithNestedSerializers(TypeSerializer<?>[] nestedSerializers) {
+		return new ImmutablePojoSerializer<>(clazz, fieldNames, nestedSerializers);
+	}
+
+	@Override
+	protected TypeSerializer<?>[] getNestedSerializers(ImmutablePojoSerializer<T> outerSerializer) {
+		return outerSerializer.getFieldSerializers();
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link TypeSerializer} for the {@link Optional} type of Java. An optional is written as a
+ * presence flag, followed by its value if it is present.
+ *
+ * @param <T> the type of the value of the optional
+ */
+@Internal
+public final class OptionalSerializer<T> extends TypeSerializer<Optional<T>> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final TypeSerializer<T> valueSerializer;
+
+	public OptionalSerializer(TypeSerializer<T> valueSerializer) {
+		this.valueSerializer = checkNotNull(valueSerializer);
+	}
+
+	public TypeSerializer<T> getValueSerializer() {
+		return valueSerializer;
+	}
+
+	// ------------------------------------------------------------------------
+	//  TypeSerializer methods
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean isImmutableType() {
+		// optionals cannot be changed, so they only need to be copied if their values do
+		return valueSerializer.isImmutableType();
+	}
+
+	@Override
+	public TypeSerializer<Optional<T>> duplicate() {
+		TypeSerializer<T> duplicateValueSerializer = valueSerializer.duplicate();
+		return duplicateValueSerializer == valueSerializer ? this : new OptionalSerializer<>(duplicateValueSerializer);
+	}
+
+	@Override
+	public Optional<T> createInstance() {
+		return Optional.empty();
+	}
+
+	@Override
+	public Optional<T> copy(Optional<T> from) {
+		if (valueSerializer.isImmutableType() || !from.isPresent()) {
+			return from;
+		}
+		return Optional.of(valueSerializer.copy(from.get()));
+	}
+
+	@Override
+	public Optional<T> copy(Optional<T> from, Optional<T> reuse) {
+		return copy(from);
+	}
+
+	@Override
+	public int getLength() {
+		return -1;
+	}
+
+	@Override
+	public void serialize(Optional<T> record, DataOutputView target) throws IOException {
+		if (record.isPresent()) {
+			target.writeBoolean(true);
+			valueSerializer.serialize(record.get(), target);
+		} else {
+			target.writeBoolean(false);
+		}
+	}
+
+	@Override
+	public Optional<T> deserialize(DataInputView source) throws IOException {
+		return source.readBoolean() ? Optional.of(valueSerializer.deserialize(source)) : Optional.empty();
+	}
+
+	@Override
+	public Optional<T> deserialize(Optional<T> reuse, DataInputView source) throws IOException {
+		return deserialize(source);
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		boolean isPresent = source.readBoolean();
+		target.writeBoolean(isPresent);
+		if (isPresent) {
+			valueSerializer.copy(source, target);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this ||
+			(obj != null && obj.getClass() == getClass() &&
+				valueSerializer.equals(((OptionalSerializer<?>) obj).valueSerializer));
+	}
+
+	@Override
+	public int hashCode() {
+		return valueSerializer.hashCode();
+	}
+
+	// ------------------------------------------------------------------------
+	// Serializer configuration snapshotting & compatibility
+	// ------------------------------------------------------------------------
+
+	@Override
+	public OptionalSerializerSnapshot<T> snapshotConfiguration() {
+		return new OptionalSerializerSnapshot<>(this);
+	}
+}
@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.BooleanSerializer;
+import org.apache.flink.api.common.typeutils.base.ByteSerializer;
+import org.apache.flink.api.common.typeutils.base.CharSerializer;
+import org.apache.flink.api.common.typeutils.base.DoubleSerializer;
+import org.apache.flink.api.common.typeutils.base.FloatSerializer;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.ShortSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.apache.flink.core.memory.MemoryUtils.UNSAFE;
+
+/**
+ * Accesses a field of a POJO through its offset in the object, instead of through reflection,
+ * and serializes the field in the format of the {@link PojoSerializer}: a null flag followed by
+ * the value written by the serializer of the field.
+ *
+ * <p>Fields of a primitive type are read and written without boxing their values, and are
+ * serialized directly instead of through their field serializer, if that is the serializer of the
+ * primitive type. Both write exactly the same bytes, so the serialization format is unchanged.
+ *
+ * <p>Unlike {@link Field#set(Object, Object)}, writing a field through its offset does not check
+ * the type of the value. The accessors of primitive fields are only used if the field serializer
+ * is the serializer of the primitive type, and the accessor of reference fields checks that the
+ * values are instances of the type of the field, so that a mismatching field serializer fails
+ * instead of corrupting the POJO.
+ */
+@Internal
+abstract class PojoFieldAccessor {
+
+	/** The offset of the field in the objects of the POJO. */
+	protected final long offset;
+
+	protected final TypeSerializer<Object> serializer;
+
+	PojoFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+		this.offset = UNSAFE.objectFieldOffset(field);
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Creates the accessor of the given field, or returns null if the field does not exist
+	 * anymore in the POJO.
+	 */
+	@Nullable
+	static PojoFieldAccessor create(@Nullable Field field, TypeSerializer<Object> serializer) {
+		if (field == null) {
+			return null;
+		}
+		if (Modifier.isStatic(field.getModifiers())) {
+			throw new IllegalArgumentException("Static fields cannot be accessed as fields of a POJO: " + field);
+		}
+
+		final Class<?> type = field.getType();
+		final Class<?> serializerClass = serializer.getClass();
+		if (type == int.class && serializerClass == IntSerializer.class) {
+			return new IntFieldAccessor(field, serializer);
+		} else if (type == long.class && serializerClass == LongSerializer.class) {
+			return new LongFieldAccessor(field, serializer);
+		} else if (type == double.class && serializerClass == DoubleSerializer.class) {
+			return new DoubleFieldAccessor(field, serializer);
+		} else if (type == float.class && serializerClass == FloatSerializer.class) {
+			return new FloatFieldAccessor(field, serializer);
+		} else if (type == boolean.class && serializerClass == BooleanSerializer.class) {
+			return new BooleanFieldAccessor(field, serializer);
+		} else if (type == short.class && serializerClass == ShortSerializer.class) {
+			return new ShortFieldAccessor(field, serializer);
+		} else if (type == byte.class && serializerClass == ByteSerializer.class) {
+			return new ByteFieldAccessor(field, serializer);
+		} else if (type == char.class && serializerClass == CharSerializer.class) {
+			return new CharFieldAccessor(field, serializer);
+		} else if (type.isPrimitive()) {
+			return new ReflectiveFieldAccessor(field, serializer);
+		} else {
+			return new ObjectFieldAccessor(field, serializer);
+		}
+	}
+
+	/** Returns the value of the field, boxed if the field is primitive. */
+	abstract Object get(Object pojo);
+
+	/** Sets the value of the field, which must not be null if the field is primitive. */
+	abstract void set(Object pojo, @Nullable Object value);
+
+	/** Writes the null flag and the value of the field of the given POJO. */
+	abstract void serialize(Object pojo, DataOutputView target) throws IOException;
+
+	/**
+	 * Reads the null flag and the value of the field into the given POJO.
+	 *
+	 * @param reuseValue whether the current value of the field may be reused to deserialize the
+	 *                   new value into.
+	 */
+	abstract void deserialize(Object pojo, DataInputView source, boolean reuseValue) throws IOException;
+
+	// ------------------------------------------------------------------------
+
+	private static final class ObjectFieldAccessor extends PojoFieldAccessor {
+
+		private final Field field;
+
+		/** The type of the field, or null if the field accepts all values. */
+		@Nullable
+		private final Class<?> type;
+
+		ObjectFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+			this.field = field;
+			this.type = field.getType() == Object.class ? null : field.getType();
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getObject(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			checkType(value);
+			UNSAFE.putObject(pojo, offset, value);
+		}
+
+		@Override
+		void serialize(Object pojo, DataOutputView target) throws IOException {
+			final Object value = UNSAFE.getObject(pojo, offset);
+			if (value == null) {
+				target.writeBoolean(true);
+			} else {
+				target.writeBoolean(false);
+				serializer.serialize(value, target);
+			}
+		}
+
+		@Override
+		void deserialize(Object pojo, DataInputView source, boolean reuseValue) throws IOException {
+			if (source.readBoolean()) {
+				UNSAFE.putObject(pojo, offset, null);
+			} else {
+				final Object reuse = reuseValue ? UNSAFE.getObject(pojo, offset) : null;
+				final Object value = reuse != null ? serializer.deserialize(reuse, source) : serializer.deserialize(source);
+				checkType(value);
+				UNSAFE.putObject(pojo, offset, value);
+			}
+		}
+
+		private void checkType(@Nullable Object value) {
+			if (type != null && value != null && !type.isInstance(value)) {
+				throw new IllegalArgumentException(
+					"Cannot set field " + field + " to a value of type " + value.getClass().getName() + '.');
+			}
+		}
+	}
+
+	/**
+	 * Accessor of primitive fields whose serializer is not the serializer of the primitive type,
+	 * which falls back to reflection.
+	 */
+	private static final class ReflectiveFieldAccessor extends PojoFieldAccessor {
+
+		private final Field field;
+
+		ReflectiveFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+			this.field = field;
+			this.field.setAccessible(true);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			try {
+				return field.get(pojo);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException("Cannot access field " + field, e);
+			}
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			try {
+				field.set(pojo, value);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException("Cannot access field " + field, e);
+			}
+		}
+
+		@Override
+		void serialize(Object pojo, DataOutputView target) throws IOException {
+			target.writeBoolean(false);
+			serializer.serialize(get(pojo), target);
+		}
+
+		@Override
+		void deserialize(Object pojo, DataInputView source, boolean reuseValue) throws IOException {
+			if (source.readBoolean()) {
+				set(pojo, null);
+			} else {
+				set(pojo, serializer.deserialize(source));
+			}
+		}
+	}
+
+	/**
+	 * Base class of the accessors of primitive fields. The values of primitive fields are never
+	 * null, but the null flag is written to keep the format of the {@link PojoSerializer}.
+	 */
+	private abstract static class PrimitiveFieldAccessor extends PojoFieldAccessor {
+
+		PrimitiveFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		final void serialize(Object pojo, DataOutputView target) throws IOException {
+			target.writeBoolean(false);
+			serializeValue(pojo, target);
+		}
+
+		@Override
+		final void deserialize(Object pojo, DataInputView source, boolean reuseValue) throws IOException {
+			if (source.readBoolean()) {
+				throw new IllegalArgumentException("Cannot set the primitive field of a POJO to null.");
+			}
+			deserializeValue(pojo, source);
+		}
+
+		abstract void serializeValue(Object pojo, DataOutputView target) throws IOException;
+
+		abstract void deserializeValue(Object pojo, DataInputView source) throws IOException;
+	}
+
+	private static final class IntFieldAccessor extends PrimitiveFieldAccessor {
+
+		IntFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getInt(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putInt(pojo, offset, (Integer) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeInt(UNSAFE.getInt(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putInt(pojo, offset, source.readInt());
+		}
+	}
+
+	private static final class LongFieldAccessor extends PrimitiveFieldAccessor {
+
+		LongFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getLong(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putLong(pojo, offset, (Long) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeLong(UNSAFE.getLong(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putLong(pojo, offset, source.readLong());
+		}
+	}
+
+	private static final class DoubleFieldAccessor extends PrimitiveFieldAccessor {
+
+		DoubleFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getDouble(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putDouble(pojo, offset, (Double) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeDouble(UNSAFE.getDouble(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putDouble(pojo, offset, source.readDouble());
+		}
+	}
+
+	private static final class FloatFieldAccessor extends PrimitiveFieldAccessor {
+
+		FloatFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getFloat(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putFloat(pojo, offset, (Float) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeFloat(UNSAFE.getFloat(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putFloat(pojo, offset, source.readFloat());
+		}
+	}
+
+	private static final class BooleanFieldAccessor extends PrimitiveFieldAccessor {
+
+		BooleanFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getBoolean(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putBoolean(pojo, offset, (Boolean) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeBoolean(UNSAFE.getBoolean(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putBoolean(pojo, offset, source.readBoolean());
+		}
+	}
+
+	private static final class ShortFieldAccessor extends PrimitiveFieldAccessor {
+
+		ShortFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getShort(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putShort(pojo, offset, (Short) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeShort(UNSAFE.getShort(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putShort(pojo, offset, source.readShort());
+		}
+	}
+
+	private static final class ByteFieldAccessor extends PrimitiveFieldAccessor {
+
+		ByteFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getByte(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putByte(pojo, offset, (Byte) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeByte(UNSAFE.getByte(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putByte(pojo, offset, source.readByte());
+		}
+	}
+
+	private static final class CharFieldAccessor extends PrimitiveFieldAccessor {
+
+		CharFieldAccessor(Field field, TypeSerializer<Object> serializer) {
+			super(field, serializer);
+		}
+
+		@Override
+		Object get(Object pojo) {
+			return UNSAFE.getChar(pojo, offset);
+		}
+
+		@Override
+		void set(Object pojo, @Nullable Object value) {
+			UNSAFE.putChar(pojo, offset, (Character) value);
+		}
+
+		@Override
+		void serializeValue(Object pojo, DataOutputView target) throws IOException {
+			target.writeChar(UNSAFE.getChar(pojo, offset));
+		}
+
+		@Override
+		void deserializeValue(Object pojo, DataInputView source) throws IOException {
+			UNSAFE.putChar(pojo, offset, source.readChar());
+		}
+	}
+}
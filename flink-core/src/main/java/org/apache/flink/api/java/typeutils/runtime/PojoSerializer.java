@@ -82,6 +82,12 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 	private final TypeSerializer<Object>[] fieldSerializers;
 	private final int numFields;
 
+	/**
+	 * Accessors of the fields, which read and write the fields without reflection. The accessor
+	 * of a field that does not exist anymore in the POJO is null.
+	 */
+	private transient PojoFieldAccessor[] fieldAccessors;
+
 	/**
 	 * Registered subclasses and their serializers.
 	 * Each subclass to their registered class tag is maintained as a separate map ordered by the class tag.
@@ -122,6 +128,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		for (int i = 0; i < numFields; i++) {
 			this.fields[i].setAccessible(true);
 		}
+		this.fieldAccessors = createFieldAccessors(this.fields, this.fieldSerializers);
 
 		this.cl = Thread.currentThread().getContextClassLoader();
 
@@ -156,6 +163,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		this.registeredSerializers = checkNotNull(registeredSerializers);
 		this.subclassSerializerCache = checkNotNull(subclassSerializerCache);
 		this.executionConfig = checkNotNull(executionConfig);
+		this.fieldAccessors = createFieldAccessors(fields, fieldSerializers);
 		this.cl = Thread.currentThread().getContextClassLoader();
 	}
 	
@@ -204,12 +212,8 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 
 	protected void initializeFields(T t) {
 		for (int i = 0; i < numFields; i++) {
-			if (fields[i] != null) {
-				try {
-					fields[i].set(t, fieldSerializers[i].createInstance());
-				} catch (IllegalAccessException e) {
-					throw new RuntimeException("Cannot initialize fields.", e);
-				}
+			if (fieldAccessors[i] != null) {
+				fieldAccessors[i].set(t, fieldSerializers[i].createInstance());
 			}
 		}
 	}
@@ -231,21 +235,16 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 				throw new RuntimeException("Cannot instantiate class.", t);
 			}
 			// no subclass
-			try {
-				for (int i = 0; i < numFields; i++) {
-					if (fields[i] != null) {
-						Object value = fields[i].get(from);
-						if (value != null) {
-							Object copy = fieldSerializers[i].copy(value);
-							fields[i].set(target, copy);
-						} else {
-							fields[i].set(target, null);
-						}
+			for (int i = 0; i < numFields; i++) {
+				if (fieldAccessors[i] != null) {
+					Object value = fieldAccessors[i].get(from);
+					if (value != null) {
+						Object copy = fieldSerializers[i].copy(value);
+						fieldAccessors[i].set(target, copy);
+					} else {
+						fieldAccessors[i].set(target, null);
 					}
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.");
-
 			}
 			return target;
 		} else {
@@ -269,26 +268,22 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		}
 
 		if (actualType == clazz) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					if (fields[i] != null) {
-						Object value = fields[i].get(from);
-						if (value != null) {
-							Object reuseValue = fields[i].get(reuse);
-							Object copy;
-							if (reuseValue != null) {
-								copy = fieldSerializers[i].copy(value, reuseValue);
-							} else {
-								copy = fieldSerializers[i].copy(value);
-							}
-							fields[i].set(reuse, copy);
+			for (int i = 0; i < numFields; i++) {
+				if (fieldAccessors[i] != null) {
+					Object value = fieldAccessors[i].get(from);
+					if (value != null) {
+						Object reuseValue = fieldAccessors[i].get(reuse);
+						Object copy;
+						if (reuseValue != null) {
+							copy = fieldSerializers[i].copy(value, reuseValue);
 						} else {
-							fields[i].set(reuse, null);
+							copy = fieldSerializers[i].copy(value);
 						}
+						fieldAccessors[i].set(reuse, copy);
+					} else {
+						fieldAccessors[i].set(reuse, null);
 					}
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
 			}
 		} else {
 			TypeSerializer subclassSerializer = getSubclassSerializer(actualType);
@@ -343,18 +338,12 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		// if its a subclass, use the corresponding subclass serializer,
 		// otherwise serialize each field with our field serializers
 		if ((flags & NO_SUBCLASS) != 0) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					Object o = (fields[i] != null) ? fields[i].get(value) : null;
-					if (o == null) {
-						target.writeBoolean(true); // null field handling
-					} else {
-						target.writeBoolean(false);
-						fieldSerializers[i].serialize(o, target);
-					}
+			for (int i = 0; i < numFields; i++) {
+				if (fieldAccessors[i] != null) {
+					fieldAccessors[i].serialize(value, target);
+				} else {
+					target.writeBoolean(true); // null field handling
 				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
 			}
 		} else {
 			// subclass
@@ -400,25 +389,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		}
 
 		if ((flags & NO_SUBCLASS) != 0) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					boolean isNull = source.readBoolean();
-
-					if (fields[i] != null) {
-						if (isNull) {
-							fields[i].set(target, null);
-						} else {
-							Object field = fieldSerializers[i].deserialize(source);
-							fields[i].set(target, field);
-						}
-					} else if (!isNull) {
-						// read and dump a pre-existing field value
-						fieldSerializers[i].deserialize(source);
-					}
-				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
-			}
+			deserializeFields(target, source, false);
 		} else {
 			if (subclassSerializer != null) {
 				target = (T) subclassSerializer.deserialize(target, source);
@@ -471,33 +442,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		}
 
 		if ((flags & NO_SUBCLASS) != 0) {
-			try {
-				for (int i = 0; i < numFields; i++) {
-					boolean isNull = source.readBoolean();
-
-					if (fields[i] != null) {
-						if (isNull) {
-							fields[i].set(reuse, null);
-						} else {
-							Object field;
-
-							Object reuseField = fields[i].get(reuse);
-							if (reuseField != null) {
-								field = fieldSerializers[i].deserialize(reuseField, source);
-							} else {
-								field = fieldSerializers[i].deserialize(source);
-							}
-
-							fields[i].set(reuse, field);
-						}
-					} else if (!isNull) {
-						// read and dump a pre-existing field value
-						fieldSerializers[i].deserialize(source);
-					}
-				}
-			} catch (IllegalAccessException e) {
-				throw new RuntimeException("Error during POJO copy, this should not happen since we check the fields before.", e);
-			}
+			deserializeFields(reuse, source, true);
 		} else {
 			if (subclassSerializer != null) {
 				reuse = (T) subclassSerializer.deserialize(reuse, source);
@@ -507,6 +452,17 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		return reuse;
 	}
 
+	private void deserializeFields(Object target, DataInputView source, boolean reuseFields) throws IOException {
+		for (int i = 0; i < numFields; i++) {
+			if (fieldAccessors[i] != null) {
+				fieldAccessors[i].deserialize(target, source, reuseFields);
+			} else if (!source.readBoolean()) {
+				// read and dump a pre-existing field value
+				fieldSerializers[i].deserialize(source);
+			}
+		}
+	}
+
 	@Override
 	public void copy(DataInputView source, DataOutputView target) throws IOException {
 		// copy the flags
@@ -942,6 +898,7 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 			fields[i] = FieldSerializer.deserializeField(in);
 		}
 
+		fieldAccessors = createFieldAccessors(fields, fieldSerializers);
 		cl = Thread.currentThread().getContextClassLoader();
 		subclassSerializerCache = new HashMap<Class<?>, TypeSerializer<?>>();
 	}
@@ -1033,6 +990,17 @@ public final class PojoSerializer<T> extends TypeSerializer<T> {
 		return classToTag;
 	}
 
+	/**
+	 * Creates the accessors of the given fields, with a null accessor for each field that does not exist anymore.
+	 */
+	private static PojoFieldAccessor[] createFieldAccessors(Field[] fields, TypeSerializer<Object>[] fieldSerializers) {
+		PojoFieldAccessor[] fieldAccessors = new PojoFieldAccessor[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			fieldAccessors[i] = PojoFieldAccessor.create(fields[i], fieldSerializers[i]);
+		}
+		return fieldAccessors;
+	}
+
 	/**
 	 * Creates an array of serializers for provided list of registered subclasses.
 	 * Order of returned serializers will correspond to order of provided subclasses.
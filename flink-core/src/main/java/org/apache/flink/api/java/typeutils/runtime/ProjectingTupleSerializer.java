@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A {@link TupleSerializer} which deserializes only the projected fields of the tuples. The
+ * bytes of the other fields are skipped, without creating their objects, and the fields are left
+ * null, or untouched in a reused tuple.
+ *
+ * <p>This serializer reads tuples for consumers that access only the projected fields, such as
+ * the projection of a stream. It writes and copies tuples like the {@link TupleSerializer}, in the
+ * same format, and snapshots itself as a regular {@link TupleSerializer}.
+ */
+@Internal
+public final class ProjectingTupleSerializer<T extends Tuple> extends TupleSerializer<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Whether each field of the tuples is projected. */
+	private final boolean[] projectedFields;
+
+	/** The buffer into which the bytes of the fields which are not projected are skipped. */
+	private transient DataOutputSerializer skipBuffer;
+
+	public ProjectingTupleSerializer(TupleSerializer<T> serializer, int[] projectedFields) {
+		this(serializer.getTupleClass(), serializer.getFieldSerializers(), toFieldMask(serializer.getArity(), projectedFields));
+	}
+
+	private ProjectingTupleSerializer(Class<T> tupleClass, TypeSerializer<?>[] fieldSerializers, boolean[] projectedFields) {
+		super(tupleClass, fieldSerializers);
+		this.projectedFields = projectedFields;
+	}
+
+	@Override
+	public ProjectingTupleSerializer<T> duplicate() {
+		TypeSerializer<?>[] duplicateFieldSerializers = new TypeSerializer<?>[fieldSerializers.length];
+		for (int i = 0; i < fieldSerializers.length; i++) {
+			duplicateFieldSerializers[i] = fieldSerializers[i].duplicate();
+		}
+		// the skip buffer makes this serializer stateful
+		return new ProjectingTupleSerializer<>(tupleClass, duplicateFieldSerializers, projectedFields);
+	}
+
+	@Override
+	public T deserialize(DataInputView source) throws IOException {
+		T tuple = instantiateRaw();
+		for (int i = 0; i < arity; i++) {
+			if (projectedFields[i]) {
+				tuple.setField(fieldSerializers[i].deserialize(source), i);
+			} else {
+				skipField(i, source);
+			}
+		}
+		return tuple;
+	}
+
+	@Override
+	public T deserialize(T reuse, DataInputView source) throws IOException {
+		for (int i = 0; i < arity; i++) {
+			if (projectedFields[i]) {
+				reuse.setField(fieldSerializers[i].deserialize(reuse.getField(i), source), i);
+			} else {
+				skipField(i, source);
+			}
+		}
+		return reuse;
+	}
+
+	private void skipField(int field, DataInputView source) throws IOException {
+		int length = fieldSerializers[field].getLength();
+		if (length > 0) {
+			source.skipBytesToRead(length);
+		} else {
+			if (skipBuffer == null) {
+				skipBuffer = new DataOutputSerializer(64);
+			}
+			fieldSerializers[field].copy(source, skipBuffer);
+			skipBuffer.clear();
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof ProjectingTupleSerializer
+			&& super.equals(obj)
+			&& Arrays.equals(projectedFields, ((ProjectingTupleSerializer<?>) obj).projectedFields);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Arrays.hashCode(projectedFields);
+	}
+
+	private static boolean[] toFieldMask(int arity, int[] projectedFields) {
+		boolean[] mask = new boolean[arity];
+		for (int field : projectedFields) {
+			checkArgument(field >= 0 && field < arity, "Projected field %s is out of the bounds of a tuple of arity %s.", field, arity);
+			mask[field] = true;
+		}
+		return mask;
+	}
+}
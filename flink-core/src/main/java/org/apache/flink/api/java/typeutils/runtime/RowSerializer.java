@@ -220,11 +220,25 @@ public final class RowSerializer extends TypeSerializer<Row> {
 		// copy null mask
 		readIntoAndCopyNullMask(len, source, target, nullMask);
 
+		// consecutive non-null fields of a fixed length are copied as raw bytes at once
+		int fixedLength = 0;
 		for (int i = 0; i < len; i++) {
 			if (!nullMask[i]) {
-				fieldSerializers[i].copy(source, target);
+				int fieldLength = fieldSerializers[i].getLength();
+				if (fieldLength > 0) {
+					fixedLength += fieldLength;
+				} else {
+					if (fixedLength > 0) {
+						target.write(source, fixedLength);
+						fixedLength = 0;
+					}
+					fieldSerializers[i].copy(source, target);
+				}
 			}
 		}
+		if (fixedLength > 0) {
+			target.write(source, fixedLength);
+		}
 	}
 
 	@Override
@@ -160,7 +160,7 @@ public class TupleSerializer<T extends Tuple> extends TupleSerializerBase<T> imp
 		return new TupleSerializerSnapshot<>(this);
 	}
 
-	private T instantiateRaw() {
+	T instantiateRaw() {
 		try {
 			return tupleClass.newInstance();
 		}
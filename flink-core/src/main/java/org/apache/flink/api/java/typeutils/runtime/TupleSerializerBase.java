@@ -88,8 +88,22 @@ public abstract class TupleSerializerBase<T> extends TypeSerializer<T> {
 
 	@Override
 	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		// consecutive fields of a fixed length are copied as raw bytes at once
+		int fixedLength = 0;
 		for (int i = 0; i < arity; i++) {
-			fieldSerializers[i].copy(source, target);
+			int fieldLength = fieldSerializers[i].getLength();
+			if (fieldLength > 0) {
+				fixedLength += fieldLength;
+			} else {
+				if (fixedLength > 0) {
+					target.write(source, fixedLength);
+					fixedLength = 0;
+				}
+				fieldSerializers[i].copy(source, target);
+			}
+		}
+		if (fixedLength > 0) {
+			target.write(source, fixedLength);
 		}
 	}
 	
@@ -130,6 +130,17 @@ public class CheckpointingOptions {
 			.withDescription("The minimum size of state data files. All state chunks smaller than that are stored" +
 				" inline in the root checkpoint metadata file.");
 
+	/**
+	 * The maximum size of exclusive state chunks which are merged into shared files. A value
+	 * of zero disables file merging.
+	 */
+	public static final ConfigOption<Integer> FS_FILE_MERGING_THRESHOLD = ConfigOptions
+		.key("state.backend.fs.file-merging-threshold")
+		.defaultValue(0)
+		.withDescription("The maximum size of exclusive state chunks which are merged with the state chunks of other" +
+			" subtasks of the same TaskManager into shared files, rather than being written to individual files." +
+			" A value of zero disables file merging.");
+
 	/**
 	 * The default size of the write buffer for the checkpoint streams that write to file systems.
 	 */
@@ -139,4 +150,30 @@ public class CheckpointingOptions {
 		.withDescription(String.format("The default size of the write buffer for the checkpoint streams that write to file systems. " +
 			"The actual write buffer size is determined to be the maximum of the value of this option and option '%s'.", FS_SMALL_FILE_THRESHOLD.key()));
 
+	// ------------------------------------------------------------------------
+	//  Options specific to the heap-based state backends
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The number of accesses to a keyed state of the heap-based state backends between two samples
+	 * of the size of an accessed entry. A value of zero disables the state size estimation.
+	 */
+	public static final ConfigOption<Integer> HEAP_STATE_SIZE_SAMPLE_INTERVAL = ConfigOptions
+		.key("state.backend.heap.size-estimation.sample-interval")
+		.defaultValue(0)
+		.withDescription("The number of accesses to a keyed state of the heap-based state backends (MemoryStateBackend," +
+			" FsStateBackend) between two samples of the heap memory footprint of an accessed entry. The samples are" +
+			" used to estimate the size of each state, which is exposed as operator metrics. A value of zero disables" +
+			" the state size estimation.");
+
+	/**
+	 * The fraction of the maximum JVM heap above which the estimated size of the keyed state of a
+	 * heap-based state backend is logged as a warning.
+	 */
+	public static final ConfigOption<Float> HEAP_STATE_SIZE_WARNING_THRESHOLD = ConfigOptions
+		.key("state.backend.heap.size-estimation.warning-threshold")
+		.defaultValue(0.5f)
+		.withDescription(String.format("The fraction of the maximum JVM heap above which the estimated size of the" +
+			" keyed state of all heap-based state backends of a TaskManager is logged as a warning. Only used if '%s' is positive.",
+			HEAP_STATE_SIZE_SAMPLE_INTERVAL.key()));
 }
@@ -172,6 +172,17 @@ public class JobManagerOptions {
 			// default matches heartbeat.timeout so that sticky allocation is not lost on timeouts for local recovery
 			.defaultValue(HeartbeatManagerOptions.HEARTBEAT_TIMEOUT.defaultValue())
 			.withDescription("The timeout in milliseconds for a idle slot in Slot Pool.");
+
+	/**
+	 * Config parameter controlling whether the slot pool declares its resource requirements to the ResourceManager.
+	 */
+	public static final ConfigOption<Boolean> SLOT_REQUEST_DECLARATIVE =
+		key("slot.request.declarative")
+			.defaultValue(false)
+			.withDescription("Controls whether the Slot Pool declares its aggregated resource requirements to the " +
+				"ResourceManager instead of requesting every slot individually. Declaring the requirements lets the " +
+				"ResourceManager fulfill them in bulk, which reduces the number of RPCs for jobs with a high parallelism.");
+
 	/**
 	 * Config parameter determining the scheduler implementation.
 	 */
@@ -134,6 +134,20 @@ public class MetricOptions {
 			.defaultValue(128)
 			.withDescription("Defines the number of measured latencies to maintain at each operator.");
 
+	/** The interval in records at which the serialization of records is sampled. */
+	public static final ConfigOption<Integer> SERIALIZATION_SAMPLE_INTERVAL =
+		key("metrics.serialization.sample-interval")
+			.defaultValue(0)
+			.withDescription("Defines the interval in records at which the time and the number of bytes it takes to" +
+				" serialize and deserialize the records sent between tasks are measured, per operator and record type." +
+				" Disables the serialization metrics if set to 0 or a negative value.");
+
+	/** The number of serialization samples to maintain at each operator for each record type. */
+	public static final ConfigOption<Integer> SERIALIZATION_HISTORY_SIZE =
+		key("metrics.serialization.history-size")
+			.defaultValue(128)
+			.withDescription("Defines the number of serialization samples to maintain at each operator for each record type.");
+
 	/**
 	 * Whether Flink should report system resource metrics such as machine's CPU, memory or network usage.
 	 */
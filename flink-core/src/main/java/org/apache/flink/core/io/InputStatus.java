@@ -15,17 +15,16 @@
  * limitations under the License.
  */
 
-package org.apache.flink.streaming.runtime.io;
+package org.apache.flink.core.io;
 
-import org.apache.flink.annotation.Internal;
-import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.annotation.PublicEvolving;
 
 /**
  * An {@link InputStatus} indicates one input state which might be currently
- * available, not available or already finished. It is returned while calling
- * {@link PushingAsyncDataInput#emitNext(DataOutput)}.
+ * available, not available or already finished. It is returned by the inputs of the
+ * stream tasks and by the readers of sources when they are asked to emit their next element.
  */
-@Internal
+@PublicEvolving
 public enum InputStatus {
 
 	/**
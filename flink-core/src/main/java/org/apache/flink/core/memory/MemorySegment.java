@@ -114,6 +114,9 @@ public abstract class MemorySegment {
 	 */
 	private static final boolean LITTLE_ENDIAN = (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
 
+	/** Regions up to this many bytes are swapped word by word rather than through the auxiliary buffer. */
+	private static final int WORD_SWAP_THRESHOLD = 64;
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -1330,30 +1333,57 @@ public abstract class MemorySegment {
 	 * @return 0 if equal, -1 if seg1 &lt; seg2, 1 otherwise
 	 */
 	public final int compare(MemorySegment seg2, int offset1, int offset2, int len) {
-		while (len >= 8) {
-			long l1 = this.getLongBigEndian(offset1);
-			long l2 = seg2.getLongBigEndian(offset2);
-
-			if (l1 != l2) {
-				return (l1 < l2) ^ (l1 < 0) ^ (l2 < 0) ? -1 : 1;
+		// the bounds are checked once for the whole range, so that the loops below
+		// can read the memory directly instead of checking every single access
+		if ((offset1 | offset2 | len) >= 0) {
+			long pos1 = this.address + offset1;
+			long pos2 = seg2.address + offset2;
+
+			if (pos1 <= this.addressLimit - len && pos2 <= seg2.addressLimit - len) {
+				final Object heap1 = this.heapMemory;
+				final Object heap2 = seg2.heapMemory;
+
+				while (len >= 8) {
+					long l1 = UNSAFE.getLong(heap1, pos1);
+					long l2 = UNSAFE.getLong(heap2, pos2);
+
+					if (l1 != l2) {
+						if (LITTLE_ENDIAN) {
+							l1 = Long.reverseBytes(l1);
+							l2 = Long.reverseBytes(l2);
+						}
+						return (l1 < l2) ^ (l1 < 0) ^ (l2 < 0) ? -1 : 1;
+					}
+
+					pos1 += 8;
+					pos2 += 8;
+					len -= 8;
+				}
+				while (len > 0) {
+					int b1 = UNSAFE.getByte(heap1, pos1) & 0xff;
+					int b2 = UNSAFE.getByte(heap2, pos2) & 0xff;
+					int cmp = b1 - b2;
+					if (cmp != 0) {
+						return cmp;
+					}
+					pos1++;
+					pos2++;
+					len--;
+				}
+				return 0;
 			}
-
-			offset1 += 8;
-			offset2 += 8;
-			len -= 8;
-		}
-		while (len > 0) {
-			int b1 = this.get(offset1) & 0xff;
-			int b2 = seg2.get(offset2) & 0xff;
-			int cmp = b1 - b2;
-			if (cmp != 0) {
-				return cmp;
+			else if (this.address > this.addressLimit) {
+				throw new IllegalStateException("this memory segment has been freed.");
+			}
+			else if (seg2.address > seg2.addressLimit) {
+				throw new IllegalStateException("other memory segment has been freed.");
 			}
-			offset1++;
-			offset2++;
-			len--;
 		}
-		return 0;
+
+		// index is in fact invalid
+		throw new IndexOutOfBoundsException(
+					String.format("offset1=%d, offset2=%d, len=%d, address1=%d, address2=%d",
+							offset1, offset2, len, this.address, seg2.address));
 	}
 
 	/**
@@ -1371,6 +1401,13 @@ public abstract class MemorySegment {
 			final long otherPos = seg2.address + offset2;
 
 			if (thisPos <= this.addressLimit - len && otherPos <= seg2.addressLimit - len) {
+				if (len <= WORD_SWAP_THRESHOLD) {
+					// short regions (such as sort index entries) are swapped word by word,
+					// which avoids the round trip through the auxiliary buffer
+					swapWords(this.heapMemory, thisPos, seg2.heapMemory, otherPos, len);
+					return;
+				}
+
 				// this -> temp buffer
 				UNSAFE.copyMemory(this.heapMemory, thisPos, tempBuffer, BYTE_ARRAY_BASE_OFFSET, len);
 
@@ -1395,6 +1432,25 @@ public abstract class MemorySegment {
 							offset1, offset2, len, tempBuffer.length, this.address, seg2.address));
 	}
 
+	private static void swapWords(Object heap1, long pos1, Object heap2, long pos2, int len) {
+		while (len >= 8) {
+			long l1 = UNSAFE.getLong(heap1, pos1);
+			UNSAFE.putLong(heap1, pos1, UNSAFE.getLong(heap2, pos2));
+			UNSAFE.putLong(heap2, pos2, l1);
+			pos1 += 8;
+			pos2 += 8;
+			len -= 8;
+		}
+		while (len > 0) {
+			byte b1 = UNSAFE.getByte(heap1, pos1);
+			UNSAFE.putByte(heap1, pos1, UNSAFE.getByte(heap2, pos2));
+			UNSAFE.putByte(heap2, pos2, b1);
+			pos1++;
+			pos2++;
+			len--;
+		}
+	}
+
 	/**
 	 * Equals two memory segment regions.
 	 *
@@ -1406,26 +1462,48 @@ public abstract class MemorySegment {
 	 * @return true if equal, false otherwise
 	 */
 	public final boolean equalTo(MemorySegment seg2, int offset1, int offset2, int length) {
-		int i = 0;
-
-		// we assume unaligned accesses are supported.
-		// Compare 8 bytes at a time.
-		while (i <= length - 8) {
-			if (getLong(offset1 + i) != seg2.getLong(offset2 + i)) {
-				return false;
+		if ((offset1 | offset2 | length) >= 0) {
+			long pos1 = this.address + offset1;
+			long pos2 = seg2.address + offset2;
+
+			if (pos1 <= this.addressLimit - length && pos2 <= seg2.addressLimit - length) {
+				final Object heap1 = this.heapMemory;
+				final Object heap2 = seg2.heapMemory;
+
+				// we assume unaligned accesses are supported.
+				// Compare 8 bytes at a time.
+				while (length >= 8) {
+					if (UNSAFE.getLong(heap1, pos1) != UNSAFE.getLong(heap2, pos2)) {
+						return false;
+					}
+					pos1 += 8;
+					pos2 += 8;
+					length -= 8;
+				}
+
+				// cover the last (length % 8) elements.
+				while (length > 0) {
+					if (UNSAFE.getByte(heap1, pos1) != UNSAFE.getByte(heap2, pos2)) {
+						return false;
+					}
+					pos1++;
+					pos2++;
+					length--;
+				}
+				return true;
 			}
-			i += 8;
-		}
-
-		// cover the last (length % 8) elements.
-		while (i < length) {
-			if (get(offset1 + i) != seg2.get(offset2 + i)) {
-				return false;
+			else if (this.address > this.addressLimit) {
+				throw new IllegalStateException("this memory segment has been freed.");
+			}
+			else if (seg2.address > seg2.addressLimit) {
+				throw new IllegalStateException("other memory segment has been freed.");
 			}
-			i += 1;
 		}
 
-		return true;
+		// index is in fact invalid
+		throw new IndexOutOfBoundsException(
+					String.format("offset1=%d, offset2=%d, length=%d, address1=%d, address2=%d",
+							offset1, offset2, length, this.address, seg2.address));
 	}
 
 	/**
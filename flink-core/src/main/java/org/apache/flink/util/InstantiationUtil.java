@@ -301,7 +301,7 @@ public final class InstantiationUtil {
 				ObjectStreamClass.lookup(KryoRegistrationSerializerConfigSnapshot.DummyRegisteredClass.class)),
 		HASH_MAP_SERIALIZER(
 				"org.apache.flink.runtime.state.HashMapSerializer",
-				ObjectStreamClass.lookup(MapSerializer.class)); // added in 1.5
+				ObjectStreamClass.lookup(LegacyHashMapSerializer.class)); // added in 1.5
 
 		/** An internal unmodifiable map containing the mappings between deprecated and new serializers. */
 		private static final Map<String, ObjectStreamClass> EQUIVALENCE_MAP = Collections.unmodifiableMap(initMap());
@@ -330,6 +330,23 @@ public final class InstantiationUtil {
 		}
 	}
 
+	/**
+	 * Mirrors the serialized fields of the removed {@code HashMapSerializer}, so that the fields are read
+	 * independently of the fields of the {@link MapSerializer} which replaces it.
+	 */
+	private static final class LegacyHashMapSerializer implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private TypeSerializer<?> keySerializer;
+
+		private TypeSerializer<?> valueSerializer;
+
+		private Object readResolve() {
+			return new MapSerializer<>(keySerializer, valueSerializer);
+		}
+	}
+
 	/**
 	 * Creates a new instance of the given class name and type using the provided {@link ClassLoader}.
 	 *
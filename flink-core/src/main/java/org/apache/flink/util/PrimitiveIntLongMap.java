@@ -0,0 +1,369 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.util;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link Map} from ints to longs which holds its entries in primitive arrays, using open
+ * addressing with linear probing, instead of one entry object and two boxes per entry like a
+ * {@link java.util.HashMap}. This makes it suitable for large maps that are kept on the heap,
+ * such as the values of map state.
+ *
+ * <p>Removed entries leave a marker in their slot until the map is rehashed, so that removals
+ * through the iterators do not move entries that have not been visited yet. The map does not
+ * accept null keys or values, and its iterators are not fail-fast.
+ */
+@Internal
+public final class PrimitiveIntLongMap extends AbstractMap<Integer, Long> {
+
+	private static final byte FREE = 0;
+
+	private static final byte USED = 1;
+
+	private static final byte REMOVED = 2;
+
+	private static final int MIN_CAPACITY = 8;
+
+	private int[] keys;
+
+	private long[] values;
+
+	private byte[] states;
+
+	/** The number of entries in the map. */
+	private int size;
+
+	/** The number of slots that are used or marked as removed. */
+	private int occupied;
+
+	private EntrySet entrySet;
+
+	public PrimitiveIntLongMap() {
+		this(0);
+	}
+
+	public PrimitiveIntLongMap(int expectedSize) {
+		Preconditions.checkArgument(expectedSize >= 0, "The expected size must not be negative.");
+		allocate(capacityFor(expectedSize));
+	}
+
+	// ------------------------------------------------------------------------
+	//  primitive access
+	// ------------------------------------------------------------------------
+
+	public boolean containsKey(int key) {
+		return findSlot(key) >= 0;
+	}
+
+	/**
+	 * Returns the value of the given key, or the given default value if the map does not contain
+	 * the key.
+	 */
+	public long getLong(int key, long defaultValue) {
+		final int slot = findSlot(key);
+		return slot >= 0 ? values[slot] : defaultValue;
+	}
+
+	/**
+	 * Associates the value with the key.
+	 *
+	 * @return true, if the map did not contain the key before.
+	 */
+	public boolean putLong(int key, long value) {
+		int slot = hash(key) & (keys.length - 1);
+		int firstRemoved = -1;
+		while (states[slot] != FREE) {
+			if (states[slot] == USED && keys[slot] == key) {
+				values[slot] = value;
+				return false;
+			}
+			if (states[slot] == REMOVED && firstRemoved < 0) {
+				firstRemoved = slot;
+			}
+			slot = (slot + 1) & (keys.length - 1);
+		}
+
+		if (firstRemoved >= 0) {
+			slot = firstRemoved;
+		} else {
+			occupied++;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		states[slot] = USED;
+		size++;
+
+		if (occupied > maxOccupied(keys.length)) {
+			rehash(capacityFor(size));
+		}
+		return true;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Map implementation
+	// ------------------------------------------------------------------------
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && findSlot((Integer) key) >= 0;
+	}
+
+	@Override
+	public Long get(Object key) {
+		if (!(key instanceof Integer)) {
+			return null;
+		}
+		final int slot = findSlot((Integer) key);
+		return slot >= 0 ? values[slot] : null;
+	}
+
+	@Override
+	public Long put(Integer key, Long value) {
+		checkNotNull(key, "The map does not support null keys.");
+		checkNotNull(value, "The map does not support null values.");
+		final int slot = findSlot(key);
+		if (slot >= 0) {
+			final long previous = values[slot];
+			values[slot] = value;
+			return previous;
+		}
+		putLong(key, value);
+		return null;
+	}
+
+	@Override
+	public Long remove(Object key) {
+		if (!(key instanceof Integer)) {
+			return null;
+		}
+		final int slot = findSlot((Integer) key);
+		if (slot < 0) {
+			return null;
+		}
+		final long previous = values[slot];
+		removeSlot(slot);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		allocate(MIN_CAPACITY);
+		size = 0;
+		occupied = 0;
+	}
+
+	@Override
+	public Set<Entry<Integer, Long>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private int findSlot(int key) {
+		int slot = hash(key) & (keys.length - 1);
+		while (states[slot] != FREE) {
+			if (states[slot] == USED && keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & (keys.length - 1);
+		}
+		return -1;
+	}
+
+	private void removeSlot(int slot) {
+		states[slot] = REMOVED;
+		size--;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new long[capacity];
+		states = new byte[capacity];
+	}
+
+	private void rehash(int capacity) {
+		final int[] oldKeys = keys;
+		final long[] oldValues = values;
+		final byte[] oldStates = states;
+
+		allocate(capacity);
+		size = 0;
+		occupied = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldStates[i] == USED) {
+				putLong(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	private static int hash(int key) {
+		// spread the bits, since the keys are often small and consecutive
+		final int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/** The number of used or removed slots above which the map is rehashed, for a load factor of 0.75. */
+	private static int maxOccupied(int capacity) {
+		return capacity - (capacity >>> 2);
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int capacity = MIN_CAPACITY;
+		while (maxOccupied(capacity) < expectedSize) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private final class EntrySet extends AbstractSet<Entry<Integer, Long>> {
+
+		@Override
+		public Iterator<Entry<Integer, Long>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			PrimitiveIntLongMap.this.clear();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Entry<Integer, Long>> {
+
+		/** The arrays of the map when the iteration started, which a rehash would replace. */
+		private final int[] iteratedKeys = keys;
+
+		private int nextSlot = -1;
+
+		private int currentSlot = -1;
+
+		EntryIterator() {
+			advance();
+		}
+
+		private void advance() {
+			do {
+				nextSlot++;
+			} while (nextSlot < states.length && states[nextSlot] != USED);
+		}
+
+		@Override
+		public boolean hasNext() {
+			checkNotRehashed();
+			return nextSlot < states.length;
+		}
+
+		@Override
+		public Entry<Integer, Long> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			currentSlot = nextSlot;
+			advance();
+			return new SlotEntry(currentSlot);
+		}
+
+		@Override
+		public void remove() {
+			checkNotRehashed();
+			if (currentSlot < 0 || states[currentSlot] != USED) {
+				throw new IllegalStateException();
+			}
+			removeSlot(currentSlot);
+		}
+
+		private void checkNotRehashed() {
+			if (iteratedKeys != keys) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private final class SlotEntry implements Entry<Integer, Long> {
+
+		private final int slot;
+
+		SlotEntry(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public Integer getKey() {
+			return keys[slot];
+		}
+
+		@Override
+		public Long getValue() {
+			return values[slot];
+		}
+
+		@Override
+		public Long setValue(Long value) {
+			checkNotNull(value, "The map does not support null values.");
+			final long previous = values[slot];
+			values[slot] = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+			final Entry<?, ?> other = (Entry<?, ?>) o;
+			return getKey().equals(other.getKey()) && getValue().equals(other.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Integer.hashCode(keys[slot]) ^ Long.hashCode(values[slot]);
+		}
+
+		@Override
+		public String toString() {
+			return keys[slot] + "=" + values[slot];
+		}
+	}
+}
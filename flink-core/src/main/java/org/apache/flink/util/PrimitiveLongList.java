@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.util;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link java.util.List} of longs which holds its elements in a primitive array, instead of one
+ * boxed {@link Long} per element. It takes less than half of the memory of an {@link
+ * java.util.ArrayList} of the same longs, which makes it suitable for large lists that are kept
+ * on the heap, such as the values of list state.
+ *
+ * <p>Elements are boxed when they are read through the {@link java.util.List} methods, but are
+ * not retained as boxes. The primitive accessors {@link #getLong(int)} and {@link #addLong(long)}
+ * avoid the boxing. The list does not accept null elements.
+ */
+@Internal
+public final class PrimitiveLongList extends AbstractList<Long> implements RandomAccess {
+
+	private static final long[] EMPTY = new long[0];
+
+	private long[] elements;
+
+	private int size;
+
+	public PrimitiveLongList() {
+		this.elements = EMPTY;
+	}
+
+	public PrimitiveLongList(int initialCapacity) {
+		Preconditions.checkArgument(initialCapacity >= 0, "The capacity must not be negative.");
+		this.elements = initialCapacity == 0 ? EMPTY : new long[initialCapacity];
+	}
+
+	private PrimitiveLongList(long[] elements, int size) {
+		this.elements = elements;
+		this.size = size;
+	}
+
+	// ------------------------------------------------------------------------
+	//  primitive access
+	// ------------------------------------------------------------------------
+
+	public long getLong(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	public void addLong(long element) {
+		ensureCapacity(size + 1);
+		elements[size++] = element;
+		modCount++;
+	}
+
+	/**
+	 * Returns a copy of this list, which does not share the array of the elements.
+	 */
+	public PrimitiveLongList copy() {
+		return new PrimitiveLongList(Arrays.copyOf(elements, size), size);
+	}
+
+	// ------------------------------------------------------------------------
+	//  List implementation
+	// ------------------------------------------------------------------------
+
+	@Override
+	public Long get(int index) {
+		return getLong(index);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean add(Long element) {
+		addLong(checkNotNull(element, "The list does not support null elements."));
+		return true;
+	}
+
+	@Override
+	public void add(int index, Long element) {
+		checkNotNull(element, "The list does not support null elements.");
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = element;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Long> collection) {
+		ensureCapacity(size + collection.size());
+		for (Long element : collection) {
+			addLong(checkNotNull(element, "The list does not support null elements."));
+		}
+		return !collection.isEmpty();
+	}
+
+	@Override
+	public Long set(int index, Long element) {
+		checkNotNull(element, "The list does not support null elements.");
+		checkIndex(index);
+		final long previous = elements[index];
+		elements[index] = element;
+		return previous;
+	}
+
+	@Override
+	public Long remove(int index) {
+		checkIndex(index);
+		final long removed = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > elements.length) {
+			// grow by half of the current capacity, like an ArrayList
+			int newCapacity = Math.max(capacity, elements.length + (elements.length >> 1));
+			elements = Arrays.copyOf(elements, Math.max(newCapacity, 4));
+		}
+	}
+}
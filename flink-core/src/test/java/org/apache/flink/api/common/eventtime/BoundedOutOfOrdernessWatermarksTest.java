@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.eventtime;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link BoundedOutOfOrdernessWatermarks} and the {@link WatermarkStrategy}.
+ */
+public class BoundedOutOfOrdernessWatermarksTest {
+
+	@Test
+	public void testWatermarkBeforeRecords() {
+		final CollectingWatermarkOutput output = new CollectingWatermarkOutput();
+		final BoundedOutOfOrdernessWatermarks<Object> watermarks = new BoundedOutOfOrdernessWatermarks<>(Duration.ofMillis(10));
+
+		watermarks.onPeriodicEmit(output);
+
+		assertEquals(Long.MIN_VALUE, output.lastWatermark());
+	}
+
+	@Test
+	public void testWatermarkFollowsHighestTimestamp() {
+		final CollectingWatermarkOutput output = new CollectingWatermarkOutput();
+		final BoundedOutOfOrdernessWatermarks<Object> watermarks = new BoundedOutOfOrdernessWatermarks<>(Duration.ofMillis(10));
+
+		watermarks.onEvent(new Object(), 100L, output);
+		watermarks.onEvent(new Object(), 80L, output);
+		assertTrue(output.watermarks.isEmpty());
+
+		watermarks.onPeriodicEmit(output);
+		assertEquals(89L, output.lastWatermark());
+
+		watermarks.onEvent(new Object(), 120L, output);
+		watermarks.onPeriodicEmit(output);
+		assertEquals(109L, output.lastWatermark());
+	}
+
+	@Test
+	public void testWatermarkStrategies() {
+		final WatermarkStrategy<Object> noWatermarks = WatermarkStrategy.noWatermarks();
+		assertFalse(noWatermarks.generatesWatermarks());
+		assertFalse(noWatermarks.isWatermarkAligned());
+
+		final WatermarkStrategy<Object> aligned = WatermarkStrategy.forMonotonousTimestamps()
+			.withWatermarkAlignment(Duration.ofSeconds(1));
+		assertTrue(aligned.generatesWatermarks());
+		assertTrue(aligned.isWatermarkAligned());
+		assertEquals(1000L, aligned.getMaxAllowedWatermarkDrift());
+
+		final CollectingWatermarkOutput output = new CollectingWatermarkOutput();
+		final WatermarkGenerator<Object> generator = aligned.createWatermarkGenerator();
+		generator.onEvent(new Object(), 100L, output);
+		generator.onPeriodicEmit(output);
+		assertEquals(99L, output.lastWatermark());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAlignmentRequiresWatermarks() {
+		WatermarkStrategy.noWatermarks().withWatermarkAlignment(Duration.ofSeconds(1));
+	}
+
+	private static final class CollectingWatermarkOutput implements WatermarkOutput {
+
+		private final List<Watermark> watermarks = new ArrayList<>();
+
+		@Override
+		public void emitWatermark(Watermark watermark) {
+			watermarks.add(watermark);
+		}
+
+		long lastWatermark() {
+			return watermarks.get(watermarks.size() - 1).getTimestamp();
+		}
+	}
+}
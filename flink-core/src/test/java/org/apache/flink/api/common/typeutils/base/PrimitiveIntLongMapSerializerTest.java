@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils.base;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.util.PrimitiveIntLongMap;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test for the {@link MapSerializer} for maps from ints to longs which are held in a {@link PrimitiveIntLongMap}.
+ */
+public class PrimitiveIntLongMapSerializerTest extends SerializerTestBase<Map<Integer, Long>> {
+
+	@Override
+	protected TypeSerializer<Map<Integer, Long>> createSerializer() {
+		return MapSerializer.forPrimitiveIntLongs();
+	}
+
+	@Override
+	protected int getLength() {
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected Class<Map<Integer, Long>> getTypeClass() {
+		return (Class<Map<Integer, Long>>) (Class<?>) Map.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected Map<Integer, Long>[] getTestData() {
+		final Random rnd = new Random(1234567L);
+
+		final PrimitiveIntLongMap intLongMap = new PrimitiveIntLongMap();
+		for (int i = 0; i < 150; i++) {
+			intLongMap.putLong(rnd.nextInt(), rnd.nextLong());
+		}
+
+		final Map<Integer, Long> hashMap = new HashMap<>();
+		for (int i = 0; i < 150; i++) {
+			hashMap.put(rnd.nextInt(), rnd.nextLong());
+		}
+
+		return (Map<Integer, Long>[]) new Map[] {
+			new PrimitiveIntLongMap(), Collections.emptyMap(), Collections.singletonMap(0, 0L), intLongMap, hashMap
+		};
+	}
+
+	@Test
+	public void testReadsMapsOfBoxedIntsAndLongs() throws IOException {
+		final Map<Integer, Long> map = new HashMap<>();
+		map.put(1, 2L);
+		map.put(-3, Long.MIN_VALUE);
+
+		final DataOutputSerializer out = new DataOutputSerializer(64);
+		new MapSerializer<>(IntSerializer.INSTANCE, LongSerializer.INSTANCE).serialize(map, out);
+		final Map<Integer, Long> deserialized = getSerializer().deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+
+		assertTrue(deserialized instanceof PrimitiveIntLongMap);
+		assertEquals(map, deserialized);
+	}
+}
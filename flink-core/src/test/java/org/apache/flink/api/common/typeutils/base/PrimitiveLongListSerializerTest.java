@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.common.typeutils.base;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.util.PrimitiveLongList;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A test for the {@link ListSerializer} for lists of longs which are held in a {@link PrimitiveLongList}.
+ */
+public class PrimitiveLongListSerializerTest extends SerializerTestBase<List<Long>> {
+
+	@Override
+	protected TypeSerializer<List<Long>> createSerializer() {
+		return ListSerializer.forPrimitiveLongs();
+	}
+
+	@Override
+	protected int getLength() {
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected Class<List<Long>> getTypeClass() {
+		return (Class<List<Long>>) (Class<?>) List.class;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected List<Long>[] getTestData() {
+		final Random rnd = new Random(123654789);
+
+		final PrimitiveLongList longList = new PrimitiveLongList();
+		for (int i = 0; i < 150; i++) {
+			longList.addLong(rnd.nextLong());
+		}
+
+		final List<Long> arrayList = new ArrayList<>();
+		for (int i = 0; i < 150; i++) {
+			arrayList.add(rnd.nextLong());
+		}
+
+		return (List<Long>[]) new List[] {
+			new PrimitiveLongList(), Collections.emptyList(), Collections.singletonList(55L), longList, arrayList
+		};
+	}
+
+	@Test
+	public void testSameFormatAsBoxedLongs() throws IOException {
+		final TypeSerializer<List<Long>> boxedSerializer = new ListSerializer<>(LongSerializer.INSTANCE);
+		final List<Long> list = Arrays.asList(1L, -2L, Long.MAX_VALUE);
+
+		final PrimitiveLongList longList = new PrimitiveLongList();
+		longList.addAll(list);
+
+		final DataOutputSerializer boxed = new DataOutputSerializer(64);
+		boxedSerializer.serialize(list, boxed);
+		final DataOutputSerializer primitive = new DataOutputSerializer(64);
+		getSerializer().serialize(longList, primitive);
+
+		assertArrayEquals(boxed.getCopyOfBuffer(), primitive.getCopyOfBuffer());
+		assertTrue(getSerializer().copy(list) instanceof PrimitiveLongList);
+		assertTrue(getSerializer().createInstance() instanceof PrimitiveLongList);
+	}
+}
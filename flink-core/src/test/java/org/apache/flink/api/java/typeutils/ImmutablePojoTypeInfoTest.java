@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils;
+
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeInformationTestBase;
+import org.apache.flink.api.java.typeutils.PojoTypeExtractionTest.ImmutableOrder;
+
+/**
+ * Test for {@link ImmutablePojoTypeInfo}.
+ */
+public class ImmutablePojoTypeInfoTest extends TypeInformationTestBase<ImmutablePojoTypeInfo<?>> {
+
+	@Override
+	protected ImmutablePojoTypeInfo<?>[] getTestData() {
+		return new ImmutablePojoTypeInfo<?>[] {
+			new ImmutablePojoTypeInfo<>(
+				ImmutableOrder.class,
+				new String[] {"id"},
+				new TypeInformation<?>[] {BasicTypeInfo.LONG_TYPE_INFO}),
+			new ImmutablePojoTypeInfo<>(
+				ImmutableOrder.class,
+				new String[] {"id", "items"},
+				new TypeInformation<?>[] {BasicTypeInfo.LONG_TYPE_INFO, new ListTypeInfo<>(BasicTypeInfo.STRING_TYPE_INFO)}),
+			new ImmutablePojoTypeInfo<>(
+				ImmutableOrder.class,
+				new String[] {"note"},
+				new TypeInformation<?>[] {new OptionalTypeInfo<>(BasicTypeInfo.STRING_TYPE_INFO)}),
+		};
+	}
+}
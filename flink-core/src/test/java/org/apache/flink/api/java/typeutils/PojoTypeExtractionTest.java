@@ -37,6 +37,7 @@ import lombok.Setter;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.beans.ConstructorProperties;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,6 +45,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  *  Pojo Type tests.
@@ -900,4 +903,52 @@ public class PojoTypeExtractionTest {
 		Assert.assertEquals(BasicTypeInfo.INT_TYPE_INFO, pti.getTypeAt(0));
 		Assert.assertEquals(BasicTypeInfo.STRING_TYPE_INFO, pti.getTypeAt(1));
 	}
+
+	/**
+	 * Immutable type whose fields are set by a constructor with a different parameter order.
+	 */
+	public static final class ImmutableOrder {
+		private final long id;
+		private final List<String> items;
+		private final Map<String, Integer> quantities;
+		private final Optional<String> note;
+
+		@ConstructorProperties({"note", "id", "items", "quantities"})
+		public ImmutableOrder(Optional<String> note, long id, List<String> items, Map<String, Integer> quantities) {
+			this.id = id;
+			this.items = items;
+			this.quantities = quantities;
+			this.note = note;
+		}
+	}
+
+	/**
+	 * Type which is not final, so subclasses with additional fields could be passed as values of it.
+	 */
+	public static class NonFinalImmutableOrder {
+		private final long id;
+
+		@ConstructorProperties("id")
+		public NonFinalImmutableOrder(long id) {
+			this.id = id;
+		}
+	}
+
+	@Test
+	public void testImmutablePojo() {
+		TypeInformation<ImmutableOrder> ti = TypeExtractor.getForClass(ImmutableOrder.class);
+		Assert.assertTrue(ti instanceof ImmutablePojoTypeInfo);
+
+		ImmutablePojoTypeInfo<ImmutableOrder> ipti = (ImmutablePojoTypeInfo<ImmutableOrder>) ti;
+		Assert.assertArrayEquals(new String[] {"note", "id", "items", "quantities"}, ipti.getFieldNames());
+		Assert.assertArrayEquals(
+			new TypeInformation<?>[] {
+				new OptionalTypeInfo<>(BasicTypeInfo.STRING_TYPE_INFO),
+				BasicTypeInfo.LONG_TYPE_INFO,
+				new ListTypeInfo<>(BasicTypeInfo.STRING_TYPE_INFO),
+				new MapTypeInfo<>(BasicTypeInfo.STRING_TYPE_INFO, BasicTypeInfo.INT_TYPE_INFO)},
+			ipti.getFieldTypes());
+
+		Assert.assertTrue(TypeExtractor.getForClass(NonFinalImmutableOrder.class) instanceof GenericTypeInfo);
+	}
 }
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.ImmutablePojoTypeInfo;
+import org.apache.flink.api.java.typeutils.TypeExtractor;
+import org.apache.flink.api.java.typeutils.runtime.kryo.KryoSerializer;
+
+import org.junit.Test;
+
+import java.beans.ConstructorProperties;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the {@link ImmutablePojoSerializer}. The test type has eight fields, so that the
+ * null mask of the record and its fields spans two bytes.
+ */
+public class ImmutablePojoSerializerTest extends SerializerTestBase<ImmutablePojoSerializerTest.Order> {
+
+	@Override
+	protected TypeSerializer<Order> createSerializer() {
+		return TypeExtractor.getForClass(Order.class).createSerializer(new ExecutionConfig().enableImmutablePojoSerialization());
+	}
+
+	@Override
+	protected int getLength() {
+		return -1;
+	}
+
+	@Override
+	protected Class<Order> getTypeClass() {
+		return Order.class;
+	}
+
+	@Override
+	protected Order[] getTestData() {
+		Map<String, Double> prices = new HashMap<>();
+		prices.put("apple", 0.5);
+		prices.put("pear", null);
+
+		return new Order[] {
+			new Order(1L, 3, true, 0.1, "alice", Arrays.asList(1, null, 3), prices, Optional.of("fragile")),
+			new Order(2L, 0, false, 0.0, null, null, null, null),
+			new Order(Long.MAX_VALUE, -1, false, Double.NaN, "", Collections.emptyList(), Collections.emptyMap(), Optional.empty()),
+			null
+		};
+	}
+
+	@Override
+	@Test
+	public void testInstantiate() {
+		// immutable POJOs cannot be created without the values of their fields
+		assertNull(getSerializer().createInstance());
+	}
+
+	@Test
+	public void testTypeIsAnalyzedAsImmutablePojo() {
+		assertTrue(TypeExtractor.getForClass(Order.class) instanceof ImmutablePojoTypeInfo);
+		// the lists and maps of the fields are mutable, so the orders need to be copied
+		assertFalse(getSerializer().isImmutableType());
+	}
+
+	@Test
+	public void testSerializedWithKryoByDefault() {
+		// savepoints of programs written before immutable POJOs were recognized contain Kryo state
+		TypeSerializer<Order> serializer = TypeExtractor.getForClass(Order.class).createSerializer(new ExecutionConfig());
+		assertTrue(serializer instanceof KryoSerializer);
+	}
+
+	/**
+	 * Immutable test type with primitive, nullable and collection fields.
+	 */
+	public static final class Order {
+
+		private final long id;
+		private final int quantity;
+		private final boolean express;
+		private final double discount;
+		private final String customer;
+		private final List<Integer> items;
+		private final Map<String, Double> prices;
+		private final Optional<String> note;
+
+		@ConstructorProperties({"id", "quantity", "express", "discount", "customer", "items", "prices", "note"})
+		public Order(
+				long id,
+				int quantity,
+				boolean express,
+				double discount,
+				String customer,
+				List<Integer> items,
+				Map<String, Double> prices,
+				Optional<String> note) {
+			this.id = id;
+			this.quantity = quantity;
+			this.express = express;
+			this.discount = discount;
+			this.customer = customer;
+			this.items = items;
+			this.prices = prices;
+			this.note = note;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Order order = (Order) o;
+			return id == order.id &&
+				quantity == order.quantity &&
+				express == order.express &&
+				Double.compare(discount, order.discount) == 0 &&
+				Objects.equals(customer, order.customer) &&
+				Objects.equals(items, order.items) &&
+				Objects.equals(prices, order.prices) &&
+				Objects.equals(note, order.note);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(id, quantity, express, discount, customer, items, prices, note);
+		}
+
+		@Override
+		public String toString() {
+			return "Order{id=" + id + ", customer=" + customer + ", items=" + items + ", note=" + note + '}';
+		}
+	}
+}
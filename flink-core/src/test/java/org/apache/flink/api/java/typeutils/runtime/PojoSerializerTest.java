@@ -29,6 +29,7 @@ import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
 import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
 import org.apache.flink.api.common.typeutils.TypeSerializerSnapshotSerializationUtil;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
 import org.apache.flink.api.java.tuple.Tuple1;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.api.java.typeutils.PojoTypeInfo;
@@ -36,19 +37,23 @@ import org.apache.flink.api.java.typeutils.TupleTypeInfo;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
 import org.apache.flink.core.memory.DataInputViewStreamWrapper;
 import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.util.ExceptionUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * A test for the {@link PojoSerializer}.
@@ -469,4 +474,126 @@ public class PojoSerializerTest extends SerializerTestBase<PojoSerializerTest.Te
 		assertTrue(reconfiguredPojoSerializer.getRegisteredClasses().containsKey(SubTestUserClassA.class));
 		assertTrue(reconfiguredPojoSerializer.getRegisteredClasses().containsKey(SubTestUserClassB.class));
 	}
+
+	/**
+	 * Tests that the primitive fields of a POJO, which are not written through their field
+	 * serializers, are serialized in the same format as the other fields.
+	 */
+	@Test
+	public void testPrimitiveFieldsFormat() throws Exception {
+		PrimitivesPojo pojo = new PrimitivesPojo();
+		pojo.a = true;
+		pojo.b = (byte) 7;
+		pojo.c = 'c';
+		pojo.d = 4.2;
+		pojo.f = 2.4f;
+		pojo.i = 42;
+		pojo.l = 1L << 40;
+		pojo.s = (short) -3;
+		pojo.x = null;
+
+		TypeSerializer<PrimitivesPojo> serializer = TypeExtractor.getForClass(PrimitivesPojo.class).createSerializer(new ExecutionConfig());
+		assertTrue(serializer instanceof PojoSerializer);
+
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		serializer.serialize(pojo, new DataOutputViewStreamWrapper(actual));
+
+		// the fields are ordered by their names, and each field is preceded by its null flag
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		DataOutputViewStreamWrapper expectedView = new DataOutputViewStreamWrapper(expected);
+		expectedView.writeByte(actual.toByteArray()[0]);
+		expectedView.writeBoolean(false);
+		expectedView.writeBoolean(pojo.a);
+		expectedView.writeBoolean(false);
+		expectedView.writeByte(pojo.b);
+		expectedView.writeBoolean(false);
+		expectedView.writeChar(pojo.c);
+		expectedView.writeBoolean(false);
+		expectedView.writeDouble(pojo.d);
+		expectedView.writeBoolean(false);
+		expectedView.writeFloat(pojo.f);
+		expectedView.writeBoolean(false);
+		expectedView.writeInt(pojo.i);
+		expectedView.writeBoolean(false);
+		expectedView.writeLong(pojo.l);
+		expectedView.writeBoolean(false);
+		expectedView.writeShort(pojo.s);
+		expectedView.writeBoolean(true);
+		assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+
+		PrimitivesPojo copy = serializer.deserialize(
+			new DataInputViewStreamWrapper(new ByteArrayInputStream(actual.toByteArray())));
+		assertEquals(pojo, copy);
+
+		PrimitivesPojo reuse = new PrimitivesPojo();
+		reuse.x = 17;
+		assertEquals(pojo, serializer.deserialize(
+			reuse, new DataInputViewStreamWrapper(new ByteArrayInputStream(actual.toByteArray()))));
+		assertEquals(pojo, serializer.copy(pojo));
+	}
+
+	/**
+	 * Tests that a field serializer which does not match the type of its field fails, instead of
+	 * writing values of the wrong type into the POJO.
+	 */
+	@Test
+	public void testFieldSerializerOfWrongType() throws Exception {
+		PojoSerializer<PrimitivesPojo> serializer = new PojoSerializer<>(
+			PrimitivesPojo.class,
+			new TypeSerializer<?>[] {StringSerializer.INSTANCE},
+			new Field[] {PrimitivesPojo.class.getField("x")},
+			new ExecutionConfig());
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputViewStreamWrapper bytesView = new DataOutputViewStreamWrapper(bytes);
+		// the flags of a POJO that is no subclass, followed by the non-null field
+		bytesView.writeByte(2);
+		bytesView.writeBoolean(false);
+		StringSerializer.INSTANCE.serialize("not an Integer", bytesView);
+
+		try {
+			serializer.deserialize(
+				new PrimitivesPojo(), new DataInputViewStreamWrapper(new ByteArrayInputStream(bytes.toByteArray())));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException expected) {
+			// expected
+		}
+
+		try {
+			serializer.createInstance();
+			fail("Expected an exception.");
+		} catch (RuntimeException expected) {
+			assertTrue(ExceptionUtils.findThrowable(expected, IllegalArgumentException.class).isPresent());
+		}
+	}
+
+	/**
+	 * POJO with a field of each primitive type.
+	 */
+	public static class PrimitivesPojo {
+		public boolean a;
+		public byte b;
+		public char c;
+		public double d;
+		public float f;
+		public int i;
+		public long l;
+		public short s;
+		public Integer x;
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof PrimitivesPojo)) {
+				return false;
+			}
+			PrimitivesPojo that = (PrimitivesPojo) o;
+			return a == that.a && b == that.b && c == that.c && d == that.d && f == that.f
+				&& i == that.i && l == that.l && s == that.s && Objects.equals(x, that.x);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(a, b, c, d, f, i, l, s, x);
+		}
+	}
 }
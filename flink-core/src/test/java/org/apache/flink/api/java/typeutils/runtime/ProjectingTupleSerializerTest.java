@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.api.java.typeutils.runtime;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeHint;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.java.tuple.Tuple4;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for the {@link ProjectingTupleSerializer}.
+ */
+public class ProjectingTupleSerializerTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testDeserializesOnlyProjectedFields() throws Exception {
+		TupleSerializer<Tuple4<Long, String, Integer, String>> serializer =
+			(TupleSerializer<Tuple4<Long, String, Integer, String>>) TypeInformation.of(
+				new TypeHint<Tuple4<Long, String, Integer, String>>() {}).createSerializer(new ExecutionConfig());
+		ProjectingTupleSerializer<Tuple4<Long, String, Integer, String>> projectingSerializer =
+			new ProjectingTupleSerializer<>(serializer, new int[] {2, 3});
+
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		serializer.serialize(Tuple4.of(1L, "skipped", 3, "projected"), out);
+		serializer.serialize(Tuple4.of(5L, "skipped again", 7, "projected again"), out);
+
+		DataInputDeserializer in = new DataInputDeserializer(out.getCopyOfBuffer());
+		Tuple4<Long, String, Integer, String> tuple = projectingSerializer.deserialize(in);
+		assertNull(tuple.f0);
+		assertNull(tuple.f1);
+		assertEquals(Integer.valueOf(3), tuple.f2);
+		assertEquals("projected", tuple.f3);
+
+		Tuple4<Long, String, Integer, String> reuse = Tuple4.of(-1L, "reused", -1, "reused");
+		assertSame(reuse, projectingSerializer.deserialize(reuse, in));
+		assertEquals(Tuple4.of(-1L, "reused", 7, "projected again"), reuse);
+		assertEquals(0, in.available());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	@SuppressWarnings("unchecked")
+	public void testProjectedFieldOutOfBounds() {
+		TupleSerializer<Tuple4<Long, String, Integer, String>> serializer =
+			(TupleSerializer<Tuple4<Long, String, Integer, String>>) TypeInformation.of(
+				new TypeHint<Tuple4<Long, String, Integer, String>>() {}).createSerializer(new ExecutionConfig());
+		new ProjectingTupleSerializer<>(serializer, new int[] {4});
+	}
+}
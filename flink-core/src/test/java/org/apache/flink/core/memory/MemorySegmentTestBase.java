@@ -2277,6 +2277,93 @@ public abstract class MemorySegmentTestBase {
 		}
 	}
 
+	@Test
+	public void testCompareBytesAgainstBytewiseOrder() {
+		final MemorySegment seg1 = createSegment(pageSize);
+		final MemorySegment seg2 = createSegment(pageSize);
+
+		for (int i = 0; i < 1000; i++) {
+			final int len = random.nextInt(33);
+			final int pos1 = random.nextInt(pageSize - len);
+			final int pos2 = random.nextInt(pageSize - len);
+
+			final byte[] bytes = new byte[len];
+			random.nextBytes(bytes);
+			seg1.put(pos1, bytes);
+			seg2.put(pos2, bytes);
+			assertEquals(0, seg1.compare(seg2, pos1, pos2, len));
+			assertTrue(seg1.equalTo(seg2, pos1, pos2, len));
+
+			if (len > 0) {
+				// change a single byte, within a word or in the trailing bytes
+				final int changed = random.nextInt(len);
+				final byte original = bytes[changed];
+				final byte other = (byte) random.nextInt(256);
+				seg2.put(pos2 + changed, other);
+
+				final int expected = Integer.signum((original & 0xff) - (other & 0xff));
+				assertEquals(expected, Integer.signum(seg1.compare(seg2, pos1, pos2, len)));
+				assertEquals(-expected, Integer.signum(seg2.compare(seg1, pos2, pos1, len)));
+				assertEquals(expected == 0, seg1.equalTo(seg2, pos1, pos2, len));
+			}
+		}
+	}
+
+	@Test
+	public void testCompareAndEqualToBounds() {
+		final MemorySegment seg1 = createSegment(pageSize);
+		final MemorySegment seg2 = createSegment(pageSize);
+
+		assertEquals(0, seg1.compare(seg2, pageSize, pageSize, 0));
+		assertTrue(seg1.equalTo(seg2, pageSize, pageSize, 0));
+
+		final int[][] invalidRanges = {
+			{ -1, 0, 1 }, { 0, -1, 1 }, { 0, 0, -1 }, { 1, 0, pageSize }, { 0, 1, pageSize },
+			{ pageSize, 0, 1 }, { Integer.MAX_VALUE, 0, 1 }, { 0, 0, Integer.MAX_VALUE } };
+
+		for (int[] range : invalidRanges) {
+			try {
+				seg1.compare(seg2, range[0], range[1], range[2]);
+				fail("should fail with an IndexOutOfBoundsException");
+			}
+			catch (IndexOutOfBoundsException ignored) {}
+
+			try {
+				seg1.equalTo(seg2, range[0], range[1], range[2]);
+				fail("should fail with an IndexOutOfBoundsException");
+			}
+			catch (IndexOutOfBoundsException ignored) {}
+		}
+	}
+
+	@Test
+	public void testSwapShortRegions() {
+		final MemorySegment seg1 = createSegment(pageSize);
+		final MemorySegment seg2 = createSegment(pageSize);
+		final byte[] tempBuffer = new byte[128];
+
+		for (int len = 0; len <= tempBuffer.length; len++) {
+			final int pos1 = random.nextInt(pageSize - len);
+			final int pos2 = random.nextInt(pageSize - len);
+
+			final byte[] bytes1 = new byte[len];
+			final byte[] bytes2 = new byte[len];
+			random.nextBytes(bytes1);
+			random.nextBytes(bytes2);
+			seg1.put(pos1, bytes1);
+			seg2.put(pos2, bytes2);
+
+			seg1.swapBytes(tempBuffer, seg2, pos1, pos2, len);
+
+			final byte[] swapped1 = new byte[len];
+			final byte[] swapped2 = new byte[len];
+			seg1.get(pos1, swapped1);
+			seg2.get(pos2, swapped2);
+			assertArrayEquals(bytes2, swapped1);
+			assertArrayEquals(bytes1, swapped2);
+		}
+	}
+
 	@Test
 	public void testSwapBytes() {
 		final int halfPageSize = pageSize / 2;
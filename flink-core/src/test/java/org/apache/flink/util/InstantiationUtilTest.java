@@ -18,7 +18,11 @@
 
 package org.apache.flink.util;
 
+import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.base.DoubleValueSerializer;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.MapSerializer;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.core.io.IOReadableWritable;
 import org.apache.flink.core.memory.DataInputView;
@@ -32,12 +36,14 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.net.URLClassLoader;
+import java.util.HashMap;
 import java.util.Objects;
 import java.util.Random;
 
@@ -96,6 +102,67 @@ public class InstantiationUtilTest extends TestLogger {
 		return String.format(PROXY_DEFINITION_FORMAT, proxyName);
 	}
 
+	private static final String LEGACY_HASH_MAP_SERIALIZER_DEFINITION =
+			"package org.apache.flink.runtime.state;" +
+			"import org.apache.flink.api.common.typeutils.TypeSerializer;" +
+			"import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;" +
+			"import org.apache.flink.core.memory.DataInputView;" +
+			"import org.apache.flink.core.memory.DataOutputView;" +
+			"import java.util.HashMap;" +
+			"public final class HashMapSerializer<K, V> extends TypeSerializer<HashMap<K, V>> {\n" +
+			"  private static final long serialVersionUID = -6885593032367050078L;\n" +
+			"  private final TypeSerializer<K> keySerializer;\n" +
+			"  private final TypeSerializer<V> valueSerializer;\n" +
+			"  public HashMapSerializer(TypeSerializer<K> keySerializer, TypeSerializer<V> valueSerializer) {\n" +
+			"    this.keySerializer = keySerializer;\n" +
+			"    this.valueSerializer = valueSerializer;\n" +
+			"  }\n" +
+			"  public boolean isImmutableType() { return false; }\n" +
+			"  public TypeSerializer<HashMap<K, V>> duplicate() { return this; }\n" +
+			"  public HashMap<K, V> createInstance() { return new HashMap<>(); }\n" +
+			"  public HashMap<K, V> copy(HashMap<K, V> from) { return from; }\n" +
+			"  public HashMap<K, V> copy(HashMap<K, V> from, HashMap<K, V> reuse) { return from; }\n" +
+			"  public int getLength() { return -1; }\n" +
+			"  public void serialize(HashMap<K, V> record, DataOutputView target) {}\n" +
+			"  public HashMap<K, V> deserialize(DataInputView source) { return null; }\n" +
+			"  public HashMap<K, V> deserialize(HashMap<K, V> reuse, DataInputView source) { return null; }\n" +
+			"  public void copy(DataInputView source, DataOutputView target) {}\n" +
+			"  public boolean equals(Object obj) { return obj == this; }\n" +
+			"  public int hashCode() { return 0; }\n" +
+			"  public TypeSerializerSnapshot<HashMap<K, V>> snapshotConfiguration() { return null; }\n" +
+			"}";
+
+	/**
+	 * Serializers written with the {@code HashMapSerializer} that was removed from flink-runtime must
+	 * be restored as a {@link MapSerializer} with boxed keys and values.
+	 */
+	@Test
+	public void testLegacyHashMapSerializerIsRestoredAsMapSerializer() throws Exception {
+		final File root = temporaryFolder.newFolder();
+		assertTrue(new File(root, "org/apache/flink/runtime/state").mkdirs());
+
+		final byte[] legacySerializerBytes;
+		try (URLClassLoader legacyClassLoader = ClassLoaderUtils.withRoot(root)
+				.addClass("org/apache/flink/runtime/state/HashMapSerializer", LEGACY_HASH_MAP_SERIALIZER_DEFINITION)
+				.build()) {
+			final Object legacySerializer = Class.forName("org.apache.flink.runtime.state.HashMapSerializer", false, legacyClassLoader)
+				.getConstructor(TypeSerializer.class, TypeSerializer.class)
+				.newInstance(IntSerializer.INSTANCE, LongSerializer.INSTANCE);
+			legacySerializerBytes = InstantiationUtil.serializeObject(legacySerializer);
+		}
+
+		final Object restored = InstantiationUtil.deserializeObject(
+			legacySerializerBytes, getClass().getClassLoader(), true);
+
+		assertTrue(restored instanceof MapSerializer);
+		final MapSerializer<?, ?> restoredSerializer = (MapSerializer<?, ?>) restored;
+		assertEquals(IntSerializer.INSTANCE, restoredSerializer.getKeySerializer());
+		assertEquals(LongSerializer.INSTANCE, restoredSerializer.getValueSerializer());
+		assertEquals(new MapSerializer<>(IntSerializer.INSTANCE, LongSerializer.INSTANCE), restoredSerializer);
+		assertFalse(MapSerializer.forPrimitiveIntLongs().equals(restoredSerializer));
+		assertTrue(restoredSerializer.createInstance() instanceof HashMap);
+	}
+
 	@Test
 	public void testInstantiationOfStringValue() {
 		StringValue stringValue = InstantiationUtil.instantiate(
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link PrimitiveIntLongMap}.
+ */
+public class PrimitiveIntLongMapTest {
+
+	@Test
+	public void testBehavesLikeHashMap() {
+		final Random random = new Random(42L);
+		final PrimitiveIntLongMap map = new PrimitiveIntLongMap();
+		final Map<Integer, Long> reference = new HashMap<>();
+
+		for (int i = 0; i < 100_000; i++) {
+			// a small key range, so that keys are frequently updated and removed again
+			final int key = random.nextInt(2_000) - 1_000;
+			final int operation = random.nextInt(10);
+			if (operation < 6) {
+				final long value = random.nextLong();
+				assertEquals(reference.put(key, value), map.put(key, value));
+			} else if (operation < 8) {
+				assertEquals(reference.remove(key), map.remove(key));
+			} else {
+				assertEquals(reference.get(key), map.get(key));
+				assertEquals(reference.containsKey(key), map.containsKey(key));
+			}
+			assertEquals(reference.size(), map.size());
+		}
+
+		assertEquals(reference, map);
+		assertEquals(map, reference);
+		assertEquals(reference.hashCode(), map.hashCode());
+	}
+
+	@Test
+	public void testIteratorRemoveAndSetValue() {
+		final PrimitiveIntLongMap map = new PrimitiveIntLongMap();
+		final Map<Integer, Long> reference = new HashMap<>();
+		for (int i = 0; i < 1_000; i++) {
+			map.putLong(i, i);
+			reference.put(i, (long) i);
+		}
+
+		for (Iterator<Map.Entry<Integer, Long>> iterator = map.entrySet().iterator(); iterator.hasNext();) {
+			final Map.Entry<Integer, Long> entry = iterator.next();
+			if (entry.getKey() % 3 == 0) {
+				iterator.remove();
+				reference.remove(entry.getKey());
+			} else {
+				entry.setValue(-entry.getValue());
+				reference.put(entry.getKey(), -entry.getKey().longValue());
+			}
+		}
+
+		assertEquals(reference, map);
+		assertFalse(map.containsKey(3));
+		assertEquals(-4L, map.getLong(4, 0L));
+		assertEquals(7L, map.getLong(3, 7L));
+
+		// the removed slots are reused, and the map is still consistent after rehashing
+		for (int i = 0; i < 5_000; i++) {
+			assertTrue(map.putLong(10_000 + i, i));
+		}
+		assertEquals(reference.size() + 5_000, map.size());
+		assertEquals(-5L, (long) map.get(5));
+	}
+
+	@Test
+	public void testRejectsNullValues() {
+		final PrimitiveIntLongMap map = new PrimitiveIntLongMap();
+		assertNull(map.get("not an int"));
+		try {
+			map.put(1, null);
+			fail("should fail with a NullPointerException");
+		} catch (NullPointerException ignored) {}
+		assertTrue(map.isEmpty());
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link PrimitiveLongList}.
+ */
+public class PrimitiveLongListTest {
+
+	@Test
+	public void testBehavesLikeArrayList() {
+		final Random random = new Random(42L);
+		final PrimitiveLongList list = new PrimitiveLongList();
+		final List<Long> reference = new ArrayList<>();
+
+		for (int i = 0; i < 10_000; i++) {
+			final int operation = random.nextInt(10);
+			if (operation < 5 || reference.isEmpty()) {
+				final long value = random.nextLong();
+				list.add(value);
+				reference.add(value);
+			} else if (operation < 7) {
+				final int index = random.nextInt(reference.size() + 1);
+				list.add(index, (long) i);
+				reference.add(index, (long) i);
+			} else if (operation < 8) {
+				final int index = random.nextInt(reference.size());
+				assertEquals(reference.set(index, (long) -i), list.set(index, (long) -i));
+			} else {
+				final int index = random.nextInt(reference.size());
+				assertEquals(reference.remove(index), list.remove(index));
+			}
+		}
+
+		assertEquals(reference, list);
+		assertEquals(reference.hashCode(), list.hashCode());
+		for (int i = 0; i < reference.size(); i++) {
+			assertEquals((long) reference.get(i), list.getLong(i));
+		}
+	}
+
+	@Test
+	public void testIteratorRemoveAndCopy() {
+		final PrimitiveLongList list = new PrimitiveLongList(2);
+		for (long i = 0; i < 10; i++) {
+			list.addLong(i);
+		}
+
+		final PrimitiveLongList copy = list.copy();
+		for (Iterator<Long> iterator = list.iterator(); iterator.hasNext();) {
+			if (iterator.next() % 2 == 0) {
+				iterator.remove();
+			}
+		}
+
+		assertEquals(5, list.size());
+		assertEquals(10, copy.size());
+		assertEquals(1L, list.getLong(0));
+		assertEquals(0L, copy.getLong(0));
+	}
+
+	@Test
+	public void testRejectsNullElements() {
+		final PrimitiveLongList list = new PrimitiveLongList();
+		try {
+			list.add(null);
+			fail("should fail with a NullPointerException");
+		} catch (NullPointerException ignored) {}
+
+		try {
+			list.getLong(0);
+			fail("should fail with an IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException ignored) {}
+	}
+}
@@ -505,6 +505,72 @@ class ExecutionConfig(object):
         """
         return self._j_execution_config.isObjectReuseEnabled()
 
+    def enable_compact_stream_record_encoding(self):
+        """
+        Enables a compact encoding of the records that the tasks of streaming programs send to each
+        other. The tag and the timestamp of a record are then written as one variable-length number,
+        which takes six bytes instead of nine for the timestamps of the current years.
+
+        :return: This object.
+        """
+        self._j_execution_config = self._j_execution_config.enableCompactStreamRecordEncoding()
+        return self
+
+    def disable_compact_stream_record_encoding(self):
+        """
+        Disables the compact encoding of the records that the tasks of streaming programs send to
+        each other.
+
+        .. seealso:: :func:`enable_compact_stream_record_encoding`
+
+        :return: This object.
+        """
+        self._j_execution_config = self._j_execution_config.disableCompactStreamRecordEncoding()
+        return self
+
+    def is_compact_stream_record_encoding_enabled(self):
+        """
+        Returns whether the compact encoding of stream records is enabled.
+
+        .. seealso:: :func:`enable_compact_stream_record_encoding`
+
+        :return: Boolean value that represent whether the compact encoding is enabled.
+        """
+        return self._j_execution_config.isCompactStreamRecordEncodingEnabled()
+
+    def enable_immutable_pojo_serialization(self):
+        """
+        Enables the serialization of immutable POJOs by Flink's own serializer instead of Kryo.
+        The constructor of the immutable POJOs must assign its arguments to the fields verbatim.
+        Savepoints which contain state of such types cannot be restored after this is enabled.
+
+        :return: This object.
+        """
+        self._j_execution_config = self._j_execution_config.enableImmutablePojoSerialization()
+        return self
+
+    def disable_immutable_pojo_serialization(self):
+        """
+        Disables the serialization of immutable POJOs by Flink's own serializer, so that they are
+        serialized with Kryo like other generic types.
+
+        .. seealso:: :func:`enable_immutable_pojo_serialization`
+
+        :return: This object.
+        """
+        self._j_execution_config = self._j_execution_config.disableImmutablePojoSerialization()
+        return self
+
+    def is_immutable_pojo_serialization_enabled(self):
+        """
+        Returns whether immutable POJOs are serialized by Flink's own serializer.
+
+        .. seealso:: :func:`enable_immutable_pojo_serialization`
+
+        :return: Boolean value that represent whether the serialization is enabled.
+        """
+        return self._j_execution_config.isImmutablePojoSerializationEnabled()
+
     def enable_sysout_logging(self):
         """
         Enables the printing of progress update messages to stdout.
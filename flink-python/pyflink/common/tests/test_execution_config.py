@@ -196,6 +196,30 @@ class ExecutionConfigTests(PyFlinkTestCase):
 
         self.assertTrue(self.execution_config.is_object_reuse_enabled())
 
+    def test_disable_enable_compact_stream_record_encoding(self):
+
+        self.assertFalse(self.execution_config.is_compact_stream_record_encoding_enabled())
+
+        self.execution_config.enable_compact_stream_record_encoding()
+
+        self.assertTrue(self.execution_config.is_compact_stream_record_encoding_enabled())
+
+        self.execution_config.disable_compact_stream_record_encoding()
+
+        self.assertFalse(self.execution_config.is_compact_stream_record_encoding_enabled())
+
+    def test_disable_enable_immutable_pojo_serialization(self):
+
+        self.assertFalse(self.execution_config.is_immutable_pojo_serialization_enabled())
+
+        self.execution_config.enable_immutable_pojo_serialization()
+
+        self.assertTrue(self.execution_config.is_immutable_pojo_serialization_enabled())
+
+        self.execution_config.disable_immutable_pojo_serialization()
+
+        self.assertFalse(self.execution_config.is_immutable_pojo_serialization_enabled())
+
     def test_get_set_global_job_parameters(self):
 
         self.execution_config.set_global_job_parameters({"hello": "world"})
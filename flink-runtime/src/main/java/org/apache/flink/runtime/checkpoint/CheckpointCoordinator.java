@@ -53,6 +53,9 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -151,6 +154,9 @@ public class CheckpointCoordinator {
 	/** The master checkpoint hooks executed by this checkpoint coordinator. */
 	private final HashMap<String, MasterTriggerRestoreHook<?>> masterHooks;
 
+	/** The coordinators of the operators whose state is part of the checkpoints. */
+	private final ArrayList<OperatorCoordinatorCheckpointContext> coordinatorsToCheckpoint;
+
 	/** Actor that receives status updates from the execution graph this coordinator works for. */
 	private JobStatusListener jobStatusListener;
 
@@ -238,6 +244,7 @@ public class CheckpointCoordinator {
 
 		this.recentPendingCheckpoints = new ArrayDeque<>(NUM_GHOST_CHECKPOINT_IDS);
 		this.masterHooks = new HashMap<>();
+		this.coordinatorsToCheckpoint = new ArrayList<>();
 
 		this.timer = new ScheduledThreadPoolExecutor(1,
 				new DispatcherThreadFactory(Thread.currentThread().getThreadGroup(), "Checkpoint Timer"));
@@ -295,6 +302,21 @@ public class CheckpointCoordinator {
 		}
 	}
 
+	/**
+	 * Adds the given operator coordinator to the checkpoint coordinator, which includes the state of
+	 * the operator coordinator in the checkpoints. Operator coordinators must be added before the
+	 * checkpoint scheduler is started.
+	 *
+	 * @param coordinator The operator coordinator to add.
+	 */
+	public void addOperatorCoordinator(OperatorCoordinatorCheckpointContext coordinator) {
+		checkNotNull(coordinator);
+
+		synchronized (lock) {
+			coordinatorsToCheckpoint.add(coordinator);
+		}
+	}
+
 	/**
 	 * Gets the number of currently register master hooks.
 	 */
@@ -637,6 +659,23 @@ public class CheckpointCoordinator {
 				}
 				// end of lock scope
 
+				// the operator coordinators hold back their events from now on, until the barriers
+				// have been injected at the sources. their snapshots are awaited outside the
+				// coordinator-wide lock, so that a slow coordinator does not block the processing
+				// of 'acknowledge/decline' messages and of other triggers.
+				final Collection<MasterState> coordinatorStates = OperatorCoordinatorCheckpoints.waitForAllCoordinatorCheckpoints(
+						OperatorCoordinatorCheckpoints.triggerAllCoordinatorCheckpoints(coordinatorsToCheckpoint, checkpointID),
+						Time.milliseconds(checkpointTimeout));
+
+				if (checkpoint.isDiscarded()) {
+					throw new CheckpointException(
+						"The checkpoint was discarded while the operator coordinators took their snapshots.",
+						CheckpointFailureReason.TRIGGER_CHECKPOINT_FAILURE);
+				}
+				for (MasterState s : coordinatorStates) {
+					checkpoint.addMasterState(s);
+				}
+
 				final CheckpointOptions checkpointOptions = new CheckpointOptions(
 						props.getCheckpointType(),
 						checkpointStorageLocation.getLocationReference());
@@ -650,6 +689,8 @@ public class CheckpointCoordinator {
 					}
 				}
 
+				OperatorCoordinatorCheckpoints.afterSourceBarrierInjection(coordinatorsToCheckpoint, checkpointID);
+
 				numUnsuccessfulCheckpointsTriggers.set(0);
 				return checkpoint;
 			}
@@ -659,6 +700,8 @@ public class CheckpointCoordinator {
 					pendingCheckpoints.remove(checkpointID);
 				}
 
+				OperatorCoordinatorCheckpoints.abortCurrentTriggering(coordinatorsToCheckpoint);
+
 				int numUnsuccessful = numUnsuccessfulCheckpointsTriggers.incrementAndGet();
 				LOG.warn("Failed to trigger checkpoint {} for job {}. ({} consecutive failed attempts so far)",
 						checkpointID, job, numUnsuccessful, t);
@@ -764,6 +807,7 @@ public class CheckpointCoordinator {
 		}
 
 		final long checkpointId = message.getCheckpointId();
+		final PendingCheckpoint checkpoint;
 
 		synchronized (lock) {
 			// we need to check inside the lock for being shutdown as well, otherwise we
@@ -772,49 +816,9 @@ public class CheckpointCoordinator {
 				return false;
 			}
 
-			final PendingCheckpoint checkpoint = pendingCheckpoints.get(checkpointId);
-
-			if (checkpoint != null && !checkpoint.isDiscarded()) {
-
-				switch (checkpoint.acknowledgeTask(message.getTaskExecutionId(), message.getSubtaskState(), message.getCheckpointMetrics())) {
-					case SUCCESS:
-						LOG.debug("Received acknowledge message for checkpoint {} from task {} of job {} at {}.",
-							checkpointId, message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
-
-						if (checkpoint.isFullyAcknowledged()) {
-							completePendingCheckpoint(checkpoint);
-						}
-						break;
-					case DUPLICATE:
-						LOG.debug("Received a duplicate acknowledge message for checkpoint {}, task {}, job {}, location {}.",
-							message.getCheckpointId(), message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
-						break;
-					case UNKNOWN:
-						LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {} at {}, " +
-								"because the task's execution attempt id was unknown. Discarding " +
-								"the state handle to avoid lingering state.", message.getCheckpointId(),
-							message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
-
-						discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
-
-						break;
-					case DISCARDED:
-						LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {} at {}, " +
-							"because the pending checkpoint had been discarded. Discarding the " +
-								"state handle tp avoid lingering state.",
-							message.getCheckpointId(), message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
-
-						discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
-				}
+			checkpoint = pendingCheckpoints.get(checkpointId);
 
-				return true;
-			}
-			else if (checkpoint != null) {
-				// this should not happen
-				throw new IllegalStateException(
-						"Received message for discarded but non-removed checkpoint " + checkpointId);
-			}
-			else {
+			if (checkpoint == null) {
 				boolean wasPendingCheckpoint;
 
 				// message is for an unknown checkpoint, or comes too late (checkpoint disposed)
@@ -834,7 +838,53 @@ public class CheckpointCoordinator {
 
 				return wasPendingCheckpoint;
 			}
+			else if (checkpoint.isDiscarded()) {
+				// this should not happen
+				throw new IllegalStateException(
+						"Received message for discarded but non-removed checkpoint " + checkpointId);
+			}
 		}
+
+		// the pending checkpoint guards its own state, so that acknowledgements of different tasks
+		// don't have to be processed under the coordinator-wide lock
+		switch (checkpoint.acknowledgeTask(message.getTaskExecutionId(), message.getSubtaskState(), message.getCheckpointMetrics())) {
+			case SUCCESS:
+				LOG.debug("Received acknowledge message for checkpoint {} from task {} of job {} at {}.",
+					checkpointId, message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
+
+				if (checkpoint.isFullyAcknowledged()) {
+					synchronized (lock) {
+						// concurrent acknowledgements might observe the checkpoint being fully acknowledged
+						// at the same time, only the first of them must complete the checkpoint
+						if (!shutdown && pendingCheckpoints.get(checkpointId) == checkpoint && checkpoint.isFullyAcknowledged()) {
+							completePendingCheckpoint(checkpoint);
+						}
+					}
+				}
+				break;
+			case DUPLICATE:
+				LOG.debug("Received a duplicate acknowledge message for checkpoint {}, task {}, job {}, location {}.",
+					message.getCheckpointId(), message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
+				break;
+			case UNKNOWN:
+				LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {} at {}, " +
+						"because the task's execution attempt id was unknown. Discarding " +
+						"the state handle to avoid lingering state.", message.getCheckpointId(),
+					message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
+
+				discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
+
+				break;
+			case DISCARDED:
+				LOG.warn("Could not acknowledge the checkpoint {} for task {} of job {} at {}, " +
+					"because the pending checkpoint had been discarded. Discarding the " +
+						"state handle tp avoid lingering state.",
+					message.getCheckpointId(), message.getTaskExecutionId(), message.getJob(), taskManagerLocationInfo);
+
+				discardSubtaskState(message.getJob(), message.getTaskExecutionId(), message.getCheckpointId(), message.getSubtaskState());
+		}
+
+		return true;
 	}
 
 	/**
@@ -929,6 +979,8 @@ public class CheckpointCoordinator {
 				ee.notifyCheckpointComplete(checkpointId, timestamp);
 			}
 		}
+
+		OperatorCoordinatorCheckpoints.notifyCheckpointComplete(coordinatorsToCheckpoint, checkpointId);
 	}
 
 	/**
@@ -1033,6 +1085,33 @@ public class CheckpointCoordinator {
 			boolean errorIfNoCheckpoint,
 			boolean allowNonRestoredState) throws Exception {
 
+		return restoreLatestCheckpointedState(tasks, errorIfNoCheckpoint, allowNonRestoredState, true);
+	}
+
+	/**
+	 * Restores the latest checkpointed state.
+	 *
+	 * <p>The operator coordinators are only reset to the checkpoint if the given tasks are all tasks
+	 * of the job, because the coordinators of the other tasks would become inconsistent with them
+	 * otherwise. When only a part of the job is restored, the coordinators learn about it through
+	 * {@link org.apache.flink.runtime.operators.coordination.OperatorCoordinator#subtaskFailed(int)}.
+	 *
+	 * @param tasks Map of job vertices to restore. State for these vertices is
+	 * restored via {@link Execution#setInitialState(JobManagerTaskRestore)}.
+	 * @param errorIfNoCheckpoint Fail if no completed checkpoint is available to
+	 * restore from.
+	 * @param allowNonRestoredState Allow checkpoint state that cannot be mapped
+	 * to any job vertex in tasks.
+	 * @param restoreCoordinators Whether to reset the operator coordinators to the checkpoint.
+	 * @return <code>true</code> if state was restored, <code>false</code> otherwise.
+	 * @see #restoreLatestCheckpointedState(Map, boolean, boolean)
+	 */
+	public boolean restoreLatestCheckpointedState(
+			Map<JobVertexID, ExecutionJobVertex> tasks,
+			boolean errorIfNoCheckpoint,
+			boolean allowNonRestoredState,
+			boolean restoreCoordinators) throws Exception {
+
 		synchronized (lock) {
 			if (shutdown) {
 				throw new IllegalStateException("CheckpointCoordinator is shut down");
@@ -1064,6 +1143,11 @@ public class CheckpointCoordinator {
 					LOG.debug("Resetting the master hooks.");
 					MasterHooks.reset(masterHooks.values(), LOG);
 
+					if (restoreCoordinators) {
+						OperatorCoordinatorCheckpoints.resetToCheckpoint(
+								coordinatorsToCheckpoint, Collections.emptyList(), allowNonRestoredState);
+					}
+
 					return false;
 				}
 			}
@@ -1082,11 +1166,16 @@ public class CheckpointCoordinator {
 
 			MasterHooks.restoreMasterHooks(
 					masterHooks,
-					latest.getMasterHookStates(),
+					OperatorCoordinatorCheckpoints.filterOutCoordinatorStates(latest.getMasterHookStates()),
 					latest.getCheckpointID(),
 					allowNonRestoredState,
 					LOG);
 
+			if (restoreCoordinators) {
+				OperatorCoordinatorCheckpoints.resetToCheckpoint(
+						coordinatorsToCheckpoint, latest.getMasterHookStates(), allowNonRestoredState);
+			}
+
 			// update metrics
 
 			if (statsTracker != null) {
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint;
+
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The view of an {@link OperatorCoordinator} that the {@link CheckpointCoordinator} uses to
+ * include the state of the coordinator in the checkpoints.
+ */
+public interface OperatorCoordinatorCheckpointContext {
+
+	OperatorID getOperatorId();
+
+	/**
+	 * Takes a snapshot of the state of the coordinator. The events that the coordinator sends
+	 * after taking the snapshot are held back until {@link #afterSourceBarrierInjection(long)}
+	 * or {@link #abortCurrentTriggering()} is called.
+	 *
+	 * @param checkpointId The id of the checkpoint.
+	 * @return A future that is completed with the snapshot of the state of the coordinator.
+	 */
+	CompletableFuture<byte[]> checkpointCoordinator(long checkpointId) throws Exception;
+
+	/**
+	 * Called after the checkpoint was triggered at the source tasks, which releases the events
+	 * that the coordinator sent after taking its snapshot.
+	 *
+	 * @param checkpointId The id of the checkpoint.
+	 */
+	void afterSourceBarrierInjection(long checkpointId);
+
+	/**
+	 * Called when the triggering of the current checkpoint failed, which releases the events that
+	 * the coordinator sent after taking its snapshot.
+	 */
+	void abortCurrentTriggering();
+
+	void checkpointComplete(long checkpointId);
+
+	void resetToCheckpoint(@Nullable byte[] checkpointData) throws Exception;
+}
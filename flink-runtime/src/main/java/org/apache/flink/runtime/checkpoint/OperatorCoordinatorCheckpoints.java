@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint;
+
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.runtime.concurrent.FutureUtils;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.FlinkException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collection of methods for triggering and restoring the checkpoints of the operator
+ * coordinators, see {@link OperatorCoordinatorCheckpointContext}.
+ *
+ * <p>The state of a coordinator is stored in the checkpoint as a {@link MasterState}, with a name
+ * derived from the id of its operator, so that it does not collide with the state of the master
+ * hooks.
+ */
+final class OperatorCoordinatorCheckpoints {
+
+	private static final String STATE_NAME_PREFIX = "operator-coordinator-";
+
+	private static final int STATE_VERSION = 1;
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Triggers the checkpoint of all given coordinators, without waiting for their snapshots.
+	 *
+	 * @param coordinators The coordinators to checkpoint.
+	 * @param checkpointId The id of the checkpoint.
+	 * @return A future that is completed with the states of the coordinators once all of them have
+	 *         taken their snapshots, or exceptionally if the snapshot of a coordinator failed.
+	 * @throws FlinkException Thrown, if the checkpoint of a coordinator could not be triggered.
+	 */
+	static CompletableFuture<Collection<MasterState>> triggerAllCoordinatorCheckpoints(
+			Collection<OperatorCoordinatorCheckpointContext> coordinators,
+			long checkpointId) throws FlinkException {
+
+		final List<CompletableFuture<MasterState>> futures = new ArrayList<>(coordinators.size());
+
+		for (OperatorCoordinatorCheckpointContext coordinator : coordinators) {
+			final CompletableFuture<byte[]> checkpointFuture;
+			try {
+				checkpointFuture = coordinator.checkpointCoordinator(checkpointId);
+			} catch (Throwable t) {
+				ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+				throw new FlinkException("Error while triggering the checkpoint of the coordinator of operator "
+					+ coordinator.getOperatorId(), t);
+			}
+
+			final OperatorID operatorId = coordinator.getOperatorId();
+			futures.add(checkpointFuture.handle((bytes, failure) -> {
+				if (failure != null) {
+					throw new CompletionException(new FlinkException("The checkpoint of the coordinator of operator "
+						+ operatorId + " failed.", ExceptionUtils.stripCompletionException(failure)));
+				}
+				return new MasterState(getStateName(operatorId), bytes, STATE_VERSION);
+			}));
+		}
+
+		return FutureUtils.combineAll(futures);
+	}
+
+	/**
+	 * Waits until all coordinators of a checkpoint triggered with
+	 * {@link #triggerAllCoordinatorCheckpoints(Collection, long)} have taken their snapshots.
+	 *
+	 * @param statesFuture The future of the states of the coordinators.
+	 * @param timeout The maximum time to wait for the snapshots.
+	 * @return The states of the coordinators.
+	 * @throws FlinkException Thrown, if a coordinator could not take its snapshot in time.
+	 */
+	static Collection<MasterState> waitForAllCoordinatorCheckpoints(
+			CompletableFuture<Collection<MasterState>> statesFuture,
+			Time timeout) throws FlinkException {
+
+		try {
+			return statesFuture.get(timeout.toMilliseconds(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FlinkException("Interrupted while waiting for the checkpoint of the operator coordinators.");
+		} catch (ExecutionException e) {
+			throw new FlinkException("The checkpoint of the operator coordinators failed.",
+				ExceptionUtils.stripExecutionException(e));
+		} catch (TimeoutException e) {
+			throw new FlinkException("The checkpoint of the operator coordinators did not complete in time ("
+				+ timeout + ')');
+		}
+	}
+
+	static void afterSourceBarrierInjection(
+			Collection<OperatorCoordinatorCheckpointContext> coordinators,
+			long checkpointId) {
+
+		for (OperatorCoordinatorCheckpointContext coordinator : coordinators) {
+			coordinator.afterSourceBarrierInjection(checkpointId);
+		}
+	}
+
+	static void abortCurrentTriggering(Collection<OperatorCoordinatorCheckpointContext> coordinators) {
+		for (OperatorCoordinatorCheckpointContext coordinator : coordinators) {
+			coordinator.abortCurrentTriggering();
+		}
+	}
+
+	static void notifyCheckpointComplete(
+			Collection<OperatorCoordinatorCheckpointContext> coordinators,
+			long checkpointId) {
+
+		for (OperatorCoordinatorCheckpointContext coordinator : coordinators) {
+			coordinator.checkpointComplete(checkpointId);
+		}
+	}
+
+	/**
+	 * Resets all given coordinators to their states in the given checkpoint.
+	 *
+	 * @param coordinators The coordinators to reset.
+	 * @param masterStates The master states of the checkpoint, or an empty collection to reset the
+	 *                     coordinators to their initial state.
+	 * @param allowUnmatchedState Whether to allow coordinator states without a coordinator.
+	 * @throws FlinkException Thrown, if a coordinator could not be reset.
+	 * @throws IllegalStateException Thrown, if a coordinator state has no coordinator and
+	 *                               unmatched states are not allowed.
+	 */
+	static void resetToCheckpoint(
+			Collection<OperatorCoordinatorCheckpointContext> coordinators,
+			Collection<MasterState> masterStates,
+			boolean allowUnmatchedState) throws FlinkException {
+
+		final List<MasterState> unmatchedStates = new ArrayList<>();
+		for (MasterState state : masterStates) {
+			if (isCoordinatorState(state)) {
+				unmatchedStates.add(state);
+			}
+		}
+
+		for (OperatorCoordinatorCheckpointContext coordinator : coordinators) {
+			final String name = getStateName(coordinator.getOperatorId());
+
+			byte[] checkpointData = null;
+			for (int i = 0; i < unmatchedStates.size(); i++) {
+				if (unmatchedStates.get(i).name().equals(name)) {
+					checkpointData = unmatchedStates.remove(i).bytes();
+					break;
+				}
+			}
+
+			try {
+				coordinator.resetToCheckpoint(checkpointData);
+			} catch (Throwable t) {
+				ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+				throw new FlinkException("Error while resetting the coordinator of operator "
+					+ coordinator.getOperatorId(), t);
+			}
+		}
+
+		if (!unmatchedStates.isEmpty() && !allowUnmatchedState) {
+			throw new IllegalStateException("Found state of operator coordinators which do not exist in the job: "
+				+ unmatchedStates);
+		}
+	}
+
+	/**
+	 * Returns the given master states without the states of the operator coordinators.
+	 */
+	static List<MasterState> filterOutCoordinatorStates(Collection<MasterState> masterStates) {
+		final List<MasterState> hookStates = new ArrayList<>(masterStates.size());
+		for (MasterState state : masterStates) {
+			if (!isCoordinatorState(state)) {
+				hookStates.add(state);
+			}
+		}
+		return hookStates;
+	}
+
+	private static boolean isCoordinatorState(MasterState state) {
+		return state.name().startsWith(STATE_NAME_PREFIX);
+	}
+
+	private static String getStateName(OperatorID operatorId) {
+		return STATE_NAME_PREFIX + operatorId;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/** This class is not meant to be instantiated. */
+	private OperatorCoordinatorCheckpoints() {}
+}
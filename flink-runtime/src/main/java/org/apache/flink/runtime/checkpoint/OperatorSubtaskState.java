@@ -194,6 +194,18 @@ public class OperatorSubtaskState implements CompositeStateHandle {
 	public void registerSharedStates(SharedStateRegistry sharedStateRegistry) {
 		registerSharedState(sharedStateRegistry, managedKeyedState);
 		registerSharedState(sharedStateRegistry, rawKeyedState);
+		registerSharedOperatorState(sharedStateRegistry, managedOperatorState);
+		registerSharedOperatorState(sharedStateRegistry, rawOperatorState);
+	}
+
+	private static void registerSharedOperatorState(
+		SharedStateRegistry sharedStateRegistry,
+		Iterable<OperatorStateHandle> stateHandles) {
+		for (OperatorStateHandle stateHandle : stateHandles) {
+			if (stateHandle != null) {
+				StateUtil.registerSharedStreamState(stateHandle.getDelegateStateHandle(), sharedStateRegistry);
+			}
+		}
 	}
 
 	private static void registerSharedState(
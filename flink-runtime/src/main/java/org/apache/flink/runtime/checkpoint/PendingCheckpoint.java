@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 
@@ -86,6 +87,7 @@ public class PendingCheckpoint {
 
 	private final Map<OperatorID, OperatorState> operatorStates;
 
+	/** Tasks which have not acknowledged the checkpoint yet. Concurrent to allow lock-free lookups. */
 	private final Map<ExecutionAttemptID, ExecutionVertex> notYetAcknowledgedTasks;
 
 	private final List<MasterState> masterState;
@@ -107,7 +109,7 @@ public class PendingCheckpoint {
 
 	private int numAcknowledgedTasks;
 
-	private boolean discarded;
+	private volatile boolean discarded;
 
 	/** Optional stats tracker callback. */
 	@Nullable
@@ -132,7 +134,7 @@ public class PendingCheckpoint {
 		this.jobId = checkNotNull(jobId);
 		this.checkpointId = checkpointId;
 		this.checkpointTimestamp = checkpointTimestamp;
-		this.notYetAcknowledgedTasks = checkNotNull(verticesToConfirm);
+		this.notYetAcknowledgedTasks = new ConcurrentHashMap<>(checkNotNull(verticesToConfirm));
 		this.props = checkNotNull(props);
 		this.targetLocation = checkNotNull(targetLocation);
 		this.executor = Preconditions.checkNotNull(executor);
@@ -308,6 +310,35 @@ public class PendingCheckpoint {
 			TaskStateSnapshot operatorSubtaskStates,
 			CheckpointMetrics metrics) {
 
+		final ExecutionVertex expectedVertex = notYetAcknowledgedTasks.get(executionAttemptId);
+
+		// resolve the reported states and their sizes outside of the lock, because computing the
+		// state size needs to traverse all state handles which can be expensive for large states
+		final List<OperatorID> operatorIDs;
+		final OperatorSubtaskState[] acknowledgedStates;
+		long stateSize = 0L;
+
+		if (expectedVertex != null && operatorSubtaskStates != null) {
+			operatorIDs = expectedVertex.getJobVertex().getOperatorIDs();
+			acknowledgedStates = new OperatorSubtaskState[operatorIDs.size()];
+
+			for (int i = 0; i < acknowledgedStates.length; i++) {
+				OperatorSubtaskState operatorSubtaskState =
+					operatorSubtaskStates.getSubtaskStateByOperatorID(operatorIDs.get(i));
+
+				// if no real operatorSubtaskState was reported, we insert an empty state
+				if (operatorSubtaskState == null) {
+					operatorSubtaskState = new OperatorSubtaskState();
+				}
+
+				acknowledgedStates[i] = operatorSubtaskState;
+				stateSize += operatorSubtaskState.getStateSize();
+			}
+		} else {
+			operatorIDs = null;
+			acknowledgedStates = null;
+		}
+
 		synchronized (lock) {
 			if (discarded) {
 				return TaskAcknowledgeResult.DISCARDED;
@@ -325,23 +356,12 @@ public class PendingCheckpoint {
 				acknowledgedTasks.add(executionAttemptId);
 			}
 
-			List<OperatorID> operatorIDs = vertex.getJobVertex().getOperatorIDs();
 			int subtaskIndex = vertex.getParallelSubtaskIndex();
 			long ackTimestamp = System.currentTimeMillis();
 
-			long stateSize = 0L;
-
-			if (operatorSubtaskStates != null) {
-				for (OperatorID operatorID : operatorIDs) {
-
-					OperatorSubtaskState operatorSubtaskState =
-						operatorSubtaskStates.getSubtaskStateByOperatorID(operatorID);
-
-					// if no real operatorSubtaskState was reported, we insert an empty state
-					if (operatorSubtaskState == null) {
-						operatorSubtaskState = new OperatorSubtaskState();
-					}
-
+			if (acknowledgedStates != null) {
+				for (int i = 0; i < acknowledgedStates.length; i++) {
+					OperatorID operatorID = operatorIDs.get(i);
 					OperatorState operatorState = operatorStates.get(operatorID);
 
 					if (operatorState == null) {
@@ -352,8 +372,7 @@ public class PendingCheckpoint {
 						operatorStates.put(operatorID, operatorState);
 					}
 
-					operatorState.putState(subtaskIndex, operatorSubtaskState);
-					stateSize += operatorSubtaskState.getStateSize();
+					operatorState.putState(subtaskIndex, acknowledgedStates[i]);
 				}
 			}
 
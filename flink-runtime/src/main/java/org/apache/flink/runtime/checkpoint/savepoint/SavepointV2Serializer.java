@@ -34,6 +34,7 @@ import org.apache.flink.runtime.state.KeyedStateHandle;
 import org.apache.flink.runtime.state.OperatorStreamStateHandle;
 import org.apache.flink.runtime.state.StateHandleID;
 import org.apache.flink.runtime.state.StreamStateHandle;
+import org.apache.flink.runtime.state.filesystem.FileSegmentStateHandle;
 import org.apache.flink.runtime.state.filesystem.FileStateHandle;
 import org.apache.flink.runtime.state.memory.ByteStreamStateHandle;
 import org.apache.flink.util.Preconditions;
@@ -82,6 +83,7 @@ public class SavepointV2Serializer implements SavepointSerializer<SavepointV2> {
 	private static final byte KEY_GROUPS_HANDLE = 3;
 	private static final byte PARTITIONABLE_OPERATOR_STATE_HANDLE = 4;
 	private static final byte INCREMENTAL_KEY_GROUPS_HANDLE = 5;
+	private static final byte FILE_SEGMENT_STREAM_STATE_HANDLE = 6;
 
 	/** The singleton instance of the serializer */
 	public static final SavepointV2Serializer INSTANCE = new SavepointV2Serializer();
@@ -513,6 +515,13 @@ public class SavepointV2Serializer implements SavepointSerializer<SavepointV2> {
 			dos.writeLong(stateHandle.getStateSize());
 			dos.writeUTF(fileStateHandle.getFilePath().toString());
 
+		} else if (stateHandle instanceof FileSegmentStateHandle) {
+			dos.writeByte(FILE_SEGMENT_STREAM_STATE_HANDLE);
+			FileSegmentStateHandle fileSegmentStateHandle = (FileSegmentStateHandle) stateHandle;
+			dos.writeLong(fileSegmentStateHandle.getStartPos());
+			dos.writeLong(stateHandle.getStateSize());
+			dos.writeUTF(fileSegmentStateHandle.getFilePath().toString());
+
 		} else if (stateHandle instanceof ByteStreamStateHandle) {
 			dos.writeByte(BYTE_STREAM_STATE_HANDLE);
 			ByteStreamStateHandle byteStreamStateHandle = (ByteStreamStateHandle) stateHandle;
@@ -535,6 +544,11 @@ public class SavepointV2Serializer implements SavepointSerializer<SavepointV2> {
 			long size = dis.readLong();
 			String pathString = dis.readUTF();
 			return new FileStateHandle(new Path(pathString), size);
+		} else if (FILE_SEGMENT_STREAM_STATE_HANDLE == type) {
+			long startPos = dis.readLong();
+			long size = dis.readLong();
+			String pathString = dis.readUTF();
+			return new FileSegmentStateHandle(new Path(pathString), startPos, size);
 		} else if (BYTE_STREAM_STATE_HANDLE == type) {
 			String handleName = dis.readUTF();
 			int numBytes = dis.readInt();
@@ -41,6 +41,7 @@ import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.internal.InternalKvState;
 import org.apache.flink.runtime.taskexecutor.GlobalAggregateManager;
 import org.apache.flink.runtime.taskmanager.TaskManagerRuntimeInfo;
+import org.apache.flink.runtime.taskmanager.TaskOperatorEventGateway;
 
 import java.util.Map;
 import java.util.concurrent.Future;
@@ -151,6 +152,11 @@ public interface Environment {
 
 	GlobalAggregateManager getGlobalAggregateManager();
 
+	/**
+	 * Gets the gateway through which the operators of the task send events to their coordinators.
+	 */
+	TaskOperatorEventGateway getOperatorCoordinatorEventGateway();
+
 	/**
 	 * Return the registry for accumulators which are periodically sent to the job manager.
 	 * @return the registry
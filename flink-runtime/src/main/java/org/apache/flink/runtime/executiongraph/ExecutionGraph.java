@@ -66,6 +66,7 @@ import org.apache.flink.runtime.jobgraph.ScheduleMode;
 import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguration;
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmaster.slotpool.SlotProvider;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinatorHolder;
 import org.apache.flink.runtime.query.KvStateLocationRegistry;
 import org.apache.flink.runtime.scheduler.adapter.ExecutionGraphToSchedulingTopologyAdapter;
 import org.apache.flink.runtime.scheduler.strategy.ExecutionVertexID;
@@ -610,6 +611,13 @@ public class ExecutionGraph implements AccessExecutionGraph {
 			}
 		}
 
+		// register the operator coordinators, whose state is part of the checkpoints
+		for (ExecutionJobVertex jobVertex : verticesInCreationOrder) {
+			for (OperatorCoordinatorHolder coordinator : jobVertex.getOperatorCoordinators()) {
+				checkpointCoordinator.addOperatorCoordinator(coordinator);
+			}
+		}
+
 		checkpointCoordinator.setCheckpointStatsTracker(checkpointStatsTracker);
 
 		// interval of max long value indicates disable periodic checkpoint,
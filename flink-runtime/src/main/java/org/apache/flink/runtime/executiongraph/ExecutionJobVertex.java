@@ -45,6 +45,8 @@ import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinatorHolder;
 import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
 import org.apache.flink.types.Either;
 import org.apache.flink.util.OptionalFailure;
@@ -135,6 +137,9 @@ public class ExecutionJobVertex implements AccessExecutionJobVertex, Archiveable
 
 	private InputSplitAssigner splitAssigner;
 
+	/** The coordinators of the operators in this vertex. */
+	private final Collection<OperatorCoordinatorHolder> operatorCoordinators;
+
 	/**
 	 * Convenience constructor for testing.
 	 */
@@ -269,6 +274,19 @@ public class ExecutionJobVertex implements AccessExecutionJobVertex, Archiveable
 		catch (Throwable t) {
 			throw new JobException("Creating the input splits caused an error: " + t.getMessage(), t);
 		}
+
+		// create the coordinators of the operators, if the vertex has any
+		final List<SerializedValue<OperatorCoordinator.Provider>> coordinatorProviders = jobVertex.getOperatorCoordinators();
+		final ArrayList<OperatorCoordinatorHolder> coordinators = new ArrayList<>(coordinatorProviders.size());
+		for (SerializedValue<OperatorCoordinator.Provider> provider : coordinatorProviders) {
+			try {
+				coordinators.add(OperatorCoordinatorHolder.create(provider, this, graph.getUserClassLoader()));
+			}
+			catch (Throwable t) {
+				throw new JobException("Creating the operator coordinators caused an error: " + t.getMessage(), t);
+			}
+		}
+		this.operatorCoordinators = Collections.unmodifiableList(coordinators);
 	}
 
 	/**
@@ -289,6 +307,15 @@ public class ExecutionJobVertex implements AccessExecutionJobVertex, Archiveable
 		return userDefinedOperatorIds;
 	}
 
+	/**
+	 * Returns the coordinators of the operators in this execution job vertex.
+	 *
+	 * @return The coordinators of the operators in this execution job vertex.
+	 */
+	public Collection<OperatorCoordinatorHolder> getOperatorCoordinators() {
+		return operatorCoordinators;
+	}
+
 	public void setMaxParallelism(int maxParallelismDerived) {
 
 		Preconditions.checkState(!maxParallelismConfigured,
@@ -216,7 +216,7 @@ public class FailoverRegion {
 						new CheckpointException(CheckpointFailureReason.JOB_FAILOVER_REGION));
 
 					executionGraph.getCheckpointCoordinator().restoreLatestCheckpointedState(
-						tasks, false, true);
+						tasks, false, true, false);
 				}
 
 				HashSet<AllocationID> previousAllocationsInRegion = new HashSet<>(connectedExecutionVertexes.size());
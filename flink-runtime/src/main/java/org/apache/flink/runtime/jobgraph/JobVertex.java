@@ -27,11 +27,14 @@ import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.SerializedValue;
 
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -91,6 +94,9 @@ public class JobVertex implements java.io.Serializable {
 	/** Optionally, a source of input splits */
 	private InputSplitSource<?> inputSplitSource;
 
+	/** The providers of the coordinators of the operators in this vertex. */
+	private final ArrayList<SerializedValue<OperatorCoordinator.Provider>> operatorCoordinators = new ArrayList<>();
+
 	/** The name of the vertex. This will be shown in runtime logs and will be in the runtime environment */
 	private String name;
 
@@ -351,6 +357,20 @@ public class JobVertex implements java.io.Serializable {
 		this.inputSplitSource = inputSplitSource;
 	}
 
+	/**
+	 * Adds the provider of the coordinator of an operator in this vertex. The coordinator is
+	 * created on the JobManager when the vertex is attached to the execution graph.
+	 *
+	 * @param serializedCoordinatorProvider The serialized provider of the coordinator.
+	 */
+	public void addOperatorCoordinator(SerializedValue<OperatorCoordinator.Provider> serializedCoordinatorProvider) {
+		operatorCoordinators.add(checkNotNull(serializedCoordinatorProvider));
+	}
+
+	public List<SerializedValue<OperatorCoordinator.Provider>> getOperatorCoordinators() {
+		return Collections.unmodifiableList(operatorCoordinators);
+	}
+
 	public List<IntermediateDataSet> getProducedDataSets() {
 		return this.results;
 	}
@@ -24,7 +24,11 @@ import org.apache.flink.runtime.checkpoint.CheckpointMetaData;
 import org.apache.flink.runtime.checkpoint.CheckpointMetrics;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
 import org.apache.flink.runtime.execution.Environment;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.taskmanager.Task;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.SerializedValue;
 
 import java.util.Optional;
 import java.util.concurrent.Future;
@@ -268,4 +272,20 @@ public abstract class AbstractInvokable {
 	public Future<Void> notifyCheckpointCompleteAsync(long checkpointId) {
 		throw new UnsupportedOperationException(String.format("notifyCheckpointCompleteAsync not supported by %s", this.getClass().getName()));
 	}
+
+	// ------------------------------------------------------------------------
+	//  Operator Events
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Dispatches an event from the coordinator of an operator to the operator instance in this task.
+	 *
+	 * @param operator The id of the operator which should receive the event.
+	 * @param event The serialized event.
+	 *
+	 * @throws FlinkException Thrown, if the event cannot be dispatched.
+	 */
+	public void dispatchOperatorEvent(OperatorID operator, SerializedValue<OperatorEvent> event) throws FlinkException {
+		throw new UnsupportedOperationException(String.format("dispatchOperatorEvent not supported by %s", this.getClass().getName()));
+	}
 }
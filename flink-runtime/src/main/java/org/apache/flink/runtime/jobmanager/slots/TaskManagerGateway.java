@@ -26,9 +26,12 @@ import org.apache.flink.runtime.deployment.TaskDeploymentDescriptor;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.PartitionInfo;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.messages.StackTraceSampleResponse;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.rpc.RpcTimeout;
+import org.apache.flink.util.SerializedValue;
 
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
@@ -140,6 +143,19 @@ public interface TaskManagerGateway {
 		CheckpointOptions checkpointOptions,
 		boolean advanceToEndOfEventTime);
 
+	/**
+	 * Sends an event from the coordinator of an operator to the operator instance in the given task.
+	 *
+	 * @param task identifying the task
+	 * @param operator identifying the operator which should receive the event
+	 * @param evt the serialized event
+	 * @return Future acknowledge which is returned once the event has been delivered to the task
+	 */
+	CompletableFuture<Acknowledge> sendOperatorEventToTask(
+		ExecutionAttemptID task,
+		OperatorID operator,
+		SerializedValue<OperatorEvent> evt);
+
 	/**
 	 * Frees the slot with the given allocation ID.
 	 *
@@ -33,17 +33,20 @@ import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
 import org.apache.flink.runtime.jobgraph.JobStatus;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.messages.webmonitor.JobDetails;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.rest.handler.legacy.backpressure.OperatorBackPressureStatsResponse;
 import org.apache.flink.runtime.rpc.FencedRpcGateway;
 import org.apache.flink.runtime.rpc.RpcTimeout;
-import org.apache.flink.runtime.taskexecutor.AccumulatorReport;
+import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
 import org.apache.flink.runtime.taskexecutor.slot.SlotOffer;
 import org.apache.flink.runtime.taskmanager.TaskExecutionState;
 import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
+import org.apache.flink.util.SerializedValue;
 
 import javax.annotation.Nullable;
 
@@ -89,6 +92,20 @@ public interface JobMasterGateway extends
 			final JobVertexID vertexID,
 			final ExecutionAttemptID executionAttempt);
 
+	/**
+	 * Delivers an event from the operator instance of the given task to the coordinator of the
+	 * operator.
+	 *
+	 * @param task The execution attempt id of the task that sends the event
+	 * @param operatorID The id of the operator whose coordinator should receive the event
+	 * @param event The serialized event
+	 * @return Future acknowledge once the coordinator received the event
+	 */
+	CompletableFuture<Acknowledge> sendOperatorEventToCoordinator(
+			ExecutionAttemptID task,
+			OperatorID operatorID,
+			SerializedValue<OperatorEvent> event);
+
 	/**
 	 * Requests the current state of the partition. The state of a
 	 * partition is currently bound to the state of the producing execution.
@@ -179,11 +196,11 @@ public interface JobMasterGateway extends
 	 * Sends the heartbeat to job manager from task manager.
 	 *
 	 * @param resourceID unique id of the task manager
-	 * @param accumulatorReport report containing accumulator updates
+	 * @param payload containing accumulator updates and the sizes of the retained local state
 	 */
 	void heartbeatFromTaskManager(
 		final ResourceID resourceID,
-		final AccumulatorReport accumulatorReport);
+		final TaskExecutorToJobManagerHeartbeatPayload payload);
 
 	/**
 	 * Sends heartbeat request from the resource manager.
@@ -45,15 +45,27 @@ public class DefaultSlotPoolFactory implements SlotPoolFactory {
 	@Nonnull
 	private final Time batchSlotTimeout;
 
+	private final boolean declarativeResourceRequirements;
+
 	public DefaultSlotPoolFactory(
 			@Nonnull Clock clock,
 			@Nonnull Time rpcTimeout,
 			@Nonnull Time slotIdleTimeout,
 			@Nonnull Time batchSlotTimeout) {
+		this(clock, rpcTimeout, slotIdleTimeout, batchSlotTimeout, false);
+	}
+
+	public DefaultSlotPoolFactory(
+			@Nonnull Clock clock,
+			@Nonnull Time rpcTimeout,
+			@Nonnull Time slotIdleTimeout,
+			@Nonnull Time batchSlotTimeout,
+			boolean declarativeResourceRequirements) {
 		this.clock = clock;
 		this.rpcTimeout = rpcTimeout;
 		this.slotIdleTimeout = slotIdleTimeout;
 		this.batchSlotTimeout = batchSlotTimeout;
+		this.declarativeResourceRequirements = declarativeResourceRequirements;
 	}
 
 	@Override
@@ -64,7 +76,8 @@ public class DefaultSlotPoolFactory implements SlotPoolFactory {
 			clock,
 			rpcTimeout,
 			slotIdleTimeout,
-			batchSlotTimeout);
+			batchSlotTimeout,
+			declarativeResourceRequirements);
 	}
 
 	public static DefaultSlotPoolFactory fromConfiguration(@Nonnull Configuration configuration) {
@@ -72,11 +85,13 @@ public class DefaultSlotPoolFactory implements SlotPoolFactory {
 		final Time rpcTimeout = AkkaUtils.getTimeoutAsTime(configuration);
 		final Time slotIdleTimeout = Time.milliseconds(configuration.getLong(JobManagerOptions.SLOT_IDLE_TIMEOUT));
 		final Time batchSlotTimeout = Time.milliseconds(configuration.getLong(JobManagerOptions.SLOT_REQUEST_TIMEOUT));
+		final boolean declarativeResourceRequirements = configuration.getBoolean(JobManagerOptions.SLOT_REQUEST_DECLARATIVE);
 
 		return new DefaultSlotPoolFactory(
 			SystemClock.getInstance(),
 			rpcTimeout,
 			slotIdleTimeout,
-			batchSlotTimeout);
+			batchSlotTimeout,
+			declarativeResourceRequirements);
 	}
 }
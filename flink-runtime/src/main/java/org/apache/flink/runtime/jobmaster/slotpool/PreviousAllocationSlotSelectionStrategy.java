@@ -33,6 +33,11 @@ import java.util.Set;
 /**
  * This class implements a {@link SlotSelectionStrategy} that is based on previous allocations and
  * falls back to using location preference hints if there is no previous allocation.
+ *
+ * <p>Among multiple available previous allocations, the one under which the TaskExecutor retains
+ * the most local state is selected. Slots of the previous execution graph are only excluded from
+ * the location based fallback if they might retain local state, so that slots of stateless tasks
+ * can be reused without requesting new slots.
  */
 public enum PreviousAllocationSlotSelectionStrategy implements SlotSelectionStrategy {
 
@@ -45,14 +50,22 @@ public enum PreviousAllocationSlotSelectionStrategy implements SlotSelectionStra
 
 		Collection<AllocationID> priorAllocations = slotProfile.getPreferredAllocations();
 
-		// First, if there was a prior allocation try to schedule to the same/old slot
+		// First, if there was a prior allocation try to schedule to the same/old slot which
+		// retains the most local state
 		if (!priorAllocations.isEmpty()) {
+			SlotInfoAndResources bestPriorSlot = null;
+
 			for (SlotInfoAndResources availableSlot : availableSlots) {
-				if (priorAllocations.contains(availableSlot.getSlotInfo().getAllocationId())) {
-					return Optional.of(
-						SlotInfoAndLocality.of(availableSlot.getSlotInfo(), Locality.LOCAL));
+				if (priorAllocations.contains(availableSlot.getSlotInfo().getAllocationId()) &&
+						(bestPriorSlot == null || availableSlot.getLocalStateSize() > bestPriorSlot.getLocalStateSize())) {
+					bestPriorSlot = availableSlot;
 				}
 			}
+
+			if (bestPriorSlot != null) {
+				return Optional.of(
+					SlotInfoAndLocality.of(bestPriorSlot.getSlotInfo(), Locality.LOCAL));
+			}
 		}
 
 		// Second, select based on location preference, excluding blacklisted allocations
@@ -72,7 +85,9 @@ public enum PreviousAllocationSlotSelectionStrategy implements SlotSelectionStra
 
 		ArrayList<SlotInfoAndResources> availableAndAllowedSlots = new ArrayList<>(availableSlots.size());
 		for (SlotInfoAndResources availableSlot : availableSlots) {
-			if (!blacklistedAllocations.contains(availableSlot.getSlotInfo().getAllocationId())) {
+			// slots without local state cannot speed up the recovery of their previous tasks
+			if (availableSlot.getLocalStateSize() == 0L ||
+					!blacklistedAllocations.contains(availableSlot.getSlotInfo().getAllocationId())) {
 				availableAndAllowedSlots.add(availableSlot);
 			}
 		}
@@ -35,6 +35,7 @@ import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
 import javax.annotation.Nonnull;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -178,6 +179,25 @@ public interface SlotPool extends AllocatedSlotActions, AutoCloseable {
 		@Nonnull SlotRequestId slotRequestId,
 		@Nonnull ResourceProfile resourceProfile);
 
+	/**
+	 * Updates the sizes of the local state which the given task manager retains under the
+	 * allocations of the job.
+	 *
+	 * @param taskManagerId identifies the task manager
+	 * @param localStateSizes mapping from allocation id to the size of the retained local state
+	 */
+	void updateLocalStateSizes(ResourceID taskManagerId, Map<AllocationID, Long> localStateSizes);
+
+	/**
+	 * Returns the size of the local state which the task manager of the given slot retains under
+	 * the slot's allocation.
+	 *
+	 * @param slotInfo identifying the slot
+	 * @return the size of the retained local state in bytes or
+	 * {@link SlotSelectionStrategy.SlotInfoAndResources#UNKNOWN_LOCAL_STATE_SIZE} if it is unknown
+	 */
+	long getLocalStateSize(SlotInfo slotInfo);
+
 	/**
 	 * Create report about the allocated slots belonging to the specified task manager.
 	 *
@@ -37,6 +37,7 @@ import org.apache.flink.runtime.jobmaster.SlotInfo;
 import org.apache.flink.runtime.jobmaster.SlotRequestId;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerGateway;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirements;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.resourcemanager.exceptions.UnfulfillableSlotRequestException;
 import org.apache.flink.runtime.taskexecutor.slot.SlotOffer;
@@ -112,6 +113,9 @@ public class SlotPoolImpl implements SlotPool {
 	/** The requests that are waiting for the resource manager to be connected. */
 	private final LinkedHashMap<SlotRequestId, PendingRequest> waitingForResourceManager;
 
+	/** The sizes of the local state which the TaskManagers retain under the allocations of the job. */
+	private final HashMap<ResourceID, Map<AllocationID, Long>> localStateSizes;
+
 	/** Timeout for external request calls (e.g. to the ResourceManager or the TaskExecutor). */
 	private final Time rpcTimeout;
 
@@ -121,6 +125,12 @@ public class SlotPoolImpl implements SlotPool {
 	/** Timeout for batch slot requests. */
 	private final Time batchSlotTimeout;
 
+	/** True iff the resource requirements are declared to the ResourceManager instead of requesting single slots. */
+	private final boolean declarativeResourceRequirements;
+
+	/** True iff a declaration of the resource requirements has been scheduled but not yet sent. */
+	private boolean resourceRequirementsDeclarationScheduled;
+
 	private final Clock clock;
 
 	/** the fencing token of the job manager. */
@@ -141,18 +151,31 @@ public class SlotPoolImpl implements SlotPool {
 			Time rpcTimeout,
 			Time idleSlotTimeout,
 			Time batchSlotTimeout) {
+		this(jobId, clock, rpcTimeout, idleSlotTimeout, batchSlotTimeout, false);
+	}
+
+	public SlotPoolImpl(
+			JobID jobId,
+			Clock clock,
+			Time rpcTimeout,
+			Time idleSlotTimeout,
+			Time batchSlotTimeout,
+			boolean declarativeResourceRequirements) {
 
 		this.jobId = checkNotNull(jobId);
 		this.clock = checkNotNull(clock);
 		this.rpcTimeout = checkNotNull(rpcTimeout);
 		this.idleSlotTimeout = checkNotNull(idleSlotTimeout);
 		this.batchSlotTimeout = checkNotNull(batchSlotTimeout);
+		this.declarativeResourceRequirements = declarativeResourceRequirements;
+		this.resourceRequirementsDeclarationScheduled = false;
 
 		this.registeredTaskManagers = new HashSet<>(16);
 		this.allocatedSlots = new AllocatedSlots();
 		this.availableSlots = new AvailableSlots();
 		this.pendingRequests = new DualKeyLinkedMap<>(16);
 		this.waitingForResourceManager = new LinkedHashMap<>(16);
+		this.localStateSizes = new HashMap<>(16);
 
 		this.jobMasterId = null;
 		this.resourceManagerGateway = null;
@@ -229,11 +252,7 @@ public class SlotPoolImpl implements SlotPool {
 
 		// cancel all pending allocations --> we can request these slots
 		// again after we regained the leadership
-		Set<AllocationID> allocationIds = pendingRequests.keySetB();
-
-		for (AllocationID allocationId : allocationIds) {
-			resourceManagerGateway.cancelSlotRequest(allocationId);
-		}
+		cancelPendingRequestsAtResourceManager();
 
 		// do not accept any requests
 		jobMasterId = null;
@@ -248,11 +267,7 @@ public class SlotPoolImpl implements SlotPool {
 	public void close() {
 		log.info("Stopping SlotPool.");
 		// cancel all pending allocations
-		Set<AllocationID> allocationIds = pendingRequests.keySetB();
-
-		for (AllocationID allocationId : allocationIds) {
-			resourceManagerGateway.cancelSlotRequest(allocationId);
-		}
+		cancelPendingRequestsAtResourceManager();
 
 		// release all registered slots by releasing the corresponding TaskExecutors
 		for (ResourceID taskManagerResourceId : registeredTaskManagers) {
@@ -264,6 +279,23 @@ public class SlotPoolImpl implements SlotPool {
 		clear();
 	}
 
+	private void cancelPendingRequestsAtResourceManager() {
+		if (declarativeResourceRequirements) {
+			if (resourceManagerGateway != null) {
+				resourceManagerGateway.declareRequiredResources(
+					jobMasterId,
+					ResourceRequirements.empty(jobId, jobManagerAddress),
+					rpcTimeout);
+			}
+		} else {
+			Set<AllocationID> allocationIds = pendingRequests.keySetB();
+
+			for (AllocationID allocationId : allocationIds) {
+				resourceManagerGateway.cancelSlotRequest(allocationId);
+			}
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	//  Resource Manager Connection
 	// ------------------------------------------------------------------------
@@ -279,6 +311,11 @@ public class SlotPoolImpl implements SlotPool {
 
 		// all sent off
 		waitingForResourceManager.clear();
+
+		if (declarativeResourceRequirements) {
+			// the new ResourceManager does not know anything about our requirements
+			scheduleResourceRequirementsDeclaration();
+		}
 	}
 
 	@Override
@@ -306,6 +343,14 @@ public class SlotPoolImpl implements SlotPool {
 			requestSlotFromResourceManager(resourceManagerGateway, pendingRequest);
 		}
 
+		if (declarativeResourceRequirements) {
+			// the requirements change whenever a pending request is fulfilled or failed
+			FutureUtils.whenCompleteAsyncIfNotDone(
+				pendingRequest.getAllocatedSlotFuture(),
+				componentMainThreadExecutor,
+				(AllocatedSlot ignored, Throwable throwable) -> scheduleResourceRequirementsDeclaration());
+		}
+
 		return pendingRequest.getAllocatedSlotFuture();
 	}
 
@@ -316,12 +361,22 @@ public class SlotPoolImpl implements SlotPool {
 		checkNotNull(resourceManagerGateway);
 		checkNotNull(pendingRequest);
 
-		log.info("Requesting new slot [{}] and profile {} from resource manager.", pendingRequest.getSlotRequestId(), pendingRequest.getResourceProfile());
-
 		final AllocationID allocationId = new AllocationID();
 
 		pendingRequests.put(pendingRequest.getSlotRequestId(), allocationId, pendingRequest);
 
+		if (declarativeResourceRequirements) {
+			// the allocation id is declared with the requirements, the ResourceManager requests the
+			// slot under this id, so that the offered slot and the failure of the request match it
+			log.debug("Adding slot request [{}] with profile {} to the declared resource requirements.",
+				pendingRequest.getSlotRequestId(), pendingRequest.getResourceProfile());
+
+			scheduleResourceRequirementsDeclaration();
+			return;
+		}
+
+		log.info("Requesting new slot [{}] and profile {} from resource manager.", pendingRequest.getSlotRequestId(), pendingRequest.getResourceProfile());
+
 		pendingRequest.getAllocatedSlotFuture().whenComplete(
 			(AllocatedSlot allocatedSlot, Throwable throwable) -> {
 				if (throwable != null || !allocationId.equals(allocatedSlot.getAllocationId())) {
@@ -347,6 +402,88 @@ public class SlotPoolImpl implements SlotPool {
 			});
 	}
 
+	/**
+	 * Schedules the declaration of the current resource requirements. All changes which happen
+	 * until the scheduled declaration is executed in the main thread are sent with a single RPC.
+	 */
+	private void scheduleResourceRequirementsDeclaration() {
+		if (declarativeResourceRequirements && !resourceRequirementsDeclarationScheduled) {
+			resourceRequirementsDeclarationScheduled = true;
+
+			runAsync(() -> {
+				resourceRequirementsDeclarationScheduled = false;
+				declareResourceRequirements();
+			});
+		}
+	}
+
+	/**
+	 * Declares the number of slots this pool needs to the ResourceManager. The requirements comprise
+	 * the pending requests as well as all slots which are currently held by this pool, because the
+	 * ResourceManager matches the declared requirements against all slots allocated for the job.
+	 * The allocation ids of the pending requests are declared as well, because the ResourceManager
+	 * requests the missing slots under these ids.
+	 */
+	private void declareResourceRequirements() {
+		if (resourceManagerGateway == null || jobMasterId == null) {
+			log.debug("Cannot declare resource requirements, because no ResourceManager is connected.");
+			return;
+		}
+
+		final ResourceRequirements resourceRequirements = ResourceRequirements.create(
+			jobId,
+			jobManagerAddress,
+			getRequiredResources(),
+			getPendingAllocationIds());
+
+		log.debug("Declaring resource requirements {}.", resourceRequirements.getResourceRequirements());
+
+		final Collection<SlotRequestId> declaredRequests = new ArrayList<>(pendingRequests.keySetA());
+
+		final CompletableFuture<Acknowledge> rmResponse = resourceManagerGateway.declareRequiredResources(
+			jobMasterId,
+			resourceRequirements,
+			rpcTimeout);
+
+		FutureUtils.whenCompleteAsyncIfNotDone(
+			rmResponse,
+			componentMainThreadExecutor,
+			(Acknowledge ignored, Throwable failure) -> {
+				// on failure, fail the requests which were part of the declaration
+				if (failure != null) {
+					for (SlotRequestId declaredRequest : declaredRequests) {
+						slotRequestToResourceManagerFailed(declaredRequest, failure);
+					}
+				}
+			});
+	}
+
+	private Map<ResourceProfile, Integer> getRequiredResources() {
+		final Map<ResourceProfile, Integer> requiredResources = new HashMap<>(4);
+
+		for (PendingRequest pendingRequest : pendingRequests.values()) {
+			requiredResources.merge(pendingRequest.getResourceProfile(), 1, Integer::sum);
+		}
+
+		for (SlotInfo slotInfo : Iterables.concat(availableSlots.listSlotInfo(), allocatedSlots.listSlotInfo())) {
+			requiredResources.merge(slotInfo.getResourceProfile(), 1, Integer::sum);
+		}
+
+		return requiredResources;
+	}
+
+	private Map<ResourceProfile, List<AllocationID>> getPendingAllocationIds() {
+		final Map<ResourceProfile, List<AllocationID>> pendingAllocationIds = new HashMap<>(4);
+
+		for (AllocationID allocationId : pendingRequests.keySetB()) {
+			pendingAllocationIds
+				.computeIfAbsent(pendingRequests.getKeyB(allocationId).getResourceProfile(), ignored -> new ArrayList<>(4))
+				.add(allocationId);
+		}
+
+		return pendingAllocationIds;
+	}
+
 	private void slotRequestToResourceManagerFailed(SlotRequestId slotRequestID, Throwable failure) {
 		final PendingRequest request = pendingRequests.getKeyA(slotRequestID);
 		if (request != null) {
@@ -689,6 +826,8 @@ public class SlotPoolImpl implements SlotPool {
 			if (isBatchRequestAndFailureCanBeIgnored(pendingRequest, cause)) {
 				// pending batch requests don't react to this signal --> put it back
 				pendingRequests.put(pendingRequest.getSlotRequestId(), allocationID, pendingRequest);
+				// the ResourceManager has dropped the failed request and issues it again
+				scheduleResourceRequirementsDeclaration();
 			} else {
 				// request was still pending
 				failPendingRequest(pendingRequest, cause);
@@ -718,6 +857,8 @@ public class SlotPoolImpl implements SlotPool {
 			// since it is not in 'allocatedSlots' any more, it will be dropped o return'
 			allocatedSlot.releasePayload(cause);
 
+			scheduleResourceRequirementsDeclaration();
+
 			final ResourceID taskManagerId = allocatedSlot.getTaskManagerId();
 
 			if (!availableSlots.containsTaskManager(taskManagerId) && !allocatedSlots.containResource(taskManagerId)) {
@@ -760,6 +901,7 @@ public class SlotPoolImpl implements SlotPool {
 		componentMainThreadExecutor.assertRunningInMainThread();
 
 		if (registeredTaskManagers.remove(resourceId)) {
+			localStateSizes.remove(resourceId);
 			releaseTaskManagerInternal(resourceId, cause);
 			return true;
 		} else {
@@ -767,6 +909,31 @@ public class SlotPoolImpl implements SlotPool {
 		}
 	}
 
+	@Override
+	public void updateLocalStateSizes(ResourceID taskManagerId, Map<AllocationID, Long> localStateSizesOfTaskManager) {
+		componentMainThreadExecutor.assertRunningInMainThread();
+
+		if (registeredTaskManagers.contains(taskManagerId)) {
+			localStateSizes.put(taskManagerId, localStateSizesOfTaskManager);
+		} else {
+			log.debug("Ignoring local state sizes of unknown TaskManager {}.", taskManagerId);
+		}
+	}
+
+	@Override
+	public long getLocalStateSize(SlotInfo slotInfo) {
+		final Map<AllocationID, Long> localStateSizesOfTaskManager =
+			localStateSizes.get(slotInfo.getTaskManagerLocation().getResourceID());
+
+		if (localStateSizesOfTaskManager == null) {
+			return SlotSelectionStrategy.SlotInfoAndResources.UNKNOWN_LOCAL_STATE_SIZE;
+		} else {
+			return localStateSizesOfTaskManager.getOrDefault(
+				slotInfo.getAllocationId(),
+				SlotSelectionStrategy.SlotInfoAndResources.UNKNOWN_LOCAL_STATE_SIZE);
+		}
+	}
+
 	@Override
 	public AllocatedSlotReport createAllocatedSlotReport(ResourceID taskManagerId) {
 		final Set<AllocatedSlot> availableSlotsForTaskManager = availableSlots.getSlotsForTaskManager(taskManagerId);
@@ -810,6 +977,10 @@ public class SlotPoolImpl implements SlotPool {
 			TaskManagerGateway taskManagerGateway = removedSlot.getTaskManagerGateway();
 			taskManagerGateway.freeSlot(removedSlot.getAllocationId(), cause, rpcTimeout);
 		}
+
+		if (!removedSlots.isEmpty()) {
+			scheduleResourceRequirementsDeclaration();
+		}
 	}
 
 	/**
@@ -835,6 +1006,7 @@ public class SlotPoolImpl implements SlotPool {
 			if (availableSlots.tryRemove(allocationID) != null) {
 
 				log.info("Releasing idle slot [{}].", allocationID);
+				scheduleResourceRequirementsDeclaration();
 				final CompletableFuture<Acknowledge> freeSlotFuture = expiredSlot.getTaskManagerGateway().freeSlot(
 					allocationID,
 					cause,
@@ -926,6 +1098,7 @@ public class SlotPoolImpl implements SlotPool {
 		pendingRequests.clear();
 		waitingForResourceManager.clear();
 		registeredTaskManagers.clear();
+		localStateSizes.clear();
 	}
 
 	// ------------------------------------------------------------------------
@@ -46,23 +46,34 @@ public interface SlotSelectionStrategy {
 		@Nonnull SlotProfile slotProfile);
 
 	/**
-	 * This class is a value type that combines a {@link SlotInfo} with its remaining {@link ResourceProfile}.
+	 * This class is a value type that combines a {@link SlotInfo} with its remaining {@link ResourceProfile}
+	 * and the size of the local state which the TaskExecutor retains under the slot's allocation.
 	 */
 	final class SlotInfoAndResources {
 
+		/** Local state size of slots for which the TaskExecutor has not reported any local state yet. */
+		public static final long UNKNOWN_LOCAL_STATE_SIZE = -1L;
+
 		@Nonnull
 		private final SlotInfo slotInfo;
 
 		@Nonnull
 		private final ResourceProfile remainingResources;
 
+		private final long localStateSize;
+
 		public SlotInfoAndResources(@Nonnull SlotInfo slotInfo) {
 			this(slotInfo, slotInfo.getResourceProfile());
 		}
 
 		public SlotInfoAndResources(@Nonnull SlotInfo slotInfo, @Nonnull ResourceProfile remainingResources) {
+			this(slotInfo, remainingResources, UNKNOWN_LOCAL_STATE_SIZE);
+		}
+
+		public SlotInfoAndResources(@Nonnull SlotInfo slotInfo, @Nonnull ResourceProfile remainingResources, long localStateSize) {
 			this.slotInfo = slotInfo;
 			this.remainingResources = remainingResources;
+			this.localStateSize = localStateSize;
 		}
 
 		@Nonnull
@@ -74,6 +85,14 @@ public interface SlotSelectionStrategy {
 		public ResourceProfile getRemainingResources() {
 			return remainingResources;
 		}
+
+		/**
+		 * Returns the size in bytes of the local state retained under the slot's allocation or
+		 * {@link #UNKNOWN_LOCAL_STATE_SIZE} if the size is unknown.
+		 */
+		public long getLocalStateSize() {
+			return localStateSize;
+		}
 	}
 
 	/**
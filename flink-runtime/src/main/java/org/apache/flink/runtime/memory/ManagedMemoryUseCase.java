@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.memory;
+
+/**
+ * The kinds of consumers among which the {@link MemoryManager} divides the managed memory. The
+ * memory reserved by each of them is reported separately.
+ */
+public enum ManagedMemoryUseCase {
+
+	/** Operators, such as sorters and hash tables, which allocate memory pages. */
+	OPERATOR("Operator"),
+
+	/** State backends which use native memory, such as the caches of RocksDB. */
+	STATE_BACKEND("StateBackend"),
+
+	/** Python workers which run user functions in a separate process. */
+	PYTHON("Python");
+
+	private final String metricGroupName;
+
+	ManagedMemoryUseCase(String metricGroupName) {
+		this.metricGroupName = metricGroupName;
+	}
+
+	/**
+	 * Returns the name of the metric group of the memory of this use case.
+	 */
+	public String getMetricGroupName() {
+		return metricGroupName;
+	}
+}
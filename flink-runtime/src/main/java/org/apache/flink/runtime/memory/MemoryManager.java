@@ -23,6 +23,7 @@ import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.core.memory.MemorySegmentFactory;
 import org.apache.flink.core.memory.MemoryType;
 import org.apache.flink.util.MathUtils;
+import org.apache.flink.util.function.FunctionWithException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,15 +31,21 @@ import org.slf4j.LoggerFactory;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
 /**
  * The memory manager governs the memory that Flink uses for sorting, hashing, and caching. Memory
  * is represented in segments of equal size. Operators allocate the memory by requesting a number
@@ -54,6 +61,13 @@ import java.util.Set;
  * On-demand allocation means that the memory manager only keeps track how many memory segments are
  * currently allocated (bookkeeping only). Releasing a memory segment will not add it back to the pool,
  * but make it re-claimable by the garbage collector.
+ *
+ * <p>Besides memory segments, the memory manager hands out byte-granular reservations of memory for
+ * consumers which allocate their memory themselves, such as state backends using native memory or
+ * Python workers. Reservations and memory segments share the same budget, and the memory reserved by
+ * each {@link ManagedMemoryUseCase} is tracked separately. Resources backed by reserved memory can be
+ * shared by all consumers of a scope, see {@link #getSharedMemoryResource(Object, ManagedMemoryUseCase,
+ * long, FunctionWithException)}.
  */
 public class MemoryManager {
 
@@ -102,6 +116,21 @@ public class MemoryManager {
 	/** Flag whether the close() has already been invoked. */
 	private boolean isShutDown;
 
+	/** Memory reserved in bytes per memory owner and use case. */
+	private final HashMap<Object, EnumMap<ManagedMemoryUseCase, Long>> reservedMemory;
+
+	/** Memory reserved in bytes per use case, indexed by the ordinal of the use case. */
+	private final long[] reservedMemoryByUseCase;
+
+	/** The total memory reserved in bytes. */
+	private long totalReservedMemory;
+
+	/** The number of memory pages withheld from the allocation of pages to back the reserved memory. */
+	private int numReservedPages;
+
+	/** Resources backed by reserved memory, which are shared per scope and use case. */
+	private final HashMap<SharedResourceKey, SharedResource> sharedResources;
+
 
 	/**
 	 * Creates a memory manager with the given capacity, using the default page size.
@@ -160,6 +189,10 @@ public class MemoryManager {
 		this.allocatedSegments = new HashMap<Object, Set<MemorySegment>>();
 		this.isPreAllocated = preAllocateMemory;
 
+		this.reservedMemory = new HashMap<>();
+		this.reservedMemoryByUseCase = new long[ManagedMemoryUseCase.values().length];
+		this.sharedResources = new HashMap<>();
+
 		this.numNonAllocatedPages = preAllocateMemory ? 0 : this.totalNumPages;
 		final int memToAllocate = preAllocateMemory ? this.totalNumPages : 0;
 
@@ -214,6 +247,12 @@ public class MemoryManager {
 				}
 
 				memoryPool.clear();
+
+				// reserved memory is allocated by its consumers, only the bookkeeping is cleared
+				reservedMemory.clear();
+				Arrays.fill(reservedMemoryByUseCase, 0L);
+				totalReservedMemory = 0L;
+				numReservedPages = 0;
 			}
 		}
 		// -------------------- END CRITICAL SECTION -------------------
@@ -506,6 +545,213 @@ public class MemoryManager {
 		// -------------------- END CRITICAL SECTION -------------------
 	}
 
+	// ------------------------------------------------------------------------
+	//  Memory reservation and release
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Reserves memory for the given owner and use case, for consumers which allocate the memory
+	 * themselves. The reservations share the budget of the memory pages, which are withheld from
+	 * the allocation of pages to back the reserved memory. Less than one page of the budget is lost
+	 * to the rounding of the reservations to pages in total.
+	 *
+	 * @param owner The owner to associate with the reserved memory, for the fallback release.
+	 * @param useCase The use case of the reserved memory.
+	 * @param size The size of the memory to reserve, in bytes.
+	 * @throws MemoryAllocationException Thrown, if this memory manager does not have the requested amount
+	 *                                   of memory any more.
+	 */
+	public void reserveMemory(Object owner, ManagedMemoryUseCase useCase, long size) throws MemoryAllocationException {
+		checkNotNull(owner, "The memory owner must not be null.");
+		checkNotNull(useCase);
+		checkArgument(size >= 0, "The size of the memory to reserve must not be negative.");
+
+		// -------------------- BEGIN CRITICAL SECTION -------------------
+		synchronized (lock) {
+			if (isShutDown) {
+				throw new IllegalStateException("Memory manager has been shut down.");
+			}
+
+			final int numPagesToReserve = computeNumReservedPages(totalReservedMemory + size) - numReservedPages;
+			if (numPagesToReserve > memoryPool.getNumberOfAvailableMemorySegments() + numNonAllocatedPages) {
+				throw new MemoryAllocationException("Could not reserve " + size + " bytes. Only " +
+						getAvailableMemoryInternal() + " bytes are remaining.");
+			}
+
+			if (isPreAllocated) {
+				memoryPool.releaseSegmentsFromPool(numPagesToReserve);
+			}
+			else {
+				numNonAllocatedPages -= numPagesToReserve;
+			}
+			numReservedPages += numPagesToReserve;
+
+			reservedMemory
+				.computeIfAbsent(owner, o -> new EnumMap<>(ManagedMemoryUseCase.class))
+				.merge(useCase, size, Long::sum);
+			reservedMemoryByUseCase[useCase.ordinal()] += size;
+			totalReservedMemory += size;
+		}
+		// -------------------- END CRITICAL SECTION -------------------
+	}
+
+	/**
+	 * Releases memory reserved for the given owner and use case. At most the memory which is reserved
+	 * is released. Reserved memory is not released anymore after the memory manager has been shut down.
+	 *
+	 * @param owner The owner of the reserved memory.
+	 * @param useCase The use case of the reserved memory.
+	 * @param size The size of the memory to release, in bytes.
+	 */
+	public void releaseMemory(Object owner, ManagedMemoryUseCase useCase, long size) {
+		checkArgument(size >= 0, "The size of the memory to release must not be negative.");
+		if (owner == null) {
+			return;
+		}
+
+		// -------------------- BEGIN CRITICAL SECTION -------------------
+		synchronized (lock) {
+			final EnumMap<ManagedMemoryUseCase, Long> reservedMemoryForOwner = reservedMemory.get(owner);
+			if (reservedMemoryForOwner == null) {
+				return;
+			}
+			final Long reservedSize = reservedMemoryForOwner.get(useCase);
+			if (reservedSize == null) {
+				return;
+			}
+
+			final long sizeToRelease = Math.min(size, reservedSize);
+			if (sizeToRelease == reservedSize) {
+				reservedMemoryForOwner.remove(useCase);
+				if (reservedMemoryForOwner.isEmpty()) {
+					reservedMemory.remove(owner);
+				}
+			}
+			else {
+				reservedMemoryForOwner.put(useCase, reservedSize - sizeToRelease);
+			}
+			releaseReservedMemory(useCase, sizeToRelease);
+		}
+		// -------------------- END CRITICAL SECTION -------------------
+	}
+
+	/**
+	 * Releases all memory reserved for the given owner.
+	 *
+	 * @param owner The owner of the reserved memory.
+	 */
+	public void releaseAllMemory(Object owner) {
+		if (owner == null) {
+			return;
+		}
+
+		// -------------------- BEGIN CRITICAL SECTION -------------------
+		synchronized (lock) {
+			final EnumMap<ManagedMemoryUseCase, Long> reservedMemoryForOwner = reservedMemory.remove(owner);
+			if (reservedMemoryForOwner == null) {
+				return;
+			}
+			for (Map.Entry<ManagedMemoryUseCase, Long> reservation : reservedMemoryForOwner.entrySet()) {
+				releaseReservedMemory(reservation.getKey(), reservation.getValue());
+			}
+		}
+		// -------------------- END CRITICAL SECTION -------------------
+	}
+
+	private void releaseReservedMemory(ManagedMemoryUseCase useCase, long size) {
+		assert Thread.holdsLock(lock);
+
+		reservedMemoryByUseCase[useCase.ordinal()] -= size;
+		totalReservedMemory -= size;
+
+		final int numPagesToRelease = numReservedPages - computeNumReservedPages(totalReservedMemory);
+		if (isPreAllocated) {
+			memoryPool.allocateSegmentsToPool(numPagesToRelease);
+		}
+		else {
+			numNonAllocatedPages += numPagesToRelease;
+		}
+		numReservedPages -= numPagesToRelease;
+	}
+
+	private int computeNumReservedPages(long reservedMemory) {
+		return MathUtils.checkedDownCast((reservedMemory + pageSize - 1) / pageSize);
+	}
+
+	/**
+	 * Leases the resource of the given scope and use case, which is backed by managed memory. The
+	 * first lease reserves the memory and creates the resource with the initializer, which receives
+	 * the size of the reserved memory. All further leases share the resource, until the last of
+	 * them is closed, which disposes the resource and releases its memory. All leases of a scope
+	 * and use case must expect resources of the same type.
+	 *
+	 * <p>This allows for example all tasks in a slot to share the memory of one cache of a state
+	 * backend, by leasing it with the slot as scope.
+	 *
+	 * @param scope The scope in which the resource is shared.
+	 * @param useCase The use case of the memory of the resource.
+	 * @param size The size of the memory to reserve for the resource, if it is not created yet.
+	 * @param initializer The initializer which creates the resource for the reserved memory.
+	 * @return A lease on the shared resource, to be closed once the resource is not used anymore.
+	 * @throws MemoryAllocationException Thrown, if this memory manager does not have the requested amount
+	 *                                   of memory any more.
+	 * @throws Exception Thrown, if the initializer fails to create the resource.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends AutoCloseable> SharedMemoryResource<T> getSharedMemoryResource(
+			Object scope,
+			ManagedMemoryUseCase useCase,
+			long size,
+			FunctionWithException<Long, T, Exception> initializer) throws Exception {
+
+		final SharedResourceKey key = new SharedResourceKey(checkNotNull(scope), checkNotNull(useCase));
+		synchronized (sharedResources) {
+			SharedResource existing = sharedResources.get(key);
+			if (existing == null) {
+				// every resource reserves its memory under an owner of its own, so that disposing a
+				// resource cannot release the memory of its successor in the same scope
+				final Object memoryOwner = new Object();
+				reserveMemory(memoryOwner, useCase, size);
+				final T resource;
+				try {
+					resource = checkNotNull(initializer.apply(size), "The initializer created no resource.");
+				}
+				catch (Throwable t) {
+					releaseAllMemory(memoryOwner);
+					throw t;
+				}
+				existing = new SharedResource(resource, size, memoryOwner);
+				sharedResources.put(key, existing);
+			}
+
+			final SharedResource sharedResource = existing;
+			sharedResource.numLeases++;
+			return new SharedMemoryResource<>(
+				(T) sharedResource.resource,
+				sharedResource.size,
+				() -> releaseSharedMemoryResource(key, sharedResource));
+		}
+	}
+
+	private void releaseSharedMemoryResource(SharedResourceKey key, SharedResource sharedResource) {
+		synchronized (sharedResources) {
+			if (--sharedResource.numLeases > 0) {
+				return;
+			}
+			sharedResources.remove(key, sharedResource);
+		}
+
+		try {
+			sharedResource.resource.close();
+		}
+		catch (Exception e) {
+			LOG.warn("Could not dispose the shared {} resource of scope {}.", key.useCase, key.scope, e);
+		}
+		finally {
+			releaseAllMemory(sharedResource.memoryOwner);
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	//  Properties, sizes and size conversions
 	// ------------------------------------------------------------------------
@@ -546,6 +792,41 @@ public class MemoryManager {
 		return memorySize;
 	}
 
+	/**
+	 * Returns the memory of the given use case, in bytes. This is the memory reserved for the use
+	 * case, plus the memory of the allocated pages for {@link ManagedMemoryUseCase#OPERATOR}.
+	 *
+	 * @param useCase The use case of the memory.
+	 * @return The memory of the use case, in bytes.
+	 */
+	public long getReservedMemory(ManagedMemoryUseCase useCase) {
+		synchronized (lock) {
+			long reserved = reservedMemoryByUseCase[useCase.ordinal()];
+			if (useCase == ManagedMemoryUseCase.OPERATOR && !isShutDown) {
+				final int numAllocatedPages = totalNumPages - numReservedPages
+					- memoryPool.getNumberOfAvailableMemorySegments() - numNonAllocatedPages;
+				reserved += (long) numAllocatedPages * pageSize;
+			}
+			return reserved;
+		}
+	}
+
+	/**
+	 * Returns the memory which can still be allocated as pages or be reserved, in bytes.
+	 *
+	 * @return The available memory, in bytes.
+	 */
+	public long getAvailableMemory() {
+		synchronized (lock) {
+			return getAvailableMemoryInternal();
+		}
+	}
+
+	private long getAvailableMemoryInternal() {
+		final long numAvailablePages = memoryPool.getNumberOfAvailableMemorySegments() + numNonAllocatedPages;
+		return numAvailablePages * pageSize + ((long) numReservedPages * pageSize - totalReservedMemory);
+	}
+
 	/**
 	 * Gets the total number of memory pages managed by this memory manager.
 	 *
@@ -591,6 +872,58 @@ public class MemoryManager {
 	}
 
 
+	// ------------------------------------------------------------------------
+	//  Shared Resources
+	// ------------------------------------------------------------------------
+
+	/** The key of a shared resource, which identifies its scope and use case. */
+	private static final class SharedResourceKey {
+
+		private final Object scope;
+
+		private final ManagedMemoryUseCase useCase;
+
+		SharedResourceKey(Object scope, ManagedMemoryUseCase useCase) {
+			this.scope = scope;
+			this.useCase = useCase;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			SharedResourceKey that = (SharedResourceKey) o;
+			return scope.equals(that.scope) && useCase == that.useCase;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * scope.hashCode() + useCase.hashCode();
+		}
+	}
+
+	/** A shared resource with the owner of its reserved memory and the number of its open leases. */
+	private static final class SharedResource {
+
+		private final AutoCloseable resource;
+
+		private final long size;
+
+		private final Object memoryOwner;
+
+		private int numLeases;
+
+		SharedResource(AutoCloseable resource, long size, Object memoryOwner) {
+			this.resource = resource;
+			this.size = size;
+			this.memoryOwner = memoryOwner;
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	//  Memory Pools
 	// ------------------------------------------------------------------------
@@ -605,6 +938,12 @@ public class MemoryManager {
 
 		abstract void returnSegmentToPool(MemorySegment segment);
 
+		/** Adds the given number of newly allocated segments to the pool. */
+		abstract void allocateSegmentsToPool(int numSegments);
+
+		/** Removes the given number of segments from the pool, making them reclaimable by the GC. */
+		abstract void releaseSegmentsFromPool(int numSegments);
+
 		abstract void clear();
 	}
 
@@ -647,6 +986,20 @@ public class MemoryManager {
 			}
 		}
 
+		@Override
+		void allocateSegmentsToPool(int numSegments) {
+			for (int i = 0; i < numSegments; i++) {
+				availableMemory.add(new byte[segmentSize]);
+			}
+		}
+
+		@Override
+		void releaseSegmentsFromPool(int numSegments) {
+			for (int i = 0; i < numSegments; i++) {
+				availableMemory.remove();
+			}
+		}
+
 		@Override
 		protected int getNumberOfAvailableMemorySegments() {
 			return availableMemory.size();
@@ -698,6 +1051,20 @@ public class MemoryManager {
 			}
 		}
 
+		@Override
+		void allocateSegmentsToPool(int numSegments) {
+			for (int i = 0; i < numSegments; i++) {
+				availableMemory.add(ByteBuffer.allocateDirect(segmentSize));
+			}
+		}
+
+		@Override
+		void releaseSegmentsFromPool(int numSegments) {
+			for (int i = 0; i < numSegments; i++) {
+				availableMemory.remove();
+			}
+		}
+
 		@Override
 		protected int getNumberOfAvailableMemorySegments() {
 			return availableMemory.size();
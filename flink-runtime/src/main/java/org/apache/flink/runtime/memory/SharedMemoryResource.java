@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.memory;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A lease on a resource which is backed by managed memory and shared by all consumers of the same
+ * scope, such as a cache of a state backend which is shared by all tasks of a slot. The resource is
+ * created by the first lease of the {@link MemoryManager}, and disposed when the last lease is
+ * closed, which also releases the memory reserved for it.
+ *
+ * @param <T> The type of the resource.
+ */
+public final class SharedMemoryResource<T extends AutoCloseable> implements AutoCloseable {
+
+	private final T resource;
+
+	private final long size;
+
+	private final Runnable releaser;
+
+	private boolean closed;
+
+	SharedMemoryResource(T resource, long size, Runnable releaser) {
+		this.resource = checkNotNull(resource);
+		this.size = size;
+		this.releaser = checkNotNull(releaser);
+	}
+
+	/**
+	 * Returns the shared resource.
+	 */
+	public T getResource() {
+		return resource;
+	}
+
+	/**
+	 * Returns the size of the managed memory reserved for the resource, in bytes.
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Closes this lease. Closing a lease more than once has no effect.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		releaser.run();
+	}
+}
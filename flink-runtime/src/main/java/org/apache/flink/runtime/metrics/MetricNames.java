@@ -45,6 +45,17 @@ public class MetricNames {
 	public static final String IO_CURRENT_INPUT_1_WATERMARK = "currentInput1Watermark";
 	public static final String IO_CURRENT_INPUT_2_WATERMARK = "currentInput2Watermark";
 	public static final String IO_CURRENT_OUTPUT_WATERMARK = "currentOutputWatermark";
+	public static final String IO_NUM_IDLE_INPUT_CHANNELS = "numIdleInputChannels";
+
+	public static String currentInputWatermarkName(int inputId) {
+		return String.format("currentInput%dWatermark", inputId);
+	}
+
+	public static final String SERIALIZATION_GROUP = "serialization";
+	public static final String SERIALIZATION_TIME = "serializationTimeNanos";
+	public static final String SERIALIZATION_BYTES = "serializedBytes";
+	public static final String DESERIALIZATION_TIME = "deserializationTimeNanos";
+	public static final String DESERIALIZATION_BYTES = "deserializedBytes";
 
 	public static final String NUM_RUNNING_JOBS = "numRunningJobs";
 	public static final String TASK_SLOTS_AVAILABLE = "taskSlotsAvailable";
@@ -54,4 +65,7 @@ public class MetricNames {
 	public static final String MEMORY_USED = "Used";
 	public static final String MEMORY_COMMITTED = "Committed";
 	public static final String MEMORY_MAX = "Max";
+	public static final String MEMORY_TOTAL = "Total";
+	public static final String MEMORY_AVAILABLE = "Available";
+	public static final String MEMORY_RESERVED = "Reserved";
 }
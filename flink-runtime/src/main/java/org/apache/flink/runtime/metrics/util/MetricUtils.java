@@ -27,6 +27,8 @@ import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.clusterframework.BootstrapTools;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.memory.ManagedMemoryUseCase;
+import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.runtime.metrics.MetricRegistry;
 import org.apache.flink.runtime.metrics.groups.JobManagerMetricGroup;
@@ -66,6 +68,7 @@ public class MetricUtils {
 	private static final String METRICS_ACTOR_SYSTEM_NAME = "flink-metrics";
 
 	static final String METRIC_GROUP_HEAP_NAME = "Heap";
+	static final String METRIC_GROUP_MANAGED_MEMORY_NAME = "ManagedMemory";
 	static final String METRIC_GROUP_NONHEAP_NAME = "NonHeap";
 
 	private MetricUtils() {
@@ -122,6 +125,23 @@ public class MetricUtils {
 		instantiateCPUMetrics(jvm.addGroup("CPU"));
 	}
 
+	/**
+	 * Registers the metrics of the managed memory of the given memory manager: its total, used and
+	 * available memory, and the memory reserved for each {@link ManagedMemoryUseCase}.
+	 */
+	public static void instantiateManagedMemoryMetrics(MetricGroup statusGroup, MemoryManager memoryManager) {
+		MetricGroup metrics = statusGroup.addGroup(METRIC_GROUP_MANAGED_MEMORY_NAME);
+
+		metrics.<Long, Gauge<Long>>gauge(MetricNames.MEMORY_TOTAL, memoryManager::getMemorySize);
+		metrics.<Long, Gauge<Long>>gauge(MetricNames.MEMORY_USED, () -> memoryManager.getMemorySize() - memoryManager.getAvailableMemory());
+		metrics.<Long, Gauge<Long>>gauge(MetricNames.MEMORY_AVAILABLE, memoryManager::getAvailableMemory);
+
+		for (ManagedMemoryUseCase useCase : ManagedMemoryUseCase.values()) {
+			metrics.addGroup(useCase.getMetricGroupName())
+				.<Long, Gauge<Long>>gauge(MetricNames.MEMORY_RESERVED, () -> memoryManager.getReservedMemory(useCase));
+		}
+	}
+
 	public static RpcService startMetricsRpcService(Configuration configuration, String hostname) throws Exception {
 		final String portRange = configuration.getString(MetricOptions.QUERY_SERVICE_PORT);
 		final int threadPriority = configuration.getInteger(MetricOptions.QUERY_SERVICE_THREAD_PRIORITY);
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.coordination;
+
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.messages.Acknowledge;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A coordinator for the runtime operators. The coordinator runs on the JobManager and exchanges
+ * {@link OperatorEvent OperatorEvents} with the parallel instances of its operator, for example
+ * to assign work to them.
+ *
+ * <p>The state of the coordinator is part of the checkpoints of the job. The coordinator takes
+ * its snapshot before the checkpoint barriers are injected at the sources, and the events which
+ * the coordinator sends after taking the snapshot reach the operators only after the barriers.
+ * That way, the snapshot of the coordinator and the snapshots of the operators are consistent
+ * with each other.
+ *
+ * <p>The methods of the coordinator are called by the main thread of the JobManager and by the
+ * checkpoint timer thread, so they must not block. Coordinators which need to do blocking work
+ * do so in their own threads.
+ */
+public interface OperatorCoordinator extends AutoCloseable {
+
+	/**
+	 * Starts the coordinator. This method is called once before the tasks of the operator are
+	 * scheduled, and after the coordinator was possibly reset to a checkpoint.
+	 */
+	void start() throws Exception;
+
+	/**
+	 * Closes the coordinator and releases all its resources, when the job reaches a terminal
+	 * state or the JobManager loses its leadership.
+	 */
+	@Override
+	void close() throws Exception;
+
+	/**
+	 * Handles an event which the operator instance of the given subtask sent to the coordinator.
+	 *
+	 * @param subtask The index of the subtask that sent the event.
+	 * @param event The event sent by the operator instance.
+	 */
+	void handleEventFromOperator(int subtask, OperatorEvent event) throws Exception;
+
+	/**
+	 * Notifies the coordinator that the execution of the given subtask failed. The subtask will
+	 * be restarted from the last completed checkpoint.
+	 *
+	 * @param subtask The index of the subtask that failed.
+	 */
+	void subtaskFailed(int subtask);
+
+	/**
+	 * Takes a snapshot of the state of the coordinator for the checkpoint with the given id, and
+	 * completes the given future with it.
+	 *
+	 * <p>Events which the coordinator sends after completing the future are held back until the
+	 * checkpoint barriers have been injected at the sources.
+	 *
+	 * @param checkpointId The id of the checkpoint.
+	 * @param result The future to complete with the snapshot of the state of the coordinator.
+	 */
+	void checkpointCoordinator(long checkpointId, CompletableFuture<byte[]> result) throws Exception;
+
+	/**
+	 * Notifies the coordinator that the checkpoint with the given id has completed.
+	 *
+	 * @param checkpointId The id of the completed checkpoint.
+	 */
+	void checkpointComplete(long checkpointId);
+
+	/**
+	 * Resets the coordinator to the given snapshot of its state, when the whole job is restored
+	 * from a checkpoint.
+	 *
+	 * @param checkpointData The snapshot of the state of the coordinator, or null if there is no
+	 *                       completed checkpoint and the coordinator starts from scratch.
+	 */
+	void resetToCheckpoint(@Nullable byte[] checkpointData) throws Exception;
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The context of an {@link OperatorCoordinator}, which gives access to the runtime.
+	 */
+	interface Context {
+
+		/**
+		 * Gets the id of the operator that the coordinator belongs to.
+		 */
+		OperatorID getOperatorId();
+
+		/**
+		 * Sends an event to the operator instance of the given subtask.
+		 *
+		 * @param evt The event to send.
+		 * @param targetSubtask The index of the subtask which should receive the event.
+		 * @return A future that is completed once the operator instance received the event.
+		 * @throws TaskNotRunningException Thrown, if the task of the subtask is not running.
+		 */
+		CompletableFuture<Acknowledge> sendEvent(OperatorEvent evt, int targetSubtask) throws TaskNotRunningException;
+
+		/**
+		 * Fails the job and triggers a global failover, for example when the coordinator
+		 * encountered an unrecoverable error.
+		 *
+		 * @param cause The cause of the failure.
+		 */
+		void failJob(Throwable cause);
+
+		/**
+		 * Gets the parallelism of the operator.
+		 */
+		int currentParallelism();
+	}
+
+	/**
+	 * The provider of an {@link OperatorCoordinator}, which is part of the job graph and creates
+	 * the coordinator on the JobManager.
+	 */
+	interface Provider extends Serializable {
+
+		/**
+		 * Gets the id of the operator that the coordinator belongs to.
+		 */
+		OperatorID getOperatorId();
+
+		/**
+		 * Creates the coordinator.
+		 *
+		 * @param context The context of the coordinator.
+		 * @return The new coordinator.
+		 */
+		OperatorCoordinator create(Context context);
+	}
+}
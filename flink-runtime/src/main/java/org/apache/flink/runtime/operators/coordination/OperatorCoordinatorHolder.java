@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.coordination;
+
+import org.apache.flink.runtime.checkpoint.OperatorCoordinatorCheckpointContext;
+import org.apache.flink.runtime.execution.ExecutionState;
+import org.apache.flink.runtime.executiongraph.Execution;
+import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.messages.Acknowledge;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.SerializedValue;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The holder of an {@link OperatorCoordinator} on the JobManager, which connects the coordinator
+ * to the tasks of its operator and to the checkpoints of the job.
+ *
+ * <p>The holder gives the coordinator its {@link OperatorCoordinator.Context}, and sends the
+ * events of the coordinator through an {@link OperatorEventValve}, which holds them back between
+ * the snapshot of the coordinator and the injection of the checkpoint barriers at the sources.
+ */
+public class OperatorCoordinatorHolder implements OperatorCoordinator, OperatorCoordinatorCheckpointContext {
+
+	private final OperatorCoordinator coordinator;
+
+	private final OperatorID operatorId;
+
+	private final OperatorEventValve eventValve;
+
+	private OperatorCoordinatorHolder(
+			OperatorID operatorId,
+			OperatorCoordinator.Provider coordinatorProvider,
+			ExecutionJobVertex jobVertex) {
+
+		this.operatorId = checkNotNull(operatorId);
+		this.eventValve = new OperatorEventValve(
+			(serializedEvent, subtask) -> getCurrentExecution(jobVertex, subtask).sendOperatorEvent(operatorId, serializedEvent));
+		this.coordinator = coordinatorProvider.create(new CoordinatorContext(operatorId, jobVertex, eventValve));
+	}
+
+	/**
+	 * Creates the coordinator of the given serialized provider, for the operator in the given
+	 * job vertex.
+	 *
+	 * @param serializedProvider The serialized provider of the coordinator.
+	 * @param jobVertex The job vertex which contains the operator of the coordinator.
+	 * @param classLoader The class loader to deserialize the provider with.
+	 * @return The holder of the new coordinator.
+	 */
+	public static OperatorCoordinatorHolder create(
+			SerializedValue<OperatorCoordinator.Provider> serializedProvider,
+			ExecutionJobVertex jobVertex,
+			ClassLoader classLoader) throws IOException, ClassNotFoundException {
+
+		final OperatorCoordinator.Provider provider = serializedProvider.deserializeValue(classLoader);
+		return new OperatorCoordinatorHolder(provider.getOperatorId(), provider, jobVertex);
+	}
+
+	@Override
+	public OperatorID getOperatorId() {
+		return operatorId;
+	}
+
+	public OperatorCoordinator getCoordinator() {
+		return coordinator;
+	}
+
+	// ------------------------------------------------------------------------
+	//  OperatorCoordinator
+	// ------------------------------------------------------------------------
+
+	@Override
+	public void start() throws Exception {
+		coordinator.start();
+	}
+
+	@Override
+	public void close() throws Exception {
+		coordinator.close();
+	}
+
+	@Override
+	public void handleEventFromOperator(int subtask, OperatorEvent event) throws Exception {
+		coordinator.handleEventFromOperator(subtask, event);
+	}
+
+	@Override
+	public void subtaskFailed(int subtask) {
+		coordinator.subtaskFailed(subtask);
+	}
+
+	@Override
+	public void checkpointCoordinator(long checkpointId, CompletableFuture<byte[]> result) throws Exception {
+		// the valve is shut by the thread that completes the future, before the coordinator
+		// can send any further event
+		eventValve.markForCheckpoint(checkpointId);
+		result.thenRun(() -> eventValve.shutValve(checkpointId));
+		coordinator.checkpointCoordinator(checkpointId, result);
+	}
+
+	@Override
+	public void checkpointComplete(long checkpointId) {
+		coordinator.checkpointComplete(checkpointId);
+	}
+
+	@Override
+	public void resetToCheckpoint(@Nullable byte[] checkpointData) throws Exception {
+		eventValve.openValveAndUnmarkCheckpoint();
+		coordinator.resetToCheckpoint(checkpointData);
+	}
+
+	// ------------------------------------------------------------------------
+	//  OperatorCoordinatorCheckpointContext
+	// ------------------------------------------------------------------------
+
+	@Override
+	public CompletableFuture<byte[]> checkpointCoordinator(long checkpointId) throws Exception {
+		final CompletableFuture<byte[]> result = new CompletableFuture<>();
+		checkpointCoordinator(checkpointId, result);
+		return result;
+	}
+
+	@Override
+	public void afterSourceBarrierInjection(long checkpointId) {
+		eventValve.openValveAndUnmarkCheckpoint();
+	}
+
+	@Override
+	public void abortCurrentTriggering() {
+		eventValve.openValveAndUnmarkCheckpoint();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static Execution getCurrentExecution(ExecutionJobVertex jobVertex, int subtask) {
+		return jobVertex.getTaskVertices()[subtask].getCurrentExecutionAttempt();
+	}
+
+	/**
+	 * The {@link OperatorCoordinator.Context} that the holder gives to its coordinator.
+	 */
+	private static final class CoordinatorContext implements OperatorCoordinator.Context {
+
+		private final OperatorID operatorId;
+
+		private final ExecutionJobVertex jobVertex;
+
+		private final OperatorEventValve eventValve;
+
+		CoordinatorContext(OperatorID operatorId, ExecutionJobVertex jobVertex, OperatorEventValve eventValve) {
+			this.operatorId = operatorId;
+			this.jobVertex = jobVertex;
+			this.eventValve = eventValve;
+		}
+
+		@Override
+		public OperatorID getOperatorId() {
+			return operatorId;
+		}
+
+		@Override
+		public CompletableFuture<Acknowledge> sendEvent(OperatorEvent evt, int targetSubtask) throws TaskNotRunningException {
+			if (targetSubtask < 0 || targetSubtask >= currentParallelism()) {
+				throw new IllegalArgumentException(String.format(
+					"Subtask index %d out of bounds [0, %d)", targetSubtask, currentParallelism()));
+			}
+
+			final Execution execution = getCurrentExecution(jobVertex, targetSubtask);
+			if (execution.getState() != ExecutionState.RUNNING) {
+				throw new TaskNotRunningException(String.format(
+					"Subtask %d of operator %s is not running (%s)", targetSubtask, operatorId, execution.getState()));
+			}
+
+			final SerializedValue<OperatorEvent> serializedEvent;
+			try {
+				serializedEvent = new SerializedValue<>(evt);
+			} catch (IOException e) {
+				throw new FlinkRuntimeException("Cannot serialize operator event " + evt, e);
+			}
+
+			return eventValve.sendEvent(serializedEvent, targetSubtask);
+		}
+
+		@Override
+		public void failJob(Throwable cause) {
+			jobVertex.getGraph().getJobMasterMainThreadExecutor().execute(
+				() -> jobVertex.getGraph().failGlobal(cause));
+		}
+
+		@Override
+		public int currentParallelism() {
+			return jobVertex.getParallelism();
+		}
+	}
+}
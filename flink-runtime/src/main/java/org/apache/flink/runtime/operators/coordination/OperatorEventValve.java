@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.coordination;
+
+import org.apache.flink.runtime.messages.Acknowledge;
+import org.apache.flink.util.SerializedValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The valve through which an {@link OperatorCoordinator} sends its events to the operator
+ * instances. While a checkpoint is triggered, the valve is shut after the coordinator took its
+ * snapshot, and holds back all events until the checkpoint barriers have been injected at the
+ * sources. That way, the events sent after the snapshot of the coordinator reach the operators
+ * after their snapshots.
+ *
+ * <p>The events are sent while holding the lock of the valve, so that they are sent in the same
+ * order in which the coordinator sent them, also when held back events are released.
+ */
+final class OperatorEventValve {
+
+	private static final long NO_CHECKPOINT = Long.MIN_VALUE;
+
+	private final Object lock = new Object();
+
+	private final BiFunction<SerializedValue<OperatorEvent>, Integer, CompletableFuture<Acknowledge>> eventSender;
+
+	/** The events held back while the valve is shut, guarded by the lock. */
+	private final List<BlockedEvent> blockedEvents = new ArrayList<>();
+
+	/** The id of the checkpoint which is currently triggered, guarded by the lock. */
+	private long currentCheckpointId = NO_CHECKPOINT;
+
+	/** Whether the valve is shut, guarded by the lock. */
+	private boolean shut;
+
+	OperatorEventValve(BiFunction<SerializedValue<OperatorEvent>, Integer, CompletableFuture<Acknowledge>> eventSender) {
+		this.eventSender = checkNotNull(eventSender);
+	}
+
+	/**
+	 * Sends the given event to the given subtask, or holds it back if the valve is shut.
+	 */
+	CompletableFuture<Acknowledge> sendEvent(SerializedValue<OperatorEvent> event, int subtask) {
+		synchronized (lock) {
+			if (!shut) {
+				return eventSender.apply(event, subtask);
+			}
+
+			final BlockedEvent blockedEvent = new BlockedEvent(event, subtask);
+			blockedEvents.add(blockedEvent);
+			return blockedEvent.future;
+		}
+	}
+
+	/**
+	 * Marks the valve for the given checkpoint, which is about to be triggered at the coordinator.
+	 */
+	void markForCheckpoint(long checkpointId) {
+		synchronized (lock) {
+			currentCheckpointId = checkpointId;
+		}
+	}
+
+	/**
+	 * Shuts the valve, if the given checkpoint is still the one that the valve was marked for.
+	 * This is called when the coordinator took its snapshot for the checkpoint.
+	 */
+	void shutValve(long checkpointId) {
+		synchronized (lock) {
+			if (currentCheckpointId == checkpointId) {
+				shut = true;
+			}
+		}
+	}
+
+	/**
+	 * Opens the valve and sends all events which were held back, and removes the mark of the
+	 * current checkpoint.
+	 */
+	void openValveAndUnmarkCheckpoint() {
+		synchronized (lock) {
+			currentCheckpointId = NO_CHECKPOINT;
+			shut = false;
+
+			for (BlockedEvent blockedEvent : blockedEvents) {
+				final CompletableFuture<Acknowledge> result;
+				try {
+					result = eventSender.apply(blockedEvent.event, blockedEvent.subtask);
+				} catch (Throwable t) {
+					blockedEvent.future.completeExceptionally(t);
+					continue;
+				}
+
+				result.whenComplete((ack, failure) -> {
+					if (failure != null) {
+						blockedEvent.future.completeExceptionally(failure);
+					} else {
+						blockedEvent.future.complete(ack);
+					}
+				});
+			}
+			blockedEvents.clear();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class BlockedEvent {
+
+		final SerializedValue<OperatorEvent> event;
+
+		final int subtask;
+
+		final CompletableFuture<Acknowledge> future;
+
+		BlockedEvent(SerializedValue<OperatorEvent> event, int subtask) {
+			this.event = event;
+			this.subtask = subtask;
+			this.future = new CompletableFuture<>();
+		}
+	}
+}
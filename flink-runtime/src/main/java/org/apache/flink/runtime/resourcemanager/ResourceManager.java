@@ -456,6 +456,37 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
 		}
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> declareRequiredResources(
+			JobMasterId jobMasterId,
+			ResourceRequirements resourceRequirements,
+			Time timeout) {
+
+		final JobID jobId = resourceRequirements.getJobId();
+		final JobManagerRegistration jobManagerRegistration = jobManagerRegistrations.get(jobId);
+
+		if (null != jobManagerRegistration) {
+			if (Objects.equals(jobMasterId, jobManagerRegistration.getJobMasterId())) {
+				log.debug("Declare resource requirements {} for job {}.",
+					resourceRequirements.getResourceRequirements(),
+					jobId);
+
+				try {
+					slotManager.processResourceRequirements(resourceRequirements);
+				} catch (ResourceManagerException e) {
+					return FutureUtils.completedExceptionally(e);
+				}
+
+				return CompletableFuture.completedFuture(Acknowledge.get());
+			} else {
+				return FutureUtils.completedExceptionally(new ResourceManagerException("The job leader's id " +
+					jobManagerRegistration.getJobMasterId() + " does not match the received id " + jobMasterId + '.'));
+			}
+		} else {
+			return FutureUtils.completedExceptionally(new ResourceManagerException("Could not find registered job manager for job " + jobId + '.'));
+		}
+	}
+
 	@Override
 	public void cancelSlotRequest(AllocationID allocationID) {
 		// As the slot allocations are async, it can not avoid all redundant slots, but should best effort.
@@ -782,6 +813,9 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
 
 			jmResourceIdRegistrations.remove(jobManagerResourceId);
 
+			// the requirements of the disconnected job manager are obsolete
+			slotManager.clearResourceRequirements(jobId);
+
 			// tell the job manager about the disconnect
 			jobMasterGateway.disconnectResourceManager(getFencingToken(), cause);
 		} else {
@@ -80,6 +80,20 @@ public interface ResourceManagerGateway extends FencedRpcGateway<ResourceManager
 		SlotRequest slotRequest,
 		@RpcTimeout Time timeout);
 
+	/**
+	 * Declares the aggregated resource requirements of a job. The declaration replaces all
+	 * previously declared requirements of the job. Slots which are allocated to fulfill the
+	 * requirements are directly offered by the TaskExecutors to the JobMaster.
+	 *
+	 * @param jobMasterId id of the JobMaster
+	 * @param resourceRequirements The resource requirements of the job
+	 * @return The confirmation that the requirements have been processed
+	 */
+	CompletableFuture<Acknowledge> declareRequiredResources(
+		JobMasterId jobMasterId,
+		ResourceRequirements resourceRequirements,
+		@RpcTimeout Time timeout);
+
 	/**
 	 * Cancel the slot allocation requests from the resource manager.
 	 *
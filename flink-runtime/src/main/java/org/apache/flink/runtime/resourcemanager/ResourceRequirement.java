@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.resourcemanager;
+
+import org.apache.flink.runtime.clusterframework.types.AllocationID;
+import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Number of slots of a given {@link ResourceProfile} which a job requires, together with the
+ * allocation ids of the slots which the job still waits for. The ResourceManager requests the
+ * missing slots under these allocation ids, so that the offered slots as well as the failures of
+ * the slot requests can be matched with the pending requests of the job.
+ */
+public class ResourceRequirement implements Serializable {
+
+	private static final long serialVersionUID = 2193346637325395627L;
+
+	/** The resource profile of the required slots. */
+	private final ResourceProfile resourceProfile;
+
+	/** The number of slots with the given resource profile which are required. */
+	private final int numberOfRequiredSlots;
+
+	/** The allocation ids of the required slots which the job still waits for. */
+	private final Collection<AllocationID> pendingAllocationIds;
+
+	public ResourceRequirement(ResourceProfile resourceProfile, int numberOfRequiredSlots) {
+		this(resourceProfile, numberOfRequiredSlots, Collections.emptyList());
+	}
+
+	public ResourceRequirement(ResourceProfile resourceProfile, int numberOfRequiredSlots, Collection<AllocationID> pendingAllocationIds) {
+		checkArgument(numberOfRequiredSlots >= 0, "The number of required slots must not be negative.");
+		checkArgument(pendingAllocationIds.size() <= numberOfRequiredSlots,
+			"The number of pending allocation ids must not exceed the number of required slots.");
+
+		this.resourceProfile = checkNotNull(resourceProfile);
+		this.numberOfRequiredSlots = numberOfRequiredSlots;
+		this.pendingAllocationIds = Collections.unmodifiableCollection(new ArrayList<>(pendingAllocationIds));
+	}
+
+	public ResourceProfile getResourceProfile() {
+		return resourceProfile;
+	}
+
+	public int getNumberOfRequiredSlots() {
+		return numberOfRequiredSlots;
+	}
+
+	public Collection<AllocationID> getPendingAllocationIds() {
+		return pendingAllocationIds;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		} else if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		final ResourceRequirement that = (ResourceRequirement) o;
+		return numberOfRequiredSlots == that.numberOfRequiredSlots &&
+			resourceProfile.equals(that.resourceProfile) &&
+			pendingAllocationIds.equals(that.pendingAllocationIds);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(resourceProfile, numberOfRequiredSlots, pendingAllocationIds);
+	}
+
+	@Override
+	public String toString() {
+		return "ResourceRequirement{" +
+			"resourceProfile=" + resourceProfile +
+			", numberOfRequiredSlots=" + numberOfRequiredSlots +
+			", pendingAllocationIds=" + pendingAllocationIds +
+			'}';
+	}
+}
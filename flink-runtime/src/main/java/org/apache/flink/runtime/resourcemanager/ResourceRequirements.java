@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.resourcemanager;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.runtime.clusterframework.types.AllocationID;
+import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The aggregated resource requirements of a job, declared by the JobMaster to the ResourceManager.
+ *
+ * <p>In contrast to individual {@link SlotRequest SlotRequests}, a declaration always replaces the
+ * previously declared requirements of the same job. This allows the ResourceManager to fulfill the
+ * requirements in bulk and to cancel surplus allocations without one RPC per slot.
+ */
+public class ResourceRequirements implements Serializable {
+
+	private static final long serialVersionUID = -7441618390839364512L;
+
+	/** The JobID of the job which declares the requirements. */
+	private final JobID jobId;
+
+	/** Address of the emitting job manager. */
+	private final String targetAddress;
+
+	/** The required slots, at most one entry per resource profile. */
+	private final Collection<ResourceRequirement> resourceRequirements;
+
+	public ResourceRequirements(JobID jobId, String targetAddress, Collection<ResourceRequirement> resourceRequirements) {
+		this.jobId = checkNotNull(jobId);
+		this.targetAddress = checkNotNull(targetAddress);
+		this.resourceRequirements = Collections.unmodifiableCollection(new ArrayList<>(checkNotNull(resourceRequirements)));
+	}
+
+	public JobID getJobId() {
+		return jobId;
+	}
+
+	public String getTargetAddress() {
+		return targetAddress;
+	}
+
+	public Collection<ResourceRequirement> getResourceRequirements() {
+		return resourceRequirements;
+	}
+
+	public static ResourceRequirements create(
+			JobID jobId,
+			String targetAddress,
+			Map<ResourceProfile, Integer> requiredSlots,
+			Map<ResourceProfile, ? extends Collection<AllocationID>> pendingAllocationIds) {
+		final Collection<ResourceRequirement> resourceRequirements = new ArrayList<>(requiredSlots.size());
+
+		for (Map.Entry<ResourceProfile, Integer> requiredSlot : requiredSlots.entrySet()) {
+			final Collection<AllocationID> pendingAllocationIdsOfProfile = pendingAllocationIds.get(requiredSlot.getKey());
+
+			resourceRequirements.add(new ResourceRequirement(
+				requiredSlot.getKey(),
+				requiredSlot.getValue(),
+				pendingAllocationIdsOfProfile != null ? pendingAllocationIdsOfProfile : Collections.emptyList()));
+		}
+
+		return new ResourceRequirements(jobId, targetAddress, resourceRequirements);
+	}
+
+	public static ResourceRequirements empty(JobID jobId, String targetAddress) {
+		return new ResourceRequirements(jobId, targetAddress, Collections.emptyList());
+	}
+
+	@Override
+	public String toString() {
+		return "ResourceRequirements{" +
+			"jobId=" + jobId +
+			", targetAddress='" + targetAddress + '\'' +
+			", resourceRequirements=" + resourceRequirements +
+			'}';
+	}
+}
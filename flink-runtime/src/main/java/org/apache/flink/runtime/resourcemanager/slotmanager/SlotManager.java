@@ -19,11 +19,13 @@
 package org.apache.flink.runtime.resourcemanager.slotmanager;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.JobID;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.clusterframework.types.SlotID;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirements;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.resourcemanager.exceptions.ResourceManagerException;
 import org.apache.flink.runtime.resourcemanager.registration.TaskExecutorConnection;
@@ -87,6 +89,24 @@ public interface SlotManager extends AutoCloseable {
 	 */
 	boolean unregisterSlotRequest(AllocationID allocationId);
 
+	/**
+	 * Processes the declared resource requirements of a job. The requirements replace the
+	 * previously declared requirements of the job. The slot manager issues slot requests for
+	 * missing resources in bulk and cancels the pending slot requests which are no longer needed.
+	 *
+	 * @param resourceRequirements the declared resource requirements of the job
+	 * @throws ResourceManagerException if the requirements could not be fulfilled
+	 */
+	void processResourceRequirements(ResourceRequirements resourceRequirements) throws ResourceManagerException;
+
+	/**
+	 * Removes the declared resource requirements of the given job and cancels all pending slot
+	 * requests which were issued for them.
+	 *
+	 * @param jobId identifying the job whose requirements are removed
+	 */
+	void clearResourceRequirements(JobID jobId);
+
 	/**
 	 * Registers a new task manager at the slot manager. This will make the task managers slots
 	 * known and, thus, available for allocation.
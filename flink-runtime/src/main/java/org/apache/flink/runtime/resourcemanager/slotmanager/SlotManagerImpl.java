@@ -29,6 +29,8 @@ import org.apache.flink.runtime.concurrent.ScheduledExecutor;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirement;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirements;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.resourcemanager.exceptions.ResourceManagerException;
 import org.apache.flink.runtime.resourcemanager.exceptions.UnfulfillableSlotRequestException;
@@ -49,12 +51,17 @@ import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -97,6 +104,9 @@ public class SlotManagerImpl implements SlotManager {
 
 	private final HashMap<TaskManagerSlotId, PendingTaskManagerSlot> pendingSlots;
 
+	/** Resource requirements declared by the jobs and the pending slot requests issued for them. */
+	private final HashMap<JobID, DeclaredResourceRequirements> declaredResourceRequirements;
+
 	/** ResourceManager's id. */
 	private ResourceManagerId resourceManagerId;
 
@@ -142,6 +152,7 @@ public class SlotManagerImpl implements SlotManager {
 		fulfilledSlotRequests = new HashMap<>(16);
 		pendingSlotRequests = new HashMap<>(16);
 		pendingSlots = new HashMap<>(16);
+		declaredResourceRequirements = new HashMap<>(4);
 
 		resourceManagerId = null;
 		resourceActions = null;
@@ -258,6 +269,7 @@ public class SlotManagerImpl implements SlotManager {
 		}
 
 		pendingSlotRequests.clear();
+		declaredResourceRequirements.clear();
 
 		ArrayList<InstanceID> registeredTaskManagers = new ArrayList<>(taskManagerRegistrations.keySet());
 
@@ -345,6 +357,56 @@ public class SlotManagerImpl implements SlotManager {
 		}
 	}
 
+	/**
+	 * Processes the declared resource requirements of a job. The declared requirements are matched
+	 * against the slots which are allocated for the job. For the remaining requirements, slot requests
+	 * are issued in bulk and pending slot requests which are no longer needed are cancelled.
+	 *
+	 * @param resourceRequirements the declared resource requirements of the job
+	 * @throws ResourceManagerException if the requirements could not be fulfilled
+	 */
+	@Override
+	public void processResourceRequirements(ResourceRequirements resourceRequirements) throws ResourceManagerException {
+		checkInit();
+
+		final JobID jobId = resourceRequirements.getJobId();
+
+		if (resourceRequirements.getResourceRequirements().isEmpty()) {
+			clearResourceRequirements(jobId);
+		} else {
+			final DeclaredResourceRequirements jobResourceRequirements = declaredResourceRequirements.computeIfAbsent(
+				jobId,
+				ignored -> new DeclaredResourceRequirements());
+
+			jobResourceRequirements.setResourceRequirements(resourceRequirements);
+
+			checkResourceRequirements(jobId, jobResourceRequirements);
+		}
+	}
+
+	/**
+	 * Removes the declared resource requirements of the given job and cancels all pending slot
+	 * requests which were issued for them.
+	 *
+	 * @param jobId identifying the job whose requirements are removed
+	 */
+	@Override
+	public void clearResourceRequirements(JobID jobId) {
+		checkInit();
+
+		final DeclaredResourceRequirements jobResourceRequirements = declaredResourceRequirements.remove(jobId);
+
+		if (jobResourceRequirements != null) {
+			LOG.debug("Clear resource requirements of job {}.", jobId);
+
+			for (Set<AllocationID> allocationIds : jobResourceRequirements.getPendingSlotRequests().values()) {
+				for (AllocationID allocationId : allocationIds) {
+					unregisterSlotRequest(allocationId);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Registers a new task manager at the slot manager. This will make the task managers slots
 	 * known and, thus, available for allocation.
@@ -371,7 +433,8 @@ public class SlotManagerImpl implements SlotManager {
 
 			TaskManagerRegistration taskManagerRegistration = new TaskManagerRegistration(
 				taskExecutorConnection,
-				reportedSlots);
+				reportedSlots,
+				initialSlotReport.getTotalResourceProfile());
 
 			taskManagerRegistrations.put(taskExecutorConnection.getInstanceID(), taskManagerRegistration);
 
@@ -423,11 +486,15 @@ public class SlotManagerImpl implements SlotManager {
 		TaskManagerRegistration taskManagerRegistration = taskManagerRegistrations.get(instanceId);
 
 		if (null != taskManagerRegistration) {
+			final Set<SlotID> reportedSlots = new HashSet<>(taskManagerRegistration.getNumberRegisteredSlots());
 
 			for (SlotStatus slotStatus : slotReport) {
+				reportedSlots.add(slotStatus.getSlotID());
 				updateSlot(slotStatus.getSlotID(), slotStatus.getAllocationID(), slotStatus.getJobID());
 			}
 
+			freeUnreportedDynamicSlots(taskManagerRegistration, reportedSlots);
+
 			return true;
 		} else {
 			LOG.debug("Received slot report for unknown task manager with instance id {}. Ignoring this report.", instanceId);
@@ -546,7 +613,7 @@ public class SlotManagerImpl implements SlotManager {
 				"TaskManagerSlot %s is not in state FREE but %s.",
 				taskManagerSlot.getSlotId(), taskManagerSlot.getState());
 
-			if (taskManagerSlot.getResourceProfile().isMatching(requestResourceProfile)) {
+			if (taskManagerSlot.getResourceProfile().isMatching(requestResourceProfile) && hasAvailableResources(taskManagerSlot)) {
 				iterator.remove();
 				return taskManagerSlot;
 			}
@@ -621,6 +688,145 @@ public class SlotManagerImpl implements SlotManager {
 		return slot;
 	}
 
+	/**
+	 * Carves a new dynamic slot with the given resource profile out of the resources of a task
+	 * manager which supports dynamic slots and which still has enough unoccupied resources.
+	 *
+	 * @param resourceProfile of the dynamic slot
+	 * @return The new free dynamic slot; null if no task manager can host it
+	 */
+	@Nullable
+	private TaskManagerSlot createDynamicSlot(ResourceProfile resourceProfile) {
+		if (resourceProfile.equals(ResourceProfile.UNKNOWN)) {
+			return null;
+		}
+
+		for (TaskManagerRegistration taskManagerRegistration : taskManagerRegistrations.values()) {
+			final TaskManagerSlot dynamicSlot = createDynamicSlot(taskManagerRegistration, resourceProfile);
+
+			if (dynamicSlot != null) {
+				return dynamicSlot;
+			}
+		}
+
+		return null;
+	}
+
+	@Nullable
+	private TaskManagerSlot createDynamicSlot(TaskManagerRegistration taskManagerRegistration, ResourceProfile resourceProfile) {
+		if (taskManagerRegistration.supportsDynamicSlots() &&
+				getAvailableResources(taskManagerRegistration).isMatching(resourceProfile)) {
+			final SlotID slotId = taskManagerRegistration.addDynamicSlot();
+
+			LOG.debug("Create dynamic slot {} with {}.", slotId, resourceProfile);
+
+			return createAndRegisterTaskManagerSlot(slotId, resourceProfile, taskManagerRegistration.getTaskManagerConnection());
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Removes the given free dynamic slot whose resources are returned to its task manager.
+	 *
+	 * @param dynamicSlot to remove
+	 * @param taskManagerRegistration of the task manager hosting the dynamic slot
+	 */
+	private void removeDynamicSlot(TaskManagerSlot dynamicSlot, TaskManagerRegistration taskManagerRegistration) {
+		Preconditions.checkState(dynamicSlot.getState() == TaskManagerSlot.State.FREE);
+
+		LOG.debug("Remove dynamic slot {}.", dynamicSlot.getSlotId());
+
+		slots.remove(dynamicSlot.getSlotId());
+		freeSlots.remove(dynamicSlot.getSlotId());
+		taskManagerRegistration.removeDynamicSlot(dynamicSlot.getSlotId());
+	}
+
+	/**
+	 * Tries to fulfill the unassigned pending slot requests with the free slots or with new dynamic
+	 * slots of the given task manager. This is necessary whenever resources of a task manager which
+	 * supports dynamic slots have been released, because free slots might have been blocked by
+	 * dynamic slots before.
+	 *
+	 * @param taskManagerRegistration whose resources have been released
+	 */
+	private void allocateSlotsForPendingRequests(TaskManagerRegistration taskManagerRegistration) {
+		if (!taskManagerRegistration.supportsDynamicSlots()) {
+			return;
+		}
+
+		for (PendingSlotRequest pendingSlotRequest : new ArrayList<>(pendingSlotRequests.values())) {
+			if (!pendingSlotRequest.isAssigned()) {
+				final ResourceProfile resourceProfile = pendingSlotRequest.getResourceProfile();
+				TaskManagerSlot taskManagerSlot = findMatchingSlot(resourceProfile);
+
+				if (taskManagerSlot == null && !resourceProfile.equals(ResourceProfile.UNKNOWN)) {
+					taskManagerSlot = createDynamicSlot(taskManagerRegistration, resourceProfile);
+				}
+
+				if (taskManagerSlot != null) {
+					allocateSlot(taskManagerSlot, pendingSlotRequest);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Frees the allocated dynamic slots of the given task manager which are no longer contained in
+	 * its slot report, because the task manager removes dynamic slots once they are freed.
+	 *
+	 * @param taskManagerRegistration which sent the slot report
+	 * @param reportedSlots contained in the slot report
+	 */
+	private void freeUnreportedDynamicSlots(TaskManagerRegistration taskManagerRegistration, Set<SlotID> reportedSlots) {
+		final List<TaskManagerSlot> unreportedSlots = new ArrayList<>(4);
+
+		for (SlotID slotId : taskManagerRegistration.getDynamicSlots()) {
+			final TaskManagerSlot slot = slots.get(slotId);
+
+			if (slot != null && slot.getState() == TaskManagerSlot.State.ALLOCATED && !reportedSlots.contains(slotId)) {
+				unreportedSlots.add(slot);
+			}
+		}
+
+		for (TaskManagerSlot unreportedSlot : unreportedSlots) {
+			updateSlotState(unreportedSlot, taskManagerRegistration, null, null);
+		}
+	}
+
+	/**
+	 * Checks whether the task manager of the given free slot has still enough unoccupied resources
+	 * for the slot, since dynamic slots share the resources with the static slots.
+	 *
+	 * @param freeSlot to check
+	 * @return True if the slot can be allocated; otherwise false
+	 */
+	private boolean hasAvailableResources(TaskManagerSlot freeSlot) {
+		final TaskManagerRegistration taskManagerRegistration = taskManagerRegistrations.get(freeSlot.getInstanceId());
+
+		return taskManagerRegistration == null ||
+			!taskManagerRegistration.supportsDynamicSlots() ||
+			getAvailableResources(taskManagerRegistration).isMatching(freeSlot.getResourceProfile());
+	}
+
+	private ResourceProfile getAvailableResources(TaskManagerRegistration taskManagerRegistration) {
+		ResourceProfile availableResources = taskManagerRegistration.getTotalResourceProfile();
+
+		for (SlotID slotId : taskManagerRegistration.getSlots()) {
+			final TaskManagerSlot slot = slots.get(slotId);
+
+			if (slot != null && slot.getState() != TaskManagerSlot.State.FREE) {
+				if (!availableResources.isMatching(slot.getResourceProfile())) {
+					return ResourceProfile.ZERO;
+				}
+
+				availableResources = availableResources.subtract(slot.getResourceProfile());
+			}
+		}
+
+		return availableResources;
+	}
+
 	@Nullable
 	private PendingTaskManagerSlot findExactlyMatchingPendingTaskManagerSlot(ResourceProfile resourceProfile) {
 		for (PendingTaskManagerSlot pendingTaskManagerSlot : pendingSlots.values()) {
@@ -727,11 +933,15 @@ public class SlotManagerImpl implements SlotManager {
 					break;
 				case ALLOCATED:
 					AllocationID oldAllocation = slot.getAllocationId();
+					JobID oldJobId = slot.getJobId();
 					slot.freeSlot();
 					fulfilledSlotRequests.remove(oldAllocation);
 					taskManagerRegistration.freeSlot();
 
 					handleFreeSlot(slot);
+
+					// the job might have declared more resources than it holds now
+					checkResourceRequirementsOfJobs(Collections.singleton(oldJobId));
 					break;
 			}
 		}
@@ -749,6 +959,10 @@ public class SlotManagerImpl implements SlotManager {
 		final ResourceProfile resourceProfile = pendingSlotRequest.getResourceProfile();
 		TaskManagerSlot taskManagerSlot = findMatchingSlot(resourceProfile);
 
+		if (taskManagerSlot == null) {
+			taskManagerSlot = createDynamicSlot(resourceProfile);
+		}
+
 		if (taskManagerSlot != null) {
 			allocateSlot(taskManagerSlot, pendingSlotRequest);
 		} else {
@@ -787,6 +1001,12 @@ public class SlotManagerImpl implements SlotManager {
 				return true;
 			}
 		}
+		for (TaskManagerRegistration taskManagerRegistration : taskManagerRegistrations.values()) {
+			if (taskManagerRegistration.supportsDynamicSlots() &&
+					taskManagerRegistration.getTotalResourceProfile().isMatching(resourceProfile)) {
+				return true;
+			}
+		}
 		return false;
 	}
 
@@ -851,6 +1071,7 @@ public class SlotManagerImpl implements SlotManager {
 			slotId,
 			pendingSlotRequest.getJobId(),
 			allocationId,
+			taskManagerSlot.getResourceProfile(),
 			pendingSlotRequest.getTargetAddress(),
 			resourceManagerId,
 			taskManagerRequestTimeout);
@@ -907,12 +1128,26 @@ public class SlotManagerImpl implements SlotManager {
 	private void handleFreeSlot(TaskManagerSlot freeSlot) {
 		Preconditions.checkState(freeSlot.getState() == TaskManagerSlot.State.FREE);
 
-		PendingSlotRequest pendingSlotRequest = findMatchingRequest(freeSlot.getResourceProfile());
+		final TaskManagerRegistration taskManagerRegistration = taskManagerRegistrations.get(freeSlot.getInstanceId());
+
+		if (taskManagerRegistration != null && taskManagerRegistration.isDynamicSlot(freeSlot.getSlotId())) {
+			// dynamic slots only exist as long as they are allocated
+			removeDynamicSlot(freeSlot, taskManagerRegistration);
+			allocateSlotsForPendingRequests(taskManagerRegistration);
+			return;
+		}
+
+		PendingSlotRequest pendingSlotRequest = hasAvailableResources(freeSlot) ?
+			findMatchingRequest(freeSlot.getResourceProfile()) : null;
 
 		if (null != pendingSlotRequest) {
 			allocateSlot(freeSlot, pendingSlotRequest);
 		} else {
 			freeSlots.put(freeSlot.getSlotId(), freeSlot);
+
+			if (taskManagerRegistration != null) {
+				allocateSlotsForPendingRequests(taskManagerRegistration);
+			}
 		}
 	}
 
@@ -923,9 +1158,21 @@ public class SlotManagerImpl implements SlotManager {
 	 * @param cause for removing the slots
 	 */
 	private void removeSlots(Iterable<SlotID> slotsToRemove, Exception cause) {
+		final Set<JobID> affectedJobs = new HashSet<>(4);
+
 		for (SlotID slotId : slotsToRemove) {
+			final TaskManagerSlot slot = slots.get(slotId);
+
+			if (slot != null && slot.getJobId() != null) {
+				affectedJobs.add(slot.getJobId());
+			}
+
 			removeSlot(slotId, cause);
 		}
+
+		// check the requirements only after all slots have been removed so that no new
+		// request is assigned to one of the removed slots
+		checkResourceRequirementsOfJobs(affectedJobs);
 	}
 
 	/**
@@ -962,6 +1209,175 @@ public class SlotManagerImpl implements SlotManager {
 		}
 	}
 
+	// ---------------------------------------------------------------------------------------------
+	// Internal resource requirements methods
+	// ---------------------------------------------------------------------------------------------
+
+	/**
+	 * Issues slot requests for the declared resource requirements of the given job which are neither
+	 * fulfilled by an allocated slot nor by a pending slot request, and cancels the pending slot
+	 * requests which exceed the missing resources. The slot requests are issued under the allocation
+	 * ids of the pending requests of the job, so that the job can match the offered slots and the
+	 * failed slot requests with its pending requests.
+	 *
+	 * @param jobId identifying the job
+	 * @param jobResourceRequirements declared by the job
+	 * @throws ResourceManagerException if a slot request for the missing resources failed
+	 */
+	private void checkResourceRequirements(JobID jobId, DeclaredResourceRequirements jobResourceRequirements) throws ResourceManagerException {
+		final ResourceRequirements resourceRequirements = jobResourceRequirements.getResourceRequirements();
+		final Map<ResourceProfile, Integer> missingResources = getMissingResources(jobId, resourceRequirements);
+		final Map<ResourceProfile, Set<AllocationID>> issuedSlotRequests = jobResourceRequirements.getPendingSlotRequests();
+
+		final Iterator<Map.Entry<ResourceProfile, Set<AllocationID>>> issuedSlotRequestsIterator = issuedSlotRequests.entrySet().iterator();
+
+		while (issuedSlotRequestsIterator.hasNext()) {
+			final Map.Entry<ResourceProfile, Set<AllocationID>> issuedSlotRequestsOfProfile = issuedSlotRequestsIterator.next();
+			final Set<AllocationID> allocationIds = issuedSlotRequestsOfProfile.getValue();
+
+			// requests which are no longer pending have either been fulfilled or failed
+			allocationIds.removeIf(allocationId -> !pendingSlotRequests.containsKey(allocationId));
+
+			final int numberOfMissingSlots = missingResources.getOrDefault(issuedSlotRequestsOfProfile.getKey(), 0);
+			cancelSurplusSlotRequests(allocationIds, allocationIds.size() - numberOfMissingSlots);
+
+			if (allocationIds.isEmpty()) {
+				issuedSlotRequestsIterator.remove();
+			}
+		}
+
+		final Map<ResourceProfile, Iterator<AllocationID>> pendingAllocationIds = new HashMap<>(4);
+
+		for (ResourceRequirement resourceRequirement : resourceRequirements.getResourceRequirements()) {
+			pendingAllocationIds.put(resourceRequirement.getResourceProfile(), resourceRequirement.getPendingAllocationIds().iterator());
+		}
+
+		for (Map.Entry<ResourceProfile, Integer> missingResource : missingResources.entrySet()) {
+			final ResourceProfile resourceProfile = missingResource.getKey();
+			final Iterator<AllocationID> pendingAllocationIdsOfProfile = pendingAllocationIds.get(resourceProfile);
+			final Set<AllocationID> allocationIds = issuedSlotRequests.computeIfAbsent(
+				resourceProfile,
+				ignored -> new LinkedHashSet<>(missingResource.getValue()));
+
+			if (allocationIds.size() < missingResource.getValue()) {
+				LOG.debug("Requesting {} slots with profile {} for job {}.",
+					missingResource.getValue() - allocationIds.size(), resourceProfile, jobId);
+			}
+
+			while (allocationIds.size() < missingResource.getValue()) {
+				final AllocationID allocationId = nextUnusedAllocationId(jobResourceRequirements, pendingAllocationIdsOfProfile);
+
+				registerSlotRequest(new SlotRequest(jobId, allocationId, resourceProfile, resourceRequirements.getTargetAddress()));
+				allocationIds.add(allocationId);
+			}
+
+			if (allocationIds.isEmpty()) {
+				issuedSlotRequests.remove(resourceProfile);
+			}
+		}
+	}
+
+	/**
+	 * Returns the next declared pending allocation id which has not been used for a slot request
+	 * since the requirements were declared. If all declared ids are used, a new allocation id is
+	 * returned, whose slot the job can only match by its profile.
+	 */
+	private AllocationID nextUnusedAllocationId(
+			DeclaredResourceRequirements jobResourceRequirements,
+			@Nullable Iterator<AllocationID> pendingAllocationIds) {
+		while (pendingAllocationIds != null && pendingAllocationIds.hasNext()) {
+			final AllocationID allocationId = pendingAllocationIds.next();
+
+			if (!pendingSlotRequests.containsKey(allocationId) &&
+					!fulfilledSlotRequests.containsKey(allocationId) &&
+					jobResourceRequirements.markAllocationIdUsed(allocationId)) {
+				return allocationId;
+			}
+		}
+
+		return new AllocationID();
+	}
+
+	private void checkResourceRequirementsOfJobs(Collection<JobID> jobIds) {
+		for (JobID jobId : jobIds) {
+			final DeclaredResourceRequirements jobResourceRequirements = declaredResourceRequirements.get(jobId);
+
+			if (jobResourceRequirements != null) {
+				try {
+					checkResourceRequirements(jobId, jobResourceRequirements);
+				} catch (ResourceManagerException e) {
+					LOG.warn("Could not fulfill the declared resource requirements of job {}.", jobId, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the declared resources of a job which are not fulfilled by a slot allocated for the job.
+	 * Allocated slots are first matched with requirements of the exact same profile, because the job
+	 * declares the slots it holds with their actual profile. The remaining slots fulfill any matching
+	 * requirement, because they are still underway to the job.
+	 */
+	private Map<ResourceProfile, Integer> getMissingResources(JobID jobId, ResourceRequirements resourceRequirements) {
+		final Map<ResourceProfile, Integer> missingResources = new LinkedHashMap<>(4);
+
+		for (ResourceRequirement resourceRequirement : resourceRequirements.getResourceRequirements()) {
+			missingResources.merge(resourceRequirement.getResourceProfile(), resourceRequirement.getNumberOfRequiredSlots(), Integer::sum);
+		}
+
+		final ArrayList<ResourceProfile> unmatchedSlots = new ArrayList<>(4);
+
+		for (TaskManagerSlot slot : slots.values()) {
+			if (slot.getState() == TaskManagerSlot.State.ALLOCATED && jobId.equals(slot.getJobId())) {
+				final ResourceProfile slotProfile = slot.getResourceProfile();
+
+				if (missingResources.getOrDefault(slotProfile, 0) > 0) {
+					missingResources.merge(slotProfile, -1, Integer::sum);
+				} else {
+					unmatchedSlots.add(slotProfile);
+				}
+			}
+		}
+
+		for (ResourceProfile slotProfile : unmatchedSlots) {
+			for (Map.Entry<ResourceProfile, Integer> missingResource : missingResources.entrySet()) {
+				if (missingResource.getValue() > 0 && slotProfile.isMatching(missingResource.getKey())) {
+					missingResource.setValue(missingResource.getValue() - 1);
+					break;
+				}
+			}
+		}
+
+		missingResources.values().removeIf(numberOfMissingSlots -> numberOfMissingSlots == 0);
+
+		return missingResources;
+	}
+
+	/**
+	 * Cancels the given number of slot requests. Requests which have not been sent to a
+	 * TaskExecutor yet are cancelled first.
+	 *
+	 * @param allocationIds of the pending slot requests to choose from
+	 * @param numberOfSlotRequests to cancel
+	 */
+	private void cancelSurplusSlotRequests(Set<AllocationID> allocationIds, int numberOfSlotRequests) {
+		int remainingSlotRequests = numberOfSlotRequests;
+
+		for (boolean cancelAssignedRequests : new boolean[] {false, true}) {
+			final Iterator<AllocationID> allocationIdIterator = allocationIds.iterator();
+
+			while (remainingSlotRequests > 0 && allocationIdIterator.hasNext()) {
+				final AllocationID allocationId = allocationIdIterator.next();
+
+				if (cancelAssignedRequests || !pendingSlotRequests.get(allocationId).isAssigned()) {
+					allocationIdIterator.remove();
+					unregisterSlotRequest(allocationId);
+					remainingSlotRequests--;
+				}
+			}
+		}
+	}
+
 	// ---------------------------------------------------------------------------------------------
 	// Internal request handling methods
 	// ---------------------------------------------------------------------------------------------
@@ -1157,6 +1573,47 @@ public class SlotManagerImpl implements SlotManager {
 		Preconditions.checkState(started, "The slot manager has not been started.");
 	}
 
+	// ---------------------------------------------------------------------------------------------
+	// Internal classes
+	// ---------------------------------------------------------------------------------------------
+
+	/**
+	 * The last declared resource requirements of a job together with the pending slot requests
+	 * which have been issued for them, grouped by the requested resource profile.
+	 */
+	private static final class DeclaredResourceRequirements {
+
+		private final HashMap<ResourceProfile, Set<AllocationID>> pendingSlotRequests = new HashMap<>(4);
+
+		/** The declared pending allocation ids which have been used for slot requests. */
+		private final HashSet<AllocationID> usedAllocationIds = new HashSet<>(4);
+
+		private ResourceRequirements resourceRequirements;
+
+		ResourceRequirements getResourceRequirements() {
+			return resourceRequirements;
+		}
+
+		void setResourceRequirements(ResourceRequirements resourceRequirements) {
+			this.resourceRequirements = Preconditions.checkNotNull(resourceRequirements);
+			this.usedAllocationIds.clear();
+		}
+
+		/**
+		 * Marks the given declared allocation id as used, so that each declared id is used for at
+		 * most one slot request per declaration.
+		 *
+		 * @return True if the allocation id has not been used before; otherwise false
+		 */
+		boolean markAllocationIdUsed(AllocationID allocationId) {
+			return usedAllocationIds.add(allocationId);
+		}
+
+		Map<ResourceProfile, Set<AllocationID>> getPendingSlotRequests() {
+			return pendingSlotRequests;
+		}
+	}
+
 	// ---------------------------------------------------------------------------------------------
 	// Testing methods
 	// ---------------------------------------------------------------------------------------------
@@ -18,6 +18,7 @@
 
 package org.apache.flink.runtime.resourcemanager.slotmanager;
 
+import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.clusterframework.types.SlotID;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.resourcemanager.registration.TaskExecutorConnection;
@@ -32,22 +33,46 @@ public class TaskManagerRegistration {
 
 	private final HashSet<SlotID> slots;
 
+	/** Dynamic slots which have been carved out of the total resources of the task manager. */
+	private final HashSet<SlotID> dynamicSlots;
+
+	/** Total resources of the task manager; UNKNOWN if dynamic slots are not supported. */
+	private final ResourceProfile totalResourceProfile;
+
 	private int numberFreeSlots;
 
+	/** Slot number which is assigned to the next dynamic slot. */
+	private int nextDynamicSlotNumber;
+
 	/** Timestamp when the last time becoming idle. Otherwise Long.MAX_VALUE. */
 	private long idleSince;
 
 	public TaskManagerRegistration(
 		TaskExecutorConnection taskManagerConnection,
 		Collection<SlotID> slots) {
+		this(taskManagerConnection, slots, ResourceProfile.UNKNOWN);
+	}
+
+	public TaskManagerRegistration(
+		TaskExecutorConnection taskManagerConnection,
+		Collection<SlotID> slots,
+		ResourceProfile totalResourceProfile) {
 
 		this.taskManagerConnection = Preconditions.checkNotNull(taskManagerConnection, "taskManagerConnection");
 		Preconditions.checkNotNull(slots, "slots");
+		this.totalResourceProfile = Preconditions.checkNotNull(totalResourceProfile, "totalResourceProfile");
 
 		this.slots = new HashSet<>(slots);
+		this.dynamicSlots = new HashSet<>(4);
 
 		this.numberFreeSlots = slots.size();
 
+		int maxSlotNumber = -1;
+		for (SlotID slot : slots) {
+			maxSlotNumber = Math.max(maxSlotNumber, slot.getSlotNumber());
+		}
+		this.nextDynamicSlotNumber = maxSlotNumber + 1;
+
 		idleSince = System.currentTimeMillis();
 	}
 
@@ -106,4 +131,55 @@ public class TaskManagerRegistration {
 	public boolean containsSlot(SlotID slotId) {
 		return slots.contains(slotId);
 	}
+
+	public ResourceProfile getTotalResourceProfile() {
+		return totalResourceProfile;
+	}
+
+	public boolean supportsDynamicSlots() {
+		return !totalResourceProfile.equals(ResourceProfile.UNKNOWN);
+	}
+
+	public Iterable<SlotID> getDynamicSlots() {
+		return dynamicSlots;
+	}
+
+	public boolean isDynamicSlot(SlotID slotId) {
+		return dynamicSlots.contains(slotId);
+	}
+
+	/**
+	 * Registers a new free dynamic slot with a slot number which has not been used by this
+	 * task manager before.
+	 *
+	 * @return The slot id of the new dynamic slot
+	 */
+	public SlotID addDynamicSlot() {
+		Preconditions.checkState(supportsDynamicSlots(), "The task manager does not support dynamic slots.");
+
+		final SlotID slotId = new SlotID(taskManagerConnection.getResourceID(), nextDynamicSlotNumber++);
+
+		slots.add(slotId);
+		dynamicSlots.add(slotId);
+		numberFreeSlots++;
+
+		return slotId;
+	}
+
+	/**
+	 * Removes the given free dynamic slot.
+	 *
+	 * @param slotId of the dynamic slot to remove
+	 */
+	public void removeDynamicSlot(SlotID slotId) {
+		Preconditions.checkState(dynamicSlots.remove(slotId), "Slot %s is not a dynamic slot.", slotId);
+		Preconditions.checkState(numberFreeSlots > 0, "Only free dynamic slots can be removed. This indicates a bug.");
+
+		slots.remove(slotId);
+		numberFreeSlots--;
+
+		if (numberFreeSlots == getNumberRegisteredSlots() && idleSince == Long.MAX_VALUE) {
+			idleSince = System.currentTimeMillis();
+		}
+	}
 }
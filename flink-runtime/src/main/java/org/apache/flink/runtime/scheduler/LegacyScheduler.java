@@ -45,6 +45,7 @@ import org.apache.flink.runtime.executiongraph.ExecutionGraph;
 import org.apache.flink.runtime.executiongraph.ExecutionGraphBuilder;
 import org.apache.flink.runtime.executiongraph.ExecutionGraphException;
 import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
+import org.apache.flink.runtime.executiongraph.ExecutionVertex;
 import org.apache.flink.runtime.executiongraph.IntermediateResult;
 import org.apache.flink.runtime.executiongraph.JobStatusListener;
 import org.apache.flink.runtime.executiongraph.restart.RestartStrategy;
@@ -56,6 +57,7 @@ import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
 import org.apache.flink.runtime.jobgraph.JobGraph;
 import org.apache.flink.runtime.jobgraph.JobStatus;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobgraph.SavepointRestoreSettings;
 import org.apache.flink.runtime.jobmanager.PartitionProducerDisposedException;
 import org.apache.flink.runtime.jobmaster.SerializedInputSplit;
@@ -65,6 +67,9 @@ import org.apache.flink.runtime.messages.checkpoint.AcknowledgeCheckpoint;
 import org.apache.flink.runtime.messages.checkpoint.DeclineCheckpoint;
 import org.apache.flink.runtime.messages.webmonitor.JobDetails;
 import org.apache.flink.runtime.metrics.groups.JobManagerJobMetricGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinatorHolder;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.TaskNotRunningException;
 import org.apache.flink.runtime.query.KvStateLocation;
 import org.apache.flink.runtime.query.KvStateLocationRegistry;
 import org.apache.flink.runtime.query.UnknownKvStateLocation;
@@ -174,6 +179,7 @@ public class LegacyScheduler implements SchedulerNG {
 		this.slotRequestTimeout = checkNotNull(slotRequestTimeout);
 
 		this.executionGraph = createAndRestoreExecutionGraph(jobManagerJobMetricGroup, checkNotNull(shuffleMaster), checkNotNull(partitionTracker));
+		this.executionGraph.getTerminationFuture().thenRun(this::closeAllOperatorCoordinators);
 	}
 
 	private ExecutionGraph createAndRestoreExecutionGraph(
@@ -259,6 +265,7 @@ public class LegacyScheduler implements SchedulerNG {
 		mainThreadExecutor.assertRunningInMainThread();
 
 		try {
+			startAllOperatorCoordinators();
 			executionGraph.scheduleForExecution();
 		}
 		catch (Throwable t) {
@@ -330,6 +337,55 @@ public class LegacyScheduler implements SchedulerNG {
 		}
 	}
 
+	@Override
+	public void deliverOperatorEventToCoordinator(
+			final ExecutionAttemptID taskExecution,
+			final OperatorID operatorId,
+			final OperatorEvent evt) throws FlinkException {
+
+		mainThreadExecutor.assertRunningInMainThread();
+
+		// events of executions which are not running any more are dropped
+		final Execution execution = executionGraph.getRegisteredExecutions().get(taskExecution);
+		if (execution == null || execution.getState() != ExecutionState.RUNNING) {
+			throw new TaskNotRunningException("Task is not known or in state running on the JobManager.");
+		}
+
+		final ExecutionVertex vertex = execution.getVertex();
+		for (OperatorCoordinatorHolder coordinator : vertex.getJobVertex().getOperatorCoordinators()) {
+			if (coordinator.getOperatorId().equals(operatorId)) {
+				try {
+					coordinator.handleEventFromOperator(vertex.getParallelSubtaskIndex(), evt);
+				} catch (Exception e) {
+					throw new FlinkException("The coordinator of operator " + operatorId + " could not handle the event.", e);
+				}
+				return;
+			}
+		}
+
+		throw new FlinkException("No coordinator registered for operator " + operatorId);
+	}
+
+	private void startAllOperatorCoordinators() throws Exception {
+		for (ExecutionJobVertex jobVertex : executionGraph.getVerticesTopologically()) {
+			for (OperatorCoordinatorHolder coordinator : jobVertex.getOperatorCoordinators()) {
+				coordinator.start();
+			}
+		}
+	}
+
+	private void closeAllOperatorCoordinators() {
+		for (ExecutionJobVertex jobVertex : executionGraph.getVerticesTopologically()) {
+			for (OperatorCoordinatorHolder coordinator : jobVertex.getOperatorCoordinators()) {
+				try {
+					coordinator.close();
+				} catch (Throwable t) {
+					log.warn("Could not close the coordinator of operator {}.", coordinator.getOperatorId(), t);
+				}
+			}
+		}
+	}
+
 	@Override
 	public ExecutionState requestPartitionState(
 			final IntermediateDataSetID intermediateResultId,
@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.connector.source.ReaderInfo;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.core.io.SimpleVersionedSerialization;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.RequestSplitEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.function.ThrowingRunnable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link OperatorCoordinator} of a {@link Source}, which runs the {@link SplitEnumerator} of
+ * the source on the JobManager.
+ *
+ * <p>All calls of the enumerator happen in a single thread of the coordinator, so that the
+ * enumerator needs no synchronization. The methods of the coordinator only hand the work over to
+ * that thread and never block the JobManager. Any failure in the thread of the coordinator fails
+ * the job.
+ *
+ * <p>If the watermarks of the source are aligned, the coordinator collects the watermarks which
+ * the readers report, and announces to all readers the highest watermark up to which they may
+ * read, which is the lowest reported watermark plus the maximum allowed drift.
+ *
+ * @param <SplitT> The type of the splits of the source.
+ * @param <EnumChkT> The type of the checkpointed state of the enumerator.
+ */
+public class SourceCoordinator<SplitT extends SourceSplit, EnumChkT> implements OperatorCoordinator {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SourceCoordinator.class);
+
+	private final String operatorName;
+
+	private final Source<?, SplitT, EnumChkT> source;
+
+	private final SimpleVersionedSerializer<EnumChkT> enumCheckpointSerializer;
+
+	private final ExecutorService coordinatorExecutor;
+
+	private final SourceCoordinatorContext<SplitT> context;
+
+	/** The enumerator, only accessed by the thread of the coordinator. */
+	@Nullable
+	private SplitEnumerator<SplitT, EnumChkT> enumerator;
+
+	/** Whether the coordinator has been started, only accessed by the thread of the coordinator. */
+	private boolean started;
+
+	/** The maximum drift of the watermarks of the readers in milliseconds, negative if not aligned. */
+	private final long maxAllowedWatermarkDrift;
+
+	/** The latest watermarks reported by the readers, only accessed by the thread of the coordinator. */
+	private final Map<Integer, Long> reportedWatermarks = new HashMap<>();
+
+	/** The latest announced maximum watermark, only accessed by the thread of the coordinator. */
+	private long announcedMaxWatermark = Long.MIN_VALUE;
+
+	public SourceCoordinator(
+			String operatorName,
+			Source<?, SplitT, EnumChkT> source,
+			OperatorCoordinator.Context operatorCoordinatorContext) {
+		this(operatorName, source, operatorCoordinatorContext, -1L);
+	}
+
+	public SourceCoordinator(
+			String operatorName,
+			Source<?, SplitT, EnumChkT> source,
+			OperatorCoordinator.Context operatorCoordinatorContext,
+			long maxAllowedWatermarkDrift) {
+
+		this.operatorName = checkNotNull(operatorName);
+		this.maxAllowedWatermarkDrift = maxAllowedWatermarkDrift;
+		this.source = checkNotNull(source);
+		this.enumCheckpointSerializer = source.getEnumeratorCheckpointSerializer();
+
+		final ClassLoader userClassLoader = source.getClass().getClassLoader();
+		this.coordinatorExecutor = Executors.newSingleThreadExecutor(
+			new CoordinatorThreadFactory("SourceCoordinator-" + operatorName, userClassLoader));
+		this.context = new SourceCoordinatorContext<>(
+			coordinatorExecutor,
+			Executors.newScheduledThreadPool(1, new CoordinatorThreadFactory("SourceCoordinator-worker-" + operatorName, userClassLoader)),
+			operatorCoordinatorContext,
+			source.getSplitSerializer());
+	}
+
+	@Override
+	public void start() {
+		LOG.info("Starting split enumerator for source {}.", operatorName);
+
+		runInEventLoop(
+			() -> {
+				if (enumerator == null) {
+					enumerator = source.createEnumerator(context);
+				}
+				started = true;
+				enumerator.start();
+			},
+			"starting the split enumerator");
+	}
+
+	@Override
+	public void close() {
+		LOG.info("Closing split enumerator for source {}.", operatorName);
+
+		runInEventLoop(
+			() -> {
+				if (enumerator != null) {
+					enumerator.close();
+				}
+			},
+			"closing the split enumerator");
+
+		coordinatorExecutor.shutdown();
+		context.close();
+	}
+
+	@Override
+	public void handleEventFromOperator(int subtask, OperatorEvent event) {
+		runInEventLoop(
+			() -> {
+				if (event instanceof RequestSplitEvent) {
+					checkEnumerator().handleSplitRequest(subtask, ((RequestSplitEvent) event).hostName());
+				} else if (event instanceof SourceEventWrapper) {
+					checkEnumerator().handleSourceEvent(subtask, ((SourceEventWrapper) event).getSourceEvent());
+				} else if (event instanceof ReaderRegistrationEvent) {
+					final ReaderRegistrationEvent registrationEvent = (ReaderRegistrationEvent) event;
+					context.registerSourceReader(new ReaderInfo(registrationEvent.subtaskId(), registrationEvent.location()));
+					checkEnumerator().addReader(registrationEvent.subtaskId());
+					if (announcedMaxWatermark != Long.MIN_VALUE) {
+						context.sendEventToReader(new WatermarkAlignmentEvent(announcedMaxWatermark), registrationEvent.subtaskId());
+					}
+				} else if (event instanceof ReportedWatermarkEvent) {
+					handleReportedWatermark(subtask, ((ReportedWatermarkEvent) event).getWatermark());
+				} else {
+					throw new FlinkException("Unrecognized operator event: " + event);
+				}
+			},
+			"handling operator event %s from subtask %d", event, subtask);
+	}
+
+	@Override
+	public void subtaskFailed(int subtask) {
+		runInEventLoop(
+			() -> {
+				context.unregisterSourceReader(subtask);
+				reportedWatermarks.remove(subtask);
+
+				final List<SplitT> splitsToAddBack = context.getAndRemoveUncheckpointedAssignment(subtask);
+				if (!splitsToAddBack.isEmpty() && enumerator != null) {
+					LOG.debug("Adding splits back to the split enumerator of source {}: {}", operatorName, splitsToAddBack);
+					enumerator.addSplitsBack(splitsToAddBack, subtask);
+				}
+			},
+			"handling the failure of subtask %d", subtask);
+	}
+
+	@Override
+	public void checkpointCoordinator(long checkpointId, CompletableFuture<byte[]> result) {
+		coordinatorExecutor.execute(() -> {
+			try {
+				LOG.debug("Taking a snapshot of the split enumerator of source {} for checkpoint {}.", operatorName, checkpointId);
+
+				context.onCheckpoint(checkpointId);
+				result.complete(SimpleVersionedSerialization.writeVersionAndSerialize(
+					enumCheckpointSerializer, checkEnumerator().snapshotState()));
+			} catch (Throwable t) {
+				ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+				result.completeExceptionally(new FlinkException(String.format(
+					"Failed to checkpoint the split enumerator of source %s for checkpoint %d.", operatorName, checkpointId), t));
+			}
+		});
+	}
+
+	@Override
+	public void checkpointComplete(long checkpointId) {
+		runInEventLoop(
+			() -> {
+				context.onCheckpointComplete(checkpointId);
+				checkEnumerator().notifyCheckpointComplete(checkpointId);
+			},
+			"notifying the split enumerator of the completion of checkpoint %d", checkpointId);
+	}
+
+	@Override
+	public void resetToCheckpoint(@Nullable byte[] checkpointData) {
+		LOG.info("Resetting the split enumerator of source {} to {}.",
+			operatorName, checkpointData == null ? "its initial state" : "a checkpoint");
+
+		runInEventLoop(
+			() -> {
+				if (enumerator != null) {
+					enumerator.close();
+				}
+				context.reset();
+				reportedWatermarks.clear();
+				announcedMaxWatermark = Long.MIN_VALUE;
+
+				enumerator = checkpointData == null ?
+					source.createEnumerator(context) :
+					source.restoreEnumerator(
+						context,
+						SimpleVersionedSerialization.readVersionAndDeSerialize(enumCheckpointSerializer, checkpointData));
+
+				if (started) {
+					enumerator.start();
+				}
+			},
+			"resetting the split enumerator to a checkpoint");
+	}
+
+	@VisibleForTesting
+	ExecutorService getCoordinatorExecutor() {
+		return coordinatorExecutor;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private SplitEnumerator<SplitT, EnumChkT> checkEnumerator() {
+		if (enumerator == null) {
+			throw new IllegalStateException("The split enumerator of source " + operatorName + " has not been created.");
+		}
+		return enumerator;
+	}
+
+	private void handleReportedWatermark(int subtask, long watermark) {
+		if (maxAllowedWatermarkDrift < 0) {
+			LOG.debug("Ignoring the watermark of subtask {} of source {}, whose watermarks are not aligned.", subtask, operatorName);
+			return;
+		}
+
+		reportedWatermarks.put(subtask, watermark);
+
+		long minWatermark = Long.MAX_VALUE;
+		for (long reportedWatermark : reportedWatermarks.values()) {
+			minWatermark = Math.min(minWatermark, reportedWatermark);
+		}
+
+		final long maxWatermark = minWatermark > Long.MAX_VALUE - maxAllowedWatermarkDrift ?
+			Long.MAX_VALUE :
+			minWatermark + maxAllowedWatermarkDrift;
+
+		if (maxWatermark != announcedMaxWatermark) {
+			LOG.debug("Announcing the maximum watermark {} to the readers of source {}.", maxWatermark, operatorName);
+			announcedMaxWatermark = maxWatermark;
+			context.sendEventToAllReaders(new WatermarkAlignmentEvent(maxWatermark));
+		}
+	}
+
+	private void runInEventLoop(
+			ThrowingRunnable<Throwable> action,
+			String actionName,
+			Object... actionNameFormatParameters) {
+
+		coordinatorExecutor.execute(() -> {
+			try {
+				action.run();
+			} catch (Throwable t) {
+				ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+
+				final String actionString = String.format(actionName, actionNameFormatParameters);
+				LOG.error("Uncaught exception in the split enumerator of source {} while {}. Triggering job failover.",
+					operatorName, actionString, t);
+				context.failJob(t);
+			}
+		});
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Thread factory for the threads of the coordinator, which use the class loader of the
+	 * source as their context class loader.
+	 */
+	private static final class CoordinatorThreadFactory implements ThreadFactory {
+
+		private final String threadName;
+
+		private final ClassLoader classLoader;
+
+		private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+		CoordinatorThreadFactory(String threadName, ClassLoader classLoader) {
+			this.threadName = threadName;
+			this.classLoader = classLoader;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread(runnable, threadName + '-' + threadNumber.getAndIncrement());
+			thread.setContextClassLoader(classLoader);
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.api.connector.source.ReaderInfo;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.TaskNotRunningException;
+import org.apache.flink.runtime.source.event.AddSplitEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link SplitEnumeratorContext} of the enumerator in a {@link SourceCoordinator}.
+ *
+ * <p>The context is used by the thread of the coordinator only, and runs the asynchronous calls
+ * of the enumerator in a separate worker executor, handing their results back to the thread of
+ * the coordinator.
+ *
+ * @param <SplitT> The type of the splits.
+ */
+class SourceCoordinatorContext<SplitT extends SourceSplit> implements SplitEnumeratorContext<SplitT> {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SourceCoordinatorContext.class);
+
+	private final Executor coordinatorExecutor;
+
+	private final ScheduledExecutorService workerExecutor;
+
+	private final OperatorCoordinator.Context operatorCoordinatorContext;
+
+	private final SimpleVersionedSerializer<SplitT> splitSerializer;
+
+	private final Map<Integer, ReaderInfo> registeredReaders = new HashMap<>();
+
+	private final SplitAssignmentTracker<SplitT> assignmentTracker = new SplitAssignmentTracker<>();
+
+	SourceCoordinatorContext(
+			Executor coordinatorExecutor,
+			ScheduledExecutorService workerExecutor,
+			OperatorCoordinator.Context operatorCoordinatorContext,
+			SimpleVersionedSerializer<SplitT> splitSerializer) {
+
+		this.coordinatorExecutor = checkNotNull(coordinatorExecutor);
+		this.workerExecutor = checkNotNull(workerExecutor);
+		this.operatorCoordinatorContext = checkNotNull(operatorCoordinatorContext);
+		this.splitSerializer = checkNotNull(splitSerializer);
+	}
+
+	@Override
+	public MetricGroup metricGroup() {
+		return new UnregisteredMetricsGroup();
+	}
+
+	@Override
+	public void sendEventToSourceReader(int subtaskId, SourceEvent event) {
+		sendEvent(new SourceEventWrapper(event), subtaskId);
+	}
+
+	@Override
+	public int currentParallelism() {
+		return operatorCoordinatorContext.currentParallelism();
+	}
+
+	@Override
+	public Map<Integer, ReaderInfo> registeredReaders() {
+		return Collections.unmodifiableMap(registeredReaders);
+	}
+
+	@Override
+	public void assignSplits(SplitsAssignment<SplitT> assignment) {
+		for (Integer subtaskId : assignment.assignment().keySet()) {
+			if (!registeredReaders.containsKey(subtaskId)) {
+				throw new IllegalArgumentException(String.format(
+					"Cannot assign splits %s to subtask %d because the subtask is not registered.",
+					assignment.assignment().get(subtaskId), subtaskId));
+			}
+		}
+
+		// the splits are tracked before they are sent, so that they are given back to the
+		// enumerator if the reader fails before receiving them
+		assignmentTracker.recordSplitAssignment(assignment);
+
+		for (Map.Entry<Integer, List<SplitT>> entry : assignment.assignment().entrySet()) {
+			final AddSplitEvent<SplitT> event;
+			try {
+				event = new AddSplitEvent<>(entry.getValue(), splitSerializer);
+			} catch (IOException e) {
+				throw new FlinkRuntimeException("Failed to serialize splits.", e);
+			}
+			sendEvent(event, entry.getKey());
+		}
+	}
+
+	@Override
+	public <T> void callAsync(Callable<T> callable, BiConsumer<T, Throwable> handler) {
+		workerExecutor.execute(() -> callAndHandle(callable, handler));
+	}
+
+	@Override
+	public <T> void callAsync(
+			Callable<T> callable,
+			BiConsumer<T, Throwable> handler,
+			long initialDelay,
+			long period) {
+
+		workerExecutor.scheduleAtFixedRate(
+			() -> callAndHandle(callable, handler),
+			initialDelay,
+			period,
+			TimeUnit.MILLISECONDS);
+	}
+
+	// ------------------------------------------------------------------------
+
+	void registerSourceReader(ReaderInfo readerInfo) {
+		final ReaderInfo previousReader = registeredReaders.put(readerInfo.getSubtaskId(), readerInfo);
+		if (previousReader != null) {
+			LOG.warn("Subtask {} of source {} registered a reader before its previous reader was unregistered.",
+				readerInfo.getSubtaskId(), operatorCoordinatorContext.getOperatorId());
+		}
+	}
+
+	void unregisterSourceReader(int subtaskId) {
+		registeredReaders.remove(subtaskId);
+	}
+
+	/**
+	 * Sends the given event to all registered readers.
+	 */
+	void sendEventToAllReaders(OperatorEvent event) {
+		for (int subtaskId : registeredReaders.keySet()) {
+			sendEvent(event, subtaskId);
+		}
+	}
+
+	/**
+	 * Sends the given event to the reader of the given subtask, if it is registered.
+	 */
+	void sendEventToReader(OperatorEvent event, int subtaskId) {
+		if (registeredReaders.containsKey(subtaskId)) {
+			sendEvent(event, subtaskId);
+		}
+	}
+
+	List<SplitT> getAndRemoveUncheckpointedAssignment(int subtaskId) {
+		return assignmentTracker.getAndRemoveUncheckpointedAssignment(subtaskId);
+	}
+
+	void onCheckpoint(long checkpointId) {
+		assignmentTracker.onCheckpoint(checkpointId);
+	}
+
+	void onCheckpointComplete(long checkpointId) {
+		assignmentTracker.onCheckpointComplete(checkpointId);
+	}
+
+	/**
+	 * Drops all registered readers and tracked assignments, when the coordinator is reset to a
+	 * checkpoint.
+	 */
+	void reset() {
+		registeredReaders.clear();
+		assignmentTracker.reset();
+	}
+
+	void failJob(Throwable cause) {
+		operatorCoordinatorContext.failJob(cause);
+	}
+
+	void close() {
+		workerExecutor.shutdownNow();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private void sendEvent(OperatorEvent event, int subtaskId) {
+		try {
+			operatorCoordinatorContext.sendEvent(event, subtaskId);
+		} catch (TaskNotRunningException e) {
+			// the subtask fails or is restarted, which gives the assigned splits back to the
+			// enumerator, and registers a new reader afterwards
+			LOG.debug("Could not send {} to subtask {} which is not running.", event, subtaskId);
+		}
+	}
+
+	private <T> void callAndHandle(Callable<T> callable, BiConsumer<T, Throwable> handler) {
+		T result = null;
+		Throwable failure = null;
+		try {
+			result = callable.call();
+		} catch (Throwable t) {
+			ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+			failure = t;
+		}
+
+		final T finalResult = result;
+		final Throwable finalFailure = failure;
+		coordinatorExecutor.execute(() -> {
+			try {
+				handler.accept(finalResult, finalFailure);
+			} catch (Throwable t) {
+				ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+				LOG.error("Failed to handle the result of an asynchronous call of the enumerator.", t);
+				failJob(t);
+			}
+		});
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The provider of the {@link SourceCoordinator} of a {@link Source}.
+ *
+ * @param <SplitT> The type of the splits of the source.
+ */
+public class SourceCoordinatorProvider<SplitT extends SourceSplit> implements OperatorCoordinator.Provider {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String operatorName;
+
+	private final OperatorID operatorId;
+
+	private final Source<?, SplitT, ?> source;
+
+	/** The maximum drift of the watermarks of the readers in milliseconds, negative if not aligned. */
+	private final long maxAllowedWatermarkDrift;
+
+	public SourceCoordinatorProvider(String operatorName, OperatorID operatorId, Source<?, SplitT, ?> source) {
+		this(operatorName, operatorId, source, -1L);
+	}
+
+	public SourceCoordinatorProvider(
+			String operatorName,
+			OperatorID operatorId,
+			Source<?, SplitT, ?> source,
+			long maxAllowedWatermarkDrift) {
+		this.operatorName = checkNotNull(operatorName);
+		this.operatorId = checkNotNull(operatorId);
+		this.source = checkNotNull(source);
+		this.maxAllowedWatermarkDrift = maxAllowedWatermarkDrift;
+	}
+
+	@Override
+	public OperatorID getOperatorId() {
+		return operatorId;
+	}
+
+	@Override
+	public OperatorCoordinator create(OperatorCoordinator.Context context) {
+		return new SourceCoordinator<>(operatorName, source, context, maxAllowedWatermarkDrift);
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Tracks the splits which the enumerator assigned to the readers since the last completed
+ * checkpoint. When a reader fails, these splits are not part of the state that the reader
+ * restores, so they are given back to the enumerator.
+ *
+ * <p>This class is not thread safe and only used by the thread of the coordinator.
+ *
+ * @param <SplitT> The type of the splits.
+ */
+class SplitAssignmentTracker<SplitT extends SourceSplit> {
+
+	/** The assignments per subtask, keyed by the id of the checkpoint taken after them. */
+	private final SortedMap<Long, Map<Integer, LinkedHashSet<SplitT>>> assignmentsByCheckpointId = new TreeMap<>();
+
+	/** The assignments per subtask since the last checkpoint. */
+	private Map<Integer, LinkedHashSet<SplitT>> uncheckpointedAssignments = new HashMap<>();
+
+	/**
+	 * Moves the assignments since the last checkpoint to the given checkpoint, when the
+	 * coordinator takes its snapshot for it.
+	 */
+	void onCheckpoint(long checkpointId) {
+		assignmentsByCheckpointId.put(checkpointId, uncheckpointedAssignments);
+		uncheckpointedAssignments = new HashMap<>();
+	}
+
+	/**
+	 * Drops the assignments of the given checkpoint and of all checkpoints before it, because
+	 * they are part of the state of the readers.
+	 */
+	void onCheckpointComplete(long checkpointId) {
+		assignmentsByCheckpointId.headMap(checkpointId + 1).clear();
+	}
+
+	void recordSplitAssignment(SplitsAssignment<SplitT> splitsAssignment) {
+		for (Map.Entry<Integer, List<SplitT>> entry : splitsAssignment.assignment().entrySet()) {
+			uncheckpointedAssignments
+				.computeIfAbsent(entry.getKey(), (ignored) -> new LinkedHashSet<>())
+				.addAll(entry.getValue());
+		}
+	}
+
+	/**
+	 * Removes and returns the splits which were assigned to the given subtask since the last
+	 * completed checkpoint.
+	 */
+	List<SplitT> getAndRemoveUncheckpointedAssignment(int subtaskId) {
+		final List<SplitT> splits = new ArrayList<>();
+
+		for (Map<Integer, LinkedHashSet<SplitT>> assignments : assignmentsByCheckpointId.values()) {
+			removeFromAssignment(subtaskId, assignments, splits);
+		}
+		removeFromAssignment(subtaskId, uncheckpointedAssignments, splits);
+
+		return splits;
+	}
+
+	void reset() {
+		assignmentsByCheckpointId.clear();
+		uncheckpointedAssignments = new HashMap<>();
+	}
+
+	private void removeFromAssignment(
+			int subtaskId,
+			Map<Integer, LinkedHashSet<SplitT>> assignments,
+			List<SplitT> toPutBack) {
+
+		final LinkedHashSet<SplitT> splits = assignments.remove(subtaskId);
+		if (splits != null) {
+			toPutBack.addAll(splits);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.event;
+
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+
+import javax.annotation.Nullable;
+
+/**
+ * An {@link OperatorEvent} with which a source reader asks the coordinator of its source for
+ * more splits.
+ */
+public final class RequestSplitEvent implements OperatorEvent {
+
+	private static final long serialVersionUID = 1L;
+
+	@Nullable
+	private final String hostName;
+
+	public RequestSplitEvent(@Nullable String hostName) {
+		this.hostName = hostName;
+	}
+
+	@Nullable
+	public String hostName() {
+		return hostName;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RequestSplitEvent (host='%s')", hostName);
+	}
+}
@@ -259,6 +259,13 @@ public class IncrementalRemoteKeyedStateHandle implements IncrementalKeyedStateH
 			// deduplication and returns the previous reference.
 			sharedStateHandle.setValue(result.getReference());
 		}
+
+		// the meta data and private state are exclusive to this handle, but might be written to shared files
+		StateUtil.registerSharedStreamState(metaStateHandle, stateRegistry);
+
+		for (StreamStateHandle privateStateHandle : privateState.values()) {
+			StateUtil.registerSharedStreamState(privateStateHandle, stateRegistry);
+		}
 	}
 
 	/**
@@ -51,6 +51,11 @@ public final class NoOpTaskLocalStateStoreImpl implements OwnedTaskLocalStateSto
 		return CompletableFuture.completedFuture(null);
 	}
 
+	@Override
+	public long getLocalStateSize() {
+		return 0L;
+	}
+
 	@Override
 	public void storeLocalState(long checkpointId, @Nullable TaskStateSnapshot localState) {
 	}
@@ -35,4 +35,9 @@ public interface OwnedTaskLocalStateStore extends TaskLocalStateStore {
 	 * returned future.
 	 */
 	CompletableFuture<Void> dispose();
+
+	/**
+	 * Returns the size in bytes of the latest local state snapshot which is retained by this store.
+	 */
+	long getLocalStateSize();
 }
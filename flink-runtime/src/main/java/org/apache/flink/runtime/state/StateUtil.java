@@ -48,6 +48,21 @@ public class StateUtil {
 		return handle == null ? 0 : handle.getStateSize();
 	}
 
+	/**
+	 * Registers the shared states of the given stream state handle, if it references state which is
+	 * shared with other handles (like segments of shared files).
+	 *
+	 * @param handle The stream state handle to register, may be null.
+	 * @param sharedStateRegistry The registry to register the shared states with.
+	 */
+	public static void registerSharedStreamState(
+		StreamStateHandle handle,
+		SharedStateRegistry sharedStateRegistry) {
+		if (handle instanceof CompositeStateHandle) {
+			((CompositeStateHandle) handle).registerSharedStates(sharedStateRegistry);
+		}
+	}
+
 	/**
 	 * Iterates through the passed state handles and calls discardState() on each handle that is not null. All
 	 * occurring exceptions are suppressed and collected until the iteration is over and emitted as a single exception.
@@ -171,6 +171,37 @@ public class TaskExecutorLocalStateStoresManager {
 		}
 	}
 
+	/**
+	 * Returns the size in bytes of the local state which is retained under each of the given
+	 * allocation ids. Allocations without any local state store are not contained in the result.
+	 *
+	 * @param allocationIds for which to compute the local state sizes
+	 * @return Mapping from allocation id to the size of the retained local state
+	 */
+	@Nonnull
+	public Map<AllocationID, Long> getLocalStateSizes(@Nonnull Iterable<AllocationID> allocationIds) {
+		final Map<AllocationID, Long> localStateSizes = new HashMap<>(4);
+
+		synchronized (lock) {
+			for (AllocationID allocationId : allocationIds) {
+				final Map<JobVertexSubtaskKey, OwnedTaskLocalStateStore> localStateStores =
+					taskStateStoresByAllocationID.get(allocationId);
+
+				if (localStateStores != null) {
+					long localStateSize = 0L;
+
+					for (OwnedTaskLocalStateStore localStateStore : localStateStores.values()) {
+						localStateSize += localStateStore.getLocalStateSize();
+					}
+
+					localStateSizes.put(allocationId, localStateSize);
+				}
+			}
+		}
+
+		return localStateSizes;
+	}
+
 	public void releaseLocalStateForAllocationId(@Nonnull AllocationID allocationID) {
 
 		if (LOG.isDebugEnabled()) {
@@ -206,6 +206,14 @@ public class TaskLocalStateStoreImpl implements OwnedTaskLocalStateStore {
 		return (snapshot != NULL_DUMMY) ? snapshot : null;
 	}
 
+	@Override
+	public long getLocalStateSize() {
+		synchronized (lock) {
+			return storedTaskStateByCheckpointID.isEmpty() ?
+				0L : storedTaskStateByCheckpointID.get(storedTaskStateByCheckpointID.lastKey()).getStateSize();
+		}
+	}
+
 	@Override
 	@Nonnull
 	public LocalRecoveryConfig getLocalRecoveryConfig() {
@@ -0,0 +1,316 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FSDataInputStreamWrapper;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.state.CompositeStateHandle;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+import org.apache.flink.runtime.state.SharedStateRegistryKey;
+import org.apache.flink.runtime.state.StreamStateHandle;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link StreamStateHandle} for state that was written as a segment of a file which is shared
+ * with the state of other streams. The written data is identified by the file path, the offset
+ * of the segment in the file and its length.
+ *
+ * <p>The shared files are written to the exclusive directory of a checkpoint. When a checkpoint
+ * completes, its segments are registered with the {@link SharedStateRegistry}, with one reference
+ * to the directory of their file per segment. The directory is deleted recursively once the last
+ * registered segment in it is discarded, so that a file which is still referenced by a later
+ * checkpoint survives the subsumption of the checkpoint it was written for. Discarding a segment
+ * which has never been registered does not delete anything, because the file may still be
+ * referenced by other segments. Such files are dropped together with the directory of their
+ * pending checkpoint.
+ */
+public class FileSegmentStateHandle implements StreamStateHandle, CompositeStateHandle {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The path to the shared file in the filesystem, fully describing the file system. */
+	private final Path filePath;
+
+	/** The offset of the segment in the shared file. */
+	private final long startPos;
+
+	/** The size of the segment in the shared file. */
+	private final long stateSize;
+
+	/** The registry which tracks the references to the directory of the file, null if not registered. */
+	@Nullable
+	private transient SharedStateRegistry sharedStateRegistry;
+
+	/**
+	 * Creates a new handle for the segment of the given file.
+	 *
+	 * @param filePath The path to the shared file that stores the state.
+	 * @param startPos The offset of the segment in the shared file.
+	 * @param stateSize The size of the segment in the shared file.
+	 */
+	public FileSegmentStateHandle(Path filePath, long startPos, long stateSize) {
+		checkArgument(startPos >= 0);
+		checkArgument(stateSize >= 0);
+		this.filePath = checkNotNull(filePath);
+		this.startPos = startPos;
+		this.stateSize = stateSize;
+	}
+
+	/**
+	 * Gets the path of the shared file which stores this handle's state.
+	 *
+	 * @return The path of the shared file which stores this handle's state.
+	 */
+	public Path getFilePath() {
+		return filePath;
+	}
+
+	/**
+	 * Gets the offset of this handle's state in the shared file.
+	 *
+	 * @return The offset of this handle's state in the shared file.
+	 */
+	public long getStartPos() {
+		return startPos;
+	}
+
+	@Override
+	public FSDataInputStream openInputStream() throws IOException {
+		final FSDataInputStream inputStream = getFileSystem().open(filePath);
+
+		try {
+			inputStream.seek(startPos);
+		} catch (IOException e) {
+			inputStream.close();
+			throw e;
+		}
+
+		return new SegmentInputStream(inputStream, startPos, stateSize);
+	}
+
+	/**
+	 * Releases the reference to the directory of the shared file, if this handle was registered.
+	 * The directory is deleted once no registered segment references it any more.
+	 */
+	@Override
+	public void discardState() throws Exception {
+		final SharedStateRegistry registry = this.sharedStateRegistry;
+
+		if (registry != null) {
+			registry.unregisterReference(createSharedStateRegistryKey());
+		}
+	}
+
+	@Override
+	public void registerSharedStates(SharedStateRegistry stateRegistry) {
+		checkNotNull(stateRegistry);
+
+		// as for incremental keyed state, registering again with a different registry transfers
+		// the ownership to that registry, which only happens when the checkpoint coordinator is restarted
+		if (sharedStateRegistry != stateRegistry) {
+			sharedStateRegistry = stateRegistry;
+			stateRegistry.registerReference(createSharedStateRegistryKey(), new SegmentDirectoryHandle(filePath.getParent()));
+		}
+	}
+
+	/**
+	 * Returns the size of the segment in bytes.
+	 *
+	 * @return The size of the segment in bytes.
+	 */
+	@Override
+	public long getStateSize() {
+		return stateSize;
+	}
+
+	private SharedStateRegistryKey createSharedStateRegistryKey() {
+		return new SharedStateRegistryKey(filePath.getParent().toString());
+	}
+
+	private FileSystem getFileSystem() throws IOException {
+		return FileSystem.get(filePath.toUri());
+	}
+
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof FileSegmentStateHandle)) {
+			return false;
+		}
+
+		FileSegmentStateHandle that = (FileSegmentStateHandle) o;
+		return startPos == that.startPos &&
+			stateSize == that.stateSize &&
+			filePath.equals(that.filePath);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = filePath.hashCode();
+		result = 31 * result + (int) (startPos ^ (startPos >>> 32));
+		result = 31 * result + (int) (stateSize ^ (stateSize >>> 32));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("File Segment State: %s [%d bytes at offset %d]", filePath, stateSize, startPos);
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The directory of shared files, as registered with the {@link SharedStateRegistry}. It is
+	 * deleted recursively when its last reference is released.
+	 */
+	private static final class SegmentDirectoryHandle implements StreamStateHandle {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Path directory;
+
+		SegmentDirectoryHandle(Path directory) {
+			this.directory = checkNotNull(directory);
+		}
+
+		@Override
+		public FSDataInputStream openInputStream() {
+			throw new UnsupportedOperationException("A directory of shared files cannot be read as a stream.");
+		}
+
+		@Override
+		public void discardState() throws IOException {
+			FileSystem.get(directory.toUri()).delete(directory, true);
+		}
+
+		@Override
+		public long getStateSize() {
+			return 0L;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o ||
+				(o != null && o.getClass() == getClass() && directory.equals(((SegmentDirectoryHandle) o).directory));
+		}
+
+		@Override
+		public int hashCode() {
+			return directory.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "Shared File Directory: " + directory;
+		}
+	}
+
+	/**
+	 * Input stream which exposes a segment of the shared file as if it was the whole stream.
+	 */
+	private static final class SegmentInputStream extends FSDataInputStreamWrapper {
+
+		private final long startPos;
+
+		private final long endPos;
+
+		SegmentInputStream(FSDataInputStream inputStream, long startPos, long stateSize) {
+			super(inputStream);
+			this.startPos = startPos;
+			this.endPos = startPos + stateSize;
+		}
+
+		@Override
+		public void seek(long desired) throws IOException {
+			if (desired < 0 || startPos + desired > endPos) {
+				throw new IOException("Cannot seek to position " + desired + " outside of the segment.");
+			}
+			super.seek(startPos + desired);
+		}
+
+		@Override
+		public long getPos() throws IOException {
+			return super.getPos() - startPos;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return remaining() > 0L ? super.read() : -1;
+		}
+
+		@Override
+		public int read(byte[] b) throws IOException {
+			return read(b, 0, b.length);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			final long remaining = remaining();
+
+			if (len == 0) {
+				return 0;
+			} else if (remaining <= 0L) {
+				return -1;
+			}
+
+			return super.read(b, off, (int) Math.min(len, remaining));
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			return super.skip(Math.min(n, Math.max(remaining(), 0L)));
+		}
+
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(super.available(), Math.max(remaining(), 0L));
+		}
+
+		@Override
+		public void mark(int readlimit) {
+			// marking is not supported, see markSupported()
+		}
+
+		@Override
+		public void reset() throws IOException {
+			throw new IOException("mark/reset not supported");
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		private long remaining() throws IOException {
+			return endPos - super.getPos();
+		}
+	}
+}
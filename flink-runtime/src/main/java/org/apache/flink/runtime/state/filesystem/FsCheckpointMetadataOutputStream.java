@@ -51,6 +51,9 @@ public final class FsCheckpointMetadataOutputStream extends CheckpointMetadataOu
 
 	private final FileSystem fileSystem;
 
+	/** Whether state of the checkpoint may have been merged into shared files of its directory. */
+	private final boolean mayHoldMergedFiles;
+
 	private volatile boolean closed;
 
 	public FsCheckpointMetadataOutputStream(
@@ -58,9 +61,19 @@ public final class FsCheckpointMetadataOutputStream extends CheckpointMetadataOu
 			Path metadataFilePath,
 			Path exclusiveCheckpointDir) throws IOException {
 
+		this(fileSystem, metadataFilePath, exclusiveCheckpointDir, false);
+	}
+
+	public FsCheckpointMetadataOutputStream(
+			FileSystem fileSystem,
+			Path metadataFilePath,
+			Path exclusiveCheckpointDir,
+			boolean mayHoldMergedFiles) throws IOException {
+
 		this.fileSystem = checkNotNull(fileSystem);
 		this.metadataFilePath = checkNotNull(metadataFilePath);
 		this.exclusiveCheckpointDir = checkNotNull(exclusiveCheckpointDir);
+		this.mayHoldMergedFiles = mayHoldMergedFiles;
 
 		this.out = fileSystem.create(metadataFilePath, WriteMode.NO_OVERWRITE);
 	}
@@ -134,7 +147,8 @@ public final class FsCheckpointMetadataOutputStream extends CheckpointMetadataOu
 
 					return new FsCompletedCheckpointStorageLocation(
 							fileSystem, exclusiveCheckpointDir, metaDataHandle,
-							metaDataHandle.getFilePath().getParent().toString());
+							metaDataHandle.getFilePath().getParent().toString(),
+							mayHoldMergedFiles);
 				}
 				catch (Exception e) {
 					try {
@@ -52,6 +52,9 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 
 	private final int writeBufferSize;
 
+	/** Exclusive checkpoint state up to this size is merged into shared files, zero disables merging. */
+	private final int fileMergingThreshold;
+
 	private boolean baseLocationsInitialized = false;
 
 	public FsCheckpointStorage(
@@ -69,6 +72,23 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 				writeBufferSize);
 	}
 
+	public FsCheckpointStorage(
+			Path checkpointBaseDirectory,
+			@Nullable Path defaultSavepointDirectory,
+			JobID jobId,
+			int fileSizeThreshold,
+			int writeBufferSize,
+			int fileMergingThreshold) throws IOException {
+
+		this(checkpointBaseDirectory.getFileSystem(),
+				checkpointBaseDirectory,
+				defaultSavepointDirectory,
+				jobId,
+				fileSizeThreshold,
+				writeBufferSize,
+				fileMergingThreshold);
+	}
+
 	public FsCheckpointStorage(
 			FileSystem fs,
 			Path checkpointBaseDirectory,
@@ -77,10 +97,23 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 			int fileSizeThreshold,
 			int writeBufferSize) throws IOException {
 
+		this(fs, checkpointBaseDirectory, defaultSavepointDirectory, jobId, fileSizeThreshold, writeBufferSize, 0);
+	}
+
+	public FsCheckpointStorage(
+			FileSystem fs,
+			Path checkpointBaseDirectory,
+			@Nullable Path defaultSavepointDirectory,
+			JobID jobId,
+			int fileSizeThreshold,
+			int writeBufferSize,
+			int fileMergingThreshold) throws IOException {
+
 		super(jobId, defaultSavepointDirectory);
 
 		checkArgument(fileSizeThreshold >= 0);
 		checkArgument(writeBufferSize >= 0);
+		checkArgument(fileMergingThreshold >= 0);
 
 		this.fileSystem = checkNotNull(fs);
 		this.checkpointsDirectory = getCheckpointDirectoryForJob(checkpointBaseDirectory, jobId);
@@ -88,6 +121,7 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 		this.taskOwnedStateDirectory = new Path(checkpointsDirectory, CHECKPOINT_TASK_OWNED_STATE_DIR);
 		this.fileSizeThreshold = fileSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
+		this.fileMergingThreshold = fileMergingThreshold;
 	}
 
 	// ------------------------------------------------------------------------
@@ -131,7 +165,8 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 				taskOwnedStateDirectory,
 				CheckpointStorageLocationReference.getDefault(),
 				fileSizeThreshold,
-				writeBufferSize);
+				writeBufferSize,
+				fileMergingThreshold);
 	}
 
 	@Override
@@ -150,10 +185,12 @@ public class FsCheckpointStorage extends AbstractFsCheckpointStorage {
 					taskOwnedStateDirectory,
 					reference,
 					fileSizeThreshold,
-					writeBufferSize);
+					writeBufferSize,
+					fileMergingThreshold);
 		}
 		else {
-			// location encoded in the reference
+			// location encoded in the reference. the state of such locations (savepoints) is never
+			// merged, because they are disposed without tracking the references to shared files
 			final Path path = decodePathFromReference(reference);
 
 			return new FsCheckpointStorageLocation(
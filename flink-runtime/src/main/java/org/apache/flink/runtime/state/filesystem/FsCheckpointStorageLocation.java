@@ -52,6 +52,9 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 
 	private final int writeBufferSize;
 
+	/** Whether exclusive state is merged into shared files of the checkpoint directory. */
+	private final boolean mergesFiles;
+
 	public FsCheckpointStorageLocation(
 			FileSystem fileSystem,
 			Path checkpointDir,
@@ -61,7 +64,20 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 			int fileStateSizeThreshold,
 			int writeBufferSize) {
 
-		super(fileSystem, checkpointDir, sharedStateDir, fileStateSizeThreshold, writeBufferSize);
+		this(fileSystem, checkpointDir, sharedStateDir, taskOwnedStateDir, reference, fileStateSizeThreshold, writeBufferSize, 0);
+	}
+
+	public FsCheckpointStorageLocation(
+			FileSystem fileSystem,
+			Path checkpointDir,
+			Path sharedStateDir,
+			Path taskOwnedStateDir,
+			CheckpointStorageLocationReference reference,
+			int fileStateSizeThreshold,
+			int writeBufferSize,
+			int fileMergingThreshold) {
+
+		super(fileSystem, checkpointDir, sharedStateDir, fileStateSizeThreshold, writeBufferSize, fileMergingThreshold);
 
 		checkArgument(fileStateSizeThreshold >= 0);
 		checkArgument(writeBufferSize >= 0);
@@ -78,6 +94,7 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 		this.metadataFilePath = new Path(metadataDir, AbstractFsCheckpointStorage.METADATA_FILE_NAME);
 		this.fileStateSizeThreshold = fileStateSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
+		this.mergesFiles = fileMergingThreshold > fileStateSizeThreshold;
 	}
 
 	// ------------------------------------------------------------------------
@@ -106,7 +123,7 @@ public class FsCheckpointStorageLocation extends FsCheckpointStreamFactory imple
 
 	@Override
 	public CheckpointMetadataOutputStream createMetadataOutputStream() throws IOException {
-		return new FsCheckpointMetadataOutputStream(fileSystem, metadataFilePath, checkpointDirectory);
+		return new FsCheckpointMetadataOutputStream(fileSystem, metadataFilePath, checkpointDirectory, mergesFiles);
 	}
 
 	@Override
@@ -49,6 +49,10 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * files are written, but the state is returned inline in the state handle instead. This reduces
  * the problem of many small files that have only few bytes.
  *
+ * <p>If file merging is enabled, exclusive state up to a configurable size is not written to its own
+ * file, but merged with the state of streams which are concurrently closed by other tasks of the
+ * same process into a shared file (see {@link FileSegmentStateHandle}).
+ *
  * <h2>Note on directory creation</h2>
  *
  * <p>The given target directory must already exist, this factory does not ensure that the
@@ -75,6 +79,9 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 	/** State below this size will be stored as part of the metadata, rather than in files. */
 	private final int fileStateThreshold;
 
+	/** Exclusive state up to this size will be merged into shared files, zero disables merging. */
+	private final int fileMergingThreshold;
+
 	/** The directory for checkpoint exclusive state data. */
 	private final Path checkpointDirectory;
 
@@ -105,6 +112,33 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			int fileStateSizeThreshold,
 			int writeBufferSize) {
 
+		this(fileSystem, checkpointDirectory, sharedStateDirectory, fileStateSizeThreshold, writeBufferSize, 0);
+	}
+
+	/**
+	 * Creates a new stream factory that stores its checkpoint data in the file system and location
+	 * defined by the given Path, and which merges small exclusive state into shared files.
+	 *
+	 * <p><b>Important:</b> The given checkpoint directory must already exist. Refer to the class-level
+	 * JavaDocs for an explanation why this factory must not try and create the checkpoints.
+	 *
+	 * @param fileSystem The filesystem to write to.
+	 * @param checkpointDirectory The directory for checkpoint exclusive state data.
+	 * @param sharedStateDirectory The directory for shared checkpoint data.
+	 * @param fileStateSizeThreshold State up to this size will be stored as part of the metadata,
+	 *                             rather than in files
+	 * @param writeBufferSize The write buffer size.
+	 * @param fileMergingThreshold Exclusive state up to this size will be merged into shared files,
+	 *                             zero disables file merging.
+	 */
+	public FsCheckpointStreamFactory(
+			FileSystem fileSystem,
+			Path checkpointDirectory,
+			Path sharedStateDirectory,
+			int fileStateSizeThreshold,
+			int writeBufferSize,
+			int fileMergingThreshold) {
+
 		if (fileStateSizeThreshold < 0) {
 			throw new IllegalArgumentException("The threshold for file state size must be zero or larger.");
 		}
@@ -118,17 +152,30 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 				MAX_FILE_STATE_THRESHOLD);
 		}
 
+		if (fileMergingThreshold < 0) {
+			throw new IllegalArgumentException("The threshold for file merging must be zero or larger.");
+		}
+
 		this.filesystem = checkNotNull(fileSystem);
 		this.checkpointDirectory = checkNotNull(checkpointDirectory);
 		this.sharedStateDirectory = checkNotNull(sharedStateDirectory);
 		this.fileStateThreshold = fileStateSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
+		this.fileMergingThreshold = fileMergingThreshold;
 	}
 
 	// ------------------------------------------------------------------------
 
 	@Override
 	public FsCheckpointStateOutputStream createCheckpointStateOutputStream(CheckpointedStateScope scope) throws IOException {
+		if (scope == CheckpointedStateScope.EXCLUSIVE && fileMergingThreshold > fileStateThreshold) {
+			// shared state may be referenced by later checkpoints, so only exclusive state is merged
+			int bufferSize = Math.max(writeBufferSize, fileMergingThreshold);
+
+			return new FsCheckpointStateOutputStream(
+				checkpointDirectory, filesystem, bufferSize, fileStateThreshold, fileMergingThreshold);
+		}
+
 		Path target = scope == CheckpointedStateScope.EXCLUSIVE ? checkpointDirectory : sharedStateDirectory;
 		int bufferSize = Math.max(writeBufferSize, fileStateThreshold);
 
@@ -163,6 +210,8 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 
 		private final int localStateThreshold;
 
+		private final int fileMergingThreshold;
+
 		private final Path basePath;
 
 		private final FileSystem fs;
@@ -175,7 +224,14 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 					Path basePath, FileSystem fs,
 					int bufferSize, int localStateThreshold) {
 
-			if (bufferSize < localStateThreshold) {
+			this(basePath, fs, bufferSize, localStateThreshold, 0);
+		}
+
+		public FsCheckpointStateOutputStream(
+					Path basePath, FileSystem fs,
+					int bufferSize, int localStateThreshold, int fileMergingThreshold) {
+
+			if (bufferSize < localStateThreshold || bufferSize < fileMergingThreshold) {
 				throw new IllegalArgumentException();
 			}
 
@@ -183,6 +239,7 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 			this.fs = fs;
 			this.writeBuffer = new byte[bufferSize];
 			this.localStateThreshold = localStateThreshold;
+			this.fileMergingThreshold = fileMergingThreshold;
 		}
 
 		@Override
@@ -304,6 +361,14 @@ public class FsCheckpointStreamFactory implements CheckpointStreamFactory {
 						pos = writeBuffer.length;
 						return new ByteStreamStateHandle(createStatePath().toString(), bytes);
 					}
+					else if (outStream == null && pos <= fileMergingThreshold) {
+						try {
+							return FsSegmentFileWriter.writeSegment(fs, basePath, writeBuffer, pos);
+						} finally {
+							pos = writeBuffer.length;
+							closed = true;
+						}
+					}
 					else {
 						try {
 							flush();
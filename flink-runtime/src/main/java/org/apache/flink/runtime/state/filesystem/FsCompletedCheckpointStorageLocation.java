@@ -22,6 +22,9 @@ import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.runtime.state.CompletedCheckpointStorageLocation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
 
 /**
@@ -32,12 +35,20 @@ public class FsCompletedCheckpointStorageLocation implements CompletedCheckpoint
 
 	private static final long serialVersionUID = 1L;
 
+	private static final Logger LOG = LoggerFactory.getLogger(FsCompletedCheckpointStorageLocation.class);
+
 	private final Path exclusiveCheckpointDir;
 
 	private final FileStateHandle metadataFileHandle;
 
 	private final String externalPointer;
 
+	/**
+	 * Whether the directory may hold files with segments of merged state (see
+	 * {@link FileSegmentStateHandle}), which are deleted by the shared state registry.
+	 */
+	private final boolean mayHoldMergedFiles;
+
 	private transient FileSystem fs;
 
 	public FsCompletedCheckpointStorageLocation(
@@ -46,10 +57,21 @@ public class FsCompletedCheckpointStorageLocation implements CompletedCheckpoint
 			FileStateHandle metadataFileHandle,
 			String externalPointer) {
 
+		this(fs, exclusiveCheckpointDir, metadataFileHandle, externalPointer, false);
+	}
+
+	public FsCompletedCheckpointStorageLocation(
+			FileSystem fs,
+			Path exclusiveCheckpointDir,
+			FileStateHandle metadataFileHandle,
+			String externalPointer,
+			boolean mayHoldMergedFiles) {
+
 		this.fs = fs;
 		this.exclusiveCheckpointDir = exclusiveCheckpointDir;
 		this.metadataFileHandle = metadataFileHandle;
 		this.externalPointer = externalPointer;
+		this.mayHoldMergedFiles = mayHoldMergedFiles;
 	}
 
 	@Override
@@ -67,6 +89,18 @@ public class FsCompletedCheckpointStorageLocation implements CompletedCheckpoint
 		if (fs == null) {
 			fs = exclusiveCheckpointDir.getFileSystem();
 		}
-		fs.delete(exclusiveCheckpointDir, false);
+
+		if (!mayHoldMergedFiles) {
+			fs.delete(exclusiveCheckpointDir, false);
+			return;
+		}
+
+		// the shared files in the directory may still be referenced by later checkpoints. the shared
+		// state registry deletes the directory recursively once their last segment is discarded
+		try {
+			fs.delete(exclusiveCheckpointDir, false);
+		} catch (IOException e) {
+			LOG.debug("Keeping the checkpoint directory {}, which still holds shared state files.", exclusiveCheckpointDir, e);
+		}
 	}
 }
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.fs.EntropyInjector;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.FileSystem.WriteMode;
+import org.apache.flink.core.fs.OutputStreamAndPath;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.state.StreamStateHandle;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Writes the state chunks of checkpoint streams, which are closed concurrently by the tasks of
+ * this process, into shared files of the target directory.
+ *
+ * <p>The chunks are written with a group commit: the first caller writes all chunks which are
+ * pending at that time into one file, while chunks which arrive in the meantime wait and are
+ * written together into the next file. Each caller obtains a {@link FileSegmentStateHandle} for
+ * its chunk only after the shared file has been closed, so that the state is durable on all file
+ * systems. A chunk which ends up alone in a file is returned as a regular {@link FileStateHandle}.
+ */
+final class FsSegmentFileWriter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FsSegmentFileWriter.class);
+
+	/** The writers per target directory, shared by all tasks of this process. */
+	private static final ConcurrentHashMap<Path, FsSegmentFileWriter> WRITERS = new ConcurrentHashMap<>();
+
+	private final FileSystem fileSystem;
+
+	private final Path directory;
+
+	private final Object lock = new Object();
+
+	/** The chunks which wait to be written, guarded by the lock. */
+	private final List<Segment> pendingSegments = new ArrayList<>();
+
+	/** Whether a caller currently writes a shared file, guarded by the lock. */
+	private boolean writing;
+
+	private FsSegmentFileWriter(FileSystem fileSystem, Path directory) {
+		this.fileSystem = checkNotNull(fileSystem);
+		this.directory = checkNotNull(directory);
+	}
+
+	/**
+	 * Writes the given state chunk into a file of the given directory, which it possibly shares
+	 * with the chunks of concurrent callers. This method blocks until the file has been closed.
+	 *
+	 * @param fileSystem The file system to write to.
+	 * @param directory The directory in which the file is created.
+	 * @param data The buffer holding the state chunk.
+	 * @param length The number of bytes of the state chunk.
+	 * @return The handle to the written state chunk.
+	 * @throws IOException Thrown, if the state chunk could not be written.
+	 */
+	static StreamStateHandle writeSegment(
+			FileSystem fileSystem,
+			Path directory,
+			byte[] data,
+			int length) throws IOException {
+
+		final FsSegmentFileWriter writer = WRITERS.computeIfAbsent(
+			directory,
+			(ignored) -> new FsSegmentFileWriter(fileSystem, directory));
+
+		try {
+			return writer.write(data, length);
+		} finally {
+			writer.releaseIfIdle();
+		}
+	}
+
+	@VisibleForTesting
+	static int getNumberOfWriters() {
+		return WRITERS.size();
+	}
+
+	// ------------------------------------------------------------------------
+
+	private StreamStateHandle write(byte[] data, int length) throws IOException {
+		final Segment segment = new Segment(data, length);
+		final List<Segment> batch;
+
+		synchronized (lock) {
+			pendingSegments.add(segment);
+
+			boolean interrupted = false;
+
+			while (writing && !segment.isDone()) {
+				try {
+					lock.wait();
+				} catch (InterruptedException e) {
+					if (pendingSegments.remove(segment)) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted while waiting to write the state chunk.");
+					}
+
+					// the chunk is currently being written, so we wait for the result
+					interrupted = true;
+				}
+			}
+
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+
+			if (segment.isDone()) {
+				return segment.getHandle();
+			}
+
+			writing = true;
+			batch = new ArrayList<>(pendingSegments);
+			pendingSegments.clear();
+		}
+
+		StreamStateHandle[] handles = null;
+		IOException failure = null;
+
+		try {
+			handles = writeFile(batch);
+		} catch (IOException e) {
+			failure = e;
+		} finally {
+			synchronized (lock) {
+				for (int i = 0; i < batch.size(); i++) {
+					if (handles != null) {
+						batch.get(i).complete(handles[i], null);
+					} else {
+						batch.get(i).complete(null, failure != null ? failure : new IOException("Could not write the shared state file."));
+					}
+				}
+
+				writing = false;
+				lock.notifyAll();
+			}
+		}
+
+		return segment.getHandle();
+	}
+
+	private StreamStateHandle[] writeFile(List<Segment> batch) throws IOException {
+		final OutputStreamAndPath streamAndPath = EntropyInjector.createEntropyAware(
+			fileSystem, new Path(directory, UUID.randomUUID().toString()), WriteMode.NO_OVERWRITE);
+		final Path filePath = streamAndPath.path();
+		final StreamStateHandle[] handles = new StreamStateHandle[batch.size()];
+
+		try (FSDataOutputStream outputStream = streamAndPath.stream()) {
+			long offset = 0L;
+
+			for (int i = 0; i < handles.length; i++) {
+				final Segment segment = batch.get(i);
+				outputStream.write(segment.data, 0, segment.length);
+
+				handles[i] = handles.length == 1 ?
+					new FileStateHandle(filePath, segment.length) :
+					new FileSegmentStateHandle(filePath, offset, segment.length);
+
+				offset += segment.length;
+			}
+		} catch (IOException e) {
+			try {
+				fileSystem.delete(filePath, false);
+			} catch (Exception deleteException) {
+				LOG.warn("Could not delete the shared state file {}.", filePath, deleteException);
+			}
+
+			throw new IOException("Could not write the shared state file " + filePath + '.', e);
+		}
+
+		return handles;
+	}
+
+	private void releaseIfIdle() {
+		synchronized (lock) {
+			// callers which still hold on to this writer after its removal continue to work
+			// correctly, only their chunks are not batched with the chunks of a new writer
+			if (!writing && pendingSegments.isEmpty()) {
+				WRITERS.remove(directory, this);
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * A state chunk which waits to be written, guarded by the lock of the writer.
+	 */
+	private static final class Segment {
+
+		private final byte[] data;
+
+		private final int length;
+
+		private boolean done;
+
+		@Nullable
+		private StreamStateHandle handle;
+
+		@Nullable
+		private IOException failure;
+
+		Segment(byte[] data, int length) {
+			this.data = data;
+			this.length = length;
+		}
+
+		boolean isDone() {
+			return done;
+		}
+
+		void complete(@Nullable StreamStateHandle handle, @Nullable IOException failure) {
+			this.handle = handle;
+			this.failure = failure;
+			this.done = true;
+		}
+
+		StreamStateHandle getHandle() throws IOException {
+			if (failure != null) {
+				throw new IOException("Could not write the state chunk.", failure);
+			}
+			return handle;
+		}
+	}
+}
@@ -43,6 +43,7 @@ import org.apache.flink.runtime.state.OperatorStateHandle;
 import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.heap.HeapKeyedStateBackendBuilder;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
+import org.apache.flink.runtime.state.heap.HeapStateSizeMonitor;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.util.TernaryBoolean;
 
@@ -120,6 +121,12 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 	 * */
 	private final int writeBufferSize;
 
+	/**
+	 * Exclusive state up to this size is merged into files shared with other subtasks, zero disables merging.
+	 * A value of '-1' means not yet configured, in which case the default will be used.
+	 */
+	private final int fileMergingThreshold;
+
 	// -----------------------------------------------------------------------
 
 	/**
@@ -347,6 +354,7 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 		this.fileStateThreshold = fileStateSizeThreshold;
 		this.writeBufferSize = writeBufferSize;
 		this.asynchronousSnapshots = asynchronousSnapshots;
+		this.fileMergingThreshold = -1;
 	}
 
 	/**
@@ -386,6 +394,12 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 			configuration.getInteger(CheckpointingOptions.FS_WRITE_BUFFER_SIZE);
 
 		this.writeBufferSize = Math.max(bufferSize, this.fileStateThreshold);
+
+		final int mergingThreshold = original.fileMergingThreshold >= 0 ?
+			original.fileMergingThreshold :
+			configuration.getInteger(CheckpointingOptions.FS_FILE_MERGING_THRESHOLD);
+
+		this.fileMergingThreshold = Math.max(mergingThreshold, 0);
 	}
 
 	// ------------------------------------------------------------------------
@@ -449,6 +463,21 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 			CheckpointingOptions.FS_WRITE_BUFFER_SIZE.defaultValue();
 	}
 
+	/**
+	 * Gets the maximum size of exclusive state chunks which are merged into files shared with
+	 * other subtasks. A value of zero means that file merging is disabled.
+	 *
+	 * <p>If not explicitly configured, this is the default value of
+	 * {@link CheckpointingOptions#FS_FILE_MERGING_THRESHOLD}.
+	 *
+	 * @return The file merging threshold, in bytes.
+	 */
+	public int getFileMergingThreshold() {
+		return fileMergingThreshold >= 0 ?
+			fileMergingThreshold :
+			CheckpointingOptions.FS_FILE_MERGING_THRESHOLD.defaultValue();
+	}
+
 	/**
 	 * Gets whether the key/value data structures are asynchronously snapshotted.
 	 *
@@ -487,7 +516,8 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 			getSavepointPath(),
 			jobId,
 			getMinFileSizeThreshold(),
-			getWriteBufferSize());
+			getWriteBufferSize(),
+			getFileMergingThreshold());
 	}
 
 	// ------------------------------------------------------------------------
@@ -526,7 +556,9 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 			localRecoveryConfig,
 			priorityQueueSetFactory,
 			isUsingAsynchronousSnapshots(),
-			cancelStreamRegistry).build();
+			cancelStreamRegistry)
+			.setStateSizeMonitor(HeapStateSizeMonitor.create(env.getTaskManagerInfo().getConfiguration(), metricGroup))
+			.build();
 	}
 
 	@Override
@@ -554,6 +586,7 @@ public class FsStateBackend extends AbstractFileStateBackend implements Configur
 				"checkpoints: '" + getCheckpointPath() +
 				"', savepoints: '" + getSavepointPath() +
 				"', asynchronous: " + asynchronousSnapshots +
-				", fileStateThreshold: " + fileStateThreshold + ")";
+				", fileStateThreshold: " + fileStateThreshold +
+				", fileMergingThreshold: " + fileMergingThreshold + ")";
 	}
 }
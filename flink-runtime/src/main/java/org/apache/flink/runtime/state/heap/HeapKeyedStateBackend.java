@@ -58,6 +58,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.List;
@@ -111,6 +112,12 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 	 */
 	private final HeapPriorityQueueSetFactory priorityQueueSetFactory;
 
+	/**
+	 * Estimates the size of the registered Key/Value states, or {@code null} if the state size is not estimated.
+	 */
+	@Nullable
+	private final HeapStateSizeMonitor stateSizeMonitor;
+
 	public HeapKeyedStateBackend(
 		TaskKvStateRegistry kvStateRegistry,
 		TypeSerializer<K> keySerializer,
@@ -124,7 +131,8 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		LocalRecoveryConfig localRecoveryConfig,
 		HeapPriorityQueueSetFactory priorityQueueSetFactory,
 		HeapSnapshotStrategy<K> snapshotStrategy,
-		InternalKeyContext<K> keyContext) {
+		InternalKeyContext<K> keyContext,
+		@Nullable HeapStateSizeMonitor stateSizeMonitor) {
 		super(
 			kvStateRegistry,
 			keySerializer,
@@ -140,6 +148,7 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		LOG.info("Initializing heap keyed state backend with stream factory.");
 		this.priorityQueueSetFactory = priorityQueueSetFactory;
 		this.snapshotStrategy = snapshotStrategy;
+		this.stateSizeMonitor = stateSizeMonitor;
 	}
 
 	// ------------------------------------------------------------------------
@@ -243,6 +252,10 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 			registeredKVStates.put(stateDesc.getName(), stateTable);
 		}
 
+		if (stateSizeMonitor != null) {
+			stateSizeMonitor.register(stateDesc.getName(), stateTable);
+		}
+
 		return stateTable;
 	}
 
@@ -306,6 +319,15 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 		return snapshotRunner;
 	}
 
+	@Override
+	public void dispose() {
+		super.dispose();
+
+		if (stateSizeMonitor != null) {
+			stateSizeMonitor.close();
+		}
+	}
+
 	@Override
 	public void notifyCheckpointComplete(long checkpointId) {
 		//Nothing to do
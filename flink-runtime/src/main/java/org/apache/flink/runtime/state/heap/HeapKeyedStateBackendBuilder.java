@@ -31,6 +31,7 @@ import org.apache.flink.runtime.state.StreamCompressionDecorator;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -53,7 +54,15 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 	 * Whether asynchronous snapshot is enabled.
 	 */
 	private final boolean asynchronousSnapshots;
-
+	/**
+	 * Whether the state tables keep the state of the current key only.
+	 */
+	private final boolean singleKeyState;
+	/**
+	 * Estimates the size of the state, or {@code null} if the state size is not estimated.
+	 */
+	@Nullable
+	private HeapStateSizeMonitor stateSizeMonitor;
 
 	public HeapKeyedStateBackendBuilder(
 		TaskKvStateRegistry kvStateRegistry,
@@ -69,6 +78,38 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 		HeapPriorityQueueSetFactory priorityQueueSetFactory,
 		boolean asynchronousSnapshots,
 		CloseableRegistry cancelStreamRegistry) {
+		this(
+			kvStateRegistry,
+			keySerializer,
+			userCodeClassLoader,
+			numberOfKeyGroups,
+			keyGroupRange,
+			executionConfig,
+			ttlTimeProvider,
+			stateHandles,
+			keyGroupCompressionDecorator,
+			localRecoveryConfig,
+			priorityQueueSetFactory,
+			asynchronousSnapshots,
+			false,
+			cancelStreamRegistry);
+	}
+
+	HeapKeyedStateBackendBuilder(
+		TaskKvStateRegistry kvStateRegistry,
+		TypeSerializer<K> keySerializer,
+		ClassLoader userCodeClassLoader,
+		int numberOfKeyGroups,
+		KeyGroupRange keyGroupRange,
+		ExecutionConfig executionConfig,
+		TtlTimeProvider ttlTimeProvider,
+		@Nonnull Collection<KeyedStateHandle> stateHandles,
+		StreamCompressionDecorator keyGroupCompressionDecorator,
+		LocalRecoveryConfig localRecoveryConfig,
+		HeapPriorityQueueSetFactory priorityQueueSetFactory,
+		boolean asynchronousSnapshots,
+		boolean singleKeyState,
+		CloseableRegistry cancelStreamRegistry) {
 		super(
 			kvStateRegistry,
 			keySerializer,
@@ -83,6 +124,16 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 		this.localRecoveryConfig = localRecoveryConfig;
 		this.priorityQueueSetFactory = priorityQueueSetFactory;
 		this.asynchronousSnapshots = asynchronousSnapshots;
+		this.singleKeyState = singleKeyState;
+	}
+
+	/**
+	 * Sets the monitor which estimates the size of the state of the backend, or {@code null} to
+	 * not estimate the state size.
+	 */
+	public HeapKeyedStateBackendBuilder<K> setStateSizeMonitor(@Nullable HeapStateSizeMonitor stateSizeMonitor) {
+		this.stateSizeMonitor = stateSizeMonitor;
+		return this;
 	}
 
 	@Override
@@ -128,7 +179,8 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 			localRecoveryConfig,
 			priorityQueueSetFactory,
 			snapshotStrategy,
-			keyContext);
+			keyContext,
+			stateSizeMonitor);
 	}
 
 	private HeapSnapshotStrategy<K> initSnapshotStrategy(
@@ -136,9 +188,14 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
 		Map<String, StateTable<K, ?, ?>> registeredKVStates,
 		Map<String, HeapPriorityQueueSnapshotRestoreWrapper> registeredPQStates,
 		CloseableRegistry cancelStreamRegistry) {
-		SnapshotStrategySynchronicityBehavior<K> synchronicityTrait = asynchronousSnapshots ?
-			new AsyncSnapshotStrategySynchronicityBehavior<>() :
-			new SyncSnapshotStrategySynchronicityBehavior<>();
+		SnapshotStrategySynchronicityBehavior<K> synchronicityTrait;
+		if (singleKeyState) {
+			synchronicityTrait = new SingleKeySnapshotStrategySynchronicityBehavior<>();
+		} else if (asynchronousSnapshots) {
+			synchronicityTrait = new AsyncSnapshotStrategySynchronicityBehavior<>();
+		} else {
+			synchronicityTrait = new SyncSnapshotStrategySynchronicityBehavior<>();
+		}
 		return new HeapSnapshotStrategy<>(
 			synchronicityTrait,
 			registeredKVStates,
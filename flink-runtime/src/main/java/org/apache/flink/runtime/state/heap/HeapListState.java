@@ -30,7 +30,6 @@ import org.apache.flink.runtime.state.internal.InternalListState;
 import org.apache.flink.util.Preconditions;
 
 import java.io.ByteArrayOutputStream;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -95,7 +94,7 @@ class HeapListState<K, N, V>
 		List<V> list = map.get(namespace);
 
 		if (list == null) {
-			list = new ArrayList<>();
+			list = valueSerializer.createInstance();
 			map.put(namespace, list);
 		}
 		list.add(value);
@@ -158,7 +157,7 @@ class HeapListState<K, N, V>
 			return;
 		}
 
-		List<V> newStateList = new ArrayList<>();
+		List<V> newStateList = valueSerializer.createInstance();
 		for (V v : values) {
 			Preconditions.checkNotNull(v, "You cannot add null to a ListState.");
 			newStateList.add(v);
@@ -174,7 +173,7 @@ class HeapListState<K, N, V>
 		if (!values.isEmpty()) {
 			stateTable.transform(currentNamespace, values, (previousState, value) -> {
 				if (previousState == null) {
-					previousState = new ArrayList<>();
+					previousState = valueSerializer.createInstance();
 				}
 				for (V v : value) {
 					Preconditions.checkNotNull(v, "You cannot add null to a ListState.");
@@ -28,7 +28,6 @@ import org.apache.flink.queryablestate.client.state.serialization.KvStateSeriali
 import org.apache.flink.runtime.state.internal.InternalMapState;
 import org.apache.flink.util.Preconditions;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -96,7 +95,7 @@ class HeapMapState<K, N, UK, UV>
 
 		Map<UK, UV> userMap = stateTable.get(currentNamespace);
 		if (userMap == null) {
-			userMap = new HashMap<>();
+			userMap = valueSerializer.createInstance();
 			stateTable.put(currentNamespace, userMap);
 		}
 
@@ -109,7 +108,7 @@ class HeapMapState<K, N, UK, UV>
 		Map<UK, UV> userMap = stateTable.get(currentNamespace);
 
 		if (userMap == null) {
-			userMap = new HashMap<>();
+			userMap = valueSerializer.createInstance();
 			stateTable.put(currentNamespace, userMap);
 		}
 
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.configuration.CheckpointingOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.IllegalConfigurationException;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Estimates the heap memory footprint of the keyed state of a {@link HeapKeyedStateBackend}, exposes
+ * the estimates as metrics and logs a warning when the estimated size of all states exceeds a
+ * configured fraction of the maximum heap size.
+ *
+ * <p>All slots of a TaskManager share its heap, so the warning threshold is compared against the
+ * estimated size of the states of all heap keyed state backends of the TaskManager, which register
+ * their monitors in a {@link Registry} when they create their first state.
+ *
+ * <p>The size of each registered state is estimated by a {@link StateSizeEstimator}. The metrics are
+ * registered in the group {@value #METRIC_GROUP_NAME} of the operator, with a subgroup for each state.
+ */
+public class HeapStateSizeMonitor {
+
+	private static final Logger LOG = LoggerFactory.getLogger(HeapStateSizeMonitor.class);
+
+	static final String METRIC_GROUP_NAME = "heapState";
+
+	static final String NUM_ENTRIES = "numEntries";
+
+	static final String ESTIMATED_ENTRY_SIZE = "estimatedEntrySize";
+
+	static final String ESTIMATED_SIZE = "estimatedSize";
+
+	static final String ESTIMATED_TOTAL_SIZE = "estimatedTotalSize";
+
+	/** The monitors of all heap keyed state backends of this TaskManager. */
+	private static final Registry TASK_MANAGER_REGISTRY = new Registry();
+
+	private final MetricGroup metricGroup;
+
+	private final Registry registry;
+
+	private final int sampleInterval;
+
+	/** The estimated size of all states above which a warning is logged, in bytes. */
+	private final long warningThreshold;
+
+	/** The estimators of the registered states, which are iterated by the metric reporters. */
+	private final Map<String, StateSizeEstimator> estimators;
+
+	@VisibleForTesting
+	HeapStateSizeMonitor(MetricGroup metricGroup, Registry registry, int sampleInterval, long warningThreshold) {
+		checkArgument(sampleInterval > 0, "The sample interval must be positive.");
+		this.metricGroup = checkNotNull(metricGroup).addGroup(METRIC_GROUP_NAME);
+		this.registry = checkNotNull(registry);
+		this.sampleInterval = sampleInterval;
+		this.warningThreshold = warningThreshold;
+		this.estimators = new ConcurrentHashMap<>();
+
+		this.metricGroup.gauge(ESTIMATED_TOTAL_SIZE, (Gauge<Long>) this::getEstimatedTotalSize);
+	}
+
+	/**
+	 * Creates a monitor for the state of a heap keyed state backend, or returns {@code null} if the
+	 * state size estimation is disabled in the given configuration.
+	 *
+	 * @param config The configuration of the task manager.
+	 * @param metricGroup The metric group of the operator that owns the state backend.
+	 */
+	@Nullable
+	public static HeapStateSizeMonitor create(Configuration config, @Nullable MetricGroup metricGroup) {
+		final int sampleInterval = config.getInteger(CheckpointingOptions.HEAP_STATE_SIZE_SAMPLE_INTERVAL);
+		if (sampleInterval <= 0 || metricGroup == null) {
+			return null;
+		}
+
+		final float warningFraction = config.getFloat(CheckpointingOptions.HEAP_STATE_SIZE_WARNING_THRESHOLD);
+		if (warningFraction <= 0) {
+			throw new IllegalConfigurationException("The option '" +
+				CheckpointingOptions.HEAP_STATE_SIZE_WARNING_THRESHOLD.key() + "' must be positive, but is " +
+				warningFraction + '.');
+		}
+
+		return new HeapStateSizeMonitor(
+			metricGroup,
+			TASK_MANAGER_REGISTRY,
+			sampleInterval,
+			(long) (warningFraction * Runtime.getRuntime().maxMemory()));
+	}
+
+	/**
+	 * Starts to estimate the size of the given state table, unless it is estimated already.
+	 */
+	void register(String stateName, StateTable<?, ?, ?> stateTable) {
+		if (stateTable.getSizeEstimator() != null) {
+			return;
+		}
+
+		final StateSizeEstimator estimator = new StateSizeEstimator(stateTable, sampleInterval, this::checkEstimatedSize);
+		stateTable.setSizeEstimator(estimator);
+		estimators.put(stateName, estimator);
+		registry.monitors.add(this);
+
+		final MetricGroup stateGroup = metricGroup.addGroup(stateName);
+		stateGroup.gauge(NUM_ENTRIES, (Gauge<Long>) estimator::getNumEntries);
+		stateGroup.gauge(ESTIMATED_ENTRY_SIZE, (Gauge<Long>) estimator::getEstimatedEntrySize);
+		stateGroup.gauge(ESTIMATED_SIZE, (Gauge<Long>) estimator::getEstimatedSize);
+	}
+
+	/**
+	 * Returns the estimated size of all registered states, in bytes.
+	 */
+	long getEstimatedTotalSize() {
+		long totalSize = 0;
+		for (StateSizeEstimator estimator : estimators.values()) {
+			totalSize += estimator.getEstimatedSize();
+		}
+		return totalSize;
+	}
+
+	/**
+	 * Stops to count the states of this monitor towards the estimated size of the TaskManager's
+	 * states. Called when the state backend is disposed.
+	 */
+	void close() {
+		registry.monitors.remove(this);
+	}
+
+	@VisibleForTesting
+	boolean isWarningThresholdExceeded() {
+		return registry.thresholdExceeded.get();
+	}
+
+	private void checkEstimatedSize() {
+		final long taskManagerSize = registry.getEstimatedTotalSize();
+		if (taskManagerSize <= warningThreshold) {
+			registry.thresholdExceeded.set(false);
+		} else if (registry.thresholdExceeded.compareAndSet(false, true)) {
+
+			String largestState = null;
+			long largestSize = -1;
+			for (Map.Entry<String, StateSizeEstimator> entry : estimators.entrySet()) {
+				final long size = entry.getValue().getEstimatedSize();
+				if (size > largestSize) {
+					largestState = entry.getKey();
+					largestSize = size;
+				}
+			}
+
+			LOG.warn("The estimated size of the keyed state on the heap of this TaskManager is {} bytes, which " +
+					"exceeds the warning threshold of {} bytes ('{}'), with a maximum heap size of {} bytes. The state " +
+					"backend which reported this holds an estimated {} bytes, of which its largest state '{}' holds " +
+					"{} bytes. Consider increasing the heap size or the parallelism, or using the RocksDBStateBackend.",
+				taskManagerSize,
+				warningThreshold,
+				CheckpointingOptions.HEAP_STATE_SIZE_WARNING_THRESHOLD.key(),
+				Runtime.getRuntime().maxMemory(),
+				getEstimatedTotalSize(),
+				largestState,
+				largestSize);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The monitors of the heap keyed state backends which share a heap, and whether the estimated
+	 * size of all their states exceeded the warning threshold at the last sample.
+	 */
+	@VisibleForTesting
+	static final class Registry {
+
+		private final Set<HeapStateSizeMonitor> monitors = ConcurrentHashMap.newKeySet();
+
+		private final AtomicBoolean thresholdExceeded = new AtomicBoolean();
+
+		/**
+		 * Returns the estimated size of the states of all registered monitors, in bytes.
+		 */
+		long getEstimatedTotalSize() {
+			long totalSize = 0;
+			for (HeapStateSizeMonitor monitor : monitors) {
+				totalSize += monitor.getEstimatedTotalSize();
+			}
+			return totalSize;
+		}
+	}
+}
@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the heap memory footprint of object graphs, such as the keys, namespaces and states of
+ * the entries of heap state.
+ *
+ * <p>The estimation sums up the shallow sizes of the objects that are reachable from the given roots,
+ * counting every object once. It assumes the memory layout of a 64 bit HotSpot JVM, with compressed
+ * references if the maximum heap size is below 32 GB, and ignores the padding between fields.
+ *
+ * <p>The fields of classes of the JDK are not accessed. Instead, the collections and maps of the JDK
+ * are estimated from the typical layout of their backing arrays and nodes, and other classes of the
+ * JDK, such as boxed primitives, contribute their shallow size. Arrays, collections and maps with
+ * more than {@link #MAX_SAMPLED_ELEMENTS} elements are estimated from a sample of their elements,
+ * which bounds the cost of an estimation.
+ */
+final class ObjectSizeEstimator {
+
+	/** The maximum number of elements of an array, a collection or a map that are visited. */
+	static final int MAX_SAMPLED_ELEMENTS = 64;
+
+	/** The maximum number of objects that are visited by a single estimation. */
+	private static final int MAX_VISITED_OBJECTS = 4096;
+
+	private static final boolean COMPRESSED_REFERENCES = Runtime.getRuntime().maxMemory() < (32L << 30);
+
+	static final int REFERENCE_SIZE = COMPRESSED_REFERENCES ? 4 : 8;
+
+	static final int OBJECT_HEADER_SIZE = COMPRESSED_REFERENCES ? 12 : 16;
+
+	/** The size of the header of an array, including the length. */
+	static final int ARRAY_HEADER_SIZE = OBJECT_HEADER_SIZE + 4;
+
+	private static final int OBJECT_ALIGNMENT = 8;
+
+	/** The size of a node of a hash map of the JDK, which holds a hash, a key, a value and the next node. */
+	private static final long MAP_NODE_SIZE = align(OBJECT_HEADER_SIZE + 4 + 3 * REFERENCE_SIZE);
+
+	private static final ClassValue<ClassLayout> CLASS_LAYOUTS = new ClassValue<ClassLayout>() {
+		@Override
+		protected ClassLayout computeValue(Class<?> type) {
+			return ClassLayout.of(type);
+		}
+	};
+
+	private ObjectSizeEstimator() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Estimates the size of the objects which are reachable from the given roots, in bytes.
+	 */
+	static long estimateSize(Object... roots) {
+		final Set<Object> visitedObjects = Collections.newSetFromMap(new IdentityHashMap<>());
+		final ArrayDeque<PendingObject> pendingObjects = new ArrayDeque<>();
+		for (Object root : roots) {
+			enqueue(root, 1.0, visitedObjects, pendingObjects);
+		}
+
+		double size = 0;
+		int numVisitedObjects = 0;
+		while (!pendingObjects.isEmpty() && numVisitedObjects++ < MAX_VISITED_OBJECTS) {
+			final PendingObject pending = pendingObjects.poll();
+			size += pending.weight * visit(pending.object, pending.weight, visitedObjects, pendingObjects);
+		}
+		return (long) size;
+	}
+
+	/**
+	 * Returns the shallow size of an instance of the given class, in bytes.
+	 */
+	static long shallowSizeOf(Class<?> type) {
+		return CLASS_LAYOUTS.get(type).shallowSize;
+	}
+
+	/**
+	 * Returns the size of the given object, excluding the objects it references, and enqueues the
+	 * referenced objects. The weight of an object is the number of objects it stands for, which is
+	 * larger than one for the sampled elements of large arrays, collections and maps.
+	 */
+	private static long visit(
+			Object object,
+			double weight,
+			Set<Object> visitedObjects,
+			ArrayDeque<PendingObject> pendingObjects) {
+
+		final Class<?> type = object.getClass();
+
+		if (type.isArray()) {
+			final Class<?> componentType = type.getComponentType();
+			final int length = Array.getLength(object);
+			if (componentType.isPrimitive()) {
+				return arraySize(length, primitiveSize(componentType));
+			}
+
+			final Object[] array = (Object[]) object;
+			final int numSamples = Math.min(length, MAX_SAMPLED_ELEMENTS);
+			final double elementWeight = weight * length / Math.max(numSamples, 1);
+			for (int i = 0; i < numSamples; i++) {
+				enqueue(array[(int) ((long) i * length / numSamples)], elementWeight, visitedObjects, pendingObjects);
+			}
+			return arraySize(length, REFERENCE_SIZE);
+		}
+
+		if (object instanceof String) {
+			// the backing array is sized for UTF-16, which over-estimates compact strings
+			return CLASS_LAYOUTS.get(type).shallowSize + arraySize(((String) object).length(), 2);
+		}
+
+		if (object instanceof Class || object instanceof Enum) {
+			// classes and enum constants are shared and not attributed to the objects referencing them
+			return 0;
+		}
+
+		final ClassLayout layout = CLASS_LAYOUTS.get(type);
+		for (Field field : layout.referenceFields) {
+			try {
+				enqueue(field.get(object), weight, visitedObjects, pendingObjects);
+			} catch (IllegalAccessException e) {
+				// the field was made accessible when the layout was computed
+				throw new IllegalStateException(e);
+			}
+		}
+
+		long size = layout.shallowSize;
+		if (layout.inheritsJdkStorage) {
+			if (object instanceof Map) {
+				final Map<?, ?> map = (Map<?, ?>) object;
+				size += hashTableSize(map.size());
+				enqueueSampledElements(map.entrySet(), true, weight, visitedObjects, pendingObjects);
+			} else if (object instanceof Set) {
+				final Set<?> set = (Set<?>) object;
+				size += hashTableSize(set.size());
+				enqueueSampledElements(set, false, weight, visitedObjects, pendingObjects);
+			} else if (object instanceof Collection) {
+				final Collection<?> collection = (Collection<?>) object;
+				size += arraySize(collection.size(), REFERENCE_SIZE);
+				enqueueSampledElements(collection, false, weight, visitedObjects, pendingObjects);
+			}
+		}
+		return size;
+	}
+
+	private static void enqueueSampledElements(
+			Collection<?> elements,
+			boolean mapEntries,
+			double weight,
+			Set<Object> visitedObjects,
+			ArrayDeque<PendingObject> pendingObjects) {
+
+		final int size = elements.size();
+		final int numSamples = Math.min(size, MAX_SAMPLED_ELEMENTS);
+		final double elementWeight = weight * size / Math.max(numSamples, 1);
+		final Iterator<?> iterator = elements.iterator();
+		for (int i = 0; i < numSamples && iterator.hasNext(); i++) {
+			final Object element = iterator.next();
+			if (mapEntries) {
+				final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) element;
+				enqueue(entry.getKey(), elementWeight, visitedObjects, pendingObjects);
+				enqueue(entry.getValue(), elementWeight, visitedObjects, pendingObjects);
+			} else {
+				enqueue(element, elementWeight, visitedObjects, pendingObjects);
+			}
+		}
+	}
+
+	private static void enqueue(
+			Object object,
+			double weight,
+			Set<Object> visitedObjects,
+			ArrayDeque<PendingObject> pendingObjects) {
+
+		if (object != null && visitedObjects.add(object)) {
+			pendingObjects.add(new PendingObject(object, weight));
+		}
+	}
+
+	/**
+	 * Returns the size of the table and the nodes of a hash map of the JDK with the given number of
+	 * entries and the default load factor.
+	 */
+	private static long hashTableSize(int numEntries) {
+		return arraySize((long) Math.ceil(numEntries / 0.75), REFERENCE_SIZE) + numEntries * MAP_NODE_SIZE;
+	}
+
+	private static long arraySize(long length, int elementSize) {
+		return align(ARRAY_HEADER_SIZE + length * elementSize);
+	}
+
+	private static long align(long size) {
+		return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+	}
+
+	private static int primitiveSize(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		} else if (type == int.class || type == float.class) {
+			return 4;
+		} else if (type == short.class || type == char.class) {
+			return 2;
+		} else {
+			return 1;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * An object that was reached but not visited yet.
+	 */
+	private static final class PendingObject {
+
+		final Object object;
+
+		final double weight;
+
+		PendingObject(Object object, double weight) {
+			this.object = object;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * The shallow size and the followed reference fields of a class.
+	 */
+	private static final class ClassLayout {
+
+		final long shallowSize;
+
+		/** The accessible reference fields declared by classes outside of the JDK. */
+		final Field[] referenceFields;
+
+		/** Whether the class is or extends a concrete class of the JDK, such as a collection. */
+		final boolean inheritsJdkStorage;
+
+		private ClassLayout(long shallowSize, Field[] referenceFields, boolean inheritsJdkStorage) {
+			this.shallowSize = shallowSize;
+			this.referenceFields = referenceFields;
+			this.inheritsJdkStorage = inheritsJdkStorage;
+		}
+
+		static ClassLayout of(Class<?> type) {
+			long size = OBJECT_HEADER_SIZE;
+			final List<Field> referenceFields = new ArrayList<>();
+			boolean inheritsJdkStorage = false;
+
+			for (Class<?> declaringClass = type; declaringClass != null && declaringClass != Object.class;
+					declaringClass = declaringClass.getSuperclass()) {
+
+				final boolean jdkClass = declaringClass.getClassLoader() == null;
+				inheritsJdkStorage |= jdkClass && !Modifier.isAbstract(declaringClass.getModifiers());
+
+				for (Field field : declaringClass.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers())) {
+						continue;
+					}
+
+					final Class<?> fieldType = field.getType();
+					if (fieldType.isPrimitive()) {
+						size += primitiveSize(fieldType);
+					} else {
+						size += REFERENCE_SIZE;
+						// synthetic fields reference enclosing instances, which are not part of the object
+						if (!jdkClass && !field.isSynthetic() && trySetAccessible(field)) {
+							referenceFields.add(field);
+						}
+					}
+				}
+			}
+
+			return new ClassLayout(align(size), referenceFields.toArray(new Field[0]), inheritsJdkStorage);
+		}
+
+		private static boolean trySetAccessible(Field field) {
+			try {
+				field.setAccessible(true);
+				return true;
+			} catch (RuntimeException e) {
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.StateTransformationFunction;
+import org.apache.flink.runtime.state.internal.InternalKvState;
+
+import javax.annotation.Nonnull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A {@link StateMap} that holds the state of a single key only. The state of the previous key is
+ * discarded as soon as the map is accessed with another key.
+ *
+ * <p>The map is meant for inputs that are sorted by key, where the state of a key is never
+ * accessed again once the next key was seen.
+ *
+ * @param <K> type of key
+ * @param <N> type of namespace
+ * @param <S> type of state
+ */
+public class SingleKeyStateMap<K, N, S> extends StateMap<K, N, S> {
+
+	/** The states of the current key, by namespace. */
+	private final Map<N, S> namespaceMap;
+
+	/** The key the states belong to, or null if there are no states. */
+	private K currentKey;
+
+	public SingleKeyStateMap() {
+		this.namespaceMap = new HashMap<>();
+	}
+
+	// Public API from StateMap ------------------------------------------------------------------------------
+
+	@Override
+	public int size() {
+		return namespaceMap.size();
+	}
+
+	@Override
+	public S get(K key, N namespace) {
+		return isCurrentKey(key) ? namespaceMap.get(namespace) : null;
+	}
+
+	@Override
+	public boolean containsKey(K key, N namespace) {
+		return isCurrentKey(key) && namespaceMap.containsKey(namespace);
+	}
+
+	@Override
+	public void put(K key, N namespace, S state) {
+		switchKey(key);
+		namespaceMap.put(namespace, state);
+	}
+
+	@Override
+	public S putAndGetOld(K key, N namespace, S state) {
+		switchKey(key);
+		return namespaceMap.put(namespace, state);
+	}
+
+	@Override
+	public void remove(K key, N namespace) {
+		removeAndGetOld(key, namespace);
+	}
+
+	@Override
+	public S removeAndGetOld(K key, N namespace) {
+		return isCurrentKey(key) ? namespaceMap.remove(namespace) : null;
+	}
+
+	@Override
+	public <T> void transform(
+		K key, N namespace, T value, StateTransformationFunction<S, T> transformation) throws Exception {
+		switchKey(key);
+		namespaceMap.put(namespace, transformation.apply(namespaceMap.get(namespace), value));
+	}
+
+	@Override
+	public Iterator<StateEntry<K, N, S>> iterator() {
+		return namespaceMap.entrySet().stream()
+			.map(entry -> (StateEntry<K, N, S>) new StateEntry.SimpleStateEntry<>(currentKey, entry.getKey(), entry.getValue()))
+			.iterator();
+	}
+
+	@Override
+	public Stream<K> getKeys(N namespace) {
+		return namespaceMap.containsKey(namespace) ? Stream.of(currentKey) : Stream.empty();
+	}
+
+	@Override
+	public InternalKvState.StateIncrementalVisitor<K, N, S> getStateIncrementalVisitor(
+		int recommendedMaxNumberOfReturnedRecords) {
+		return new StateEntryVisitor();
+	}
+
+	@Override
+	public int sizeOfNamespace(Object namespace) {
+		return namespaceMap.containsKey(namespace) ? 1 : 0;
+	}
+
+	@Nonnull
+	@Override
+	public StateMapSnapshot<K, N, S, ? extends StateMap<K, N, S>> stateSnapshot() {
+		throw new UnsupportedOperationException("The state of a single key cannot be snapshotted.");
+	}
+
+	private boolean isCurrentKey(K key) {
+		return key == currentKey || key.equals(currentKey);
+	}
+
+	private void switchKey(K key) {
+		if (!isCurrentKey(key)) {
+			namespaceMap.clear();
+			currentKey = key;
+		}
+	}
+
+	/**
+	 * Incremental visitor over the state entries of the current key, which are returned one at a time.
+	 */
+	private class StateEntryVisitor implements InternalKvState.StateIncrementalVisitor<K, N, S> {
+
+		private final Iterator<N> namespaceIterator = new HashMap<>(namespaceMap).keySet().iterator();
+
+		private final K key = currentKey;
+
+		private StateEntry<K, N, S> nextEntry;
+
+		@Override
+		public boolean hasNext() {
+			while (nextEntry == null && namespaceIterator.hasNext()) {
+				N namespace = namespaceIterator.next();
+				S state = isCurrentKey(key) ? namespaceMap.get(namespace) : null;
+				if (state != null) {
+					nextEntry = new StateEntry.SimpleStateEntry<>(key, namespace, state);
+				}
+			}
+			return nextEntry != null;
+		}
+
+		@Override
+		public Collection<StateEntry<K, N, S>> nextEntries() {
+			if (!hasNext()) {
+				return Collections.emptyList();
+			}
+			StateEntry<K, N, S> entry = nextEntry;
+			nextEntry = null;
+			return Collections.singletonList(entry);
+		}
+
+		@Override
+		public void remove(StateEntry<K, N, S> stateEntry) {
+			SingleKeyStateMap.this.remove(stateEntry.getKey(), stateEntry.getNamespace());
+		}
+
+		@Override
+		public void update(StateEntry<K, N, S> stateEntry, S newValue) {
+			SingleKeyStateMap.this.put(stateEntry.getKey(), stateEntry.getNamespace(), newValue);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StateSnapshot;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This implementation of {@link StateTable} keeps the state of the current key only, in a single
+ * {@link SingleKeyStateMap} that is shared by all key groups. The state of a key is discarded
+ * once the state of another key is written, which requires the keys to be accessed in sorted order.
+ *
+ * <p>The table does not support snapshots.
+ *
+ * @param <K> type of key.
+ * @param <N> type of namespace.
+ * @param <S> type of state.
+ */
+@Internal
+public class SingleKeyStateTable<K, N, S> extends StateTable<K, N, S> {
+
+	/**
+	 * Creates a new {@link SingleKeyStateTable} for the given key context and meta info.
+	 * @param keyContext the key context.
+	 * @param metaInfo the meta information for this state table.
+	 * @param keySerializer the serializer of the key.
+	 */
+	public SingleKeyStateTable(
+		InternalKeyContext<K> keyContext,
+		RegisteredKeyValueStateBackendMetaInfo<N, S> metaInfo,
+		TypeSerializer<K> keySerializer) {
+		super(keyContext, metaInfo, keySerializer);
+	}
+
+	@Override
+	protected SingleKeyStateMap<K, N, S> createStateMap() {
+		return new SingleKeyStateMap<>();
+	}
+
+	@Override
+	protected StateMap<K, N, S> getMapForKeyGroup(int keyGroupIndex) {
+		// the state of all local key groups is kept in the first map
+		return super.getMapForKeyGroup(keyGroupIndex) != null ? keyGroupedStateMaps[0] : null;
+	}
+
+	@Nonnull
+	@Override
+	public StateSnapshot stateSnapshot() {
+		throw new UnsupportedOperationException("The state of a single key cannot be snapshotted.");
+	}
+}
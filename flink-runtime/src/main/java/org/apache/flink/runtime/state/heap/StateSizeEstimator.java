@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Estimates the heap memory footprint of a {@link StateTable} from samples of its accessed entries.
+ *
+ * <p>Every {@code sampleInterval}-th access to the state table, the size of the accessed entry,
+ * including its key, namespace and state, is estimated with the {@link ObjectSizeEstimator}. The
+ * estimated entry size is the average of the sampled sizes, which turns into an exponential moving
+ * average once {@link #AVERAGING_WINDOW} samples are taken, so that it follows the changes of the
+ * state over time. The estimated size of the state is the estimated entry size times the number of
+ * entries.
+ *
+ * <p>The samples are taken by the task thread that accesses the state, while the estimates are read
+ * by the metric reporters.
+ */
+final class StateSizeEstimator {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StateSizeEstimator.class);
+
+	/** The number of samples which the estimated entry size averages. */
+	static final int AVERAGING_WINDOW = 64;
+
+	/** The size of an entry of a {@link CopyOnWriteStateMap} and its slot in the table, without key, namespace and state. */
+	static final long ENTRY_OVERHEAD =
+		ObjectSizeEstimator.shallowSizeOf(CopyOnWriteStateMap.StateMapEntry.class) + ObjectSizeEstimator.REFERENCE_SIZE;
+
+	private final StateTable<?, ?, ?> stateTable;
+
+	private final int sampleInterval;
+
+	/** Called after each sample, to check the estimated size of all states of the backend. */
+	private final Runnable sampleListener;
+
+	private int accessesUntilSample;
+
+	private int numSamples;
+
+	private volatile double estimatedEntrySize;
+
+	StateSizeEstimator(StateTable<?, ?, ?> stateTable, int sampleInterval, Runnable sampleListener) {
+		checkArgument(sampleInterval > 0, "The sample interval must be positive.");
+		this.stateTable = checkNotNull(stateTable);
+		this.sampleInterval = sampleInterval;
+		this.sampleListener = checkNotNull(sampleListener);
+		this.accessesUntilSample = 1;
+	}
+
+	/**
+	 * Counts an access to the state table and returns whether the accessed entry should be sampled.
+	 */
+	boolean isSampleDue() {
+		if (--accessesUntilSample > 0) {
+			return false;
+		}
+		accessesUntilSample = sampleInterval;
+		return true;
+	}
+
+	/**
+	 * Samples the size of the entry with the given key, namespace and state.
+	 */
+	void sample(Object key, Object namespace, Object state) {
+		if (state == null) {
+			return;
+		}
+
+		final long entrySize;
+		try {
+			entrySize = ENTRY_OVERHEAD + ObjectSizeEstimator.estimateSize(key, namespace, state);
+		} catch (RuntimeException e) {
+			LOG.debug("Could not estimate the size of an entry of state {}.", stateTable.getMetaInfo().getName(), e);
+			return;
+		}
+
+		if (numSamples < AVERAGING_WINDOW) {
+			numSamples++;
+		}
+		estimatedEntrySize += (entrySize - estimatedEntrySize) / numSamples;
+
+		sampleListener.run();
+	}
+
+	long getNumEntries() {
+		return stateTable.size();
+	}
+
+	/**
+	 * Returns the estimated size of an entry of the state table, in bytes.
+	 */
+	long getEstimatedEntrySize() {
+		return (long) estimatedEntrySize;
+	}
+
+	/**
+	 * Returns the estimated size of all entries of the state table, in bytes.
+	 */
+	long getEstimatedSize() {
+		return (long) (estimatedEntrySize * stateTable.size());
+	}
+}
@@ -30,6 +30,7 @@ import org.apache.flink.runtime.state.internal.InternalKvState.StateIncrementalV
 import org.apache.flink.util.Preconditions;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -76,6 +77,12 @@ public abstract class StateTable<K, N, S>
 	 */
 	protected final StateMap<K, N, S>[] keyGroupedStateMaps;
 
+	/**
+	 * Samples the size of the accessed entries, or {@code null} if the size of this state is not estimated.
+	 */
+	@Nullable
+	private StateSizeEstimator sizeEstimator;
+
 	/**
 	 * @param keyContext    the key context provides the key scope for all put/get/delete operations.
 	 * @param metaInfo      the meta information, including the type serializer for state copy-on-write.
@@ -135,7 +142,12 @@ public abstract class StateTable<K, N, S>
 	 * if no mapping for the specified key is found.
 	 */
 	public S get(N namespace) {
-		return get(keyContext.getCurrentKey(), keyContext.getCurrentKeyGroupIndex(), namespace);
+		K key = keyContext.getCurrentKey();
+		S state = get(key, keyContext.getCurrentKeyGroupIndex(), namespace);
+		if (sizeEstimator != null && sizeEstimator.isSampleDue()) {
+			sizeEstimator.sample(key, namespace, state);
+		}
+		return state;
 	}
 
 	/**
@@ -156,7 +168,11 @@ public abstract class StateTable<K, N, S>
 	 * @param state     the state. Can be null.
 	 */
 	public void put(N namespace, S state) {
-		put(keyContext.getCurrentKey(), keyContext.getCurrentKeyGroupIndex(), namespace, state);
+		K key = keyContext.getCurrentKey();
+		put(key, keyContext.getCurrentKeyGroupIndex(), namespace, state);
+		if (sizeEstimator != null && sizeEstimator.isSampleDue()) {
+			sizeEstimator.sample(key, namespace, state);
+		}
 	}
 
 	/**
@@ -201,6 +217,9 @@ public abstract class StateTable<K, N, S>
 		int keyGroup = keyContext.getCurrentKeyGroupIndex();
 		StateMap<K, N, S> stateMap = getMapForKeyGroup(keyGroup);
 		stateMap.transform(key, namespace, value, transformation);
+		if (sizeEstimator != null && sizeEstimator.isSampleDue()) {
+			sizeEstimator.sample(key, namespace, stateMap.get(key, namespace));
+		}
 	}
 
 	// For queryable state ------------------------------------------------------------------------
@@ -327,6 +346,15 @@ public abstract class StateTable<K, N, S>
 		this.metaInfo = metaInfo;
 	}
 
+	@Nullable
+	StateSizeEstimator getSizeEstimator() {
+		return sizeEstimator;
+	}
+
+	void setSizeEstimator(StateSizeEstimator sizeEstimator) {
+		this.sizeEstimator = sizeEstimator;
+	}
+
 	// Snapshot / Restore -------------------------------------------------------------------------
 
 	public void put(K key, int keyGroup, N namespace, S state) {
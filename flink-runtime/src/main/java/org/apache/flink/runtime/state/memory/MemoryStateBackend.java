@@ -42,6 +42,7 @@ import org.apache.flink.runtime.state.TaskStateManager;
 import org.apache.flink.runtime.state.filesystem.AbstractFileStateBackend;
 import org.apache.flink.runtime.state.heap.HeapKeyedStateBackendBuilder;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
+import org.apache.flink.runtime.state.heap.HeapStateSizeMonitor;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.util.TernaryBoolean;
 
@@ -344,7 +345,9 @@ public class MemoryStateBackend extends AbstractFileStateBackend implements Conf
 			taskStateManager.createLocalRecoveryConfig(),
 			priorityQueueSetFactory,
 			isUsingAsynchronousSnapshots(),
-			cancelStreamRegistry).build();
+			cancelStreamRegistry)
+			.setStateSizeMonitor(HeapStateSizeMonitor.create(env.getTaskManagerInfo().getConfiguration(), metricGroup))
+			.build();
 	}
 
 	// ------------------------------------------------------------------------
@@ -18,6 +18,8 @@
 
 package org.apache.flink.runtime.taskexecutor;
 
+import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
+
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +39,9 @@ public class SlotReport implements Serializable, Iterable<SlotStatus> {
 	/** The slots status of the TaskManager. */
 	private final Collection<SlotStatus> slotsStatus;
 
+	/** The total resources of the TaskManager out of which dynamic slots can be allocated. */
+	private final ResourceProfile totalResourceProfile;
+
 	public SlotReport() {
 		this(Collections.<SlotStatus>emptyList());
 	}
@@ -46,7 +51,22 @@ public class SlotReport implements Serializable, Iterable<SlotStatus> {
 	}
 
 	public SlotReport(final Collection<SlotStatus> slotsStatus) {
+		this(slotsStatus, ResourceProfile.UNKNOWN);
+	}
+
+	public SlotReport(final Collection<SlotStatus> slotsStatus, final ResourceProfile totalResourceProfile) {
 		this.slotsStatus = checkNotNull(slotsStatus);
+		this.totalResourceProfile = checkNotNull(totalResourceProfile);
+	}
+
+	/**
+	 * Returns the total resources of the TaskManager. {@link ResourceProfile#UNKNOWN} means that
+	 * the TaskManager does not support the allocation of dynamic slots.
+	 *
+	 * @return Total resources of the TaskManager
+	 */
+	public ResourceProfile getTotalResourceProfile() {
+		return totalResourceProfile;
 	}
 
 	@Override
@@ -58,6 +78,7 @@ public class SlotReport implements Serializable, Iterable<SlotStatus> {
 	public String toString() {
 		return "SlotReport{" +
 			"slotsStatus=" + slotsStatus +
+			", totalResourceProfile=" + totalResourceProfile +
 			'}';
 	}
 }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor;
+
+import org.apache.flink.runtime.clusterframework.types.AllocationID;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Payload for heartbeats sent from the TaskExecutor to the JobManager. Besides the accumulator
+ * updates, it contains the size of the local state which the TaskExecutor retains under the
+ * allocations of the job. This allows the JobManager to prefer slots with local state when
+ * recovering from failures.
+ */
+public class TaskExecutorToJobManagerHeartbeatPayload implements Serializable {
+
+	private static final long serialVersionUID = 4627431402431538612L;
+
+	private final AccumulatorReport accumulatorReport;
+
+	/** Size in bytes of the retained local state per allocation of the job. */
+	private final Map<AllocationID, Long> localStateSizes;
+
+	public TaskExecutorToJobManagerHeartbeatPayload(AccumulatorReport accumulatorReport) {
+		this(accumulatorReport, Collections.emptyMap());
+	}
+
+	public TaskExecutorToJobManagerHeartbeatPayload(
+			AccumulatorReport accumulatorReport,
+			Map<AllocationID, Long> localStateSizes) {
+		this.accumulatorReport = checkNotNull(accumulatorReport);
+		this.localStateSizes = checkNotNull(localStateSizes);
+	}
+
+	public AccumulatorReport getAccumulatorReport() {
+		return accumulatorReport;
+	}
+
+	public Map<AllocationID, Long> getLocalStateSizes() {
+		return localStateSizes;
+	}
+
+	@Override
+	public String toString() {
+		return "TaskExecutorToJobManagerHeartbeatPayload{" +
+			"accumulatorReport=" + accumulatorReport +
+			", localStateSizes=" + localStateSizes +
+			'}';
+	}
+}
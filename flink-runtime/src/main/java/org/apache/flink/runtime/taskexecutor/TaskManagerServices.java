@@ -32,6 +32,7 @@ import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.io.disk.iomanager.IOManagerAsync;
 import org.apache.flink.runtime.io.network.TaskEventDispatcher;
 import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.metrics.util.MetricUtils;
 import org.apache.flink.runtime.shuffle.ShuffleEnvironment;
 import org.apache.flink.runtime.shuffle.ShuffleEnvironmentContext;
 import org.apache.flink.runtime.shuffle.ShuffleServiceLoader;
@@ -258,6 +259,7 @@ public class TaskManagerServices {
 		// this call has to happen strictly after the network stack has been initialized
 		final MemoryManager memoryManager = createMemoryManager(taskManagerServicesConfiguration);
 		final long managedMemorySize = memoryManager.getMemorySize();
+		MetricUtils.instantiateManagedMemoryMetrics(taskManagerMetricGroup, memoryManager);
 
 		final BroadcastVariableManager broadcastVariableManager = new BroadcastVariableManager();
 
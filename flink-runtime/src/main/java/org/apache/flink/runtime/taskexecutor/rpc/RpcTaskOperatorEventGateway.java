@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskexecutor.rpc;
+
+import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.jobmaster.JobMasterGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.taskmanager.TaskOperatorEventGateway;
+import org.apache.flink.util.SerializedValue;
+
+import java.util.function.Consumer;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An implementation of the {@link TaskOperatorEventGateway} that sends the events to the
+ * {@link JobMasterGateway}.
+ */
+public class RpcTaskOperatorEventGateway implements TaskOperatorEventGateway {
+
+	private final JobMasterGateway jobMasterGateway;
+
+	private final ExecutionAttemptID taskExecutionId;
+
+	private final Consumer<Throwable> errorHandler;
+
+	public RpcTaskOperatorEventGateway(
+			JobMasterGateway jobMasterGateway,
+			ExecutionAttemptID taskExecutionId,
+			Consumer<Throwable> errorHandler) {
+
+		this.jobMasterGateway = checkNotNull(jobMasterGateway);
+		this.taskExecutionId = checkNotNull(taskExecutionId);
+		this.errorHandler = checkNotNull(errorHandler);
+	}
+
+	@Override
+	public void sendOperatorEventToCoordinator(OperatorID operator, SerializedValue<OperatorEvent> event) {
+		jobMasterGateway.sendOperatorEventToCoordinator(taskExecutionId, operator, event)
+			.whenComplete((ignored, failure) -> {
+				if (failure != null) {
+					errorHandler.accept(failure);
+				}
+			});
+	}
+}
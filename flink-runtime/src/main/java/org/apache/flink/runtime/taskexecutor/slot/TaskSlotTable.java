@@ -35,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -51,6 +52,12 @@ import java.util.UUID;
  * Container for multiple {@link TaskSlot} instances. Additionally, it maintains multiple indices
  * for faster access to tasks and sets of allocated slots.
  *
+ * <p>Besides the statically configured task slots, the task slot table can carve dynamic slots out of
+ * the resources of the TaskExecutor. A dynamic slot is identified by an index which is equal to or larger
+ * than the number of static slots, is sized according to the requested {@link ResourceProfile} and is
+ * removed from the table once it is freed. Static and dynamic slots share the same resource budget, i.e.
+ * the sum of the resource profiles of all static slots.
+ *
  * <p>The task slot table automatically registers timeouts for allocated slots which cannot be assigned
  * to a job manager.
  *
@@ -63,9 +70,15 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 	/** Timer service used to time out allocated slots. */
 	private final TimerService<AllocationID> timerService;
 
-	/** The list of all task slots. */
+	/** The list of all static task slots. */
 	private final List<TaskSlot> taskSlots;
 
+	/** Mapping from slot index to the dynamic task slots which are currently allocated. */
+	private final Map<Integer, TaskSlot> dynamicTaskSlots;
+
+	/** The total resources of all static task slots which are shared with the dynamic slots. */
+	private final ResourceProfile totalResourceProfile;
+
 	/** Mapping from allocation id to task slot. */
 	private final Map<AllocationID, TaskSlot> allocationIDTaskSlotMap;
 
@@ -94,13 +107,19 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 		taskSlots = Arrays.asList(new TaskSlot[numberSlots]);
 
 		int index = 0;
+		ResourceProfile totalResources = ResourceProfile.ZERO;
 
 		// create the task slots for the given resource profiles
 		for (ResourceProfile resourceProfile: resourceProfiles) {
 			taskSlots.set(index, new TaskSlot(index, resourceProfile));
+			totalResources = totalResources.merge(resourceProfile);
 			++index;
 		}
 
+		totalResourceProfile = totalResources;
+
+		dynamicTaskSlots = new HashMap<>(4);
+
 		allocationIDTaskSlotMap = new HashMap<>(numberSlots);
 
 		taskSlotMappings = new HashMap<>(4 * numberSlots);
@@ -154,26 +173,60 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 	// ---------------------------------------------------------------------
 
 	public SlotReport createSlotReport(ResourceID resourceId) {
-		final int numberSlots = taskSlots.size();
+		List<SlotStatus> slotStatuses = new ArrayList<>(taskSlots.size() + dynamicTaskSlots.size());
 
-		List<SlotStatus> slotStatuses = Arrays.asList(new SlotStatus[numberSlots]);
+		for (TaskSlot taskSlot : taskSlots) {
+			slotStatuses.add(createSlotStatus(resourceId, taskSlot));
+		}
 
-		for (int i = 0; i < numberSlots; i++) {
-			TaskSlot taskSlot = taskSlots.get(i);
-			SlotID slotId = new SlotID(resourceId, taskSlot.getIndex());
+		for (TaskSlot taskSlot : dynamicTaskSlots.values()) {
+			slotStatuses.add(createSlotStatus(resourceId, taskSlot));
+		}
 
-			SlotStatus slotStatus = new SlotStatus(
-				slotId,
-				taskSlot.getResourceProfile(),
-				taskSlot.getJobId(),
-				taskSlot.getAllocationId());
+		final SlotReport slotReport = new SlotReport(slotStatuses, totalResourceProfile);
 
-			slotStatuses.set(i, slotStatus);
+		return slotReport;
+	}
+
+	private static SlotStatus createSlotStatus(ResourceID resourceId, TaskSlot taskSlot) {
+		SlotID slotId = new SlotID(resourceId, taskSlot.getIndex());
+
+		return new SlotStatus(
+			slotId,
+			taskSlot.getResourceProfile(),
+			taskSlot.getJobId(),
+			taskSlot.getAllocationId());
+	}
+
+	/**
+	 * Returns the total resources of this task slot table which are shared by the static and
+	 * the dynamic task slots.
+	 *
+	 * @return Total resources of this task slot table
+	 */
+	public ResourceProfile getTotalResourceProfile() {
+		return totalResourceProfile;
+	}
+
+	/**
+	 * Returns the resources which are not yet occupied by an allocated static or dynamic task slot.
+	 *
+	 * @return Resources which are still available for the allocation of task slots
+	 */
+	public ResourceProfile getAvailableResourceProfile() {
+		ResourceProfile availableResources = totalResourceProfile;
+
+		for (TaskSlot taskSlot : taskSlots) {
+			if (!taskSlot.isFree()) {
+				availableResources = availableResources.subtract(taskSlot.getResourceProfile());
+			}
 		}
 
-		final SlotReport slotReport = new SlotReport(slotStatuses);
+		for (TaskSlot taskSlot : dynamicTaskSlots.values()) {
+			availableResources = availableResources.subtract(taskSlot.getResourceProfile());
+		}
 
-		return slotReport;
+		return availableResources;
 	}
 
 	// ---------------------------------------------------------------------
@@ -191,13 +244,56 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 	 * @return True if the task slot could be allocated; otherwise false
 	 */
 	public boolean allocateSlot(int index, JobID jobId, AllocationID allocationId, Time slotTimeout) {
+		return allocateSlot(index, jobId, allocationId, ResourceProfile.UNKNOWN, slotTimeout);
+	}
+
+	/**
+	 * Allocate the slot with the given index for the given job and allocation id. If the index
+	 * does not belong to a static slot, then a dynamic slot with the given resource profile is
+	 * carved out of the available resources. Returns true if the slot could be allocated.
+	 * Otherwise it returns false.
+	 *
+	 * @param index of the task slot to allocate
+	 * @param jobId to allocate the task slot for
+	 * @param allocationId identifying the allocation
+	 * @param resourceProfile of the dynamic slot; ignored for static slots
+	 * @param slotTimeout until the slot times out
+	 * @return True if the task slot could be allocated; otherwise false
+	 */
+	public boolean allocateSlot(int index, JobID jobId, AllocationID allocationId, ResourceProfile resourceProfile, Time slotTimeout) {
 		checkInit();
 
-		TaskSlot taskSlot = taskSlots.get(index);
+		final TaskSlot taskSlot;
+
+		if (isDynamicSlotIndex(index)) {
+			TaskSlot dynamicTaskSlot = dynamicTaskSlots.get(index);
+
+			if (dynamicTaskSlot != null) {
+				taskSlot = dynamicTaskSlot;
+			} else if (resourceProfile.equals(ResourceProfile.UNKNOWN) ||
+					!getAvailableResourceProfile().isMatching(resourceProfile)) {
+				LOG.info("Cannot allocate dynamic slot {} with {} because there are only {} available.",
+					index, resourceProfile, getAvailableResourceProfile());
+				return false;
+			} else {
+				taskSlot = new TaskSlot(index, resourceProfile);
+			}
+		} else {
+			taskSlot = taskSlots.get(index);
+
+			if (taskSlot.isFree() && !getAvailableResourceProfile().isMatching(taskSlot.getResourceProfile())) {
+				LOG.info("Cannot allocate slot {} because its resources are occupied by dynamic slots.", index);
+				return false;
+			}
+		}
 
 		boolean result = taskSlot.allocate(jobId, allocationId);
 
 		if (result) {
+			if (isDynamicSlotIndex(index)) {
+				dynamicTaskSlots.put(index, taskSlot);
+			}
+
 			// update the allocation id to task slot map
 			allocationIDTaskSlotMap.put(allocationId, taskSlot);
 
@@ -332,6 +428,11 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 					slotsPerJob.remove(jobId);
 				}
 
+				// dynamic slots give their resources back once they are freed
+				if (isDynamicSlotIndex(taskSlot.getIndex())) {
+					dynamicTaskSlots.remove(taskSlot.getIndex());
+				}
+
 				return taskSlot.getIndex();
 			} else {
 				// we couldn't free the task slot because it still contains task, fail the tasks
@@ -373,9 +474,9 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 	 * @return True if the given task slot is allocated for the given job and allocation id
 	 */
 	public boolean isAllocated(int index, JobID jobId, AllocationID allocationId) {
-		TaskSlot taskSlot = taskSlots.get(index);
+		TaskSlot taskSlot = getTaskSlot(index);
 
-		return taskSlot.isAllocated(jobId, allocationId);
+		return taskSlot != null && taskSlot.isAllocated(jobId, allocationId);
 	}
 
 	/**
@@ -402,9 +503,9 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 	 * @return True if the task slot is free; otherwise false
 	 */
 	public boolean isSlotFree(int index) {
-		TaskSlot taskSlot = taskSlots.get(index);
+		TaskSlot taskSlot = getTaskSlot(index);
 
-		return taskSlot.isFree();
+		return taskSlot == null || taskSlot.isFree();
 	}
 
 	/**
@@ -552,7 +653,9 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 	 * @return Allocation id of the specified slot if allocated; otherwise null
 	 */
 	public AllocationID getCurrentAllocation(int index) {
-		return taskSlots.get(index).getAllocationId();
+		TaskSlot taskSlot = getTaskSlot(index);
+
+		return taskSlot != null ? taskSlot.getAllocationId() : null;
 	}
 
 	// ---------------------------------------------------------------------
@@ -579,6 +682,21 @@ public class TaskSlotTable implements TimeoutListener<AllocationID> {
 		return allocationIDTaskSlotMap.get(allocationId);
 	}
 
+	@Nullable
+	private TaskSlot getTaskSlot(int index) {
+		Preconditions.checkArgument(index >= 0, "The slot index must not be negative.");
+
+		if (isDynamicSlotIndex(index)) {
+			return dynamicTaskSlots.get(index);
+		} else {
+			return taskSlots.get(index);
+		}
+	}
+
+	private boolean isDynamicSlotIndex(int index) {
+		return index >= taskSlots.size();
+	}
+
 	private void checkInit() {
 		Preconditions.checkState(started, "The %s has to be started.", TaskSlotTable.class.getSimpleName());
 	}
@@ -79,6 +79,8 @@ public class RuntimeEnvironment implements Environment {
 	
 	private final CheckpointResponder checkpointResponder;
 
+	private final TaskOperatorEventGateway operatorEventGateway;
+
 	private final AccumulatorRegistry accumulatorRegistry;
 
 	private final TaskKvStateRegistry kvStateRegistry;
@@ -112,6 +114,7 @@ public class RuntimeEnvironment implements Environment {
 			InputGate[] inputGates,
 			TaskEventDispatcher taskEventDispatcher,
 			CheckpointResponder checkpointResponder,
+			TaskOperatorEventGateway operatorEventGateway,
 			TaskManagerRuntimeInfo taskManagerInfo,
 			TaskMetricGroup metrics,
 			Task containingTask) {
@@ -137,6 +140,7 @@ public class RuntimeEnvironment implements Environment {
 		this.inputGates = checkNotNull(inputGates);
 		this.taskEventDispatcher = checkNotNull(taskEventDispatcher);
 		this.checkpointResponder = checkNotNull(checkpointResponder);
+		this.operatorEventGateway = checkNotNull(operatorEventGateway);
 		this.taskManagerInfo = checkNotNull(taskManagerInfo);
 		this.containingTask = containingTask;
 		this.metrics = metrics;
@@ -219,6 +223,11 @@ public class RuntimeEnvironment implements Environment {
 		return aggregateManager;
 	}
 
+	@Override
+	public TaskOperatorEventGateway getOperatorCoordinatorEventGateway() {
+		return operatorEventGateway;
+	}
+
 	@Override
 	public AccumulatorRegistry getAccumulatorRegistry() {
 		return accumulatorRegistry;
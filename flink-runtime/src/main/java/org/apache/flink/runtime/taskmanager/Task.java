@@ -57,10 +57,13 @@ import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.io.network.partition.consumer.InputGate;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.jobgraph.tasks.InputSplitProvider;
 import org.apache.flink.runtime.memory.MemoryManager;
 import org.apache.flink.runtime.metrics.groups.TaskMetricGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.TaskNotRunningException;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
 import org.apache.flink.runtime.shuffle.ShuffleEnvironment;
 import org.apache.flink.runtime.shuffle.ShuffleIOOwnerContext;
@@ -204,6 +207,9 @@ public class Task implements Runnable, TaskActions, PartitionProducerStateProvid
 	/** Checkpoint notifier used to communicate with the CheckpointCoordinator. */
 	private final CheckpointResponder checkpointResponder;
 
+	/** Gateway through which the operators send events to their coordinators. */
+	private final TaskOperatorEventGateway operatorCoordinatorEventGateway;
+
 	/** GlobalAggregateManager used to update aggregates on the JobMaster. */
 	private final GlobalAggregateManager aggregateManager;
 
@@ -290,6 +296,7 @@ public class Task implements Runnable, TaskActions, PartitionProducerStateProvid
 		TaskManagerActions taskManagerActions,
 		InputSplitProvider inputSplitProvider,
 		CheckpointResponder checkpointResponder,
+		TaskOperatorEventGateway operatorCoordinatorEventGateway,
 		GlobalAggregateManager aggregateManager,
 		BlobCacheService blobService,
 		LibraryCacheManager libraryCache,
@@ -340,6 +347,7 @@ public class Task implements Runnable, TaskActions, PartitionProducerStateProvid
 
 		this.inputSplitProvider = Preconditions.checkNotNull(inputSplitProvider);
 		this.checkpointResponder = Preconditions.checkNotNull(checkpointResponder);
+		this.operatorCoordinatorEventGateway = Preconditions.checkNotNull(operatorCoordinatorEventGateway);
 		this.aggregateManager = Preconditions.checkNotNull(aggregateManager);
 		this.taskManagerActions = checkNotNull(taskManagerActions);
 
@@ -661,6 +669,7 @@ public class Task implements Runnable, TaskActions, PartitionProducerStateProvid
 				inputGates,
 				taskEventDispatcher,
 				checkpointResponder,
+				operatorCoordinatorEventGateway,
 				taskManagerConfig,
 				metrics,
 				this);
@@ -1180,6 +1189,37 @@ public class Task implements Runnable, TaskActions, PartitionProducerStateProvid
 		}
 	}
 
+	/**
+	 * Dispatches an operator event to the invokable task.
+	 *
+	 * <p>If the event delivery did not succeed, this method throws an exception. Callers can use that
+	 * exception for error reporting, but need not react with failing this task (this method takes care
+	 * of that).
+	 *
+	 * @throws FlinkException This method throws exceptions indicating the reason why delivery did not succeed.
+	 */
+	public void deliverOperatorEvent(OperatorID operator, SerializedValue<OperatorEvent> evt) throws FlinkException {
+		final AbstractInvokable invokable = this.invokable;
+		final ExecutionState currentState = this.executionState;
+
+		if (invokable == null || currentState != ExecutionState.RUNNING) {
+			throw new TaskNotRunningException("Task is not running, but in state " + currentState);
+		}
+
+		try {
+			invokable.dispatchOperatorEvent(operator, evt);
+		}
+		catch (Throwable t) {
+			ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+
+			final FlinkException e = new FlinkException("Error while handling operator event", t);
+			if (getExecutionState() == ExecutionState.RUNNING) {
+				failExternally(e);
+			}
+			throw e;
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	//  Utilities
 	// ------------------------------------------------------------------------
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.taskmanager;
+
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.util.SerializedValue;
+
+/**
+ * Gateway through which the operators of a {@link Task} send {@link OperatorEvent OperatorEvents}
+ * to their coordinators on the JobManager.
+ */
+public interface TaskOperatorEventGateway {
+
+	/**
+	 * Sends an event from the operator with the given id to its coordinator. Events which cannot
+	 * be delivered fail the task.
+	 *
+	 * @param operator The id of the operator that sends the event.
+	 * @param event The serialized event.
+	 */
+	void sendOperatorEventToCoordinator(OperatorID operator, SerializedValue<OperatorEvent> event);
+}
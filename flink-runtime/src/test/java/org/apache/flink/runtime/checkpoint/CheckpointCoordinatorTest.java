@@ -23,6 +23,7 @@ import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.core.fs.FSDataInputStream;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.testutils.CheckedThread;
 import org.apache.flink.runtime.concurrent.Executors;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.Execution;
@@ -90,6 +91,7 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -716,6 +718,85 @@ public class CheckpointCoordinatorTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that concurrently received acknowledgements complete the pending checkpoint exactly once.
+	 */
+	@Test
+	public void testConcurrentAcknowledgements() throws Exception {
+		final JobID jid = new JobID();
+		final int numTasks = 16;
+
+		final ExecutionAttemptID[] attemptIDs = new ExecutionAttemptID[numTasks];
+		final ExecutionVertex[] vertices = new ExecutionVertex[numTasks];
+		for (int i = 0; i < numTasks; i++) {
+			attemptIDs[i] = new ExecutionAttemptID();
+			vertices[i] = mockExecutionVertex(attemptIDs[i]);
+		}
+
+		final CheckpointCoordinatorConfiguration chkConfig = new CheckpointCoordinatorConfiguration(
+			600000,
+			600000,
+			0,
+			Integer.MAX_VALUE,
+			CheckpointRetentionPolicy.NEVER_RETAIN_AFTER_TERMINATION,
+			true,
+			false,
+			0);
+
+		final CheckpointCoordinator coord = new CheckpointCoordinator(
+			jid,
+			chkConfig,
+			vertices,
+			vertices,
+			vertices,
+			new StandaloneCheckpointIDCounter(),
+			new StandaloneCompletedCheckpointStore(1),
+			new MemoryStateBackend(),
+			Executors.directExecutor(),
+			SharedStateRegistry.DEFAULT_FACTORY,
+			failureManager);
+
+		assertTrue(coord.triggerCheckpoint(System.currentTimeMillis(), false));
+
+		final long checkpointId = coord.getPendingCheckpoints().keySet().iterator().next();
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final CheckedThread[] ackThreads = new CheckedThread[numTasks];
+
+		for (int i = 0; i < numTasks; i++) {
+			final AcknowledgeCheckpoint acknowledgeCheckpoint = new AcknowledgeCheckpoint(
+				jid,
+				attemptIDs[i],
+				checkpointId,
+				new CheckpointMetrics(),
+				new TaskStateSnapshot());
+
+			ackThreads[i] = new CheckedThread() {
+				@Override
+				public void go() throws Exception {
+					startLatch.await();
+					assertTrue(coord.receiveAcknowledgeMessage(acknowledgeCheckpoint, TASK_MANAGER_LOCATION_INFO));
+				}
+			};
+			ackThreads[i].start();
+		}
+
+		startLatch.countDown();
+
+		for (CheckedThread ackThread : ackThreads) {
+			ackThread.sync();
+		}
+
+		assertEquals(0, coord.getNumberOfPendingCheckpoints());
+		assertEquals(1, coord.getNumberOfRetainedSuccessfulCheckpoints());
+		assertEquals(checkpointId, coord.getSuccessfulCheckpoints().get(0).getCheckpointID());
+
+		for (ExecutionVertex vertex : vertices) {
+			verify(vertex.getCurrentExecutionAttempt(), times(1)).notifyCheckpointComplete(eq(checkpointId), anyLong());
+		}
+
+		coord.shutdown(JobStatus.FINISHED);
+	}
+
 	@Test
 	public void testMultipleConcurrentCheckpoints() {
 		try {
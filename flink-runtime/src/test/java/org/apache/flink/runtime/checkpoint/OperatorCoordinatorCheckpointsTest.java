@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.checkpoint;
+
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link OperatorCoordinatorCheckpoints}.
+ */
+public class OperatorCoordinatorCheckpointsTest extends TestLogger {
+
+	@Test
+	public void testTriggerDoesNotWaitForSnapshots() throws Exception {
+		final TestingCoordinatorContext first = new TestingCoordinatorContext();
+		final TestingCoordinatorContext second = new TestingCoordinatorContext();
+
+		final CompletableFuture<Collection<MasterState>> statesFuture =
+			OperatorCoordinatorCheckpoints.triggerAllCoordinatorCheckpoints(Arrays.asList(first, second), 1L);
+
+		assertFalse(statesFuture.isDone());
+
+		second.checkpointFuture.complete(new byte[] {2});
+		first.checkpointFuture.complete(new byte[] {1});
+
+		final Iterator<MasterState> states = OperatorCoordinatorCheckpoints.waitForAllCoordinatorCheckpoints(
+			statesFuture, Time.seconds(10L)).iterator();
+		assertArrayEquals(new byte[] {1}, states.next().bytes());
+		assertArrayEquals(new byte[] {2}, states.next().bytes());
+		assertFalse(states.hasNext());
+	}
+
+	@Test
+	public void testFailedSnapshot() throws Exception {
+		final TestingCoordinatorContext coordinator = new TestingCoordinatorContext();
+		final CompletableFuture<Collection<MasterState>> statesFuture =
+			OperatorCoordinatorCheckpoints.triggerAllCoordinatorCheckpoints(Collections.singleton(coordinator), 1L);
+
+		final Exception failure = new Exception("test failure");
+		coordinator.checkpointFuture.completeExceptionally(failure);
+
+		try {
+			OperatorCoordinatorCheckpoints.waitForAllCoordinatorCheckpoints(statesFuture, Time.seconds(10L));
+			fail("expected an exception");
+		} catch (FlinkException e) {
+			assertSame(failure, e.getCause().getCause());
+		}
+	}
+
+	@Test
+	public void testSnapshotTimeout() throws Exception {
+		final TestingCoordinatorContext coordinator = new TestingCoordinatorContext();
+		final CompletableFuture<Collection<MasterState>> statesFuture =
+			OperatorCoordinatorCheckpoints.triggerAllCoordinatorCheckpoints(Collections.singleton(coordinator), 1L);
+
+		try {
+			OperatorCoordinatorCheckpoints.waitForAllCoordinatorCheckpoints(statesFuture, Time.milliseconds(10L));
+			fail("expected an exception");
+		} catch (FlinkException e) {
+			assertTrue(e.getMessage().contains("did not complete in time"));
+		}
+	}
+
+	@Test
+	public void testResetToCheckpoint() throws Exception {
+		final TestingCoordinatorContext coordinator = new TestingCoordinatorContext();
+		final CompletableFuture<Collection<MasterState>> statesFuture =
+			OperatorCoordinatorCheckpoints.triggerAllCoordinatorCheckpoints(Collections.singleton(coordinator), 1L);
+		coordinator.checkpointFuture.complete(new byte[] {42});
+		final Collection<MasterState> states =
+			OperatorCoordinatorCheckpoints.waitForAllCoordinatorCheckpoints(statesFuture, Time.seconds(10L));
+
+		OperatorCoordinatorCheckpoints.resetToCheckpoint(Collections.singleton(coordinator), states, false);
+		assertArrayEquals(new byte[] {42}, coordinator.restoredData);
+
+		OperatorCoordinatorCheckpoints.resetToCheckpoint(Collections.singleton(coordinator), Collections.emptyList(), false);
+		assertNull(coordinator.restoredData);
+		assertEquals(2, coordinator.numResets);
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class TestingCoordinatorContext implements OperatorCoordinatorCheckpointContext {
+
+		private final OperatorID operatorId = new OperatorID();
+
+		private final CompletableFuture<byte[]> checkpointFuture = new CompletableFuture<>();
+
+		@Nullable
+		private byte[] restoredData;
+
+		private int numResets;
+
+		@Override
+		public OperatorID getOperatorId() {
+			return operatorId;
+		}
+
+		@Override
+		public CompletableFuture<byte[]> checkpointCoordinator(long checkpointId) {
+			return checkpointFuture;
+		}
+
+		@Override
+		public void afterSourceBarrierInjection(long checkpointId) {}
+
+		@Override
+		public void abortCurrentTriggering() {}
+
+		@Override
+		public void checkpointComplete(long checkpointId) {}
+
+		@Override
+		public void resetToCheckpoint(@Nullable byte[] checkpointData) {
+			restoredData = checkpointData;
+			numResets++;
+		}
+	}
+}
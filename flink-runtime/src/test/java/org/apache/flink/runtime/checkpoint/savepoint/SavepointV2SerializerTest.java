@@ -18,12 +18,14 @@
 
 package org.apache.flink.runtime.checkpoint.savepoint;
 
+import org.apache.flink.core.fs.Path;
 import org.apache.flink.core.memory.ByteArrayInputStreamWithPos;
 import org.apache.flink.core.memory.ByteArrayOutputStreamWithPos;
 import org.apache.flink.core.memory.DataInputViewStreamWrapper;
 import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
 import org.apache.flink.runtime.checkpoint.MasterState;
 import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.state.filesystem.FileSegmentStateHandle;
 import org.junit.Test;
 
 import java.io.DataInputStream;
@@ -116,6 +118,19 @@ public class SavepointV2SerializerTest {
 		}
 	}
 
+	@Test
+	public void testFileSegmentStateHandleSerialization() throws Exception {
+		final FileSegmentStateHandle stateHandle = new FileSegmentStateHandle(new Path("file:///chk-1/shared-file"), 4711L, 42L);
+
+		ByteArrayOutputStreamWithPos baos = new ByteArrayOutputStreamWithPos();
+		DataOutputStream out = new DataOutputViewStreamWrapper(baos);
+		SavepointV2Serializer.serializeStreamStateHandle(stateHandle, out);
+		out.close();
+
+		DataInputStream in = new DataInputViewStreamWrapper(new ByteArrayInputStreamWithPos(baos.toByteArray()));
+		assertEquals(stateHandle, SavepointV2Serializer.deserializeStreamStateHandle(in));
+	}
+
 	private void testCheckpointSerialization(
 			long checkpointId,
 			Collection<OperatorState> operatorStates,
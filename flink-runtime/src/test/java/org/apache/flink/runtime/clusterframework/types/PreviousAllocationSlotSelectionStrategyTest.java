@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 
 public class PreviousAllocationSlotSelectionStrategyTest extends LocationPreferenceSlotSelectionStrategyTest {
 
@@ -84,4 +85,34 @@ public class PreviousAllocationSlotSelectionStrategyTest extends LocationPrefere
 		// we expect that the candidate that is not blacklisted is returned
 		Assert.assertEquals(ssc2, match.get().getSlotInfo());
 	}
+
+	@Test
+	public void matchPreviousAllocationWithLargestLocalState() {
+		Set<SlotSelectionStrategy.SlotInfoAndResources> candidatesWithState = new HashSet<>(4);
+		candidatesWithState.add(new SlotSelectionStrategy.SlotInfoAndResources(ssc1, resourceProfile, 10L));
+		candidatesWithState.add(new SlotSelectionStrategy.SlotInfoAndResources(ssc2, resourceProfile, 100L));
+		candidatesWithState.add(new SlotSelectionStrategy.SlotInfoAndResources(ssc3, resourceProfile, 1L));
+		candidatesWithState.add(new SlotSelectionStrategy.SlotInfoAndResources(ssc4, resourceProfile, 0L));
+
+		SlotProfile slotProfile = new SlotProfile(resourceProfile, Collections.emptyList(), new HashSet<>(Arrays.asList(aid1, aid2, aid3)));
+		Optional<SlotSelectionStrategy.SlotInfoAndLocality> match =
+			selectionStrategy.selectBestSlotForProfile(candidatesWithState, slotProfile);
+
+		Assert.assertEquals(ssc2, match.get().getSlotInfo());
+	}
+
+	@Test
+	public void matchBlacklistedSlotWithoutLocalState() {
+		Set<SlotSelectionStrategy.SlotInfoAndResources> candidatesWithState = new HashSet<>(2);
+		candidatesWithState.add(new SlotSelectionStrategy.SlotInfoAndResources(ssc1, resourceProfile, 10L));
+		candidatesWithState.add(new SlotSelectionStrategy.SlotInfoAndResources(ssc2, resourceProfile, 0L));
+
+		HashSet<AllocationID> blacklisted = new HashSet<>(Arrays.asList(aid1, aid2));
+		SlotProfile slotProfile = new SlotProfile(resourceProfile, Collections.emptyList(), Collections.singletonList(aidX), blacklisted);
+		Optional<SlotSelectionStrategy.SlotInfoAndLocality> match =
+			selectionStrategy.selectBestSlotForProfile(candidatesWithState, slotProfile);
+
+		// the blacklisted slot which retains no local state can be used without penalizing recovery
+		Assert.assertEquals(ssc2, match.get().getSlotInfo());
+	}
 }
@@ -39,6 +39,8 @@ import org.apache.flink.runtime.jobmaster.LogicalSlot;
 import org.apache.flink.runtime.jobmaster.SlotRequestId;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerGateway;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirement;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirements;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.resourcemanager.utils.TestingResourceManagerGateway;
 import org.apache.flink.runtime.taskexecutor.TaskExecutor;
@@ -47,6 +49,7 @@ import org.apache.flink.runtime.taskmanager.LocalTaskManagerLocation;
 import org.apache.flink.runtime.taskmanager.TaskManagerLocation;
 import org.apache.flink.runtime.testingUtils.TestingUtils;
 import org.apache.flink.runtime.util.clock.ManualClock;
+import org.apache.flink.runtime.util.clock.SystemClock;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.TestLogger;
@@ -57,6 +60,8 @@ import org.hamcrest.Matchers;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.junit.Before;
 import org.junit.Test;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.contains;
 
 import javax.annotation.Nonnull;
 
@@ -216,6 +221,118 @@ public class SlotPoolImplTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that a declarative slot pool declares its aggregated resource requirements instead
+	 * of requesting single slots and that it accepts slots which are offered with an allocation
+	 * id chosen by the ResourceManager.
+	 */
+	@Test
+	public void testDeclareResourceRequirements() throws Exception {
+		final List<ResourceRequirements> declaredRequirements = new ArrayList<>(4);
+		resourceManagerGateway.setDeclareRequiredResourcesConsumer(declaredRequirements::add);
+		resourceManagerGateway.setRequestSlotConsumer(slotRequest -> fail("No single slot should be requested."));
+
+		try (SlotPoolImpl slotPool = new SlotPoolImpl(
+				jobId,
+				SystemClock.getInstance(),
+				timeout,
+				timeout,
+				timeout,
+				true)) {
+			setupSlotPool(slotPool, resourceManagerGateway, mainThreadExecutor);
+			Scheduler scheduler = setupScheduler(slotPool, mainThreadExecutor);
+			slotPool.registerTaskManager(taskManagerLocation.getResourceID());
+
+			final CompletableFuture<LogicalSlot> future1 = allocateSlot(scheduler, new SlotRequestId());
+			final CompletableFuture<LogicalSlot> future2 = allocateSlot(scheduler, new SlotRequestId());
+
+			assertThat(getNumberOfRequiredSlots(declaredRequirements), is(2));
+
+			final SlotOffer slotOffer = new SlotOffer(new AllocationID(), 0, DEFAULT_TESTING_PROFILE);
+			assertTrue(slotPool.offerSlot(taskManagerLocation, taskManagerGateway, slotOffer));
+
+			final LogicalSlot slot1 = future1.get(1, TimeUnit.SECONDS);
+			assertFalse(future2.isDone());
+
+			// the held slot is still part of the requirements
+			assertThat(getNumberOfRequiredSlots(declaredRequirements), is(2));
+
+			slot1.releaseSlot();
+
+			// the second request has been fulfilled with the returned slot
+			assertTrue(future2.isDone());
+			assertThat(getNumberOfRequiredSlots(declaredRequirements), is(1));
+		}
+	}
+
+	/**
+	 * Tests that a declarative slot pool declares the allocation ids of its pending requests, so
+	 * that the failure of a slot request which the ResourceManager issued under such an id fails
+	 * the matching pending request, and that a slot offered under such an id fulfills it.
+	 */
+	@Test
+	public void testFailedDeclaredSlotRequestFailsPendingRequest() throws Exception {
+		final List<ResourceRequirements> declaredRequirements = new ArrayList<>(4);
+		resourceManagerGateway.setDeclareRequiredResourcesConsumer(declaredRequirements::add);
+
+		try (SlotPoolImpl slotPool = new SlotPoolImpl(
+				jobId,
+				SystemClock.getInstance(),
+				timeout,
+				timeout,
+				timeout,
+				true)) {
+			setupSlotPool(slotPool, resourceManagerGateway, mainThreadExecutor);
+			Scheduler scheduler = setupScheduler(slotPool, mainThreadExecutor);
+			slotPool.registerTaskManager(taskManagerLocation.getResourceID());
+
+			final CompletableFuture<LogicalSlot> future1 = allocateSlot(scheduler, new SlotRequestId());
+			final CompletableFuture<LogicalSlot> future2 = allocateSlot(scheduler, new SlotRequestId());
+
+			final List<AllocationID> pendingAllocationIds = getPendingAllocationIds(declaredRequirements);
+			assertThat(pendingAllocationIds, hasSize(2));
+
+			final FlinkException cause = new FlinkException("Test slot request failure");
+			assertFalse(slotPool.failAllocation(pendingAllocationIds.get(0), cause).isPresent());
+
+			try {
+				future1.get(1, TimeUnit.SECONDS);
+				fail("The slot request should have failed.");
+			} catch (ExecutionException e) {
+				assertTrue(ExceptionUtils.findThrowable(e, FlinkException.class).isPresent());
+			}
+			assertFalse(future2.isDone());
+
+			// the failed request is no longer required
+			assertThat(getPendingAllocationIds(declaredRequirements), contains(pendingAllocationIds.get(1)));
+
+			final SlotOffer slotOffer = new SlotOffer(pendingAllocationIds.get(1), 0, DEFAULT_TESTING_PROFILE);
+			assertTrue(slotPool.offerSlot(taskManagerLocation, taskManagerGateway, slotOffer));
+
+			assertThat(future2.get(1, TimeUnit.SECONDS).getAllocationId(), is(pendingAllocationIds.get(1)));
+		}
+	}
+
+	private static List<AllocationID> getPendingAllocationIds(List<ResourceRequirements> declaredRequirements) {
+		assertFalse(declaredRequirements.isEmpty());
+
+		return declaredRequirements.get(declaredRequirements.size() - 1)
+			.getResourceRequirements()
+			.stream()
+			.flatMap(resourceRequirement -> resourceRequirement.getPendingAllocationIds().stream())
+			.collect(Collectors.toList());
+	}
+
+	private static int getNumberOfRequiredSlots(List<ResourceRequirements> declaredRequirements) {
+		assertFalse(declaredRequirements.isEmpty());
+
+		return declaredRequirements.get(declaredRequirements.size() - 1)
+			.getResourceRequirements()
+			.stream()
+			.mapToInt(ResourceRequirement::getNumberOfRequiredSlots)
+			.sum();
+	}
+
 	@Test
 	public void testAllocateWithFreeSlot() throws Exception {
 		final CompletableFuture<SlotRequest> slotRequestFuture = new CompletableFuture<>();
@@ -178,6 +178,26 @@ public class MemoryManagerLazyAllocationTest {
 		}
 	}
 
+	@Test
+	public void reservedMemorySharesBudgetWithPages() throws Exception {
+		final Object owner = new Object();
+		final AbstractInvokable mockInvoke = new DummyInvokable();
+
+		this.memoryManager.reserveMemory(owner, ManagedMemoryUseCase.PYTHON, PAGE_SIZE + 1);
+		try {
+			this.memoryManager.allocatePages(mockInvoke, NUM_PAGES - 1);
+			fail("Expected MemoryAllocationException.");
+		} catch (MemoryAllocationException maex) {
+			// expected
+		}
+		List<MemorySegment> segs = this.memoryManager.allocatePages(mockInvoke, NUM_PAGES - 2);
+
+		this.memoryManager.releaseMemory(owner, ManagedMemoryUseCase.PYTHON, PAGE_SIZE + 1);
+		segs.addAll(this.memoryManager.allocatePages(mockInvoke, 2));
+
+		this.memoryManager.release(segs);
+	}
+
 	private boolean allMemorySegmentsValid(List<MemorySegment> memSegs) {
 		for (MemorySegment seg : memSegs) {
 			if (seg.isFreed()) {
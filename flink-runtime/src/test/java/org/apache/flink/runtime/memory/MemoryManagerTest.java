@@ -22,6 +22,7 @@ import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.core.memory.MemoryType;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.operators.testutils.DummyInvokable;
+import org.apache.flink.util.function.FunctionWithException;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -31,7 +32,12 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 /**
@@ -176,6 +182,93 @@ public class MemoryManagerTest {
 		}
 	}
 
+	@Test
+	public void reservedMemorySharesBudgetWithPages() throws Exception {
+		final Object owner = new Object();
+		final AbstractInvokable mockInvoke = new DummyInvokable();
+
+		// backed by three pages
+		this.memoryManager.reserveMemory(owner, ManagedMemoryUseCase.STATE_BACKEND, 2L * PAGE_SIZE + 1);
+		this.memoryManager.reserveMemory(owner, ManagedMemoryUseCase.PYTHON, PAGE_SIZE - 1);
+		assertEquals(0L, this.memoryManager.getAvailableMemory() - (long) (NUM_PAGES - 3) * PAGE_SIZE);
+
+		try {
+			this.memoryManager.allocatePages(mockInvoke, NUM_PAGES - 2);
+			fail("Expected MemoryAllocationException.");
+		} catch (MemoryAllocationException maex) {
+			// expected
+		}
+		List<MemorySegment> segs = this.memoryManager.allocatePages(mockInvoke, NUM_PAGES - 3);
+
+		assertEquals(0L, this.memoryManager.getAvailableMemory());
+		assertEquals((long) (NUM_PAGES - 3) * PAGE_SIZE, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.OPERATOR));
+		assertEquals(2L * PAGE_SIZE + 1, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+		assertEquals(PAGE_SIZE - 1, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.PYTHON));
+
+		try {
+			this.memoryManager.reserveMemory(owner, ManagedMemoryUseCase.PYTHON, 1);
+			fail("Expected MemoryAllocationException.");
+		} catch (MemoryAllocationException maex) {
+			// expected
+		}
+
+		this.memoryManager.releaseMemory(owner, ManagedMemoryUseCase.STATE_BACKEND, PAGE_SIZE);
+		assertEquals(PAGE_SIZE + 1, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+		assertEquals(PAGE_SIZE, this.memoryManager.getAvailableMemory());
+		segs.addAll(this.memoryManager.allocatePages(mockInvoke, 1));
+
+		this.memoryManager.release(segs);
+		this.memoryManager.releaseAllMemory(owner);
+		assertEquals(0L, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+		assertEquals(MEMORY_SIZE, this.memoryManager.getAvailableMemory());
+	}
+
+	@Test
+	public void sharedResourceIsCreatedOncePerScope() throws Exception {
+		final Object slot = new Object();
+		final AtomicInteger numCreated = new AtomicInteger();
+		final AtomicInteger numDisposed = new AtomicInteger();
+		final FunctionWithException<Long, AutoCloseable, Exception> initializer = size -> {
+			numCreated.incrementAndGet();
+			return numDisposed::incrementAndGet;
+		};
+
+		SharedMemoryResource<AutoCloseable> first = this.memoryManager.getSharedMemoryResource(
+			slot, ManagedMemoryUseCase.STATE_BACKEND, 1024, initializer);
+		SharedMemoryResource<AutoCloseable> second = this.memoryManager.getSharedMemoryResource(
+			slot, ManagedMemoryUseCase.STATE_BACKEND, 1024, initializer);
+
+		assertSame(first.getResource(), second.getResource());
+		assertEquals(1, numCreated.get());
+		assertEquals(1024, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+
+		first.close();
+		first.close();
+		assertEquals(0, numDisposed.get());
+
+		second.close();
+		assertEquals(1, numDisposed.get());
+		assertEquals(0, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+	}
+
+	@Test
+	public void disposingSharedResourceKeepsMemoryOfItsSuccessor() throws Exception {
+		final Object slot = new Object();
+		final AtomicReference<SharedMemoryResource<AutoCloseable>> successor = new AtomicReference<>();
+
+		// the first resource is leased again while it is disposed, like by a concurrent task of the slot
+		SharedMemoryResource<AutoCloseable> first = this.memoryManager.getSharedMemoryResource(
+			slot, ManagedMemoryUseCase.STATE_BACKEND, 1024, size -> () -> successor.set(
+				this.memoryManager.getSharedMemoryResource(slot, ManagedMemoryUseCase.STATE_BACKEND, 1024, ignored -> () -> {})));
+		first.close();
+
+		assertNotSame(first.getResource(), successor.get().getResource());
+		assertEquals(1024, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+
+		successor.get().close();
+		assertEquals(0, this.memoryManager.getReservedMemory(ManagedMemoryUseCase.STATE_BACKEND));
+	}
+
 	private boolean allMemorySegmentsValid(List<MemorySegment> memSegs) {
 		for (MemorySegment seg : memSegs) {
 			if (seg.isFreed()) {
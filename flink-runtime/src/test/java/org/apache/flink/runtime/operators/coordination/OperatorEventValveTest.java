@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.operators.coordination;
+
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.runtime.messages.Acknowledge;
+import org.apache.flink.util.SerializedValue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link OperatorEventValve}.
+ */
+public class OperatorEventValveTest {
+
+	private final List<Tuple2<Integer, SerializedValue<OperatorEvent>>> sentEvents = new ArrayList<>();
+
+	private final OperatorEventValve valve = new OperatorEventValve((event, subtask) -> {
+		sentEvents.add(Tuple2.of(subtask, event));
+		return CompletableFuture.completedFuture(Acknowledge.get());
+	});
+
+	@Test
+	public void testEventsAreSentWhileOpen() throws Exception {
+		final SerializedValue<OperatorEvent> event = event();
+		final CompletableFuture<Acknowledge> result = valve.sendEvent(event, 3);
+
+		assertTrue(result.isDone());
+		assertEquals(Arrays.asList(Tuple2.of(3, event)), sentEvents);
+	}
+
+	@Test
+	public void testEventsAreHeldBackWhileShut() throws Exception {
+		valve.markForCheckpoint(17L);
+		valve.shutValve(17L);
+
+		final SerializedValue<OperatorEvent> event1 = event();
+		final SerializedValue<OperatorEvent> event2 = event();
+		final CompletableFuture<Acknowledge> result1 = valve.sendEvent(event1, 0);
+		final CompletableFuture<Acknowledge> result2 = valve.sendEvent(event2, 1);
+
+		assertTrue(sentEvents.isEmpty());
+		assertTrue(!result1.isDone() && !result2.isDone());
+
+		valve.openValveAndUnmarkCheckpoint();
+
+		assertEquals(Arrays.asList(Tuple2.of(0, event1), Tuple2.of(1, event2)), sentEvents);
+		assertTrue(result1.isDone() && result2.isDone());
+	}
+
+	@Test
+	public void testValveIsNotShutForOtherCheckpoint() throws Exception {
+		valve.markForCheckpoint(17L);
+		valve.openValveAndUnmarkCheckpoint();
+		valve.shutValve(17L);
+
+		valve.sendEvent(event(), 0);
+
+		assertEquals(1, sentEvents.size());
+	}
+
+	private static SerializedValue<OperatorEvent> event() throws Exception {
+		return new SerializedValue<>(new TestEvent());
+	}
+
+	private static final class TestEvent implements OperatorEvent {
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -34,6 +34,8 @@ import org.apache.flink.runtime.concurrent.ScheduledExecutor;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.messages.Acknowledge;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirement;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirements;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.resourcemanager.exceptions.ResourceManagerException;
 import org.apache.flink.runtime.resourcemanager.registration.TaskExecutorConnection;
@@ -53,6 +55,7 @@ import org.apache.flink.util.function.FunctionWithException;
 import org.apache.flink.util.function.ThrowingRunnable;
 
 import org.junit.Test;
+import static org.hamcrest.Matchers.contains;
 
 import javax.annotation.Nonnull;
 
@@ -60,6 +63,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -83,6 +87,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -1388,6 +1393,166 @@ public class SlotManagerImplTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that declared resource requirements are fulfilled in bulk, that slots which are
+	 * allocated for the job count towards the requirements and that surplus pending slot
+	 * requests are cancelled once the requirements decrease.
+	 */
+	@Test
+	public void testDeclaredResourceRequirements() throws Exception {
+		final JobID jobId = new JobID();
+		final AtomicInteger numberSlotRequests = new AtomicInteger(0);
+		final TestingTaskExecutorGateway taskExecutorGateway = new TestingTaskExecutorGatewayBuilder()
+			.setRequestSlotFunction(ignored -> {
+				numberSlotRequests.incrementAndGet();
+				return CompletableFuture.completedFuture(Acknowledge.get());
+			})
+			.createTestingTaskExecutorGateway();
+		final TaskExecutorConnection taskExecutorConnection = new TaskExecutorConnection(ResourceID.generate(), taskExecutorGateway);
+
+		try (final SlotManagerImpl slotManager = createSlotManager(ResourceManagerId.generate(), new TestingResourceActionsBuilder().build())) {
+			slotManager.registerTaskManager(taskExecutorConnection, createSlotReport(taskExecutorConnection.getResourceID(), 4));
+
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 3));
+
+			assertThat(numberSlotRequests.get(), is(3));
+			assertThat(slotManager.getNumberFreeSlots(), is(1));
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(0));
+
+			// the allocated slots are part of the requirements and must not be requested again
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 3));
+
+			assertThat(numberSlotRequests.get(), is(3));
+
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 5));
+
+			assertThat(numberSlotRequests.get(), is(4));
+			assertThat(slotManager.getNumberFreeSlots(), is(0));
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(1));
+
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 4));
+
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(0));
+			assertThat(slotManager.getNumberAssignedPendingTaskManagerSlots(), is(0));
+
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 6));
+
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(2));
+
+			slotManager.clearResourceRequirements(jobId);
+
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(0));
+		}
+	}
+
+	/**
+	 * Tests that the slot requests for declared resource requirements are issued under the declared
+	 * allocation ids of the pending requests of the job, so that the job can match the failures of
+	 * the slot requests as well as the offered slots with its pending requests.
+	 */
+	@Test
+	public void testDeclaredSlotRequestsUsePendingAllocationIds() throws Exception {
+		final JobID jobId = new JobID();
+		final List<AllocationID> failedAllocationIds = new ArrayList<>(2);
+		final ResourceActions resourceActions = new TestingResourceActionsBuilder()
+			.setAllocateResourceFunction(ignored -> Collections.emptyList())
+			.setNotifyAllocationFailureConsumer(failure -> failedAllocationIds.add(failure.f1))
+			.build();
+		final List<AllocationID> requestedAllocationIds = new ArrayList<>(1);
+		final TestingTaskExecutorGateway taskExecutorGateway = new TestingTaskExecutorGatewayBuilder()
+			.setRequestSlotFunction(slotRequest -> {
+				requestedAllocationIds.add(slotRequest.f2);
+				return CompletableFuture.completedFuture(Acknowledge.get());
+			})
+			.createTestingTaskExecutorGateway();
+		final TaskExecutorConnection taskExecutorConnection = new TaskExecutorConnection(ResourceID.generate(), taskExecutorGateway);
+
+		try (final SlotManagerImpl slotManager = createSlotManager(ResourceManagerId.generate(), resourceActions)) {
+			slotManager.setFailUnfulfillableRequest(false);
+
+			final AllocationID allocationId1 = new AllocationID();
+			final AllocationID allocationId2 = new AllocationID();
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 2, allocationId1, allocationId2));
+
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(2));
+
+			// no task manager can fulfill the requests, which fail under the declared ids
+			slotManager.setFailUnfulfillableRequest(true);
+
+			assertThat(failedAllocationIds, containsInAnyOrder(allocationId1, allocationId2));
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(0));
+
+			slotManager.registerTaskManager(taskExecutorConnection, createSlotReport(taskExecutorConnection.getResourceID(), 1));
+
+			final AllocationID allocationId3 = new AllocationID();
+			slotManager.processResourceRequirements(createResourceRequirements(jobId, 1, allocationId3));
+
+			assertThat(requestedAllocationIds, contains(allocationId3));
+		}
+	}
+
+	private static ResourceRequirements createResourceRequirements(JobID jobId, int numberOfRequiredSlots, AllocationID... pendingAllocationIds) {
+		return new ResourceRequirements(
+			jobId,
+			"foobar",
+			Collections.singleton(new ResourceRequirement(ResourceProfile.UNKNOWN, numberOfRequiredSlots, Arrays.asList(pendingAllocationIds))));
+	}
+
+	private static ResourceRequirements createResourceRequirements(JobID jobId, int numberOfRequiredSlots) {
+		return new ResourceRequirements(
+			jobId,
+			"foobar",
+			Collections.singleton(new ResourceRequirement(ResourceProfile.UNKNOWN, numberOfRequiredSlots)));
+	}
+
+	/**
+	 * Tests that the SlotManager carves dynamic slots out of the resources of a TaskExecutor if no
+	 * static slot matches a request, and that the released resources are reused once the dynamic
+	 * slot is freed.
+	 */
+	@Test
+	public void testDynamicSlotAllocation() throws Exception {
+		final BlockingQueue<Tuple5<SlotID, JobID, AllocationID, String, ResourceManagerId>> requestSlotQueue = new ArrayBlockingQueue<>(3);
+		final TestingTaskExecutorGateway taskExecutorGateway = new TestingTaskExecutorGatewayBuilder()
+			.setRequestSlotFunction(slotRequest -> {
+				requestSlotQueue.offer(slotRequest);
+				return CompletableFuture.completedFuture(Acknowledge.get());
+			})
+			.createTestingTaskExecutorGateway();
+		final TaskExecutorConnection taskExecutorConnection = new TaskExecutorConnection(ResourceID.generate(), taskExecutorGateway);
+		final ResourceProfile slotResourceProfile = new ResourceProfile(1.0, 100);
+		final SlotReport slotReport = new SlotReport(
+			Arrays.asList(
+				new SlotStatus(new SlotID(taskExecutorConnection.getResourceID(), 0), slotResourceProfile),
+				new SlotStatus(new SlotID(taskExecutorConnection.getResourceID(), 1), slotResourceProfile)),
+			slotResourceProfile.merge(slotResourceProfile));
+
+		try (final SlotManagerImpl slotManager = createSlotManager(ResourceManagerId.generate(), new TestingResourceActionsBuilder().build())) {
+			slotManager.registerTaskManager(taskExecutorConnection, slotReport);
+
+			final SlotRequest dynamicSlotRequest = createSlotRequest(new JobID(), new ResourceProfile(1.5, 150));
+			assertThat(slotManager.registerSlotRequest(dynamicSlotRequest), is(true));
+
+			final SlotID dynamicSlotId = requestSlotQueue.take().f0;
+			assertThat(dynamicSlotId.getSlotNumber(), is(2));
+			assertThat(slotManager.getNumberRegisteredSlots(), is(3));
+			assertThat(slotManager.getSlot(dynamicSlotId).getState(), is(TaskManagerSlot.State.ALLOCATED));
+
+			// the static slots are blocked by the dynamic slot
+			final SlotRequest staticSlotRequest = createSlotRequest(new JobID(), slotResourceProfile);
+			assertThat(slotManager.registerSlotRequest(staticSlotRequest), is(true));
+			assertThat(requestSlotQueue.isEmpty(), is(true));
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(1));
+
+			slotManager.freeSlot(dynamicSlotId, dynamicSlotRequest.getAllocationId());
+
+			// the dynamic slot is removed and its resources are used by the pending request
+			assertThat(slotManager.getNumberRegisteredSlots(), is(2));
+			assertThat(requestSlotQueue.take().f0.getSlotNumber(), is(lessThan(2)));
+			assertThat(slotManager.getNumberPendingSlotRequests(), is(0));
+		}
+	}
+
 	private TaskExecutorConnection createTaskExecutorConnection() {
 		final TestingTaskExecutorGateway taskExecutorGateway = new TestingTaskExecutorGatewayBuilder().createTestingTaskExecutorGateway();
 		return new TaskExecutorConnection(ResourceID.generate(), taskExecutorGateway);
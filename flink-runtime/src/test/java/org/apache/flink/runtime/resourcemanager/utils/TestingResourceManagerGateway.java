@@ -39,6 +39,7 @@ import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerGateway;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.resourcemanager.ResourceOverview;
+import org.apache.flink.runtime.resourcemanager.ResourceRequirements;
 import org.apache.flink.runtime.resourcemanager.SlotRequest;
 import org.apache.flink.runtime.rest.messages.taskmanager.TaskManagerInfo;
 import org.apache.flink.runtime.taskexecutor.FileType;
@@ -74,6 +75,8 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 
 	private volatile Consumer<SlotRequest> requestSlotConsumer;
 
+	private volatile Consumer<ResourceRequirements> declareRequiredResourcesConsumer;
+
 	private volatile Consumer<Tuple4<JobMasterId, ResourceID, String, JobID>> registerJobManagerConsumer;
 
 	private volatile Consumer<Tuple2<JobID, Throwable>> disconnectJobManagerConsumer;
@@ -128,6 +131,10 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 		this.requestSlotConsumer = slotRequestConsumer;
 	}
 
+	public void setDeclareRequiredResourcesConsumer(Consumer<ResourceRequirements> declareRequiredResourcesConsumer) {
+		this.declareRequiredResourcesConsumer = declareRequiredResourcesConsumer;
+	}
+
 	public void setRegisterJobManagerConsumer(Consumer<Tuple4<JobMasterId, ResourceID, String, JobID>> registerJobManagerConsumer) {
 		this.registerJobManagerConsumer = registerJobManagerConsumer;
 	}
@@ -191,6 +198,17 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 		}
 	}
 
+	@Override
+	public CompletableFuture<Acknowledge> declareRequiredResources(JobMasterId jobMasterId, ResourceRequirements resourceRequirements, Time timeout) {
+		final Consumer<ResourceRequirements> currentDeclareRequiredResourcesConsumer = declareRequiredResourcesConsumer;
+
+		if (currentDeclareRequiredResourcesConsumer != null) {
+			currentDeclareRequiredResourcesConsumer.accept(resourceRequirements);
+		}
+
+		return CompletableFuture.completedFuture(Acknowledge.get());
+	}
+
 	@Override
 	public void cancelSlotRequest(AllocationID allocationID) {
 		Consumer<AllocationID> currentCancelSlotConsumer = cancelSlotConsumer;
@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.messages.Acknowledge;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.source.event.AddSplitEvent;
+import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link SourceCoordinator}.
+ */
+public class SourceCoordinatorTest extends TestLogger {
+
+	private MockCoordinatorContext coordinatorContext;
+
+	private MockSource source;
+
+	private SourceCoordinator<MockSplit, List<MockSplit>> coordinator;
+
+	@Before
+	public void setup() {
+		coordinatorContext = new MockCoordinatorContext();
+		source = new MockSource(Arrays.asList(new MockSplit("0"), new MockSplit("1")));
+		coordinator = new SourceCoordinator<>("test source", source, coordinatorContext);
+	}
+
+	@After
+	public void teardown() {
+		coordinator.close();
+	}
+
+	@Test
+	public void testSplitsAreAssignedToRegisteredReader() throws Exception {
+		coordinator.start();
+		coordinator.handleEventFromOperator(0, new ReaderRegistrationEvent(0, "localhost"));
+		waitForCoordinatorThread();
+
+		assertEquals(1, coordinatorContext.sentEvents.size());
+		assertEquals(0, (int) coordinatorContext.sentEvents.get(0).f0);
+		assertEquals(
+			Arrays.asList(new MockSplit("0"), new MockSplit("1")),
+			((AddSplitEvent<MockSplit>) coordinatorContext.sentEvents.get(0).f1).splits(new MockSplitSerializer()));
+		assertNull(coordinatorContext.failure);
+	}
+
+	@Test
+	public void testUncheckpointedSplitsAreAddedBackOnFailure() throws Exception {
+		coordinator.start();
+		coordinator.handleEventFromOperator(0, new ReaderRegistrationEvent(0, "localhost"));
+		coordinator.subtaskFailed(0);
+		waitForCoordinatorThread();
+
+		assertEquals(Arrays.asList(new MockSplit("0"), new MockSplit("1")), source.enumerator.unassignedSplits);
+	}
+
+	@Test
+	public void testCheckpointedSplitsAreNotAddedBackOnFailure() throws Exception {
+		coordinator.start();
+		coordinator.handleEventFromOperator(0, new ReaderRegistrationEvent(0, "localhost"));
+
+		final CompletableFuture<byte[]> checkpointFuture = new CompletableFuture<>();
+		coordinator.checkpointCoordinator(1L, checkpointFuture);
+		checkpointFuture.get();
+		coordinator.checkpointComplete(1L);
+		coordinator.subtaskFailed(0);
+		waitForCoordinatorThread();
+
+		assertTrue(source.enumerator.unassignedSplits.isEmpty());
+		assertEquals(Collections.singletonList(1L), source.enumerator.completedCheckpoints);
+	}
+
+	@Test
+	public void testRestoreEnumeratorFromCheckpoint() throws Exception {
+		coordinator.start();
+
+		final CompletableFuture<byte[]> checkpointFuture = new CompletableFuture<>();
+		coordinator.checkpointCoordinator(1L, checkpointFuture);
+		final byte[] checkpointData = checkpointFuture.get();
+
+		final MockSource restoredSource = new MockSource(Collections.emptyList());
+		final SourceCoordinator<MockSplit, List<MockSplit>> restoredCoordinator =
+			new SourceCoordinator<>("test source", restoredSource, coordinatorContext);
+		try {
+			restoredCoordinator.resetToCheckpoint(checkpointData);
+			restoredCoordinator.start();
+			restoredCoordinator.getCoordinatorExecutor().submit(() -> {}).get();
+
+			assertNotNull(restoredSource.enumerator);
+			assertTrue(restoredSource.enumerator.started);
+			assertEquals(Arrays.asList(new MockSplit("0"), new MockSplit("1")), restoredSource.enumerator.unassignedSplits);
+		} finally {
+			restoredCoordinator.close();
+		}
+	}
+
+	@Test
+	public void testEnumeratorFailureFailsJob() throws Exception {
+		coordinator.start();
+		coordinator.handleEventFromOperator(0, new OperatorEvent() {});
+		waitForCoordinatorThread();
+
+		assertNotNull(coordinatorContext.failure);
+	}
+
+	@Test
+	public void testFailedCheckpointDoesNotFailJob() throws Exception {
+		source.enumerator.failCheckpoint = true;
+		coordinator.start();
+
+		final CompletableFuture<byte[]> checkpointFuture = new CompletableFuture<>();
+		coordinator.checkpointCoordinator(1L, checkpointFuture);
+		waitForCoordinatorThread();
+
+		assertTrue(checkpointFuture.isCompletedExceptionally());
+		assertNull(coordinatorContext.failure);
+	}
+
+	@Test
+	public void testWatermarksOfReadersAreAligned() throws Exception {
+		final SourceCoordinator<MockSplit, List<MockSplit>> alignedCoordinator =
+			new SourceCoordinator<>("test source", source, coordinatorContext, 100L);
+		try {
+			alignedCoordinator.start();
+			alignedCoordinator.handleEventFromOperator(0, new ReaderRegistrationEvent(0, "localhost"));
+			alignedCoordinator.handleEventFromOperator(1, new ReaderRegistrationEvent(1, "localhost"));
+
+			alignedCoordinator.handleEventFromOperator(0, new ReportedWatermarkEvent(1000L));
+			alignedCoordinator.handleEventFromOperator(1, new ReportedWatermarkEvent(500L));
+			// does not change the lowest watermark, and therefore announces nothing
+			alignedCoordinator.handleEventFromOperator(0, new ReportedWatermarkEvent(1200L));
+			alignedCoordinator.getCoordinatorExecutor().submit(() -> {}).get();
+
+			assertEquals(
+				Arrays.asList(
+					Tuple2.of(0, 1100L), Tuple2.of(1, 1100L),
+					Tuple2.of(0, 600L), Tuple2.of(1, 600L)),
+				getAnnouncedMaxWatermarks());
+
+			// a reader which fails no longer holds back the others
+			alignedCoordinator.subtaskFailed(1);
+			alignedCoordinator.handleEventFromOperator(0, new ReportedWatermarkEvent(1300L));
+			alignedCoordinator.getCoordinatorExecutor().submit(() -> {}).get();
+
+			assertEquals(Tuple2.of(0, 1400L), getAnnouncedMaxWatermarks().get(4));
+			assertNull(coordinatorContext.failure);
+		} finally {
+			alignedCoordinator.close();
+		}
+	}
+
+	@Test
+	public void testReportedWatermarksAreIgnoredWithoutAlignment() throws Exception {
+		coordinator.start();
+		coordinator.handleEventFromOperator(0, new ReaderRegistrationEvent(0, "localhost"));
+		coordinator.handleEventFromOperator(0, new ReportedWatermarkEvent(1000L));
+		waitForCoordinatorThread();
+
+		assertTrue(getAnnouncedMaxWatermarks().isEmpty());
+		assertNull(coordinatorContext.failure);
+	}
+
+	private List<Tuple2<Integer, Long>> getAnnouncedMaxWatermarks() {
+		final List<Tuple2<Integer, Long>> announcedWatermarks = new ArrayList<>();
+		for (Tuple2<Integer, OperatorEvent> sentEvent : coordinatorContext.sentEvents) {
+			if (sentEvent.f1 instanceof WatermarkAlignmentEvent) {
+				announcedWatermarks.add(Tuple2.of(sentEvent.f0, ((WatermarkAlignmentEvent) sentEvent.f1).getMaxWatermark()));
+			}
+		}
+		return announcedWatermarks;
+	}
+
+	private void waitForCoordinatorThread() throws Exception {
+		coordinator.getCoordinatorExecutor().submit(() -> {}).get();
+	}
+
+	// ------------------------------------------------------------------------
+	//  mocks
+	// ------------------------------------------------------------------------
+
+	/**
+	 * A split identified by its id only.
+	 */
+	static final class MockSplit implements SourceSplit {
+
+		private final String id;
+
+		MockSplit(String id) {
+			this.id = id;
+		}
+
+		@Override
+		public String splitId() {
+			return id;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof MockSplit && ((MockSplit) o).id.equals(id);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(id);
+		}
+
+		@Override
+		public String toString() {
+			return "MockSplit(" + id + ')';
+		}
+	}
+
+	private static final class MockSplitSerializer implements SimpleVersionedSerializer<MockSplit> {
+
+		@Override
+		public int getVersion() {
+			return 1;
+		}
+
+		@Override
+		public byte[] serialize(MockSplit split) {
+			return split.id.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public MockSplit deserialize(int version, byte[] serialized) {
+			return new MockSplit(new String(serialized, StandardCharsets.UTF_8));
+		}
+	}
+
+	private static final class MockCheckpointSerializer implements SimpleVersionedSerializer<List<MockSplit>> {
+
+		@Override
+		public int getVersion() {
+			return 1;
+		}
+
+		@Override
+		public byte[] serialize(List<MockSplit> splits) {
+			final StringBuilder builder = new StringBuilder();
+			for (MockSplit split : splits) {
+				builder.append(split.id).append(',');
+			}
+			return builder.toString().getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public List<MockSplit> deserialize(int version, byte[] serialized) {
+			final List<MockSplit> splits = new ArrayList<>();
+			for (String id : new String(serialized, StandardCharsets.UTF_8).split(",")) {
+				if (!id.isEmpty()) {
+					splits.add(new MockSplit(id));
+				}
+			}
+			return splits;
+		}
+	}
+
+	private static final class MockSource implements Source<Integer, MockSplit, List<MockSplit>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<MockSplit> splits;
+
+		private transient MockEnumerator enumerator;
+
+		MockSource(List<MockSplit> splits) {
+			this.splits = splits;
+			this.enumerator = new MockEnumerator(new ArrayList<>(splits));
+		}
+
+		@Override
+		public Boundedness getBoundedness() {
+			return Boundedness.BOUNDED;
+		}
+
+		@Override
+		public SourceReader<Integer, MockSplit> createReader(SourceReaderContext readerContext) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SplitEnumerator<MockSplit, List<MockSplit>> createEnumerator(SplitEnumeratorContext<MockSplit> enumContext) {
+			enumerator.context = enumContext;
+			return enumerator;
+		}
+
+		@Override
+		public SplitEnumerator<MockSplit, List<MockSplit>> restoreEnumerator(
+				SplitEnumeratorContext<MockSplit> enumContext,
+				List<MockSplit> checkpoint) {
+			enumerator = new MockEnumerator(checkpoint);
+			enumerator.context = enumContext;
+			return enumerator;
+		}
+
+		@Override
+		public SimpleVersionedSerializer<MockSplit> getSplitSerializer() {
+			return new MockSplitSerializer();
+		}
+
+		@Override
+		public SimpleVersionedSerializer<List<MockSplit>> getEnumeratorCheckpointSerializer() {
+			return new MockCheckpointSerializer();
+		}
+	}
+
+	/**
+	 * Enumerator which assigns all unassigned splits to the first reader that registers.
+	 */
+	private static final class MockEnumerator implements SplitEnumerator<MockSplit, List<MockSplit>> {
+
+		private final List<MockSplit> unassignedSplits;
+
+		private final List<Long> completedCheckpoints = new ArrayList<>();
+
+		private SplitEnumeratorContext<MockSplit> context;
+
+		private boolean started;
+
+		private boolean failCheckpoint;
+
+		MockEnumerator(List<MockSplit> unassignedSplits) {
+			this.unassignedSplits = unassignedSplits;
+		}
+
+		@Override
+		public void start() {
+			started = true;
+		}
+
+		@Override
+		public void addSplitsBack(List<MockSplit> splits, int subtaskId) {
+			unassignedSplits.addAll(splits);
+		}
+
+		@Override
+		public void addReader(int subtaskId) {
+			context.assignSplits(new SplitsAssignment<>(
+				Collections.singletonMap(subtaskId, new ArrayList<>(unassignedSplits))));
+			unassignedSplits.clear();
+		}
+
+		@Override
+		public List<MockSplit> snapshotState() throws Exception {
+			if (failCheckpoint) {
+				throw new Exception("Expected test exception");
+			}
+			return new ArrayList<>(unassignedSplits);
+		}
+
+		@Override
+		public void notifyCheckpointComplete(long checkpointId) {
+			completedCheckpoints.add(checkpointId);
+		}
+
+		@Override
+		public void close() throws IOException {}
+	}
+
+	private static final class MockCoordinatorContext implements OperatorCoordinator.Context {
+
+		private final OperatorID operatorId = new OperatorID();
+
+		private final List<Tuple2<Integer, OperatorEvent>> sentEvents = new ArrayList<>();
+
+		private volatile Throwable failure;
+
+		@Override
+		public OperatorID getOperatorId() {
+			return operatorId;
+		}
+
+		@Override
+		public CompletableFuture<Acknowledge> sendEvent(OperatorEvent evt, int targetSubtask) {
+			sentEvents.add(Tuple2.of(targetSubtask, evt));
+			return CompletableFuture.completedFuture(Acknowledge.get());
+		}
+
+		@Override
+		public void failJob(Throwable cause) {
+			failure = cause;
+		}
+
+		@Override
+		public int currentParallelism() {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.source.coordinator;
+
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.runtime.source.coordinator.SourceCoordinatorTest.MockSplit;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link SplitAssignmentTracker}.
+ */
+public class SplitAssignmentTrackerTest {
+
+	@Test
+	public void testUncheckpointedAssignmentIsReturned() {
+		final SplitAssignmentTracker<MockSplit> tracker = new SplitAssignmentTracker<>();
+		tracker.recordSplitAssignment(assignment(0, "0", "1"));
+		tracker.recordSplitAssignment(assignment(1, "2"));
+
+		assertEquals(Arrays.asList(new MockSplit("0"), new MockSplit("1")), tracker.getAndRemoveUncheckpointedAssignment(0));
+		assertTrue(tracker.getAndRemoveUncheckpointedAssignment(0).isEmpty());
+		assertEquals(Collections.singletonList(new MockSplit("2")), tracker.getAndRemoveUncheckpointedAssignment(1));
+	}
+
+	@Test
+	public void testAssignmentOfPendingCheckpointIsReturned() {
+		final SplitAssignmentTracker<MockSplit> tracker = new SplitAssignmentTracker<>();
+		tracker.recordSplitAssignment(assignment(0, "0"));
+		tracker.onCheckpoint(1L);
+		tracker.recordSplitAssignment(assignment(0, "1"));
+
+		assertEquals(Arrays.asList(new MockSplit("0"), new MockSplit("1")), tracker.getAndRemoveUncheckpointedAssignment(0));
+	}
+
+	@Test
+	public void testAssignmentOfCompletedCheckpointIsDropped() {
+		final SplitAssignmentTracker<MockSplit> tracker = new SplitAssignmentTracker<>();
+		tracker.recordSplitAssignment(assignment(0, "0"));
+		tracker.onCheckpoint(1L);
+		tracker.recordSplitAssignment(assignment(0, "1"));
+		tracker.onCheckpoint(2L);
+		tracker.recordSplitAssignment(assignment(0, "2"));
+
+		tracker.onCheckpointComplete(2L);
+
+		assertEquals(Collections.singletonList(new MockSplit("2")), tracker.getAndRemoveUncheckpointedAssignment(0));
+	}
+
+	private static SplitsAssignment<MockSplit> assignment(int subtaskId, String... splitIds) {
+		final Map<Integer, List<MockSplit>> assignment = new HashMap<>();
+		for (String splitId : splitIds) {
+			assignment.computeIfAbsent(subtaskId, (ignored) -> new ArrayList<>()).add(new MockSplit(splitId));
+		}
+		return new SplitsAssignment<>(assignment);
+	}
+}
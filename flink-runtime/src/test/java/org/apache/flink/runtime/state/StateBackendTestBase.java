@@ -79,6 +79,7 @@ import org.apache.flink.runtime.state.internal.InternalValueState;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.runtime.util.BlockerCheckpointStreamFactory;
 import org.apache.flink.shaded.guava18.com.google.common.base.Joiner;
+import org.apache.flink.shaded.guava18.com.google.common.collect.Lists;
 import org.apache.flink.types.IntValue;
 import org.apache.flink.util.IOUtils;
 import org.apache.flink.util.StateMigrationException;
@@ -1428,6 +1429,63 @@ public abstract class StateBackendTestBase<B extends AbstractStateBackend> exten
 		backend.dispose();
 	}
 
+	/**
+	 * This test verifies that list state of longs and map state of ints to longs which are held
+	 * in primitive structures can be snapshotted, and restored as regular list and map state.
+	 */
+	@Test
+	public void testPrimitiveListAndMapState() throws Exception {
+		CheckpointStreamFactory streamFactory = createStreamFactory();
+		SharedStateRegistry sharedStateRegistry = new SharedStateRegistry();
+		AbstractKeyedStateBackend<Integer> backend = createKeyedBackend(IntSerializer.INSTANCE);
+
+		try {
+			ListState<Long> listState = backend.getPartitionedState(
+				VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, ListStateDescriptor.forPrimitiveLongs("list"));
+			MapState<Integer, Long> mapState = backend.getPartitionedState(
+				VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, MapStateDescriptor.forPrimitiveIntLongs("map"));
+
+			backend.setCurrentKey(1);
+			assertNull(listState.get());
+			listState.add(1L);
+			listState.addAll(Arrays.asList(2L, 3L));
+			mapState.put(1, 10L);
+			mapState.putAll(Collections.singletonMap(2, 20L));
+
+			backend.setCurrentKey(2);
+			listState.update(Collections.singletonList(Long.MIN_VALUE));
+			mapState.put(-1, Long.MAX_VALUE);
+			mapState.put(-2, 0L);
+			mapState.remove(-2);
+
+			KeyedStateHandle snapshot = runSnapshot(
+				backend.snapshot(682375462378L, 2, streamFactory, CheckpointOptions.forCheckpointWithDefaultLocation()),
+				sharedStateRegistry);
+
+			backend.dispose();
+			backend = restoreKeyedBackend(IntSerializer.INSTANCE, snapshot);
+			snapshot.discardState();
+
+			ListState<Long> restoredListState = backend.getPartitionedState(
+				VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, new ListStateDescriptor<>("list", Long.class));
+			MapState<Integer, Long> restoredMapState = backend.getPartitionedState(
+				VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, new MapStateDescriptor<>("map", Integer.class, Long.class));
+
+			backend.setCurrentKey(1);
+			assertEquals(Arrays.asList(1L, 2L, 3L), Lists.newArrayList(restoredListState.get()));
+			assertEquals(10L, (long) restoredMapState.get(1));
+			assertEquals(20L, (long) restoredMapState.get(2));
+
+			backend.setCurrentKey(2);
+			assertEquals(Collections.singletonList(Long.MIN_VALUE), Lists.newArrayList(restoredListState.get()));
+			assertEquals(Long.MAX_VALUE, (long) restoredMapState.get(-1));
+			assertFalse(restoredMapState.contains(-2));
+		} finally {
+			IOUtils.closeQuietly(backend);
+			backend.dispose();
+		}
+	}
+
 	/**
 	 * This test verifies that all ListState implementations are consistent in not allowing
 	 * adding {@code null}.
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.state;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.concurrent.Executors;
@@ -39,6 +40,12 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class TaskExecutorLocalStateStoresManagerTest extends TestLogger {
 
@@ -193,6 +200,51 @@ public class TaskExecutorLocalStateStoresManagerTest extends TestLogger {
 		checkRootDirsClean(rootDirs);
 	}
 
+	/**
+	 * Tests that the local state sizes are reported per allocation id and that released allocations are no
+	 * longer contained in the result.
+	 */
+	@Test
+	public void testLocalStateSizes() throws Exception {
+		JobID jobID = new JobID();
+		AllocationID allocationID = new AllocationID();
+		AllocationID emptyAllocationID = new AllocationID();
+		AllocationID unknownAllocationID = new AllocationID();
+
+		File[] rootDirs = {temporaryFolder.newFolder()};
+		TaskExecutorLocalStateStoresManager storesManager = new TaskExecutorLocalStateStoresManager(
+			true,
+			rootDirs,
+			Executors.directExecutor());
+
+		try {
+			storesManager.localStateStoreForSubtask(jobID, allocationID, new JobVertexID(), 0)
+				.storeLocalState(1L, createTaskStateSnapshot(42L));
+			storesManager.localStateStoreForSubtask(jobID, allocationID, new JobVertexID(), 1)
+				.storeLocalState(1L, createTaskStateSnapshot(8L));
+			storesManager.localStateStoreForSubtask(jobID, emptyAllocationID, new JobVertexID(), 0);
+
+			Map<AllocationID, Long> localStateSizes = storesManager.getLocalStateSizes(
+				Arrays.asList(allocationID, emptyAllocationID, unknownAllocationID));
+
+			Assert.assertEquals(2, localStateSizes.size());
+			Assert.assertEquals(Long.valueOf(50L), localStateSizes.get(allocationID));
+			Assert.assertEquals(Long.valueOf(0L), localStateSizes.get(emptyAllocationID));
+
+			storesManager.releaseLocalStateForAllocationId(allocationID);
+
+			Assert.assertTrue(storesManager.getLocalStateSizes(Collections.singleton(allocationID)).isEmpty());
+		} finally {
+			storesManager.shutdown();
+		}
+	}
+
+	private static TaskStateSnapshot createTaskStateSnapshot(long stateSize) {
+		TaskStateSnapshot taskStateSnapshot = mock(TaskStateSnapshot.class);
+		when(taskStateSnapshot.getStateSize()).thenReturn(stateSize);
+		return taskStateSnapshot;
+	}
+
 	private void checkRootDirsClean(File[] rootDirs) {
 		for (File rootDir : rootDirs) {
 			File[] files = rootDir.listFiles();
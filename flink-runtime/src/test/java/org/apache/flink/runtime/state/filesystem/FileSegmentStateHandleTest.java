@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.filesystem;
+
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.runtime.concurrent.Executors;
+import org.apache.flink.runtime.state.SharedStateRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the {@link FileSegmentStateHandle}.
+ */
+public class FileSegmentStateHandleTest {
+
+	@Rule
+	public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+	@Test
+	public void testReadSegment() throws Exception {
+		File file = tempFolder.newFile();
+		writeTestData(file, 30);
+
+		FileSegmentStateHandle handle = new FileSegmentStateHandle(Path.fromLocalFile(file), 10L, 10L);
+
+		try (FSDataInputStream in = handle.openInputStream()) {
+			assertEquals(0L, in.getPos());
+			assertEquals(10, in.read());
+
+			byte[] buffer = new byte[20];
+			assertEquals(9, in.read(buffer, 0, buffer.length));
+			assertEquals(19, buffer[8]);
+			assertEquals(-1, in.read());
+			assertEquals(-1, in.read(buffer, 0, buffer.length));
+
+			in.seek(5L);
+			assertEquals(5L, in.getPos());
+			assertEquals(15, in.read());
+		}
+	}
+
+	@Test
+	public void testDiscardWithoutRegistrationKeepsFile() throws Exception {
+		File file = tempFolder.newFile();
+		writeTestData(file, 30);
+
+		FileSegmentStateHandle[] handles = new FileSegmentStateHandle[3];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = new FileSegmentStateHandle(Path.fromLocalFile(file), i * 10L, 10L);
+			handles[i].discardState();
+		}
+
+		assertTrue(file.exists());
+	}
+
+	@Test
+	public void testFileReferencedByLaterCheckpointSurvivesSubsumption() throws Exception {
+		File checkpointDir = tempFolder.newFolder();
+		File file = new File(checkpointDir, "merged");
+		writeTestData(file, 30);
+		FsCompletedCheckpointStorageLocation location = createLocation(checkpointDir, true);
+
+		SharedStateRegistry registry = new SharedStateRegistry(Executors.directExecutor());
+		FileSegmentStateHandle[] firstCheckpointHandles = {
+			new FileSegmentStateHandle(Path.fromLocalFile(file), 0L, 10L),
+			new FileSegmentStateHandle(Path.fromLocalFile(file), 10L, 10L)
+		};
+		FileSegmentStateHandle secondCheckpointHandle = new FileSegmentStateHandle(Path.fromLocalFile(file), 20L, 10L);
+		for (FileSegmentStateHandle handle : firstCheckpointHandles) {
+			handle.registerSharedStates(registry);
+		}
+		secondCheckpointHandle.registerSharedStates(registry);
+
+		// subsume the first checkpoint
+		location.getMetadataHandle().discardState();
+		for (FileSegmentStateHandle handle : firstCheckpointHandles) {
+			handle.discardState();
+		}
+		location.disposeStorageLocation();
+
+		assertTrue(file.exists());
+		try (FSDataInputStream in = secondCheckpointHandle.openInputStream()) {
+			assertEquals(20, in.read());
+		}
+
+		// the last segment in the directory deletes it, together with the file
+		secondCheckpointHandle.discardState();
+		assertFalse(checkpointDir.exists());
+	}
+
+	@Test
+	public void testDisposingLocationWithoutMergedFilesKeepsNonEmptyDirectory() throws Exception {
+		File checkpointDir = tempFolder.newFolder();
+		File file = new File(checkpointDir, "state");
+		writeTestData(file, 30);
+		FsCompletedCheckpointStorageLocation location = createLocation(checkpointDir, false);
+
+		location.getMetadataHandle().discardState();
+		try {
+			location.disposeStorageLocation();
+			fail("The non-empty checkpoint directory should not have been deleted.");
+		} catch (IOException ignored) {
+			// expected, as before file merging was introduced
+		}
+		assertTrue(file.exists());
+
+		assertTrue(file.delete());
+		location.disposeStorageLocation();
+		assertFalse(checkpointDir.exists());
+	}
+
+	private static FsCompletedCheckpointStorageLocation createLocation(File checkpointDir, boolean mayHoldMergedFiles) throws IOException {
+		File metadataFile = new File(checkpointDir, "_metadata");
+		writeTestData(metadataFile, 10);
+
+		Path checkpointPath = Path.fromLocalFile(checkpointDir);
+		return new FsCompletedCheckpointStorageLocation(
+			checkpointPath.getFileSystem(),
+			checkpointPath,
+			new FileStateHandle(Path.fromLocalFile(metadataFile), 10L),
+			checkpointDir.toURI().toString(),
+			mayHoldMergedFiles);
+	}
+
+	private static void writeTestData(File file, int length) throws IOException {
+		try (OutputStream out = new FileOutputStream(file)) {
+			for (int i = 0; i < length; i++) {
+				out.write(i);
+			}
+		}
+	}
+}
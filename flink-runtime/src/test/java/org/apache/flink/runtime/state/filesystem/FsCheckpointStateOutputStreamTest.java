@@ -22,6 +22,7 @@ import org.apache.flink.configuration.ConfigConstants;
 import org.apache.flink.core.fs.FSDataOutputStream;
 import org.apache.flink.core.fs.FileSystem;
 import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.testutils.CheckedThread;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
 import org.apache.flink.runtime.state.CheckpointStreamFactory.CheckpointStateOutputStream;
 import org.apache.flink.runtime.state.StreamStateHandle;
@@ -41,11 +42,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -337,6 +340,80 @@ public class FsCheckpointStateOutputStreamTest {
 		assertTrue(isDirectoryEmpty(directory));
 	}
 
+	/**
+	 * Tests that state chunks of concurrently closed streams which are below the file merging
+	 * threshold are written to shared files, and that each handle reads back its own chunk.
+	 */
+	@Test
+	public void testConcurrentStreamsBelowMergingThreshold() throws Exception {
+		final int numStreams = 16;
+		final File directory = tempDir.newFolder();
+		final Path basePath = Path.fromLocalFile(directory);
+		final Random rnd = new Random();
+
+		final byte[][] states = new byte[numStreams][];
+		final StreamStateHandle[] handles = new StreamStateHandle[numStreams];
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final CheckedThread[] threads = new CheckedThread[numStreams];
+
+		for (int i = 0; i < numStreams; i++) {
+			final int index = i;
+			states[i] = new byte[100 + rnd.nextInt(900)];
+			rnd.nextBytes(states[i]);
+
+			threads[i] = new CheckedThread() {
+				@Override
+				public void go() throws Exception {
+					FsCheckpointStateOutputStream stream = new FsCheckpointStateOutputStream(
+						basePath, FileSystem.getLocalFileSystem(), 1024, 10, 1024);
+					stream.write(states[index]);
+
+					startLatch.await();
+					handles[index] = stream.closeAndGetHandle();
+				}
+			};
+			threads[i].start();
+		}
+
+		startLatch.countDown();
+
+		for (CheckedThread thread : threads) {
+			thread.sync();
+		}
+
+		final String[] files = directory.list();
+		assertNotNull(files);
+		assertTrue(files.length >= 1 && files.length <= numStreams);
+
+		for (int i = 0; i < numStreams; i++) {
+			assertTrue(handles[i] instanceof FileSegmentStateHandle || handles[i] instanceof FileStateHandle);
+			assertEquals(states[i].length, handles[i].getStateSize());
+			validateBytesInStream(handles[i].openInputStream(), states[i]);
+		}
+
+		assertEquals(0, FsSegmentFileWriter.getNumberOfWriters());
+	}
+
+	/**
+	 * Tests that state above the file merging threshold is still written to its own file.
+	 */
+	@Test
+	public void testStateAboveMergingThreshold() throws Exception {
+		final byte[] state = new byte[2048];
+		new Random().nextBytes(state);
+
+		final File directory = tempDir.newFolder();
+		FsCheckpointStateOutputStream stream = new FsCheckpointStateOutputStream(
+			Path.fromLocalFile(directory), FileSystem.getLocalFileSystem(), 1024, 10, 1024);
+		stream.write(state);
+
+		FileStateHandle handle = (FileStateHandle) stream.closeAndGetHandle();
+		validateBytesInStream(handle.openInputStream(), state);
+
+		handle.discardState();
+		assertTrue(isDirectoryEmpty(directory));
+	}
+
 	// ------------------------------------------------------------------------
 	//  Not deleting parent directories
 	// ------------------------------------------------------------------------
@@ -55,6 +55,12 @@ public abstract class HeapStateBackendTestBase {
 	public <K> HeapKeyedStateBackend<K> createKeyedBackend(
 		TypeSerializer<K> keySerializer,
 		Collection<KeyedStateHandle> stateHandles) throws Exception {
+		return createKeyedBackendBuilder(keySerializer, stateHandles).build();
+	}
+
+	public <K> HeapKeyedStateBackendBuilder<K> createKeyedBackendBuilder(
+		TypeSerializer<K> keySerializer,
+		Collection<KeyedStateHandle> stateHandles) {
 		final KeyGroupRange keyGroupRange = new KeyGroupRange(0, 15);
 		final int numKeyGroups = keyGroupRange.getNumberOfKeyGroups();
 		ExecutionConfig executionConfig = new ExecutionConfig();
@@ -72,6 +78,6 @@ public abstract class HeapStateBackendTestBase {
 			TestLocalRecoveryConfig.disabled(),
 			new HeapPriorityQueueSetFactory(keyGroupRange, numKeyGroups, 128),
 			async,
-			new CloseableRegistry()).build();
+			new CloseableRegistry());
 	}
 }
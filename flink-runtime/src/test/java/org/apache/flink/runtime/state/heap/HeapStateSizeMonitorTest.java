@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.api.common.typeutils.base.array.LongPrimitiveArraySerializer;
+import org.apache.flink.configuration.CheckpointingOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link HeapStateSizeMonitor}.
+ */
+public class HeapStateSizeMonitorTest extends HeapStateBackendTestBase {
+
+	private static final int NUM_KEYS = 100;
+
+	private static final int VALUE_LENGTH = 1000;
+
+	@Test
+	public void testStateSizeMetrics() throws Exception {
+		final Map<String, Gauge<?>> gauges = new HashMap<>();
+		final HeapStateSizeMonitor monitor = new HeapStateSizeMonitor(
+			new CapturingMetricGroup(gauges, ""), new HeapStateSizeMonitor.Registry(), 1, Long.MAX_VALUE);
+
+		final HeapKeyedStateBackend<String> backend = createBackend(monitor);
+		try {
+			writeState(backend);
+
+			final String prefix = HeapStateSizeMonitor.METRIC_GROUP_NAME + ".test.";
+			assertEquals((long) NUM_KEYS, gauges.get(prefix + HeapStateSizeMonitor.NUM_ENTRIES).getValue());
+
+			final long entrySize = (Long) gauges.get(prefix + HeapStateSizeMonitor.ESTIMATED_ENTRY_SIZE).getValue();
+			assertTrue("Estimated entry size " + entrySize, entrySize >= VALUE_LENGTH * 8L);
+			assertTrue("Estimated entry size " + entrySize, entrySize < VALUE_LENGTH * 8L + 256);
+
+			final long size = (Long) gauges.get(prefix + HeapStateSizeMonitor.ESTIMATED_SIZE).getValue();
+			assertTrue("Estimated size " + size, Math.abs(size - NUM_KEYS * entrySize) < NUM_KEYS);
+			assertEquals(
+				size,
+				gauges.get(HeapStateSizeMonitor.METRIC_GROUP_NAME + '.' + HeapStateSizeMonitor.ESTIMATED_TOTAL_SIZE).getValue());
+			assertFalse(monitor.isWarningThresholdExceeded());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test
+	public void testWarningThreshold() throws Exception {
+		final HeapStateSizeMonitor monitor = new HeapStateSizeMonitor(
+			new UnregisteredMetricsGroup(), new HeapStateSizeMonitor.Registry(), 10, NUM_KEYS * VALUE_LENGTH * 4L);
+
+		final HeapKeyedStateBackend<String> backend = createBackend(monitor);
+		try {
+			assertFalse(monitor.isWarningThresholdExceeded());
+			writeState(backend);
+			assertTrue(monitor.isWarningThresholdExceeded());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test
+	public void testWarningThresholdAppliesToAllBackendsOfTaskManager() throws Exception {
+		// each backend holds about two thirds of the threshold, only both together exceed it
+		final HeapStateSizeMonitor.Registry registry = new HeapStateSizeMonitor.Registry();
+		final long warningThreshold = NUM_KEYS * VALUE_LENGTH * 12L;
+		final HeapStateSizeMonitor firstMonitor = new HeapStateSizeMonitor(new UnregisteredMetricsGroup(), registry, 10, warningThreshold);
+		final HeapStateSizeMonitor secondMonitor = new HeapStateSizeMonitor(new UnregisteredMetricsGroup(), registry, 10, warningThreshold);
+
+		final HeapKeyedStateBackend<String> firstBackend = createBackend(firstMonitor);
+		final HeapKeyedStateBackend<String> secondBackend = createBackend(secondMonitor);
+		try {
+			writeState(firstBackend);
+			assertFalse(firstMonitor.isWarningThresholdExceeded());
+
+			writeState(secondBackend);
+			assertTrue(secondMonitor.isWarningThresholdExceeded());
+			assertEquals(
+				firstMonitor.getEstimatedTotalSize() + secondMonitor.getEstimatedTotalSize(),
+				registry.getEstimatedTotalSize());
+		} finally {
+			firstBackend.dispose();
+		}
+
+		try {
+			assertEquals(secondMonitor.getEstimatedTotalSize(), registry.getEstimatedTotalSize());
+		} finally {
+			secondBackend.dispose();
+		}
+		assertEquals(0L, registry.getEstimatedTotalSize());
+	}
+
+	@Test
+	public void testCreateFromConfiguration() {
+		final Configuration config = new Configuration();
+		assertNull(HeapStateSizeMonitor.create(config, new UnregisteredMetricsGroup()));
+
+		config.setInteger(CheckpointingOptions.HEAP_STATE_SIZE_SAMPLE_INTERVAL, 100);
+		assertNotNull(HeapStateSizeMonitor.create(config, new UnregisteredMetricsGroup()));
+		assertNull(HeapStateSizeMonitor.create(config, null));
+	}
+
+	private HeapKeyedStateBackend<String> createBackend(HeapStateSizeMonitor monitor) throws Exception {
+		return createKeyedBackendBuilder(StringSerializer.INSTANCE, Collections.emptyList())
+			.setStateSizeMonitor(monitor)
+			.build();
+	}
+
+	private static void writeState(HeapKeyedStateBackend<String> backend) throws Exception {
+		final ValueState<long[]> state = backend.getPartitionedState(
+			VoidNamespace.INSTANCE,
+			VoidNamespaceSerializer.INSTANCE,
+			new ValueStateDescriptor<>("test", LongPrimitiveArraySerializer.INSTANCE));
+
+		for (int i = 0; i < NUM_KEYS; i++) {
+			backend.setCurrentKey(String.valueOf(i));
+			state.update(new long[VALUE_LENGTH]);
+		}
+	}
+
+	/**
+	 * A {@link MetricGroup} that captures the registered gauges by their scoped name.
+	 */
+	private static final class CapturingMetricGroup extends UnregisteredMetricsGroup {
+
+		private final Map<String, Gauge<?>> gauges;
+
+		private final String prefix;
+
+		CapturingMetricGroup(Map<String, Gauge<?>> gauges, String prefix) {
+			this.gauges = gauges;
+			this.prefix = prefix;
+		}
+
+		@Override
+		public MetricGroup addGroup(String name) {
+			return new CapturingMetricGroup(gauges, prefix + name + '.');
+		}
+
+		@Override
+		public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+			gauges.put(prefix + name, gauge);
+			return gauge;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link ObjectSizeEstimator}.
+ */
+public class ObjectSizeEstimatorTest {
+
+	@Test
+	public void testPrimitiveArray() {
+		assertEquals(ObjectSizeEstimator.ARRAY_HEADER_SIZE + 8 * 100, ObjectSizeEstimator.estimateSize(new long[100]));
+		assertEquals(0, ObjectSizeEstimator.estimateSize((Object) null));
+	}
+
+	@Test
+	public void testSharedObjectsAreCountedOnce() {
+		final long[] values = new long[100];
+		final long arraySize = ObjectSizeEstimator.estimateSize((Object) values);
+
+		final Node first = new Node(values);
+		final Node second = new Node(values);
+		first.next = second;
+		second.next = first;
+
+		final long nodeSize = ObjectSizeEstimator.shallowSizeOf(Node.class);
+		assertEquals(2 * nodeSize + arraySize, ObjectSizeEstimator.estimateSize(first));
+		assertEquals(2 * nodeSize + arraySize, ObjectSizeEstimator.estimateSize(first, second, values));
+	}
+
+	@Test
+	public void testStrings() {
+		final long emptySize = ObjectSizeEstimator.estimateSize("");
+		assertTrue(emptySize >= ObjectSizeEstimator.OBJECT_HEADER_SIZE + ObjectSizeEstimator.ARRAY_HEADER_SIZE);
+		assertEquals(emptySize + 2 * 1000, ObjectSizeEstimator.estimateSize(new String(new char[1000])));
+	}
+
+	@Test
+	public void testEnumsAreNotCounted() {
+		final Node node = new Node(null);
+		node.type = Thread.State.NEW;
+		assertEquals(ObjectSizeEstimator.shallowSizeOf(Node.class), ObjectSizeEstimator.estimateSize(node));
+	}
+
+	@Test
+	public void testLargeCollectionsAreSampled() {
+		final int numElements = 100 * ObjectSizeEstimator.MAX_SAMPLED_ELEMENTS;
+		final long[] element = new long[10];
+		final long elementSize = ObjectSizeEstimator.estimateSize((Object) element);
+
+		final List<long[]> list = new ArrayList<>();
+		final Map<Integer, long[]> map = new HashMap<>();
+		for (int i = 0; i < numElements; i++) {
+			list.add(new long[10]);
+			map.put(i, new long[10]);
+		}
+
+		final long listSize = ObjectSizeEstimator.estimateSize(list);
+		final long expectedListSize = numElements * (elementSize + ObjectSizeEstimator.REFERENCE_SIZE);
+		assertTrue("Estimated size " + listSize, listSize >= expectedListSize);
+		assertTrue("Estimated size " + listSize, listSize < expectedListSize + 1024);
+
+		final long mapSize = ObjectSizeEstimator.estimateSize(map);
+		final long boxedKeySize = ObjectSizeEstimator.shallowSizeOf(Integer.class);
+		assertTrue("Estimated size " + mapSize, mapSize >= numElements * (elementSize + boxedKeySize));
+		assertTrue("Estimated size " + mapSize, mapSize < numElements * (elementSize + boxedKeySize + 64));
+	}
+
+	@Test
+	public void testSubclassOfJdkCollection() {
+		final ExtendedList list = new ExtendedList();
+		list.add(new long[10]);
+		list.values = new long[100];
+
+		assertTrue(ObjectSizeEstimator.estimateSize(list) >=
+			ObjectSizeEstimator.estimateSize((Object) new long[10]) + ObjectSizeEstimator.estimateSize((Object) list.values));
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class Node {
+
+		final long[] values;
+
+		Node next;
+
+		Thread.State type;
+
+		Node(long[] values) {
+			this.values = values;
+		}
+	}
+
+	private static final class ExtendedList extends ArrayList<long[]> {
+
+		private static final long serialVersionUID = 1L;
+
+		long[] values;
+	}
+}
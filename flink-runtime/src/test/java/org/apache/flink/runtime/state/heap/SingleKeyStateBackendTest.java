@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.operators.testutils.DummyEnvironment;
+import org.apache.flink.runtime.query.TaskKvStateRegistry;
+import org.apache.flink.runtime.state.AbstractKeyedStateBackend;
+import org.apache.flink.runtime.state.BackendBuildingException;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link SingleKeyStateBackend}.
+ */
+public class SingleKeyStateBackendTest extends TestLogger {
+
+	@Test
+	public void testKeepsStateOfCurrentKeyOnly() throws Exception {
+		final AbstractKeyedStateBackend<String> backend = createKeyedBackend(Collections.emptyList());
+		try {
+			final ValueState<Integer> valueState = backend.getPartitionedState(
+				VoidNamespace.INSTANCE,
+				VoidNamespaceSerializer.INSTANCE,
+				new ValueStateDescriptor<>("value", IntSerializer.INSTANCE));
+			final ListState<Integer> listState = backend.getPartitionedState(
+				VoidNamespace.INSTANCE,
+				VoidNamespaceSerializer.INSTANCE,
+				new ListStateDescriptor<>("list", IntSerializer.INSTANCE));
+
+			backend.setCurrentKey("a");
+			valueState.update(1);
+			listState.add(1);
+			listState.add(2);
+			assertEquals(1, (int) valueState.value());
+			assertEquals(Arrays.asList(1, 2), listState.get());
+			assertEquals(2, backend.numKeyValueStateEntries());
+
+			backend.setCurrentKey("b");
+			assertNull(valueState.value());
+			listState.add(3);
+			assertEquals(Collections.singletonList(3), listState.get());
+
+			// the state of the previous key is discarded once the state of the next key is written
+			valueState.update(2);
+			assertEquals(2, backend.numKeyValueStateEntries());
+
+			backend.setCurrentKey("a");
+			assertNull(valueState.value());
+			assertNull(listState.get());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test
+	public void testStatesOfSeveralNamespaces() throws Exception {
+		final AbstractKeyedStateBackend<String> backend = createKeyedBackend(Collections.emptyList());
+		try {
+			final ValueStateDescriptor<Integer> descriptor = new ValueStateDescriptor<>("value", IntSerializer.INSTANCE);
+
+			backend.setCurrentKey("a");
+			backend.getPartitionedState(1, IntSerializer.INSTANCE, descriptor).update(1);
+			backend.getPartitionedState(2, IntSerializer.INSTANCE, descriptor).update(2);
+			assertEquals(1, (int) backend.getPartitionedState(1, IntSerializer.INSTANCE, descriptor).value());
+			assertEquals(2, (int) backend.getPartitionedState(2, IntSerializer.INSTANCE, descriptor).value());
+
+			backend.setCurrentKey("b");
+			backend.getPartitionedState(1, IntSerializer.INSTANCE, descriptor).update(3);
+			assertEquals(3, (int) backend.getPartitionedState(1, IntSerializer.INSTANCE, descriptor).value());
+			assertNull(backend.getPartitionedState(2, IntSerializer.INSTANCE, descriptor).value());
+		} finally {
+			backend.dispose();
+		}
+	}
+
+	@Test(expected = BackendBuildingException.class)
+	public void testRestoreIsNotSupported() throws Exception {
+		createKeyedBackend(Collections.singletonList(mock(KeyedStateHandle.class)));
+	}
+
+	private static AbstractKeyedStateBackend<String> createKeyedBackend(
+			Collection<KeyedStateHandle> stateHandles) throws Exception {
+
+		final KeyGroupRange keyGroupRange = new KeyGroupRange(0, 15);
+		return new SingleKeyStateBackend(new MemoryStateBackend()).createKeyedStateBackend(
+			new DummyEnvironment(),
+			new JobID(),
+			"test-operator",
+			StringSerializer.INSTANCE,
+			keyGroupRange.getNumberOfKeyGroups(),
+			keyGroupRange,
+			mock(TaskKvStateRegistry.class),
+			TtlTimeProvider.DEFAULT,
+			new UnregisteredMetricsGroup(),
+			stateHandles,
+			new CloseableRegistry());
+	}
+}
@@ -21,10 +21,12 @@ package org.apache.flink.runtime.taskexecutor.slot;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.time.Time;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.testingUtils.TestingUtils;
 import org.apache.flink.util.TestLogger;
 
+import org.apache.flink.shaded.guava18.com.google.common.collect.Iterables;
 import org.apache.flink.shaded.guava18.com.google.common.collect.Sets;
 
 import org.apache.commons.collections.IteratorUtils;
@@ -85,6 +87,46 @@ public class TaskSlotTableTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that dynamic slots are carved out of the resources of the static slots and that
+	 * they give their resources back once they are freed.
+	 */
+	@Test
+	public void testDynamicSlotAllocation() throws SlotNotFoundException {
+		final ResourceProfile slotResourceProfile = new ResourceProfile(1.0, 100);
+		final TaskSlotTable taskSlotTable = createTaskSlotTable(Collections.nCopies(2, slotResourceProfile));
+
+		try {
+			taskSlotTable.start(new TestingSlotActionsBuilder().build());
+
+			assertThat(taskSlotTable.getTotalResourceProfile(), is(equalTo(new ResourceProfile(2.0, 200))));
+
+			final JobID jobId = new JobID();
+			final AllocationID dynamicAllocationId = new AllocationID();
+			assertThat(taskSlotTable.isSlotFree(2), is(true));
+			assertThat(taskSlotTable.allocateSlot(2, jobId, dynamicAllocationId, new ResourceProfile(1.5, 150), SLOT_TIMEOUT), is(true));
+			assertThat(taskSlotTable.isAllocated(2, jobId, dynamicAllocationId), is(true));
+			assertThat(taskSlotTable.getAvailableResourceProfile(), is(equalTo(new ResourceProfile(0.5, 50))));
+
+			// the dynamic slot is contained in the slot report
+			assertThat(Iterables.size(taskSlotTable.createSlotReport(ResourceID.generate())), is(3));
+
+			// neither a static slot nor another dynamic slot fits into the remaining resources
+			assertThat(taskSlotTable.allocateSlot(0, jobId, new AllocationID(), SLOT_TIMEOUT), is(false));
+			assertThat(taskSlotTable.allocateSlot(3, jobId, new AllocationID(), slotResourceProfile, SLOT_TIMEOUT), is(false));
+			assertThat(taskSlotTable.allocateSlot(3, jobId, new AllocationID(), ResourceProfile.UNKNOWN, SLOT_TIMEOUT), is(false));
+
+			assertThat(taskSlotTable.freeSlot(dynamicAllocationId), is(2));
+			assertThat(taskSlotTable.isSlotFree(2), is(true));
+			assertThat(taskSlotTable.getAvailableResourceProfile(), is(equalTo(new ResourceProfile(2.0, 200))));
+			assertThat(Iterables.size(taskSlotTable.createSlotReport(ResourceID.generate())), is(2));
+
+			assertThat(taskSlotTable.allocateSlot(0, jobId, new AllocationID(), SLOT_TIMEOUT), is(true));
+		} finally {
+			taskSlotTable.stop();
+		}
+	}
+
 	@Nonnull
 	private TaskSlotTable createTaskSlotTable(final Collection<ResourceProfile> resourceProfiles) {
 		return new TaskSlotTable(
@@ -21,7 +21,9 @@ import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.java.Utils;
 import org.apache.flink.api.java.typeutils.TypeExtractor;
+import org.apache.flink.streaming.api.functions.async.AsyncBatchFunction;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.AsyncRetryStrategy;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperator;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperatorFactory;
 
@@ -57,6 +59,9 @@ public class AsyncDataStream {
 	 * @param timeout for the asynchronous operation to complete
 	 * @param bufSize The max number of inputs the {@link AsyncWaitOperator} can hold inside.
 	 * @param mode Processing mode for {@link AsyncWaitOperator}.
+	 * @param retryStrategy for inputs whose asynchronous operation failed.
+	 * @param maxBatchSize The max number of inputs per asynchronous operation.
+	 * @param maxBatchDelay The max time in milliseconds that an input waits for its batch to be full.
 	 * @param <IN> Input type.
 	 * @param <OUT> Output type.
 	 * @return A new {@link SingleOutputStreamOperator}
@@ -66,7 +71,10 @@ public class AsyncDataStream {
 			AsyncFunction<IN, OUT> func,
 			long timeout,
 			int bufSize,
-			OutputMode mode) {
+			OutputMode mode,
+			AsyncRetryStrategy retryStrategy,
+			int maxBatchSize,
+			long maxBatchDelay) {
 
 		TypeInformation<OUT> outTypeInfo = TypeExtractor.getUnaryOperatorReturnType(
 			func,
@@ -83,11 +91,24 @@ public class AsyncDataStream {
 			in.getExecutionEnvironment().clean(func),
 			timeout,
 			bufSize,
-			mode);
+			mode,
+			retryStrategy,
+			maxBatchSize,
+			maxBatchDelay);
 
 		return in.transform("async wait operator", outTypeInfo, operatorFactory);
 	}
 
+	private static <IN, OUT> SingleOutputStreamOperator<OUT> addOperator(
+			DataStream<IN> in,
+			AsyncFunction<IN, OUT> func,
+			long timeout,
+			int bufSize,
+			OutputMode mode,
+			AsyncRetryStrategy retryStrategy) {
+		return addOperator(in, func, timeout, bufSize, mode, retryStrategy, 1, 0L);
+	}
+
 	/**
 	 * Add an AsyncWaitOperator. The order of output stream records may be reordered.
 	 *
@@ -106,7 +127,7 @@ public class AsyncDataStream {
 			long timeout,
 			TimeUnit timeUnit,
 			int capacity) {
-		return addOperator(in, func, timeUnit.toMillis(timeout), capacity, OutputMode.UNORDERED);
+		return addOperator(in, func, timeUnit.toMillis(timeout), capacity, OutputMode.UNORDERED, AsyncRetryStrategy.noRetry());
 	}
 
 	/**
@@ -129,7 +150,8 @@ public class AsyncDataStream {
 			func,
 			timeUnit.toMillis(timeout),
 			DEFAULT_QUEUE_CAPACITY,
-			OutputMode.UNORDERED);
+			OutputMode.UNORDERED,
+			AsyncRetryStrategy.noRetry());
 	}
 
 	/**
@@ -151,7 +173,7 @@ public class AsyncDataStream {
 			long timeout,
 			TimeUnit timeUnit,
 			int capacity) {
-		return addOperator(in, func, timeUnit.toMillis(timeout), capacity, OutputMode.ORDERED);
+		return addOperator(in, func, timeUnit.toMillis(timeout), capacity, OutputMode.ORDERED, AsyncRetryStrategy.noRetry());
 	}
 
 	/**
@@ -176,6 +198,129 @@ public class AsyncDataStream {
 			func,
 			timeUnit.toMillis(timeout),
 			DEFAULT_QUEUE_CAPACITY,
-			OutputMode.ORDERED);
+			OutputMode.ORDERED,
+			AsyncRetryStrategy.noRetry());
+	}
+
+	/**
+	 * Add an AsyncWaitOperator which retries failed asynchronous operations. The order of output
+	 * stream records may be reordered.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link AsyncFunction}
+	 * @param timeout for the asynchronous operation to complete, including its retries
+	 * @param timeUnit of the given timeout
+	 * @param capacity The max number of async i/o operation that can be triggered
+	 * @param retryStrategy for inputs whose asynchronous operation failed
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> unorderedWaitWithRetry(
+			DataStream<IN> in,
+			AsyncFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			int capacity,
+			AsyncRetryStrategy retryStrategy) {
+		return addOperator(in, func, timeUnit.toMillis(timeout), capacity, OutputMode.UNORDERED, retryStrategy);
+	}
+
+	/**
+	 * Add an AsyncWaitOperator which retries failed asynchronous operations. The order to process
+	 * input records is guaranteed to be the same as input ones.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link AsyncFunction}
+	 * @param timeout for the asynchronous operation to complete, including its retries
+	 * @param timeUnit of the given timeout
+	 * @param capacity The max number of async i/o operation that can be triggered
+	 * @param retryStrategy for inputs whose asynchronous operation failed
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> orderedWaitWithRetry(
+			DataStream<IN> in,
+			AsyncFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			int capacity,
+			AsyncRetryStrategy retryStrategy) {
+		return addOperator(in, func, timeUnit.toMillis(timeout), capacity, OutputMode.ORDERED, retryStrategy);
+	}
+
+	/**
+	 * Add an AsyncWaitOperator which triggers one asynchronous operation per batch of input
+	 * records. The order of output stream records may be reordered.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link AsyncBatchFunction}
+	 * @param timeout for the asynchronous operation of an input to complete, including the time
+	 *                it waits for its batch and its retries
+	 * @param timeUnit of the given timeout and max batch delay
+	 * @param capacity The max number of inputs in batches and async i/o operations
+	 * @param maxBatchSize The max number of inputs per batch
+	 * @param maxBatchDelay The max time that an input waits for its batch to be full
+	 * @param retryStrategy for inputs whose asynchronous operation failed
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> unorderedWaitBatched(
+			DataStream<IN> in,
+			AsyncBatchFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			int capacity,
+			int maxBatchSize,
+			long maxBatchDelay,
+			AsyncRetryStrategy retryStrategy) {
+		return addOperator(
+			in,
+			func,
+			timeUnit.toMillis(timeout),
+			capacity,
+			OutputMode.UNORDERED,
+			retryStrategy,
+			maxBatchSize,
+			timeUnit.toMillis(maxBatchDelay));
+	}
+
+	/**
+	 * Add an AsyncWaitOperator which triggers one asynchronous operation per batch of input
+	 * records. The order to process input records is guaranteed to be the same as input ones.
+	 *
+	 * @param in Input {@link DataStream}
+	 * @param func {@link AsyncBatchFunction}
+	 * @param timeout for the asynchronous operation of an input to complete, including the time
+	 *                it waits for its batch and its retries
+	 * @param timeUnit of the given timeout and max batch delay
+	 * @param capacity The max number of inputs in batches and async i/o operations
+	 * @param maxBatchSize The max number of inputs per batch
+	 * @param maxBatchDelay The max time that an input waits for its batch to be full
+	 * @param retryStrategy for inputs whose asynchronous operation failed
+	 * @param <IN> Type of input record
+	 * @param <OUT> Type of output record
+	 * @return A new {@link SingleOutputStreamOperator}.
+	 */
+	public static <IN, OUT> SingleOutputStreamOperator<OUT> orderedWaitBatched(
+			DataStream<IN> in,
+			AsyncBatchFunction<IN, OUT> func,
+			long timeout,
+			TimeUnit timeUnit,
+			int capacity,
+			int maxBatchSize,
+			long maxBatchDelay,
+			AsyncRetryStrategy retryStrategy) {
+		return addOperator(
+			in,
+			func,
+			timeUnit.toMillis(timeout),
+			capacity,
+			OutputMode.ORDERED,
+			retryStrategy,
+			maxBatchSize,
+			timeUnit.toMillis(maxBatchDelay));
 	}
 }
@@ -18,8 +18,11 @@
 package org.apache.flink.streaming.api.datastream;
 
 import org.apache.flink.annotation.Public;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.operators.SourceOperatorFactory;
 import org.apache.flink.streaming.api.operators.StreamSource;
 import org.apache.flink.streaming.api.transformations.SourceTransformation;
 
@@ -44,6 +47,20 @@ public class DataStreamSource<T> extends SingleOutputStreamOperator<T> {
 		}
 	}
 
+	public DataStreamSource(
+			StreamExecutionEnvironment environment,
+			Source<T, ?, ?> source,
+			WatermarkStrategy<T> watermarkStrategy,
+			TypeInformation<T> outTypeInfo,
+			String sourceName) {
+		super(environment, new SourceTransformation<>(
+			sourceName,
+			new SourceOperatorFactory<>(source, watermarkStrategy),
+			outTypeInfo,
+			environment.getParallelism()));
+		this.isParallel = true;
+	}
+
 	public DataStreamSource(SingleOutputStreamOperator<T> operator) {
 		super(operator.environment, operator.getTransformation());
 		this.isParallel = true;
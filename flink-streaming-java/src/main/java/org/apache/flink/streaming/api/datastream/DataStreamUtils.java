@@ -92,7 +92,16 @@ public final class DataStreamUtils {
 	 * {@link KeySelector}.
 	 *
 	 * <p>IMPORTANT: For every partition of the base stream, the keys of events in the base stream must be
-	 * partitioned exactly in the same way as if it was created through a {@link DataStream#keyBy(KeySelector)}.
+	 * partitioned exactly in the same way as if it was created through a {@link DataStream#keyBy(KeySelector)},
+	 * i.e. every key must be emitted by the subtask {@link
+	 * org.apache.flink.runtime.state.KeyGroupRangeAssignment#assignKeyToParallelOperator(Object, int, int)}
+	 * assigns it to.
+	 *
+	 * <p>No network shuffle is inserted for the returned stream: the keyed operators applied to it are
+	 * chained to the operator producing the base stream, which requires both to have the same parallelism.
+	 * The keyed operators verify that the key of every record belongs to their key groups and fail otherwise,
+	 * so that a wrongly partitioned base stream, e.g. after restoring the job with a different parallelism,
+	 * never silently corrupts the keyed state.
 	 *
 	 * @param stream      The data stream to reinterpret. For every partition, this stream must be partitioned exactly
 	 *                    in the same way as if it was created through a {@link DataStream#keyBy(KeySelector)}.
@@ -24,6 +24,7 @@ import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.InvalidProgramException;
 import org.apache.flink.api.common.JobExecutionResult;
 import org.apache.flink.api.common.cache.DistributedCache;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
 import org.apache.flink.api.common.functions.InvalidTypesException;
 import org.apache.flink.api.common.io.FileInputFormat;
 import org.apache.flink.api.common.io.FilePathFilter;
@@ -32,6 +33,7 @@ import org.apache.flink.api.common.restartstrategy.RestartStrategies;
 import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Source;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.api.java.ClosureCleaner;
 import org.apache.flink.api.java.ExecutionEnvironment;
@@ -136,6 +138,8 @@ public abstract class StreamExecutionEnvironment {
 
 	protected boolean isChainingEnabled = true;
 
+	protected boolean sortKeyedInputs = false;
+
 	/** The state backend used for storing k/v state and state snapshots. */
 	private StateBackend defaultStateBackend;
 
@@ -283,6 +287,36 @@ public abstract class StreamExecutionEnvironment {
 		return isChainingEnabled;
 	}
 
+	/**
+	 * Sets whether the inputs of keyed operators are sorted by key before they are processed. This
+	 * executes bounded programs like batch programs: a keyed operator keeps the state of the
+	 * current key only, discards it when the next key begins, and fires all timers of a key at the
+	 * end of the key, independent of their timestamps. Processing time timers that are registered
+	 * by processing time timers at the end of a key do not fire. The watermarks of the sorted
+	 * inputs are dropped.
+	 *
+	 * <p>This applies to keyed operators with a single input that are not chained to other keyed
+	 * operators. The program must be bounded, and checkpointing must be disabled.
+	 *
+	 * @param sortKeyedInputs Whether to sort the inputs of keyed operators.
+	 * @return This StreamExecutionEnvironment itself, to allow chaining of function calls.
+	 */
+	@PublicEvolving
+	public StreamExecutionEnvironment setSortKeyedInputs(boolean sortKeyedInputs) {
+		this.sortKeyedInputs = sortKeyedInputs;
+		return this;
+	}
+
+	/**
+	 * Returns whether the inputs of keyed operators are sorted by key.
+	 *
+	 * @return {@code true} if keyed inputs are sorted, false otherwise.
+	 */
+	@PublicEvolving
+	public boolean isSortKeyedInputs() {
+		return sortKeyedInputs;
+	}
+
 	// ------------------------------------------------------------------------
 	//  Checkpointing Settings
 	// ------------------------------------------------------------------------
@@ -1472,6 +1506,99 @@ public abstract class StreamExecutionEnvironment {
 		return new DataStreamSource<>(this, typeInfo, sourceOperator, isParallel, sourceName);
 	}
 
+	/**
+	 * Adds a data {@link Source} to the environment to get a {@link DataStream}. The source
+	 * generates no watermarks.
+	 *
+	 * <p>The splits of the source are assigned to the parallel readers by the
+	 * {@link org.apache.flink.api.connector.source.SplitEnumerator SplitEnumerator} of the
+	 * source, which runs on the JobManager. The readers run in the task thread and do not need
+	 * the checkpoint lock.
+	 *
+	 * @param source
+	 * 		the user defined source
+	 * @param sourceName
+	 * 		Name of the data source
+	 * @param <OUT>
+	 * 		type of the returned stream
+	 * @return the data stream constructed
+	 */
+	@PublicEvolving
+	public <OUT> DataStreamSource<OUT> continuousSource(Source<OUT, ?, ?> source, String sourceName) {
+		return continuousSource(source, WatermarkStrategy.noWatermarks(), sourceName, null);
+	}
+
+	/**
+	 * Adds a data {@link Source} to the environment to get a {@link DataStream}, which
+	 * generates the watermarks of its splits with the given {@link WatermarkStrategy}.
+	 *
+	 * <p>The source generates the watermarks of each split separately, and emits the minimum of
+	 * the watermarks of its splits. Generating the watermarks in the source rather than after it
+	 * keeps the interleaving of the records of different splits from advancing the watermark too
+	 * far, which would make the downstream operators drop the records of the slower splits as
+	 * late.
+	 *
+	 * @param source
+	 * 		the user defined source
+	 * @param watermarkStrategy
+	 * 		the strategy to generate and align the watermarks of the splits
+	 * @param sourceName
+	 * 		Name of the data source
+	 * @param <OUT>
+	 * 		type of the returned stream
+	 * @return the data stream constructed
+	 */
+	@PublicEvolving
+	public <OUT> DataStreamSource<OUT> continuousSource(
+			Source<OUT, ?, ?> source,
+			WatermarkStrategy<OUT> watermarkStrategy,
+			String sourceName) {
+		return continuousSource(source, watermarkStrategy, sourceName, null);
+	}
+
+	/**
+	 * Adds a data {@link Source} with a custom type information to the environment to get a
+	 * {@link DataStream}, which generates the watermarks of its splits with the given
+	 * {@link WatermarkStrategy}.
+	 *
+	 * @param source
+	 * 		the user defined source
+	 * @param watermarkStrategy
+	 * 		the strategy to generate and align the watermarks of the splits
+	 * @param sourceName
+	 * 		Name of the data source
+	 * @param <OUT>
+	 * 		type of the returned stream
+	 * @param typeInfo
+	 * 		the user defined type information for the stream
+	 * @return the data stream constructed
+	 */
+	@PublicEvolving
+	@SuppressWarnings("unchecked")
+	public <OUT> DataStreamSource<OUT> continuousSource(
+			Source<OUT, ?, ?> source,
+			WatermarkStrategy<OUT> watermarkStrategy,
+			String sourceName,
+			TypeInformation<OUT> typeInfo) {
+
+		if (source instanceof ResultTypeQueryable) {
+			typeInfo = ((ResultTypeQueryable<OUT>) source).getProducedType();
+		}
+		if (typeInfo == null) {
+			try {
+				typeInfo = TypeExtractor.createTypeInfo(
+						Source.class,
+						source.getClass(), 0, null, null);
+			} catch (final InvalidTypesException e) {
+				typeInfo = (TypeInformation<OUT>) new MissingTypeInfo(sourceName, e);
+			}
+		}
+
+		clean(source);
+
+		return new DataStreamSource<>(this, source, watermarkStrategy, typeInfo, sourceName);
+	}
+
 	/**
 	 * Triggers the program execution. The environment will execute all parts of
 	 * the program that have resulted in a "sink" operation. Sink operations are
@@ -1545,6 +1672,7 @@ public abstract class StreamExecutionEnvironment {
 		return new StreamGraphGenerator(transformations, config, checkpointCfg)
 			.setStateBackend(defaultStateBackend)
 			.setChaining(isChainingEnabled)
+			.setSortKeyedInputs(sortKeyedInputs)
 			.setUserArtifacts(cacheFile)
 			.setTimeCharacteristic(timeCharacteristic)
 			.setDefaultBufferTimeout(bufferTimeout);
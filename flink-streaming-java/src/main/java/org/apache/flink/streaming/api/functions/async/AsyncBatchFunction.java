@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.async;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link AsyncFunction} which triggers one async I/O operation for a batch of stream inputs,
+ * for example a multi-get against a lookup service.
+ *
+ * <p>The operator gathers the inputs until a batch has the configured maximum size, or until the
+ * configured maximum delay has passed since the first input of the batch arrived. Each input of a
+ * batch has its own {@link ResultFuture}, so that the results of a batch can be completed
+ * individually, and the inputs are still emitted in the order of the chosen
+ * {@link org.apache.flink.streaming.api.datastream.AsyncDataStream.OutputMode}.
+ *
+ * <p>Batch example usage:
+ *
+ * <pre>{@code
+ * public class HBaseAsyncBatchFunc implements AsyncBatchFunction<String, String> {
+ *
+ *   public void asyncInvokeBatch(List<String> rows, List<ResultFuture<String>> results) {
+ *     List<Get> gets = rows.stream().map(row -> new Get(Bytes.toBytes(row))).collect(toList());
+ *     hbase.asyncGet(gets).whenComplete((values, error) -> {
+ *       for (int i = 0; i < results.size(); i++) {
+ *         if (error == null) {
+ *           results.get(i).complete(process(values.get(i)));
+ *         } else {
+ *           results.get(i).completeExceptionally(error);
+ *         }
+ *       }
+ *     });
+ *   }
+ * }
+ * }</pre>
+ *
+ * @param <IN> The type of the input elements.
+ * @param <OUT> The type of the returned elements.
+ */
+@PublicEvolving
+public interface AsyncBatchFunction<IN, OUT> extends AsyncFunction<IN, OUT> {
+
+	/**
+	 * Trigger an async operation for a batch of stream inputs.
+	 *
+	 * @param inputs elements coming from an upstream task
+	 * @param resultFutures to be completed with the result data of the input at the same position
+	 * @exception Exception in case of a user code error. An exception will make the task fail and
+	 * trigger fail-over process.
+	 */
+	void asyncInvokeBatch(List<IN> inputs, List<ResultFuture<OUT>> resultFutures) throws Exception;
+
+	/**
+	 * Triggers the async operation for a batch of a single stream input.
+	 */
+	@Override
+	default void asyncInvoke(IN input, ResultFuture<OUT> resultFuture) throws Exception {
+		asyncInvokeBatch(Collections.singletonList(input), Collections.singletonList(resultFuture));
+	}
+}
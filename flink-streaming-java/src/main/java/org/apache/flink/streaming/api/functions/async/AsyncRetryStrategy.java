@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.async;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.io.Serializable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Strategy for retrying the async operation of an input whose {@link ResultFuture} was completed
+ * exceptionally by the {@link AsyncFunction}.
+ *
+ * <p>A retried input is invoked again after a delay, and counts against the capacity of the
+ * operator until it is completed. The timeout of the operator applies to all attempts of an
+ * input together, and timed out inputs are not retried.
+ */
+@PublicEvolving
+public final class AsyncRetryStrategy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final AsyncRetryStrategy NO_RETRY = new AsyncRetryStrategy(0, 0L, 0L);
+
+	private final int maxRetries;
+
+	private final long initialDelay;
+
+	private final long maxDelay;
+
+	private AsyncRetryStrategy(int maxRetries, long initialDelay, long maxDelay) {
+		checkArgument(maxRetries >= 0, "The maximum number of retries must not be negative.");
+		checkArgument(initialDelay >= 0L, "The retry delay must not be negative.");
+		checkArgument(maxDelay >= initialDelay, "The maximum retry delay must not be smaller than the initial delay.");
+
+		this.maxRetries = maxRetries;
+		this.initialDelay = initialDelay;
+		this.maxDelay = maxDelay;
+	}
+
+	/**
+	 * Returns a strategy which does not retry, and fails the job with the error of the input.
+	 */
+	public static AsyncRetryStrategy noRetry() {
+		return NO_RETRY;
+	}
+
+	/**
+	 * Returns a strategy which retries an input up to the given number of times, always waiting
+	 * the given delay in milliseconds before the next attempt.
+	 */
+	public static AsyncRetryStrategy fixedDelay(int maxRetries, long delay) {
+		return new AsyncRetryStrategy(maxRetries, delay, delay);
+	}
+
+	/**
+	 * Returns a strategy which retries an input up to the given number of times, doubling the
+	 * delay in milliseconds before the next attempt after each attempt, up to the maximum delay.
+	 */
+	public static AsyncRetryStrategy exponentialBackoff(int maxRetries, long initialDelay, long maxDelay) {
+		return new AsyncRetryStrategy(maxRetries, initialDelay, maxDelay);
+	}
+
+	public int getMaxRetries() {
+		return maxRetries;
+	}
+
+	/**
+	 * Returns the delay in milliseconds before the given retry, starting with retry 1.
+	 */
+	public long getRetryDelay(int retry) {
+		checkArgument(retry > 0 && retry <= maxRetries, "Invalid retry " + retry + '.');
+
+		long delay = initialDelay;
+		for (int i = 1; i < retry && delay < maxDelay; i++) {
+			delay *= 2;
+		}
+		return Math.min(delay, maxDelay);
+	}
+
+	@Override
+	public String toString() {
+		return "AsyncRetryStrategy{" +
+			"maxRetries=" + maxRetries +
+			", initialDelay=" + initialDelay +
+			", maxDelay=" + maxDelay +
+			'}';
+	}
+}
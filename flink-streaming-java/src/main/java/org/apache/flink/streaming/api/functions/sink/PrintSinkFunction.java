@@ -20,6 +20,7 @@ package org.apache.flink.streaming.api.functions.sink;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.functions.util.PrintSinkOutputWriter;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.operators.ObjectReuseSafe;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 
 /**
@@ -37,6 +38,7 @@ import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
  * @param <IN> Input record type
  */
 @PublicEvolving
+@ObjectReuseSafe
 public class PrintSinkFunction<IN> extends RichSinkFunction<IN> {
 
 	private static final long serialVersionUID = 1L;
@@ -71,6 +71,8 @@ public class StreamConfig implements Serializable {
 	private static final String BUFFER_TIMEOUT = "bufferTimeout";
 	private static final String TYPE_SERIALIZER_IN_1 = "typeSerializer_in_1";
 	private static final String TYPE_SERIALIZER_IN_2 = "typeSerializer_in_2";
+	private static final String TYPE_SERIALIZER_IN_PATTERN = "typeSerializer_in_%d";
+	private static final String NUMBER_OF_TYPE_SERIALIZERS_IN = "numberOfTypeSerializersIn";
 	private static final String TYPE_SERIALIZER_OUT_1 = "typeSerializer_out";
 	private static final String TYPE_SERIALIZER_SIDEOUT_PREFIX = "typeSerializer_sideout_";
 	private static final String ITERATON_WAIT = "iterationWait";
@@ -90,6 +92,12 @@ public class StreamConfig implements Serializable {
 
 	private static final String STATE_KEY_SERIALIZER = "statekeyser";
 
+	private static final String PRE_PARTITIONED_KEYED_INPUT = "prePartitionedKeyedInput";
+	private static final String OBJECT_REUSE_SAFE = "objectReuseSafe";
+
+	private static final String SORTED_KEYED_INPUT = "sortedKeyedInput";
+	private static final String SORTED_INPUT_MEMORY_FRACTION = "sortedInputMemoryFraction";
+
 	private static final String TIME_CHARACTERISTIC = "timechar";
 
 	// ------------------------------------------------------------------------
@@ -147,6 +155,18 @@ public class StreamConfig implements Serializable {
 		setTypeSerializer(TYPE_SERIALIZER_IN_2, serializer);
 	}
 
+	/**
+	 * Sets the serializers of all inputs, in input order. The serializers of the first two inputs
+	 * are also returned by {@link #getTypeSerializerIn1(ClassLoader)} and
+	 * {@link #getTypeSerializerIn2(ClassLoader)}.
+	 */
+	public void setTypeSerializersIn(TypeSerializer<?>... serializers) {
+		config.setInteger(NUMBER_OF_TYPE_SERIALIZERS_IN, serializers.length);
+		for (int i = 0; i < serializers.length; i++) {
+			setTypeSerializer(String.format(TYPE_SERIALIZER_IN_PATTERN, i + 1), serializers[i]);
+		}
+	}
+
 	public void setTypeSerializerOut(TypeSerializer<?> serializer) {
 		setTypeSerializer(TYPE_SERIALIZER_OUT_1, serializer);
 	}
@@ -171,6 +191,19 @@ public class StreamConfig implements Serializable {
 		}
 	}
 
+	public TypeSerializer<?>[] getTypeSerializersIn(ClassLoader cl) {
+		TypeSerializer<?>[] serializers = new TypeSerializer<?>[config.getInteger(NUMBER_OF_TYPE_SERIALIZERS_IN, 0)];
+		for (int i = 0; i < serializers.length; i++) {
+			try {
+				serializers[i] = InstantiationUtil.readObjectFromConfig(
+					this.config, String.format(TYPE_SERIALIZER_IN_PATTERN, i + 1), cl);
+			} catch (Exception e) {
+				throw new StreamTaskException("Could not instantiate serializer.", e);
+			}
+		}
+		return serializers;
+	}
+
 	public <T> TypeSerializer<T> getTypeSerializerOut(ClassLoader cl) {
 		try {
 			return InstantiationUtil.readObjectFromConfig(this.config, TYPE_SERIALIZER_OUT_1, cl);
@@ -518,6 +551,56 @@ public class StreamConfig implements Serializable {
 		}
 	}
 
+	public void setPrePartitionedKeyedInput(boolean prePartitionedKeyedInput) {
+		config.setBoolean(PRE_PARTITIONED_KEYED_INPUT, prePartitionedKeyedInput);
+	}
+
+	/**
+	 * Returns whether a keyed input of the operator is forwarded from an upstream operator instead
+	 * of being partitioned by key, i.e. it was reinterpreted as a keyed stream, so that the key
+	 * groups of its records are verified against the key group range of the subtask.
+	 */
+	public boolean isPrePartitionedKeyedInput() {
+		return config.getBoolean(PRE_PARTITIONED_KEYED_INPUT, false);
+	}
+
+	public void setObjectReuseSafe(boolean objectReuseSafe) {
+		config.setBoolean(OBJECT_REUSE_SAFE, objectReuseSafe);
+	}
+
+	/**
+	 * Returns whether the operator neither modifies its input records nor keeps references to them,
+	 * so that the records need not be copied when the operator is chained to its predecessor.
+	 *
+	 * @see org.apache.flink.streaming.api.operators.ObjectReuseSafe
+	 */
+	public boolean isObjectReuseSafe() {
+		return config.getBoolean(OBJECT_REUSE_SAFE, false);
+	}
+
+	public void setSortedKeyedInput(boolean sortedKeyedInput) {
+		config.setBoolean(SORTED_KEYED_INPUT, sortedKeyedInput);
+	}
+
+	/**
+	 * Returns whether the keyed input of the head operator is sorted by key before it is processed,
+	 * keeping the keyed state of a single key only.
+	 */
+	public boolean isSortedKeyedInput() {
+		return config.getBoolean(SORTED_KEYED_INPUT, false);
+	}
+
+	public void setSortedInputMemoryFraction(double fraction) {
+		config.setDouble(SORTED_INPUT_MEMORY_FRACTION, fraction);
+	}
+
+	/**
+	 * Returns the fraction of the managed memory of a slot that is used to sort the input.
+	 */
+	public double getSortedInputMemoryFraction() {
+		return config.getDouble(SORTED_INPUT_MEMORY_FRACTION, 1.0);
+	}
+
 
 
 	// ------------------------------------------------------------------------
@@ -30,6 +30,8 @@ import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.api.java.tuple.Tuple3;
 import org.apache.flink.api.java.typeutils.MissingTypeInfo;
+import org.apache.flink.api.java.typeutils.runtime.ProjectingTupleSerializer;
+import org.apache.flink.api.java.typeutils.runtime.TupleSerializer;
 import org.apache.flink.optimizer.plan.StreamingPlan;
 import org.apache.flink.runtime.jobgraph.JobGraph;
 import org.apache.flink.runtime.jobgraph.ScheduleMode;
@@ -38,12 +40,17 @@ import org.apache.flink.runtime.state.StateBackend;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.collector.selector.OutputSelector;
 import org.apache.flink.streaming.api.environment.CheckpointConfig;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.streaming.api.operators.SourceOperatorFactory;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
+import org.apache.flink.streaming.api.operators.StreamProject;
 import org.apache.flink.streaming.api.transformations.ShuffleMode;
 import org.apache.flink.streaming.runtime.partitioner.ForwardPartitioner;
 import org.apache.flink.streaming.runtime.partitioner.RebalancePartitioner;
 import org.apache.flink.streaming.runtime.partitioner.StreamPartitioner;
+import org.apache.flink.streaming.runtime.tasks.MultipleInputStreamTask;
 import org.apache.flink.streaming.runtime.tasks.OneInputStreamTask;
+import org.apache.flink.streaming.runtime.tasks.SourceOperatorStreamTask;
 import org.apache.flink.streaming.runtime.tasks.SourceStreamTask;
 import org.apache.flink.streaming.runtime.tasks.StreamIterationHead;
 import org.apache.flink.streaming.runtime.tasks.StreamIterationTail;
@@ -88,6 +95,9 @@ public class StreamGraph extends StreamingPlan {
 
 	private boolean chaining;
 
+	/** Whether the inputs of keyed operators are sorted by key, for bounded programs. */
+	private boolean sortKeyedInputs;
+
 	private Collection<Tuple2<String, DistributedCache.DistributedCacheEntry>> userArtifacts;
 
 	private TimeCharacteristic timeCharacteristic;
@@ -201,6 +211,19 @@ public class StreamGraph extends StreamingPlan {
 		this.blockingConnectionsBetweenChains = blockingConnectionsBetweenChains;
 	}
 
+	/**
+	 * Returns whether the inputs of keyed one-input operators are sorted by key, so that the
+	 * operators keep the keyed state of one key only and fire the timers at the end of each key.
+	 * This is only possible for bounded programs without checkpointing.
+	 */
+	public boolean isSortKeyedInputs() {
+		return sortKeyedInputs;
+	}
+
+	public void setSortKeyedInputs(boolean sortKeyedInputs) {
+		this.sortKeyedInputs = sortKeyedInputs;
+	}
+
 	// Checkpointing
 
 	public boolean isChainingEnabled() {
@@ -242,13 +265,16 @@ public class StreamGraph extends StreamingPlan {
 			TypeInformation<OUT> outTypeInfo,
 			String operatorName) {
 
-		if (operatorFactory.isStreamSource()) {
+		if (operatorFactory instanceof SourceOperatorFactory) {
+			addNode(vertexID, slotSharingGroup, coLocationGroup, SourceOperatorStreamTask.class, operatorFactory, operatorName);
+		} else if (operatorFactory.isStreamSource()) {
 			addNode(vertexID, slotSharingGroup, coLocationGroup, SourceStreamTask.class, operatorFactory, operatorName);
 		} else {
 			addNode(vertexID, slotSharingGroup, coLocationGroup, OneInputStreamTask.class, operatorFactory, operatorName);
 		}
 
 		TypeSerializer<IN> inSerializer = inTypeInfo != null && !(inTypeInfo instanceof MissingTypeInfo) ? inTypeInfo.createSerializer(executionConfig) : null;
+		inSerializer = projectInputSerializer(operatorFactory, inSerializer);
 
 		TypeSerializer<OUT> outSerializer = outTypeInfo != null && !(outTypeInfo instanceof MissingTypeInfo) ? outTypeInfo.createSerializer(executionConfig) : null;
 
@@ -268,6 +294,26 @@ public class StreamGraph extends StreamingPlan {
 		}
 	}
 
+	/**
+	 * Returns a serializer which deserializes only the projected fields of the tuples, if the
+	 * operator is a projection of tuples, and the given input serializer otherwise.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <IN> TypeSerializer<IN> projectInputSerializer(
+			StreamOperatorFactory<?> operatorFactory,
+			@Nullable TypeSerializer<IN> inSerializer) {
+
+		if (inSerializer != null
+				&& inSerializer.getClass() == TupleSerializer.class
+				&& operatorFactory instanceof SimpleOperatorFactory
+				&& ((SimpleOperatorFactory<?>) operatorFactory).getOperator() instanceof StreamProject) {
+
+			StreamProject<?, ?> project = (StreamProject<?, ?>) ((SimpleOperatorFactory<?>) operatorFactory).getOperator();
+			return new ProjectingTupleSerializer((TupleSerializer) inSerializer, project.getFields());
+		}
+		return inSerializer;
+	}
+
 	public <IN1, IN2, OUT> void addCoOperator(
 			Integer vertexID,
 			String slotSharingGroup,
@@ -297,6 +343,40 @@ public class StreamGraph extends StreamingPlan {
 		}
 	}
 
+	public <OUT> void addMultipleInputOperator(
+			Integer vertexID,
+			String slotSharingGroup,
+			@Nullable String coLocationGroup,
+			StreamOperatorFactory<OUT> operatorFactory,
+			List<TypeInformation<?>> inTypeInfos,
+			TypeInformation<OUT> outTypeInfo,
+			String operatorName) {
+
+		Class<? extends AbstractInvokable> vertexClass = MultipleInputStreamTask.class;
+
+		addNode(vertexID, slotSharingGroup, coLocationGroup, vertexClass, operatorFactory, operatorName);
+
+		TypeSerializer<OUT> outSerializer = (outTypeInfo != null) && !(outTypeInfo instanceof MissingTypeInfo) ?
+				outTypeInfo.createSerializer(executionConfig) : null;
+
+		TypeSerializer<?>[] inSerializers = inTypeInfos.stream()
+				.map(typeInfo -> typeInfo.createSerializer(executionConfig))
+				.toArray(TypeSerializer<?>[]::new);
+
+		StreamNode vertex = getStreamNode(vertexID);
+		vertex.setSerializersIn(inSerializers);
+		vertex.setSerializerOut(outSerializer);
+
+		if (operatorFactory.isOutputTypeConfigurable()) {
+			// sets the output type which must be know at StreamGraph creation time
+			operatorFactory.setOutputType(outTypeInfo, executionConfig);
+		}
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("MULTIPLE-INPUT-TASK: {}", vertexID);
+		}
+	}
+
 	protected StreamNode addNode(Integer vertexID,
 		@Nullable String slotSharingGroup,
 		@Nullable String coLocationGroup,
@@ -542,6 +622,12 @@ public class StreamGraph extends StreamingPlan {
 		node.setStateKeySerializer(keySerializer);
 	}
 
+	public void setMultipleInputStateKey(Integer vertexID, List<KeySelector<?, ?>> keySelectors, TypeSerializer<?> keySerializer) {
+		StreamNode node = getStreamNode(vertexID);
+		node.setStatePartitioners(keySelectors.toArray(new KeySelector[0]));
+		node.setStateKeySerializer(keySerializer);
+	}
+
 	public void setBufferTimeout(Integer vertexID, long bufferTimeout) {
 		if (getStreamNode(vertexID) != null) {
 			getStreamNode(vertexID).setBufferTimeout(bufferTimeout);
@@ -34,6 +34,7 @@ import org.apache.flink.streaming.api.operators.OutputFormatOperatorFactory;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
 import org.apache.flink.streaming.api.transformations.CoFeedbackTransformation;
 import org.apache.flink.streaming.api.transformations.FeedbackTransformation;
+import org.apache.flink.streaming.api.transformations.MultipleInputTransformation;
 import org.apache.flink.streaming.api.transformations.OneInputTransformation;
 import org.apache.flink.streaming.api.transformations.PartitionTransformation;
 import org.apache.flink.streaming.api.transformations.SelectTransformation;
@@ -129,6 +130,12 @@ public class StreamGraphGenerator {
 	 */
 	private boolean blockingConnectionsBetweenChains = false;
 
+	/**
+	 * Whether the inputs of keyed operators are sorted by key, which executes bounded programs
+	 * like batch programs.
+	 */
+	private boolean sortKeyedInputs = false;
+
 	// This is used to assign a unique ID to iteration source/sink
 	protected static Integer iterationIdCounter = 0;
 	public static int getNewIterationNodeId() {
@@ -193,6 +200,11 @@ public class StreamGraphGenerator {
 		return this;
 	}
 
+	public StreamGraphGenerator setSortKeyedInputs(boolean sortKeyedInputs) {
+		this.sortKeyedInputs = sortKeyedInputs;
+		return this;
+	}
+
 	public StreamGraph generate() {
 		streamGraph = new StreamGraph(executionConfig, checkpointConfig);
 		streamGraph.setStateBackend(stateBackend);
@@ -202,6 +214,7 @@ public class StreamGraphGenerator {
 		streamGraph.setTimeCharacteristic(timeCharacteristic);
 		streamGraph.setJobName(jobName);
 		streamGraph.setBlockingConnectionsBetweenChains(blockingConnectionsBetweenChains);
+		streamGraph.setSortKeyedInputs(sortKeyedInputs);
 
 		alreadyTransformed = new HashMap<>();
 
@@ -250,6 +263,8 @@ public class StreamGraphGenerator {
 			transformedIds = transformOneInputTransform((OneInputTransformation<?, ?>) transform);
 		} else if (transform instanceof TwoInputTransformation<?, ?, ?>) {
 			transformedIds = transformTwoInputTransform((TwoInputTransformation<?, ?, ?>) transform);
+		} else if (transform instanceof MultipleInputTransformation<?>) {
+			transformedIds = transformMultipleInputTransform((MultipleInputTransformation<?>) transform);
 		} else if (transform instanceof SourceTransformation<?>) {
 			transformedIds = transformSource((SourceTransformation<?>) transform);
 		} else if (transform instanceof SinkTransformation<?>) {
@@ -730,6 +745,60 @@ public class StreamGraphGenerator {
 		return Collections.singleton(transform.getId());
 	}
 
+	/**
+	 * Transforms a {@code MultipleInputTransformation}.
+	 *
+	 * <p>This recursively transforms the inputs, creates a new {@code StreamNode} in the graph and
+	 * wires the inputs to this new node. The edges of the i-th input carry the type number i + 1.
+	 */
+	private <OUT> Collection<Integer> transformMultipleInputTransform(MultipleInputTransformation<OUT> transform) {
+
+		List<Collection<Integer>> inputIds = new ArrayList<>();
+		List<Integer> allInputIds = new ArrayList<>();
+		for (Transformation<?> input : transform.getInputs()) {
+			Collection<Integer> transformedIds = transform(input);
+			inputIds.add(transformedIds);
+			allInputIds.addAll(transformedIds);
+		}
+
+		// the recursive call might have already transformed this
+		if (alreadyTransformed.containsKey(transform)) {
+			return alreadyTransformed.get(transform);
+		}
+
+		String slotSharingGroup = determineSlotSharingGroup(transform.getSlotSharingGroup(), allInputIds);
+
+		streamGraph.addMultipleInputOperator(
+				transform.getId(),
+				slotSharingGroup,
+				transform.getCoLocationGroupKey(),
+				transform.getOperatorFactory(),
+				transform.getInputTypes(),
+				transform.getOutputType(),
+				transform.getName());
+
+		if (!transform.getStateKeySelectors().isEmpty()) {
+			TypeSerializer<?> keySerializer = transform.getStateKeyType().createSerializer(executionConfig);
+			streamGraph.setMultipleInputStateKey(transform.getId(), transform.getStateKeySelectors(), keySerializer);
+		}
+
+		int parallelism = transform.getParallelism() != ExecutionConfig.PARALLELISM_DEFAULT ?
+			transform.getParallelism() : executionConfig.getParallelism();
+		streamGraph.setParallelism(transform.getId(), parallelism);
+		streamGraph.setMaxParallelism(transform.getId(), transform.getMaxParallelism());
+
+		for (int i = 0; i < inputIds.size(); i++) {
+			for (Integer inputId: inputIds.get(i)) {
+				streamGraph.addEdge(inputId,
+						transform.getId(),
+						i + 1
+				);
+			}
+		}
+
+		return Collections.singleton(transform.getId());
+	}
+
 	/**
 	 * Determines the slot sharing group for an operation based on the slot sharing group set by
 	 * the user and the slot sharing groups of the inputs.
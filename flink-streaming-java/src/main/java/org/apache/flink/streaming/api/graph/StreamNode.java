@@ -34,6 +34,7 @@ import javax.annotation.Nullable;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -57,14 +58,12 @@ public class StreamNode implements Serializable {
 	private final String operatorName;
 	private @Nullable String slotSharingGroup;
 	private @Nullable String coLocationGroup;
-	private KeySelector<?, ?> statePartitioner1;
-	private KeySelector<?, ?> statePartitioner2;
+	private KeySelector<?, ?>[] statePartitioners = new KeySelector[0];
 	private TypeSerializer<?> stateKeySerializer;
 
 	private transient StreamOperatorFactory<?> operatorFactory;
 	private List<OutputSelector<?>> outputSelectors;
-	private TypeSerializer<?> typeSerializerIn1;
-	private TypeSerializer<?> typeSerializerIn2;
+	private TypeSerializer<?>[] typeSerializersIn = new TypeSerializer[0];
 	private TypeSerializer<?> typeSerializerOut;
 
 	private List<StreamEdge> inEdges = new ArrayList<StreamEdge>();
@@ -226,19 +225,41 @@ public class StreamNode implements Serializable {
 	}
 
 	public TypeSerializer<?> getTypeSerializerIn1() {
-		return typeSerializerIn1;
+		return getTypeSerializerIn(0);
 	}
 
 	public void setSerializerIn1(TypeSerializer<?> typeSerializerIn1) {
-		this.typeSerializerIn1 = typeSerializerIn1;
+		setSerializerIn(0, typeSerializerIn1);
 	}
 
 	public TypeSerializer<?> getTypeSerializerIn2() {
-		return typeSerializerIn2;
+		return getTypeSerializerIn(1);
 	}
 
 	public void setSerializerIn2(TypeSerializer<?> typeSerializerIn2) {
-		this.typeSerializerIn2 = typeSerializerIn2;
+		setSerializerIn(1, typeSerializerIn2);
+	}
+
+	/**
+	 * Returns the serializers of all inputs, in input order.
+	 */
+	public TypeSerializer<?>[] getTypeSerializersIn() {
+		return typeSerializersIn;
+	}
+
+	public void setSerializersIn(TypeSerializer<?>... typeSerializersIn) {
+		this.typeSerializersIn = typeSerializersIn;
+	}
+
+	private TypeSerializer<?> getTypeSerializerIn(int index) {
+		return index < typeSerializersIn.length ? typeSerializersIn[index] : null;
+	}
+
+	private void setSerializerIn(int index, TypeSerializer<?> typeSerializerIn) {
+		if (index >= typeSerializersIn.length) {
+			typeSerializersIn = Arrays.copyOf(typeSerializersIn, index + 1);
+		}
+		typeSerializersIn[index] = typeSerializerIn;
 	}
 
 	public TypeSerializer<?> getTypeSerializerOut() {
@@ -297,19 +318,41 @@ public class StreamNode implements Serializable {
 	}
 
 	public KeySelector<?, ?> getStatePartitioner1() {
-		return statePartitioner1;
+		return getStatePartitioner(0);
 	}
 
 	public KeySelector<?, ?> getStatePartitioner2() {
-		return statePartitioner2;
+		return getStatePartitioner(1);
 	}
 
 	public void setStatePartitioner1(KeySelector<?, ?> statePartitioner) {
-		this.statePartitioner1 = statePartitioner;
+		setStatePartitioner(0, statePartitioner);
 	}
 
 	public void setStatePartitioner2(KeySelector<?, ?> statePartitioner) {
-		this.statePartitioner2 = statePartitioner;
+		setStatePartitioner(1, statePartitioner);
+	}
+
+	/**
+	 * Returns the state partitioners of all inputs, in input order.
+	 */
+	public KeySelector<?, ?>[] getStatePartitioners() {
+		return statePartitioners;
+	}
+
+	public void setStatePartitioners(KeySelector<?, ?>... statePartitioners) {
+		this.statePartitioners = statePartitioners;
+	}
+
+	private KeySelector<?, ?> getStatePartitioner(int index) {
+		return index < statePartitioners.length ? statePartitioners[index] : null;
+	}
+
+	private void setStatePartitioner(int index, KeySelector<?, ?> statePartitioner) {
+		if (index >= statePartitioners.length) {
+			statePartitioners = Arrays.copyOf(statePartitioners, index + 1);
+		}
+		statePartitioners[index] = statePartitioner;
 	}
 
 	public TypeSerializer<?> getStateKeySerializer() {
@@ -21,6 +21,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.functions.Function;
 import org.apache.flink.api.common.operators.ResourceSpec;
+import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.IllegalConfigurationException;
@@ -41,19 +42,26 @@ import org.apache.flink.runtime.jobgraph.tasks.CheckpointCoordinatorConfiguratio
 import org.apache.flink.runtime.jobgraph.tasks.JobCheckpointingSettings;
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.operators.util.TaskConfig;
 import org.apache.flink.runtime.state.StateBackend;
 import org.apache.flink.streaming.api.CheckpointingMode;
 import org.apache.flink.streaming.api.checkpoint.WithMasterCheckpointHook;
 import org.apache.flink.streaming.api.environment.CheckpointConfig;
+import org.apache.flink.streaming.api.operators.AbstractUdfStreamOperator;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
+import org.apache.flink.streaming.api.operators.CoordinatedOperatorFactory;
 import org.apache.flink.streaming.api.operators.InputSelectable;
+import org.apache.flink.streaming.api.operators.ObjectReuseSafe;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
+import org.apache.flink.streaming.api.operators.StreamOperator;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
 import org.apache.flink.streaming.api.operators.UdfStreamOperatorFactory;
 import org.apache.flink.streaming.api.transformations.ShuffleMode;
 import org.apache.flink.streaming.runtime.partitioner.ForwardPartitioner;
 import org.apache.flink.streaming.runtime.partitioner.RescalePartitioner;
 import org.apache.flink.streaming.runtime.partitioner.StreamPartitioner;
+import org.apache.flink.streaming.runtime.tasks.OneInputStreamTask;
 import org.apache.flink.streaming.runtime.tasks.StreamIterationHead;
 import org.apache.flink.streaming.runtime.tasks.StreamIterationTail;
 import org.apache.flink.util.FlinkRuntimeException;
@@ -69,6 +77,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -113,6 +122,8 @@ public class StreamingJobGraphGenerator {
 	private final Map<Integer, ResourceSpec> chainedMinResources;
 	private final Map<Integer, ResourceSpec> chainedPreferredResources;
 
+	private final Map<Integer, List<SerializedValue<OperatorCoordinator.Provider>>> chainedOperatorCoordinators;
+
 	private final Map<Integer, InputOutputFormatContainer> chainedInputOutputFormats;
 
 	private final StreamGraphHasher defaultStreamGraphHasher;
@@ -134,6 +145,7 @@ public class StreamingJobGraphGenerator {
 		this.chainedNames = new HashMap<>();
 		this.chainedMinResources = new HashMap<>();
 		this.chainedPreferredResources = new HashMap<>();
+		this.chainedOperatorCoordinators = new HashMap<>();
 		this.chainedInputOutputFormats = new HashMap<>();
 		this.physicalEdgesInOrder = new ArrayList<>();
 
@@ -160,6 +172,8 @@ public class StreamingJobGraphGenerator {
 
 		setChaining(hashes, legacyHashes, chainedOperatorHashes);
 
+		configureSortedKeyedInputs();
+
 		setPhysicalEdges();
 
 		setSlotSharingAndCoLocation();
@@ -185,6 +199,11 @@ public class StreamingJobGraphGenerator {
 		CheckpointConfig checkpointConfig = streamGraph.getCheckpointConfig();
 
 		if (checkpointConfig.isCheckpointingEnabled()) {
+			if (streamGraph.isSortKeyedInputs()) {
+				throw new UnsupportedOperationException(
+					"Checkpointing is not supported for jobs that sort the inputs of keyed operators.");
+			}
+
 			// temporarily forbid checkpointing for iterative jobs
 			if (streamGraph.isIterative() && !checkpointConfig.isForceCheckpointing()) {
 				throw new UnsupportedOperationException(
@@ -288,6 +307,10 @@ public class StreamingJobGraphGenerator {
 			chainedMinResources.put(currentNodeId, createChainedMinResources(currentNodeId, chainableOutputs));
 			chainedPreferredResources.put(currentNodeId, createChainedPreferredResources(currentNodeId, chainableOutputs));
 
+			if (currentNode.getOperatorFactory() instanceof CoordinatedOperatorFactory) {
+				addOperatorCoordinator(startNodeId, currentOperatorId, currentNode);
+			}
+
 			if (currentNode.getInputFormat() != null) {
 				getOrCreateFormatContainer(startNodeId).addInputFormat(currentOperatorId, currentNode.getInputFormat());
 			}
@@ -373,6 +396,21 @@ public class StreamingJobGraphGenerator {
 		return preferredResources;
 	}
 
+	private void addOperatorCoordinator(Integer startNodeId, OperatorID operatorId, StreamNode streamNode) {
+		final OperatorCoordinator.Provider coordinatorProvider =
+			((CoordinatedOperatorFactory<?>) streamNode.getOperatorFactory())
+				.getCoordinatorProvider(streamNode.getOperatorName(), operatorId);
+
+		try {
+			chainedOperatorCoordinators
+				.computeIfAbsent(startNodeId, k -> new ArrayList<>())
+				.add(new SerializedValue<>(coordinatorProvider));
+		} catch (IOException e) {
+			throw new FlinkRuntimeException(String.format(
+				"Coordinator Provider for node %s is not serializable.", streamNode.getOperatorName()), e);
+		}
+	}
+
 	private StreamConfig createJobVertex(
 			Integer streamNodeId,
 			Map<Integer, byte[]> hashes,
@@ -433,6 +471,11 @@ public class StreamingJobGraphGenerator {
 
 		jobVertex.setInvokableClass(streamNode.getJobVertexClass());
 
+		for (SerializedValue<OperatorCoordinator.Provider> coordinatorProvider :
+				chainedOperatorCoordinators.getOrDefault(streamNodeId, Collections.emptyList())) {
+			jobVertex.addOperatorCoordinator(coordinatorProvider);
+		}
+
 		int parallelism = streamNode.getParallelism();
 
 		if (parallelism > 0) {
@@ -466,8 +509,7 @@ public class StreamingJobGraphGenerator {
 		config.setVertexID(vertexID);
 		config.setBufferTimeout(vertex.getBufferTimeout());
 
-		config.setTypeSerializerIn1(vertex.getTypeSerializerIn1());
-		config.setTypeSerializerIn2(vertex.getTypeSerializerIn2());
+		config.setTypeSerializersIn(vertex.getTypeSerializersIn());
 		config.setTypeSerializerOut(vertex.getTypeSerializerOut());
 
 		// iterate edges, find sideOutput edges create and save serializers for each outputTag type
@@ -509,8 +551,12 @@ public class StreamingJobGraphGenerator {
 			// so we use that one if checkpointing is not enabled
 			config.setCheckpointMode(CheckpointingMode.AT_LEAST_ONCE);
 		}
-		config.setStatePartitioner(0, vertex.getStatePartitioner1());
-		config.setStatePartitioner(1, vertex.getStatePartitioner2());
+		KeySelector<?, ?>[] statePartitioners = vertex.getStatePartitioners();
+		for (int i = 0; i < statePartitioners.length; i++) {
+			config.setStatePartitioner(i, statePartitioners[i]);
+		}
+		config.setPrePartitionedKeyedInput(isPrePartitionedKeyedInput(vertex));
+		config.setObjectReuseSafe(isObjectReuseSafe(vertex));
 		config.setStateKeySerializer(vertex.getStateKeySerializer());
 
 		Class<? extends AbstractInvokable> vertexClass = vertex.getJobVertexClass();
@@ -597,6 +643,87 @@ public class StreamingJobGraphGenerator {
 				&& streamGraph.isChainingEnabled();
 	}
 
+	/**
+	 * Tests whether a keyed input of the given node is forwarded instead of being partitioned by key,
+	 * which is the case for streams reinterpreted as keyed streams. These inputs are chained to their
+	 * upstream operator if possible, and their keys are verified to belong to the subtask at runtime,
+	 * since nothing but the source guarantees their partitioning, e.g. after a change of parallelism.
+	 */
+	private static boolean isPrePartitionedKeyedInput(StreamNode vertex) {
+		KeySelector<?, ?>[] statePartitioners = vertex.getStatePartitioners();
+		for (StreamEdge inEdge : vertex.getInEdges()) {
+			int inputIndex = Math.max(inEdge.getTypeNumber() - 1, 0);
+			if (inputIndex < statePartitioners.length
+					&& statePartitioners[inputIndex] != null
+					&& inEdge.getPartitioner() instanceof ForwardPartitioner) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the operator of the given node is marked as {@link ObjectReuseSafe}, together
+	 * with its user function if it has one, so that its chained input records are not copied.
+	 */
+	private static boolean isObjectReuseSafe(StreamNode vertex) {
+		if (!(vertex.getOperatorFactory() instanceof SimpleOperatorFactory)) {
+			return false;
+		}
+
+		StreamOperator<?> operator = ((SimpleOperatorFactory<?>) vertex.getOperatorFactory()).getOperator();
+		if (!operator.getClass().isAnnotationPresent(ObjectReuseSafe.class)) {
+			return false;
+		}
+		return !(operator instanceof AbstractUdfStreamOperator)
+			|| ((AbstractUdfStreamOperator<?, ?>) operator).getUserFunction().getClass().isAnnotationPresent(ObjectReuseSafe.class);
+	}
+
+	/**
+	 * Sorts the inputs of the chains whose head is a keyed one-input operator, if the stream graph
+	 * sorts keyed inputs. Chains that contain further keyed operators are not sorted, because only
+	 * the head operator sees the records in the order of their keys. The sorters of the chains in a
+	 * slot sharing group share the managed memory of the slot.
+	 */
+	private void configureSortedKeyedInputs() {
+		if (!streamGraph.isSortKeyedInputs()) {
+			return;
+		}
+
+		final Map<String, List<StreamConfig>> sortedInputsBySlotSharingGroup = new HashMap<>();
+		for (Integer headId : jobVertices.keySet()) {
+			final StreamNode head = streamGraph.getStreamNode(headId);
+			if (head.getStatePartitioner1() == null
+					|| head.getStatePartitioner2() != null
+					|| !OneInputStreamTask.class.equals(head.getJobVertexClass())) {
+				continue;
+			}
+
+			final boolean chainsOtherKeyedOperators = chainedConfigs.getOrDefault(headId, Collections.emptyMap())
+				.keySet()
+				.stream()
+				.anyMatch(nodeId -> streamGraph.getStreamNode(nodeId).getStatePartitioner1() != null);
+			if (chainsOtherKeyedOperators) {
+				continue;
+			}
+
+			// without slot sharing, every sorted input has a slot of its own
+			final String slotSharingGroup = head.getSlotSharingGroup() != null
+				? head.getSlotSharingGroup()
+				: "sortedKeyedInput-" + headId;
+			sortedInputsBySlotSharingGroup
+				.computeIfAbsent(slotSharingGroup, k -> new ArrayList<>())
+				.add(vertexConfigs.get(headId));
+		}
+
+		for (List<StreamConfig> sortedInputs : sortedInputsBySlotSharingGroup.values()) {
+			for (StreamConfig config : sortedInputs) {
+				config.setSortedKeyedInput(true);
+				config.setSortedInputMemoryFraction(1.0 / sortedInputs.size());
+			}
+		}
+	}
+
 	private void setSlotSharingAndCoLocation() {
 		final HashMap<String, SlotSharingGroup> slotSharingGroups = new HashMap<>();
 		final HashMap<String, Tuple2<SlotSharingGroup, CoLocationGroup>> coLocationGroups = new HashMap<>();
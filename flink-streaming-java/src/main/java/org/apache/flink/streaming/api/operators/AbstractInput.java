@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Base class for the {@link Input Inputs} of an {@link AbstractMultipleInputStreamOperator}. It
+ * hands watermarks, latency markers and the key context over to its owning operator, which
+ * combines the watermarks of all inputs.
+ *
+ * @param <IN> The type of the records of this input
+ * @param <OUT> The output type of the owning operator
+ */
+@PublicEvolving
+public abstract class AbstractInput<IN, OUT> implements Input<IN> {
+
+	protected final AbstractMultipleInputStreamOperator<OUT> owner;
+
+	/** The id of this input, starting from 1. */
+	protected final int inputId;
+
+	/** The output of the owning operator, which is set up before the inputs are created. */
+	protected final Output<StreamRecord<OUT>> output;
+
+	public AbstractInput(AbstractMultipleInputStreamOperator<OUT> owner, int inputId) {
+		checkArgument(inputId > 0, "Input ids start from 1.");
+		this.owner = checkNotNull(owner);
+		this.inputId = inputId;
+		this.output = checkNotNull(owner.output, "The owning operator has not been set up.");
+	}
+
+	@Override
+	public void processWatermark(Watermark mark) throws Exception {
+		owner.reportWatermark(mark, inputId);
+	}
+
+	@Override
+	public void processLatencyMarker(LatencyMarker latencyMarker) throws Exception {
+		owner.reportOrForwardLatencyMarker(latencyMarker);
+	}
+
+	@Override
+	public void setKeyContextElement(StreamRecord<IN> record) throws Exception {
+		owner.setKeyContextElement(record, inputId);
+	}
+}
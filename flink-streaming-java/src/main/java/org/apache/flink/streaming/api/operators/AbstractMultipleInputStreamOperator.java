@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.streaming.api.graph.StreamConfig;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.StreamTask;
+
+import java.util.Arrays;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Base class for {@link MultipleInputStreamOperator MultipleInputStreamOperators}. It tracks the
+ * watermark of every input and advances the event time of the operator to the minimum of them,
+ * the same way as {@link AbstractStreamOperator} does for two inputs. It also holds the state
+ * partitioner of every input, for keyed operators.
+ *
+ * <p>The {@link Input Inputs} of the operator should extend {@link AbstractInput}.
+ *
+ * @param <OUT> The output type of the operator
+ */
+@PublicEvolving
+public abstract class AbstractMultipleInputStreamOperator<OUT>
+		extends AbstractStreamOperator<OUT>
+		implements MultipleInputStreamOperator<OUT> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int numberOfInputs;
+
+	private transient KeySelector<?, ?>[] stateKeySelectors;
+
+	private transient long[] inputWatermarks;
+
+	private transient long combinedWatermark;
+
+	protected AbstractMultipleInputStreamOperator(int numberOfInputs) {
+		checkArgument(numberOfInputs > 0, "An operator must have at least one input.");
+		this.numberOfInputs = numberOfInputs;
+	}
+
+	@Override
+	public void setup(StreamTask<?, ?> containingTask, StreamConfig config, Output<StreamRecord<OUT>> output) {
+		super.setup(containingTask, config, output);
+
+		stateKeySelectors = new KeySelector<?, ?>[numberOfInputs];
+		for (int i = 0; i < numberOfInputs; i++) {
+			stateKeySelectors[i] = config.getStatePartitioner(i, getUserCodeClassloader());
+		}
+
+		inputWatermarks = new long[numberOfInputs];
+		Arrays.fill(inputWatermarks, Long.MIN_VALUE);
+		combinedWatermark = Long.MIN_VALUE;
+	}
+
+	public int getNumberOfInputs() {
+		return numberOfInputs;
+	}
+
+	/**
+	 * Reports the watermark of the input with the given id, starting from 1. The watermark of the
+	 * operator advances once the minimum watermark of all inputs advances.
+	 */
+	protected void reportWatermark(Watermark mark, int inputId) throws Exception {
+		inputWatermarks[inputId - 1] = mark.getTimestamp();
+
+		long newMin = Long.MAX_VALUE;
+		for (long inputWatermark : inputWatermarks) {
+			newMin = Math.min(newMin, inputWatermark);
+		}
+		if (newMin > combinedWatermark) {
+			combinedWatermark = newMin;
+			processWatermark(new Watermark(combinedWatermark));
+		}
+	}
+
+	/**
+	 * Sets the current key for the given record of the input with the given id, starting from 1.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	protected void setKeyContextElement(StreamRecord record, int inputId) throws Exception {
+		KeySelector selector = stateKeySelectors[inputId - 1];
+		if (selector != null) {
+			setCurrentKeyOfRecord(selector.getKey(record.getValue()));
+		}
+	}
+}
@@ -135,6 +135,12 @@ public abstract class AbstractStreamOperator<OUT>
 	 */
 	private transient KeySelector<?, ?> stateKeySelector2;
 
+	/**
+	 * Whether a keyed input of the operator is forwarded instead of being partitioned by key, so
+	 * that the keys of the input records are verified to belong to the key groups of this subtask.
+	 */
+	private transient boolean prePartitionedKeyedInput;
+
 	/** Backend for keyed state. This might be empty if we're not on a keyed stream. */
 	private transient AbstractKeyedStateBackend<?> keyedStateBackend;
 
@@ -230,6 +236,7 @@ public abstract class AbstractStreamOperator<OUT>
 
 		stateKeySelector1 = config.getStatePartitioner(0, getUserCodeClassloader());
 		stateKeySelector2 = config.getStatePartitioner(1, getUserCodeClassloader());
+		prePartitionedKeyedInput = config.isPrePartitionedKeyedInput();
 	}
 
 	@Override
@@ -624,7 +631,29 @@ public abstract class AbstractStreamOperator<OUT>
 	private <T> void setKeyContextElement(StreamRecord<T> record, KeySelector<T, ?> selector) throws Exception {
 		if (selector != null) {
 			Object key = selector.getKey(record.getValue());
-			setCurrentKey(key);
+			setCurrentKeyOfRecord(key);
+		}
+	}
+
+	/**
+	 * Sets the key of an input record as the current key. If a keyed input of the operator was
+	 * reinterpreted as a keyed stream, the key is verified to belong to the key groups of this
+	 * subtask, which only costs a range check as the key group is computed when setting the key.
+	 */
+	void setCurrentKeyOfRecord(Object key) {
+		setCurrentKey(key);
+
+		if (prePartitionedKeyedInput && keyedStateBackend != null) {
+			int keyGroup = keyedStateBackend.getCurrentKeyGroupIndex();
+			KeyGroupRange keyGroupRange = keyedStateBackend.getKeyGroupRange();
+			if (!keyGroupRange.contains(keyGroup)) {
+				throw new IllegalStateException(String.format(
+					"The key %s of a record belongs to key group %d, which is not in the key group range %s of " +
+						"this subtask. The input was reinterpreted as a keyed stream, but is not partitioned in " +
+						"the same way as if it was created through keyBy, e.g. because the parallelism or the " +
+						"maximum parallelism of the job was changed.",
+					key, keyGroup, keyGroupRange));
+			}
 		}
 	}
 
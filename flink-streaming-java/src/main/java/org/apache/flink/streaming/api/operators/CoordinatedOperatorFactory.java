@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+
+/**
+ * A factory for operators which have an {@link OperatorCoordinator} on the JobManager. The
+ * provider of the coordinator is attached to the job vertex of the operator when the job graph
+ * is generated.
+ *
+ * @param <OUT> The output type of the operator.
+ */
+@Internal
+public interface CoordinatedOperatorFactory<OUT> extends StreamOperatorFactory<OUT> {
+
+	/**
+	 * Gets the provider of the coordinator of the operator with the given name and id.
+	 */
+	OperatorCoordinator.Provider getCoordinatorProvider(String operatorName, OperatorID operatorID);
+}
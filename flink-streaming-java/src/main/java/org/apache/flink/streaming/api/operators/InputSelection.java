@@ -110,6 +110,28 @@ public final class InputSelection implements Serializable {
 		throw new UnsupportedOperationException("Only two inputs are supported.");
 	}
 
+	/**
+	 * Fairly select one of the available inputs for reading. The inputs are selected in a round
+	 * robin fashion: the first input of {@code inputMask} that is available and follows the last
+	 * read input is returned, wrapping around to the first input. If no input of {@code inputMask}
+	 * is available, -1 is returned.
+	 *
+	 * @param availableInputsMask The mask of all available inputs.
+	 * @param lastReadInputIndex The index of last read input.
+	 * @return the index of the input for reading or -1, and -1 indicates no input is selected (
+	 *         {@code inputMask} is empty or the inputs in {@code inputMask} are unavailable).
+	 */
+	public int fairSelectNextIndex(long availableInputsMask, int lastReadInputIndex) {
+		long combineMask = availableInputsMask & inputMask;
+		if (combineMask == 0) {
+			return -1;
+		}
+
+		int nextInputIndex = lastReadInputIndex + 1;
+		long followingMask = nextInputIndex < Long.SIZE ? combineMask & (-1L << nextInputIndex) : 0L;
+		return Long.numberOfTrailingZeros(followingMask != 0 ? followingMask : combineMask);
+	}
+
 	private static boolean isALLMaskOf2(long inputMask) {
 		return (3 & inputMask) == 3;
 	}
@@ -172,5 +194,24 @@ public final class InputSelection implements Serializable {
 		public InputSelection build() {
 			return new InputSelection(inputMask, isALLMaskOf2(inputMask));
 		}
+
+		/**
+		 * Builds the {@link InputSelection} of an operator with the given number of inputs. If all
+		 * of the inputs are selected, the input mask is normalized to -1, so that
+		 * {@link InputSelection#areAllInputsSelected()} holds.
+		 *
+		 * @param inputCount the number of inputs of the operator, from 1 to 64.
+		 */
+		public InputSelection build(int inputCount) {
+			if (inputCount <= 0 || inputCount > 64) {
+				throw new IllegalArgumentException("The inputCount must be in the range of 1 to 64.");
+			}
+
+			long allSelectedMask = inputCount == 64 ? -1L : (1L << inputCount) - 1;
+			if ((inputMask & allSelectedMask) == allSelectedMask) {
+				inputMask = -1L;
+			}
+			return build();
+		}
 	}
 }
@@ -23,10 +23,12 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.core.memory.DataOutputView;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.state.KeyGroupedInternalPriorityQueue;
+import org.apache.flink.runtime.state.KeyedStateBackend;
 import org.apache.flink.runtime.state.PriorityQueueSetFactory;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.WrappingRuntimeException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -63,6 +65,9 @@ public class InternalTimeServiceManager<K> {
 
 	private final boolean useLegacySynchronousSnapshots;
 
+	/** Whether the timers fire once per key, when the input is sorted by key. */
+	private boolean firesTimersPerKey;
+
 	InternalTimeServiceManager(
 		KeyGroupRange localKeyGroupRange,
 		KeyContext keyContext,
@@ -124,11 +129,47 @@ public class InternalTimeServiceManager<K> {
 	}
 
 	public void advanceWatermark(Watermark watermark) throws Exception {
+		if (firesTimersPerKey) {
+			// only the final watermark finishes the last key, the timers of all other keys fire
+			// on the key change
+			if (watermark.getTimestamp() == Long.MAX_VALUE) {
+				fireAllTimers();
+			}
+			return;
+		}
+
 		for (InternalTimerServiceImpl<?, ?> service : timerServices.values()) {
 			service.advanceWatermark(watermark.getTimestamp());
 		}
 	}
 
+	/**
+	 * Makes the timers fire once per key for inputs that are sorted by key: all timers of a key
+	 * fire when the given keyed state backend switches to the next key, and when the final
+	 * watermark arrives, independent of their timestamps. The event time of the timer services
+	 * stays at {@link Long#MIN_VALUE} while the records of a key are processed.
+	 */
+	void fireTimersPerKey(KeyedStateBackend<K> keyedStateBackend) {
+		firesTimersPerKey = true;
+		keyedStateBackend.registerKeySelectionListener(newKey -> {
+			// the listener is notified before the key changes
+			final K currentKey = keyedStateBackend.getCurrentKey();
+			if (currentKey != null && !currentKey.equals(newKey)) {
+				try {
+					fireAllTimers();
+				} catch (Exception e) {
+					throw new WrappingRuntimeException("Could not fire the timers of key " + currentKey + '.', e);
+				}
+			}
+		});
+	}
+
+	private void fireAllTimers() throws Exception {
+		for (InternalTimerServiceImpl<?, ?> service : timerServices.values()) {
+			service.fireAllTimers();
+		}
+	}
+
 	//////////////////				Fault Tolerance Methods				///////////////////
 
 	public void snapshotStateForKeyGroup(DataOutputView stream, int keyGroupIdx) throws IOException {
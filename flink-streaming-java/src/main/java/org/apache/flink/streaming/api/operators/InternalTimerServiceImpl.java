@@ -33,7 +33,10 @@ import org.apache.flink.util.function.BiConsumerWithException;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -45,6 +48,13 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  */
 public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>, ProcessingTimeCallback {
 
+	/**
+	 * The maximum number of event time timers that are taken from the queue at once when the
+	 * watermark advances, which bounds the memory used for firing a large backlog of timers.
+	 */
+	@VisibleForTesting
+	static final int MAX_EVENT_TIME_TIMERS_PER_BATCH = 1024;
+
 	private final ProcessingTimeService processingTimeService;
 
 	private final KeyContext keyContext;
@@ -59,6 +69,24 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 	 */
 	private final KeyGroupedInternalPriorityQueue<TimerHeapInternalTimer<K, N>> eventTimeTimersQueue;
 
+	/**
+	 * The event time timers that were taken from the queue by the current watermark, which all
+	 * have the timestamp {@link #eventTimeTimersToFireTimestamp}, grouped by their key.
+	 */
+	private final Map<K, List<TimerHeapInternalTimer<K, N>>> eventTimeTimersToFire = new LinkedHashMap<>();
+
+	/** The timestamp of the event time timers in {@link #eventTimeTimersToFire}. */
+	private long eventTimeTimersToFireTimestamp;
+
+	/**
+	 * The event time timers that were taken from the queue by the current watermark, but are not
+	 * fired yet. Timers that are deleted while the batch fires are removed from this set.
+	 */
+	private final Set<TimerHeapInternalTimer<K, N>> pendingEventTimeTimers = new HashSet<>();
+
+	/** Whether a fired timer registered a new timer that is due before the timers of the batch. */
+	private boolean eventTimeTimerRegisteredBeforeBatch;
+
 	/**
 	 * Information concerning the local key-group range.
 	 */
@@ -78,6 +106,12 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 	 * */
 	private ScheduledFuture<?> nextTimer;
 
+	/**
+	 * Set while the processing time timers fire in {@link #fireAllTimers()}, where the processing
+	 * time timers registered by the fired timers are dropped.
+	 */
+	private boolean dropProcessingTimeTimers;
+
 	// Variables to be set when the service is started.
 
 	private TypeSerializer<K> keySerializer;
@@ -198,6 +232,10 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	@Override
 	public void registerProcessingTimeTimer(N namespace, long time) {
+		if (dropProcessingTimeTimers) {
+			return;
+		}
+
 		InternalTimer<K, N> oldHead = processingTimeTimersQueue.peek();
 		if (processingTimeTimersQueue.add(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace))) {
 			long nextTriggerTime = oldHead != null ? oldHead.getTimestamp() : Long.MAX_VALUE;
@@ -213,7 +251,14 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	@Override
 	public void registerEventTimeTimer(N namespace, long time) {
-		eventTimeTimersQueue.add(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
+		final TimerHeapInternalTimer<K, N> timer = new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace);
+		if (pendingEventTimeTimers.isEmpty()) {
+			eventTimeTimersQueue.add(timer);
+		} else if (!pendingEventTimeTimers.contains(timer)) {
+			// registered by a timer of the batch that is currently fired
+			eventTimeTimersQueue.add(timer);
+			eventTimeTimerRegisteredBeforeBatch |= time < eventTimeTimersToFireTimestamp;
+		}
 	}
 
 	@Override
@@ -223,7 +268,10 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 
 	@Override
 	public void deleteEventTimeTimer(N namespace, long time) {
-		eventTimeTimersQueue.remove(new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace));
+		final TimerHeapInternalTimer<K, N> timer = new TimerHeapInternalTimer<>(time, (K) keyContext.getCurrentKey(), namespace);
+		if (pendingEventTimeTimers.isEmpty() || !pendingEventTimeTimers.remove(timer)) {
+			eventTimeTimersQueue.remove(timer);
+		}
 	}
 
 	@Override
@@ -265,16 +313,104 @@ public class InternalTimerServiceImpl<K, N> implements InternalTimerService<N>,
 		}
 	}
 
+	/**
+	 * Advances the event time and fires all event time timers up to the given watermark.
+	 *
+	 * <p>The timers are taken from the queue in batches of timers with the same timestamp, and
+	 * the timers of a batch are fired key by key, so that the key context is set only once per
+	 * key and batch. All timers fire in the order of their timestamps, the order of timers with
+	 * the same timestamp is not defined. Timers that are registered by the fired timers fire in a
+	 * following batch if they are before the watermark, and timers that are deleted by the fired
+	 * timers do not fire.
+	 */
 	public void advanceWatermark(long time) throws Exception {
 		currentWatermark = time;
 
-		InternalTimer<K, N> timer;
+		while (pollEventTimeTimers(time)) {
+			try {
+				fireEventTimeTimers();
+			} finally {
+				eventTimeTimersToFire.clear();
+				pendingEventTimeTimers.clear();
+				eventTimeTimerRegisteredBeforeBatch = false;
+			}
+		}
+	}
+
+	private boolean pollEventTimeTimers(long time) {
+		TimerHeapInternalTimer<K, N> timer = eventTimeTimersQueue.peek();
+		if (timer == null || timer.getTimestamp() > time) {
+			return false;
+		}
+
+		eventTimeTimersToFireTimestamp = timer.getTimestamp();
+		int numTimers = 0;
+
+		while (numTimers < MAX_EVENT_TIME_TIMERS_PER_BATCH
+				&& (timer = eventTimeTimersQueue.peek()) != null
+				&& timer.getTimestamp() == eventTimeTimersToFireTimestamp) {
 
-		while ((timer = eventTimeTimersQueue.peek()) != null && timer.getTimestamp() <= time) {
 			eventTimeTimersQueue.poll();
-			keyContext.setCurrentKey(timer.getKey());
-			triggerTarget.onEventTime(timer);
+			eventTimeTimersToFire.computeIfAbsent(timer.getKey(), k -> new ArrayList<>()).add(timer);
+			pendingEventTimeTimers.add(timer);
+			numTimers++;
 		}
+
+		return numTimers > 0;
+	}
+
+	private void fireEventTimeTimers() throws Exception {
+		for (Map.Entry<K, List<TimerHeapInternalTimer<K, N>>> timersOfKey : eventTimeTimersToFire.entrySet()) {
+			keyContext.setCurrentKey(timersOfKey.getKey());
+
+			for (TimerHeapInternalTimer<K, N> timer : timersOfKey.getValue()) {
+				// skip the timers that were deleted by the timers fired before them
+				if (!pendingEventTimeTimers.remove(timer)) {
+					continue;
+				}
+
+				triggerTarget.onEventTime(timer);
+
+				if (eventTimeTimerRegisteredBeforeBatch) {
+					// the new timer is due before the remaining timers of the batch, which
+					// therefore go back to the queue to fire after it
+					for (TimerHeapInternalTimer<K, N> pendingTimer : pendingEventTimeTimers) {
+						eventTimeTimersQueue.add(pendingTimer);
+					}
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Fires all event time and processing time timers, and resets the event time afterwards.
+	 *
+	 * <p>This is used when the input is sorted by key, where all timers belong to the current key
+	 * and fire once the key is finished, independent of their timestamps. The event time timers
+	 * fire like for the final watermark, including the event time timers that are registered by
+	 * fired timers. The processing time timers fire once after them: the processing time timers
+	 * that they register would be due immediately again, so they are dropped like the processing
+	 * time timers that are left at the end of the input.
+	 */
+	void fireAllTimers() throws Exception {
+		advanceWatermark(Long.MAX_VALUE);
+
+		if (nextTimer != null) {
+			nextTimer.cancel(false);
+			nextTimer = null;
+		}
+
+		dropProcessingTimeTimers = true;
+		try {
+			onProcessingTime(Long.MAX_VALUE);
+			// the event time timers that are registered by the processing time timers
+			advanceWatermark(Long.MAX_VALUE);
+		} finally {
+			dropProcessingTimeTimers = false;
+		}
+
+		currentWatermark = Long.MIN_VALUE;
 	}
 
 	/**
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.util.List;
+
+/**
+ * Interface for stream operators with an arbitrary number of inputs. Each input is represented
+ * by an {@link Input}, which may have its own type. Use {@link AbstractMultipleInputStreamOperator}
+ * as a base class if you want to implement a custom operator.
+ *
+ * <p>The operator may implement {@link InputSelectable} to select the inputs to read from, and
+ * {@link BoundedMultiInput} to be notified of the end of each input. As for the other
+ * multi-input interfaces, the inputs are numbered starting from 1.
+ *
+ * @param <OUT> The output type of the operator
+ */
+@PublicEvolving
+public interface MultipleInputStreamOperator<OUT> extends StreamOperator<OUT> {
+
+	/**
+	 * Returns the inputs of this operator, in input order. The task calls this method once, after
+	 * the operator has been set up, and must be given the same inputs on every call.
+	 */
+	List<Input> getInputs();
+}
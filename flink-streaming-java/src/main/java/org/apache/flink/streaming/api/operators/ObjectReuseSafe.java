@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link StreamOperator} or a user function which neither modifies the records it
+ * receives nor keeps references to them, or to any object reachable from them, after having
+ * processed them.
+ *
+ * <p>Records that a chained operator receives from its predecessor are copied if object reuse is
+ * disabled, because the operator could otherwise observe changes which the predecessor makes to
+ * the records after emitting them. The records are not copied for an operator which is marked,
+ * and which, if it is an {@link AbstractUdfStreamOperator}, runs a marked user function.
+ *
+ * <p>The marker is not inherited, since subclasses may change how the records are processed.
+ *
+ * @see org.apache.flink.api.common.ExecutionConfig#enableObjectReuse()
+ */
+@PublicEvolving
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ObjectReuseSafe {
+}
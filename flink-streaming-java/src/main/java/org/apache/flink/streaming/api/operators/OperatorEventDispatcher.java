@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEventHandler;
+
+/**
+ * The dispatcher through which the operators of a task exchange events with their
+ * {@link org.apache.flink.runtime.operators.coordination.OperatorCoordinator OperatorCoordinators}.
+ */
+@Internal
+public interface OperatorEventDispatcher {
+
+	/**
+	 * Registers the handler for the events which the coordinator of the given operator sends.
+	 * The events are handled in the mailbox thread of the task.
+	 */
+	void registerEventHandler(OperatorID operator, OperatorEventHandler handler);
+
+	/**
+	 * Gets the gateway through which the given operator sends events to its coordinator.
+	 */
+	OperatorEventGateway getOperatorEventGateway(OperatorID operatorId);
+}
@@ -0,0 +1,605 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.eventtime.WatermarkGenerator;
+import org.apache.flink.api.common.eventtime.WatermarkOutput;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.array.BytePrimitiveArraySerializer;
+import org.apache.flink.api.connector.source.ReaderOutput;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SourceOutput;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.core.io.SimpleVersionedSerialization;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEventHandler;
+import org.apache.flink.runtime.source.event.AddSplitEvent;
+import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.RequestSplitEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+import org.apache.flink.runtime.state.StateInitializationContext;
+import org.apache.flink.runtime.state.StateSnapshotContext;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.streaming.runtime.tasks.ProcessingTimeCallback;
+
+import javax.annotation.Nullable;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The operator which runs the {@link SourceReader} of a {@link Source}.
+ *
+ * <p>The operator is an input of its task: the task polls the reader through
+ * {@link #emitNext(DataOutput)} in the mailbox thread, and waits on {@link #isAvailable()} when
+ * the reader has no data. The reader therefore never runs a thread of its own that needs the
+ * checkpoint lock. The splits are assigned by the {@link org.apache.flink.api.connector.source.SplitEnumerator
+ * SplitEnumerator}, whose events arrive through the mailbox as well.
+ *
+ * <p>The operator generates the watermarks with the {@link WatermarkStrategy} of the source. It
+ * creates a {@link WatermarkGenerator} for each split output of the reader, see
+ * {@link ReaderOutput#createOutputForSplit(String)}, and periodically emits the minimum of the
+ * watermarks of all splits. If the strategy aligns the watermarks, the operator reports its
+ * watermark to the coordinator, and pauses the splits whose watermark is ahead of the maximum
+ * watermark announced by the coordinator. If the reader does not support pausing single splits,
+ * the operator stops polling the reader while its watermark is ahead.
+ *
+ * <p>If the strategy detects idleness, a split which has not produced records for the idle timeout
+ * does not hold back the watermark, and the operator marks the output of its task as
+ * {@link StreamStatus#IDLE idle} once the whole reader has not produced records for the timeout,
+ * e.g. because it has no splits assigned. The output is marked active again with the next record.
+ *
+ * @param <OUT> The output type of the operator.
+ * @param <SplitT> The type of the splits of the source.
+ */
+@Internal
+public class SourceOperator<OUT, SplitT extends SourceSplit>
+		extends AbstractStreamOperator<OUT>
+		implements OperatorEventHandler, PushingAsyncDataInput<OUT>, ProcessingTimeCallback {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The state that holds the serialized splits of the reader. */
+	@VisibleForTesting
+	static final ListStateDescriptor<byte[]> SPLITS_STATE_DESC =
+		new ListStateDescriptor<>("SourceReaderState", BytePrimitiveArraySerializer.INSTANCE);
+
+	private final Source<OUT, SplitT, ?> source;
+
+	private final OperatorEventGateway operatorEventGateway;
+
+	private final WatermarkStrategy<OUT> watermarkStrategy;
+
+	private transient SimpleVersionedSerializer<SplitT> splitSerializer;
+
+	private transient ListState<byte[]> readerState;
+
+	private transient SourceReader<OUT, SplitT> sourceReader;
+
+	private transient ReaderOutputImpl readerOutput;
+
+	/** Whether the reader has reached the end of its input, only accessed by the task thread. */
+	private transient boolean finished;
+
+	// ------------------------------------------------------------------------
+	//  Watermarks, only accessed by the task thread
+	// ------------------------------------------------------------------------
+
+	private transient long watermarkInterval;
+
+	/** The highest watermark emitted so far. */
+	private transient long currentWatermark;
+
+	/** The watermark most recently reported to the coordinator. */
+	private transient long reportedWatermark;
+
+	/** The highest watermark up to which the reader may read, as announced by the coordinator. */
+	private transient long maxAllowedWatermark;
+
+	/** The ids of the splits which are paused because they are ahead of the maximum watermark. */
+	private transient Set<String> pausedSplits;
+
+	private transient boolean splitPausingSupported;
+
+	/** The future which completes once the reader may read again, null if it is not paused. */
+	@Nullable
+	private transient CompletableFuture<Void> alignmentFuture;
+
+	// ------------------------------------------------------------------------
+	//  Idleness, only accessed by the task thread
+	// ------------------------------------------------------------------------
+
+	/** Whether the output of the operator is marked as idle. */
+	private transient boolean idle;
+
+	/** Whether the reader emitted records since the last periodic idleness check. */
+	private transient boolean emittedSinceIdlenessCheck;
+
+	/** The processing time of the last periodic idleness check which found records of the reader. */
+	private transient long lastActiveTime;
+
+	public SourceOperator(Source<OUT, SplitT, ?> source, OperatorEventGateway operatorEventGateway) {
+		this(source, operatorEventGateway, WatermarkStrategy.noWatermarks());
+	}
+
+	public SourceOperator(
+			Source<OUT, SplitT, ?> source,
+			OperatorEventGateway operatorEventGateway,
+			WatermarkStrategy<OUT> watermarkStrategy) {
+		this.source = checkNotNull(source);
+		this.operatorEventGateway = checkNotNull(operatorEventGateway);
+		this.watermarkStrategy = checkNotNull(watermarkStrategy);
+	}
+
+	@Override
+	public void initializeState(StateInitializationContext context) throws Exception {
+		super.initializeState(context);
+
+		splitSerializer = source.getSplitSerializer();
+		readerState = context.getOperatorStateStore().getListState(SPLITS_STATE_DESC);
+	}
+
+	@Override
+	public void open() throws Exception {
+		super.open();
+
+		sourceReader = source.createReader(new SourceReaderContextImpl());
+		readerOutput = new ReaderOutputImpl();
+
+		currentWatermark = Long.MIN_VALUE;
+		reportedWatermark = Long.MIN_VALUE;
+		maxAllowedWatermark = Long.MAX_VALUE;
+		pausedSplits = new HashSet<>();
+		splitPausingSupported = true;
+		watermarkInterval = getExecutionConfig().getAutoWatermarkInterval();
+		idle = false;
+		lastActiveTime = getProcessingTimeService().getCurrentProcessingTime();
+
+		if (watermarkStrategy.generatesWatermarks() && watermarkInterval > 0) {
+			final long now = getProcessingTimeService().getCurrentProcessingTime();
+			getProcessingTimeService().registerTimer(now + watermarkInterval, this);
+		}
+
+		final List<SplitT> restoredSplits = new ArrayList<>();
+		for (byte[] serializedSplit : readerState.get()) {
+			restoredSplits.add(SimpleVersionedSerialization.readVersionAndDeSerialize(splitSerializer, serializedSplit));
+		}
+		if (!restoredSplits.isEmpty()) {
+			sourceReader.addSplits(restoredSplits);
+		}
+
+		operatorEventGateway.sendEventToCoordinator(
+			new ReaderRegistrationEvent(getRuntimeContext().getIndexOfThisSubtask(), getLocalHostName()));
+
+		sourceReader.start();
+	}
+
+	@Override
+	public void close() throws Exception {
+		super.close();
+		closeReader();
+	}
+
+	@Override
+	public void dispose() throws Exception {
+		try {
+			closeReader();
+		} finally {
+			super.dispose();
+		}
+	}
+
+	@Override
+	public InputStatus emitNext(DataOutput<OUT> output) throws Exception {
+		if (alignmentFuture != null) {
+			// the reader is ahead of the other readers, and waits for them to catch up
+			return InputStatus.NOTHING_AVAILABLE;
+		}
+
+		readerOutput.setOutput(output);
+
+		final InputStatus status = sourceReader.pollNext(readerOutput);
+		if (status == InputStatus.END_OF_INPUT) {
+			finished = true;
+			if (watermarkStrategy.generatesWatermarks() && currentWatermark != Long.MAX_VALUE) {
+				currentWatermark = Long.MAX_VALUE;
+				output.emitWatermark(Watermark.MAX_WATERMARK);
+			}
+		}
+		return status;
+	}
+
+	@Override
+	public boolean isFinished() {
+		return finished;
+	}
+
+	@Override
+	public CompletableFuture<?> isAvailable() {
+		return alignmentFuture != null ? alignmentFuture : sourceReader.isAvailable();
+	}
+
+	@Override
+	public void onProcessingTime(long timestamp) throws Exception {
+		if (sourceReader == null || finished) {
+			return;
+		}
+
+		emitPeriodicWatermark();
+
+		final long now = getProcessingTimeService().getCurrentProcessingTime();
+		getProcessingTimeService().registerTimer(now + watermarkInterval, this);
+	}
+
+	@Override
+	public void snapshotState(StateSnapshotContext context) throws Exception {
+		super.snapshotState(context);
+
+		final List<byte[]> serializedSplits = new ArrayList<>();
+		for (SplitT split : sourceReader.snapshotState()) {
+			serializedSplits.add(SimpleVersionedSerialization.writeVersionAndSerialize(splitSerializer, split));
+		}
+		readerState.update(serializedSplits);
+	}
+
+	@Override
+	public void notifyCheckpointComplete(long checkpointId) throws Exception {
+		super.notifyCheckpointComplete(checkpointId);
+		sourceReader.notifyCheckpointComplete(checkpointId);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void handleOperatorEvent(OperatorEvent event) {
+		if (event instanceof AddSplitEvent) {
+			try {
+				sourceReader.addSplits(((AddSplitEvent<SplitT>) event).splits(splitSerializer));
+			} catch (Exception e) {
+				throw new IllegalStateException("Failed to deserialize the splits.", e);
+			}
+		} else if (event instanceof SourceEventWrapper) {
+			sourceReader.handleSourceEvents(((SourceEventWrapper) event).getSourceEvent());
+		} else if (event instanceof WatermarkAlignmentEvent) {
+			maxAllowedWatermark = ((WatermarkAlignmentEvent) event).getMaxWatermark();
+			alignSplits();
+		} else {
+			throw new IllegalStateException("Received unexpected operator event " + event);
+		}
+	}
+
+	@VisibleForTesting
+	SourceReader<OUT, SplitT> getSourceReader() {
+		return sourceReader;
+	}
+
+	@VisibleForTesting
+	void emitPeriodicWatermark() {
+		if (watermarkStrategy.isIdlenessDetected()) {
+			detectIdleness(getProcessingTimeService().getCurrentProcessingTime());
+		}
+
+		final long watermark = readerOutput.periodicEmitAndGetWatermark();
+
+		if (watermark > currentWatermark && watermark != Long.MAX_VALUE) {
+			currentWatermark = watermark;
+			output.emitWatermark(new Watermark(watermark));
+		}
+
+		if (watermarkStrategy.isWatermarkAligned()) {
+			if (watermark != reportedWatermark) {
+				reportedWatermark = watermark;
+				operatorEventGateway.sendEventToCoordinator(new ReportedWatermarkEvent(watermark));
+			}
+			alignSplits();
+		}
+	}
+
+	/**
+	 * Marks the splits as idle which have not produced records for the idle timeout, and marks the
+	 * output of the operator as idle if the whole reader has not produced records for the timeout.
+	 */
+	private void detectIdleness(long now) {
+		final long idleTimeout = watermarkStrategy.getIdleTimeout();
+
+		for (SplitOutput splitOutput : readerOutput.splitOutputs.values()) {
+			splitOutput.detectIdleness(now, idleTimeout);
+		}
+		if (readerOutput.readerWideOutput != null) {
+			readerOutput.readerWideOutput.detectIdleness(now, idleTimeout);
+		}
+
+		if (emittedSinceIdlenessCheck) {
+			emittedSinceIdlenessCheck = false;
+			lastActiveTime = now;
+		} else if (!idle && now - lastActiveTime >= idleTimeout) {
+			idle = true;
+			getContainingTask().getStreamStatusMaintainer().toggleStreamStatus(StreamStatus.IDLE);
+		}
+	}
+
+	/**
+	 * Pauses the splits which are ahead of the maximum allowed watermark, and resumes the paused
+	 * splits which are no longer ahead. Pauses the whole reader if all of its splits are ahead.
+	 */
+	private void alignSplits() {
+		if (!watermarkStrategy.isWatermarkAligned()) {
+			return;
+		}
+
+		if (splitPausingSupported) {
+			final List<String> splitsToPause = new ArrayList<>();
+			final List<String> splitsToResume = new ArrayList<>();
+
+			for (SplitOutput splitOutput : readerOutput.splitOutputs.values()) {
+				if (splitOutput.watermark > maxAllowedWatermark) {
+					if (pausedSplits.add(splitOutput.splitId)) {
+						splitsToPause.add(splitOutput.splitId);
+					}
+				} else if (pausedSplits.remove(splitOutput.splitId)) {
+					splitsToResume.add(splitOutput.splitId);
+				}
+			}
+
+			if (!splitsToPause.isEmpty() || !splitsToResume.isEmpty()) {
+				try {
+					sourceReader.pauseOrResumeSplits(splitsToPause, splitsToResume);
+				} catch (UnsupportedOperationException e) {
+					LOG.info("The reader of source {} does not support pausing splits. Pausing the whole reader " +
+						"while it is ahead of the other readers instead.", getOperatorName());
+					splitPausingSupported = false;
+					pausedSplits.clear();
+				}
+			}
+		}
+
+		final long watermark = readerOutput.getWatermark();
+		final boolean ahead = watermark != Long.MAX_VALUE && watermark > maxAllowedWatermark;
+
+		if (ahead && alignmentFuture == null) {
+			alignmentFuture = new CompletableFuture<>();
+		} else if (!ahead && alignmentFuture != null) {
+			final CompletableFuture<Void> future = alignmentFuture;
+			alignmentFuture = null;
+			future.complete(null);
+		}
+	}
+
+	private void closeReader() throws Exception {
+		if (sourceReader != null) {
+			final SourceReader<OUT, SplitT> reader = sourceReader;
+			sourceReader = null;
+			reader.close();
+		}
+	}
+
+	private static String getLocalHostName() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			return "unknown";
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private final class SourceReaderContextImpl implements SourceReaderContext {
+
+		@Override
+		public MetricGroup metricGroup() {
+			return getMetricGroup();
+		}
+
+		@Override
+		public int getIndexOfSubtask() {
+			return getRuntimeContext().getIndexOfThisSubtask();
+		}
+
+		@Override
+		public void sendSplitRequest() {
+			operatorEventGateway.sendEventToCoordinator(new RequestSplitEvent(getLocalHostName()));
+		}
+
+		@Override
+		public void sendSourceEventToEnumerator(SourceEvent sourceEvent) {
+			operatorEventGateway.sendEventToCoordinator(new SourceEventWrapper(sourceEvent));
+		}
+	}
+
+	/**
+	 * The output of the reader, which hands the records to the output of the task in a reused
+	 * {@link StreamRecord}, and creates the outputs of the splits of the reader.
+	 */
+	private final class ReaderOutputImpl implements ReaderOutput<OUT> {
+
+		private final StreamRecord<OUT> reuse = new StreamRecord<>(null);
+
+		/** The outputs of the splits which have not been released yet. */
+		private final Map<String, SplitOutput> splitOutputs = new LinkedHashMap<>();
+
+		/** The output of the records with a timestamp which are emitted without split, created lazily. */
+		@Nullable
+		private SplitOutput readerWideOutput;
+
+		private DataOutput<OUT> output;
+
+		void setOutput(DataOutput<OUT> output) {
+			this.output = output;
+		}
+
+		@Override
+		public void collect(OUT record) throws Exception {
+			markActive();
+			reuse.replace(record);
+			reuse.eraseTimestamp();
+			output.emitRecord(reuse);
+		}
+
+		@Override
+		public void collect(OUT record, long timestamp) throws Exception {
+			if (watermarkStrategy.generatesWatermarks()) {
+				if (readerWideOutput == null) {
+					readerWideOutput = new SplitOutput(null);
+				}
+				readerWideOutput.collect(record, timestamp);
+			} else {
+				emit(record, timestamp);
+			}
+		}
+
+		void emit(OUT record, long timestamp) throws Exception {
+			markActive();
+			output.emitRecord(reuse.replace(record, timestamp));
+		}
+
+		private void markActive() throws Exception {
+			emittedSinceIdlenessCheck = true;
+			if (idle) {
+				idle = false;
+				output.emitStreamStatus(StreamStatus.ACTIVE);
+			}
+		}
+
+		@Override
+		public SourceOutput<OUT> createOutputForSplit(String splitId) {
+			if (!watermarkStrategy.generatesWatermarks()) {
+				return this;
+			}
+			return splitOutputs.computeIfAbsent(splitId, SplitOutput::new);
+		}
+
+		@Override
+		public void releaseOutputForSplit(String splitId) {
+			splitOutputs.remove(splitId);
+			pausedSplits.remove(splitId);
+		}
+
+		/**
+		 * Lets all watermark generators emit their periodic watermarks, and returns the minimum
+		 * watermark of all outputs.
+		 */
+		long periodicEmitAndGetWatermark() {
+			for (SplitOutput splitOutput : splitOutputs.values()) {
+				splitOutput.onPeriodicEmit();
+			}
+			if (readerWideOutput != null) {
+				readerWideOutput.onPeriodicEmit();
+			}
+			return getWatermark();
+		}
+
+		/**
+		 * Returns the minimum watermark of all outputs which are not idle, or {@code Long.MAX_VALUE}
+		 * if there are no outputs which could hold back the watermark.
+		 */
+		long getWatermark() {
+			long watermark = readerWideOutput != null && !readerWideOutput.idle ? readerWideOutput.watermark : Long.MAX_VALUE;
+			for (SplitOutput splitOutput : splitOutputs.values()) {
+				if (!splitOutput.idle) {
+					watermark = Math.min(watermark, splitOutput.watermark);
+				}
+			}
+			return watermark;
+		}
+	}
+
+	/**
+	 * The output of a split, which generates the watermarks of the records of the split.
+	 */
+	private final class SplitOutput implements SourceOutput<OUT>, WatermarkOutput {
+
+		@Nullable
+		private final String splitId;
+
+		private final WatermarkGenerator<OUT> watermarkGenerator;
+
+		/** The highest watermark which the generator emitted. */
+		private long watermark = Long.MIN_VALUE;
+
+		/** Whether the split is idle, in which case it does not hold back the watermark. */
+		private boolean idle;
+
+		/** Whether the split emitted records since the last periodic idleness check. */
+		private boolean emittedSinceIdlenessCheck;
+
+		/** The processing time of the last periodic idleness check which found records of the split. */
+		private long lastActiveTime;
+
+		SplitOutput(@Nullable String splitId) {
+			this.splitId = splitId;
+			this.watermarkGenerator = watermarkStrategy.createWatermarkGenerator();
+			this.lastActiveTime = getProcessingTimeService().getCurrentProcessingTime();
+		}
+
+		@Override
+		public void collect(OUT record) throws Exception {
+			readerOutput.collect(record);
+		}
+
+		@Override
+		public void collect(OUT record, long timestamp) throws Exception {
+			emittedSinceIdlenessCheck = true;
+			idle = false;
+			readerOutput.emit(record, timestamp);
+			watermarkGenerator.onEvent(record, timestamp, this);
+		}
+
+		@Override
+		public void emitWatermark(org.apache.flink.api.common.eventtime.Watermark newWatermark) {
+			watermark = Math.max(watermark, newWatermark.getTimestamp());
+		}
+
+		void onPeriodicEmit() {
+			watermarkGenerator.onPeriodicEmit(this);
+		}
+
+		void detectIdleness(long now, long idleTimeout) {
+			if (emittedSinceIdlenessCheck) {
+				emittedSinceIdlenessCheck = false;
+				lastActiveTime = now;
+			} else if (now - lastActiveTime >= idleTimeout) {
+				idle = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.runtime.source.coordinator.SourceCoordinatorProvider;
+import org.apache.flink.streaming.api.graph.StreamConfig;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.StreamTask;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The factory of the {@link SourceOperator}, which attaches the {@link SourceCoordinatorProvider}
+ * of the source to the job vertex and connects the operator to its coordinator.
+ *
+ * @param <OUT> The output type of the operator.
+ */
+@Internal
+public class SourceOperatorFactory<OUT> implements CoordinatedOperatorFactory<OUT> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Source<OUT, ?, ?> source;
+
+	private final WatermarkStrategy<OUT> watermarkStrategy;
+
+	private ChainingStrategy chainingStrategy = ChainingStrategy.HEAD;
+
+	public SourceOperatorFactory(Source<OUT, ?, ?> source) {
+		this(source, WatermarkStrategy.noWatermarks());
+	}
+
+	public SourceOperatorFactory(Source<OUT, ?, ?> source, WatermarkStrategy<OUT> watermarkStrategy) {
+		this.source = checkNotNull(source);
+		this.watermarkStrategy = checkNotNull(watermarkStrategy);
+	}
+
+	public Source<OUT, ?, ?> getSource() {
+		return source;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends StreamOperator<OUT>> T createStreamOperator(
+			StreamTask<?, ?> containingTask,
+			StreamConfig config,
+			Output<StreamRecord<OUT>> output) {
+
+		final OperatorEventDispatcher eventDispatcher = containingTask.getOperatorEventDispatcher();
+		final OperatorEventGateway gateway = eventDispatcher.getOperatorEventGateway(config.getOperatorID());
+
+		final SourceOperator<OUT, ?> sourceOperator = new SourceOperator<>(
+			(Source<OUT, SourceSplit, ?>) source, gateway, watermarkStrategy);
+		sourceOperator.setup(containingTask, config, output);
+		sourceOperator.setChainingStrategy(chainingStrategy);
+		eventDispatcher.registerEventHandler(config.getOperatorID(), sourceOperator);
+
+		return (T) sourceOperator;
+	}
+
+	@Override
+	public OperatorCoordinator.Provider getCoordinatorProvider(String operatorName, OperatorID operatorID) {
+		return new SourceCoordinatorProvider<>(
+			operatorName,
+			operatorID,
+			source,
+			watermarkStrategy.isWatermarkAligned() ? watermarkStrategy.getMaxAllowedWatermarkDrift() : -1L);
+	}
+
+	@Override
+	public void setChainingStrategy(ChainingStrategy strategy) {
+		this.chainingStrategy = checkNotNull(strategy);
+	}
+
+	@Override
+	public ChainingStrategy getChainingStrategy() {
+		return chainingStrategy;
+	}
+
+	@Override
+	public boolean isStreamSource() {
+		return true;
+	}
+
+	@Override
+	public Class<? extends StreamOperator> getStreamOperatorClass(ClassLoader classLoader) {
+		return SourceOperator.class;
+	}
+}
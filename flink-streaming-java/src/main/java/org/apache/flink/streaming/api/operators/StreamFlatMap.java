@@ -25,6 +25,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
  * A {@link StreamOperator} for executing {@link FlatMapFunction FlatMapFunctions}.
  */
 @Internal
+@ObjectReuseSafe
 public class StreamFlatMap<IN, OUT>
 		extends AbstractUdfStreamOperator<OUT, FlatMapFunction<IN, OUT>>
 		implements OneInputStreamOperator<IN, OUT> {
@@ -25,6 +25,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
  * A {@link StreamOperator} for executing {@link MapFunction MapFunctions}.
  */
 @Internal
+@ObjectReuseSafe
 public class StreamMap<IN, OUT>
 		extends AbstractUdfStreamOperator<OUT, MapFunction<IN, OUT>>
 		implements OneInputStreamOperator<IN, OUT> {
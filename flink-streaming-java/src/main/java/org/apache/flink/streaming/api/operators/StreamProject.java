@@ -26,6 +26,7 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
  * A {@link StreamOperator} for executing projections on streams.
  */
 @Internal
+@ObjectReuseSafe
 public class StreamProject<IN, OUT extends Tuple>
 		extends AbstractStreamOperator<OUT>
 		implements OneInputStreamOperator<IN, OUT> {
@@ -54,6 +55,13 @@ public class StreamProject<IN, OUT extends Tuple>
 		output.collect(element.replace(outTuple));
 	}
 
+	/**
+	 * Returns the indexes of the fields of the input tuples which are projected.
+	 */
+	public int[] getFields() {
+		return fields;
+	}
+
 	@Override
 	public void open() throws Exception {
 		super.open();
@@ -28,6 +28,7 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
  * A {@link StreamOperator} for executing {@link SinkFunction SinkFunctions}.
  */
 @Internal
+@ObjectReuseSafe
 public class StreamSink<IN> extends AbstractUdfStreamOperator<Object, SinkFunction<IN>>
 		implements OneInputStreamOperator<IN, Object> {
 
@@ -41,6 +41,7 @@ import org.apache.flink.runtime.state.StateBackend;
 import org.apache.flink.runtime.state.StatePartitionStreamProvider;
 import org.apache.flink.runtime.state.StreamStateHandle;
 import org.apache.flink.runtime.state.TaskStateManager;
+import org.apache.flink.runtime.state.heap.SingleKeyStateBackend;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 import org.apache.flink.runtime.util.OperatorSubtaskDescriptionText;
 import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
@@ -226,6 +227,11 @@ public class StreamTaskStateInitializerImpl implements StreamTaskStateInitialize
 				keyGroupIdx, environment.getUserClassLoader());
 		}
 
+		// the keyed state of an input that is sorted by key is kept for a single key
+		if (stateBackend instanceof SingleKeyStateBackend) {
+			timeServiceManager.fireTimersPerKey(keyedStatedBackend);
+		}
+
 		return timeServiceManager;
 	}
 
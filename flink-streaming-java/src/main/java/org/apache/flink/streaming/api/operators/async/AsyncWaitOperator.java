@@ -26,7 +26,9 @@ import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.datastream.AsyncDataStream.OutputMode;
+import org.apache.flink.streaming.api.functions.async.AsyncBatchFunction;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.AsyncRetryStrategy;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.operators.AbstractUdfStreamOperator;
@@ -52,9 +54,12 @@ import org.apache.flink.util.Preconditions;
 
 import javax.annotation.Nonnull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -70,6 +75,13 @@ import java.util.concurrent.TimeUnit;
  * operator stores all currently in-flight {@link StreamElement} in it's operator state. Upon
  * recovery the recorded set of stream elements is replayed.
  *
+ * <p>With an {@link AsyncBatchFunction}, the operator gathers the inputs into batches of up to a
+ * maximum size, and triggers one async operation per batch, at the latest when the maximum batch
+ * delay has passed since the first input of the batch arrived. The inputs of a batch are in the
+ * stream element queue while they are gathered, so that they count against its capacity, and are
+ * part of the operator state in case of a checkpoint. Inputs whose result future is completed
+ * exceptionally are retried after a delay according to the {@link AsyncRetryStrategy}.
+ *
  * <p>In case of chaining of this operator, it has to be made sure that the operators in the chain are
  * opened tail to head. The reason for this is that an opened {@link AsyncWaitOperator} starts
  * already emitting recovered {@link StreamElement} to downstream operators.
@@ -94,6 +106,18 @@ public class AsyncWaitOperator<IN, OUT>
 	/** Timeout for the async collectors. */
 	private final long timeout;
 
+	/** Strategy for retrying inputs whose async operation failed. */
+	private final AsyncRetryStrategy retryStrategy;
+
+	/** Maximum number of inputs per async operation, if the user function is an {@link AsyncBatchFunction}. */
+	private final int maxBatchSize;
+
+	/** Maximum time in milliseconds that an input waits for its batch to be full. */
+	private final long maxBatchDelay;
+
+	/** The user function as {@link AsyncBatchFunction}, if the inputs are gathered in batches. */
+	private final transient AsyncBatchFunction<IN, OUT> batchFunction;
+
 	protected transient Object checkpointingLock;
 
 	/** {@link TypeSerializer} for inputs while making snapshots. */
@@ -119,11 +143,32 @@ public class AsyncWaitOperator<IN, OUT>
 	/** Mailbox executor used to yield while waiting for buffers to empty. */
 	private final transient MailboxExecutor mailboxExecutor;
 
+	/** Inputs of the current batch, which are not yet passed to the batch function. */
+	private transient List<IN> batchInputs;
+
+	/** Result futures of the inputs of the current batch. */
+	private transient List<ResultFuture<OUT>> batchResultFutures;
+
+	/** Number of batches passed to the batch function, which identifies the current batch. */
+	private transient long numBatches;
+
+	public AsyncWaitOperator(
+			@Nonnull AsyncFunction<IN, OUT> asyncFunction,
+			long timeout,
+			int capacity,
+			@Nonnull AsyncDataStream.OutputMode outputMode,
+			@Nonnull MailboxExecutor mailboxExecutor) {
+		this(asyncFunction, timeout, capacity, outputMode, AsyncRetryStrategy.noRetry(), 1, 0L, mailboxExecutor);
+	}
+
 	public AsyncWaitOperator(
 			@Nonnull AsyncFunction<IN, OUT> asyncFunction,
 			long timeout,
 			int capacity,
 			@Nonnull AsyncDataStream.OutputMode outputMode,
+			@Nonnull AsyncRetryStrategy retryStrategy,
+			int maxBatchSize,
+			long maxBatchDelay,
 			@Nonnull MailboxExecutor mailboxExecutor) {
 		super(asyncFunction);
 
@@ -138,6 +183,20 @@ public class AsyncWaitOperator<IN, OUT>
 
 		this.timeout = timeout;
 
+		this.retryStrategy = Preconditions.checkNotNull(retryStrategy, "retryStrategy");
+
+		Preconditions.checkArgument(maxBatchSize > 0, "The maximum batch size should be greater than 0.");
+		if (maxBatchSize > 1) {
+			Preconditions.checkArgument(asyncFunction instanceof AsyncBatchFunction,
+				"Gathering inputs in batches requires an AsyncBatchFunction.");
+			Preconditions.checkArgument(maxBatchDelay > 0L, "The maximum batch delay should be greater than 0.");
+			this.batchFunction = (AsyncBatchFunction<IN, OUT>) asyncFunction;
+		} else {
+			this.batchFunction = null;
+		}
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchDelay = maxBatchDelay;
+
 		this.mailboxExecutor = mailboxExecutor;
 	}
 
@@ -175,6 +234,11 @@ public class AsyncWaitOperator<IN, OUT>
 	public void open() throws Exception {
 		super.open();
 
+		if (batchFunction != null) {
+			this.batchInputs = new ArrayList<>(maxBatchSize);
+			this.batchResultFutures = new ArrayList<>(maxBatchSize);
+		}
+
 		// create the emitter
 		this.emitter = new Emitter<>(checkpointingLock, mailboxExecutor, output, queue, this);
 
@@ -236,7 +300,7 @@ public class AsyncWaitOperator<IN, OUT>
 
 		addAsyncBufferEntry(streamRecordBufferEntry);
 
-		userFunction.asyncInvoke(element.getValue(), streamRecordBufferEntry);
+		invoke(streamRecordBufferEntry, 0);
 	}
 
 	@Override
@@ -351,6 +415,79 @@ public class AsyncWaitOperator<IN, OUT>
 		}
 	}
 
+	/**
+	 * Passes the input of the given entry to the user function, or adds it to the current batch.
+	 *
+	 * @param entry to complete with the result of the async operation
+	 * @param retry number of the retry, or 0 for the first attempt
+	 */
+	private void invoke(StreamRecordQueueEntry<OUT> entry, int retry) throws Exception {
+		final IN input = entry.getStreamElement().<IN>asRecord().getValue();
+		final ResultFuture<OUT> resultFuture = retry < retryStrategy.getMaxRetries()
+			? new RetryingResultFuture(entry, retry)
+			: entry;
+
+		if (batchFunction == null) {
+			userFunction.asyncInvoke(input, resultFuture);
+			return;
+		}
+
+		if (batchInputs.isEmpty()) {
+			final long batch = numBatches;
+			getProcessingTimeService().registerTimer(
+				getProcessingTimeService().getCurrentProcessingTime() + maxBatchDelay,
+				timestamp -> {
+					// the batch may have been full before its delay passed
+					if (numBatches == batch) {
+						flushBatch();
+					}
+				});
+		}
+
+		batchInputs.add(input);
+		batchResultFutures.add(resultFuture);
+
+		if (batchInputs.size() >= maxBatchSize) {
+			flushBatch();
+		}
+	}
+
+	/**
+	 * Passes the inputs of the current batch, if any, to the batch function.
+	 */
+	private void flushBatch() throws Exception {
+		if (batchFunction == null || batchInputs.isEmpty()) {
+			return;
+		}
+
+		final List<IN> inputs = batchInputs;
+		final List<ResultFuture<OUT>> resultFutures = batchResultFutures;
+		batchInputs = new ArrayList<>(maxBatchSize);
+		batchResultFutures = new ArrayList<>(maxBatchSize);
+		numBatches++;
+
+		batchFunction.asyncInvokeBatch(inputs, resultFutures);
+	}
+
+	/**
+	 * Schedules the next attempt of the given entry after the delay of the retry strategy. This
+	 * method is called in the mailbox thread.
+	 */
+	private void scheduleRetry(StreamRecordQueueEntry<OUT> entry, int retry) {
+		if (entry.isDone()) {
+			return;
+		}
+
+		getProcessingTimeService().registerTimer(
+			getProcessingTimeService().getCurrentProcessingTime() + retryStrategy.getRetryDelay(retry),
+			timestamp -> {
+				// the entry may have timed out in the meantime
+				if (!entry.isDone()) {
+					invoke(entry, retry);
+				}
+			});
+	}
+
 	/**
 	 * Close the operator's resources. They include the emitter thread and the executor to run
 	 * the queue's complete operation.
@@ -403,24 +540,27 @@ public class AsyncWaitOperator<IN, OUT>
 	 *
 	 * @param streamElementQueueEntry to add to the operator's queue
 	 * @param <T> Type of the stream element queue entry's result
-	 * @throws InterruptedException if the current thread has been interrupted
+	 * @throws Exception if the current thread has been interrupted, or the batch function failed
 	 */
-	private <T> void addAsyncBufferEntry(StreamElementQueueEntry<T> streamElementQueueEntry) throws InterruptedException {
+	private <T> void addAsyncBufferEntry(StreamElementQueueEntry<T> streamElementQueueEntry) throws Exception {
 		assert(Thread.holdsLock(checkpointingLock));
 
 		pendingStreamElementQueueEntry = streamElementQueueEntry;
 
 		while (!queue.tryPut(streamElementQueueEntry)) {
+			// the gathered inputs have to be invoked to free capacity of the queue
+			flushBatch();
 			mailboxExecutor.yield();
 		}
 
 		pendingStreamElementQueueEntry = null;
 	}
 
-	private void waitInFlightInputsFinished() throws InterruptedException {
+	private void waitInFlightInputsFinished() throws Exception {
 		assert(Thread.holdsLock(checkpointingLock));
 
 		while (!queue.isEmpty()) {
+			flushBatch();
 			mailboxExecutor.yield();
 		}
 	}
@@ -429,4 +569,36 @@ public class AsyncWaitOperator<IN, OUT>
 	public void failOperator(Throwable throwable) {
 		getContainingTask().getEnvironment().failExternally(throwable);
 	}
+
+	/**
+	 * {@link ResultFuture} for an attempt of an input that is followed by a retry if the attempt
+	 * fails.
+	 */
+	private final class RetryingResultFuture implements ResultFuture<OUT> {
+
+		private final StreamRecordQueueEntry<OUT> entry;
+
+		private final int retry;
+
+		RetryingResultFuture(StreamRecordQueueEntry<OUT> entry, int retry) {
+			this.entry = entry;
+			this.retry = retry;
+		}
+
+		@Override
+		public void complete(Collection<OUT> result) {
+			entry.complete(result);
+		}
+
+		@Override
+		public void completeExceptionally(Throwable error) {
+			LOG.debug("Async operation of {} failed in attempt {}, retrying.", getOperatorName(), retry + 1, error);
+			try {
+				mailboxExecutor.execute(() -> scheduleRetry(entry, retry + 1));
+			} catch (RejectedExecutionException e) {
+				// the operator is shutting down
+				entry.completeExceptionally(error);
+			}
+		}
+	}
 }
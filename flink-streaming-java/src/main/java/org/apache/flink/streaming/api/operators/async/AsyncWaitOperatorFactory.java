@@ -19,6 +19,7 @@ package org.apache.flink.streaming.api.operators.async;
 
 import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.AsyncRetryStrategy;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperatorFactory;
@@ -38,6 +39,9 @@ public class AsyncWaitOperatorFactory<IN, OUT> implements OneInputStreamOperator
 	private final long timeout;
 	private final int capacity;
 	private final AsyncDataStream.OutputMode outputMode;
+	private final AsyncRetryStrategy retryStrategy;
+	private final int maxBatchSize;
+	private final long maxBatchDelay;
 	private MailboxExecutor mailboxExecutor;
 	private ChainingStrategy strategy = ChainingStrategy.HEAD;
 
@@ -46,10 +50,24 @@ public class AsyncWaitOperatorFactory<IN, OUT> implements OneInputStreamOperator
 			long timeout,
 			int capacity,
 			AsyncDataStream.OutputMode outputMode) {
+		this(asyncFunction, timeout, capacity, outputMode, AsyncRetryStrategy.noRetry(), 1, 0L);
+	}
+
+	public AsyncWaitOperatorFactory(
+			AsyncFunction<IN, OUT> asyncFunction,
+			long timeout,
+			int capacity,
+			AsyncDataStream.OutputMode outputMode,
+			AsyncRetryStrategy retryStrategy,
+			int maxBatchSize,
+			long maxBatchDelay) {
 		this.asyncFunction = asyncFunction;
 		this.timeout = timeout;
 		this.capacity = capacity;
 		this.outputMode = outputMode;
+		this.retryStrategy = retryStrategy;
+		this.maxBatchSize = maxBatchSize;
+		this.maxBatchDelay = maxBatchDelay;
 	}
 
 	@Override
@@ -64,6 +82,9 @@ public class AsyncWaitOperatorFactory<IN, OUT> implements OneInputStreamOperator
 				timeout,
 				capacity,
 				outputMode,
+				retryStrategy,
+				maxBatchSize,
+				maxBatchDelay,
 				mailboxExecutor);
 		asyncWaitOperator.setup(containingTask, config, output);
 		return asyncWaitOperator;
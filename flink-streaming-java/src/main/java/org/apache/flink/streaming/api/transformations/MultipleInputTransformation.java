@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.transformations;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.streaming.api.operators.ChainingStrategy;
+import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * This Transformation represents the application of a
+ * {@link MultipleInputStreamOperator} to an arbitrary number of input {@code Transformations}.
+ * The result is again only one stream.
+ *
+ * <p>The inputs are numbered in the order in which they are added, starting from 1, which
+ * matches the order of the {@link org.apache.flink.streaming.api.operators.Input Inputs}
+ * returned by {@link MultipleInputStreamOperator#getInputs()}.
+ *
+ * @param <OUT> The type of the elements that result from this {@code MultipleInputTransformation}
+ */
+@Internal
+public class MultipleInputTransformation<OUT> extends PhysicalTransformation<OUT> {
+
+	private final List<Transformation<?>> inputs = new ArrayList<>();
+
+	private final StreamOperatorFactory<OUT> operatorFactory;
+
+	private final List<KeySelector<?, ?>> stateKeySelectors = new ArrayList<>();
+
+	private TypeInformation<?> stateKeyType;
+
+	public MultipleInputTransformation(
+			String name,
+			StreamOperatorFactory<OUT> operatorFactory,
+			TypeInformation<OUT> outputType,
+			int parallelism) {
+		super(name, outputType, parallelism);
+		this.operatorFactory = checkNotNull(operatorFactory);
+	}
+
+	/**
+	 * Adds an input {@code Transformation}, which becomes the next input of the operator.
+	 */
+	public void addInput(Transformation<?> input) {
+		inputs.add(checkNotNull(input));
+	}
+
+	/**
+	 * Returns the input {@code Transformations} of this {@code MultipleInputTransformation}.
+	 */
+	public List<Transformation<?>> getInputs() {
+		return Collections.unmodifiableList(inputs);
+	}
+
+	/**
+	 * Returns the {@code TypeInformation} for the elements of each input, in input order.
+	 */
+	public List<TypeInformation<?>> getInputTypes() {
+		return inputs.stream()
+			.map(Transformation::getOutputType)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the {@code StreamOperatorFactory} of this Transformation.
+	 */
+	public StreamOperatorFactory<OUT> getOperatorFactory() {
+		return operatorFactory;
+	}
+
+	/**
+	 * Sets the {@link KeySelector KeySelectors} that must be used for partitioning keyed state of
+	 * this transformation, one for each input in input order.
+	 *
+	 * @param stateKeySelectors The {@code KeySelectors} to set for the inputs
+	 */
+	public void setStateKeySelectors(List<KeySelector<?, ?>> stateKeySelectors) {
+		checkArgument(stateKeySelectors.size() == inputs.size(),
+			"There must be one key selector per input.");
+		this.stateKeySelectors.clear();
+		this.stateKeySelectors.addAll(stateKeySelectors);
+	}
+
+	/**
+	 * Returns the {@code KeySelectors} that must be used for partitioning keyed state in this
+	 * Operation, or an empty list if the operation is not keyed.
+	 *
+	 * @see #setStateKeySelectors
+	 */
+	public List<KeySelector<?, ?>> getStateKeySelectors() {
+		return Collections.unmodifiableList(stateKeySelectors);
+	}
+
+	public void setStateKeyType(TypeInformation<?> stateKeyType) {
+		this.stateKeyType = stateKeyType;
+	}
+
+	public TypeInformation<?> getStateKeyType() {
+		return stateKeyType;
+	}
+
+	@Override
+	public Collection<Transformation<?>> getTransitivePredecessors() {
+		List<Transformation<?>> result = new ArrayList<>();
+		result.add(this);
+		for (Transformation<?> input : inputs) {
+			result.addAll(input.getTransitivePredecessors());
+		}
+		return result;
+	}
+
+	@Override
+	public final void setChainingStrategy(ChainingStrategy strategy) {
+		operatorFactory.setChainingStrategy(strategy);
+	}
+}
@@ -29,12 +29,16 @@ import org.apache.flink.runtime.util.ConfigurationParserUtils;
 import org.apache.flink.streaming.api.CheckpointingMode;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.apache.flink.util.Preconditions.checkState;
 
 /**
  * Utility for creating {@link CheckpointedInputGate} based on checkpoint mode
- * for {@link StreamOneInputProcessor} and {@link StreamTwoInputProcessor}.
+ * for {@link StreamOneInputProcessor}, {@link StreamTwoInputProcessor} and
+ * {@link StreamMultipleInputProcessor}.
  */
 @Internal
 public class InputProcessorUtil {
@@ -97,6 +101,52 @@ public class InputProcessorUtil {
 		};
 	}
 
+	/**
+	 * @return an array of {@link CheckpointedInputGate} created for the corresponding
+	 * {@link InputGate}s supplied as parameters. The gates share one barrier handler, and their
+	 * buffer storages are linked together.
+	 */
+	public static CheckpointedInputGate[] createCheckpointedMultipleInputGate(
+			AbstractInvokable toNotifyOnCheckpoint,
+			CheckpointingMode checkpointMode,
+			IOManager ioManager,
+			Configuration taskManagerConfig,
+			String taskName,
+			InputGate... inputGates) throws IOException {
+
+		int pageSize = ConfigurationParserUtils.getPageSize(taskManagerConfig);
+
+		BufferStorage[] mainBufferStorages = new BufferStorage[inputGates.length];
+		int numberOfInputChannels = 0;
+		for (int i = 0; i < inputGates.length; i++) {
+			mainBufferStorages[i] = createBufferStorage(
+				checkpointMode, ioManager, pageSize, taskManagerConfig, taskName);
+			numberOfInputChannels += inputGates[i].getNumberOfInputChannels();
+		}
+
+		CheckpointBarrierHandler barrierHandler = createCheckpointBarrierHandler(
+			checkpointMode,
+			numberOfInputChannels,
+			taskName,
+			toNotifyOnCheckpoint);
+
+		CheckpointedInputGate[] checkpointedInputGates = new CheckpointedInputGate[inputGates.length];
+		int channelIndexOffset = 0;
+		for (int i = 0; i < inputGates.length; i++) {
+			List<BufferStorage> linkedBufferStorages = new ArrayList<>(Arrays.asList(mainBufferStorages));
+			linkedBufferStorages.remove(i);
+			BufferStorage linkedBufferStorage = new LinkedBufferStorage(
+				mainBufferStorages[i],
+				linkedBufferStorages,
+				mainBufferStorages[i].getMaxBufferedBytes());
+
+			checkpointedInputGates[i] = new CheckpointedInputGate(
+				inputGates[i], linkedBufferStorage, barrierHandler, channelIndexOffset);
+			channelIndexOffset += inputGates[i].getNumberOfInputChannels();
+		}
+		return checkpointedInputGates;
+	}
+
 	private static CheckpointBarrierHandler createCheckpointBarrierHandler(
 			CheckpointingMode checkpointMode,
 			int numberOfInputChannels,
@@ -21,12 +21,14 @@ package org.apache.flink.streaming.runtime.io;
 import org.apache.flink.runtime.io.network.partition.consumer.BufferOrEvent;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 /**
- * Implementation of {@link BufferStorage} that links two {@link BufferStorage} together.
+ * Implementation of {@link BufferStorage} that links multiple {@link BufferStorage} together.
  * Each of the linked {@link BufferStorage} will store buffers independently, but they will be
- * linked together for {@link #rollOver()} - if one is rolled over, other will do that as well.
+ * linked together for {@link #rollOver()} - if one is rolled over, others will do that as well.
  *
  * <p>Note that only {@code mainStorage} is closed when {@link LinkedBufferStorage} instance is closed.
  */
@@ -34,13 +36,17 @@ public class LinkedBufferStorage implements BufferStorage {
 
 	private final BufferStorage mainStorage;
 
-	private final BufferStorage linkedStorage;
+	private final BufferStorage[] linkedStorages;
 
 	private long maxBufferedBytes;
 
 	public LinkedBufferStorage(BufferStorage mainStorage, BufferStorage linkedStorage, long maxBufferedBytes) {
+		this(mainStorage, Collections.singletonList(linkedStorage), maxBufferedBytes);
+	}
+
+	public LinkedBufferStorage(BufferStorage mainStorage, Collection<BufferStorage> linkedStorages, long maxBufferedBytes) {
 		this.mainStorage = mainStorage;
-		this.linkedStorage = linkedStorage;
+		this.linkedStorages = linkedStorages.toArray(new BufferStorage[0]);
 		this.maxBufferedBytes = maxBufferedBytes;
 	}
 
@@ -57,17 +63,27 @@ public class LinkedBufferStorage implements BufferStorage {
 	@Override
 	public void rollOver() throws IOException {
 		mainStorage.rollOver();
-		linkedStorage.rollOver();
+		for (BufferStorage linkedStorage : linkedStorages) {
+			linkedStorage.rollOver();
+		}
 	}
 
 	@Override
 	public long getPendingBytes() {
-		return mainStorage.getPendingBytes() + linkedStorage.getPendingBytes();
+		long pendingBytes = mainStorage.getPendingBytes();
+		for (BufferStorage linkedStorage : linkedStorages) {
+			pendingBytes += linkedStorage.getPendingBytes();
+		}
+		return pendingBytes;
 	}
 
 	@Override
 	public long getRolledBytes() {
-		return mainStorage.getRolledBytes() + linkedStorage.getRolledBytes();
+		long rolledBytes = mainStorage.getRolledBytes();
+		for (BufferStorage linkedStorage : linkedStorages) {
+			rolledBytes += linkedStorage.getRolledBytes();
+		}
+		return rolledBytes;
 	}
 
 	@Override
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.io;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.streaming.api.operators.InputSelectable;
+import org.apache.flink.streaming.api.operators.InputSelection;
+
+import javax.annotation.Nullable;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * This handler is mainly used for selecting the next available input index
+ * in {@link StreamMultipleInputProcessor}.
+ */
+@Internal
+public class MultipleInputSelectionHandler {
+
+	public static final int MAX_SUPPORTED_INPUT_COUNT = Long.SIZE;
+
+	@Nullable
+	private final InputSelectable inputSelector;
+
+	private final long allInputsMask;
+
+	private InputSelection inputSelection = InputSelection.ALL;
+
+	private long availableInputsMask;
+
+	private long endOfInputMask;
+
+	public MultipleInputSelectionHandler(@Nullable InputSelectable inputSelectable, int inputCount) {
+		checkArgument(inputCount > 0 && inputCount <= MAX_SUPPORTED_INPUT_COUNT,
+			"Only up to %s inputs are supported at once, while encountered %s.",
+			MAX_SUPPORTED_INPUT_COUNT,
+			inputCount);
+		this.inputSelector = inputSelectable;
+		this.allInputsMask = inputCount == MAX_SUPPORTED_INPUT_COUNT ? -1L : (1L << inputCount) - 1;
+		this.availableInputsMask = allInputsMask;
+	}
+
+	void nextSelection() {
+		if (inputSelector == null) {
+			inputSelection = InputSelection.ALL;
+		} else {
+			inputSelection = inputSelector.nextSelection();
+		}
+	}
+
+	int selectNextInputIndex(int lastReadInputIndex) {
+		return inputSelection.fairSelectNextIndex(availableInputsMask & ~endOfInputMask, lastReadInputIndex);
+	}
+
+	/**
+	 * Whether the availability of the other inputs should be checked before reading, to avoid
+	 * starving them while the last read input keeps being available.
+	 */
+	boolean shouldSetAvailableForAnotherInput() {
+		return (inputSelection.getInputMask() & allInputsMask & ~endOfInputMask & ~availableInputsMask) != 0;
+	}
+
+	void setAvailableInput(int inputIndex) {
+		availableInputsMask |= 1L << inputIndex;
+	}
+
+	void setUnavailableInput(int inputIndex) {
+		availableInputsMask &= ~(1L << inputIndex);
+	}
+
+	void setEndOfInput(int inputIndex) {
+		endOfInputMask |= 1L << inputIndex;
+	}
+
+	boolean isInputSelected(int inputIndex) {
+		return inputSelection.isInputSelected(inputIndex + 1);
+	}
+
+	boolean areAllInputsFinished() {
+		return endOfInputMask == allInputsMask;
+	}
+
+	/**
+	 * Whether every selected input has already ended, so that no progress can be made.
+	 */
+	boolean areAllSelectedInputsFinished() {
+		long selectedInputsMask = inputSelection.getInputMask() & allInputsMask;
+		return (selectedInputsMask & ~endOfInputMask) == 0;
+	}
+}
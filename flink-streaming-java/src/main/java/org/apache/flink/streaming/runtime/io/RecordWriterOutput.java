@@ -59,6 +59,7 @@ public class RecordWriterOutput<OUT> implements OperatorChain.WatermarkGaugeExpo
 	public RecordWriterOutput(
 			RecordWriter<SerializationDelegate<StreamRecord<OUT>>> recordWriter,
 			TypeSerializer<OUT> outSerializer,
+			boolean compactEncoding,
 			OutputTag outputTag,
 			StreamStatusProvider streamStatusProvider) {
 
@@ -70,7 +71,7 @@ public class RecordWriterOutput<OUT> implements OperatorChain.WatermarkGaugeExpo
 				(RecordWriter<?>) recordWriter;
 
 		TypeSerializer<StreamElement> outRecordSerializer =
-				new StreamElementSerializer<>(outSerializer);
+				new StreamElementSerializer<>(outSerializer, compactEncoding);
 
 		if (outSerializer != null) {
 			serializationDelegate = new SerializationDelegate<StreamElement>(outRecordSerializer);
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.io;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeComparator;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.LongComparator;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.array.BytePrimitiveArrayComparator;
+import org.apache.flink.api.common.typeutils.base.array.BytePrimitiveArraySerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.api.java.typeutils.runtime.RuntimeSerializerFactory;
+import org.apache.flink.api.java.typeutils.runtime.TupleComparator;
+import org.apache.flink.api.java.typeutils.runtime.TupleSerializer;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
+import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.operators.sort.Sorter;
+import org.apache.flink.runtime.operators.sort.UnilateralSortMerger;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
+import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.util.MutableObjectIterator;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link StreamTaskInput} that sorts the records of a bounded keyed input by their serialized
+ * keys and then by their timestamps, with the {@link UnilateralSortMerger}. The records are
+ * emitted once the whole input was read, so that all records of a key are processed one after
+ * another.
+ *
+ * <p>The watermarks, stream statuses and latency markers of the input are dropped, the
+ * {@link Watermark#MAX_WATERMARK final watermark} is emitted after the last record.
+ *
+ * <p>The sorter reads the wrapped input in its own thread, while the task thread waits in
+ * {@link #emitNext(DataOutput)} for the sorted records. The wrapped input is therefore only
+ * accessed by one thread at a time.
+ *
+ * @param <T> The type of the records.
+ * @param <K> The type of the keys.
+ */
+@Internal
+public final class SortingDataInput<T, K> implements StreamTaskInput<T> {
+
+	private final StreamTaskInput<T> wrappedInput;
+
+	private final KeySelector<T, K> keySelector;
+
+	private final TypeSerializer<K> keySerializer;
+
+	private final Class<Tuple3<byte[], Long, StreamElement>> tupleClass;
+
+	private final TypeSerializer<Tuple3<byte[], Long, StreamElement>> serializer;
+
+	private final TypeComparator<Tuple3<byte[], Long, StreamElement>> comparator;
+
+	private final MemoryManager memoryManager;
+
+	private final IOManager ioManager;
+
+	private final AbstractInvokable containingTask;
+
+	private final double memoryFraction;
+
+	private final int maxNumFileHandles;
+
+	private final float startSpillingFraction;
+
+	private final boolean objectReuseEnabled;
+
+	private Sorter<Tuple3<byte[], Long, StreamElement>> sorter;
+
+	private MutableObjectIterator<Tuple3<byte[], Long, StreamElement>> sortedInput;
+
+	private boolean emittedMaxWatermark;
+
+	private boolean isFinished;
+
+	@SuppressWarnings("unchecked")
+	public SortingDataInput(
+			StreamTaskInput<T> wrappedInput,
+			TypeSerializer<T> typeSerializer,
+			TypeSerializer<K> keySerializer,
+			KeySelector<T, K> keySelector,
+			MemoryManager memoryManager,
+			IOManager ioManager,
+			AbstractInvokable containingTask,
+			double memoryFraction,
+			int maxNumFileHandles,
+			float startSpillingFraction,
+			boolean objectReuseEnabled) {
+
+		this.wrappedInput = checkNotNull(wrappedInput);
+		this.keySelector = checkNotNull(keySelector);
+		this.keySerializer = checkNotNull(keySerializer);
+		this.memoryManager = checkNotNull(memoryManager);
+		this.ioManager = checkNotNull(ioManager);
+		this.containingTask = checkNotNull(containingTask);
+		this.memoryFraction = memoryFraction;
+		this.maxNumFileHandles = maxNumFileHandles;
+		this.startSpillingFraction = startSpillingFraction;
+		this.objectReuseEnabled = objectReuseEnabled;
+
+		final TypeSerializer<?>[] fieldSerializers = new TypeSerializer<?>[] {
+			BytePrimitiveArraySerializer.INSTANCE,
+			LongSerializer.INSTANCE,
+			new StreamElementSerializer<>(typeSerializer)
+		};
+		this.tupleClass = (Class<Tuple3<byte[], Long, StreamElement>>) (Class<?>) Tuple3.class;
+		this.serializer = new TupleSerializer<>(tupleClass, fieldSerializers);
+		this.comparator = new TupleComparator<>(
+			new int[] {0, 1},
+			new TypeComparator<?>[] {new BytePrimitiveArrayComparator(true), new LongComparator(true)},
+			fieldSerializers);
+	}
+
+	@Override
+	public InputStatus emitNext(DataOutput<T> output) throws Exception {
+		if (sortedInput == null) {
+			sorter = createSorter();
+			// blocks until the whole input is read and sorted
+			sortedInput = sorter.getIterator();
+		}
+
+		final Tuple3<byte[], Long, StreamElement> next = sortedInput.next();
+		if (next != null) {
+			output.emitRecord(next.f2.asRecord());
+			return InputStatus.MORE_AVAILABLE;
+		}
+
+		if (!emittedMaxWatermark) {
+			emittedMaxWatermark = true;
+			output.emitWatermark(Watermark.MAX_WATERMARK);
+		}
+		isFinished = true;
+		return InputStatus.END_OF_INPUT;
+	}
+
+	private Sorter<Tuple3<byte[], Long, StreamElement>> createSorter() throws Exception {
+		return new UnilateralSortMerger<>(
+			memoryManager,
+			ioManager,
+			new KeyedRecordIterator(),
+			containingTask,
+			new RuntimeSerializerFactory<>(serializer, tupleClass),
+			comparator,
+			memoryFraction,
+			maxNumFileHandles,
+			startSpillingFraction,
+			false,
+			objectReuseEnabled);
+	}
+
+	@Override
+	public int getInputIndex() {
+		return wrappedInput.getInputIndex();
+	}
+
+	@Override
+	public boolean isFinished() {
+		return isFinished;
+	}
+
+	@Override
+	public CompletableFuture<?> isAvailable() {
+		return AVAILABLE;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (sorter != null) {
+				// stops the threads of the sorter, before the input is released
+				sorter.close();
+			}
+		} finally {
+			wrappedInput.close();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The iterator with which the sorter reads the records of the wrapped input, together with
+	 * their serialized keys and timestamps.
+	 */
+	private final class KeyedRecordIterator
+			implements MutableObjectIterator<Tuple3<byte[], Long, StreamElement>>, DataOutput<T> {
+
+		private final DataOutputSerializer keyBuffer = new DataOutputSerializer(64);
+
+		private Tuple3<byte[], Long, StreamElement> nextRecord;
+
+		@Override
+		public Tuple3<byte[], Long, StreamElement> next(Tuple3<byte[], Long, StreamElement> reuse) throws IOException {
+			return next();
+		}
+
+		@Override
+		public Tuple3<byte[], Long, StreamElement> next() throws IOException {
+			try {
+				while (nextRecord == null) {
+					final InputStatus status = wrappedInput.emitNext(this);
+					if (status == InputStatus.END_OF_INPUT) {
+						break;
+					} else if (status == InputStatus.NOTHING_AVAILABLE && nextRecord == null) {
+						wrappedInput.isAvailable().get();
+					}
+				}
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IOException("Could not read the input to sort.", e);
+			}
+
+			final Tuple3<byte[], Long, StreamElement> record = nextRecord;
+			nextRecord = null;
+			return record;
+		}
+
+		@Override
+		public void emitRecord(StreamRecord<T> streamRecord) throws Exception {
+			keyBuffer.clear();
+			keySerializer.serialize(keySelector.getKey(streamRecord.getValue()), keyBuffer);
+			final long timestamp = streamRecord.hasTimestamp() ? streamRecord.getTimestamp() : Long.MIN_VALUE;
+			nextRecord = Tuple3.of(keyBuffer.getCopyOfBuffer(), timestamp, streamRecord);
+		}
+
+		@Override
+		public void emitWatermark(Watermark watermark) {
+		}
+
+		@Override
+		public void emitStreamStatus(StreamStatus streamStatus) {
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) {
+		}
+	}
+}
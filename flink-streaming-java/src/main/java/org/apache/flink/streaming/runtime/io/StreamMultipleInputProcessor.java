@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.io;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
+import org.apache.flink.streaming.api.operators.Input;
+import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.streaming.runtime.metrics.IdleInputChannelsGauge;
+import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
+import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StatusWatermarkValve;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatusMaintainer;
+import org.apache.flink.streaming.runtime.tasks.MultipleInputStreamTask;
+import org.apache.flink.streaming.runtime.tasks.OperatorChain;
+import org.apache.flink.util.ExceptionUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Input reader for {@link MultipleInputStreamTask}.
+ *
+ * <p>Every input has its own {@link StatusWatermarkValve}, so the watermarks and stream statuses
+ * of the channels of one input are aligned before they are handed to the corresponding
+ * {@link Input} of the operator, which combines the watermarks of all inputs.
+ */
+@Internal
+public final class StreamMultipleInputProcessor implements StreamInputProcessor {
+
+	private final MultipleInputSelectionHandler inputSelectionHandler;
+
+	private final Object lock;
+
+	private final StreamTaskInput[] inputs;
+
+	private final StreamTaskNetworkOutput[] outputs;
+
+	private final OperatorChain<?, ?> operatorChain;
+
+	/**
+	 * Stream status for the inputs. We need to keep track for determining when
+	 * to forward stream status changes downstream.
+	 */
+	private final StreamStatus[] streamStatuses;
+
+	/** Always try to read from the first input. */
+	private int lastReadInputIndex = -1;
+
+	private boolean isPrepared;
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public StreamMultipleInputProcessor(
+			CheckpointedInputGate[] checkpointedInputGates,
+			TypeSerializer<?>[] inputSerializers,
+			boolean compactEncoding,
+			Object lock,
+			IOManager ioManager,
+			StreamStatusMaintainer streamStatusMaintainer,
+			MultipleInputStreamOperator<?> streamOperator,
+			MultipleInputSelectionHandler inputSelectionHandler,
+			WatermarkGauge[] inputWatermarkGauges,
+			IdleInputChannelsGauge idleInputChannelsGauge,
+			OperatorChain<?, ?> operatorChain,
+			Counter numRecordsIn) {
+
+		this.lock = checkNotNull(lock);
+		this.inputSelectionHandler = checkNotNull(inputSelectionHandler);
+		this.operatorChain = checkNotNull(operatorChain);
+
+		List<Input> operatorInputs = streamOperator.getInputs();
+		int inputCount = checkpointedInputGates.length;
+		checkArgument(
+			operatorInputs.size() == inputCount && inputSerializers.length == inputCount,
+			"The operator has %s inputs, but the task has %s input gates.",
+			operatorInputs.size(),
+			inputCount);
+
+		this.inputs = new StreamTaskInput[inputCount];
+		this.outputs = new StreamTaskNetworkOutput[inputCount];
+		this.streamStatuses = new StreamStatus[inputCount];
+
+		for (int i = 0; i < inputCount; i++) {
+			streamStatuses[i] = StreamStatus.ACTIVE;
+			outputs[i] = new StreamTaskNetworkOutput<>(
+				operatorInputs.get(i),
+				streamStatusMaintainer,
+				inputWatermarkGauges[i],
+				numRecordsIn,
+				i);
+			inputs[i] = new StreamTaskNetworkInput<>(
+				checkpointedInputGates[i],
+				inputSerializers[i],
+				compactEncoding,
+				ioManager,
+				new StatusWatermarkValve(checkpointedInputGates[i].getNumberOfInputChannels(), outputs[i], idleInputChannelsGauge),
+				i);
+		}
+	}
+
+	@Override
+	public boolean isFinished() {
+		return inputSelectionHandler.areAllInputsFinished();
+	}
+
+	@Override
+	public CompletableFuture<?> isAvailable() {
+		List<CompletableFuture<?>> selectedFutures = new ArrayList<>(inputs.length);
+		for (int i = 0; i < inputs.length; i++) {
+			if (inputs[i].isFinished() || !inputSelectionHandler.isInputSelected(i)) {
+				continue;
+			}
+			CompletableFuture<?> inputAvailable = inputs[i].isAvailable();
+			if (inputAvailable == AVAILABLE) {
+				return AVAILABLE;
+			}
+			selectedFutures.add(inputAvailable);
+		}
+
+		return selectedFutures.isEmpty() ?
+			AVAILABLE : CompletableFuture.anyOf(selectedFutures.toArray(new CompletableFuture[0]));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean processInput() throws Exception {
+		if (!isPrepared) {
+			// the preparations here are not placed in the constructor because all work in it
+			// must be executed after all operators are opened.
+			prepareForProcessing();
+		}
+
+		int readingInputIndex = selectNextReadingInputIndex();
+		if (readingInputIndex == -1) {
+			return false;
+		}
+		lastReadInputIndex = readingInputIndex;
+
+		InputStatus status = inputs[readingInputIndex].emitNext(outputs[readingInputIndex]);
+		checkFinished(status, readingInputIndex);
+
+		if (status != InputStatus.MORE_AVAILABLE) {
+			inputSelectionHandler.setUnavailableInput(readingInputIndex);
+		}
+
+		return status == InputStatus.MORE_AVAILABLE;
+	}
+
+	private void checkFinished(InputStatus status, int inputIndex) throws Exception {
+		if (status == InputStatus.END_OF_INPUT) {
+			synchronized (lock) {
+				inputSelectionHandler.setEndOfInput(inputIndex);
+				operatorChain.endInput(inputIndex + 1);
+				inputSelectionHandler.nextSelection();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException ex = null;
+		for (StreamTaskInput input : inputs) {
+			try {
+				input.close();
+			} catch (IOException e) {
+				ex = ExceptionUtils.firstOrSuppressed(e, ex);
+			}
+		}
+
+		if (ex != null) {
+			throw ex;
+		}
+	}
+
+	private int selectNextReadingInputIndex() throws IOException {
+		updateAvailability();
+		checkInputSelectionAgainstIsFinished();
+
+		int readingInputIndex = inputSelectionHandler.selectNextInputIndex(lastReadInputIndex);
+		if (readingInputIndex == -1) {
+			return -1;
+		}
+
+		// to avoid starvation, if the selected inputs are not all available,
+		// always try to check and set the availability of the other inputs
+		if (inputSelectionHandler.shouldSetAvailableForAnotherInput()) {
+			for (int i = 0; i < inputs.length; i++) {
+				if (i != readingInputIndex) {
+					checkAndSetAvailable(i);
+				}
+			}
+		}
+
+		return readingInputIndex;
+	}
+
+	private void checkInputSelectionAgainstIsFinished() throws IOException {
+		if (!isFinished() && inputSelectionHandler.areAllSelectedInputsFinished()) {
+			throw new IOException("Can not make a progress: all selected inputs are already finished");
+		}
+	}
+
+	private void updateAvailability() {
+		for (int i = 0; i < inputs.length; i++) {
+			if (!inputs[i].isFinished() && inputs[i].isAvailable() == AVAILABLE) {
+				inputSelectionHandler.setAvailableInput(i);
+			}
+		}
+	}
+
+	private void prepareForProcessing() {
+		// Note: the first call to nextSelection () on the operator must be made after this operator
+		// is opened to ensure that any changes about the input selection in its open()
+		// method take effect.
+		inputSelectionHandler.nextSelection();
+
+		isPrepared = true;
+	}
+
+	private void checkAndSetAvailable(int inputIndex) {
+		StreamTaskInput input = inputs[inputIndex];
+		if (!input.isFinished() && input.isAvailable().isDone()) {
+			inputSelectionHandler.setAvailableInput(inputIndex);
+		}
+	}
+
+	/**
+	 * The network data output implementation used for processing stream elements
+	 * from {@link StreamTaskNetworkInput} in multiple input selective processor.
+	 */
+	private class StreamTaskNetworkOutput<T> implements DataOutput<T> {
+
+		private final Input<T> input;
+
+		/** The maintainer toggles the current stream status as well as retrieves it. */
+		private final StreamStatusMaintainer streamStatusMaintainer;
+
+		private final WatermarkGauge inputWatermarkGauge;
+
+		private final Counter numRecordsIn;
+
+		/** The input index to indicate which input of the operator the elements belong to. */
+		private final int inputIndex;
+
+		private StreamTaskNetworkOutput(
+				Input<T> input,
+				StreamStatusMaintainer streamStatusMaintainer,
+				WatermarkGauge inputWatermarkGauge,
+				Counter numRecordsIn,
+				int inputIndex) {
+
+			this.input = checkNotNull(input);
+			this.streamStatusMaintainer = checkNotNull(streamStatusMaintainer);
+			this.inputWatermarkGauge = checkNotNull(inputWatermarkGauge);
+			this.numRecordsIn = checkNotNull(numRecordsIn);
+			this.inputIndex = inputIndex;
+		}
+
+		@Override
+		public void emitRecord(StreamRecord<T> record) throws Exception {
+			synchronized (lock) {
+				input.setKeyContextElement(record);
+				input.processElement(record);
+				numRecordsIn.inc();
+				inputSelectionHandler.nextSelection();
+			}
+		}
+
+		@Override
+		public void emitWatermark(Watermark watermark) throws Exception {
+			synchronized (lock) {
+				inputWatermarkGauge.setCurrentWatermark(watermark.getTimestamp());
+				input.processWatermark(watermark);
+			}
+		}
+
+		@Override
+		public void emitStreamStatus(StreamStatus streamStatus) {
+			synchronized (lock) {
+				streamStatuses[inputIndex] = streamStatus;
+
+				// check if we need to toggle the task's stream status
+				if (!streamStatus.equals(streamStatusMaintainer.getStreamStatus())) {
+					if (streamStatus.isActive()) {
+						// we're no longer idle if at least one input has become active
+						streamStatusMaintainer.toggleStreamStatus(StreamStatus.ACTIVE);
+					} else if (allStreamStatusesAreIdle()) {
+						// we're idle once all inputs are idle
+						streamStatusMaintainer.toggleStreamStatus(StreamStatus.IDLE);
+					}
+				}
+			}
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) throws Exception {
+			synchronized (lock) {
+				input.processLatencyMarker(latencyMarker);
+			}
+		}
+
+		private boolean allStreamStatusesAreIdle() {
+			for (StreamStatus status : streamStatuses) {
+				if (status.isActive()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
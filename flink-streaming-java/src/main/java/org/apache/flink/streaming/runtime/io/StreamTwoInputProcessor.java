@@ -20,11 +20,13 @@ package org.apache.flink.streaming.runtime.io;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.io.InputStatus;
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.streaming.runtime.metrics.IdleInputChannelsGauge;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -78,6 +80,7 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 			CheckpointedInputGate[] checkpointedInputGates,
 			TypeSerializer<IN1> inputSerializer1,
 			TypeSerializer<IN2> inputSerializer2,
+			boolean compactEncoding,
 			Object lock,
 			IOManager ioManager,
 			StreamStatusMaintainer streamStatusMaintainer,
@@ -85,6 +88,7 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 			TwoInputSelectionHandler inputSelectionHandler,
 			WatermarkGauge input1WatermarkGauge,
 			WatermarkGauge input2WatermarkGauge,
+			IdleInputChannelsGauge idleInputChannelsGauge,
 			OperatorChain<?, ?> operatorChain,
 			Counter numRecordsIn) {
 
@@ -109,14 +113,16 @@ public final class StreamTwoInputProcessor<IN1, IN2> implements StreamInputProce
 		this.input1 = new StreamTaskNetworkInput<>(
 			checkpointedInputGates[0],
 			inputSerializer1,
+			compactEncoding,
 			ioManager,
-			new StatusWatermarkValve(checkpointedInputGates[0].getNumberOfInputChannels(), output1),
+			new StatusWatermarkValve(checkpointedInputGates[0].getNumberOfInputChannels(), output1, idleInputChannelsGauge),
 			0);
 		this.input2 = new StreamTaskNetworkInput<>(
 			checkpointedInputGates[1],
 			inputSerializer2,
+			compactEncoding,
 			ioManager,
-			new StatusWatermarkValve(checkpointedInputGates[1].getNumberOfInputChannels(), output2),
+			new StatusWatermarkValve(checkpointedInputGates[1].getNumberOfInputChannels(), output2, idleInputChannelsGauge),
 			1);
 
 		this.operatorChain = checkNotNull(operatorChain);
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.metrics;
+
+import org.apache.flink.metrics.Gauge;
+
+/**
+ * A {@link Gauge} for exposing the number of input channels of a task which are idle, i.e. whose
+ * upstream tasks marked their output as idle.
+ */
+public class IdleInputChannelsGauge implements Gauge<Integer> {
+
+	private volatile int idleInputChannels;
+
+	public void incIdleInputChannels() {
+		idleInputChannels++;
+	}
+
+	public void decIdleInputChannels() {
+		idleInputChannels--;
+	}
+
+	@Override
+	public Integer getValue() {
+		return idleInputChannels;
+	}
+}
@@ -20,21 +20,26 @@ package org.apache.flink.streaming.runtime.metrics;
 
 import org.apache.flink.metrics.Gauge;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
+
 /**
- * A {@link Gauge} for exposing the minimum watermark of a {@link WatermarkGauge} pair.
+ * A {@link Gauge} for exposing the minimum watermark of multiple {@link WatermarkGauge WatermarkGauges}.
  */
 public class MinWatermarkGauge implements Gauge<Long> {
 
-	private WatermarkGauge watermarkGauge1;
-	private WatermarkGauge watermarkGauge2;
+	private final WatermarkGauge[] watermarkGauges;
 
-	public MinWatermarkGauge(WatermarkGauge watermarkGauge1, WatermarkGauge watermarkGauge2) {
-		this.watermarkGauge1 = watermarkGauge1;
-		this.watermarkGauge2 = watermarkGauge2;
+	public MinWatermarkGauge(WatermarkGauge... watermarkGauges) {
+		checkArgument(watermarkGauges.length > 0);
+		this.watermarkGauges = watermarkGauges;
 	}
 
 	@Override
 	public Long getValue() {
-		return Math.min(watermarkGauge1.getValue(), watermarkGauge2.getValue());
+		long minWatermark = Long.MAX_VALUE;
+		for (WatermarkGauge watermarkGauge : watermarkGauges) {
+			minWatermark = Math.min(minWatermark, watermarkGauge.getValue());
+		}
+		return minWatermark;
 	}
 }
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.metrics;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MetricOptions;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+import org.apache.flink.runtime.metrics.MetricNames;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link TypeSerializer} that measures every n-th serialization and deserialization of the
+ * wrapped serializer, and exposes the nanoseconds and bytes it took as histograms in the
+ * {@link MetricNames#SERIALIZATION_GROUP} group of an operator, with one subgroup per type of record.
+ * The number of bytes is only measured for views that expose their position, which are the ones
+ * that records are serialized into for the network.
+ *
+ * <p>The histograms of a type are registered when a record of the type is first sampled. The
+ * serializers are created by a {@link Factory} per task, which lets all input and output serializers
+ * of an operator share its histograms, because a metric group accepts every name only once. This
+ * serializer is only meant to wrap the serializers of records that are sent between tasks, and must
+ * not be used for state, because it is not restored from its snapshot. It is created in the tasks
+ * and is not meant to be serialized.
+ */
+@Internal
+public final class ProfilingSerializer<T> extends TypeSerializer<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final TypeSerializer<T> serializer;
+
+	private final int sampleInterval;
+
+	/** The histograms of the sampled types, which are shared with the duplicates of this serializer. */
+	private final Histograms histograms;
+
+	/** The number of records left until the next one is sampled. */
+	private transient int recordsUntilSample;
+
+	@VisibleForTesting
+	ProfilingSerializer(TypeSerializer<T> serializer, int sampleInterval, Histograms histograms) {
+		checkArgument(sampleInterval > 0, "The sample interval must be positive.");
+		this.serializer = checkNotNull(serializer);
+		this.sampleInterval = sampleInterval;
+		this.histograms = checkNotNull(histograms);
+		this.recordsUntilSample = sampleInterval;
+	}
+
+	public TypeSerializer<T> getWrappedSerializer() {
+		return serializer;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Profiled methods
+	// ------------------------------------------------------------------------
+
+	@Override
+	public void serialize(T record, DataOutputView target) throws IOException {
+		if (--recordsUntilSample > 0 || record == null) {
+			serializer.serialize(record, target);
+			return;
+		}
+		recordsUntilSample = sampleInterval;
+
+		int startPosition = target instanceof DataOutputSerializer ? ((DataOutputSerializer) target).length() : -1;
+		long startTime = System.nanoTime();
+
+		serializer.serialize(record, target);
+
+		long time = System.nanoTime() - startTime;
+		histograms.get(record.getClass(), MetricNames.SERIALIZATION_TIME).update(time);
+		if (startPosition >= 0) {
+			int bytes = ((DataOutputSerializer) target).length() - startPosition;
+			histograms.get(record.getClass(), MetricNames.SERIALIZATION_BYTES).update(bytes);
+		}
+	}
+
+	@Override
+	public T deserialize(DataInputView source) throws IOException {
+		if (--recordsUntilSample > 0) {
+			return serializer.deserialize(source);
+		}
+		recordsUntilSample = sampleInterval;
+
+		int startPosition = source instanceof DataInputDeserializer ? ((DataInputDeserializer) source).getPosition() : -1;
+		long startTime = System.nanoTime();
+
+		T record = serializer.deserialize(source);
+
+		recordDeserialization(record, source, startPosition, startTime);
+		return record;
+	}
+
+	@Override
+	public T deserialize(T reuse, DataInputView source) throws IOException {
+		if (--recordsUntilSample > 0) {
+			return serializer.deserialize(reuse, source);
+		}
+		recordsUntilSample = sampleInterval;
+
+		int startPosition = source instanceof DataInputDeserializer ? ((DataInputDeserializer) source).getPosition() : -1;
+		long startTime = System.nanoTime();
+
+		T record = serializer.deserialize(reuse, source);
+
+		recordDeserialization(record, source, startPosition, startTime);
+		return record;
+	}
+
+	private void recordDeserialization(T record, DataInputView source, int startPosition, long startTime) {
+		long time = System.nanoTime() - startTime;
+		if (record == null) {
+			return;
+		}
+
+		histograms.get(record.getClass(), MetricNames.DESERIALIZATION_TIME).update(time);
+		if (startPosition >= 0) {
+			int bytes = ((DataInputDeserializer) source).getPosition() - startPosition;
+			histograms.get(record.getClass(), MetricNames.DESERIALIZATION_BYTES).update(bytes);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	//  Delegated methods
+	// ------------------------------------------------------------------------
+
+	@Override
+	public boolean isImmutableType() {
+		return serializer.isImmutableType();
+	}
+
+	@Override
+	public TypeSerializer<T> duplicate() {
+		TypeSerializer<T> duplicateSerializer = serializer.duplicate();
+		return duplicateSerializer == serializer
+			? this
+			: new ProfilingSerializer<>(duplicateSerializer, sampleInterval, histograms);
+	}
+
+	@Override
+	public T createInstance() {
+		return serializer.createInstance();
+	}
+
+	@Override
+	public T copy(T from) {
+		return serializer.copy(from);
+	}
+
+	@Override
+	public T copy(T from, T reuse) {
+		return serializer.copy(from, reuse);
+	}
+
+	@Override
+	public int getLength() {
+		return serializer.getLength();
+	}
+
+	@Override
+	public void copy(DataInputView source, DataOutputView target) throws IOException {
+		serializer.copy(source, target);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this ||
+			(obj != null && obj.getClass() == getClass() &&
+				serializer.equals(((ProfilingSerializer<?>) obj).serializer));
+	}
+
+	@Override
+	public int hashCode() {
+		return serializer.hashCode();
+	}
+
+	@Override
+	public TypeSerializerSnapshot<T> snapshotConfiguration() {
+		return serializer.snapshotConfiguration();
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Creates the profiling serializers of a task, with one {@link Histograms} per operator, which
+	 * is shared by all serializers of the operator.
+	 */
+	public static final class Factory {
+
+		private final int sampleInterval;
+
+		private final int historySize;
+
+		private final Map<MetricGroup, Histograms> histogramsByOperator = new HashMap<>();
+
+		public Factory(Configuration taskManagerConfig) {
+			this.sampleInterval = taskManagerConfig.getInteger(MetricOptions.SERIALIZATION_SAMPLE_INTERVAL);
+
+			int historySize = taskManagerConfig.getInteger(MetricOptions.SERIALIZATION_HISTORY_SIZE);
+			this.historySize = historySize > 0 ? historySize : MetricOptions.SERIALIZATION_HISTORY_SIZE.defaultValue();
+		}
+
+		/**
+		 * Wraps the given serializer, so that its serializations are sampled into the metric group
+		 * of the given operator, if {@link MetricOptions#SERIALIZATION_SAMPLE_INTERVAL} is enabled
+		 * in the configuration of this factory. Otherwise, the serializer is returned as it is.
+		 */
+		public <T> TypeSerializer<T> wrapIfEnabled(TypeSerializer<T> serializer, MetricGroup operatorMetricGroup) {
+			if (sampleInterval <= 0) {
+				return serializer;
+			}
+
+			final Histograms histograms;
+			synchronized (histogramsByOperator) {
+				histograms = histogramsByOperator.computeIfAbsent(operatorMetricGroup, group ->
+					new Histograms(group.addGroup(MetricNames.SERIALIZATION_GROUP), historySize));
+			}
+			return new ProfilingSerializer<>(serializer, sampleInterval, histograms);
+		}
+	}
+
+	/**
+	 * The histograms of the sampled types of an operator, by type and metric name.
+	 */
+	@VisibleForTesting
+	static final class Histograms {
+
+		private final MetricGroup metricGroup;
+
+		private final int historySize;
+
+		private final Map<Class<?>, Map<String, Histogram>> histogramsByType = new ConcurrentHashMap<>();
+
+		Histograms(MetricGroup metricGroup, int historySize) {
+			this.metricGroup = checkNotNull(metricGroup);
+			this.historySize = historySize;
+		}
+
+		Histogram get(Class<?> type, String name) {
+			Map<String, Histogram> histograms = histogramsByType.computeIfAbsent(type, ignored -> new ConcurrentHashMap<>());
+			return histograms.computeIfAbsent(name, ignored ->
+				metricGroup.addGroup(type.getName()).histogram(name, new DescriptiveStatisticsHistogram(historySize)));
+		}
+	}
+}
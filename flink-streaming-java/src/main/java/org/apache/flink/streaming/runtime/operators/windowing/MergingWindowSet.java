@@ -21,6 +21,7 @@ package org.apache.flink.streaming.runtime.operators.windowing;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.streaming.api.windowing.assigners.MergingWindowAssigner;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
 import org.apache.flink.streaming.api.windowing.windows.Window;
 
 import org.slf4j.Logger;
@@ -187,9 +188,9 @@ public class MergingWindowSet<W extends Window> {
 				resultWindow = mergeResult;
 			}
 
-			// pick any of the merged windows and choose that window's state window
-			// as the state window for the merge result
-			W mergedStateWindow = this.mapping.get(mergedWindows.iterator().next());
+			// keep the state window of the widest merged window as the state window for
+			// the merge result, the state of the other state windows is merged into it
+			W mergedStateWindow = this.mapping.get(widestWindow(mergedWindows));
 
 			// figure out the state windows that we are merging
 			List<W> mergedStateWindows = new ArrayList<>();
@@ -224,6 +225,27 @@ public class MergingWindowSet<W extends Window> {
 		return resultWindow;
 	}
 
+	/**
+	 * Returns the widest of the given windows, or the first one if the windows are no
+	 * {@link TimeWindow TimeWindows}. Merging the state of the other state windows into the state
+	 * window of the returned window is cheapest, as merging copies the elements of list state
+	 * and the widest window, e.g. the longest session, usually holds the most elements.
+	 */
+	private W widestWindow(Collection<W> windows) {
+		W widest = null;
+		long widestSize = -1L;
+		for (W window : windows) {
+			long size = window instanceof TimeWindow
+				? ((TimeWindow) window).getEnd() - ((TimeWindow) window).getStart()
+				: 0L;
+			if (size > widestSize) {
+				widest = window;
+				widestSize = size;
+			}
+		}
+		return widest;
+	}
+
 	/**
 	 * Callback for {@link #addWindow(Window, MergeFunction)}.
 	 * @param <W>
@@ -21,6 +21,8 @@ package org.apache.flink.streaming.runtime.operators.windowing;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.AggregateFunction;
+import org.apache.flink.api.common.functions.ReduceFunction;
 import org.apache.flink.api.common.state.AggregatingState;
 import org.apache.flink.api.common.state.AggregatingStateDescriptor;
 import org.apache.flink.api.common.state.AppendingState;
@@ -48,6 +50,7 @@ import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.state.DefaultKeyedStateStore;
 import org.apache.flink.runtime.state.KeyedStateBackend;
+import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.VoidNamespace;
 import org.apache.flink.runtime.state.VoidNamespaceSerializer;
 import org.apache.flink.runtime.state.internal.InternalAppendingState;
@@ -62,9 +65,12 @@ import org.apache.flink.streaming.api.operators.TimestampedCollector;
 import org.apache.flink.streaming.api.operators.Triggerable;
 import org.apache.flink.streaming.api.windowing.assigners.BaseAlignedWindowAssigner;
 import org.apache.flink.streaming.api.windowing.assigners.MergingWindowAssigner;
+import org.apache.flink.streaming.api.windowing.assigners.SlidingEventTimeWindows;
 import org.apache.flink.streaming.api.windowing.assigners.WindowAssigner;
+import org.apache.flink.streaming.api.windowing.triggers.EventTimeTrigger;
 import org.apache.flink.streaming.api.windowing.triggers.Trigger;
 import org.apache.flink.streaming.api.windowing.triggers.TriggerResult;
+import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
 import org.apache.flink.streaming.api.windowing.windows.Window;
 import org.apache.flink.streaming.runtime.operators.windowing.functions.InternalWindowFunction;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -91,6 +97,10 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * the given {@link InternalWindowFunction} is invoked to produce the results that are emitted for
  * the pane to which the {@code Trigger} belongs.
  *
+ * <p>Overlapping {@link SlidingEventTimeWindows} with the default {@link EventTimeTrigger} whose
+ * contents are reduced or aggregated are evaluated in slices: an element is only added to the
+ * slice that contains its timestamp, and the slices of a window are combined when it fires.
+ *
  * @param <K> The type of key returned by the {@code KeySelector}.
  * @param <IN> The type of the incoming elements.
  * @param <OUT> The type of elements emitted by the {@code InternalWindowFunction}.
@@ -158,6 +168,30 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 	/** The state that holds the merging window metadata (the sets that describe what is merged). */
 	private transient InternalListState<K, VoidNamespace, Tuple2<W, W>> mergingSetsState;
 
+	/**
+	 * The length of the slices in which the window contents are stored, or 0 if the contents are
+	 * stored per window. See {@link #getSliceSize(WindowAssigner, Trigger, StateDescriptor)}.
+	 */
+	private transient long sliceSize;
+
+	/** The offset of the slices, which is the offset of the sliding windows. */
+	private transient long sliceOffset;
+
+	/** For copying the slice accumulators, because combining them may modify the accumulators. */
+	private transient TypeSerializer<Object> sliceAccumulatorSerializer;
+
+	/** The function that combines slices of reduced contents, null if not used. */
+	private transient ReduceFunction<Object> sliceReduceFunction;
+
+	/** The function that combines slices of aggregated contents, null if not used. */
+	private transient AggregateFunction<?, Object, ?> sliceAggregateFunction;
+
+	/**
+	 * Whether the operator was restored from a snapshot, which may contain window contents that
+	 * were stored per window instead of in slices.
+	 */
+	private transient boolean restored;
+
 	/**
 	 * This is given to the {@code InternalWindowFunction} for emitting elements with a given
 	 * timestamp.
@@ -214,6 +248,12 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 		setChainingStrategy(ChainingStrategy.ALWAYS);
 	}
 
+	@Override
+	public void initializeState(StateInitializationContext context) throws Exception {
+		super.initializeState(context);
+		restored = context.isRestored();
+	}
+
 	@Override
 	public void open() throws Exception {
 		super.open();
@@ -240,6 +280,19 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 			windowState = (InternalAppendingState<K, W, IN, ACC, ACC>) getOrCreateKeyedState(windowSerializer, windowStateDescriptor);
 		}
 
+		// slices share the window state with the windows, their namespaces never collide
+		sliceSize = getSliceSize(windowAssigner, trigger, windowStateDescriptor);
+		if (sliceSize > 0) {
+			sliceOffset = ((SlidingEventTimeWindows) windowAssigner).getOffset();
+			sliceAccumulatorSerializer = (TypeSerializer<Object>) windowStateDescriptor.getSerializer().duplicate();
+
+			if (windowStateDescriptor instanceof ReducingStateDescriptor) {
+				sliceReduceFunction = ((ReducingStateDescriptor<Object>) windowStateDescriptor).getReduceFunction();
+			} else {
+				sliceAggregateFunction = ((AggregatingStateDescriptor<?, Object, ?>) windowStateDescriptor).getAggregateFunction();
+			}
+		}
+
 		// create the typed and helper states for merging windows
 		if (windowAssigner instanceof MergingWindowAssigner) {
 
@@ -388,10 +441,16 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 				if (isWindowLate(window)) {
 					continue;
 				}
-				isSkippedElement = false;
 
-				windowState.setCurrentNamespace(window);
-				windowState.add(element.getValue());
+				if (sliceSize == 0) {
+					windowState.setCurrentNamespace(window);
+					windowState.add(element.getValue());
+				} else if (isSkippedElement) {
+					// the element is added once to its slice, which all its windows share
+					windowState.setCurrentNamespace(getSlice(element.getTimestamp()));
+					windowState.add(element.getValue());
+				}
+				isSkippedElement = false;
 
 				triggerContext.key = key;
 				triggerContext.window = window;
@@ -399,7 +458,7 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 				TriggerResult triggerResult = triggerContext.onElement(element);
 
 				if (triggerResult.isFire()) {
-					ACC contents = windowState.get();
+					ACC contents = sliceSize == 0 ? windowState.get() : getSlicedWindowContents(window);
 					if (contents == null) {
 						continue;
 					}
@@ -452,7 +511,7 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 		TriggerResult triggerResult = triggerContext.onEventTime(timer.getTimestamp());
 
 		if (triggerResult.isFire()) {
-			ACC contents = windowState.get();
+			ACC contents = sliceSize == 0 ? windowState.get() : getSlicedWindowContents(triggerContext.window);
 			if (contents != null) {
 				emitWindowContents(triggerContext.window, contents);
 			}
@@ -463,6 +522,9 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 		}
 
 		if (windowAssigner.isEventTime() && isCleanupTime(triggerContext.window, timer.getTimestamp())) {
+			if (sliceSize > 0) {
+				clearExpiredSlices(triggerContext.window);
+			}
 			clearAllState(triggerContext.window, windowState, mergingWindows);
 		}
 
@@ -539,6 +601,119 @@ public class WindowOperator<K, IN, ACC, OUT, W extends Window>
 		}
 	}
 
+	/**
+	 * Returns the length of the slices in which the contents of the windows can be stored, or 0
+	 * if the contents have to be stored per window.
+	 *
+	 * <p>Slices are used for overlapping {@link SlidingEventTimeWindows} with the default
+	 * {@link EventTimeTrigger}, whose contents are reduced or aggregated. The slices have a length
+	 * of {@code gcd(size, slide)}, so that each window is covered by a whole number of slices and
+	 * an element is stored once instead of {@code size / slide} times.
+	 */
+	@VisibleForTesting
+	static long getSliceSize(
+			WindowAssigner<?, ?> windowAssigner,
+			Trigger<?, ?> trigger,
+			StateDescriptor<?, ?> windowStateDescriptor) {
+
+		if (windowAssigner.getClass() != SlidingEventTimeWindows.class ||
+				trigger.getClass() != EventTimeTrigger.class ||
+				!(windowStateDescriptor instanceof ReducingStateDescriptor ||
+					windowStateDescriptor instanceof AggregatingStateDescriptor)) {
+			return 0L;
+		}
+
+		final SlidingEventTimeWindows slidingWindows = (SlidingEventTimeWindows) windowAssigner;
+		long size = slidingWindows.getSize();
+		long slide = slidingWindows.getSlide();
+
+		if (size <= slide) {
+			return 0L;
+		}
+
+		while (slide != 0) {
+			long remainder = size % slide;
+			size = slide;
+			slide = remainder;
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the slice that contains the given timestamp.
+	 */
+	@SuppressWarnings("unchecked")
+	private W getSlice(long timestamp) {
+		long start = TimeWindow.getWindowStartWithOffset(timestamp, sliceOffset, sliceSize);
+		return (W) new TimeWindow(start, start + sliceSize);
+	}
+
+	/**
+	 * Combines the slices of the given window into the window contents, or returns {@code null}
+	 * if the window is empty. The namespace of the window state is set to the window afterwards.
+	 *
+	 * <p>The caller must ensure that the correct key is set in the state backend.
+	 */
+	@SuppressWarnings("unchecked")
+	private ACC getSlicedWindowContents(W window) throws Exception {
+		final TimeWindow timeWindow = (TimeWindow) window;
+		Object accumulator = null;
+
+		for (long start = timeWindow.getStart(); start < timeWindow.getEnd(); start += sliceSize) {
+			windowState.setCurrentNamespace((W) new TimeWindow(start, start + sliceSize));
+			accumulator = combineSlices(accumulator, windowState.getInternal());
+		}
+
+		windowState.setCurrentNamespace(window);
+
+		if (restored) {
+			// contents that were stored per window by an operator that did not use slices
+			accumulator = combineSlices(accumulator, windowState.getInternal());
+		}
+
+		if (accumulator == null || sliceReduceFunction != null) {
+			return (ACC) accumulator;
+		} else {
+			return (ACC) sliceAggregateFunction.getResult(accumulator);
+		}
+	}
+
+	private Object combineSlices(Object accumulator, Object sliceAccumulator) throws Exception {
+		if (sliceAccumulator == null) {
+			return accumulator;
+		}
+
+		// the accumulator in the state must not be modified, as later windows still need it
+		final Object copy = sliceAccumulatorSerializer.copy(sliceAccumulator);
+
+		if (accumulator == null) {
+			return copy;
+		} else if (sliceReduceFunction != null) {
+			return sliceReduceFunction.reduce(accumulator, copy);
+		} else {
+			return sliceAggregateFunction.merge(accumulator, copy);
+		}
+	}
+
+	/**
+	 * Clears the slices in the first slide of the given window, because no later window contains
+	 * them. The namespace of the window state is set to the window afterwards.
+	 *
+	 * <p>The caller must ensure that the correct key is set in the state backend.
+	 */
+	@SuppressWarnings("unchecked")
+	private void clearExpiredSlices(W window) {
+		final long start = ((TimeWindow) window).getStart();
+		final long end = start + ((SlidingEventTimeWindows) windowAssigner).getSlide();
+
+		for (long sliceStart = start; sliceStart < end; sliceStart += sliceSize) {
+			windowState.setCurrentNamespace((W) new TimeWindow(sliceStart, sliceStart + sliceSize));
+			windowState.clear();
+		}
+
+		windowState.setCurrentNamespace(window);
+	}
+
 	/**
 	 * Emits the contents of the given window using the {@link InternalWindowFunction}.
 	 */
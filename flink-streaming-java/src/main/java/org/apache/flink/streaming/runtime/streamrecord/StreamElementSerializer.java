@@ -41,6 +41,15 @@ import static java.util.Objects.requireNonNull;
  * <p>This does not behave like a normal {@link TypeSerializer}, instead, this is only used at the
  * stream task/operator level for transmitting StreamRecords and Watermarks.
  *
+ * <p>In the compact encoding, the tag and the timestamp of a record are written together as one
+ * variable-length number: the low three bits hold the tag, and the bits above hold the zig-zag
+ * encoded offset of the timestamp to 2020-01-01T00:00:00Z, which takes six bytes instead of nine for
+ * timestamps of the current years. Records, of which the offset does not fit, are written with a
+ * separate tag and a full timestamp. All other elements are written in the same way in both
+ * encodings, since their tags are single bytes with other low bits than the records with timestamps.
+ * The compact encoding is only meant for transmitting elements, and is not kept in the snapshot of
+ * the serializer.
+ *
  * @param <T> The type of value in the StreamRecord
  */
 @Internal
@@ -53,15 +62,34 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	private static final int TAG_WATERMARK = 2;
 	private static final int TAG_LATENCY_MARKER = 3;
 	private static final int TAG_STREAM_STATUS = 4;
+	private static final int TAG_REC_WITH_FULL_TIMESTAMP = 5;
+
+	/** The number of low bits of the header of a record in the compact encoding, which hold the tag. */
+	private static final int TAG_BITS = 3;
 
+	private static final int TAG_MASK = (1 << TAG_BITS) - 1;
+
+	/** The timestamp which the compact encoding writes timestamps relative to (2020-01-01T00:00:00Z). */
+	private static final long COMPACT_TIMESTAMP_BASE = 1577836800000L;
 
 	private final TypeSerializer<T> typeSerializer;
 
+	private final boolean compact;
+
 	public StreamElementSerializer(TypeSerializer<T> serializer) {
+		this(serializer, false);
+	}
+
+	/**
+	 * Creates a serializer for the stream elements with the given type of records, which writes the
+	 * tags and timestamps of the records in the compact encoding if {@code compact} is true.
+	 */
+	public StreamElementSerializer(TypeSerializer<T> serializer, boolean compact) {
 		if (serializer instanceof StreamElementSerializer) {
 			throw new RuntimeException("StreamRecordSerializer given to StreamRecordSerializer as value TypeSerializer: " + serializer);
 		}
 		this.typeSerializer = requireNonNull(serializer);
+		this.compact = compact;
 	}
 
 	public TypeSerializer<T> getContainedTypeSerializer() {
@@ -80,7 +108,7 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	@Override
 	public StreamElementSerializer<T> duplicate() {
 		TypeSerializer<T> copy = typeSerializer.duplicate();
-		return (copy == typeSerializer) ? this : new StreamElementSerializer<T>(copy);
+		return (copy == typeSerializer) ? this : new StreamElementSerializer<T>(copy, compact);
 	}
 
 	// ------------------------------------------------------------------------
@@ -137,9 +165,16 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 		int tag = source.readByte();
 		target.write(tag);
 
-		if (tag == TAG_REC_WITH_TIMESTAMP) {
+		if (isRecordWithTimestamp(tag)) {
 			// move timestamp
-			target.writeLong(source.readLong());
+			if (compact && tag != TAG_REC_WITH_FULL_TIMESTAMP) {
+				for (int b = tag; b < 0; ) {
+					b = source.readByte();
+					target.write(b);
+				}
+			} else {
+				target.writeLong(source.readLong());
+			}
 			typeSerializer.copy(source, target);
 		}
 		else if (tag == TAG_REC_WITHOUT_TIMESTAMP) {
@@ -166,7 +201,9 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 		if (value.isRecord()) {
 			StreamRecord<T> record = value.asRecord();
 
-			if (record.hasTimestamp()) {
+			if (record.hasTimestamp() && compact) {
+				writeCompactTimestamp(record.getTimestamp(), target);
+			} else if (record.hasTimestamp()) {
 				target.write(TAG_REC_WITH_TIMESTAMP);
 				target.writeLong(record.getTimestamp());
 			} else {
@@ -197,8 +234,8 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	@Override
 	public StreamElement deserialize(DataInputView source) throws IOException {
 		int tag = source.readByte();
-		if (tag == TAG_REC_WITH_TIMESTAMP) {
-			long timestamp = source.readLong();
+		if (isRecordWithTimestamp(tag)) {
+			long timestamp = readTimestamp(tag, source);
 			return new StreamRecord<T>(typeSerializer.deserialize(source), timestamp);
 		}
 		else if (tag == TAG_REC_WITHOUT_TIMESTAMP) {
@@ -221,8 +258,8 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 	@Override
 	public StreamElement deserialize(StreamElement reuse, DataInputView source) throws IOException {
 		int tag = source.readByte();
-		if (tag == TAG_REC_WITH_TIMESTAMP) {
-			long timestamp = source.readLong();
+		if (isRecordWithTimestamp(tag)) {
+			long timestamp = readTimestamp(tag, source);
 			T value = typeSerializer.deserialize(source);
 			StreamRecord<T> reuseRecord = reuse.asRecord();
 			reuseRecord.replace(value, timestamp);
@@ -245,6 +282,56 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 		}
 	}
 
+	// ------------------------------------------------------------------------
+	//  Compact encoding
+	// ------------------------------------------------------------------------
+
+	private boolean isRecordWithTimestamp(int tag) {
+		return compact
+			? (tag & TAG_MASK) == TAG_REC_WITH_TIMESTAMP || tag == TAG_REC_WITH_FULL_TIMESTAMP
+			: tag == TAG_REC_WITH_TIMESTAMP;
+	}
+
+	private static void writeCompactTimestamp(long timestamp, DataOutputView target) throws IOException {
+		long offset = timestamp - COMPACT_TIMESTAMP_BASE;
+		long zigZagOffset = (offset << 1) ^ (offset >> 63);
+
+		if (zigZagOffset >>> (Long.SIZE - TAG_BITS) != 0) {
+			target.write(TAG_REC_WITH_FULL_TIMESTAMP);
+			target.writeLong(timestamp);
+			return;
+		}
+
+		long header = (zigZagOffset << TAG_BITS) | TAG_REC_WITH_TIMESTAMP;
+		while ((header & ~0x7FL) != 0) {
+			target.write(((int) header & 0x7F) | 0x80);
+			header >>>= 7;
+		}
+		target.write((int) header);
+	}
+
+	/**
+	 * Reads the timestamp of a record, of which the given tag has been read. In the compact
+	 * encoding, the tag is the first byte of the header of the record.
+	 */
+	private long readTimestamp(int tag, DataInputView source) throws IOException {
+		if (!compact || tag == TAG_REC_WITH_FULL_TIMESTAMP) {
+			return source.readLong();
+		}
+
+		long header = tag & 0x7F;
+		for (int b = tag, shift = 7; b < 0; shift += 7) {
+			if (shift >= Long.SIZE) {
+				throw new IOException("Corrupt stream, found a record header of more than " + Long.SIZE + " bits.");
+			}
+			b = source.readByte();
+			header |= (long) (b & 0x7F) << shift;
+		}
+
+		long zigZagOffset = header >>> TAG_BITS;
+		return COMPACT_TIMESTAMP_BASE + ((zigZagOffset >>> 1) ^ -(zigZagOffset & 1));
+	}
+
 	// ------------------------------------------------------------------------
 	//  Utilities
 	// ------------------------------------------------------------------------
@@ -254,7 +341,7 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
 		if (obj instanceof StreamElementSerializer) {
 			StreamElementSerializer<?> other = (StreamElementSerializer<?>) obj;
 
-			return typeSerializer.equals(other.typeSerializer);
+			return typeSerializer.equals(other.typeSerializer) && compact == other.compact;
 		} else {
 			return false;
 		}
@@ -22,6 +22,7 @@ import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.streaming.runtime.metrics.IdleInputChannelsGauge;
 import org.apache.flink.util.Preconditions;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -38,6 +39,8 @@ public class StatusWatermarkValve {
 
 	private final DataOutput output;
 
+	private final IdleInputChannelsGauge idleInputChannelsGauge;
+
 	// ------------------------------------------------------------------------
 	//	Runtime state for watermark & stream status output determination
 	// ------------------------------------------------------------------------
@@ -61,6 +64,17 @@ public class StatusWatermarkValve {
 	 * @param output the customized output handler for the valve
 	 */
 	public StatusWatermarkValve(int numInputChannels, DataOutput output) {
+		this(numInputChannels, output, new IdleInputChannelsGauge());
+	}
+
+	/**
+	 * Returns a new {@code StatusWatermarkValve}.
+	 *
+	 * @param numInputChannels the number of input channels that this valve will need to handle
+	 * @param output the customized output handler for the valve
+	 * @param idleInputChannelsGauge the gauge which counts the idle input channels of the valve
+	 */
+	public StatusWatermarkValve(int numInputChannels, DataOutput output, IdleInputChannelsGauge idleInputChannelsGauge) {
 		checkArgument(numInputChannels > 0);
 		this.channelStatuses = new InputChannelStatus[numInputChannels];
 		for (int i = 0; i < numInputChannels; i++) {
@@ -71,6 +85,7 @@ public class StatusWatermarkValve {
 		}
 
 		this.output = checkNotNull(output);
+		this.idleInputChannelsGauge = checkNotNull(idleInputChannelsGauge);
 
 		this.lastOutputWatermark = Long.MIN_VALUE;
 		this.lastOutputStreamStatus = StreamStatus.ACTIVE;
@@ -116,6 +131,7 @@ public class StatusWatermarkValve {
 		if (streamStatus.isIdle() && channelStatuses[channelIndex].streamStatus.isActive()) {
 			// handle active -> idle toggle for the input channel
 			channelStatuses[channelIndex].streamStatus = StreamStatus.IDLE;
+			idleInputChannelsGauge.incIdleInputChannels();
 
 			// the channel is now idle, therefore not aligned
 			channelStatuses[channelIndex].isWatermarkAligned = false;
@@ -144,6 +160,7 @@ public class StatusWatermarkValve {
 		} else if (streamStatus.isActive() && channelStatuses[channelIndex].streamStatus.isIdle()) {
 			// handle idle -> active toggle for the input channel
 			channelStatuses[channelIndex].streamStatus = StreamStatus.ACTIVE;
+			idleInputChannelsGauge.decIdleInputChannels();
 
 			// if the last watermark of the input channel, before it was marked idle, is still larger than
 			// the overall last output watermark of the valve, then we can set the channel to be aligned already.
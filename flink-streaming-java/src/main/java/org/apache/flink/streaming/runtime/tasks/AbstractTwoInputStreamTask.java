@@ -25,6 +25,7 @@ import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.graph.StreamEdge;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
+import org.apache.flink.streaming.runtime.metrics.IdleInputChannelsGauge;
 import org.apache.flink.streaming.runtime.metrics.MinWatermarkGauge;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 
@@ -41,6 +42,7 @@ public abstract class AbstractTwoInputStreamTask<IN1, IN2, OUT> extends StreamTa
 	protected final WatermarkGauge input1WatermarkGauge;
 	protected final WatermarkGauge input2WatermarkGauge;
 	protected final MinWatermarkGauge minInputWatermarkGauge;
+	protected final IdleInputChannelsGauge idleInputChannelsGauge;
 
 	/**
 	 * Constructor for initialization, possibly with initial state (recovery / savepoint / etc).
@@ -53,6 +55,7 @@ public abstract class AbstractTwoInputStreamTask<IN1, IN2, OUT> extends StreamTa
 		input1WatermarkGauge = new WatermarkGauge();
 		input2WatermarkGauge = new WatermarkGauge();
 		minInputWatermarkGauge = new MinWatermarkGauge(input1WatermarkGauge, input2WatermarkGauge);
+		idleInputChannelsGauge = new IdleInputChannelsGauge();
 	}
 
 	@Override
@@ -60,8 +63,8 @@ public abstract class AbstractTwoInputStreamTask<IN1, IN2, OUT> extends StreamTa
 		StreamConfig configuration = getConfiguration();
 		ClassLoader userClassLoader = getUserCodeClassLoader();
 
-		TypeSerializer<IN1> inputDeserializer1 = configuration.getTypeSerializerIn1(userClassLoader);
-		TypeSerializer<IN2> inputDeserializer2 = configuration.getTypeSerializerIn2(userClassLoader);
+		TypeSerializer<IN1> inputDeserializer1 = profileInputSerializer(configuration.getTypeSerializerIn1(userClassLoader));
+		TypeSerializer<IN2> inputDeserializer2 = profileInputSerializer(configuration.getTypeSerializerIn2(userClassLoader));
 
 		int numberOfInputs = configuration.getNumberOfInputs();
 
@@ -92,6 +95,7 @@ public abstract class AbstractTwoInputStreamTask<IN1, IN2, OUT> extends StreamTa
 		headOperator.getMetricGroup().gauge(MetricNames.IO_CURRENT_INPUT_2_WATERMARK, input2WatermarkGauge);
 		// wrap watermark gauge since registered metrics must be unique
 		getEnvironment().getMetricGroup().gauge(MetricNames.IO_CURRENT_INPUT_WATERMARK, minInputWatermarkGauge::getValue);
+		getEnvironment().getMetricGroup().gauge(MetricNames.IO_NUM_IDLE_INPUT_CHANNELS, idleInputChannelsGauge);
 	}
 
 	protected abstract void createInputProcessor(
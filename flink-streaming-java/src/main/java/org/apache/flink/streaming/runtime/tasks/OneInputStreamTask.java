@@ -21,6 +21,9 @@ package org.apache.flink.streaming.runtime.tasks;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.configuration.AlgorithmOptions;
+import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.Counter;
 import org.apache.flink.runtime.execution.Environment;
 import org.apache.flink.runtime.io.network.partition.consumer.InputGate;
@@ -33,9 +36,11 @@ import org.apache.flink.streaming.runtime.io.CheckpointedInputGate;
 import org.apache.flink.streaming.runtime.io.InputGateUtil;
 import org.apache.flink.streaming.runtime.io.InputProcessorUtil;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.streaming.runtime.io.SortingDataInput;
 import org.apache.flink.streaming.runtime.io.StreamOneInputProcessor;
 import org.apache.flink.streaming.runtime.io.StreamTaskInput;
 import org.apache.flink.streaming.runtime.io.StreamTaskNetworkInput;
+import org.apache.flink.streaming.runtime.metrics.IdleInputChannelsGauge;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -46,6 +51,7 @@ import org.apache.flink.streaming.runtime.streamstatus.StreamStatusMaintainer;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.io.Serializable;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -57,6 +63,8 @@ public class OneInputStreamTask<IN, OUT> extends StreamTask<OUT, OneInputStreamO
 
 	private final WatermarkGauge inputWatermarkGauge = new WatermarkGauge();
 
+	private final IdleInputChannelsGauge idleInputChannelsGauge = new IdleInputChannelsGauge();
+
 	/**
 	 * Constructor for initialization, possibly with initial state (recovery / savepoint / etc).
 	 *
@@ -104,6 +112,7 @@ public class OneInputStreamTask<IN, OUT> extends StreamTask<OUT, OneInputStreamO
 		headOperator.getMetricGroup().gauge(MetricNames.IO_CURRENT_INPUT_WATERMARK, this.inputWatermarkGauge);
 		// wrap watermark gauge since registered metrics must be unique
 		getEnvironment().getMetricGroup().gauge(MetricNames.IO_CURRENT_INPUT_WATERMARK, this.inputWatermarkGauge::getValue);
+		getEnvironment().getMetricGroup().gauge(MetricNames.IO_NUM_IDLE_INPUT_CHANNELS, this.idleInputChannelsGauge);
 	}
 
 	private CheckpointedInputGate createCheckpointedInputGate() throws IOException {
@@ -129,18 +138,75 @@ public class OneInputStreamTask<IN, OUT> extends StreamTask<OUT, OneInputStreamO
 	}
 
 	private StreamTaskInput<IN> createTaskInput(CheckpointedInputGate inputGate, DataOutput<IN> output) {
+		if (configuration.isSortedKeyedInput()) {
+			return createSortingTaskInput(inputGate);
+		}
+
 		int numberOfInputChannels = inputGate.getNumberOfInputChannels();
-		StatusWatermarkValve statusWatermarkValve = new StatusWatermarkValve(numberOfInputChannels, output);
+		StatusWatermarkValve statusWatermarkValve = new StatusWatermarkValve(numberOfInputChannels, output, idleInputChannelsGauge);
 
 		TypeSerializer<IN> inSerializer = configuration.getTypeSerializerIn1(getUserCodeClassLoader());
 		return new StreamTaskNetworkInput<>(
 			inputGate,
-			inSerializer,
+			profileInputSerializer(inSerializer),
+			getExecutionConfig().isCompactStreamRecordEncodingEnabled(),
 			getEnvironment().getIOManager(),
 			statusWatermarkValve,
 			0);
 	}
 
+	@SuppressWarnings("unchecked")
+	private StreamTaskInput<IN> createSortingTaskInput(CheckpointedInputGate inputGate) {
+		// the watermarks and stream statuses of a sorted input are dropped
+		int numberOfInputChannels = inputGate.getNumberOfInputChannels();
+		StatusWatermarkValve statusWatermarkValve = new StatusWatermarkValve(numberOfInputChannels, new DiscardingDataOutput<>());
+
+		TypeSerializer<IN> inSerializer = configuration.getTypeSerializerIn1(getUserCodeClassLoader());
+		StreamTaskInput<IN> networkInput = new StreamTaskNetworkInput<>(
+			inputGate,
+			profileInputSerializer(inSerializer),
+			getExecutionConfig().isCompactStreamRecordEncodingEnabled(),
+			getEnvironment().getIOManager(),
+			statusWatermarkValve,
+			0);
+
+		Configuration taskManagerConfig = getEnvironment().getTaskManagerInfo().getConfiguration();
+		return new SortingDataInput<>(
+			networkInput,
+			inSerializer,
+			configuration.<Serializable>getStateKeySerializer(getUserCodeClassLoader()),
+			(KeySelector<IN, Serializable>) configuration.getStatePartitioner(0, getUserCodeClassLoader()),
+			getEnvironment().getMemoryManager(),
+			getEnvironment().getIOManager(),
+			this,
+			configuration.getSortedInputMemoryFraction(),
+			taskManagerConfig.getInteger(AlgorithmOptions.SPILLING_MAX_FAN),
+			taskManagerConfig.getFloat(AlgorithmOptions.SORT_SPILLING_THRESHOLD),
+			getExecutionConfig().isObjectReuseEnabled());
+	}
+
+	/**
+	 * A {@link DataOutput} that discards all elements.
+	 */
+	private static class DiscardingDataOutput<IN> implements DataOutput<IN> {
+
+		@Override
+		public void emitRecord(StreamRecord<IN> streamRecord) {
+		}
+
+		@Override
+		public void emitWatermark(Watermark watermark) {
+		}
+
+		@Override
+		public void emitStreamStatus(StreamStatus streamStatus) {
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) {
+		}
+	}
+
 	/**
 	 * The network data output implementation used for processing stream elements
 	 * from {@link StreamTaskNetworkInput} in one input processor.
@@ -42,6 +42,7 @@ import org.apache.flink.streaming.api.operators.BoundedMultiInput;
 import org.apache.flink.streaming.api.operators.BoundedOneInput;
 import org.apache.flink.streaming.api.operators.InputSelectable;
 import org.apache.flink.streaming.api.operators.InputSelection;
+import org.apache.flink.streaming.api.operators.MultipleInputStreamOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.Output;
 import org.apache.flink.streaming.api.operators.StreamOperator;
@@ -50,6 +51,7 @@ import org.apache.flink.streaming.api.operators.StreamOperatorFactoryUtil;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.io.RecordWriterOutput;
+import org.apache.flink.streaming.runtime.metrics.ProfilingSerializer;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -136,7 +138,8 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 					recordWriters.get(i),
 					outEdge,
 					chainedConfigs.get(outEdge.getSourceId()),
-					containingTask.getEnvironment());
+					containingTask.getEnvironment(),
+					containingTask.getProfilingSerializerFactory());
 
 				this.streamOutputs[i] = streamOutput;
 				streamOutputMap.put(outEdge, streamOutput);
@@ -255,7 +258,7 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 			return;
 		}
 
-		if (headOperator instanceof TwoInputStreamOperator) {
+		if (headOperator instanceof TwoInputStreamOperator || headOperator instanceof MultipleInputStreamOperator) {
 			if (finishedInputs.isInputSelected(inputId)) {
 				return;
 			}
@@ -264,10 +267,12 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 				((BoundedMultiInput) headOperator).endInput(inputId);
 			}
 
+			int inputCount = headOperator instanceof TwoInputStreamOperator ?
+				2 : ((MultipleInputStreamOperator<?>) headOperator).getInputs().size();
 			finishedInputs = InputSelection.Builder
 				.from(finishedInputs)
-				.select(finishedInputs.getInputMask() == 0 ? inputId : -1)
-				.build();
+				.select(inputId)
+				.build(inputCount);
 		} else {
 			// here, the head operator is a stream source or an one-input stream operator,
 			// so all inputs are finished
@@ -454,12 +459,17 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 		allOperators.add(chainedOperator);
 
 		WatermarkGaugeExposingOutput<StreamRecord<IN>> currentOperatorOutput;
-		if (containingTask.getExecutionConfig().isObjectReuseEnabled()) {
+		if (containingTask.getExecutionConfig().isObjectReuseEnabled() || operatorConfig.isObjectReuseSafe()) {
 			currentOperatorOutput = new ChainingOutput<>(chainedOperator, this, outputTag);
 		}
 		else {
 			TypeSerializer<IN> inSerializer = operatorConfig.getTypeSerializerIn1(userCodeClassloader);
-			currentOperatorOutput = new CopyingChainingOutput<>(chainedOperator, inSerializer, outputTag, this);
+			if (inSerializer != null && inSerializer.isImmutableType()) {
+				// the copies of immutable records are the records themselves
+				currentOperatorOutput = new ChainingOutput<>(chainedOperator, this, outputTag);
+			} else {
+				currentOperatorOutput = new CopyingChainingOutput<>(chainedOperator, inSerializer, outputTag, this);
+			}
 		}
 
 		// wrap watermark gauges since registered metrics must be unique
@@ -473,7 +483,8 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 			RecordWriter<SerializationDelegate<StreamRecord<OUT>>> recordWriter,
 			StreamEdge edge,
 			StreamConfig upStreamConfig,
-			Environment taskEnvironment) {
+			Environment taskEnvironment,
+			ProfilingSerializer.Factory profilingSerializerFactory) {
 		OutputTag sideOutputTag = edge.getOutputTag(); // OutputTag, return null if not sideOutput
 
 		TypeSerializer outSerializer = null;
@@ -487,7 +498,16 @@ public class OperatorChain<OUT, OP extends StreamOperator<OUT>> implements Strea
 			outSerializer = upStreamConfig.getTypeSerializerOut(taskEnvironment.getUserClassLoader());
 		}
 
-		return new RecordWriterOutput<>(recordWriter, outSerializer, sideOutputTag, this);
+		outSerializer = profilingSerializerFactory.wrapIfEnabled(
+			outSerializer,
+			taskEnvironment.getMetricGroup().getOrAddOperator(upStreamConfig.getOperatorID(), upStreamConfig.getOperatorName()));
+
+		return new RecordWriterOutput<>(
+			recordWriter,
+			outSerializer,
+			taskEnvironment.getExecutionConfig().isCompactStreamRecordEncodingEnabled(),
+			sideOutputTag,
+			this);
 	}
 
 	// ------------------------------------------------------------------------
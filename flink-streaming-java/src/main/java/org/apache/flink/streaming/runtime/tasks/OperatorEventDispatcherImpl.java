@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.runtime.operators.coordination.OperatorEventHandler;
+import org.apache.flink.runtime.taskmanager.TaskOperatorEventGateway;
+import org.apache.flink.streaming.api.operators.OperatorEventDispatcher;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.SerializedValue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link OperatorEventDispatcher} of a {@link StreamTask}, which serializes the events sent by
+ * the operators and deserializes the events for the operators with the user code class loader.
+ *
+ * <p>This class is only used by the mailbox thread of the task.
+ */
+final class OperatorEventDispatcherImpl implements OperatorEventDispatcher {
+
+	private final Map<OperatorID, OperatorEventHandler> handlers = new HashMap<>();
+
+	private final ClassLoader classLoader;
+
+	private final TaskOperatorEventGateway toCoordinator;
+
+	OperatorEventDispatcherImpl(ClassLoader classLoader, TaskOperatorEventGateway toCoordinator) {
+		this.classLoader = classLoader;
+		this.toCoordinator = toCoordinator;
+	}
+
+	void dispatchEventToHandlers(OperatorID operatorID, SerializedValue<OperatorEvent> serializedEvent) throws FlinkException {
+		final OperatorEvent event;
+		try {
+			event = serializedEvent.deserializeValue(classLoader);
+		} catch (IOException | ClassNotFoundException e) {
+			throw new FlinkException("Could not deserialize operator event", e);
+		}
+
+		final OperatorEventHandler handler = handlers.get(operatorID);
+		if (handler != null) {
+			handler.handleOperatorEvent(event);
+		} else {
+			throw new FlinkException("Operator not registered for operator events");
+		}
+	}
+
+	@Override
+	public void registerEventHandler(OperatorID operator, OperatorEventHandler handler) {
+		final OperatorEventHandler prior = handlers.putIfAbsent(operator, handler);
+		if (prior != null) {
+			throw new IllegalStateException("Operator " + operator + " already has a registered event handler");
+		}
+	}
+
+	@Override
+	public OperatorEventGateway getOperatorEventGateway(OperatorID operatorId) {
+		return (event) -> {
+			final SerializedValue<OperatorEvent> serializedEvent;
+			try {
+				serializedEvent = new SerializedValue<>(event);
+			} catch (IOException e) {
+				// this is a user error, because the event should be serializable
+				throw new FlinkRuntimeException("Cannot serialize operator event " + event, e);
+			}
+
+			toCoordinator.sendOperatorEventToCoordinator(operatorId, serializedEvent);
+		};
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.runtime.execution.Environment;
+import org.apache.flink.streaming.api.operators.Output;
+import org.apache.flink.streaming.api.operators.SourceOperator;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.streaming.runtime.io.StreamOneInputProcessor;
+import org.apache.flink.streaming.runtime.io.StreamTaskInput;
+import org.apache.flink.streaming.runtime.io.StreamTaskSourceInput;
+import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatusMaintainer;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A subclass of {@link StreamTask} for executing the {@link SourceOperator}.
+ *
+ * <p>Unlike the {@link SourceStreamTask}, this task does not run the source in a separate thread.
+ * The source reader is polled by the mailbox loop of the task, like the network input of the
+ * other tasks, so that the checkpoint lock is never contended.
+ */
+@Internal
+public class SourceOperatorStreamTask<T> extends StreamTask<T, SourceOperator<T, ?>> {
+
+	public SourceOperatorStreamTask(Environment env) {
+		super(env);
+	}
+
+	@Override
+	public void init() {
+		StreamTaskInput<T> input = new StreamTaskSourceInput<>(headOperator);
+		DataOutput<T> output = new StreamTaskSourceOutput<>(
+			operatorChain.getChainEntryPoint(),
+			getStreamStatusMaintainer(),
+			getCheckpointLock(),
+			setupNumRecordsInCounter(headOperator));
+
+		inputProcessor = new StreamOneInputProcessor<>(
+			input,
+			output,
+			getCheckpointLock(),
+			operatorChain);
+	}
+
+	/**
+	 * Implementation of {@link DataOutput} that wraps a specific {@link Output}.
+	 */
+	private static class StreamTaskSourceOutput<T> implements DataOutput<T> {
+
+		private final Output<StreamRecord<T>> output;
+
+		/** The maintainer toggles the current stream status. */
+		private final StreamStatusMaintainer streamStatusMaintainer;
+
+		private final Object lock;
+
+		private final Counter numRecordsIn;
+
+		StreamTaskSourceOutput(
+				Output<StreamRecord<T>> output,
+				StreamStatusMaintainer streamStatusMaintainer,
+				Object lock,
+				Counter numRecordsIn) {
+
+			this.output = checkNotNull(output);
+			this.streamStatusMaintainer = checkNotNull(streamStatusMaintainer);
+			this.lock = checkNotNull(lock);
+			this.numRecordsIn = checkNotNull(numRecordsIn);
+		}
+
+		@Override
+		public void emitRecord(StreamRecord<T> streamRecord) {
+			synchronized (lock) {
+				numRecordsIn.inc();
+				output.collect(streamRecord);
+			}
+		}
+
+		@Override
+		public void emitWatermark(Watermark watermark) {
+			synchronized (lock) {
+				output.emitWatermark(watermark);
+			}
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) {
+			synchronized (lock) {
+				output.emitLatencyMarker(latencyMarker);
+			}
+		}
+
+		@Override
+		public void emitStreamStatus(StreamStatus streamStatus) {
+			synchronized (lock) {
+				streamStatusMaintainer.toggleStreamStatus(streamStatus);
+			}
+		}
+	}
+}
@@ -20,6 +20,7 @@ package org.apache.flink.streaming.runtime.tasks;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.accumulators.Accumulator;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.configuration.NettyShuffleEnvironmentOptions;
 import org.apache.flink.configuration.TaskManagerOptions;
 import org.apache.flink.core.fs.CloseableRegistry;
@@ -41,18 +42,21 @@ import org.apache.flink.runtime.io.network.api.writer.ResultPartitionWriter;
 import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.metrics.groups.OperatorMetricGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.plugable.SerializationDelegate;
 import org.apache.flink.runtime.state.CheckpointStorageWorkerView;
 import org.apache.flink.runtime.state.CheckpointStreamFactory;
 import org.apache.flink.runtime.state.StateBackend;
 import org.apache.flink.runtime.state.StateBackendLoader;
 import org.apache.flink.runtime.state.TaskStateManager;
+import org.apache.flink.runtime.state.heap.SingleKeyStateBackend;
 import org.apache.flink.runtime.taskmanager.DispatcherThreadFactory;
 import org.apache.flink.runtime.util.ExecutorThreadFactory;
 import org.apache.flink.runtime.util.FatalExitExceptionHandler;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.graph.StreamEdge;
+import org.apache.flink.streaming.api.operators.OperatorEventDispatcher;
 import org.apache.flink.streaming.api.operators.OperatorSnapshotFinalizer;
 import org.apache.flink.streaming.api.operators.OperatorSnapshotFutures;
 import org.apache.flink.streaming.api.operators.StreamOperator;
@@ -60,6 +64,7 @@ import org.apache.flink.streaming.api.operators.StreamTaskStateInitializer;
 import org.apache.flink.streaming.api.operators.StreamTaskStateInitializerImpl;
 import org.apache.flink.streaming.runtime.io.RecordWriterOutput;
 import org.apache.flink.streaming.runtime.io.StreamInputProcessor;
+import org.apache.flink.streaming.runtime.metrics.ProfilingSerializer;
 import org.apache.flink.streaming.runtime.partitioner.ConfigurableStreamPartitioner;
 import org.apache.flink.streaming.runtime.partitioner.StreamPartitioner;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -71,7 +76,10 @@ import org.apache.flink.streaming.runtime.tasks.mailbox.execution.MailboxExecuto
 import org.apache.flink.streaming.runtime.tasks.mailbox.execution.MailboxProcessor;
 import org.apache.flink.streaming.runtime.tasks.mailbox.execution.SuspendedMailboxDefaultAction;
 import org.apache.flink.util.ExceptionUtils;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.SerializedValue;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -87,6 +95,7 @@ import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -206,8 +215,14 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 
 	protected final MailboxProcessor mailboxProcessor;
 
+	/** The dispatcher of the events between the operators and their coordinators. */
+	private final OperatorEventDispatcherImpl operatorEventDispatcher;
+
 	private Long syncSavepointId = null;
 
+	/** The factory of the profiling serializers of this task, created on first use. */
+	private ProfilingSerializer.Factory profilingSerializerFactory;
+
 	// ------------------------------------------------------------------------
 
 	/**
@@ -254,6 +269,9 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 		this.recordWriters = createRecordWriters(configuration, environment);
 		this.mailboxProcessor = new MailboxProcessor(this::processInput);
 		this.asyncExceptionHandler = new StreamTaskAsyncExceptionHandler(environment);
+		this.operatorEventDispatcher = new OperatorEventDispatcherImpl(
+			environment.getUserClassLoader(),
+			environment.getOperatorCoordinatorEventGateway());
 	}
 
 	// ------------------------------------------------------------------------
@@ -712,10 +730,53 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 		return operatorChain;
 	}
 
+	public OperatorEventDispatcher getOperatorEventDispatcher() {
+		return operatorEventDispatcher;
+	}
+
 	RecordWriterOutput<?>[] getStreamOutputs() {
 		return operatorChain.getStreamOutputs();
 	}
 
+	/**
+	 * Wraps the given serializer of the records that are read from the network, so that their
+	 * deserialization is sampled into the metrics of the head operator, if enabled.
+	 */
+	protected <T> TypeSerializer<T> profileInputSerializer(TypeSerializer<T> inputSerializer) {
+		return getProfilingSerializerFactory().wrapIfEnabled(inputSerializer, headOperator.getMetricGroup());
+	}
+
+	/**
+	 * Returns the factory of the profiling serializers of this task, which lets the input and output
+	 * serializers of an operator share its serialization metrics.
+	 */
+	ProfilingSerializer.Factory getProfilingSerializerFactory() {
+		if (profilingSerializerFactory == null) {
+			profilingSerializerFactory = new ProfilingSerializer.Factory(getEnvironment().getTaskManagerInfo().getConfiguration());
+		}
+		return profilingSerializerFactory;
+	}
+
+	// ------------------------------------------------------------------------
+	//  Operator Events
+	// ------------------------------------------------------------------------
+
+	@Override
+	public void dispatchOperatorEvent(OperatorID operator, SerializedValue<OperatorEvent> event) throws FlinkException {
+		try {
+			mailboxProcessor.getMainMailboxExecutor().execute(() -> {
+				try {
+					operatorEventDispatcher.dispatchEventToHandlers(operator, event);
+				} catch (Throwable t) {
+					ExceptionUtils.rethrowIfFatalErrorOrOOM(t);
+					throw new FlinkRuntimeException("Could not dispatch operator event " + event + " to operator " + operator, t);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			throw new FlinkException("Could not dispatch operator event to operator " + operator, e);
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	//  Checkpoint and Restore
 	// ------------------------------------------------------------------------
@@ -967,11 +1028,14 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
 	private StateBackend createStateBackend() throws Exception {
 		final StateBackend fromApplication = configuration.getStateBackend(getUserCodeClassLoader());
 
-		return StateBackendLoader.fromApplicationOrConfigOrDefault(
+		final StateBackend stateBackend = StateBackendLoader.fromApplicationOrConfigOrDefault(
 				fromApplication,
 				getEnvironment().getTaskManagerInfo().getConfiguration(),
 				getUserCodeClassLoader(),
 				LOG);
+
+		// the input of the head operator is sorted by key, so its keyed state is kept for one key only
+		return configuration.isSortedKeyedInput() ? new SingleKeyStateBackend(stateBackend) : stateBackend;
 	}
 
 	protected CheckpointExceptionHandlerFactory createCheckpointExceptionHandlerFactory() {
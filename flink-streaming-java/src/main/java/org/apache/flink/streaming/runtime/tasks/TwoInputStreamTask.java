@@ -73,6 +73,7 @@ public class TwoInputStreamTask<IN1, IN2, OUT> extends AbstractTwoInputStreamTas
 			checkpointedInputGates,
 			inputDeserializer1,
 			inputDeserializer2,
+			getExecutionConfig().isCompactStreamRecordEncodingEnabled(),
 			getCheckpointLock(),
 			getEnvironment().getIOManager(),
 			getStreamStatusMaintainer(),
@@ -80,6 +81,7 @@ public class TwoInputStreamTask<IN1, IN2, OUT> extends AbstractTwoInputStreamTas
 			twoInputSelectionHandler,
 			input1WatermarkGauge,
 			input2WatermarkGauge,
+			idleInputChannelsGauge,
 			operatorChain,
 			setupNumRecordsInCounter(headOperator));
 	}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.functions.async;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the {@link AsyncRetryStrategy}.
+ */
+public class AsyncRetryStrategyTest extends TestLogger {
+
+	@Test
+	public void testFixedDelay() {
+		final AsyncRetryStrategy strategy = AsyncRetryStrategy.fixedDelay(3, 50L);
+
+		assertEquals(3, strategy.getMaxRetries());
+		assertEquals(50L, strategy.getRetryDelay(1));
+		assertEquals(50L, strategy.getRetryDelay(3));
+	}
+
+	@Test
+	public void testExponentialBackoffIsBoundedByMaxDelay() {
+		final AsyncRetryStrategy strategy = AsyncRetryStrategy.exponentialBackoff(5, 10L, 50L);
+
+		assertEquals(10L, strategy.getRetryDelay(1));
+		assertEquals(20L, strategy.getRetryDelay(2));
+		assertEquals(40L, strategy.getRetryDelay(3));
+		assertEquals(50L, strategy.getRetryDelay(4));
+		assertEquals(50L, strategy.getRetryDelay(5));
+	}
+
+	@Test
+	public void testNoRetry() {
+		assertEquals(0, AsyncRetryStrategy.noRetry().getMaxRetries());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRetryBeyondMaxRetries() {
+		AsyncRetryStrategy.fixedDelay(1, 10L).getRetryDelay(2);
+	}
+}
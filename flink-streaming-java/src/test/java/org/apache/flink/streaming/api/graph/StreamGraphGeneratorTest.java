@@ -22,7 +22,10 @@ import org.apache.flink.api.common.ExecutionConfig;
 import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.api.java.typeutils.runtime.ProjectingTupleSerializer;
 import org.apache.flink.streaming.api.datastream.ConnectedStreams;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.IterativeStream;
@@ -31,12 +34,16 @@ import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.co.CoMapFunction;
 import org.apache.flink.streaming.api.functions.sink.DiscardingSink;
 import org.apache.flink.streaming.api.functions.sink.SinkFunction;
+import org.apache.flink.streaming.api.operators.AbstractMultipleInputStreamOperator;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.Input;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.Output;
 import org.apache.flink.streaming.api.operators.OutputTypeConfigurable;
+import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
 import org.apache.flink.streaming.api.operators.StreamSource;
 import org.apache.flink.streaming.api.operators.TwoInputStreamOperator;
+import org.apache.flink.streaming.api.transformations.MultipleInputTransformation;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.partitioner.BroadcastPartitioner;
 import org.apache.flink.streaming.runtime.partitioner.GlobalPartitioner;
@@ -45,6 +52,7 @@ import org.apache.flink.streaming.runtime.partitioner.ShufflePartitioner;
 import org.apache.flink.streaming.runtime.partitioner.StreamPartitioner;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.MultipleInputStreamTask;
 import org.apache.flink.streaming.runtime.tasks.StreamTask;
 import org.apache.flink.streaming.util.EvenOddOutputSelector;
 import org.apache.flink.streaming.util.NoOpIntMap;
@@ -52,9 +60,12 @@ import org.apache.flink.streaming.util.NoOpIntMap;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -290,6 +301,23 @@ public class StreamGraphGeneratorTest {
 		assertEquals(BasicTypeInfo.INT_TYPE_INFO, outputTypeConfigurableOperation.getTypeInformation());
 	}
 
+	/**
+	 * Tests that a projection of tuples deserializes only the projected fields of its input.
+	 */
+	@Test
+	public void testProjectionDeserializesOnlyProjectedFields() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+
+		DataStream<Tuple2<Integer, Integer>> projected = env.fromElements(Tuple3.of(1, "a", 2))
+			.rebalance()
+			.<Tuple2<Integer, Integer>>project(2, 0);
+		projected.addSink(new DiscardingSink<>());
+
+		StreamGraph graph = env.getStreamGraph();
+
+		assertTrue(graph.getStreamNode(projected.getId()).getTypeSerializerIn1() instanceof ProjectingTupleSerializer);
+	}
+
 	/**
 	 * Tests that the KeyGroupStreamPartitioner are properly set up with the correct value of
 	 * maximum parallelism.
@@ -535,6 +563,66 @@ public class StreamGraphGeneratorTest {
 		}
 	}
 
+	@Test
+	public void testMultipleInputTransformation() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		DataStream<Integer> source1 = env.fromElements(1, 2, 3);
+		DataStream<String> source2 = env.fromElements("a", "b");
+		DataStream<Long> source3 = env.fromElements(1L, 2L);
+
+		MultipleInputTransformation<String> transform = new MultipleInputTransformation<>(
+			"My Operator",
+			SimpleOperatorFactory.of(new NoOpMultipleInputOperator(3)),
+			BasicTypeInfo.STRING_TYPE_INFO,
+			3);
+		transform.addInput(source1.getTransformation());
+		transform.addInput(source2.getTransformation());
+		transform.addInput(source3.getTransformation());
+
+		KeySelector<Integer, Integer> keySelector1 = value -> value;
+		KeySelector<String, Integer> keySelector2 = String::length;
+		KeySelector<Long, Integer> keySelector3 = Long::intValue;
+		transform.setStateKeySelectors(Arrays.asList(keySelector1, keySelector2, keySelector3));
+		transform.setStateKeyType(BasicTypeInfo.INT_TYPE_INFO);
+
+		StreamGraph streamGraph = new StreamGraphGenerator(
+				Collections.singletonList(transform), env.getConfig(), env.getCheckpointConfig())
+			.generate();
+
+		StreamNode node = streamGraph.getStreamNode(transform.getId());
+		assertEquals(MultipleInputStreamTask.class, node.getJobVertexClass());
+		assertEquals(3, node.getParallelism());
+
+		assertEquals(3, node.getTypeSerializersIn().length);
+		assertEquals(BasicTypeInfo.INT_TYPE_INFO.createSerializer(env.getConfig()), node.getTypeSerializersIn()[0]);
+		assertEquals(BasicTypeInfo.STRING_TYPE_INFO.createSerializer(env.getConfig()), node.getTypeSerializersIn()[1]);
+		assertEquals(BasicTypeInfo.LONG_TYPE_INFO.createSerializer(env.getConfig()), node.getTypeSerializersIn()[2]);
+
+		assertArrayEquals(new KeySelector<?, ?>[] {keySelector1, keySelector2, keySelector3}, node.getStatePartitioners());
+		assertNotNull(node.getStateKeySerializer());
+
+		assertEquals(3, node.getInEdges().size());
+		for (StreamEdge inEdge : node.getInEdges()) {
+			int expectedSourceId = inEdge.getTypeNumber() == 1 ? source1.getId() :
+				inEdge.getTypeNumber() == 2 ? source2.getId() : source3.getId();
+			assertEquals(expectedSourceId, inEdge.getSourceId());
+		}
+	}
+
+	private static class NoOpMultipleInputOperator extends AbstractMultipleInputStreamOperator<String> {
+
+		private static final long serialVersionUID = 1L;
+
+		NoOpMultipleInputOperator(int numberOfInputs) {
+			super(numberOfInputs);
+		}
+
+		@Override
+		public List<Input> getInputs() {
+			return Collections.emptyList();
+		}
+	}
+
 	private static class OutputTypeConfigurableOperationWithTwoInputs
 			extends AbstractStreamOperator<Integer>
 			implements TwoInputStreamOperator<Integer, Integer, Integer>, OutputTypeConfigurable<Integer> {
@@ -30,6 +30,7 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.api.java.io.DiscardingOutputFormat;
 import org.apache.flink.api.java.io.TypeSerializerInputFormat;
+import org.apache.flink.api.java.tuple.Tuple1;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
 import org.apache.flink.runtime.jobgraph.InputOutputFormatContainer;
@@ -41,20 +42,24 @@ import org.apache.flink.runtime.jobgraph.ScheduleMode;
 import org.apache.flink.runtime.jobgraph.tasks.JobCheckpointingSettings;
 import org.apache.flink.runtime.jobmanager.scheduler.CoLocationGroup;
 import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
+import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.operators.util.TaskConfig;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.DataStreamSink;
 import org.apache.flink.streaming.api.datastream.DataStreamSource;
+import org.apache.flink.streaming.api.datastream.DataStreamUtils;
 import org.apache.flink.streaming.api.datastream.IterativeStream;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.sink.SinkFunction;
 import org.apache.flink.streaming.api.functions.source.InputFormatSourceFunction;
 import org.apache.flink.streaming.api.functions.source.ParallelSourceFunction;
+import org.apache.flink.streaming.api.operators.source.MockSource;
 import org.apache.flink.streaming.api.transformations.PartitionTransformation;
 import org.apache.flink.streaming.api.transformations.ShuffleMode;
 import org.apache.flink.streaming.runtime.partitioner.ForwardPartitioner;
 import org.apache.flink.streaming.runtime.partitioner.RescalePartitioner;
+import org.apache.flink.streaming.runtime.tasks.SourceOperatorStreamTask;
 import org.apache.flink.streaming.util.TestAnyModeReadingStreamOperator;
 import org.apache.flink.util.Collector;
 import org.apache.flink.util.TestLogger;
@@ -189,6 +194,39 @@ public class StreamingJobGraphGeneratorTest extends TestLogger {
 		assertTrue(printConfig.isChainEnd());
 	}
 
+	/**
+	 * Tests that the chained operators whose input records need not be copied are detected.
+	 */
+	@Test
+	public void testObjectReuseSafeOperators() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.setParallelism(2);
+
+		// fromElements -> CHAIN(Map -> Project -> Print)
+		env.fromElements(Tuple2.of(1, 2))
+			.map(new MapFunction<Tuple2<Integer, Integer>, Tuple2<Integer, Integer>>() {
+				@Override
+				public Tuple2<Integer, Integer> map(Tuple2<Integer, Integer> value) {
+					return value;
+				}
+			}).name("map")
+			.<Tuple1<Integer>>project(1).name("project")
+			.print().name("print");
+		JobGraph jobGraph = StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+
+		JobVertex chainVertex = jobGraph.getVerticesSortedTopologicallyFromSources().get(1);
+		StreamConfig mapConfig = new StreamConfig(chainVertex.getConfiguration());
+		Map<String, Boolean> objectReuseSafe = new HashMap<>();
+		for (StreamConfig config : mapConfig.getTransitiveChainedTaskConfigsWithSelf(getClass().getClassLoader()).values()) {
+			objectReuseSafe.put(config.getOperatorName(), config.isObjectReuseSafe());
+		}
+
+		// the user function of the map is not marked as safe
+		assertEquals(Boolean.FALSE, objectReuseSafe.get("map"));
+		assertEquals(Boolean.TRUE, objectReuseSafe.get("project"));
+		assertEquals(Boolean.TRUE, objectReuseSafe.get("Sink: print"));
+	}
+
 	/**
 	 * Verifies that the resources are merged correctly for chained operators (covers source and sink cases)
 	 * when generating job graph.
@@ -677,6 +715,26 @@ public class StreamingJobGraphGeneratorTest extends TestLogger {
 		assertEquals(ResultPartitionType.PIPELINED_BOUNDED, printVertex.getInputs().get(0).getSource().getResultType());
 	}
 
+	@Test
+	public void testSourceOperatorCoordinatorIsAttachedToJobVertex() throws Exception {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.continuousSource(new MockSource(Collections.emptyList()), "mock source")
+			.map(value -> value)
+			.print();
+
+		JobGraph jobGraph = StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+
+		List<JobVertex> verticesSorted = jobGraph.getVerticesSortedTopologicallyFromSources();
+		JobVertex sourceVertex = verticesSorted.get(0);
+
+		assertEquals(SourceOperatorStreamTask.class.getName(), sourceVertex.getInvokableClassName());
+		assertEquals(1, sourceVertex.getOperatorCoordinators().size());
+
+		OperatorCoordinator.Provider provider = sourceVertex.getOperatorCoordinators().get(0)
+			.deserializeValue(getClass().getClassLoader());
+		assertEquals(sourceVertex.getOperatorIDs().get(sourceVertex.getOperatorIDs().size() - 1), provider.getOperatorId());
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void testNotSupportInputSelectableOperatorIfCheckpointing() {
 		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
@@ -692,4 +750,90 @@ public class StreamingJobGraphGeneratorTest extends TestLogger {
 
 		StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
 	}
+
+	/**
+	 * Verifies that the inputs of the chains are sorted whose head is the only keyed operator of the chain.
+	 */
+	@Test
+	public void testSortedKeyedInputs() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.setParallelism(2);
+		env.setSortKeyedInputs(true);
+
+		// fromElements -> CHAIN(keyed Map -> Map) -> CHAIN(Reduce -> keyed Map) -> CHAIN(keyed Map -> Print)
+		DataStream<Integer> reduced = env.fromElements(1, 2, 3)
+			.keyBy(value -> value)
+			.map(value -> value)
+			.map(value -> value)
+			.keyBy(value -> value)
+			.reduce((value1, value2) -> value1 + value2);
+		DataStreamUtils.reinterpretAsKeyedStream(reduced, value -> value)
+			.map(value -> value)
+			.keyBy(value -> value)
+			.map(value -> value)
+			.print();
+
+		JobGraph jobGraph = StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+
+		List<JobVertex> verticesSorted = jobGraph.getVerticesSortedTopologicallyFromSources();
+		assertEquals(4, verticesSorted.size());
+
+		assertFalse(new StreamConfig(verticesSorted.get(0).getConfiguration()).isSortedKeyedInput());
+
+		StreamConfig firstMapConfig = new StreamConfig(verticesSorted.get(1).getConfiguration());
+		assertTrue(firstMapConfig.isSortedKeyedInput());
+		assertEquals(0.5, firstMapConfig.getSortedInputMemoryFraction(), 0.0);
+
+		assertFalse(new StreamConfig(verticesSorted.get(2).getConfiguration()).isSortedKeyedInput());
+
+		StreamConfig lastMapConfig = new StreamConfig(verticesSorted.get(3).getConfiguration());
+		assertTrue(lastMapConfig.isSortedKeyedInput());
+		assertEquals(0.5, lastMapConfig.getSortedInputMemoryFraction(), 0.0);
+	}
+
+	/**
+	 * Verifies that the keyed operators of a stream reinterpreted as keyed stream are chained to the
+	 * upstream operator, and that their keys are verified.
+	 */
+	@Test
+	public void testReinterpretedKeyedStreamIsChained() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.setParallelism(2);
+
+		// fromElements -> CHAIN(Map -> keyed Map) -> CHAIN(keyed Map -> Print)
+		DataStream<Integer> mapped = env.fromElements(1, 2, 3)
+			.map(value -> value);
+		DataStreamUtils.reinterpretAsKeyedStream(mapped, value -> value)
+			.map(value -> value)
+			.keyBy(value -> value)
+			.map(value -> value)
+			.print();
+
+		JobGraph jobGraph = StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+
+		List<JobVertex> verticesSorted = jobGraph.getVerticesSortedTopologicallyFromSources();
+		assertEquals(3, verticesSorted.size());
+
+		StreamConfig mapConfig = new StreamConfig(verticesSorted.get(1).getConfiguration());
+		assertFalse(mapConfig.isPrePartitionedKeyedInput());
+		Map<Integer, StreamConfig> chainedConfigs = mapConfig.getTransitiveChainedTaskConfigs(getClass().getClassLoader());
+		assertEquals(1, chainedConfigs.size());
+		assertTrue(chainedConfigs.values().iterator().next().isPrePartitionedKeyedInput());
+
+		assertFalse(new StreamConfig(verticesSorted.get(2).getConfiguration()).isPrePartitionedKeyedInput());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testNotSupportSortedKeyedInputsIfCheckpointing() {
+		StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+		env.enableCheckpointing(60_000L);
+		env.setSortKeyedInputs(true);
+
+		env.fromElements(1, 2, 3)
+			.keyBy(value -> value)
+			.map(value -> value)
+			.print();
+
+		StreamingJobGraphGenerator.createJobGraph(env.getStreamGraph());
+	}
 }
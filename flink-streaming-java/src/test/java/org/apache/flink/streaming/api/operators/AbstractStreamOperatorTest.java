@@ -390,6 +390,46 @@ public class AbstractStreamOperatorTest {
 		assertTrue(extractResult(testHarness2).isEmpty());
 	}
 
+	/**
+	 * Verifies that the keys of an input that was reinterpreted as a keyed stream are checked to
+	 * belong to the key groups of the subtask.
+	 */
+	@Test
+	public void testPrePartitionedKeyedInputVerifiesKeyGroups() throws Exception {
+		final int maxParallelism = 10;
+
+		KeyGroupRange subKeyGroupRange1 = new KeyGroupRange(0, (maxParallelism / 2) - 1);
+		KeyGroupRange subKeyGroupRange2 = new KeyGroupRange(subKeyGroupRange1.getEndKeyGroup() + 1, maxParallelism - 1);
+
+		int key1 = getKeyInKeyGroupRange(subKeyGroupRange1, maxParallelism);
+		int key2 = getKeyInKeyGroupRange(subKeyGroupRange2, maxParallelism);
+
+		KeyedOneInputStreamOperatorTestHarness<Integer, Tuple2<Integer, String>, String> testHarness =
+			new KeyedOneInputStreamOperatorTestHarness<>(
+				new TestOperator(),
+				new TestKeySelector(),
+				BasicTypeInfo.INT_TYPE_INFO,
+				maxParallelism,
+				2, /* num subtasks */
+				0 /* subtask index */);
+		testHarness.getStreamConfig().setPrePartitionedKeyedInput(true);
+
+		testHarness.open();
+
+		testHarness.processElement(new Tuple2<>(key1, "SET_STATE:HELLO"), 0);
+		testHarness.processElement(new Tuple2<>(key1, "EMIT_STATE"), 0);
+		assertThat(extractResult(testHarness), contains("ON_ELEMENT:" + key1 + ":HELLO"));
+
+		try {
+			testHarness.processElement(new Tuple2<>(key2, "SET_STATE:CIAO"), 0);
+			fail("Expected an exception for a key that does not belong to the subtask.");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("reinterpreted as a keyed stream"));
+		}
+
+		testHarness.close();
+	}
+
 	@Test
 	public void testStateAndTimerStateShufflingScalingDown() throws Exception {
 		final int maxParallelism = 10;
@@ -80,6 +80,26 @@ public class InputSelectionTest {
 		InputSelection.ALL.fairSelectNextIndexOutOf2(7, 0);
 	}
 
+	@Test
+	public void testFairSelectNextIndex() {
+		assertEquals(1, InputSelection.ALL.fairSelectNextIndex(7, 0));
+		assertEquals(2, InputSelection.ALL.fairSelectNextIndex(7, 1));
+		assertEquals(0, InputSelection.ALL.fairSelectNextIndex(7, 2));
+		assertEquals(0, InputSelection.ALL.fairSelectNextIndex(7, -1));
+
+		assertEquals(2, InputSelection.ALL.fairSelectNextIndex(5, 0));
+		assertEquals(0, InputSelection.ALL.fairSelectNextIndex(5, 2));
+		assertEquals(-1, InputSelection.ALL.fairSelectNextIndex(0, 0));
+
+		InputSelection firstAndThird = new Builder().select(1).select(3).build();
+		assertEquals(2, firstAndThird.fairSelectNextIndex(7, 0));
+		assertEquals(0, firstAndThird.fairSelectNextIndex(7, 2));
+		assertEquals(-1, firstAndThird.fairSelectNextIndex(2, 0));
+
+		assertEquals(63, InputSelection.ALL.fairSelectNextIndex(0x8000_0000_0000_0001L, 0));
+		assertEquals(0, InputSelection.ALL.fairSelectNextIndex(0x8000_0000_0000_0001L, 63));
+	}
+
 	/**
 	 * Tests for {@link Builder}.
 	 */
@@ -94,6 +114,13 @@ public class InputSelectionTest {
 			assertEquals(0xffff_ffff_ffff_ffffL, new Builder().select(-1).build().getInputMask());
 		}
 
+		@Test
+		public void testBuildWithInputCount() {
+			assertEquals(3L, new Builder().select(1).select(2).build(3).getInputMask());
+			assertTrue(new Builder().select(1).select(2).select(3).build(3).areAllInputsSelected());
+			assertTrue(new Builder().select(64).select(-1).build(64).areAllInputsSelected());
+		}
+
 		@Test(expected = IllegalArgumentException.class)
 		public void testIllegalInputId1() {
 			new Builder().select(-2);
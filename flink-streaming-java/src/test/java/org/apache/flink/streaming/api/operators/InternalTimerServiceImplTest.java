@@ -41,6 +41,7 @@ import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -447,6 +448,198 @@ public class InternalTimerServiceImplTest {
 		assertEquals(0, timerService.numProcessingTimeTimers());
 	}
 
+	@Test
+	public void testEventTimeTimersSetKeyContextOncePerKey() throws Exception {
+		final List<InternalTimer<Integer, String>> firedTimers = new ArrayList<>();
+		final CountingKeyContext keyContext = new CountingKeyContext();
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			new RecordingTriggerable(firedTimers), keyContext, new TestProcessingTimeService(), testKeyGroupRange, createQueueFactory());
+
+		int key1 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		int key2 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		while (key2 == key1) {
+			key2 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		}
+
+		keyContext.setCurrentKey(key1);
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerEventTimeTimer("hello", 10);
+		timerService.registerEventTimeTimer("hola", 10);
+
+		keyContext.setCurrentKey(key2);
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerEventTimeTimer("hello", 10);
+
+		keyContext.numKeyChanges = 0;
+		timerService.advanceWatermark(30);
+
+		assertEquals(2, keyContext.numKeyChanges);
+		assertEquals(5, firedTimers.size());
+		assertEquals(3, getTimersOfKey(firedTimers, key1).size());
+		assertEquals(2, getTimersOfKey(firedTimers, key2).size());
+		assertEquals(0, timerService.numEventTimeTimers());
+	}
+
+	/**
+	 * Verifies that the batches of event time timers keep the order of the timestamps across
+	 * keys, also when a fired timer registers a timer that is due before the rest of the batch.
+	 */
+	@Test
+	public void testEventTimeTimersFireInTimestampOrderAcrossKeys() throws Exception {
+		final List<InternalTimer<Integer, String>> firedTimers = new ArrayList<>();
+		final TestKeyContext keyContext = new TestKeyContext();
+		final List<InternalTimerServiceImpl<Integer, String>> timerServiceHolder = new ArrayList<>();
+
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			new RecordingTriggerable(firedTimers) {
+				@Override
+				public void onEventTime(InternalTimer<Integer, String> timer) throws Exception {
+					super.onEventTime(timer);
+					if (timer.getNamespace().equals("late")) {
+						timerServiceHolder.get(0).registerEventTimeTimer("early", 25);
+					}
+				}
+			},
+			keyContext, new TestProcessingTimeService(), testKeyGroupRange, createQueueFactory());
+		timerServiceHolder.add(timerService);
+
+		int key1 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		int key2 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		while (key2 == key1) {
+			key2 = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		}
+
+		keyContext.setCurrentKey(key1);
+		timerService.registerEventTimeTimer("ciao", 10);
+		timerService.registerEventTimeTimer("ciao", 30);
+		timerService.registerEventTimeTimer("late", 40);
+
+		keyContext.setCurrentKey(key2);
+		timerService.registerEventTimeTimer("ciao", 20);
+		timerService.registerEventTimeTimer("late", 40);
+		timerService.registerEventTimeTimer("ciao", 50);
+
+		timerService.advanceWatermark(50);
+
+		final List<Long> timestamps = new ArrayList<>();
+		for (InternalTimer<Integer, String> timer : firedTimers) {
+			timestamps.add(timer.getTimestamp());
+		}
+		assertEquals(Arrays.asList(10L, 20L, 30L, 40L, 25L, 40L, 25L, 50L), timestamps);
+		assertEquals(0, timerService.numEventTimeTimers());
+	}
+
+	/**
+	 * Verifies that timers which are deleted or registered by fired timers of the same batch
+	 * behave as if the timers were fired one by one.
+	 */
+	@Test
+	public void testTimersDeletedAndRegisteredByFiredEventTimeTimers() throws Exception {
+		final List<InternalTimer<Integer, String>> firedTimers = new ArrayList<>();
+		final TestKeyContext keyContext = new TestKeyContext();
+		final List<InternalTimerServiceImpl<Integer, String>> timerServiceHolder = new ArrayList<>();
+
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			new RecordingTriggerable(firedTimers) {
+				@Override
+				public void onEventTime(InternalTimer<Integer, String> timer) throws Exception {
+					super.onEventTime(timer);
+					if (timer.getTimestamp() == 10) {
+						timerServiceHolder.get(0).deleteEventTimeTimer("deleted", 30);
+						timerServiceHolder.get(0).registerEventTimeTimer("registered", 20);
+						timerServiceHolder.get(0).registerEventTimeTimer("registered", 50);
+					}
+				}
+			},
+			keyContext, new TestProcessingTimeService(), testKeyGroupRange, createQueueFactory());
+		timerServiceHolder.add(timerService);
+
+		int key = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		keyContext.setCurrentKey(key);
+		timerService.registerEventTimeTimer("first", 10);
+		timerService.registerEventTimeTimer("deleted", 30);
+		timerService.registerEventTimeTimer("last", 40);
+
+		timerService.advanceWatermark(40);
+
+		assertEquals(
+			Arrays.asList(
+				new TimerHeapInternalTimer<>(10, key, "first"),
+				new TimerHeapInternalTimer<>(20, key, "registered"),
+				new TimerHeapInternalTimer<>(40, key, "last")),
+			firedTimers);
+		assertEquals(1, timerService.numEventTimeTimers());
+		assertEquals(1, timerService.numEventTimeTimers("registered"));
+	}
+
+	@Test
+	public void testFiresEventTimeTimersOfSeveralBatches() throws Exception {
+		final List<InternalTimer<Integer, String>> firedTimers = new ArrayList<>();
+		final TestKeyContext keyContext = new TestKeyContext();
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			new RecordingTriggerable(firedTimers), keyContext, new TestProcessingTimeService(), testKeyGroupRange, createQueueFactory());
+
+		final int numTimers = InternalTimerServiceImpl.MAX_EVENT_TIME_TIMERS_PER_BATCH * 2 + 1;
+		keyContext.setCurrentKey(getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism));
+		for (int i = 0; i < numTimers; i++) {
+			timerService.registerEventTimeTimer("ciao", i);
+		}
+
+		timerService.advanceWatermark(numTimers);
+
+		assertEquals(numTimers, firedTimers.size());
+		for (int i = 0; i < numTimers; i++) {
+			assertEquals(i, firedTimers.get(i).getTimestamp());
+		}
+		assertEquals(0, timerService.numEventTimeTimers());
+	}
+
+	/**
+	 * Verifies that firing all timers terminates when a processing time timer registers itself
+	 * again, and that the event time timers registered by it still fire.
+	 */
+	@Test
+	public void testFireAllTimersWithReregisteringProcessingTimeTimer() throws Exception {
+		final List<InternalTimer<Integer, String>> firedTimers = new ArrayList<>();
+		final TestKeyContext keyContext = new TestKeyContext();
+		final TestProcessingTimeService processingTimeService = new TestProcessingTimeService();
+		final List<InternalTimerServiceImpl<Integer, String>> timerServiceHolder = new ArrayList<>();
+
+		InternalTimerServiceImpl<Integer, String> timerService = createAndStartInternalTimerService(
+			new RecordingTriggerable(firedTimers) {
+				@Override
+				public void onProcessingTime(InternalTimer<Integer, String> timer) throws Exception {
+					super.onProcessingTime(timer);
+					timerServiceHolder.get(0).registerProcessingTimeTimer("periodic", timer.getTimestamp() + 10);
+					timerServiceHolder.get(0).registerEventTimeTimer("registered", timer.getTimestamp());
+				}
+			},
+			keyContext, processingTimeService, testKeyGroupRange, createQueueFactory());
+		timerServiceHolder.add(timerService);
+
+		int key = getKeyInKeyGroupRange(testKeyGroupRange, maxParallelism);
+		keyContext.setCurrentKey(key);
+		timerService.registerProcessingTimeTimer("periodic", 10);
+		timerService.registerEventTimeTimer("ciao", 20);
+
+		timerService.fireAllTimers();
+
+		assertEquals(
+			Arrays.asList(
+				new TimerHeapInternalTimer<>(20, key, "ciao"),
+				new TimerHeapInternalTimer<>(10, key, "periodic"),
+				new TimerHeapInternalTimer<>(10, key, "registered")),
+			firedTimers);
+		assertEquals(0, timerService.numProcessingTimeTimers());
+		assertEquals(0, timerService.numEventTimeTimers());
+		assertEquals(0, processingTimeService.getNumActiveTimers());
+		assertEquals(Long.MIN_VALUE, timerService.currentWatermark());
+
+		// processing time timers are registered again for the next key
+		timerService.registerProcessingTimeTimer("periodic", 30);
+		assertEquals(1, timerService.numProcessingTimeTimers());
+	}
+
 	/**
 	 * This also verifies that we don't have leakage between keys/namespaces.
 	 *
@@ -875,6 +1068,48 @@ public class InternalTimerServiceImplTest {
 		}
 	}
 
+	private static class CountingKeyContext extends TestKeyContext {
+
+		private int numKeyChanges;
+
+		@Override
+		public void setCurrentKey(Object key) {
+			super.setCurrentKey(key);
+			numKeyChanges++;
+		}
+	}
+
+	private static class RecordingTriggerable implements Triggerable<Integer, String> {
+
+		private final List<InternalTimer<Integer, String>> firedTimers;
+
+		RecordingTriggerable(List<InternalTimer<Integer, String>> firedTimers) {
+			this.firedTimers = firedTimers;
+		}
+
+		@Override
+		public void onEventTime(InternalTimer<Integer, String> timer) throws Exception {
+			firedTimers.add(timer);
+		}
+
+		@Override
+		public void onProcessingTime(InternalTimer<Integer, String> timer) throws Exception {
+			firedTimers.add(timer);
+		}
+	}
+
+	private static List<InternalTimer<Integer, String>> getTimersOfKey(
+			List<InternalTimer<Integer, String>> timers,
+			int key) {
+		final List<InternalTimer<Integer, String>> timersOfKey = new ArrayList<>();
+		for (InternalTimer<Integer, String> timer : timers) {
+			if (timer.getKey() == key) {
+				timersOfKey.add(timer);
+			}
+		}
+		return timersOfKey;
+	}
+
 	private static int getKeyInKeyGroup(int keyGroup, int maxParallelism) {
 		Random rand = new Random(System.currentTimeMillis());
 		int result = rand.nextInt();
@@ -25,6 +25,8 @@ import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.state.heap.SingleKeyStateBackend;
+import org.apache.flink.runtime.state.memory.MemoryStateBackend;
 import org.apache.flink.streaming.api.TimeDomain;
 import org.apache.flink.streaming.api.TimerService;
 import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
@@ -41,6 +43,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.junit.Assert.assertEquals;
@@ -296,6 +299,43 @@ public class KeyedProcessOperatorTest extends TestLogger {
 		testHarness.close();
 	}
 
+	/**
+	 * Verifies that the timers fire at the end of each key and see the state of their key, when the
+	 * input is sorted by key and the state is kept for a single key.
+	 */
+	@Test
+	public void testTimersFirePerKeyWithSingleKeyState() throws Exception {
+
+		KeyedProcessOperator<Integer, Integer, String> operator =
+				new KeyedProcessOperator<>(new CountingTimersFunction());
+
+		OneInputStreamOperatorTestHarness<Integer, String> testHarness =
+				new KeyedOneInputStreamOperatorTestHarness<>(operator, new IdentityKeySelector<Integer>(), BasicTypeInfo.INT_TYPE_INFO);
+
+		testHarness.setStateBackend(new SingleKeyStateBackend(new MemoryStateBackend()));
+		testHarness.setup();
+		testHarness.open();
+
+		testHarness.processElement(new StreamRecord<>(1, 1L));
+		testHarness.processElement(new StreamRecord<>(1, 2L));
+		assertTrue(TestHarnessUtil.getRawElementsFromOutput(testHarness.getOutput()).isEmpty());
+
+		// the next key fires the timers of the previous key
+		testHarness.processElement(new StreamRecord<>(2, 3L));
+		assertEquals(
+			Arrays.asList("EVENT_TIME:1:1:2", "EVENT_TIME:1:2:2", "PROCESSING_TIME:1:100:2"),
+			TestHarnessUtil.getRawElementsFromOutput(testHarness.getOutput()));
+
+		testHarness.processWatermark(Watermark.MAX_WATERMARK);
+		assertEquals(
+			Arrays.asList(
+				"EVENT_TIME:1:1:2", "EVENT_TIME:1:2:2", "PROCESSING_TIME:1:100:2",
+				"EVENT_TIME:2:3:1", "PROCESSING_TIME:2:100:1"),
+			TestHarnessUtil.getRawElementsFromOutput(testHarness.getOutput()));
+
+		testHarness.close();
+	}
+
 	@Test
 	public void testSnapshotAndRestore() throws Exception {
 
@@ -539,6 +579,31 @@ public class KeyedProcessOperatorTest extends TestLogger {
 		}
 	}
 
+	private static class CountingTimersFunction extends KeyedProcessFunction<Integer, Integer, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ValueStateDescriptor<Integer> state =
+				new ValueStateDescriptor<>("count", IntSerializer.INSTANCE);
+
+		@Override
+		public void processElement(Integer value, Context ctx, Collector<String> out) throws Exception {
+			// the event time does not advance while the records of a key are processed
+			assertEquals(Long.MIN_VALUE, ctx.timerService().currentWatermark());
+
+			final ValueState<Integer> count = getRuntimeContext().getState(state);
+			count.update(count.value() == null ? 1 : count.value() + 1);
+			ctx.timerService().registerEventTimeTimer(ctx.timestamp());
+			ctx.timerService().registerProcessingTimeTimer(100L);
+		}
+
+		@Override
+		public void onTimer(long timestamp, OnTimerContext ctx, Collector<String> out) throws Exception {
+			out.collect(ctx.timeDomain() + ":" + ctx.getCurrentKey() + ":" + timestamp + ":"
+				+ getRuntimeContext().getState(state).value());
+		}
+	}
+
 	private static class BothTriggeringFlatMapFunction extends KeyedProcessFunction<Integer, Integer, String> {
 
 		private static final long serialVersionUID = 1L;
@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators;
+
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.operators.coordination.OperatorEvent;
+import org.apache.flink.runtime.operators.coordination.OperatorEventGateway;
+import org.apache.flink.runtime.source.event.AddSplitEvent;
+import org.apache.flink.runtime.source.event.ReaderRegistrationEvent;
+import org.apache.flink.runtime.source.event.ReportedWatermarkEvent;
+import org.apache.flink.runtime.source.event.SourceEventWrapper;
+import org.apache.flink.runtime.source.event.WatermarkAlignmentEvent;
+import org.apache.flink.streaming.api.operators.source.MockSource;
+import org.apache.flink.streaming.api.operators.source.MockSourceSplit;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput.DataOutput;
+import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.streaming.util.AbstractStreamOperatorTestHarness;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link SourceOperator}.
+ */
+public class SourceOperatorTest extends TestLogger {
+
+	@Test
+	public void testReaderIsRegisteredOnOpen() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+		final RecordingGateway gateway = new RecordingGateway();
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(source, gateway);
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			assertTrue(source.getLastCreatedReader().isStarted());
+			assertEquals(1, gateway.sentEvents.size());
+			assertThat(gateway.sentEvents.get(0), instanceOf(ReaderRegistrationEvent.class));
+			assertEquals(0, ((ReaderRegistrationEvent) gateway.sentEvents.get(0)).subtaskId());
+		}
+
+		assertTrue(source.getLastCreatedReader().isClosed());
+	}
+
+	@Test
+	public void testAssignedSplitsAreRead() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(source, new RecordingGateway());
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+
+			assertEquals(InputStatus.NOTHING_AVAILABLE, operator.emitNext(output));
+			assertFalse(operator.isAvailable().isDone());
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Collections.singletonList(new MockSourceSplit("0", 0, 3)),
+				new MockSourceSplit.Serializer()));
+
+			assertTrue(operator.isAvailable().isDone());
+			drain(operator, output);
+			assertEquals(Arrays.asList(0, 1, 2), output.records);
+		}
+	}
+
+	@Test
+	public void testSourceEventsAreForwardedToReader() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(source, new RecordingGateway());
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			final TestSourceEvent event = new TestSourceEvent();
+			operator.handleOperatorEvent(new SourceEventWrapper(event));
+
+			assertEquals(Collections.singletonList(event), source.getLastCreatedReader().getReceivedSourceEvents());
+		}
+	}
+
+	@Test
+	public void testSplitsAreRestoredFromCheckpoint() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+		final OperatorSubtaskState snapshot;
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(source, new RecordingGateway());
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Collections.singletonList(new MockSourceSplit("0", 0, 5)),
+				new MockSourceSplit.Serializer()));
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			operator.emitNext(output);
+			operator.emitNext(output);
+
+			snapshot = harness.snapshot(1L, 1L);
+		}
+
+		final SourceOperator<Integer, MockSourceSplit> restoredOperator = new SourceOperator<>(source, new RecordingGateway());
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(restoredOperator)) {
+			harness.initializeState(snapshot);
+			harness.open();
+
+			assertEquals(
+				Collections.singletonList(new MockSourceSplit("0", 2, 5)),
+				source.getLastCreatedReader().getAssignedSplits());
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			drain(restoredOperator, output);
+			assertEquals(Arrays.asList(2, 3, 4), output.records);
+		}
+	}
+
+	@Test
+	public void testWatermarksAreGeneratedPerSplit() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(
+			source, new RecordingGateway(), WatermarkStrategy.forMonotonousTimestamps());
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Arrays.asList(new MockSourceSplit("0", 0, 10), new MockSourceSplit("1", 100, 110)),
+				new MockSourceSplit.Serializer()));
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			for (int i = 0; i < 4; i++) {
+				operator.emitNext(output);
+			}
+			assertEquals(Arrays.asList(0, 100, 1, 101), output.records);
+
+			// the watermark is held back by the slower split, unlike a watermark generated
+			// from the interleaved records after the source
+			operator.emitPeriodicWatermark();
+			assertEquals(Collections.singletonList(new Watermark(0L)), getWatermarks(harness));
+		}
+	}
+
+	@Test
+	public void testSplitsAheadOfOtherReadersArePaused() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+		final RecordingGateway gateway = new RecordingGateway();
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(
+			source,
+			gateway,
+			WatermarkStrategy.<Integer>forMonotonousTimestamps().withWatermarkAlignment(Duration.ofMillis(10)));
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Arrays.asList(new MockSourceSplit("0", 0, 10), new MockSourceSplit("1", 100, 110)),
+				new MockSourceSplit.Serializer()));
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			operator.emitNext(output);
+			operator.emitNext(output);
+			operator.emitPeriodicWatermark();
+
+			final OperatorEvent lastEvent = gateway.sentEvents.get(gateway.sentEvents.size() - 1);
+			assertEquals(-1L, ((ReportedWatermarkEvent) lastEvent).getWatermark());
+
+			operator.handleOperatorEvent(new WatermarkAlignmentEvent(50L));
+			assertEquals(Collections.singleton("1"), source.getLastCreatedReader().getPausedSplits());
+
+			output.records.clear();
+			for (int i = 0; i < 3; i++) {
+				operator.emitNext(output);
+			}
+			assertEquals(Arrays.asList(1, 2, 3), output.records);
+
+			operator.handleOperatorEvent(new WatermarkAlignmentEvent(200L));
+			assertTrue(source.getLastCreatedReader().getPausedSplits().isEmpty());
+		}
+	}
+
+	@Test
+	public void testReaderAheadOfOtherReadersIsPaused() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(
+			source,
+			new RecordingGateway(),
+			WatermarkStrategy.<Integer>forMonotonousTimestamps().withWatermarkAlignment(Duration.ofMillis(10)));
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.open();
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Collections.singletonList(new MockSourceSplit("0", 100, 110)),
+				new MockSourceSplit.Serializer()));
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			operator.emitNext(output);
+			operator.emitNext(output);
+			operator.emitPeriodicWatermark();
+
+			operator.handleOperatorEvent(new WatermarkAlignmentEvent(50L));
+
+			final CompletableFuture<?> available = operator.isAvailable();
+			assertFalse(available.isDone());
+			assertEquals(InputStatus.NOTHING_AVAILABLE, operator.emitNext(output));
+			assertEquals(Arrays.asList(100, 101), output.records);
+
+			operator.handleOperatorEvent(new WatermarkAlignmentEvent(200L));
+			assertTrue(available.isDone());
+			assertEquals(InputStatus.MORE_AVAILABLE, operator.emitNext(output));
+		}
+	}
+
+	@Test
+	public void testIdleSplitsDoNotHoldBackWatermark() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(
+			source,
+			new RecordingGateway(),
+			WatermarkStrategy.<Integer>forMonotonousTimestamps().withIdleness(Duration.ofMillis(100)));
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.setProcessingTime(0L);
+			harness.open();
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Arrays.asList(new MockSourceSplit("0", 0, 10), new MockSourceSplit("1", 100, 110)),
+				new MockSourceSplit.Serializer()));
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			operator.emitNext(output);
+			operator.emitNext(output);
+
+			// the split with the lower timestamps stops producing records
+			source.getLastCreatedReader().pauseOrResumeSplits(Collections.singletonList("0"), Collections.emptyList());
+
+			harness.setProcessingTime(50L);
+			operator.emitNext(output);
+			operator.emitNext(output);
+			operator.emitPeriodicWatermark();
+
+			harness.setProcessingTime(150L);
+			operator.emitNext(output);
+			operator.emitPeriodicWatermark();
+			assertEquals(Arrays.asList(0, 100, 101, 102, 103), output.records);
+			assertEquals(Arrays.asList(new Watermark(-1L), new Watermark(102L)), getWatermarks(harness));
+
+			// the split becomes active again, but does not move the watermark back
+			source.getLastCreatedReader().pauseOrResumeSplits(Collections.emptyList(), Collections.singletonList("0"));
+			while (!output.records.contains(1)) {
+				operator.emitNext(output);
+			}
+			harness.setProcessingTime(160L);
+			operator.emitPeriodicWatermark();
+			assertEquals(Arrays.asList(new Watermark(-1L), new Watermark(102L)), getWatermarks(harness));
+			assertEquals(StreamStatus.ACTIVE, harness.getStreamStatus());
+		}
+	}
+
+	@Test
+	public void testReaderWithoutRecordsIsIdle() throws Exception {
+		final MockSource source = new MockSource(Collections.emptyList());
+
+		final SourceOperator<Integer, MockSourceSplit> operator = new SourceOperator<>(
+			source,
+			new RecordingGateway(),
+			WatermarkStrategy.<Integer>forMonotonousTimestamps().withIdleness(Duration.ofMillis(100)));
+
+		try (AbstractStreamOperatorTestHarness<Integer> harness = createHarness(operator)) {
+			harness.initializeEmptyState();
+			harness.setProcessingTime(0L);
+			harness.open();
+
+			harness.setProcessingTime(50L);
+			operator.emitPeriodicWatermark();
+			assertEquals(StreamStatus.ACTIVE, harness.getStreamStatus());
+
+			harness.setProcessingTime(100L);
+			operator.emitPeriodicWatermark();
+			assertEquals(StreamStatus.IDLE, harness.getStreamStatus());
+
+			operator.handleOperatorEvent(new AddSplitEvent<>(
+				Collections.singletonList(new MockSourceSplit("0", 0, 10)),
+				new MockSourceSplit.Serializer()));
+
+			final CollectingDataOutput output = new CollectingDataOutput();
+			operator.emitNext(output);
+			assertEquals(Collections.singletonList(StreamStatus.ACTIVE), output.streamStatuses);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static List<Watermark> getWatermarks(AbstractStreamOperatorTestHarness<Integer> harness) {
+		final List<Watermark> watermarks = new ArrayList<>();
+		for (Object element : harness.getOutput()) {
+			if (element instanceof Watermark) {
+				watermarks.add((Watermark) element);
+			}
+		}
+		return watermarks;
+	}
+
+	private static AbstractStreamOperatorTestHarness<Integer> createHarness(SourceOperator<Integer, ?> operator) throws Exception {
+		return new AbstractStreamOperatorTestHarness<>(operator, 1, 1, 0);
+	}
+
+	private static void drain(SourceOperator<Integer, ?> operator, CollectingDataOutput output) throws Exception {
+		while (operator.emitNext(output) == InputStatus.MORE_AVAILABLE) {
+		}
+	}
+
+	private static final class RecordingGateway implements OperatorEventGateway {
+
+		private final List<OperatorEvent> sentEvents = new ArrayList<>();
+
+		@Override
+		public void sendEventToCoordinator(OperatorEvent event) {
+			sentEvents.add(event);
+		}
+	}
+
+	private static final class CollectingDataOutput implements DataOutput<Integer> {
+
+		private final List<Integer> records = new ArrayList<>();
+
+		private final List<StreamStatus> streamStatuses = new ArrayList<>();
+
+		@Override
+		public void emitRecord(StreamRecord<Integer> streamRecord) {
+			records.add(streamRecord.getValue());
+		}
+
+		@Override
+		public void emitWatermark(Watermark watermark) {}
+
+		@Override
+		public void emitStreamStatus(StreamStatus streamStatus) {
+			streamStatuses.add(streamStatus);
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) {}
+	}
+
+	private static final class TestSourceEvent implements SourceEvent {
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -42,7 +42,9 @@ import org.apache.flink.streaming.api.datastream.AsyncDataStream;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.async.AsyncBatchFunction;
 import org.apache.flink.streaming.api.functions.async.AsyncFunction;
+import org.apache.flink.streaming.api.functions.async.AsyncRetryStrategy;
 import org.apache.flink.streaming.api.functions.async.ResultFuture;
 import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
 import org.apache.flink.streaming.api.functions.sink.DiscardingSink;
@@ -55,6 +57,7 @@ import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.tasks.OneInputStreamTask;
 import org.apache.flink.streaming.runtime.tasks.OneInputStreamTaskTestHarness;
+import org.apache.flink.streaming.runtime.tasks.mailbox.execution.MailboxExecutor;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.streaming.util.TestHarnessUtil;
 import org.apache.flink.util.ExceptionUtils;
@@ -1075,6 +1078,215 @@ public class AsyncWaitOperatorTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Tests that the inputs are passed to the batch function in batches of the max batch size, and
+	 * that an incomplete batch is passed once the max batch delay has passed.
+	 */
+	@Test
+	public void testBatchedOrdered() throws Exception {
+		testBatched(AsyncDataStream.OutputMode.ORDERED);
+	}
+
+	@Test
+	public void testBatchedUnordered() throws Exception {
+		testBatched(AsyncDataStream.OutputMode.UNORDERED);
+	}
+
+	private void testBatched(AsyncDataStream.OutputMode mode) throws Exception {
+		final DoublingAsyncBatchFunction function = new DoublingAsyncBatchFunction();
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = new OneInputStreamOperatorTestHarness<>(
+			new AsyncWaitOperatorFactory<>(function, TIMEOUT, 10, mode, AsyncRetryStrategy.noRetry(), 3, 100L),
+			IntSerializer.INSTANCE);
+
+		testHarness.setProcessingTime(0L);
+		testHarness.open();
+
+		synchronized (testHarness.getCheckpointLock()) {
+			for (int i = 1; i <= 4; i++) {
+				testHarness.processElement(new StreamRecord<>(i, i));
+			}
+		}
+		assertEquals(Collections.singletonList(Arrays.asList(1, 2, 3)), function.batches);
+
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.setProcessingTime(100L);
+		}
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Collections.singletonList(4)), function.batches);
+
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.processElement(new StreamRecord<>(5, 5));
+			testHarness.close();
+		}
+		assertEquals(Collections.singletonList(5), function.batches.get(2));
+
+		final Queue<Object> expectedOutput = new ArrayDeque<>();
+		for (int i = 1; i <= 5; i++) {
+			expectedOutput.add(new StreamRecord<>(i * 2, i));
+		}
+		TestHarnessUtil.assertOutputEqualsSorted(
+			"Output was not correct.",
+			expectedOutput,
+			testHarness.getOutput(),
+			new StreamRecordComparator());
+	}
+
+	/**
+	 * Tests that the gathered inputs are passed to the batch function when the queue is full,
+	 * instead of waiting for the max batch delay.
+	 */
+	@Test(timeout = 10000L)
+	public void testBatchIsPassedWhenQueueIsFull() throws Exception {
+		final DoublingAsyncBatchFunction function = new DoublingAsyncBatchFunction();
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness = new OneInputStreamOperatorTestHarness<>(
+			new AsyncWaitOperatorFactory<>(function, TIMEOUT, 2, AsyncDataStream.OutputMode.ORDERED, AsyncRetryStrategy.noRetry(), 5, 100L),
+			IntSerializer.INSTANCE);
+
+		testHarness.setProcessingTime(0L);
+		testHarness.open();
+
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.processElement(new StreamRecord<>(1, 1));
+			testHarness.processElement(new StreamRecord<>(2, 2));
+			testHarness.processElement(new StreamRecord<>(3, 3));
+			testHarness.close();
+		}
+
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)), function.batches);
+		assertEquals(3, testHarness.getOutput().size());
+	}
+
+	/**
+	 * Tests that failed inputs are invoked again after the delays of the retry strategy.
+	 */
+	@Test
+	public void testFailedInputsAreRetried() throws Exception {
+		final FailingAsyncFunction function = new FailingAsyncFunction(2);
+		final MailboxExecutorCapturingFactory factory = new MailboxExecutorCapturingFactory(
+			function, AsyncRetryStrategy.exponentialBackoff(2, 10L, 100L));
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness =
+			new OneInputStreamOperatorTestHarness<>(factory, IntSerializer.INSTANCE);
+
+		testHarness.setProcessingTime(0L);
+		testHarness.open();
+
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.processElement(new StreamRecord<>(1, 1));
+			assertEquals(1, function.attempts);
+
+			// schedules the first retry after 10 ms
+			while (factory.mailboxExecutor.tryYield()) {}
+			testHarness.setProcessingTime(9L);
+			assertEquals(1, function.attempts);
+			testHarness.setProcessingTime(10L);
+			assertEquals(2, function.attempts);
+
+			// schedules the second retry after 20 ms
+			while (factory.mailboxExecutor.tryYield()) {}
+			testHarness.setProcessingTime(29L);
+			assertEquals(2, function.attempts);
+			testHarness.setProcessingTime(30L);
+			assertEquals(3, function.attempts);
+
+			testHarness.close();
+		}
+
+		TestHarnessUtil.assertOutputEquals(
+			"Output was not correct.",
+			new ArrayDeque<>(Collections.singletonList(new StreamRecord<>(2, 1))),
+			testHarness.getOutput());
+	}
+
+	/**
+	 * Tests that the task fails once an input failed in all its retries.
+	 */
+	@Test
+	public void testFailureAfterLastRetry() throws Exception {
+		final FailingAsyncFunction function = new FailingAsyncFunction(Integer.MAX_VALUE);
+		final MailboxExecutorCapturingFactory factory = new MailboxExecutorCapturingFactory(
+			function, AsyncRetryStrategy.fixedDelay(1, 10L));
+		final OneInputStreamOperatorTestHarness<Integer, Integer> testHarness =
+			new OneInputStreamOperatorTestHarness<>(factory, IntSerializer.INSTANCE);
+
+		testHarness.getEnvironment().setExpectedExternalFailureCause(Throwable.class);
+		testHarness.setProcessingTime(0L);
+		testHarness.open();
+
+		synchronized (testHarness.getCheckpointLock()) {
+			testHarness.processElement(new StreamRecord<>(1, 1));
+			while (factory.mailboxExecutor.tryYield()) {}
+			testHarness.setProcessingTime(10L);
+			assertEquals(2, function.attempts);
+
+			testHarness.close();
+		}
+
+		assertTrue(testHarness.getEnvironment().getActualExternalFailureCause().isPresent());
+	}
+
+	/**
+	 * {@link AsyncBatchFunction} which records the batches and completes each input with its
+	 * double.
+	 */
+	private static class DoublingAsyncBatchFunction implements AsyncBatchFunction<Integer, Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<List<Integer>> batches = new ArrayList<>();
+
+		@Override
+		public void asyncInvokeBatch(List<Integer> inputs, List<ResultFuture<Integer>> resultFutures) {
+			batches.add(new ArrayList<>(inputs));
+			for (int i = 0; i < inputs.size(); i++) {
+				resultFutures.get(i).complete(Collections.singletonList(inputs.get(i) * 2));
+			}
+		}
+	}
+
+	/**
+	 * {@link AsyncFunction} which fails the given number of attempts before it completes an input
+	 * with its double.
+	 */
+	private static class FailingAsyncFunction implements AsyncFunction<Integer, Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int numFailingAttempts;
+
+		private int attempts;
+
+		FailingAsyncFunction(int numFailingAttempts) {
+			this.numFailingAttempts = numFailingAttempts;
+		}
+
+		@Override
+		public void asyncInvoke(Integer input, ResultFuture<Integer> resultFuture) {
+			if (attempts++ < numFailingAttempts) {
+				resultFuture.completeExceptionally(new Exception("Test exception"));
+			} else {
+				resultFuture.complete(Collections.singletonList(input * 2));
+			}
+		}
+	}
+
+	/**
+	 * {@link AsyncWaitOperatorFactory} which gives the test access to the mailbox, in which the
+	 * retries are scheduled.
+	 */
+	private static class MailboxExecutorCapturingFactory extends AsyncWaitOperatorFactory<Integer, Integer> {
+
+		private MailboxExecutor mailboxExecutor;
+
+		MailboxExecutorCapturingFactory(AsyncFunction<Integer, Integer> function, AsyncRetryStrategy retryStrategy) {
+			super(function, TIMEOUT, 2, AsyncDataStream.OutputMode.ORDERED, retryStrategy, 1, 0L);
+		}
+
+		@Override
+		public void setMailboxExecutor(MailboxExecutor mailboxExecutor) {
+			super.setMailboxExecutor(mailboxExecutor);
+			this.mailboxExecutor = mailboxExecutor;
+		}
+	}
+
 	private static <OUT> OneInputStreamOperatorTestHarness<Integer, OUT> createTestHarness(
 			AsyncFunction<Integer, OUT> function,
 			long timeout,
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.source;
+
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Source} which creates {@link MockSourceReader MockSourceReaders}, and whose enumerator
+ * hands out its splits to the readers when they register.
+ */
+public class MockSource implements Source<Integer, MockSourceSplit, List<MockSourceSplit>> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<MockSourceSplit> splits;
+
+	private transient MockSourceReader lastCreatedReader;
+
+	public MockSource(List<MockSourceSplit> splits) {
+		this.splits = splits;
+	}
+
+	@Override
+	public Boundedness getBoundedness() {
+		return Boundedness.CONTINUOUS_UNBOUNDED;
+	}
+
+	@Override
+	public SourceReader<Integer, MockSourceSplit> createReader(SourceReaderContext readerContext) {
+		lastCreatedReader = new MockSourceReader();
+		return lastCreatedReader;
+	}
+
+	@Override
+	public SplitEnumerator<MockSourceSplit, List<MockSourceSplit>> createEnumerator(
+			SplitEnumeratorContext<MockSourceSplit> enumContext) {
+		return new Enumerator(enumContext, new ArrayList<>(splits));
+	}
+
+	@Override
+	public SplitEnumerator<MockSourceSplit, List<MockSourceSplit>> restoreEnumerator(
+			SplitEnumeratorContext<MockSourceSplit> enumContext,
+			List<MockSourceSplit> checkpoint) {
+		return new Enumerator(enumContext, checkpoint);
+	}
+
+	@Override
+	public SimpleVersionedSerializer<MockSourceSplit> getSplitSerializer() {
+		return new MockSourceSplit.Serializer();
+	}
+
+	@Override
+	public SimpleVersionedSerializer<List<MockSourceSplit>> getEnumeratorCheckpointSerializer() {
+		return new CheckpointSerializer();
+	}
+
+	public MockSourceReader getLastCreatedReader() {
+		return lastCreatedReader;
+	}
+
+	// ------------------------------------------------------------------------
+
+	private static final class Enumerator implements SplitEnumerator<MockSourceSplit, List<MockSourceSplit>> {
+
+		private final SplitEnumeratorContext<MockSourceSplit> context;
+
+		private final List<MockSourceSplit> unassignedSplits;
+
+		Enumerator(SplitEnumeratorContext<MockSourceSplit> context, List<MockSourceSplit> unassignedSplits) {
+			this.context = context;
+			this.unassignedSplits = unassignedSplits;
+		}
+
+		@Override
+		public void start() {}
+
+		@Override
+		public void addSplitsBack(List<MockSourceSplit> splits, int subtaskId) {
+			unassignedSplits.addAll(splits);
+		}
+
+		@Override
+		public void addReader(int subtaskId) {
+			if (!unassignedSplits.isEmpty()) {
+				context.assignSplits(new SplitsAssignment<>(
+					Collections.singletonMap(subtaskId, new ArrayList<>(unassignedSplits))));
+				unassignedSplits.clear();
+			}
+		}
+
+		@Override
+		public List<MockSourceSplit> snapshotState() {
+			return new ArrayList<>(unassignedSplits);
+		}
+
+		@Override
+		public void close() {}
+	}
+
+	private static final class CheckpointSerializer implements SimpleVersionedSerializer<List<MockSourceSplit>> {
+
+		private final MockSourceSplit.Serializer splitSerializer = new MockSourceSplit.Serializer();
+
+		@Override
+		public int getVersion() {
+			return 1;
+		}
+
+		@Override
+		public byte[] serialize(List<MockSourceSplit> splits) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				out.writeInt(splits.size());
+				for (MockSourceSplit split : splits) {
+					byte[] serializedSplit = splitSerializer.serialize(split);
+					out.writeInt(serializedSplit.length);
+					out.write(serializedSplit);
+				}
+			}
+			return bytes.toByteArray();
+		}
+
+		@Override
+		public List<MockSourceSplit> deserialize(int version, byte[] serialized) throws IOException {
+			try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+				int numSplits = in.readInt();
+				List<MockSourceSplit> splits = new ArrayList<>(numSplits);
+				for (int i = 0; i < numSplits; i++) {
+					byte[] serializedSplit = new byte[in.readInt()];
+					in.readFully(serializedSplit);
+					splits.add(splitSerializer.deserialize(version, serializedSplit));
+				}
+				return splits;
+			}
+		}
+	}
+}
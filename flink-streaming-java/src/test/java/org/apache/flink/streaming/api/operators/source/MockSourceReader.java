@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.source;
+
+import org.apache.flink.api.connector.source.ReaderOutput;
+import org.apache.flink.api.connector.source.SourceEvent;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.core.io.InputStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A reader which reads the integers of its {@link MockSourceSplit MockSourceSplits} in turns,
+ * through the output of each split. The integers are emitted with themselves as timestamp.
+ */
+public class MockSourceReader implements SourceReader<Integer, MockSourceSplit> {
+
+	private final List<MockSourceSplit> assignedSplits = new ArrayList<>();
+
+	private final List<SourceEvent> receivedSourceEvents = new ArrayList<>();
+
+	private final Set<String> pausedSplits = new HashSet<>();
+
+	/** The index of the split to read the next record from. */
+	private int nextSplitIndex;
+
+	private CompletableFuture<Void> availability = new CompletableFuture<>();
+
+	private boolean started;
+
+	private boolean closed;
+
+	@Override
+	public void start() {
+		started = true;
+	}
+
+	@Override
+	public InputStatus pollNext(ReaderOutput<Integer> output) throws Exception {
+		for (int i = 0; i < assignedSplits.size(); i++) {
+			final MockSourceSplit split = assignedSplits.get(nextSplitIndex++ % assignedSplits.size());
+			if (!split.isFinished() && !pausedSplits.contains(split.splitId())) {
+				final int record = split.readNext();
+				output.createOutputForSplit(split.splitId()).collect(record, record);
+				if (split.isFinished()) {
+					output.releaseOutputForSplit(split.splitId());
+				}
+				return InputStatus.MORE_AVAILABLE;
+			}
+		}
+
+		if (availability.isDone()) {
+			availability = new CompletableFuture<>();
+		}
+		return InputStatus.NOTHING_AVAILABLE;
+	}
+
+	@Override
+	public CompletableFuture<Void> isAvailable() {
+		return availability;
+	}
+
+	@Override
+	public void addSplits(List<MockSourceSplit> splits) {
+		assignedSplits.addAll(splits);
+		availability.complete(null);
+	}
+
+	@Override
+	public void handleSourceEvents(SourceEvent sourceEvent) {
+		receivedSourceEvents.add(sourceEvent);
+	}
+
+	@Override
+	public void pauseOrResumeSplits(Collection<String> splitsToPause, Collection<String> splitsToResume) {
+		pausedSplits.addAll(splitsToPause);
+		pausedSplits.removeAll(splitsToResume);
+		availability.complete(null);
+	}
+
+	@Override
+	public List<MockSourceSplit> snapshotState() {
+		final List<MockSourceSplit> splits = new ArrayList<>();
+		for (MockSourceSplit split : assignedSplits) {
+			splits.add(new MockSourceSplit(split.splitId(), split.getNext(), split.getEnd()));
+		}
+		return splits;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	public List<MockSourceSplit> getAssignedSplits() {
+		return assignedSplits;
+	}
+
+	public List<SourceEvent> getReceivedSourceEvents() {
+		return receivedSourceEvents;
+	}
+
+	public Set<String> getPausedSplits() {
+		return pausedSplits;
+	}
+
+	public boolean isStarted() {
+		return started;
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+}
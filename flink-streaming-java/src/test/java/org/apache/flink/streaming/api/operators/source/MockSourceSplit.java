@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.source;
+
+import org.apache.flink.api.connector.source.SourceSplit;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A split which covers a range of integers, and remembers the next integer to read.
+ */
+public class MockSourceSplit implements SourceSplit, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String id;
+
+	private final int end;
+
+	private int next;
+
+	public MockSourceSplit(String id, int start, int end) {
+		this.id = id;
+		this.next = start;
+		this.end = end;
+	}
+
+	@Override
+	public String splitId() {
+		return id;
+	}
+
+	public boolean isFinished() {
+		return next >= end;
+	}
+
+	public int getNext() {
+		return next;
+	}
+
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Returns the next integer of the split and advances the split.
+	 */
+	public int readNext() {
+		return next++;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		MockSourceSplit that = (MockSourceSplit) o;
+		return end == that.end && next == that.next && id.equals(that.id);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, end, next);
+	}
+
+	@Override
+	public String toString() {
+		return "MockSourceSplit(" + id + ", " + next + ", " + end + ')';
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * The serializer of the {@link MockSourceSplit}.
+	 */
+	public static final class Serializer implements SimpleVersionedSerializer<MockSourceSplit> {
+
+		@Override
+		public int getVersion() {
+			return 1;
+		}
+
+		@Override
+		public byte[] serialize(MockSourceSplit split) throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				out.writeUTF(split.id);
+				out.writeInt(split.next);
+				out.writeInt(split.end);
+			}
+			return bytes.toByteArray();
+		}
+
+		@Override
+		public MockSourceSplit deserialize(int version, byte[] serialized) throws IOException {
+			try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(serialized))) {
+				return new MockSourceSplit(in.readUTF(), in.readInt(), in.readInt());
+			}
+		}
+	}
+}
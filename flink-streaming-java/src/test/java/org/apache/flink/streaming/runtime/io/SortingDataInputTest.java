@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.io;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.api.java.typeutils.runtime.TupleSerializer;
+import org.apache.flink.core.io.InputStatus;
+import org.apache.flink.runtime.io.disk.iomanager.IOManagerAsync;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.operators.testutils.DummyInvokable;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the {@link SortingDataInput}.
+ */
+public class SortingDataInputTest extends TestLogger {
+
+	@Test
+	public void testSortsRecordsByKeyAndTimestamp() throws Exception {
+		final List<StreamElement> input = Arrays.asList(
+			new StreamRecord<>(Tuple2.of("b", 1), 3L),
+			new Watermark(3L),
+			new StreamRecord<>(Tuple2.of("a", 2), 5L),
+			new StreamRecord<>(Tuple2.of("b", 3), 1L),
+			StreamStatus.IDLE,
+			new StreamRecord<>(Tuple2.of("a", 4), 2L),
+			new Watermark(5L),
+			new StreamRecord<>(Tuple2.of("c", 5), 4L));
+
+		final List<Object> output = sort(input);
+
+		assertEquals(
+			Arrays.asList(
+				new StreamRecord<>(Tuple2.of("a", 4), 2L),
+				new StreamRecord<>(Tuple2.of("a", 2), 5L),
+				new StreamRecord<>(Tuple2.of("b", 3), 1L),
+				new StreamRecord<>(Tuple2.of("b", 1), 3L),
+				new StreamRecord<>(Tuple2.of("c", 5), 4L),
+				Watermark.MAX_WATERMARK),
+			output);
+	}
+
+	@Test
+	public void testEmptyInput() throws Exception {
+		assertEquals(Arrays.asList(Watermark.MAX_WATERMARK), sort(new ArrayList<>()));
+	}
+
+	@Test
+	public void testSortsRecordsOfManyKeys() throws Exception {
+		final List<StreamElement> input = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			input.add(new StreamRecord<>(Tuple2.of(String.valueOf(i % 100), i), i));
+		}
+
+		final List<Object> output = sort(input);
+
+		assertEquals(input.size() + 1, output.size());
+		String previousKey = null;
+		long previousTimestamp = Long.MIN_VALUE;
+		int numKeys = 0;
+		for (Object element : output.subList(0, input.size())) {
+			final StreamRecord<Tuple2<String, Integer>> record = (StreamRecord<Tuple2<String, Integer>>) element;
+			if (!record.getValue().f0.equals(previousKey)) {
+				previousKey = record.getValue().f0;
+				numKeys++;
+			} else {
+				assertTrue(record.getTimestamp() > previousTimestamp);
+			}
+			previousTimestamp = record.getTimestamp();
+		}
+		assertEquals(100, numKeys);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> sort(List<StreamElement> elements) throws Exception {
+		final MemoryManager memoryManager = new MemoryManager(MemoryManager.DEFAULT_PAGE_SIZE * 64, 1);
+		final TupleSerializer<Tuple2<String, Integer>> serializer = new TupleSerializer<>(
+			(Class<Tuple2<String, Integer>>) (Class<?>) Tuple2.class,
+			new TypeSerializer<?>[] {StringSerializer.INSTANCE, IntSerializer.INSTANCE});
+
+		try (IOManagerAsync ioManager = new IOManagerAsync()) {
+			final List<Object> output = new ArrayList<>();
+			try (SortingDataInput<Tuple2<String, Integer>, String> sortingInput = new SortingDataInput<>(
+					new CollectionDataInput<>(elements),
+					serializer,
+					StringSerializer.INSTANCE,
+					value -> value.f0,
+					memoryManager,
+					ioManager,
+					new DummyInvokable(),
+					1.0,
+					128,
+					0.8f,
+					false)) {
+
+				final CollectingDataOutput<Tuple2<String, Integer>> dataOutput = new CollectingDataOutput<>(output);
+				while (sortingInput.emitNext(dataOutput) != InputStatus.END_OF_INPUT) {
+				}
+				assertTrue(sortingInput.isFinished());
+			}
+			return output;
+		} finally {
+			memoryManager.shutdown();
+		}
+	}
+
+	/**
+	 * A {@link StreamTaskInput} that emits the given elements, alternating with unavailability.
+	 */
+	private static final class CollectionDataInput<T> implements StreamTaskInput<T> {
+
+		private final Queue<StreamElement> elements;
+
+		private boolean available;
+
+		CollectionDataInput(List<StreamElement> elements) {
+			this.elements = new ArrayDeque<>(elements);
+		}
+
+		@Override
+		public InputStatus emitNext(DataOutput<T> output) throws Exception {
+			if (!available) {
+				available = true;
+				return InputStatus.NOTHING_AVAILABLE;
+			}
+			available = false;
+
+			final StreamElement element = elements.poll();
+			if (element == null) {
+				return InputStatus.END_OF_INPUT;
+			} else if (element.isRecord()) {
+				output.emitRecord(element.asRecord());
+			} else if (element.isWatermark()) {
+				output.emitWatermark(element.asWatermark());
+			} else if (element.isStreamStatus()) {
+				output.emitStreamStatus(element.asStreamStatus());
+			} else {
+				output.emitLatencyMarker(element.asLatencyMarker());
+			}
+			return InputStatus.MORE_AVAILABLE;
+		}
+
+		@Override
+		public int getInputIndex() {
+			return 0;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return elements.isEmpty();
+		}
+
+		@Override
+		public CompletableFuture<?> isAvailable() {
+			return AVAILABLE;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * A {@link PushingAsyncDataInput.DataOutput} that collects the emitted elements.
+	 */
+	private static final class CollectingDataOutput<T> implements PushingAsyncDataInput.DataOutput<T> {
+
+		private final List<Object> output;
+
+		CollectingDataOutput(List<Object> output) {
+			this.output = output;
+		}
+
+		@Override
+		public void emitRecord(StreamRecord<T> streamRecord) {
+			output.add(streamRecord);
+		}
+
+		@Override
+		public void emitWatermark(Watermark watermark) {
+			output.add(watermark);
+		}
+
+		@Override
+		public void emitStreamStatus(StreamStatus streamStatus) {
+			output.add(streamStatus);
+		}
+
+		@Override
+		public void emitLatencyMarker(LatencyMarker latencyMarker) {
+			output.add(latencyMarker);
+		}
+	}
+}
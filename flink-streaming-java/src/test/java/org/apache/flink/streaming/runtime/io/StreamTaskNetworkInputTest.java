@@ -19,6 +19,7 @@
 package org.apache.flink.streaming.runtime.io;
 
 import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.core.io.InputStatus;
 import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.io.disk.iomanager.IOManagerAsync;
 import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
@@ -89,6 +90,7 @@ public class StreamTaskNetworkInputTest {
 				new EmptyBufferStorage(),
 				new CheckpointBarrierTracker(1)),
 			LongSerializer.INSTANCE,
+			false,
 			ioManager,
 			new StatusWatermarkValve(1, output),
 			0);
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.metrics;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.java.typeutils.runtime.kryo.KryoSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MetricOptions;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputViewStreamWrapper;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for the {@link ProfilingSerializer}.
+ */
+public class ProfilingSerializerTest {
+
+	private static final String LONG_GROUP = "operator.serialization.java.lang.Long.";
+
+	@Test
+	public void testDisabledByDefault() {
+		TypeSerializer<Long> serializer = new ProfilingSerializer.Factory(new Configuration())
+			.wrapIfEnabled(LongSerializer.INSTANCE, new UnregisteredMetricsGroup());
+
+		assertSame(LongSerializer.INSTANCE, serializer);
+	}
+
+	@Test
+	public void testSamplesSerialization() throws Exception {
+		Map<String, Histogram> histograms = new HashMap<>();
+		TypeSerializer<Long> serializer = createSerializer(histograms);
+
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		for (long i = 0; i < 4; i++) {
+			serializer.serialize(i, out);
+		}
+
+		assertEquals(2, histograms.get(LONG_GROUP + "serializationTimeNanos").getCount());
+		assertEquals(2, histograms.get(LONG_GROUP + "serializedBytes").getCount());
+		assertEquals(8, histograms.get(LONG_GROUP + "serializedBytes").getStatistics().getMax());
+
+		DataInputDeserializer in = new DataInputDeserializer(out.getSharedBuffer(), 0, out.length());
+		for (long i = 0; i < 4; i++) {
+			assertEquals(i, (long) serializer.deserialize(in));
+		}
+
+		assertEquals(2, histograms.get(LONG_GROUP + "deserializationTimeNanos").getCount());
+		assertEquals(2, histograms.get(LONG_GROUP + "deserializedBytes").getCount());
+		assertEquals(8, histograms.get(LONG_GROUP + "deserializedBytes").getStatistics().getMin());
+	}
+
+	@Test
+	public void testMeasuresBytesOnlyForPositionedViews() throws Exception {
+		Map<String, Histogram> histograms = new HashMap<>();
+		TypeSerializer<Long> serializer = createSerializer(histograms);
+
+		DataOutputViewStreamWrapper out = new DataOutputViewStreamWrapper(new ByteArrayOutputStream());
+		for (long i = 0; i < 4; i++) {
+			serializer.serialize(i, out);
+		}
+
+		assertEquals(2, histograms.get(LONG_GROUP + "serializationTimeNanos").getCount());
+		assertNull(histograms.get(LONG_GROUP + "serializedBytes"));
+	}
+
+	@Test
+	public void testDuplicatesShareHistograms() throws Exception {
+		Map<String, Histogram> histograms = new HashMap<>();
+		ProfilingSerializer<Long> serializer = new ProfilingSerializer<>(
+			new KryoSerializer<>(Long.class, new ExecutionConfig()),
+			1,
+			new ProfilingSerializer.Histograms(new CapturingMetricGroup("operator.serialization", histograms), 16));
+		TypeSerializer<Long> duplicate = serializer.duplicate();
+
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		serializer.serialize(1L, out);
+		duplicate.serialize(2L, out);
+
+		assertNotSame(serializer, duplicate);
+		assertEquals(serializer, duplicate);
+		assertEquals(2, histograms.get(LONG_GROUP + "serializationTimeNanos").getCount());
+	}
+
+	@Test
+	public void testSerializersOfOperatorShareHistograms() throws Exception {
+		Map<String, Histogram> histograms = new HashMap<>();
+		MetricGroup operatorMetricGroup = new CapturingMetricGroup("operator", histograms);
+		ProfilingSerializer.Factory factory = createFactory();
+
+		// two outputs of the same type, which would otherwise register the same names twice
+		TypeSerializer<Long> first = factory.wrapIfEnabled(LongSerializer.INSTANCE, operatorMetricGroup);
+		TypeSerializer<Long> second = factory.wrapIfEnabled(LongSerializer.INSTANCE, operatorMetricGroup);
+
+		DataOutputSerializer out = new DataOutputSerializer(64);
+		for (long i = 0; i < 2; i++) {
+			first.serialize(i, out);
+			second.serialize(i, out);
+		}
+
+		assertEquals(2, histograms.get(LONG_GROUP + "serializationTimeNanos").getCount());
+	}
+
+	private static TypeSerializer<Long> createSerializer(Map<String, Histogram> histograms) {
+		return createFactory().wrapIfEnabled(LongSerializer.INSTANCE, new CapturingMetricGroup("operator", histograms));
+	}
+
+	private static ProfilingSerializer.Factory createFactory() {
+		Configuration config = new Configuration();
+		config.setInteger(MetricOptions.SERIALIZATION_SAMPLE_INTERVAL, 2);
+		return new ProfilingSerializer.Factory(config);
+	}
+
+	/**
+	 * A metric group that captures the histograms that are registered in it and its subgroups, and
+	 * rejects names which are already registered.
+	 */
+	private static final class CapturingMetricGroup extends UnregisteredMetricsGroup {
+
+		private final String scope;
+
+		private final Map<String, Histogram> histograms;
+
+		CapturingMetricGroup(String scope, Map<String, Histogram> histograms) {
+			this.scope = scope;
+			this.histograms = histograms;
+		}
+
+		@Override
+		public MetricGroup addGroup(String name) {
+			return new CapturingMetricGroup(scope + '.' + name, histograms);
+		}
+
+		@Override
+		public <H extends Histogram> H histogram(String name, H histogram) {
+			assertNull("Name collision: " + name, histograms.put(scope + '.' + name, histogram));
+			return histogram;
+		}
+	}
+}
@@ -356,12 +356,57 @@ public class MergingWindowSetTest {
 		assertEquals(new TimeWindow(0, 13), windowSet.addWindow(new TimeWindow(0, 13), mergeFunction));
 		assertTrue(mergeFunction.hasMerged());
 		assertThat(mergeFunction.mergedStateWindows(), anyOf(
-				containsInAnyOrder(new TimeWindow(0, 3), new TimeWindow(5, 8)),
-				containsInAnyOrder(new TimeWindow(0, 3), new TimeWindow(10, 13)),
+				containsInAnyOrder(new TimeWindow(1, 3), new TimeWindow(5, 8)),
+				containsInAnyOrder(new TimeWindow(1, 3), new TimeWindow(10, 13)),
 				containsInAnyOrder(new TimeWindow(5, 8), new TimeWindow(10, 13))));
 		assertThat(windowSet.getStateWindow(new TimeWindow(0, 13)), anyOf(is(new TimeWindow(1, 3)), is(new TimeWindow(5, 8)), is(new TimeWindow(10, 13))));
 	}
 
+	/**
+	 * Verifies that the state window of the widest merged window is kept when sessions merge, so
+	 * that the state of the shorter sessions is merged into the state of the longest one.
+	 */
+	@Test
+	public void testMergeKeepsStateWindowOfWidestWindow() throws Exception {
+		@SuppressWarnings("unchecked")
+		ListState<Tuple2<TimeWindow, TimeWindow>> mockState = mock(ListState.class);
+
+		MergingWindowSet<TimeWindow> windowSet = new MergingWindowSet<>(EventTimeSessionWindows.withGap(Time.milliseconds(3)), mockState);
+
+		TestingMergeFunction mergeFunction = new TestingMergeFunction();
+
+		// a short session followed by a long one
+
+		mergeFunction.reset();
+		windowSet.addWindow(new TimeWindow(0, 3), mergeFunction);
+		mergeFunction.reset();
+		windowSet.addWindow(new TimeWindow(6, 9), mergeFunction);
+		mergeFunction.reset();
+		windowSet.addWindow(new TimeWindow(8, 11), mergeFunction);
+		mergeFunction.reset();
+		windowSet.addWindow(new TimeWindow(10, 13), mergeFunction);
+		assertEquals(new TimeWindow(6, 9), windowSet.getStateWindow(new TimeWindow(6, 13)));
+
+		mergeFunction.reset();
+		assertEquals(new TimeWindow(0, 13), windowSet.addWindow(new TimeWindow(2, 7), mergeFunction));
+		assertTrue(mergeFunction.hasMerged());
+		assertEquals(new TimeWindow(6, 9), mergeFunction.stateWindow());
+		assertThat(mergeFunction.mergedStateWindows(), containsInAnyOrder(new TimeWindow(0, 3)));
+
+		// a long session followed by a short one
+
+		mergeFunction.reset();
+		windowSet.addWindow(new TimeWindow(20, 23), mergeFunction);
+		mergeFunction.reset();
+		windowSet.addWindow(new TimeWindow(27, 30), mergeFunction);
+
+		mergeFunction.reset();
+		assertEquals(new TimeWindow(0, 30), windowSet.addWindow(new TimeWindow(12, 28), mergeFunction));
+		assertTrue(mergeFunction.hasMerged());
+		assertEquals(new TimeWindow(6, 9), mergeFunction.stateWindow());
+		assertThat(mergeFunction.mergedStateWindows(), containsInAnyOrder(new TimeWindow(20, 23), new TimeWindow(27, 30)));
+	}
+
 	@Test
 	public void testRestoreFromState() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -19,8 +19,10 @@
 package org.apache.flink.streaming.runtime.operators.windowing;
 
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.AggregateFunction;
 import org.apache.flink.api.common.functions.FoldFunction;
 import org.apache.flink.api.common.functions.ReduceFunction;
+import org.apache.flink.api.common.state.AggregatingStateDescriptor;
 import org.apache.flink.api.common.state.FoldingStateDescriptor;
 import org.apache.flink.api.common.state.ListStateDescriptor;
 import org.apache.flink.api.common.state.ReducingStateDescriptor;
@@ -236,6 +238,98 @@ public class WindowOperatorTest extends TestLogger {
 		Assert.assertEquals("Close was not called.", 2, closeCalled.get());
 	}
 
+	@Test
+	public void testSliceSize() throws Exception {
+		ReducingStateDescriptor<Tuple2<String, Integer>> reducingStateDesc = new ReducingStateDescriptor<>("window-contents",
+				new SumReducer(),
+				STRING_INT_TUPLE.createSerializer(new ExecutionConfig()));
+		ListStateDescriptor<Tuple2<String, Integer>> listStateDesc = new ListStateDescriptor<>("window-contents",
+				STRING_INT_TUPLE.createSerializer(new ExecutionConfig()));
+
+		assertEquals(1000L, WindowOperator.getSliceSize(
+			SlidingEventTimeWindows.of(Time.seconds(3), Time.seconds(1)), EventTimeTrigger.create(), reducingStateDesc));
+		assertEquals(1000L, WindowOperator.getSliceSize(
+			SlidingEventTimeWindows.of(Time.seconds(3), Time.seconds(2)), EventTimeTrigger.create(), reducingStateDesc));
+		assertEquals(2000L, WindowOperator.getSliceSize(
+			SlidingEventTimeWindows.of(Time.seconds(6), Time.seconds(4)), EventTimeTrigger.create(), reducingStateDesc));
+
+		// windows that do not overlap
+		assertEquals(0L, WindowOperator.getSliceSize(
+			SlidingEventTimeWindows.of(Time.seconds(2), Time.seconds(2)), EventTimeTrigger.create(), reducingStateDesc));
+		// contents that cannot be combined
+		assertEquals(0L, WindowOperator.getSliceSize(
+			SlidingEventTimeWindows.of(Time.seconds(3), Time.seconds(1)), EventTimeTrigger.create(), listStateDesc));
+		// triggers that may fire or purge at any time
+		assertEquals(0L, WindowOperator.getSliceSize(
+			SlidingEventTimeWindows.of(Time.seconds(3), Time.seconds(1)), PurgingTrigger.of(EventTimeTrigger.create()), reducingStateDesc));
+		assertEquals(0L, WindowOperator.getSliceSize(
+			TumblingEventTimeWindows.of(Time.seconds(3)), EventTimeTrigger.create(), reducingStateDesc));
+	}
+
+	@Test
+	public void testSlicedSlidingEventTimeWindowsWithLateness() throws Exception {
+		final long lateness = 1000;
+
+		AggregatingStateDescriptor<Tuple2<String, Integer>, Tuple2<String, Integer>, Tuple2<String, Integer>> stateDesc =
+			new AggregatingStateDescriptor<>("window-contents",
+				new MutableSumAggregator(),
+				STRING_INT_TUPLE.createSerializer(new ExecutionConfig()));
+
+		WindowOperator<String, Tuple2<String, Integer>, Tuple2<String, Integer>, Tuple2<String, Integer>, TimeWindow> operator =
+			new WindowOperator<>(
+				SlidingEventTimeWindows.of(Time.of(3, TimeUnit.SECONDS), Time.of(2, TimeUnit.SECONDS)),
+				new TimeWindow.Serializer(),
+				new TupleKeySelector(),
+				BasicTypeInfo.STRING_TYPE_INFO.createSerializer(new ExecutionConfig()),
+				stateDesc,
+				new InternalSingleValueWindowFunction<>(new PassThroughWindowFunction<String, TimeWindow, Tuple2<String, Integer>>()),
+				EventTimeTrigger.create(),
+				lateness,
+				lateOutputTag);
+
+		KeyedOneInputStreamOperatorTestHarness<String, Tuple2<String, Integer>, Tuple2<String, Integer>> testHarness =
+			new KeyedOneInputStreamOperatorTestHarness<>(operator, new TupleKeySelector(), BasicTypeInfo.STRING_TYPE_INFO);
+
+		testHarness.open();
+
+		ConcurrentLinkedQueue<Object> expected = new ConcurrentLinkedQueue<>();
+
+		testHarness.processElement(new StreamRecord<>(new Tuple2<>("key1", 1), 500));
+		testHarness.processElement(new StreamRecord<>(new Tuple2<>("key1", 1), 2500));
+		testHarness.processElement(new StreamRecord<>(new Tuple2<>("key1", 1), 3500));
+
+		// each element is stored once, in the slice of one second that contains it
+		assertEquals(3, testHarness.numKeyedStateEntries());
+
+		testHarness.processWatermark(new Watermark(999));
+		expected.add(new StreamRecord<>(new Tuple2<>("key1", 1), 999));
+		expected.add(new Watermark(999));
+
+		testHarness.processWatermark(new Watermark(2999));
+		expected.add(new StreamRecord<>(new Tuple2<>("key1", 2), 2999));
+		expected.add(new Watermark(2999));
+
+		// the late element fires the window [0, 3000) again and is part of the window [2000, 5000)
+		testHarness.processElement(new StreamRecord<>(new Tuple2<>("key1", 1), 2900));
+		expected.add(new StreamRecord<>(new Tuple2<>("key1", 3), 2999));
+
+		testHarness.processWatermark(new Watermark(4999));
+		expected.add(new StreamRecord<>(new Tuple2<>("key1", 3), 4999));
+		expected.add(new Watermark(4999));
+
+		// the slices are cleared once the last window that contains them is cleaned up
+		assertEquals(2, testHarness.numKeyedStateEntries());
+
+		testHarness.processWatermark(new Watermark(5999));
+		expected.add(new Watermark(5999));
+
+		assertEquals(0, testHarness.numKeyedStateEntries());
+
+		TestHarnessUtil.assertOutputEqualsSorted("Output was not correct.", expected, testHarness.getOutput(), new Tuple2ResultSortComparator());
+
+		testHarness.close();
+	}
+
 	private void testTumblingEventTimeWindows(OneInputStreamOperator<Tuple2<String, Integer>, Tuple2<String, Integer>> operator) throws Exception {
 		OneInputStreamOperatorTestHarness<Tuple2<String, Integer>, Tuple2<String, Integer>> testHarness =
 			createTestHarness(operator);
@@ -2555,6 +2649,37 @@ public class WindowOperatorTest extends TestLogger {
 		}
 	}
 
+	/**
+	 * Aggregator that modifies its accumulators, to verify that the slices are not modified when
+	 * they are combined.
+	 */
+	private static class MutableSumAggregator implements AggregateFunction<Tuple2<String, Integer>, Tuple2<String, Integer>, Tuple2<String, Integer>> {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public Tuple2<String, Integer> createAccumulator() {
+			return new Tuple2<>("", 0);
+		}
+
+		@Override
+		public Tuple2<String, Integer> add(Tuple2<String, Integer> value, Tuple2<String, Integer> accumulator) {
+			accumulator.f0 = value.f0;
+			accumulator.f1 += value.f1;
+			return accumulator;
+		}
+
+		@Override
+		public Tuple2<String, Integer> getResult(Tuple2<String, Integer> accumulator) {
+			return new Tuple2<>(accumulator.f0, accumulator.f1);
+		}
+
+		@Override
+		public Tuple2<String, Integer> merge(Tuple2<String, Integer> a, Tuple2<String, Integer> b) {
+			a.f1 += b.f1;
+			return a;
+		}
+	}
+
 	private static class SumReducer implements ReduceFunction<Tuple2<String, Integer>> {
 		private static final long serialVersionUID = 1L;
 		@Override
@@ -25,10 +25,12 @@ import org.apache.flink.core.memory.DataInputDeserializer;
 import org.apache.flink.core.memory.DataOutputSerializer;
 import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
 
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -95,6 +97,67 @@ public class StreamElementSerializerTest {
 		assertEquals(latencyMarker, serializeAndDeserialize(latencyMarker, serializer));
 	}
 
+	@Test
+	public void testCompactSerialization() throws Exception {
+		final StreamElementSerializer<String> serializer =
+				new StreamElementSerializer<String>(StringSerializer.INSTANCE, true);
+
+		StreamRecord<String> withoutTimestamp = new StreamRecord<>("test 1 2 分享基督耶穌的愛給們，開拓雙贏!");
+		assertEquals(withoutTimestamp, serializeAndDeserialize(withoutTimestamp, serializer));
+
+		long[] timestamps = {
+			0L, 77L, -1L, 1577836800000L, 1577836800001L, 1577836799999L, 1600000000000L,
+			1L << 60, -(1L << 60), Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1577836800000L};
+		for (long timestamp : timestamps) {
+			StreamRecord<String> withTimestamp = new StreamRecord<>("one more test 拓 們 分", timestamp);
+			assertEquals(withTimestamp, serializeAndDeserialize(withTimestamp, serializer));
+		}
+
+		Random random = new Random(42L);
+		for (int i = 0; i < 1000; i++) {
+			StreamRecord<String> withTimestamp = new StreamRecord<>("他", random.nextLong() >> random.nextInt(64));
+			assertEquals(withTimestamp, serializeAndDeserialize(withTimestamp, serializer));
+		}
+
+		Watermark negativeWatermark = new Watermark(-4647654567676555876L);
+		assertEquals(negativeWatermark, serializeAndDeserialize(negativeWatermark, serializer));
+
+		assertEquals(StreamStatus.IDLE, serializeAndDeserialize(StreamStatus.IDLE, serializer));
+
+		LatencyMarker latencyMarker = new LatencyMarker(System.currentTimeMillis(), new OperatorID(-1, -1), 1);
+		assertEquals(latencyMarker, serializeAndDeserialize(latencyMarker, serializer));
+	}
+
+	@Test
+	public void testCompactEncodingOfTimestamps() throws Exception {
+		final StreamElementSerializer<Long> serializer =
+				new StreamElementSerializer<Long>(LongSerializer.INSTANCE, true);
+
+		// the timestamps of the current years take six bytes, which include the tag
+		DataOutputSerializer output = new DataOutputSerializer(32);
+		serializer.serialize(new StreamRecord<>(1L, 1600000000000L), output);
+		assertEquals(6 + 8, output.length());
+
+		// timestamps close to the base take fewer bytes
+		output.clear();
+		serializer.serialize(new StreamRecord<>(1L, 1577836800005L), output);
+		assertEquals(1 + 8, output.length());
+
+		output.clear();
+		serializer.serialize(new StreamRecord<>(1L), output);
+		assertEquals(1 + 8, output.length());
+
+		// timestamps far from the base are written in full
+		output.clear();
+		serializer.serialize(new StreamRecord<>(1L, Long.MIN_VALUE), output);
+		assertEquals(1 + 8 + 8, output.length());
+
+		StreamRecord<Long> reuse = new StreamRecord<>(0L);
+		StreamElement deserialized = serializer.deserialize(
+			reuse, new DataInputDeserializer(output.getByteArray(), 0, output.length()));
+		assertEquals(new StreamRecord<>(1L, Long.MIN_VALUE), deserialized);
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <T, X extends StreamElement> X serializeAndDeserialize(
 			X record,
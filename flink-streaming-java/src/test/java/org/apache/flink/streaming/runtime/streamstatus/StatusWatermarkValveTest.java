@@ -20,6 +20,7 @@ package org.apache.flink.streaming.runtime.streamstatus;
 
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.io.PushingAsyncDataInput;
+import org.apache.flink.streaming.runtime.metrics.IdleInputChannelsGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
@@ -406,6 +407,30 @@ public class StatusWatermarkValveTest {
 		assertEquals(null, valveOutput.popLastSeenOutput());
 	}
 
+	/**
+	 * Tests that the idle input channels of valves sharing a gauge are counted.
+	 */
+	@Test
+	public void testIdleInputChannelsAreCounted() throws Exception {
+		IdleInputChannelsGauge gauge = new IdleInputChannelsGauge();
+		StatusWatermarkValve valve1 = new StatusWatermarkValve(2, new StatusWatermarkOutput(), gauge);
+		StatusWatermarkValve valve2 = new StatusWatermarkValve(1, new StatusWatermarkOutput(), gauge);
+		assertEquals(0, gauge.getValue().intValue());
+
+		valve1.inputStreamStatus(StreamStatus.IDLE, 0);
+		valve1.inputStreamStatus(StreamStatus.IDLE, 0);
+		valve2.inputStreamStatus(StreamStatus.IDLE, 0);
+		assertEquals(2, gauge.getValue().intValue());
+
+		valve1.inputStreamStatus(StreamStatus.IDLE, 1);
+		assertEquals(3, gauge.getValue().intValue());
+
+		valve1.inputStreamStatus(StreamStatus.ACTIVE, 0);
+		valve2.inputStreamStatus(StreamStatus.ACTIVE, 0);
+		valve2.inputStreamStatus(StreamStatus.ACTIVE, 0);
+		assertEquals(1, gauge.getValue().intValue());
+	}
+
 	private static class StatusWatermarkOutput implements PushingAsyncDataInput.DataOutput {
 
 		private BlockingQueue<StreamElement> allOutputs = new LinkedBlockingQueue<>();
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.streaming.api.graph.StreamConfig;
+import org.apache.flink.streaming.api.operators.AbstractInput;
+import org.apache.flink.streaming.api.operators.AbstractMultipleInputStreamOperator;
+import org.apache.flink.streaming.api.operators.BoundedMultiInput;
+import org.apache.flink.streaming.api.operators.Input;
+import org.apache.flink.streaming.api.operators.InputSelectable;
+import org.apache.flink.streaming.api.operators.InputSelection;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
+import org.apache.flink.streaming.util.TestHarnessUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MultipleInputStreamTask}. Theses tests implicitly also test the
+ * {@link org.apache.flink.streaming.runtime.io.StreamMultipleInputProcessor}.
+ */
+public class MultipleInputStreamTaskTest {
+
+	@Test
+	public void testProcessElementsOfAllInputs() throws Exception {
+		final MultipleInputStreamTaskTestHarness<String> testHarness = createTestHarness(1);
+		setupOperator(testHarness, new MapToStringMultipleInputOperator());
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+		testHarness.invoke();
+		testHarness.waitForTaskRunning();
+
+		testHarness.processElement(new StreamRecord<>("Hello", 1L), 0, 0);
+		testHarness.waitForInputProcessing();
+		testHarness.processElement(new StreamRecord<>(42, 2L), 1, 0);
+		testHarness.waitForInputProcessing();
+		testHarness.processElement(new StreamRecord<>(4.2, 3L), 2, 0);
+		testHarness.waitForInputProcessing();
+
+		expectedOutput.add(new StreamRecord<>("1: Hello", 1L));
+		expectedOutput.add(new StreamRecord<>("2: 42", 2L));
+		expectedOutput.add(new StreamRecord<>("3: 4.2", 3L));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.endInput();
+		testHarness.waitForTaskCompletion();
+	}
+
+	@Test
+	public void testWatermarkAndStreamStatusForwarding() throws Exception {
+		final MultipleInputStreamTaskTestHarness<String> testHarness = createTestHarness(2);
+		setupOperator(testHarness, new MapToStringMultipleInputOperator());
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		long initialTime = 0L;
+
+		testHarness.invoke();
+		testHarness.waitForTaskRunning();
+
+		testHarness.processElement(new Watermark(initialTime), 0, 0);
+		testHarness.processElement(new Watermark(initialTime), 0, 1);
+		testHarness.processElement(new Watermark(initialTime), 1, 0);
+		testHarness.processElement(new Watermark(initialTime), 1, 1);
+		testHarness.processElement(new Watermark(initialTime), 2, 0);
+
+		// now the output should still be empty
+		testHarness.waitForInputProcessing();
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processElement(new Watermark(initialTime), 2, 1);
+
+		// now the watermark should have propagated
+		testHarness.waitForInputProcessing();
+		expectedOutput.add(new Watermark(initialTime));
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.processElement(new Watermark(initialTime + 4), 0, 0);
+		testHarness.processElement(new Watermark(initialTime + 3), 0, 1);
+		testHarness.processElement(new Watermark(initialTime + 5), 1, 0);
+		testHarness.processElement(new Watermark(initialTime + 5), 1, 1);
+		testHarness.processElement(new Watermark(initialTime + 3), 2, 0);
+		testHarness.processElement(new Watermark(initialTime + 2), 2, 1);
+
+		// check whether we get the minimum of all the watermarks
+		testHarness.waitForInputProcessing();
+		expectedOutput.add(new Watermark(initialTime + 2));
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		// advance the slowest channel, now the minimum of the first input is the lowest
+		testHarness.processElement(new Watermark(initialTime + 5), 2, 1);
+		testHarness.waitForInputProcessing();
+		expectedOutput.add(new Watermark(initialTime + 3));
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		// make all input channels idle and check that the operator's idle status is forwarded
+		// only once all inputs are idle; idle inputs flush their maximum watermark, which
+		// advances the minimum of all inputs
+		for (int gate = 0; gate < 3; gate++) {
+			testHarness.processElement(StreamStatus.IDLE, gate, 0);
+			testHarness.processElement(StreamStatus.IDLE, gate, 1);
+		}
+		testHarness.waitForInputProcessing();
+		expectedOutput.add(new Watermark(initialTime + 4));
+		expectedOutput.add(StreamStatus.IDLE);
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		// make one input channel active again and check that the operator's active status is forwarded
+		testHarness.processElement(StreamStatus.ACTIVE, 1, 0);
+		testHarness.waitForInputProcessing();
+		expectedOutput.add(StreamStatus.ACTIVE);
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+
+		testHarness.endInput();
+		testHarness.waitForTaskCompletion();
+	}
+
+	@Test
+	public void testHandlingEndOfInput() throws Exception {
+		final MultipleInputStreamTaskTestHarness<String> testHarness = createTestHarness(1);
+		setupOperator(testHarness, new MapToStringMultipleInputOperator());
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+
+		testHarness.invoke();
+		testHarness.waitForTaskRunning();
+
+		testHarness.processElement(new StreamRecord<>(42), 1, 0);
+		testHarness.endInput(1, 0);
+		testHarness.waitForInputProcessing();
+
+		testHarness.processElement(new StreamRecord<>("Hello"), 0, 0);
+		testHarness.endInput(0, 0);
+		testHarness.waitForInputProcessing();
+
+		testHarness.endInput(2, 0);
+		testHarness.waitForTaskCompletion();
+
+		expectedOutput.add(new StreamRecord<>("2: 42"));
+		expectedOutput.add(new StreamRecord<>("Bye-2"));
+		expectedOutput.add(new StreamRecord<>("1: Hello"));
+		expectedOutput.add(new StreamRecord<>("Bye-1"));
+		expectedOutput.add(new StreamRecord<>("Bye-3"));
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+	}
+
+	@Test
+	public void testInputSelection() throws Exception {
+		final MultipleInputStreamTaskTestHarness<String> testHarness = createTestHarness(1);
+		setupOperator(testHarness, new LastInputFirstMultipleInputOperator());
+
+		testHarness.invoke();
+		testHarness.waitForTaskRunning();
+
+		// the first two inputs are not read before the last input is finished
+		testHarness.processElement(new StreamRecord<>("Hello"), 0, 0);
+		testHarness.processElement(new StreamRecord<>(42), 1, 0);
+		testHarness.processElement(new StreamRecord<>(4.2), 2, 0);
+		testHarness.endInput(0, 0);
+		testHarness.endInput(1, 0);
+		testHarness.endInput(2, 0);
+		testHarness.waitForTaskCompletion();
+
+		List<String> output = TestHarnessUtil.getRawElementsFromOutput(testHarness.getOutput());
+		assertEquals(Arrays.asList("3: 4.2", "Bye-3"), output.subList(0, 2));
+		assertEquals(
+			new HashSet<>(Arrays.asList("1: Hello", "Bye-1", "2: 42", "Bye-2")),
+			new HashSet<>(output.subList(2, output.size())));
+		assertEquals(6, output.size());
+	}
+
+	private static MultipleInputStreamTaskTestHarness<String> createTestHarness(int numInputChannelsPerGate) {
+		return new MultipleInputStreamTaskTestHarness<>(
+			MultipleInputStreamTask::new,
+			numInputChannelsPerGate,
+			Arrays.asList(BasicTypeInfo.STRING_TYPE_INFO, BasicTypeInfo.INT_TYPE_INFO, BasicTypeInfo.DOUBLE_TYPE_INFO),
+			BasicTypeInfo.STRING_TYPE_INFO);
+	}
+
+	private static void setupOperator(
+			MultipleInputStreamTaskTestHarness<String> testHarness,
+			MapToStringMultipleInputOperator operator) {
+
+		testHarness.setupOutputForSingletonOperatorChain();
+		StreamConfig streamConfig = testHarness.getStreamConfig();
+		streamConfig.setStreamOperator(operator);
+		streamConfig.setOperatorID(new OperatorID());
+	}
+
+	/**
+	 * Operator with three inputs, which emits the records of all inputs as strings prefixed with
+	 * the input id, and a goodbye record at the end of each input.
+	 */
+	private static class MapToStringMultipleInputOperator
+			extends AbstractMultipleInputStreamOperator<String> implements BoundedMultiInput {
+
+		private static final long serialVersionUID = 1L;
+
+		private transient List<Input> inputs;
+
+		MapToStringMultipleInputOperator() {
+			super(3);
+		}
+
+		@Override
+		public List<Input> getInputs() {
+			if (inputs == null) {
+				inputs = new ArrayList<>();
+				for (int i = 1; i <= getNumberOfInputs(); i++) {
+					inputs.add(new MapToStringInput<>(this, i));
+				}
+			}
+			return inputs;
+		}
+
+		@Override
+		public void endInput(int inputId) {
+			output.collect(new StreamRecord<>("Bye-" + inputId));
+		}
+	}
+
+	/**
+	 * Operator which reads its last input before all other inputs.
+	 */
+	private static class LastInputFirstMultipleInputOperator
+			extends MapToStringMultipleInputOperator implements InputSelectable {
+
+		private static final long serialVersionUID = 1L;
+
+		private boolean lastInputFinished;
+
+		@Override
+		public InputSelection nextSelection() {
+			return lastInputFinished ?
+				InputSelection.ALL : new InputSelection.Builder().select(getNumberOfInputs()).build();
+		}
+
+		@Override
+		public void endInput(int inputId) {
+			super.endInput(inputId);
+			lastInputFinished |= inputId == getNumberOfInputs();
+		}
+	}
+
+	private static class MapToStringInput<T> extends AbstractInput<T, String> {
+
+		MapToStringInput(AbstractMultipleInputStreamOperator<String> owner, int inputId) {
+			super(owner, inputId);
+		}
+
+		@Override
+		public void processElement(StreamRecord<T> element) {
+			output.collect(element.replace(inputId + ": " + element.getValue()));
+		}
+	}
+}
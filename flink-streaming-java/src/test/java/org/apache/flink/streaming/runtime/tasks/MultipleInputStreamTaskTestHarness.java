@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.tasks;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.runtime.execution.Environment;
+import org.apache.flink.runtime.io.network.partition.consumer.StreamTestSingleInputGate;
+import org.apache.flink.streaming.api.graph.StreamEdge;
+import org.apache.flink.streaming.api.graph.StreamNode;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.StreamOperator;
+import org.apache.flink.streaming.runtime.partitioner.BroadcastPartitioner;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Test harness for testing a {@link MultipleInputStreamTask}.
+ *
+ * <p>The harness creates one input gate per input of the task, with the given number of
+ * channels per input gate, so the gate index equals the index of the input. See
+ * {@link TwoInputStreamTaskTestHarness} for how to drive the task.
+ */
+public class MultipleInputStreamTaskTestHarness<OUT> extends StreamTaskTestHarness<OUT> {
+
+	private final TypeSerializer<?>[] inputSerializers;
+
+	public MultipleInputStreamTaskTestHarness(
+			Function<Environment, ? extends MultipleInputStreamTask<OUT>> taskFactory,
+			int numInputChannelsPerGate,
+			List<TypeInformation<?>> inputTypes,
+			TypeInformation<OUT> outputType) {
+
+		super(taskFactory, outputType);
+
+		this.inputSerializers = inputTypes.stream()
+			.map(inputType -> inputType.createSerializer(executionConfig))
+			.toArray(TypeSerializer<?>[]::new);
+
+		this.numInputGates = inputTypes.size();
+		this.numInputChannelsPerGate = numInputChannelsPerGate;
+	}
+
+	@Override
+	protected void initializeInputs() throws IOException, InterruptedException {
+
+		inputGates = new StreamTestSingleInputGate[numInputGates];
+		List<StreamEdge> inPhysicalEdges = new LinkedList<>();
+
+		StreamOperator<?> dummyOperator = new AbstractStreamOperator<Object>() {
+			private static final long serialVersionUID = 1L;
+		};
+
+		StreamNode sourceVertexDummy = new StreamNode(0, "default group", null, dummyOperator, "source dummy", new LinkedList<>(), SourceStreamTask.class);
+		StreamNode targetVertexDummy = new StreamNode(1, "default group", null, dummyOperator, "target dummy", new LinkedList<>(), SourceStreamTask.class);
+
+		for (int i = 0; i < numInputGates; i++) {
+			inputGates[i] = new StreamTestSingleInputGate<>(
+					numInputChannelsPerGate,
+					bufferSize,
+					inputSerializers[i]);
+
+			StreamEdge streamEdge = new StreamEdge(sourceVertexDummy,
+					targetVertexDummy,
+					i + 1,
+					new LinkedList<>(),
+					new BroadcastPartitioner<>(),
+					null /* output tag */);
+
+			inPhysicalEdges.add(streamEdge);
+
+			this.mockEnv.addInputGate(inputGates[i].getInputGate());
+		}
+
+		streamConfig.setInPhysicalEdges(inPhysicalEdges);
+		streamConfig.setNumberOfInputs(numInputGates);
+		streamConfig.setTypeSerializersIn(inputSerializers);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public MultipleInputStreamTask<OUT> getTask() {
+		return (MultipleInputStreamTask<OUT>) super.getTask();
+	}
+}
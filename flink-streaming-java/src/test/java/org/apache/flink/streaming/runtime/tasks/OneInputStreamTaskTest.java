@@ -23,6 +23,8 @@ import org.apache.flink.api.common.functions.MapFunction;
 import org.apache.flink.api.common.functions.RichMapFunction;
 import org.apache.flink.api.common.state.ListState;
 import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
 import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.common.typeutils.base.StringSerializer;
@@ -48,10 +50,12 @@ import org.apache.flink.runtime.operators.testutils.MockInputSplitProvider;
 import org.apache.flink.runtime.state.StateInitializationContext;
 import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.runtime.state.TestTaskStateManager;
+import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
 import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.graph.StreamEdge;
 import org.apache.flink.streaming.api.graph.StreamNode;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.KeyedProcessOperator;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
 import org.apache.flink.streaming.api.operators.StreamMap;
 import org.apache.flink.streaming.api.operators.StreamOperator;
@@ -59,6 +63,7 @@ import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.streamstatus.StreamStatus;
 import org.apache.flink.streaming.util.TestHarnessUtil;
+import org.apache.flink.util.Collector;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.TestLogger;
 
@@ -142,6 +147,46 @@ public class OneInputStreamTaskTest extends TestLogger {
 	 * watermarks are forwarded only when we have received watermarks from all inputs. The
 	 * forwarded watermark must be the minimum of the watermarks of all active inputs.
 	 */
+	/**
+	 * Tests that a sorted keyed input is processed key by key, with the state of one key and the
+	 * timers firing at the end of each key.
+	 */
+	@Test
+	public void testSortedKeyedInput() throws Exception {
+		final OneInputStreamTaskTestHarness<String, String> testHarness = new OneInputStreamTaskTestHarness<>(
+				OneInputStreamTask::new, BasicTypeInfo.STRING_TYPE_INFO, BasicTypeInfo.STRING_TYPE_INFO);
+
+		testHarness.setupOutputForSingletonOperatorChain();
+		testHarness.configureForKeyedStream(new IdentityKeySelector<>(), BasicTypeInfo.STRING_TYPE_INFO);
+
+		StreamConfig streamConfig = testHarness.getStreamConfig();
+		streamConfig.setStreamOperator(new KeyedProcessOperator<>(new CountingPerKeyFunction()));
+		streamConfig.setOperatorID(new OperatorID());
+		streamConfig.setSortedKeyedInput(true);
+
+		testHarness.invoke();
+		testHarness.waitForTaskRunning();
+
+		testHarness.processElement(new StreamRecord<>("b", 1L));
+		testHarness.processElement(new StreamRecord<>("a", 2L));
+		testHarness.processElement(new Watermark(2L));
+		testHarness.processElement(new StreamRecord<>("c", 3L));
+		testHarness.processElement(new StreamRecord<>("a", 4L));
+		testHarness.processElement(new StreamRecord<>("b", 5L));
+		testHarness.processElement(new Watermark(5L));
+
+		testHarness.endInput();
+		testHarness.waitForTaskCompletion();
+
+		ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+		expectedOutput.add(new StreamRecord<>("a:2", 0L));
+		expectedOutput.add(new StreamRecord<>("b:2", 0L));
+		expectedOutput.add(new StreamRecord<>("c:1", 0L));
+		expectedOutput.add(Watermark.MAX_WATERMARK);
+
+		TestHarnessUtil.assertOutputEquals("Output was not correct.", expectedOutput, testHarness.getOutput());
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void testWatermarkAndStreamStatusForwarding() throws Exception {
@@ -858,6 +903,29 @@ public class OneInputStreamTaskTest extends TestLogger {
 		streamConfig.setTransitiveChainedTaskConfigs(chainedTaskConfigs);
 	}
 
+	/**
+	 * Counts the records of each key, and emits the count with an event time timer.
+	 */
+	private static class CountingPerKeyFunction extends KeyedProcessFunction<String, String, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ValueStateDescriptor<Integer> countDescriptor =
+			new ValueStateDescriptor<>("count", IntSerializer.INSTANCE);
+
+		@Override
+		public void processElement(String value, Context ctx, Collector<String> out) throws Exception {
+			ValueState<Integer> count = getRuntimeContext().getState(countDescriptor);
+			count.update(count.value() == null ? 1 : count.value() + 1);
+			ctx.timerService().registerEventTimeTimer(0L);
+		}
+
+		@Override
+		public void onTimer(long timestamp, OnTimerContext ctx, Collector<String> out) throws Exception {
+			out.collect(ctx.getCurrentKey() + ":" + getRuntimeContext().getState(countDescriptor).value());
+		}
+	}
+
 	private static class IdentityKeySelector<IN> implements KeySelector<IN, IN> {
 
 		private static final long serialVersionUID = -3555913664416688425L;